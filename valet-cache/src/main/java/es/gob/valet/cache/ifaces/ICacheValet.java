@@ -20,18 +20,19 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>25/09/2018.</p>
  * @author Gobierno de España.
- * @version 1.0, 25/09/2018.
+ * @version 1.1, 18/10/2026.
  */
 package es.gob.valet.cache.ifaces;
 
 import es.gob.valet.cache.exceptions.BadPathCacheValetException;
 import es.gob.valet.cache.exceptions.CacheValetException;
 import es.gob.valet.cache.exceptions.ManagingObjectCacheValetException;
+import es.gob.valet.cache.utils.CacheValetNamespace;
 
 /**
  * <p>Interface that represents a cache manager regardless it implementation.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.0, 25/09/2018.
+ * @version 1.1, 18/10/2026.
  */
 public interface ICacheValet {
 
@@ -69,6 +70,42 @@ public interface ICacheValet {
 	 */
 	Object getObject(String[ ] path, boolean inLoadingCache) throws BadPathCacheValetException, ManagingObjectCacheValetException;
 
+	/**
+	 * Method that adds an object in the node indicated by the namespace with the input key in the <i>Cache</i>.
+	 * It is equivalent to {@link #addObject(String[], Object, boolean)} with the path of the namespace followed by the key.
+	 * @param namespace Precomputed node where the object is going to be added.
+	 * @param key Key for the object to add.
+	 * @param obj Object that will be added in the <i>Cache</i>.
+	 * @param inLoadingCache Flag that indicates if the operation must be executed on the loading auxiliar cache.
+	 * @throws BadPathCacheValetException If the namespace or the key are bad constructed.
+	 * @throws ManagingObjectCacheValetException In case of some error when is adding the object in the cache.
+	 */
+	void addObject(CacheValetNamespace namespace, Object key, Object obj, boolean inLoadingCache) throws BadPathCacheValetException, ManagingObjectCacheValetException;
+
+	/**
+	 * Method that obtains the <i>Cache</i> object indicated by the namespace and the key, without building the path.
+	 * It is equivalent to {@link #getObject(String[], boolean)} with the path of the namespace followed by the key.
+	 * @param namespace Precomputed node where the object is going to be obtained.
+	 * @param key Key for the object to obtain.
+	 * @param inLoadingCache Flag that indicates if the operation must be executed on the loading auxiliar cache.
+	 * @return The object placed in the cache, in the indicated node, or <code>null</code> if it does not exist.
+	 * @throws BadPathCacheValetException If the namespace or the key are bad constructed.
+	 * @throws ManagingObjectCacheValetException If the method fails.
+	 */
+	Object getObject(CacheValetNamespace namespace, Object key, boolean inLoadingCache) throws BadPathCacheValetException, ManagingObjectCacheValetException;
+
+	/**
+	 * Method that eliminates the object contained in the node indicated by the namespace with the input key of the <i>Cache</i>.
+	 * It is equivalent to {@link #removeObject(String[], boolean)} with the path of the namespace followed by the key.
+	 * @param namespace Precomputed node where the object is going to be removed.
+	 * @param key Key for the object to remove.
+	 * @param inLoadingCache Flag that indicates if the operation must be executed on the loading auxiliar cache.
+	 * @return The object removed from the cache, in the indicated node, or <code>null</code> if it does not exist.
+	 * @throws BadPathCacheValetException If the namespace or the key are bad constructed.
+	 * @throws ManagingObjectCacheValetException In case of some error while is removing the entry from the cache.
+	 */
+	Object removeObject(CacheValetNamespace namespace, Object key, boolean inLoadingCache) throws BadPathCacheValetException, ManagingObjectCacheValetException;
+
 	/**
 	 * Method that eliminates the object contained in the indicated path of the <i>Cache</i>.
 	 * @param path String array that determine the path in which the indicated object is going to be removed.
@@ -102,11 +139,10 @@ public interface ICacheValet {
 	void startsAuxiliarCache();
 
 	/**
-	 * Assigns the auxiliar clustered configuration cache as principal, an then stop the oldest.
-	 * @param millisecondsBeforeStopCache number of milliseconds before stop the old cache.
-	 * Also inserts the new name in the default cache.
+	 * Assigns the auxiliar clustered configuration cache as principal, replacing the oldest.
+	 * The operations that are using the oldest cache in that moment finish with it.
 	 */
-	void assignAsPrincipalAuxiliarCache(int millisecondsBeforeStopCache);
+	void assignAsPrincipalAuxiliarCache();
 
 	/**
 	 * Checks if actually is reloading the configuration cache.
@@ -21,7 +21,7 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>25/09/2018.</p>
  * @author Gobierno de España.
- * @version 1.1, 18/10/2018.
+ * @version 1.2, 18/10/2026.
  */
 package es.gob.valet.cache.impl;
 
@@ -31,6 +31,7 @@ import es.gob.valet.cache.exceptions.BadPathCacheValetException;
 import es.gob.valet.cache.exceptions.CacheValetException;
 import es.gob.valet.cache.exceptions.ManagingObjectCacheValetException;
 import es.gob.valet.cache.ifaces.ICacheValet;
+import es.gob.valet.cache.utils.CacheValetNamespace;
 import es.gob.valet.commons.utils.UtilsStringChar;
 import es.gob.valet.exceptions.IValetException;
 import es.gob.valet.i18n.Language;
@@ -40,7 +41,7 @@ import es.gob.valet.i18n.messages.ICacheGeneralMessages;
  * <p>Abstract class that represents a {@link ICacheValet} with the principal functions
  * regardless it implementation.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.1, 18/10/2018.
+ * @version 1.2, 18/10/2026.
  */
 public abstract class ACacheValet implements ICacheValet {
 
@@ -132,6 +133,35 @@ public abstract class ACacheValet implements ICacheValet {
 
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.cache.ifaces.ICacheValet#addObject(es.gob.valet.cache.utils.CacheValetNamespace, java.lang.Object, java.lang.Object, boolean)
+	 */
+	@Override
+	public void addObject(CacheValetNamespace namespace, Object key, Object obj, boolean inLoadingCache) throws BadPathCacheValetException, ManagingObjectCacheValetException {
+		addObject(buildPath(namespace), key, obj, inLoadingCache);
+	}
+
+	/**
+	 * Method that gets the string that represents the node of the input namespace to access to the cache.
+	 * @param namespace Precomputed node of the cache.
+	 * @return string that represents the node of the namespace.
+	 * @throws BadPathCacheValetException If the namespace is bad constructed.
+	 */
+	protected final String buildPath(CacheValetNamespace namespace) throws BadPathCacheValetException {
+
+		if (namespace == null) {
+			throw new BadPathCacheValetException(IValetException.COD_155, Language.getResCacheGeneral(ICacheGeneralMessages.CACHE_IMPL_003));
+		}
+
+		if (!namespace.isValid()) {
+			throw new BadPathCacheValetException(IValetException.COD_155, Language.getResCacheGeneral(ICacheGeneralMessages.CACHE_IMPL_006));
+		}
+
+		return namespace.getNodePath(getSeparator());
+
+	}
+
 	/**
 	 * Private method that constructs the string that represents the path to access to the cache.
 	 * @param path String array that determine the path in which the indicated object is going to be constructed.
@@ -184,7 +214,9 @@ public abstract class ACacheValet implements ICacheValet {
 			// Añadimos en el path indicado el objeto recibido.
 			addObjectImplCache(path, key, value, inLoadingCache);
 
-			getLogger().debug(Language.getFormatResCacheGeneral(ICacheGeneralMessages.CACHE_IMPL_002, new Object[ ] { path + getSeparator() + key }));
+			if (getLogger().isDebugEnabled()) {
+				getLogger().debug(Language.getFormatResCacheGeneral(ICacheGeneralMessages.CACHE_IMPL_002, new Object[ ] { path + getSeparator() + key }));
+			}
 
 		} catch (Exception e) {
 			throw new ManagingObjectCacheValetException(IValetException.COD_154, Language.getFormatResCacheGeneral(ICacheGeneralMessages.CACHE_IMPL_001, new Object[ ] { e }));
@@ -237,6 +269,15 @@ public abstract class ACacheValet implements ICacheValet {
 
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.cache.ifaces.ICacheValet#getObject(es.gob.valet.cache.utils.CacheValetNamespace, java.lang.Object, boolean)
+	 */
+	@Override
+	public Object getObject(CacheValetNamespace namespace, Object key, boolean inLoadingCache) throws BadPathCacheValetException, ManagingObjectCacheValetException {
+		return getObject(buildPath(namespace), key, inLoadingCache);
+	}
+
 	/**
 	 * Method that obtains the <i>Cache</i> object indicated by the path and the key.
 	 * @param path {@link String} with the access path in the cache.
@@ -258,10 +299,14 @@ public abstract class ACacheValet implements ICacheValet {
 			throw new ManagingObjectCacheValetException(IValetException.COD_154, Language.getFormatResCacheGeneral(ICacheGeneralMessages.CACHE_IMPL_007, new Object[ ] { e }));
 		}
 
-		if (result == null) {
-			getLogger().debug(Language.getFormatResCacheGeneral(ICacheGeneralMessages.CACHE_IMPL_008, new Object[ ] { path + getSeparator() + key }));
-		} else {
-			getLogger().debug(Language.getFormatResCacheGeneral(ICacheGeneralMessages.CACHE_IMPL_009, new Object[ ] { path + getSeparator() + key }));
+		// Evitamos construir el mensaje si no se va a registrar, ya que
+		// este método se invoca en cada consulta a la caché.
+		if (getLogger().isDebugEnabled()) {
+			if (result == null) {
+				getLogger().debug(Language.getFormatResCacheGeneral(ICacheGeneralMessages.CACHE_IMPL_008, new Object[ ] { path + getSeparator() + key }));
+			} else {
+				getLogger().debug(Language.getFormatResCacheGeneral(ICacheGeneralMessages.CACHE_IMPL_009, new Object[ ] { path + getSeparator() + key }));
+			}
 		}
 
 		return result;
@@ -302,6 +347,15 @@ public abstract class ACacheValet implements ICacheValet {
 
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.cache.ifaces.ICacheValet#removeObject(es.gob.valet.cache.utils.CacheValetNamespace, java.lang.Object, boolean)
+	 */
+	@Override
+	public Object removeObject(CacheValetNamespace namespace, Object key, boolean inLoadingCache) throws BadPathCacheValetException, ManagingObjectCacheValetException {
+		return removeObject(buildPath(namespace), key, inLoadingCache);
+	}
+
 	/**
 	 * Method that eliminates the object contained in the indicated path of the <i>Cache</i>.
 	 * @param path {@link String} with the access path in the cache.
@@ -323,7 +377,9 @@ public abstract class ACacheValet implements ICacheValet {
 			throw new ManagingObjectCacheValetException(IValetException.COD_154, Language.getFormatResCacheGeneral(ICacheGeneralMessages.CACHE_IMPL_010, new Object[ ] { e }));
 		}
 
-		getLogger().debug(Language.getFormatResCacheGeneral(ICacheGeneralMessages.CACHE_IMPL_011, new Object[ ] { path + getSeparator() + key }));
+		if (getLogger().isDebugEnabled()) {
+			getLogger().debug(Language.getFormatResCacheGeneral(ICacheGeneralMessages.CACHE_IMPL_011, new Object[ ] { path + getSeparator() + key }));
+		}
 
 		return result;
 
@@ -0,0 +1,75 @@
+/*
+/*******************************************************************************
+ * Copyright (C) 2018 MINHAFP, Gobierno de España
+ * This program is licensed and may be used, modified and redistributed under the  terms
+ * of the European Public License (EUPL), either version 1.1 or (at your option)
+ * any later version as soon as they are approved by the European Commission.
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and
+ * more details.
+ * You should have received a copy of the EUPL1.1 license
+ * along with this program; if not, you may find it at
+ * http:joinup.ec.europa.eu/software/page/eupl/licence-eupl
+ ******************************************************************************/
+
+/**
+ * <b>File:</b><p>es.gob.valet.cache.impl.javaConcurrentMap.ConcurrentMapCacheGeneration.java.</p>
+ * <b>Description:</b><p>Class that represents a generation of the cache implemented with the Java Concurrent HashMap.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * <b>Date:</b><p>18/10/2026.</p>
+ * @author Gobierno de España.
+ * @version 1.0, 18/10/2026.
+ */
+package es.gob.valet.cache.impl.javaConcurrentMap;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>Class that represents a generation of the cache implemented with the Java Concurrent HashMap.</p>
+ * <p>The generation is installed in an atomic reference as principal (or reloading) cache. When it is replaced, it is not
+ * cleaned: the operations that already got it finish with its content, and the garbage collector reclaims it once
+ * it is no longer referenced.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * @version 1.0, 18/10/2026.
+ */
+public final class ConcurrentMapCacheGeneration {
+
+	/**
+	 * Attribute that represents the name of the generation.
+	 */
+	private final String name;
+
+	/**
+	 * Attribute that represents the content of the generation: a map of nodes (paths) and, for each one, a map of objects.
+	 */
+	private final ConcurrentMap<Object, Object> map = new ConcurrentHashMap<Object, Object>();
+
+	/**
+	 * Constructor method for the class ConcurrentMapCacheGeneration.java.
+	 * @param nameParam Name of the generation.
+	 */
+	public ConcurrentMapCacheGeneration(String nameParam) {
+		super();
+		name = nameParam;
+	}
+
+	/**
+	 * Gets the value of the attribute {@link #name}.
+	 * @return the value of the attribute {@link #name}.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Gets the value of the attribute {@link #map}.
+	 * @return the value of the attribute {@link #map}.
+	 */
+	public ConcurrentMap<Object, Object> getMap() {
+		return map;
+	}
+
+}
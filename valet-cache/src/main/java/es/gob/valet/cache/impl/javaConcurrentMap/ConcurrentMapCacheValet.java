@@ -21,20 +21,20 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>25/09/2018.</p>
  * @author Gobierno de España.
- * @version 1.1, 18/10/2018.
+ * @version 1.2, 18/10/2026.
  */
 package es.gob.valet.cache.impl.javaConcurrentMap;
 
 import java.io.File;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.log4j.Logger;
 
 import es.gob.valet.cache.exceptions.CacheValetException;
 import es.gob.valet.cache.ifaces.ICacheValet;
 import es.gob.valet.cache.impl.ACacheValet;
-import es.gob.valet.cache.utils.GiveSomeTimeBeforeStopCacheThread;
 import es.gob.valet.exceptions.IValetException;
 import es.gob.valet.i18n.Language;
 import es.gob.valet.i18n.messages.ICacheGeneralMessages;
@@ -42,8 +42,12 @@ import es.gob.valet.i18n.messages.ICacheGeneralMessages;
 /**
  * <p>Implementation of the {@link ICacheValet} that extends the {@link ACacheValet}
  * implemented with the Java Concurrent HashMap.</p>
+ * <p>The principal and the reloading caches are generations ({@link ConcurrentMapCacheGeneration}) installed in atomic
+ * references. Assigning the reloading cache as principal is a single swap of the reference: each operation reads the
+ * generation installed in that moment, and the previous one is reclaimed by the garbage collector when no operation
+ * uses it.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.1, 18/10/2018.
+ * @version 1.2, 18/10/2026.
  */
 public class ConcurrentMapCacheValet extends ACacheValet {
 
@@ -53,24 +57,14 @@ public class ConcurrentMapCacheValet extends ACacheValet {
 	private static final Logger LOGGER = Logger.getLogger(ConcurrentMapCacheValet.class);
 
 	/**
-	 * Attribute that represents and manages the cache.
+	 * Attribute that represents the generation installed as principal cache.
 	 */
-	private static ConcurrentMap<Object, Object> concurrentMapCache = null;
+	private static final AtomicReference<ConcurrentMapCacheGeneration> PRINCIPAL_CACHE = new AtomicReference<ConcurrentMapCacheGeneration>();
 
 	/**
-	 * Attribute that represents the name of the actual cache.
+	 * Attribute that represents the generation installed as auxiliar cache to reload all the configuration.
 	 */
-	private static String concurrentMapCacheName = null;
-
-	/**
-	 * Attribute that represents and manages an auxiliar cache to reload all the configuration.
-	 */
-	private static ConcurrentMap<Object, Object> concurrentMapCacheReloading = null;
-
-	/**
-	 * Attribute that represents the name of the cache that is reloading.
-	 */
-	private static String concurrentMapCacheReloadingName = null;
+	private static final AtomicReference<ConcurrentMapCacheGeneration> RELOADING_CACHE = new AtomicReference<ConcurrentMapCacheGeneration>();
 
 	/**
 	 * Constructor method for the class ConcurrentMapCacheValet.java.
@@ -79,28 +73,20 @@ public class ConcurrentMapCacheValet extends ACacheValet {
 
 		LOGGER.debug(Language.getResCacheGeneral(ICacheGeneralMessages.CACHE_IMPL_JCM_001));
 
-		// Creamos la TreeCache.
-		if (concurrentMapCache == null) {
+		// Creamos la caché si aún no existe. Si otro hilo se adelanta,
+		// se mantiene la suya.
+		if (PRINCIPAL_CACHE.get() == null) {
 
 			try {
-
-				// Generamos el nombre de la caché.
-				concurrentMapCacheName = Long.toString(System.currentTimeMillis());
-
-				// Creamos la caché.
-				concurrentMapCache = new ConcurrentHashMap<Object, Object>();
-
+				PRINCIPAL_CACHE.compareAndSet(null, new ConcurrentMapCacheGeneration(Long.toString(System.currentTimeMillis())));
 			} catch (Exception e) {
-
-				concurrentMapCacheName = null;
-				concurrentMapCache = null;
-
+				LOGGER.error(Language.getResCacheGeneral(ICacheGeneralMessages.CACHE_IMPL_JCM_003), e);
 			}
 
 		}
 
 		// Si finalmente se ha obtenido...
-		if (concurrentMapCache != null) {
+		if (PRINCIPAL_CACHE.get() != null) {
 
 			LOGGER.debug(Language.getResCacheGeneral(ICacheGeneralMessages.CACHE_IMPL_JCM_002));
 
@@ -139,8 +125,7 @@ public class ConcurrentMapCacheValet extends ACacheValet {
 		}
 		setCreationFlag(false);
 		setInstance(null);
-		concurrentMapCache.clear();
-		concurrentMapCache = null;
+		PRINCIPAL_CACHE.set(null);
 		LOGGER.debug(Language.getResCacheGeneral(ICacheGeneralMessages.CACHE_IMPL_JCM_006));
 
 	}
@@ -161,13 +146,18 @@ public class ConcurrentMapCacheValet extends ACacheValet {
 	@SuppressWarnings("unchecked")
 	@Override
 	protected void addObjectImplCache(String path, Object key, Object value, boolean inLoadingCache) throws CacheValetException {
-		ConcurrentMap<Object, Object> actualConcMapCache = (ConcurrentMap<Object, Object>) getConcurrentMapCache(inLoadingCache);
-		ConcurrentMap<Object, Object> mapWhereAddValue = (ConcurrentMap<Object, Object>) actualConcMapCache.get(path);
-		if (mapWhereAddValue == null) {
-			mapWhereAddValue = new ConcurrentHashMap<Object, Object>();
-			actualConcMapCache.put(path, mapWhereAddValue);
+		ConcurrentMapCacheGeneration generation = getInstalledGeneration(inLoadingCache).get();
+		if (generation != null) {
+			ConcurrentMap<Object, Object> mapWhereAddValue = (ConcurrentMap<Object, Object>) generation.getMap().get(path);
+			if (mapWhereAddValue == null) {
+				ConcurrentMap<Object, Object> newMap = new ConcurrentHashMap<Object, Object>();
+				mapWhereAddValue = (ConcurrentMap<Object, Object>) generation.getMap().putIfAbsent(path, newMap);
+				if (mapWhereAddValue == null) {
+					mapWhereAddValue = newMap;
+				}
+			}
+			mapWhereAddValue.put(key, value);
 		}
-		mapWhereAddValue.put(key, value);
 	}
 
 	/**
@@ -178,9 +168,12 @@ public class ConcurrentMapCacheValet extends ACacheValet {
 	@Override
 	protected Object getObjectImplCache(String path, Object key, boolean inLoadingCache) throws CacheValetException {
 		Object result = null;
-		ConcurrentMap<Object, Object> mapWhereReadValue = (ConcurrentMap<Object, Object>) getConcurrentMapCache(inLoadingCache).get(path);
-		if (mapWhereReadValue != null) {
-			result = mapWhereReadValue.get(key);
+		ConcurrentMapCacheGeneration generation = getInstalledGeneration(inLoadingCache).get();
+		if (generation != null) {
+			ConcurrentMap<Object, Object> mapWhereReadValue = (ConcurrentMap<Object, Object>) generation.getMap().get(path);
+			if (mapWhereReadValue != null) {
+				result = mapWhereReadValue.get(key);
+			}
 		}
 		return result;
 	}
@@ -193,9 +186,12 @@ public class ConcurrentMapCacheValet extends ACacheValet {
 	@Override
 	protected Object removeObjectImplCache(String path, Object key, boolean inLoadingCache) throws CacheValetException {
 		Object result = null;
-		ConcurrentMap<Object, Object> mapWhereReadValue = (ConcurrentMap<Object, Object>) getConcurrentMapCache(inLoadingCache).get(path);
-		if (mapWhereReadValue != null) {
-			result = mapWhereReadValue.remove(key);
+		ConcurrentMapCacheGeneration generation = getInstalledGeneration(inLoadingCache).get();
+		if (generation != null) {
+			ConcurrentMap<Object, Object> mapWhereReadValue = (ConcurrentMap<Object, Object>) generation.getMap().get(path);
+			if (mapWhereReadValue != null) {
+				result = mapWhereReadValue.remove(key);
+			}
 		}
 		return result;
 	}
@@ -206,7 +202,12 @@ public class ConcurrentMapCacheValet extends ACacheValet {
 	 */
 	@Override
 	protected boolean removeNodeImplCache(String fullPath, boolean inLoadingCache) throws Exception {
-		return getConcurrentMapCache(inLoadingCache).remove(fullPath) != null;
+		boolean result = false;
+		ConcurrentMapCacheGeneration generation = getInstalledGeneration(inLoadingCache).get();
+		if (generation != null) {
+			result = generation.getMap().remove(fullPath) != null;
+		}
+		return result;
 	}
 
 	/**
@@ -215,19 +216,20 @@ public class ConcurrentMapCacheValet extends ACacheValet {
 	 */
 	@Override
 	public String getCacheName() {
-		return concurrentMapCacheName;
+		ConcurrentMapCacheGeneration generation = PRINCIPAL_CACHE.get();
+		return generation == null ? null : generation.getName();
 	}
 
 	/**
-	 * Gets the normal Cache or the auxiliar loading cache.
+	 * Gets the reference where is installed the normal Cache or the auxiliar loading cache.
 	 * @param getAuxiliarLoadingCache Flag to choose if gets the normal (<code>false</code>) or auxiliar cache (<code>true</code>).
-	 * @return the normal Cache or the auxiliar loading cache.
+	 * @return the reference where is installed the normal Cache or the auxiliar loading cache.
 	 */
-	private ConcurrentMap<Object, Object> getConcurrentMapCache(boolean getAuxiliarLoadingCache) {
+	private AtomicReference<ConcurrentMapCacheGeneration> getInstalledGeneration(boolean getAuxiliarLoadingCache) {
 		if (getAuxiliarLoadingCache) {
-			return concurrentMapCacheReloading;
+			return RELOADING_CACHE;
 		} else {
-			return concurrentMapCache;
+			return PRINCIPAL_CACHE;
 		}
 	}
 
@@ -238,65 +240,40 @@ public class ConcurrentMapCacheValet extends ACacheValet {
 	@Override
 	public void startsAuxiliarCache() {
 
-		if (concurrentMapCacheReloading != null) {
-			concurrentMapCacheReloading.clear();
-			concurrentMapCacheReloading = null;
-			concurrentMapCacheReloadingName = null;
-		}
-
-		// Creamos la caché.
-		concurrentMapCacheReloadingName = Long.toString(System.currentTimeMillis());
-		concurrentMapCacheReloading = new ConcurrentHashMap<Object, Object>();
+		// Creamos la caché, y descartamos la que se estuviera recargando.
+		ConcurrentMapCacheGeneration reloading = new ConcurrentMapCacheGeneration(Long.toString(System.currentTimeMillis()));
+		RELOADING_CACHE.set(reloading);
 
-		LOGGER.info(Language.getFormatResCacheGeneral(ICacheGeneralMessages.CACHE_IMPL_JCM_007, new Object[ ] { concurrentMapCacheReloadingName }));
+		LOGGER.info(Language.getFormatResCacheGeneral(ICacheGeneralMessages.CACHE_IMPL_JCM_007, new Object[ ] { reloading.getName() }));
 
 	}
 
 	/**
 	 * {@inheritDoc}
-	 * @see es.gob.valet.cache.ifaces.ICacheValet#assignAsPrincipalAuxiliarCache(int)
+	 * @see es.gob.valet.cache.ifaces.ICacheValet#assignAsPrincipalAuxiliarCache()
 	 */
 	@Override
-	public void assignAsPrincipalAuxiliarCache(int millisecondsBeforeStopCache) {
-
-		if (concurrentMapCacheReloading != null) {
-
-			ConcurrentMap<Object, Object> cmAux = concurrentMapCache;
-			String cmNameAux = concurrentMapCacheName;
-
-			concurrentMapCache = concurrentMapCacheReloading;
-			concurrentMapCacheName = concurrentMapCacheReloadingName;
+	public void assignAsPrincipalAuxiliarCache() {
 
-			concurrentMapCacheReloading = null;
-			concurrentMapCacheReloadingName = null;
+		ConcurrentMapCacheGeneration reloading = RELOADING_CACHE.getAndSet(null);
+		if (reloading != null) {
 
-			// Detenemos la caché anterior.
-			giveSomeTimeBeforeStopCache(cmAux, cmNameAux, millisecondsBeforeStopCache);
+			// Instalamos la caché recargada como principal. La anterior no se
+			// limpia: la libera el recolector de basura cuando ya no la usa
+			// ninguna operación.
+			PRINCIPAL_CACHE.set(reloading);
 
 		}
 
 	}
 
-	/**
-	 * Auxiliar method that creates a new thread that waits some time before stop the input auxiliar cache.
-	 * @param cm Auxiliar ConcurrentMap Cache that must be stopped.
-	 * @param cmName Auxiliar ConcurrentMap Cache Name that must be stopped.
-	 * @param millisecondsBeforeStopCache number of milliseconds before stop the old cache.
-	 */
-	private void giveSomeTimeBeforeStopCache(ConcurrentMap<Object, Object> cm, String cmName, int millisecondsBeforeStopCache) {
-
-		GiveSomeTimeBeforeStopCacheThread gstbsct = new GiveSomeTimeBeforeStopCacheThread(cm, cmName, millisecondsBeforeStopCache);
-		gstbsct.start();
-
-	}
-
 	/**
 	 * {@inheritDoc}
 	 * @see es.gob.valet.cache.ifaces.ICacheValet#isReloadingCacheAtTheMoment()
 	 */
 	@Override
 	public boolean isReloadingCacheAtTheMoment() {
-		return concurrentMapCacheReloading != null;
+		return RELOADING_CACHE.get() != null;
 	}
 
 }
@@ -0,0 +1,151 @@
+/*
+/*******************************************************************************
+ * Copyright (C) 2018 MINHAFP, Gobierno de España
+ * This program is licensed and may be used, modified and redistributed under the  terms
+ * of the European Public License (EUPL), either version 1.1 or (at your option)
+ * any later version as soon as they are approved by the European Commission.
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and
+ * more details.
+ * You should have received a copy of the EUPL1.1 license
+ * along with this program; if not, you may find it at
+ * http:joinup.ec.europa.eu/software/page/eupl/licence-eupl
+ ******************************************************************************/
+
+/**
+ * <b>File:</b><p>es.gob.valet.cache.utils.CacheValetNamespace.java.</p>
+ * <b>Description:</b><p>Class that represents a precomputed node (namespace) of the cache where the objects are stored.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * <b>Date:</b><p>18/10/2026.</p>
+ * @author Gobierno de España.
+ * @version 1.0, 18/10/2026.
+ */
+package es.gob.valet.cache.utils;
+
+import java.util.Arrays;
+
+import es.gob.valet.commons.utils.UtilsStringChar;
+
+/**
+ * <p>Class that represents a precomputed node (namespace) of the cache where the objects are stored. It is the
+ * equivalent of a path of the {@link es.gob.valet.cache.ifaces.ICacheValet} without the last position (the key of
+ * the object), so an object stored with a path can be obtained with its namespace and key, and vice versa.</p>
+ * <p>The namespaces must be built once (usually as constants): the string that represents the node in the cache is
+ * built and interned the first time it is needed, so the access to the cache with a namespace does not allocate
+ * any object.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * @version 1.0, 18/10/2026.
+ */
+public final class CacheValetNamespace {
+
+	/**
+	 * Attribute that represents the elements of the path of the node.
+	 */
+	private final String[ ] path;
+
+	/**
+	 * Attribute that indicates if all the elements of the path are not empty.
+	 */
+	private final boolean valid;
+
+	/**
+	 * Attribute that represents the last built node path, with the separator used to build it.
+	 */
+	private volatile NodePath nodePath = null;
+
+	/**
+	 * Constructor method for the class CacheValetNamespace.java.
+	 * @param pathParam Elements of the path of the node.
+	 */
+	public CacheValetNamespace(String... pathParam) {
+		super();
+		path = pathParam == null ? new String[0] : Arrays.copyOf(pathParam, pathParam.length);
+		boolean allElementsOk = path.length > 0;
+		for (int index = 0; allElementsOk && index < path.length; index++) {
+			allElementsOk = !UtilsStringChar.isNullOrEmptyTrim(path[index]);
+		}
+		valid = allElementsOk;
+	}
+
+	/**
+	 * Builds a new namespace that represents the child node of this one with the input name.
+	 * @param childName Name of the child node.
+	 * @return a new namespace that represents the child node.
+	 */
+	public CacheValetNamespace child(String childName) {
+		String[ ] childPath = Arrays.copyOf(path, path.length + 1);
+		childPath[path.length] = childName;
+		return new CacheValetNamespace(childPath);
+	}
+
+	/**
+	 * Gets the value of the attribute {@link #valid}.
+	 * @return the value of the attribute {@link #valid}.
+	 */
+	public boolean isValid() {
+		return valid;
+	}
+
+	/**
+	 * Gets the string that represents the node in the cache, built with the input separator. The string is interned and
+	 * only built the first time.
+	 * @param separator Separator used by the cache for the path.
+	 * @return the string that represents the node in the cache.
+	 */
+	public String getNodePath(String separator) {
+
+		NodePath result = nodePath;
+		if (result == null || !result.separator.equals(separator)) {
+			StringBuilder sb = new StringBuilder();
+			for (String element: path) {
+				sb.append(separator).append(element.trim());
+			}
+			result = new NodePath(separator, sb.toString().intern());
+			nodePath = result;
+		}
+		return result.path;
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return Arrays.toString(path);
+	}
+
+	/**
+	 * <p>Class that represents the node path built with a separator.</p>
+	 * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+	 * @version 1.0, 18/10/2026.
+	 */
+	private static final class NodePath {
+
+		/**
+		 * Attribute that represents the separator used to build the node path.
+		 */
+		private final String separator;
+
+		/**
+		 * Attribute that represents the node path.
+		 */
+		private final String path;
+
+		/**
+		 * Constructor method for the class NodePath.
+		 * @param separatorParam Separator used to build the node path.
+		 * @param pathParam Node path.
+		 */
+		private NodePath(String separatorParam, String pathParam) {
+			super();
+			separator = separatorParam;
+			path = pathParam;
+		}
+
+	}
+
+}
@@ -0,0 +1,425 @@
+/*
+/*******************************************************************************
+ * Copyright (C) 2018 MINHAFP, Gobierno de España
+ * This program is licensed and may be used, modified and redistributed under the  terms
+ * of the European Public License (EUPL), either version 1.1 or (at your option)
+ * any later version as soon as they are approved by the European Commission.
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and
+ * more details.
+ * You should have received a copy of the EUPL1.1 license
+ * along with this program; if not, you may find it at
+ * http:joinup.ec.europa.eu/software/page/eupl/licence-eupl
+ ******************************************************************************/
+
+/**
+ * <b>File:</b><p>es.gob.valet.commons.utils.CRLRevokedSerialIndex.java.</p>
+ * <b>Description:</b><p>Class that represents an immutable index of the serial numbers of the revoked certificates
+ * included in a X.509 CRL.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * <b>Date:</b><p>18/10/2026.</p>
+ * @author Gobierno de España.
+ * @version 1.0, 18/10/2026.
+ */
+package es.gob.valet.commons.utils;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.math.BigInteger;
+import java.security.cert.CRLException;
+import java.security.cert.X509CRL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.asn1.x509.TBSCertList;
+import org.bouncycastle.asn1.x509.TBSCertList.CRLEntry;
+
+/**
+ * <p>Class that represents an immutable index of the serial numbers of the revoked certificates
+ * included in a X.509 CRL. The serial numbers are stored in sorted primitive arrays, grouped by the
+ * issuer of the revoked certificates (that only could be different to the CRL issuer for indirect CRLs),
+ * so searching a serial number is a binary search. The index of each CRL is built only once and
+ * it is kept while the CRL object is referenced.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * @version 1.0, 18/10/2026.
+ */
+public final class CRLRevokedSerialIndex {
+
+	/**
+	 * Constant attribute that represents the value returned when a serial number is not found in the index.
+	 */
+	public static final int NOT_FOUND = -1;
+
+	/**
+	 * Constant attribute that represents the indexes built, associated to the instance of each CRL.
+	 */
+	private static final Map<CRLReferenceKey, CRLRevokedSerialIndex> INDEXES = new ConcurrentHashMap<CRLReferenceKey, CRLRevokedSerialIndex>();
+
+	/**
+	 * Constant attribute that represents the queue of references to CRLs that are not used anymore.
+	 */
+	private static final ReferenceQueue<X509CRL> UNUSED_CRLS = new ReferenceQueue<X509CRL>();
+
+	/**
+	 * Attribute that represents the identifier assigned to each issuer of revoked certificates.
+	 */
+	private final Map<X500Name, Integer> issuerIds;
+
+	/**
+	 * Attribute that represents the issuer identifier of each sorted entry.
+	 */
+	private final int[ ] entryIssuers;
+
+	/**
+	 * Attribute that represents the offsets of the serial number of each sorted entry in {@link #serialsData}.
+	 * It has one element more than the number of entries.
+	 */
+	private final int[ ] serialOffsets;
+
+	/**
+	 * Attribute that represents the concatenated encoded serial numbers of the sorted entries.
+	 */
+	private final byte[ ] serialsData;
+
+	/**
+	 * Attribute that represents the position in the CRL of each sorted entry.
+	 */
+	private final int[ ] entryPositions;
+
+	/**
+	 * Constructor method for the class CRLRevokedSerialIndex.java.
+	 * @param tbsCertList Entries certificate list on the CRL.
+	 * @param isIndirect Flag that indicates if the CRL is indirect.
+	 */
+	private CRLRevokedSerialIndex(TBSCertList tbsCertList, boolean isIndirect) {
+		super();
+
+		issuerIds = new HashMap<X500Name, Integer>();
+		List<IndexEntry> entries = new ArrayList<IndexEntry>();
+
+		// Inicialmente el emisor de los certificados revocados es el emisor
+		// de la CRL.
+		int currentIssuerId = getIssuerId(tbsCertList.getIssuer());
+
+		// Recorremos las entradas de certificados revocados, extrayendo
+		// únicamente el número de serie y el emisor correspondiente.
+		@SuppressWarnings("rawtypes")
+		Enumeration revokedCerts = tbsCertList.getRevokedCertificateEnumeration();
+		int position = 0;
+		while (revokedCerts.hasMoreElements()) {
+
+			CRLEntry crlEntry = CRLEntry.getInstance(revokedCerts.nextElement());
+
+			// Si la CRL es indirecta y la entrada indica el emisor de los
+			// certificados revocados, este pasa a ser el emisor actual.
+			if (isIndirect && crlEntry.hasExtensions()) {
+				Extension currentCaName = crlEntry.getExtensions().getExtension(Extension.certificateIssuer);
+				if (currentCaName != null) {
+					currentIssuerId = getIssuerId(X500Name.getInstance(GeneralNames.getInstance(currentCaName.getParsedValue()).getNames()[0].getName()));
+				}
+			}
+
+			entries.add(new IndexEntry(currentIssuerId, crlEntry.getUserCertificate().getValue().toByteArray(), position));
+			position++;
+
+		}
+
+		// Ordenamos las entradas por emisor, número de serie y posición en la
+		// CRL, y las almacenamos en los arrays.
+		entries.sort(new Comparator<IndexEntry>() {
+
+			/**
+			 * {@inheritDoc}
+			 * @see java.util.Comparator#compare(java.lang.Object, java.lang.Object)
+			 */
+			@Override
+			public int compare(IndexEntry o1, IndexEntry o2) {
+				int result = Integer.compare(o1.issuerId, o2.issuerId);
+				if (result == 0) {
+					result = compareSerials(o1.serial, 0, o1.serial.length, o2.serial);
+				}
+				if (result == 0) {
+					result = Integer.compare(o1.position, o2.position);
+				}
+				return result;
+			}
+		});
+
+		int size = entries.size();
+		entryIssuers = new int[size];
+		serialOffsets = new int[size + 1];
+		entryPositions = new int[size];
+		int totalLength = 0;
+		for (IndexEntry entry: entries) {
+			totalLength += entry.serial.length;
+		}
+		serialsData = new byte[totalLength];
+		int offset = 0;
+		for (int index = 0; index < size; index++) {
+			IndexEntry entry = entries.get(index);
+			entryIssuers[index] = entry.issuerId;
+			serialOffsets[index] = offset;
+			entryPositions[index] = entry.position;
+			System.arraycopy(entry.serial, 0, serialsData, offset, entry.serial.length);
+			offset += entry.serial.length;
+		}
+		serialOffsets[size] = offset;
+
+	}
+
+	/**
+	 * Gets the index of the revoked serial numbers for the input CRL, building it if it does not exist yet.
+	 * @param crl X.509 CRL to index.
+	 * @return the index of the revoked serial numbers of the input CRL.
+	 * @throws CRLException In case of some error getting the revoked certificates list of the CRL.
+	 */
+	public static CRLRevokedSerialIndex getIndex(X509CRL crl) throws CRLException {
+
+		// Eliminamos los índices de las CRL que ya no se usan.
+		purgeUnusedIndexes();
+
+		CRLReferenceKey lookupKey = new CRLReferenceKey(crl, null);
+		CRLRevokedSerialIndex result = INDEXES.get(lookupKey);
+
+		if (result == null) {
+			TBSCertList tbsCertList = TBSCertList.getInstance(crl.getTBSCertList());
+			result = new CRLRevokedSerialIndex(tbsCertList, UtilsCRL.isIndirectCRL(crl));
+			CRLRevokedSerialIndex previous = INDEXES.putIfAbsent(new CRLReferenceKey(crl, UNUSED_CRLS), result);
+			if (previous != null) {
+				result = previous;
+			}
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * Searchs the input serial number, revoked by some of the input issuers.
+	 * @param serialNumber Serial number to search.
+	 * @param issuers Issuers of the revoked certificates to consider.
+	 * @return the position in the CRL of the first entry with the input serial number revoked by some of
+	 * the input issuers, or {@link #NOT_FOUND} if there is not some entry for them.
+	 */
+	public int search(BigInteger serialNumber, Collection<X500Name> issuers) {
+
+		int result = NOT_FOUND;
+
+		byte[ ] serial = serialNumber.toByteArray();
+		for (X500Name issuer: issuers) {
+			Integer issuerId = issuerIds.get(issuer);
+			if (issuerId != null) {
+				int position = search(issuerId, serial);
+				if (position != NOT_FOUND && (result == NOT_FOUND || position < result)) {
+					result = position;
+				}
+			}
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * Gets the number of entries in the index.
+	 * @return the number of entries in the index.
+	 */
+	public int size() {
+		return entryPositions.length;
+	}
+
+	/**
+	 * Searchs through binary search the input serial number associated to the input issuer.
+	 * @param issuerId Identifier of the issuer of the revoked certificate.
+	 * @param serial Encoded serial number to search.
+	 * @return the lowest position in the CRL of the entries that matches, or {@link #NOT_FOUND}.
+	 */
+	private int search(int issuerId, byte[ ] serial) {
+
+		int result = NOT_FOUND;
+		int low = 0;
+		int high = entryPositions.length - 1;
+
+		// Buscamos la primera entrada que no sea menor que la buscada. Al
+		// estar ordenadas también por posición, si coincide será la primera
+		// de la CRL.
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (compareEntry(mid, issuerId, serial) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid - 1;
+			}
+		}
+
+		if (low < entryPositions.length && compareEntry(low, issuerId, serial) == 0) {
+			result = entryPositions[low];
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * Compares the sorted entry at the input index with the input issuer and serial number.
+	 * @param index Index of the sorted entry.
+	 * @param issuerId Identifier of the issuer to compare.
+	 * @param serial Encoded serial number to compare.
+	 * @return a negative integer, zero, or a positive integer as the entry is less than, equal to,
+	 * or greater than the input values.
+	 */
+	private int compareEntry(int index, int issuerId, byte[ ] serial) {
+
+		int result = Integer.compare(entryIssuers[index], issuerId);
+		if (result == 0) {
+			result = compareSerials(serialsData, serialOffsets[index], serialOffsets[index + 1], serial);
+		}
+		return result;
+
+	}
+
+	/**
+	 * Compares two encoded serial numbers, first by length and then byte by byte.
+	 * @param data Array that contains the first serial number.
+	 * @param from Initial position (inclusive) of the first serial number.
+	 * @param to Final position (exclusive) of the first serial number.
+	 * @param serial Second serial number.
+	 * @return a negative integer, zero, or a positive integer as the first serial number is less than,
+	 * equal to, or greater than the second one.
+	 */
+	private static int compareSerials(byte[ ] data, int from, int to, byte[ ] serial) {
+
+		int result = Integer.compare(to - from, serial.length);
+		for (int index = 0; result == 0 && index < serial.length; index++) {
+			result = Integer.compare(data[from + index] & 0xFF, serial[index] & 0xFF);
+		}
+		return result;
+
+	}
+
+	/**
+	 * Gets the identifier assigned to the input issuer, assigning a new one if it has not.
+	 * @param issuer Issuer of revoked certificates.
+	 * @return the identifier assigned to the input issuer.
+	 */
+	private int getIssuerId(X500Name issuer) {
+
+		Integer result = issuerIds.get(issuer);
+		if (result == null) {
+			result = issuerIds.size();
+			issuerIds.put(issuer, result);
+		}
+		return result;
+
+	}
+
+	/**
+	 * Removes the indexes associated to the CRLs that are not referenced anymore.
+	 */
+	private static void purgeUnusedIndexes() {
+
+		Reference<? extends X509CRL> ref = UNUSED_CRLS.poll();
+		while (ref != null) {
+			INDEXES.remove(ref);
+			ref = UNUSED_CRLS.poll();
+		}
+
+	}
+
+	/**
+	 * <p>Class that represents an entry used while the index is built.</p>
+	 * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+	 * @version 1.0, 18/10/2026.
+	 */
+	private static final class IndexEntry {
+
+		/**
+		 * Attribute that represents the identifier of the issuer of the revoked certificate.
+		 */
+		private final int issuerId;
+
+		/**
+		 * Attribute that represents the encoded serial number of the revoked certificate.
+		 */
+		private final byte[ ] serial;
+
+		/**
+		 * Attribute that represents the position of the entry in the CRL.
+		 */
+		private final int position;
+
+		/**
+		 * Constructor method for the class IndexEntry.
+		 * @param issuerIdParam Identifier of the issuer of the revoked certificate.
+		 * @param serialParam Encoded serial number of the revoked certificate.
+		 * @param positionParam Position of the entry in the CRL.
+		 */
+		private IndexEntry(int issuerIdParam, byte[ ] serialParam, int positionParam) {
+			super();
+			issuerId = issuerIdParam;
+			serial = serialParam;
+			position = positionParam;
+		}
+
+	}
+
+	/**
+	 * <p>Class that represents a weak reference to a CRL instance, comparable by identity.</p>
+	 * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+	 * @version 1.0, 18/10/2026.
+	 */
+	private static final class CRLReferenceKey extends WeakReference<X509CRL> {
+
+		/**
+		 * Attribute that represents the identity hash code of the referenced CRL.
+		 */
+		private final int hash;
+
+		/**
+		 * Constructor method for the class CRLReferenceKey.
+		 * @param crl CRL to reference.
+		 * @param queue Queue in which register the reference when the CRL is not used, or <code>null</code>.
+		 */
+		private CRLReferenceKey(X509CRL crl, ReferenceQueue<X509CRL> queue) {
+			super(crl, queue);
+			hash = System.identityHashCode(crl);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			boolean result = obj == this;
+			if (!result && obj instanceof CRLReferenceKey) {
+				X509CRL crl = get();
+				result = crl != null && crl == ((CRLReferenceKey) obj).get();
+			}
+			return result;
+		}
+
+	}
+
+}
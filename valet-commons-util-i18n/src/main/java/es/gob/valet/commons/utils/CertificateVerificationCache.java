@@ -0,0 +1,236 @@
+/*
+/*******************************************************************************
+ * Copyright (C) 2018 MINHAFP, Gobierno de España
+ * This program is licensed and may be used, modified and redistributed under the  terms
+ * of the European Public License (EUPL), either version 1.1 or (at your option)
+ * any later version as soon as they are approved by the European Commission.
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and
+ * more details.
+ * You should have received a copy of the EUPL1.1 license
+ * along with this program; if not, you may find it at
+ * http:joinup.ec.europa.eu/software/page/eupl/licence-eupl
+ ******************************************************************************/
+
+/**
+ * <b>File:</b><p>es.gob.valet.commons.utils.CertificateVerificationCache.java.</p>
+ * <b>Description:</b><p>Class that represents a node cache of the results of the verification of the signature
+ * of certificates with public keys.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * <b>Date:</b><p>18/10/2026.</p>
+ * @author Gobierno de España.
+ * @version 1.0, 18/10/2026.
+ */
+package es.gob.valet.commons.utils;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.X509Certificate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.log4j.Logger;
+
+import es.gob.valet.i18n.Language;
+import es.gob.valet.i18n.messages.ICommonsUtilGeneralMessages;
+
+/**
+ * <p>Class that represents a node cache of the results (positive and negative) of the verification of the signature
+ * of certificates with public keys. Each result is indexed by the SHA-256 digest of the encoded public key followed
+ * by the encoded certificate. The whole certificate (and not only its TBS) is digested so a certificate with the
+ * same content but other signature value never obtains the result of the original one.</p>
+ * <p>The cache is bounded by the configured maximum number of entries: when it is full, it is emptied. The errors
+ * verifying a certificate (that are not a signature mismatch) are never stored.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * @version 1.0, 18/10/2026.
+ */
+public final class CertificateVerificationCache {
+
+	/**
+	 * Attribute that represents the object that manages the log of the class.
+	 */
+	private static final Logger LOGGER = Logger.getLogger(CertificateVerificationCache.class);
+
+	/**
+	 * Constant attribute that represents the unique instance of the class.
+	 */
+	private static final CertificateVerificationCache INSTANCE = new CertificateVerificationCache();
+
+	/**
+	 * Constant attribute that represents the digest algorithm used to build the keys of the cache.
+	 */
+	private static final String DIGEST_ALGORITHM = "SHA-256";
+
+	/**
+	 * Attribute that represents the results of the verifications indexed by the digest of the public key and the certificate.
+	 */
+	private final Map<ByteBuffer, Boolean> results = new ConcurrentHashMap<ByteBuffer, Boolean>();
+
+	/**
+	 * Attribute that represents the number of verifications whose result has been obtained from the cache.
+	 */
+	private final AtomicLong hits = new AtomicLong(0L);
+
+	/**
+	 * Attribute that represents the number of verifications whose result has not been found in the cache.
+	 */
+	private final AtomicLong misses = new AtomicLong(0L);
+
+	/**
+	 * Constructor method for the class CertificateVerificationCache.java.
+	 */
+	private CertificateVerificationCache() {
+		super();
+	}
+
+	/**
+	 * Gets the unique instance of the class.
+	 * @return the unique instance of the class.
+	 */
+	public static CertificateVerificationCache getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Builds the key that identifies the verification of the input certificate with the input public key.
+	 * @param publicKey Public key to use to verify the certificate.
+	 * @param cert Certificate to verify.
+	 * @return the key that identifies the verification, or <code>null</code> if the cache is disabled or the
+	 * key can not be built.
+	 */
+	public ByteBuffer buildKey(PublicKey publicKey, X509Certificate cert) {
+
+		ByteBuffer result = null;
+		byte[ ] publicKeyEncoded = publicKey.getEncoded();
+		if (MaxEntriesHolder.MAX_ENTRIES > 0 && publicKeyEncoded != null) {
+			try {
+				MessageDigest md = MessageDigest.getInstance(DIGEST_ALGORITHM);
+				md.update(publicKeyEncoded);
+				md.update(cert.getEncoded());
+				result = ByteBuffer.wrap(md.digest());
+			} catch (NoSuchAlgorithmException | CertificateEncodingException e) {
+				result = null;
+			}
+		}
+		return result;
+
+	}
+
+	/**
+	 * Gets the result of the verification identified by the input key, and updates the hit/miss counters.
+	 * @param key Key that identifies the verification. It can be <code>null</code>.
+	 * @return the result of the verification, or <code>null</code> if it is not stored in the cache.
+	 */
+	public Boolean getResult(ByteBuffer key) {
+
+		Boolean result = null;
+		if (key != null) {
+			result = results.get(key);
+			if (result == null) {
+				misses.incrementAndGet();
+			} else {
+				hits.incrementAndGet();
+			}
+		}
+		return result;
+
+	}
+
+	/**
+	 * Stores the result of the verification identified by the input key. If the cache is full, first it is emptied.
+	 * @param key Key that identifies the verification. If it is <code>null</code>, nothing is done.
+	 * @param verified Result of the verification.
+	 */
+	public void putResult(ByteBuffer key, boolean verified) {
+
+		if (key != null) {
+			if (results.size() >= MaxEntriesHolder.MAX_ENTRIES) {
+				LOGGER.debug(Language.getFormatResCommonsUtilGeneral(ICommonsUtilGeneralMessages.UTILS_CERTIFICATE_008, new Object[ ] { hits.get(), misses.get() }));
+				results.clear();
+			}
+			results.put(key, Boolean.valueOf(verified));
+		}
+
+	}
+
+	/**
+	 * Gets the number of verifications whose result has been obtained from the cache.
+	 * @return the number of verifications whose result has been obtained from the cache.
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * Gets the number of verifications whose result has not been found in the cache.
+	 * @return the number of verifications whose result has not been found in the cache.
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * Gets the number of results stored in the cache.
+	 * @return the number of results stored in the cache.
+	 */
+	public int size() {
+		return results.size();
+	}
+
+	/**
+	 * Removes all the results stored in the cache and resets the hit/miss counters.
+	 */
+	public void clear() {
+		results.clear();
+		hits.set(0L);
+		misses.set(0L);
+	}
+
+	/**
+	 * Reads the configured maximum number of results stored in the cache.
+	 * @return the configured maximum number of results stored in the cache. The value 0 disables the cache.
+	 */
+	private static int readMaxEntries() {
+
+		int result = NumberConstants.NUM10000;
+
+		try {
+			String maxEntries = StaticValetConfig.getProperty(StaticValetConfig.TSL_VALIDATION_CERTVERIFICATION_CACHE_MAXENTRIES);
+			result = Integer.valueOf(maxEntries.trim());
+		} catch (NumberFormatException | NullPointerException e) {
+			LOGGER.warn(Language.getFormatResCommonsUtilGeneral(ICommonsUtilGeneralMessages.UTILS_CERTIFICATE_007, new Object[ ] { StaticValetConfig.TSL_VALIDATION_CERTVERIFICATION_CACHE_MAXENTRIES, result }));
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * <p>Class that holds the configured maximum number of results stored in the cache, so it is read (and the
+	 * possible warning logged) only once, the first time a verification uses the cache.</p>
+	 * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+	 * @version 1.0, 18/10/2026.
+	 */
+	private static final class MaxEntriesHolder {
+
+		/**
+		 * Constant attribute that represents the configured maximum number of results stored in the cache.
+		 */
+		private static final int MAX_ENTRIES = readMaxEntries();
+
+		/**
+		 * Constructor method for the class MaxEntriesHolder.
+		 */
+		private MaxEntriesHolder() {
+			super();
+		}
+
+	}
+
+}
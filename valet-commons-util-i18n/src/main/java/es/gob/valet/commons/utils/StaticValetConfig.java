@@ -21,7 +21,7 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>20/09/2018.</p>
  * @author Gobierno de España.
- * @version 1.14, 21/08/2019.
+ * @version 1.15, 18/10/2026.
  */
 package es.gob.valet.commons.utils;
 
@@ -39,7 +39,7 @@ import es.gob.valet.i18n.utils.UtilsTomcat;
  * <p>Class contains static properties of valET. This properties are immutable
  * and they can be modified only restarted the server context.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.14, 21/08/2019.
+ * @version 1.15, 18/10/2026.
  */
 public final class StaticValetConfig {
 
@@ -70,18 +70,42 @@ public final class StaticValetConfig {
 	 */
 	public static final String CACHE_IMPLEMENTATION = "cache.implementation";
 
-	/**
-	 * Constant attribute that represents the key for the property that indicates the idle time
-	 * before stop/destroy a configuration cache.
-	 */
-	public static final String CACHE_IDLETIMEBEFORESTOPCACHE = "cache.idleTimeBeforeStopCache";
-
 	/**
 	 * Constant attribute that represents the key for the property that indicates a two digit
 	 * number to add in the transactions number. This value must be unique in each instance of ValET.
 	 */
 	public static final String AUDIT_TRANSACTION_NUMBER_UNIQUEID = "audit.transaction.number.uniqueid";
 
+	/**
+	 * Constant attribute that represents the key for the property that indicates if the audit traces are written
+	 * asynchronously, through a ring buffer consumed by a dedicated thread.
+	 */
+	public static final String AUDIT_ASYNC_ENABLED = "audit.async.enabled";
+
+	/**
+	 * Constant attribute that represents the key for the property that indicates the number of audit traces that
+	 * the ring buffer of the asynchronous audit writer can store.
+	 */
+	public static final String AUDIT_ASYNC_BUFFERSIZE = "audit.async.bufferSize";
+
+	/**
+	 * Constant attribute that represents the key for the property that indicates the maximum number of audit traces
+	 * written together by the asynchronous audit writer.
+	 */
+	public static final String AUDIT_ASYNC_BATCHSIZE = "audit.async.batchSize";
+
+	/**
+	 * Constant attribute that represents the key for the property that indicates what to do with an audit trace
+	 * when the ring buffer of the asynchronous audit writer is full.
+	 */
+	public static final String AUDIT_ASYNC_OVERFLOWPOLICY = "audit.async.overflowPolicy";
+
+	/**
+	 * Constant attribute that represents the key for the property that indicates the maximum time (milliseconds)
+	 * to wait for the pending audit traces when the platform is stopped.
+	 */
+	public static final String AUDIT_ASYNC_SHUTDOWNTIMEOUT = "audit.async.shutdownTimeout";
+
 	/**
 	 * Constant attribute that represents the key for the property that indicates a list
 	 * of special characters.
@@ -115,6 +139,47 @@ public final class StaticValetConfig {
 	 */
 	public static final String TSL_SIGNATURE_VERIFY_SPECIFICATION = "tsl.signature.verify.specification";
 
+	/**
+	 * Attribute that represents the key for the property that indicates the maximum number of TSL that are
+	 * obtained from the data base and parsed in parallel when the TSL cache is reloaded.
+	 */
+	public static final String TSL_RELOAD_PARALLELISM = "tsl.reload.parallelism";
+
+	/**
+	 * Attribute that represents the key for the property that indicates if the parsed TSL are stored in a snapshot
+	 * file after each reload of the TSL cache, and restored from it in the next one.
+	 */
+	public static final String TSL_CACHE_SNAPSHOT_ENABLED = "tsl.cache.snapshot.enabled";
+
+	/**
+	 * Attribute that represents the key for the property that indicates the path of the snapshot file of the TSL cache.
+	 */
+	public static final String TSL_CACHE_SNAPSHOT_FILE = "tsl.cache.snapshot.file";
+
+	/**
+	 * Attribute that represents the key for the property that indicates if the TSL are parsed with the
+	 * streaming (StAX) builder instead of loading the whole XMLBeans document.
+	 */
+	public static final String TSL_PARSING_STREAMING_ENABLED = "tsl.parsing.streaming.enabled";
+
+	/**
+	 * Attribute that represents the key for the property that indicates the maximum number of TSL that are
+	 * checked in parallel by the task that searches new TSL revisions.
+	 */
+	public static final String TSL_REVISION_CHECK_PARALLELISM = "tsl.revision.check.parallelism";
+
+	/**
+	 * Attribute that represents the key for the property that indicates the maximum number of TSL that are
+	 * checked at the same time against the same host by the task that searches new TSL revisions.
+	 */
+	public static final String TSL_REVISION_CHECK_MAXPERHOST = "tsl.revision.check.maxPerHost";
+
+	/**
+	 * Attribute that represents the key for the property that indicates the maximum time (milliseconds) that
+	 * the task that searches new TSL revisions waits for the checks of all the TSL.
+	 */
+	public static final String TSL_REVISION_CHECK_DEADLINE = "tsl.revision.check.deadline";
+
 	/**
 	 * Attribute that represents the key for the property that indicates the initial date from which is
 	 * allowed to use TSL to validate certificates.
@@ -137,6 +202,30 @@ public final class StaticValetConfig {
 	 */
 	public static final String TSL_VALIDATION_OCSP_INTERVAL_ALLOWED = "tsl.validation.ocsp.interval.allowed";
 
+	/**
+	 * Constant attribute that represents the key for the property that indicates if the validated OCSP responses must be
+	 * stored in the node cache to be reused between validations.
+	 */
+	public static final String TSL_VALIDATION_OCSP_CACHE_ENABLED = "tsl.validation.ocsp.cache.enabled";
+
+	/**
+	 * Constant attribute that represents the key for the property that indicates the maximum number of OCSP responses
+	 * stored in the node cache.
+	 */
+	public static final String TSL_VALIDATION_OCSP_CACHE_MAXENTRIES = "tsl.validation.ocsp.cache.maxEntries";
+
+	/**
+	 * Constant attribute that represents the key for the property that indicates the maximum time (seconds) that an OCSP
+	 * response is kept in the node cache, regardless its next update date.
+	 */
+	public static final String TSL_VALIDATION_OCSP_CACHE_MAXAGE = "tsl.validation.ocsp.cache.maxAge";
+
+	/**
+	 * Constant attribute that represents the key for the property that indicates the identifiers (separated by commas) of the
+	 * applications that allow the use of OCSP requests without nonce and OCSP responses obtained from the node cache.
+	 */
+	public static final String TSL_VALIDATION_OCSP_CACHE_NONCELESS_APPLICATIONS = "tsl.validation.ocsp.cache.nonceless.applications";
+
 	/**
 	 * Constant attribute that represents the key for the property that indicates connection timeout to get a CRL (milliseconds).
 	 */
@@ -147,6 +236,48 @@ public final class StaticValetConfig {
 	 */
 	public static final String TSL_VALIDATION_CRL_TIMEOUT_READ = "tsl.validation.crl.timeout.read";
 
+	/**
+	 * Constant attribute that represents the key for the property that indicates if the downloaded CRLs must be
+	 * stored in the node cache to be reused between validations.
+	 */
+	public static final String TSL_VALIDATION_CRL_CACHE_ENABLED = "tsl.validation.crl.cache.enabled";
+
+	/**
+	 * Constant attribute that represents the key for the property that indicates the maximum size (bytes) of all
+	 * the CRLs stored in the node cache.
+	 */
+	public static final String TSL_VALIDATION_CRL_CACHE_MAXSIZE = "tsl.validation.crl.cache.maxSize";
+
+	/**
+	 * Constant attribute that represents the key for the property that indicates the maximum time (seconds) that a CRL
+	 * is kept in the node cache, regardless its next update date.
+	 */
+	public static final String TSL_VALIDATION_CRL_CACHE_MAXAGE = "tsl.validation.crl.cache.maxAge";
+
+	/**
+	 * Constant attribute that represents the key for the property that indicates the maximum number of results of
+	 * the verification of the signature of certificates stored in the node cache.
+	 */
+	public static final String TSL_VALIDATION_CERTVERIFICATION_CACHE_MAXENTRIES = "tsl.validation.certVerification.cache.maxEntries";
+
+	/**
+	 * Constant attribute that represents the key for the property that indicates the applications (and the time to live
+	 * of the results for each one, in seconds) that use the node cache of the results of the validation of certificates with the TSL.
+	 */
+	public static final String TSL_VALIDATION_RESULT_CACHE_APPLICATIONS = "tsl.validation.result.cache.applications";
+
+	/**
+	 * Constant attribute that represents the key for the property that indicates the maximum number of results of
+	 * the validation of certificates with the TSL stored in the node cache.
+	 */
+	public static final String TSL_VALIDATION_RESULT_CACHE_MAXENTRIES = "tsl.validation.result.cache.maxEntries";
+
+	/**
+	 * Constant attribute that represents the key for the property that indicates the size (seconds) of the intervals
+	 * in which the validation dates are grouped to reuse the results stored in the node cache.
+	 */
+	public static final String TSL_VALIDATION_RESULT_CACHE_DATEBUCKET = "tsl.validation.result.cache.dateBucket";
+
 	/**
 	 * Constant attribute that represents the key for the property that indicates the set of values recognized
 	 * for a certificate classification to 'Natural Person'.
@@ -189,6 +320,48 @@ public final class StaticValetConfig {
 	 */
 	public static final String TSL_SERVICE_DETECTCERTINTSLINFOANDVALIDATION_VALIDATIONDATE_TIMEGAPALLOWED = "tsl.service.detectCertInTslInfoAndValidation.validationDate.timeGapAllowed";
 
+	/**
+	 * Constant attribute that represents the key for the property that indicates the maximum number of certificates
+	 * allowed in a request of the service 'detectCertsInTslInfoAndValidation'.
+	 */
+	public static final String TSL_SERVICE_DETECTCERTSINTSLINFOANDVALIDATION_MAXCERTIFICATES = "tsl.service.detectCertsInTslInfoAndValidation.maxCertificates";
+
+	/**
+	 * Constant attribute that represents the key for the property that indicates the maximum number of certificates
+	 * of a request of the service 'detectCertsInTslInfoAndValidation' that are validated in parallel.
+	 */
+	public static final String TSL_SERVICE_DETECTCERTSINTSLINFOANDVALIDATION_PARALLELISM = "tsl.service.detectCertsInTslInfoAndValidation.parallelism";
+
+	/**
+	 * Constant attribute that represents the key for the property that indicates the number of threads shared by all the
+	 * requests of the service 'detectCertsInTslInfoAndValidation' to validate their certificates.
+	 */
+	public static final String TSL_SERVICE_DETECTCERTSINTSLINFOANDVALIDATION_THREADS = "tsl.service.detectCertsInTslInfoAndValidation.threads";
+
+	/**
+	 * Constant attribute that represents the key for the property that indicates the maximum time (milliseconds) allowed
+	 * to validate the certificates of a request of the service 'detectCertsInTslInfoAndValidation'.
+	 */
+	public static final String TSL_SERVICE_DETECTCERTSINTSLINFOANDVALIDATION_DEADLINE = "tsl.service.detectCertsInTslInfoAndValidation.deadline";
+
+	/**
+	 * Constant attribute that represents the key for the property that indicates the number of threads that execute
+	 * the requests of the asynchronous service 'detectCertInTslInfoAndValidationAsync'.
+	 */
+	public static final String TSL_SERVICE_DETECTCERTINTSLINFOANDVALIDATION_ASYNC_THREADS = "tsl.service.detectCertInTslInfoAndValidation.async.threads";
+
+	/**
+	 * Constant attribute that represents the key for the property that indicates the maximum number of requests of the
+	 * asynchronous service 'detectCertInTslInfoAndValidationAsync' waiting for a thread.
+	 */
+	public static final String TSL_SERVICE_DETECTCERTINTSLINFOANDVALIDATION_ASYNC_QUEUESIZE = "tsl.service.detectCertInTslInfoAndValidation.async.queueSize";
+
+	/**
+	 * Constant attribute that represents the key for the property that indicates the maximum time (milliseconds) allowed
+	 * to complete a request of the asynchronous service 'detectCertInTslInfoAndValidationAsync'.
+	 */
+	public static final String TSL_SERVICE_DETECTCERTINTSLINFOANDVALIDATION_ASYNC_DEADLINE = "tsl.service.detectCertInTslInfoAndValidation.async.deadline";
+
 	/**
 	 * Constant attribute that represents the prefix <code>tsl.eu.lotl.</code>.
 	 */
@@ -233,12 +406,33 @@ public final class StaticValetConfig {
 	 * Constant attribute that represents name for property <i>"connection.MaxSize"</i>.
 	 */
 	public static final String CONECTION_MAXSIZE = "connection.MaxSize";
+
+	/**
+	 * Constant attribute that represents name for property <i>"connection.pool.maxTotal"</i>.
+	 */
+	public static final String CONECTION_POOL_MAXTOTAL = "connection.pool.maxTotal";
+
+	/**
+	 * Constant attribute that represents name for property <i>"connection.pool.maxPerRoute"</i>.
+	 */
+	public static final String CONECTION_POOL_MAXPERROUTE = "connection.pool.maxPerRoute";
+
+	/**
+	 * Constant attribute that represents name for property <i>"connection.pool.idleTimeout"</i>.
+	 */
+	public static final String CONECTION_POOL_IDLETIMEOUT = "connection.pool.idleTimeout";
 	
 	
 	/**
 	 * Constant attribute that represents name for property <i>"connection.MaxSize"</i>.
 	 */
 	public static final String DAYS_REMINDER_ALARM = "days.reminder.alarm";
+
+	/**
+	 * Constant attribute that represents the key for the property that indicates the maximum time (milliseconds) the
+	 * configuration of the alarms is kept in memory before loading it again from the database.
+	 */
+	public static final String ALARMS_CONFIGURATION_REFRESHINTERVAL = "alarms.configuration.refreshInterval";
 	
 	/**
 	 * Constant attribute that represents name for property <i>"mail.tls.enable"</i>.
@@ -20,14 +20,13 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>25/11/2018.</p>
  * @author Gobierno de España.
- * @version 1.2, 21/02/2019.
+ * @version 1.3, 18/10/2026.
  */
 package es.gob.valet.commons.utils;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.math.BigInteger;
 import java.security.cert.CRLException;
 import java.security.cert.CertificateException;
 import java.security.cert.CertificateFactory;
@@ -51,7 +50,6 @@ import org.bouncycastle.asn1.DEROctetString;
 import org.bouncycastle.asn1.x500.X500Name;
 import org.bouncycastle.asn1.x509.CRLNumber;
 import org.bouncycastle.asn1.x509.Extension;
-import org.bouncycastle.asn1.x509.GeneralNames;
 import org.bouncycastle.asn1.x509.IssuingDistributionPoint;
 import org.bouncycastle.asn1.x509.TBSCertList;
 import org.bouncycastle.asn1.x509.TBSCertList.CRLEntry;
@@ -65,7 +63,7 @@ import es.gob.valet.i18n.messages.ICommonsUtilGeneralMessages;
 /**
  * <p>Utilities class that provides functionality to manage and work with X.509 CRL.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.2, 21/02/2019.
+ * @version 1.3, 18/10/2026.
  */
 public final class UtilsCRL {
 
@@ -163,12 +161,10 @@ public final class UtilsCRL {
 
 			try {
 
-				// Obtenemos la información de certificados revocados en la CRL.
-				TBSCertList tbsCertList = TBSCertList.getInstance(crl.getTBSCertList());
 				// Guardamos en una variable si la CRL es indirecta.
 				boolean isIndirect = isIndirectCRL(crl);
 				// Obtenemos el nombre del emisor de la CRL.
-				X500Name caName = tbsCertList.getIssuer();
+				X500Name caName = X500Name.getInstance(crl.getIssuerX500Principal().getEncoded());
 
 				// Obtenemos el nombre del emisor del certificado.
 				X500Name certIssuer = X500Name.getInstance(((X509Certificate) cert).getIssuerX500Principal().getEncoded());
@@ -194,9 +190,15 @@ public final class UtilsCRL {
 				// o se trata de una CRL indirecta, continuamos.
 				if (isIndirect || isCaNameRecognized) {
 
-					// Contianuamos el proceso de búsqueda en un método auxiliar
-					// para evitar la complejidad ciclomática.
-					result = searchCrlEntryForCertificateAux(cert, tbsCertList, isIndirect, caName, possibleCrlEntryIssuersSet, isCaNameRecognized);
+					// Buscamos el número de serie del certificado en el índice
+					// de certificados revocados de la CRL, considerando solo
+					// las entradas de los emisores reconocidos.
+					int position = CRLRevokedSerialIndex.getIndex(crl).search(cert.getSerialNumber(), possibleCrlEntryIssuersSet);
+
+					// Solo si se encuentra, construimos la entrada CRL.
+					if (position != CRLRevokedSerialIndex.NOT_FOUND) {
+						result = searchCrlEntryForCertificateAux(crl, position);
+					}
 
 				} else {
 
@@ -224,68 +226,33 @@ public final class UtilsCRL {
 
 	/**
 	 * Auxiliar method to avoid de cyclomatic complexity.
-	 * Search a {@link X509CRLEntry} in the input CRL for the input certificate. Also checks if the CRL is indirect (or not) and
-	 * test if it is compatible with the certificate or any of the issuers allowed.
-	 * @param cert X.509 certificate to chek if has a entry in the CRL.
-	 * @param tbsCertList Entries certificate list on the CRL.
-	 * @param isIndirect Flag that indicates if the CRL is indirect.
-	 * @param issuerCrlName a {@link X500Name} taht represents the CRL issuer.
-	 * @param possibleCrlEntryIssuersSet {@link Set} of {@link X500Name} taht represents valid issuers for the CRL.
-	 * @param issuerCrlRecognized Flag that indicates if at the moment is recognized the CRL issuer.
-	 * @return Returns a X.509 CRL entry if the CRL has the same issuer than the certificate or any of
-	 * the input possible issuers (considering also that the CRL could be indirect), and exists this entry in the CRL
-	 * for the input certificate.
+	 * Builds the {@link X509CRLEntry} placed in the input position of the revoked certificates list of the input CRL.
+	 * @param crl X.509 CRL to analyze.
+	 * @param position Position of the entry in the revoked certificates list of the CRL.
+	 * @return the X.509 CRL entry placed in the input position, or <code>null</code> if it does not exist.
+	 * @throws CRLException In case of some error getting the revoked certificates list of the CRL.
 	 */
-	private static X509CRLEntry searchCrlEntryForCertificateAux(X509Certificate cert, TBSCertList tbsCertList, boolean isIndirect, X500Name issuerCrlName, Set<X500Name> possibleCrlEntryIssuersSet, boolean issuerCrlRecognized) {
+	private static X509CRLEntry searchCrlEntryForCertificateAux(X509CRL crl, int position) throws CRLException {
 
 		// Se inicializa el resultado.
 		X509CRLEntry result = null;
 
-		X500Name caName = issuerCrlName;
-		boolean isCaNameRecognized = issuerCrlRecognized;
+		// Obtenemos la información de certificados revocados en la CRL.
+		TBSCertList tbsCertList = TBSCertList.getInstance(crl.getTBSCertList());
 
-		// Para no parsear todas las entradas, recorremos los objetos ASN.1.
+		// Para no parsear todas las entradas, recorremos los objetos ASN.1
+		// hasta la posición indicada.
 		@SuppressWarnings("rawtypes")
 		Enumeration revokedCerts = tbsCertList.getRevokedCertificateEnumeration();
+		int index = 0;
+		while (result == null && revokedCerts.hasMoreElements()) {
 
-		// Si se han encontrado entradas de certificados revocados...
-		if (revokedCerts != null) {
-
-			// Obtenemos el número de serie del certificado.
-			BigInteger certSerialNumber = cert.getSerialNumber();
-
-			// Mientras no hayamos encontrado la entrada CRL, y
-			// haya entradas de certificados que recorrer...
-			while (result == null && revokedCerts.hasMoreElements()) {
-
-				// Parseamos el siguiente elemento.
-				CRLEntry crlEntry = CRLEntry.getInstance(revokedCerts.nextElement());
-
-				// Si la CRL es indirecta y esta entrada tiene extensiones,
-				// si tiene la extensión que determina el emisor de los
-				// certificados
-				// revocados listados, lo sobrescribimos.
-				if (isIndirect && crlEntry.hasExtensions()) {
-					// Extraemos la extensión con el nombre del emisor.
-					Extension currentCaName = crlEntry.getExtensions().getExtension(Extension.certificateIssuer);
-					// Si no es nulo, lo extraemos.
-					if (currentCaName != null) {
-						caName = X500Name.getInstance(GeneralNames.getInstance(currentCaName.getParsedValue()).getNames()[0].getName());
-						isCaNameRecognized = possibleCrlEntryIssuersSet.contains(caName);
-					}
-				}
-
-				// Si reconocemos el emisor actual y el número de serie coincide
-				// con el
-				// del certificado.
-				if (isCaNameRecognized && crlEntry.getUserCertificate().getValue().equals(certSerialNumber)) {
-
-					// Esta es la entrada buscada.
-					result = new X509CRLEntryObject(crlEntry);
-
-				}
-
+			Object revokedCert = revokedCerts.nextElement();
+			// Si es la posición buscada, parseamos la entrada.
+			if (index == position) {
+				result = new X509CRLEntryObject(CRLEntry.getInstance(revokedCert));
 			}
+			index++;
 
 		}
 
@@ -20,12 +20,13 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>21/09/2018.</p>
  * @author Gobierno de España.
- * @version 1.9, 30/10/2024.
+ * @version 1.10, 18/10/2026.
  */
 package es.gob.valet.commons.utils;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.security.NoSuchProviderException;
@@ -60,7 +61,7 @@ import es.gob.valet.i18n.messages.ICommonsUtilGeneralMessages;
 /**
  * <p>Class that provides methods for managing certificates.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.9, 30/10/2024.
+ * @version 1.10, 18/10/2026.
  */
 public final class UtilsCertificate {
 
@@ -280,6 +281,7 @@ public final class UtilsCertificate {
 
 	/**
 	 * Checks if a given public key corresponds to the private key that signed the input certificate.
+	 * The result of the verification is obtained from (or stored in) the node cache of verifications.
 	 * @param publicKey Public key to use to verify the certificate.
 	 * @param cert Certificate to check.
 	 * @return <code>true</code> if the public key verifies the certificate.
@@ -289,6 +291,28 @@ public final class UtilsCertificate {
 		if (publicKey == null || cert == null) {
 			return false;
 		}
+		// Si ya se ha verificado el certificado con esta clave pública, se
+		// devuelve el mismo resultado.
+		CertificateVerificationCache verificationCache = CertificateVerificationCache.getInstance();
+		ByteBuffer verificationKey = verificationCache.buildKey(publicKey, cert);
+		Boolean cachedResult = verificationCache.getResult(verificationKey);
+		if (cachedResult != null) {
+			return cachedResult.booleanValue();
+		}
+		boolean result = verifySignature(publicKey, cert);
+		verificationCache.putResult(verificationKey, result);
+		return result;
+	}
+
+	/**
+	 * Verifies the signature of the input certificate with the input public key.
+	 * @param publicKey Public key to use to verify the certificate.
+	 * @param cert Certificate to check.
+	 * @return <code>true</code> if the public key verifies the certificate, or <code>false</code> if the signature
+	 * does not match.
+	 * @throws CommonUtilsException if there is any problem verifying the certificate.
+	 */
+	private static boolean verifySignature(PublicKey publicKey, X509Certificate cert) throws CommonUtilsException {
 		try {
 			cert.verify(publicKey);
 		} catch (InvalidKeyException e) {
@@ -20,7 +20,7 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>06/11/2018.</p>
  * @author Gobierno de España.
- * @version 1.0, 06/11/2018.
+ * @version 1.1, 18/10/2026.
  */
 package es.gob.valet.commons.utils;
 
@@ -38,7 +38,7 @@ import es.gob.valet.i18n.messages.ICommonsUtilGeneralMessages;
 /**
  * <p>Utilities class for cryptographics operations.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.0, 06/11/2018.
+ * @version 1.1, 18/10/2026.
  */
 public final class UtilsCrypto {
 
@@ -96,18 +96,8 @@ public final class UtilsCrypto {
 			throw new CommonUtilsException(IValetException.COD_200, Language.getResCommonsUtilGeneral(ICommonsUtilGeneralMessages.UTILS_CRYPTO_002));
 		} else {
 
-			// Intentamos calcular el hash sobre los datos...
-			try {
-				// Instanciamos el gestor que calcula el digest en función
-				// de si se ha especificado un provider o no.
-				if (provider == null) {
-					result = MessageDigest.getInstance(algorithm).digest(data);
-				} else {
-					result = MessageDigest.getInstance(algorithm, provider).digest(data);
-				}
-			} catch (NoSuchAlgorithmException e) {
-				throw new CommonUtilsException(IValetException.COD_200, Language.getFormatResCommonsUtilGeneral(ICommonsUtilGeneralMessages.UTILS_CRYPTO_000, new Object[ ] { algorithm }));
-			}
+			// Calculamos el hash sobre los datos...
+			result = getMessageDigest(algorithm, provider).digest(data);
 
 		}
 
@@ -115,6 +105,36 @@ public final class UtilsCrypto {
 
 	}
 
+	/**
+	 * Gets a new instance of {@link MessageDigest} for the algorithm specified, to calculate incrementally the digest
+	 * of data that is not available in a single byte array.
+	 * @param algorithm Hash algorithm to apply. It can not be null or empty.
+	 * @param provider Provider to use for calculate the hash algorithm. If it is <code>null</code>, then
+	 * tries to use the provider setted in java security providers configuration.
+	 * @return a new instance of {@link MessageDigest} for the algorithm specified.
+	 * @throws CommonUtilsException In case of the input hash is not properly defined or it is not recognized.
+	 */
+	public static MessageDigest getMessageDigest(String algorithm, Provider provider) throws CommonUtilsException {
+
+		// Si el algoritmo no está definido, lanzamos excepción...
+		if (UtilsStringChar.isNullOrEmptyTrim(algorithm)) {
+			throw new CommonUtilsException(IValetException.COD_200, Language.getResCommonsUtilGeneral(ICommonsUtilGeneralMessages.UTILS_CRYPTO_001));
+		}
+
+		try {
+			// Instanciamos el gestor que calcula el digest en función
+			// de si se ha especificado un provider o no.
+			if (provider == null) {
+				return MessageDigest.getInstance(algorithm);
+			} else {
+				return MessageDigest.getInstance(algorithm, provider);
+			}
+		} catch (NoSuchAlgorithmException e) {
+			throw new CommonUtilsException(IValetException.COD_200, Language.getFormatResCommonsUtilGeneral(ICommonsUtilGeneralMessages.UTILS_CRYPTO_000, new Object[ ] { algorithm }));
+		}
+
+	}
+
 	/**
 	 * Calculate the digest in base 64 of the input data with the algorithm specified.
 	 * @param algorithm Hash algorithm to apply. It can not be null or empty.
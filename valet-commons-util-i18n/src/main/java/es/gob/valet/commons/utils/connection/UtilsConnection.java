@@ -20,7 +20,7 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>25/11/2018.</p>
  * @author Gobierno de España.
- * @version 1.0, 25/11/2018.
+ * @version 1.1, 18/10/2026.
  */
 package es.gob.valet.commons.utils.connection;
 
@@ -35,7 +35,7 @@ import es.gob.valet.i18n.messages.ICommonsUtilGeneralMessages;
 /**
  * <p>Utilities class relating to general connections properties and operations.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.0, 25/11/2018.
+ * @version 1.1, 18/10/2026.
  */
 public final class UtilsConnection {
 
@@ -56,21 +56,55 @@ public final class UtilsConnection {
 	 * @return The maximum size allowed for resource connections (in bytes).
 	 */
 	public static int getMaxSizeConnection() {
+		return getIntProperty(StaticValetConfig.CONECTION_MAXSIZE, NumberConstants.NUM5242880);
+	}
+
+	/**
+	 * Gets the maximum number of connections kept by the shared connections pool.
+	 * @return The maximum number of connections kept by the shared connections pool.
+	 */
+	public static int getPoolMaxTotal() {
+		return getIntProperty(StaticValetConfig.CONECTION_POOL_MAXTOTAL, NumberConstants.NUM100);
+	}
+
+	/**
+	 * Gets the maximum number of connections kept by the shared connections pool for the same host.
+	 * @return The maximum number of connections kept by the shared connections pool for the same host.
+	 */
+	public static int getPoolMaxPerRoute() {
+		return getIntProperty(StaticValetConfig.CONECTION_POOL_MAXPERROUTE, NumberConstants.NUM20);
+	}
+
+	/**
+	 * Gets the time that a connection could be idle in the shared connections pool before closing it.
+	 * @return The time that a connection could be idle in the shared connections pool (in seconds).
+	 */
+	public static int getPoolIdleTimeout() {
+		return getIntProperty(StaticValetConfig.CONECTION_POOL_IDLETIMEOUT, NumberConstants.NUM60);
+	}
+
+	/**
+	 * Gets the integer value of the input property.
+	 * @param propertyName Name of the property to get.
+	 * @param defaultValue Value to return if the property is not defined or it is not valid.
+	 * @return The integer value of the input property, or the input default value.
+	 */
+	private static int getIntProperty(String propertyName, int defaultValue) {
 
-		int result = NumberConstants.NUM5242880;
+		int result = defaultValue;
 		try {
-			String value = StaticValetConfig.getProperty(StaticValetConfig.CONECTION_MAXSIZE);
+			String value = StaticValetConfig.getProperty(propertyName);
 			if (UtilsStringChar.isNullOrEmptyTrim(value)) {
-				LOGGER.warn(Language.getFormatResCommonsUtilGeneral(ICommonsUtilGeneralMessages.UTILS_CONNECTION_001, new Object[ ] { StaticValetConfig.CONECTION_MAXSIZE, result }));
+				LOGGER.warn(Language.getFormatResCommonsUtilGeneral(ICommonsUtilGeneralMessages.UTILS_CONNECTION_001, new Object[ ] { propertyName, result }));
 			} else {
 				try {
-					result = Integer.parseInt(value);
+					result = Integer.parseInt(value.trim());
 				} catch (Exception e) {
-					LOGGER.warn(Language.getFormatResCommonsUtilGeneral(ICommonsUtilGeneralMessages.UTILS_CONNECTION_000, new Object[ ] { StaticValetConfig.CONECTION_MAXSIZE, result }));
+					LOGGER.warn(Language.getFormatResCommonsUtilGeneral(ICommonsUtilGeneralMessages.UTILS_CONNECTION_000, new Object[ ] { propertyName, result }));
 				}
 			}
 		} catch (Exception e) {
-			LOGGER.warn(Language.getFormatResCommonsUtilGeneral(ICommonsUtilGeneralMessages.UTILS_CONNECTION_001, new Object[ ] { StaticValetConfig.CONECTION_MAXSIZE, result }));
+			LOGGER.warn(Language.getFormatResCommonsUtilGeneral(ICommonsUtilGeneralMessages.UTILS_CONNECTION_001, new Object[ ] { propertyName, result }));
 		}
 		return result;
 
@@ -0,0 +1,106 @@
+/*
+/*******************************************************************************
+ * Copyright (C) 2018 MINHAFP, Gobierno de España
+ * This program is licensed and may be used, modified and redistributed under the  terms
+ * of the European Public License (EUPL), either version 1.1 or (at your option)
+ * any later version as soon as they are approved by the European Commission.
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and
+ * more details.
+ * You should have received a copy of the EUPL1.1 license
+ * along with this program; if not, you may find it at
+ * http:joinup.ec.europa.eu/software/page/eupl/licence-eupl
+ ******************************************************************************/
+
+/**
+ * <b>File:</b><p>es.gob.valet.rest.elements.DetectCertsInTslInfoAndValidationResponse.java.</p>
+ * <b>Description:</b><p>Class that represents structure of a batch of detected certificates in TSL and validation.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * <b>Date:</b><p>18/10/2026.</p>
+ * @author Gobierno de España.
+ * @version 1.0, 18/10/2026.
+ */
+package es.gob.valet.rest.elements;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * <p>Class that represents structure of a batch of detected certificates in TSL and validation. The results
+ * of each certificate are returned in the same order than the input certificates.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * @version 1.0, 18/10/2026.
+ */
+public class DetectCertsInTslInfoAndValidationResponse implements Serializable {
+
+	/**
+	 * Constant attribute that represents the serial version UID.
+	 */
+	private static final long serialVersionUID = 2904711657235127458L;
+
+	/**
+	 * Attribute that represents the status.
+	 */
+	private Integer status;
+
+	/**
+	 * Attribute that represents the description.
+	 */
+	private String description;
+
+	/**
+	 * Attribute that represents the results of each certificate.
+	 */
+	private List<DetectCertInTslInfoAndValidationResponse> results;
+
+	/**
+	 * Gets the value of the attribute {@link #status}.
+	 * @return the value of the attribute {@link #status}.
+	 */
+	public Integer getStatus() {
+		return status;
+	}
+
+	/**
+	 * Sets the value of the attribute {@link #status}.
+	 * @param statusParam The value for the attribute {@link #status}.
+	 */
+	public void setStatus(final Integer statusParam) {
+		this.status = statusParam;
+	}
+
+	/**
+	 * Gets the value of the attribute {@link #description}.
+	 * @return the value of the attribute {@link #description}.
+	 */
+	public String getDescription() {
+		return description;
+	}
+
+	/**
+	 * Sets the value of the attribute {@link #description}.
+	 * @param descriptionParam The value for the attribute {@link #description}.
+	 */
+	public void setDescription(final String descriptionParam) {
+		this.description = descriptionParam;
+	}
+
+	/**
+	 * Gets the value of the attribute {@link #results}.
+	 * @return the value of the attribute {@link #results}.
+	 */
+	public List<DetectCertInTslInfoAndValidationResponse> getResults() {
+		return results;
+	}
+
+	/**
+	 * Sets the value of the attribute {@link #results}.
+	 * @param resultsParam The value for the attribute {@link #results}.
+	 */
+	public void setResults(final List<DetectCertInTslInfoAndValidationResponse> resultsParam) {
+		this.results = resultsParam;
+	}
+
+}
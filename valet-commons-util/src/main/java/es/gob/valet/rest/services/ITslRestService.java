@@ -20,7 +20,7 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>07/09/2018.</p>
  * @author Gobierno de España.
- * @version 1.5, 07/06/2021.
+ * @version 1.6, 18/10/2026.
  */
 package es.gob.valet.rest.services;
 
@@ -36,6 +36,7 @@ import javax.ws.rs.core.MediaType;
 import es.gob.valet.commons.utils.UtilsDate;
 import es.gob.valet.exceptions.ValetRestException;
 import es.gob.valet.rest.elements.DetectCertInTslInfoAndValidationResponse;
+import es.gob.valet.rest.elements.DetectCertsInTslInfoAndValidationResponse;
 import es.gob.valet.rest.elements.TslInformationResponse;
 import es.gob.valet.rest.elements.TslInformationVersionsResponse;
 import es.gob.valet.rest.elements.json.ByteArrayB64;
@@ -44,7 +45,7 @@ import es.gob.valet.rest.elements.json.DateString;
 /**
  * <p>Interface that represents the TSL restful service.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.5, 07/06/2021.
+ * @version 1.6, 18/10/2026.
  */
 public interface ITslRestService {
 
@@ -68,6 +69,11 @@ public interface ITslRestService {
 	 */
 	String PARAM_CERTIFICATE = "certificate";
 
+	/**
+	 * Constant attribute that represents the token parameter 'certificates'.
+	 */
+	String PARAM_CERTIFICATES = "certificates";
+
 	/**
 	 * Constant attribute that represents the token parameter 'detectionDate'.
 	 */
@@ -113,6 +119,16 @@ public interface ITslRestService {
 	 */
 	String SERVICENAME_DETECT_CERT_IN_TSL_INFO_AND_VALIDATION = "detectCertInTslInfoAndValidation";
 
+	/**
+	 * Constant attribute that represents the token parameter 'detectCertInTslInfoAndValidationAsync'.
+	 */
+	String SERVICENAME_DETECT_CERT_IN_TSL_INFO_AND_VALIDATION_ASYNC = "detectCertInTslInfoAndValidationAsync";
+
+	/**
+	 * Constant attribute that represents the token parameter 'detectCertsInTslInfoAndValidation'.
+	 */
+	String SERVICENAME_DETECT_CERTS_IN_TSL_INFO_AND_VALIDATION = "detectCertsInTslInfoAndValidation";
+
 	/**
 	 * Constant attribute that represents the token parameter 'getTslInformation'.
 	 */
@@ -146,6 +162,30 @@ public interface ITslRestService {
 	@Consumes(MediaType.APPLICATION_FORM_URLENCODED)
 	DetectCertInTslInfoAndValidationResponse detectCertInTslInfoAndValidation(@FormParam(PARAM_APPLICATION) String application, @FormParam(PARAM_DELEGATED_APP) String delegatedApp, @FormParam(PARAM_TSL_LOCATION) String tslLocation, @FormParam(PARAM_CERTIFICATE) ByteArrayB64 certByteArrayB64, @FormParam(PARAM_DETECTION_DATE) DateString detectionDate, @FormParam(PARAM_GET_INFO) Boolean getInfo, @FormParam(PARAM_CHECK_REV_STATUS) Boolean checkRevStatus, @FormParam(PARAM_RETURN_REV_EVID) Boolean returnRevocationEvidence, @FormParam(PARAM_CRLS_BYTE_ARRAY) List<ByteArrayB64> crlsByteArrayB64List, @FormParam(PARAM_BASIC_OCSP_RESPONSES_BYTE_ARRAY) List<ByteArrayB64> basicOcspResponsesByteArrayB64List) throws ValetRestException;
 
+	/**
+	 * Method that returns the information and revocation status of a batch of certificates extracted from the TSL,
+	 * using the same parameters for all of them. The results are returned in the same order than the input certificates.
+	 * @param application Application identifier.
+	 * @param delegatedApp Delegated application identifier.
+	 * @param tslLocation TSL location to use. It could be <code>null</code>.
+	 * @param certsByteArrayB64List List of certificates to detect (byte[] in Base64 encoded).
+	 * @param detectionDate Date to use to detect and validate the input certificates. Format: {@value UtilsDate#FORMAT_DATE_TIME_JSON}.
+	 * @param getInfo Flag that indicates if it is necessary to get the certificates information in response.
+	 * @param checkRevStatus Flag that indicates if it is necessary to check the revocation status of the input certificates.
+	 * @param returnRevocationEvidence Flag that indicates if it is necessary to return the revocation evidence (only if {@code checkRevStatus} is <code>true</code>).
+	 * @param crlsByteArrayB64List List of byte arrays (in base 64) that represents the CRL to use to validate the certificates. <code>null</code> if there is not.
+	 * If this is defined, then {@code checkRevStatus} is considered <code>true</code>.
+	 * @param basicOcspResponsesByteArrayB64List List of byte arrays (in base 64) that represents the Basic OCSP responses to use to validate the certificates. <code>null</code> if there is not.
+	 * If this is defined, then {@code checkRevStatus} is considered <code>true</code>.
+	 * @return Structure with the detection in TSL and revocation status of each certificate.
+	 * @throws ValetRestException If some error is produced in the execution of the service.
+	 */
+	@POST
+	@Path("/detectCertsInTslInfoAndValidation")
+	@Produces(MediaType.APPLICATION_JSON)
+	@Consumes(MediaType.APPLICATION_FORM_URLENCODED)
+	DetectCertsInTslInfoAndValidationResponse detectCertsInTslInfoAndValidation(@FormParam(PARAM_APPLICATION) String application, @FormParam(PARAM_DELEGATED_APP) String delegatedApp, @FormParam(PARAM_TSL_LOCATION) String tslLocation, @FormParam(PARAM_CERTIFICATES) List<ByteArrayB64> certsByteArrayB64List, @FormParam(PARAM_DETECTION_DATE) DateString detectionDate, @FormParam(PARAM_GET_INFO) Boolean getInfo, @FormParam(PARAM_CHECK_REV_STATUS) Boolean checkRevStatus, @FormParam(PARAM_RETURN_REV_EVID) Boolean returnRevocationEvidence, @FormParam(PARAM_CRLS_BYTE_ARRAY) List<ByteArrayB64> crlsByteArrayB64List, @FormParam(PARAM_BASIC_OCSP_RESPONSES_BYTE_ARRAY) List<ByteArrayB64> basicOcspResponsesByteArrayB64List) throws ValetRestException;
+
 	/**
 	 * Method that returns the TSL information.
 	 * @param application Application identifier.
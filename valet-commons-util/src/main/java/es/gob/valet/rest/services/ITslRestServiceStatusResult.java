@@ -20,7 +20,7 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>26/11/2018.</p>
  * @author Gobierno de España.
- * @version 1.2, 07/06/2021.
+ * @version 1.3, 18/10/2026.
  */
 package es.gob.valet.rest.services;
 
@@ -29,7 +29,7 @@ import es.gob.valet.commons.utils.NumberConstants;
 /**
  * <p>Interface that defines the constants for the result status of the services.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.2, 07/06/2021.
+ * @version 1.3, 18/10/2026.
  */
 public interface ITslRestServiceStatusResult {
 
@@ -45,6 +45,18 @@ public interface ITslRestServiceStatusResult {
 	 */
 	int STATUS_ERROR_EXECUTING_SERVICE = 1;
 
+	/**
+	 * Constant attribute that represents the value for the general result status service
+	 * when the request has been rejected because the service is overloaded.
+	 */
+	int STATUS_ERROR_SERVICE_BUSY = NumberConstants.NUM2;
+
+	/**
+	 * Constant attribute that represents the value for the general result status service
+	 * when the request has not been completed within the allowed deadline.
+	 */
+	int STATUS_ERROR_SERVICE_TIMEOUT = NumberConstants.NUM3;
+
 	/**
 	 * Constant attribute that represents the value for the result status service
 	 * 'getTslInformation' when the TSL information has been finded.
@@ -152,6 +164,13 @@ public interface ITslRestServiceStatusResult {
 	 * information has been collected.
 	 */
 	int STATUS_SERVICE_DETECTCERTINTSLINFOVALIDATION_TSL_FINDED_CERT_DETECTED_INFO_COLLECTED_REVSTATUS_COLLECTED = NumberConstants.NUM31;
+
+	/**
+	 * Constant attribute that represents the value for the result status service
+	 * 'detectCertsInTslInfoAndValidation' when all the input certificates have been
+	 * processed. The result of each certificate has its own status.
+	 */
+	int STATUS_SERVICE_DETECTCERTSINTSLINFOVALIDATION_EXECUTED = NumberConstants.NUM40;
 	
 	/**
 	 * Constant attribute that represents the value for the result status service
@@ -22,7 +22,7 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>24/01/2019.</p>
  * @author Gobierno de España.
- * @version 1.1, 11/03/2019.
+ * @version 1.2, 18/10/2026.
  */
 package es.gob.valet.alarms;
 
@@ -31,6 +31,12 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 import org.apache.log4j.Logger;
 
@@ -53,8 +59,11 @@ import es.gob.valet.utils.threads.EMailTimeLimitedOperation;
  * <p>Class that manages the events of all the alarms. This class represents
  * the general manager of alarms module and provides the necessary logic interface
  * for the other modules can interact with this one.</p>
+ * <p>The alarm events are not processed by the thread that registers them: they are added to a lock-free queue
+ * and processed in order by a dedicated dispatcher thread, which writes them in GrayLog and sends the e-mails,
+ * so a burst of alarms (for example, while a CA is unavailable) does not block the validation requests.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.1, 11/03/2019.
+ * @version 1.2, 18/10/2026.
  */
 public final class AlarmsManager {
 
@@ -66,13 +75,74 @@ public final class AlarmsManager {
 	/**
 	 * Constant attribute that represents the unique instance of this class.
 	 */
-	private static AlarmsManager instance = null;
+	private static final AlarmsManager INSTANCE = new AlarmsManager();
+
+	/**
+	 * Constant attribute that represents the name of the thread that processes the alarm events.
+	 */
+	private static final String DISPATCHER_THREAD_NAME = "valet-alarms-dispatcher";
+
+	/**
+	 * Constant attribute that represents the maximum number of alarm events pending to be processed. The
+	 * events registered while the queue is full are discarded.
+	 */
+	private static final int MAX_PENDING_EVENTS = 1024;
+
+	/**
+	 * Constant attribute that represents the maximum time (nanoseconds) that the dispatcher waits for new
+	 * alarm events before checking again the queue.
+	 */
+	private static final long DISPATCHER_WAIT_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+	/**
+	 * Constant attribute that represents the maximum time (milliseconds) to wait for the pending alarm events
+	 * when the manager is stopped.
+	 */
+	private static final long SHUTDOWN_TIMEOUT = 5000L;
+
+	/**
+	 * Attribute that represents the queue of alarm events pending to be processed by the dispatcher.
+	 */
+	private final ConcurrentLinkedQueue<AlarmEvent> pendingEvents = new ConcurrentLinkedQueue<AlarmEvent>();
+
+	/**
+	 * Attribute that represents the number of alarm events in the queue (the size of the queue is not computed in
+	 * constant time).
+	 */
+	private final AtomicInteger pendingEventsCount = new AtomicInteger();
+
+	/**
+	 * Attribute that represents the number of alarm events discarded because the queue was full, and not reported yet.
+	 */
+	private final AtomicLong discardedEvents = new AtomicLong();
+
+	/**
+	 * Attribute that represents the flag that indicates if the dispatcher has been started.
+	 */
+	private final AtomicBoolean started = new AtomicBoolean(false);
+
+	/**
+	 * Attribute that represents the flag that indicates if the dispatcher must continue accepting alarm events.
+	 */
+	private volatile boolean running = true;
+
+	/**
+	 * Attribute that represents the flag that indicates if the dispatcher is parked waiting for alarm events.
+	 */
+	private volatile boolean dispatcherWaiting = false;
+
+	/**
+	 * Attribute that represents the thread that processes the alarm events.
+	 */
+	private final Thread dispatcher;
 
 	/**
 	 * Constructor method for the class AlarmsManager.java.
 	 */
 	private AlarmsManager() {
 		super();
+		dispatcher = new Thread(this::dispatch, DISPATCHER_THREAD_NAME);
+		dispatcher.setDaemon(true);
 	}
 
 	/**
@@ -80,55 +150,184 @@ public final class AlarmsManager {
 	 * @return the unique instance of this class.
 	 */
 	public static AlarmsManager getInstance() {
-		if (instance == null) {
-			instance = new AlarmsManager();
-		}
-		return instance;
+		return INSTANCE;
 	}
 
 	/**
-	 * Method that register an alarm event and send the email notification or save it for later.
+	 * Method that register an alarm event and send the email notification or save it for later. The event is
+	 * processed asynchronously by the dispatcher thread, so this method does not block.
 	 * @param alarmId Alarm identificator.
 	 * @param alarmMsg Alarm Message.
 	 */
-	public synchronized void registerAlarmEvent(String alarmId, String alarmMsg) {
+	public void registerAlarmEvent(String alarmId, String alarmMsg) {
 
 		// Comprobamos que los parámetros de entrada son correctos.
 		if (checkParametersBeforeRegisterAlarm(alarmId, alarmMsg)) {
 
-			// Registramos la alarma en GrayLog si así está configurado.
-			UtilsGrayLog.writeMessageInGrayLog(UtilsGrayLog.LEVEL_ERROR, alarmId, null, alarmMsg);
+			// Tomamos el momento del evento al registrarlo, no al procesarlo.
+			long timestamp = System.currentTimeMillis();
+
+			// Si el gestor ya se ha detenido, el evento se procesa en el
+			// propio hilo.
+			if (!running) {
+				processAlarmEvent(alarmId, alarmMsg, timestamp);
+			} else if (pendingEventsCount.incrementAndGet() > MAX_PENDING_EVENTS) {
+				// Si la cola está llena, se descarta el evento.
+				pendingEventsCount.decrementAndGet();
+				discardedEvents.incrementAndGet();
+			} else {
+				if (!started.get() && started.compareAndSet(false, true)) {
+					dispatcher.start();
+				}
+				pendingEvents.offer(new AlarmEvent(alarmId, alarmMsg, timestamp));
+				if (dispatcherWaiting) {
+					LockSupport.unpark(dispatcher);
+				}
+				// Si el gestor se ha detenido mientras se encolaba el evento,
+				// puede que el dispatcher ya haya vaciado la cola y terminado,
+				// así que se procesan en el propio hilo los eventos pendientes.
+				if (!running) {
+					processPendingEvents();
+				}
+			}
 
-			// Comprobamos si la alarma está habilitada...
-			if (AlarmsConfiguration.getInstance().isAlarmEnabled(alarmId)) {
+		}
 
-				// Comprobamos si esta alarma debe bloquearse (o podría
-				// estarlo).
-				if (AlarmsConfiguration.getInstance().getBlockTimeInMilliseconds(alarmId) > 0) {
+	}
 
-					// Registramos la alarma bloqueándola o añadiendo un mensaje
-					// nuevo
-					// para el momento del desbloqueo.
-					doAlarmOperation(ALARM_OP_ADD_ALARM_EVENT, alarmId, alarmMsg);
+	/**
+	 * Stops the dispatcher of alarm events (if it has been started), after processing the pending events. The
+	 * alarm events registered after this moment are processed by the registering thread, and those queued after the
+	 * dispatcher has finished are processed before returning.
+	 */
+	public void shutdown() {
 
-				} else {
+		running = false;
+		if (started.get()) {
+			LockSupport.unpark(dispatcher);
+			try {
+				dispatcher.join(SHUTDOWN_TIMEOUT);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			if (dispatcher.isAlive()) {
+				LOGGER.warn(Language.getFormatResCoreGeneral(ICoreGeneralMessages.ALARM_MNG_020, pendingEventsCount.get()));
+			} else {
+				// Procesamos los eventos encolados después de que el
+				// dispatcher terminara.
+				processPendingEvents();
+			}
+		}
 
-					// Al no ser necesario gestionar bloqueos en esta alarma,
-					// simplemente se manda el e-mail.
-					try {
-						sendEMailAlarm(alarmId, alarmMsg, false);
-					} catch (AlarmException e) {
-						LOGGER.error(Language.getResCoreGeneral(ICoreGeneralMessages.ALARM_MNG_000), e);
-					}
+	}
 
+	/**
+	 * Method executed by the dispatcher thread: processes in order the alarm events of the queue, until the manager
+	 * is stopped and the queue is empty.
+	 */
+	private void dispatch() {
+
+		while (running || !pendingEvents.isEmpty()) {
+
+			AlarmEvent event = pendingEvents.poll();
+			if (event == null) {
+				reportDiscardedEvents();
+				// Se indica que el hilo va a esperar antes de comprobar de
+				// nuevo la cola, para que el evento añadido por un productor
+				// que no haya visto la indicación no quede sin procesar.
+				dispatcherWaiting = true;
+				if (running && pendingEvents.isEmpty()) {
+					LockSupport.parkNanos(this, DISPATCHER_WAIT_NANOS);
 				}
+				dispatcherWaiting = false;
+			} else {
+				processPendingEvent(event);
+			}
+
+		}
+		reportDiscardedEvents();
+
+	}
+
+	/**
+	 * Processes in the current thread the alarm events of the queue, once the manager has been stopped.
+	 */
+	private void processPendingEvents() {
+
+		AlarmEvent event = pendingEvents.poll();
+		while (event != null) {
+			processPendingEvent(event);
+			event = pendingEvents.poll();
+		}
+
+	}
+
+	/**
+	 * Processes an alarm event taken from the queue.
+	 * @param event Alarm event taken from the queue.
+	 */
+	private void processPendingEvent(AlarmEvent event) {
+
+		pendingEventsCount.decrementAndGet();
+		try {
+			processAlarmEvent(event.alarmId, event.alarmMsg, event.timestamp);
+		} catch (RuntimeException e) {
+			LOGGER.error(Language.getFormatResCoreGeneral(ICoreGeneralMessages.ALARM_MNG_019, event.alarmId), e);
+		}
+
+	}
+
+	/**
+	 * Writes in the log the number of alarm events discarded since the last report, if there is some one.
+	 */
+	private void reportDiscardedEvents() {
+
+		long discarded = discardedEvents.getAndSet(0L);
+		if (discarded > 0L) {
+			LOGGER.warn(Language.getFormatResCoreGeneral(ICoreGeneralMessages.ALARM_MNG_018, discarded));
+		}
+
+	}
+
+	/**
+	 * Processes an alarm event: registers it in GrayLog and sends the email notification or saves it for later.
+	 * @param alarmId Alarm identificator.
+	 * @param alarmMsg Alarm Message.
+	 * @param timestamp Moment (milliseconds) when the event was registered.
+	 */
+	private void processAlarmEvent(String alarmId, String alarmMsg, long timestamp) {
+
+		// Registramos la alarma en GrayLog si así está configurado.
+		UtilsGrayLog.writeMessageInGrayLog(UtilsGrayLog.LEVEL_ERROR, alarmId, null, alarmMsg);
+
+		// Comprobamos si la alarma está habilitada...
+		if (AlarmsConfiguration.getInstance().isAlarmEnabled(alarmId)) {
+
+			// Comprobamos si esta alarma debe bloquearse (o podría
+			// estarlo).
+			if (AlarmsConfiguration.getInstance().getBlockTimeInMilliseconds(alarmId) > 0) {
+
+				// Registramos la alarma bloqueándola o añadiendo un mensaje
+				// nuevo
+				// para el momento del desbloqueo.
+				doAlarmOperation(ALARM_OP_ADD_ALARM_EVENT, alarmId, alarmMsg, timestamp);
 
 			} else {
 
-				LOGGER.warn(Language.getFormatResCoreGeneral(ICoreGeneralMessages.ALARM_MNG_001, new Object[ ] { alarmId }));
+				// Al no ser necesario gestionar bloqueos en esta alarma,
+				// simplemente se manda el e-mail.
+				try {
+					sendEMailAlarm(alarmId, alarmMsg, false);
+				} catch (AlarmException e) {
+					LOGGER.error(Language.getResCoreGeneral(ICoreGeneralMessages.ALARM_MNG_000), e);
+				}
 
 			}
 
+		} else {
+
+			LOGGER.warn(Language.getFormatResCoreGeneral(ICoreGeneralMessages.ALARM_MNG_001, new Object[ ] { alarmId }));
+
 		}
 
 	}
@@ -228,13 +427,14 @@ public final class AlarmsManager {
 	 * </ul>
 	 * @param alarmId Alarm identificator.
 	 * @param alarmMsg Alarm message.
+	 * @param timestamp Moment (milliseconds) when the event was registered.
 	 */
-	private synchronized void doAlarmOperation(int operation, String alarmId, String alarmMsg) {
+	private synchronized void doAlarmOperation(int operation, String alarmId, String alarmMsg, long timestamp) {
 
 		switch (operation) {
 			case ALARM_OP_ADD_ALARM_EVENT:
 				try {
-					addAlarmThatCouldBeBlockedEvent(alarmId, alarmMsg);
+					addAlarmThatCouldBeBlockedEvent(alarmId, alarmMsg, timestamp);
 				} catch (AlarmException e) {
 					LOGGER.error(Language.getFormatResCoreGeneral(ICoreGeneralMessages.ALARM_MNG_007, new Object[ ] { alarmId }), e);
 				}
@@ -251,31 +451,26 @@ public final class AlarmsManager {
 
 	/**
 	 * Attribute that represents a map with the relation between alarm identificator (of a blocked alarm)
-	 * and the mail that is grouping all the message events while is blocked the alarm.
+	 * and the summary that is aggregating all the message events while is blocked the alarm.
 	 */
-	private Map<String, EMailTimeLimitedOperation> alarmBlockedGroupEventMailMap = new HashMap<String, EMailTimeLimitedOperation>();
+	private Map<String, BlockedAlarmSummary> alarmBlockedSummaryMap = new HashMap<String, BlockedAlarmSummary>();
 
 	/**
 	 * Adds an event for a specified alarm. If this is not blocked, then send a e-mail notifying the event and after that blocks the alarm.
-	 * If this is already blocked, then is addeda message to the mail that will be send when the block period expired.
+	 * If this is already blocked, then the event is aggregated in the summary that will be send when the block period expired.
 	 * @param alarmId Alarm identificator.
 	 * @param alarmMsg Alarm Message.
+	 * @param timestamp Moment (milliseconds) when the event was registered.
 	 * @throws AlarmException In case of some error building the email for the alarm summary while it is blocked.
 	 */
-	private void addAlarmThatCouldBeBlockedEvent(String alarmId, String alarmMsg) throws AlarmException {
+	private void addAlarmThatCouldBeBlockedEvent(String alarmId, String alarmMsg, long timestamp) throws AlarmException {
 
 		// Comprobamos si actualmente la alarma ya está bloqueada.
-		if (alarmBlockedGroupEventMailMap.containsKey(alarmId)) {
-
-			// Obtenemos el correo que se está construyendo.
-			EMailTimeLimitedOperation etlo = alarmBlockedGroupEventMailMap.get(alarmId);
+		BlockedAlarmSummary summary = alarmBlockedSummaryMap.get(alarmId);
+		if (summary != null) {
 
-			// Añadimos el mensaje del nuevo evento.
-			etlo.appendToBodyMessage(UtilsDate.getSystemDate(UtilsDate.FORMAT_DATE_TIME_STANDARD));
-			etlo.appendToBodyMessage(UtilsStringChar.SPECIAL_BLANK_SPACE_STRING);
-			etlo.appendToBodyMessage(UtilsStringChar.SYMBOL_HYPHEN_STRING);
-			etlo.appendToBodyMessage(UtilsStringChar.SPECIAL_BLANK_SPACE_STRING);
-			etlo.appendToBodyMessageWithNewLine(alarmMsg);
+			// Agregamos el nuevo evento al resumen.
+			summary.addEvent(timestamp, alarmMsg);
 
 		}
 		// Si la alarma aún no está bloqueada...
@@ -306,9 +501,9 @@ public final class AlarmsManager {
 
 				try {
 
-					// Creamos el nuevo EMail en el que iremos acumulando los
-					// eventos siguientes de esta
-					// alarma hasta que se libere el bloqueo.
+					// Creamos el nuevo EMail en el que se resumirán los
+					// eventos siguientes de esta alarma cuando se libere el
+					// bloqueo.
 					EMailTimeLimitedOperation etlo = new EMailTimeLimitedOperation(destinationAddressesList, subject, bodyInitialMessage);
 
 					// Terminamos de construir el body.
@@ -318,7 +513,7 @@ public final class AlarmsManager {
 					etlo.appendToBodyMessageWithNewLine(Language.getFormatResCoreGeneral(ICoreGeneralMessages.ALARM_MNG_012, new Object[ ] { AlarmsConfiguration.getInstance().getBlockTimeInMilliseconds(alarmId) }));
 
 					// Lo añadimos al map.
-					alarmBlockedGroupEventMailMap.put(alarmId, etlo);
+					alarmBlockedSummaryMap.put(alarmId, new BlockedAlarmSummary(etlo));
 
 				} catch (EMailException e) {
 					throw new AlarmException(IValetException.COD_201, Language.getFormatResCoreGeneral(ICoreGeneralMessages.ALARM_MNG_013, new Object[ ] { alarmId }), e);
@@ -339,22 +534,16 @@ public final class AlarmsManager {
 	 */
 	private void removeAlarmBlockAndSendMail(String alarmId) {
 
-		// Recuperamos el correo que reune la información acumulada de eventos
-		// de la alarma.
-		EMailTimeLimitedOperation etlo = alarmBlockedGroupEventMailMap.remove(alarmId);
+		// Recuperamos el resumen de los eventos de la alarma agregados
+		// durante el bloqueo.
+		BlockedAlarmSummary summary = alarmBlockedSummaryMap.remove(alarmId);
 
 		// Si lo hemos recuperado...
-		if (etlo != null) {
-
-			// Le añadimos el mensaje de cierre al correo.
-			etlo.appendToBodyMessage(UtilsDate.getSystemDate(UtilsDate.FORMAT_DATE_TIME_STANDARD));
-			etlo.appendToBodyMessage(UtilsStringChar.SPECIAL_BLANK_SPACE_STRING);
-			etlo.appendToBodyMessage(UtilsStringChar.SYMBOL_HYPHEN_STRING);
-			etlo.appendToBodyMessage(UtilsStringChar.SPECIAL_BLANK_SPACE_STRING);
-			etlo.appendToBodyMessageWithNewLine(Language.getResCoreGeneral(ICoreGeneralMessages.ALARM_MNG_014));
+		if (summary != null) {
 
-			// Enviamos el correo.
-			etlo.startOperation();
+			// Completamos el correo con el resumen y el mensaje de cierre, y
+			// lo enviamos.
+			summary.finish().startOperation();
 
 		} else {
 
@@ -370,7 +559,7 @@ public final class AlarmsManager {
 	 */
 	public void finishAlarmBlockade(String alarmId) {
 
-		doAlarmOperation(ALARM_OP_REMOVE_ALARM_BLOCK_AND_SEND_MAIL, alarmId, null);
+		doAlarmOperation(ALARM_OP_REMOVE_ALARM_BLOCK_AND_SEND_MAIL, alarmId, null, System.currentTimeMillis());
 
 	}
 
@@ -399,4 +588,41 @@ public final class AlarmsManager {
 
 	}
 
+	/**
+	 * <p>Class that represents an alarm event pending to be processed by the dispatcher.</p>
+	 * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+	 * @version 1.0, 18/10/2026.
+	 */
+	private static final class AlarmEvent {
+
+		/**
+		 * Attribute that represents the alarm identificator.
+		 */
+		private final String alarmId;
+
+		/**
+		 * Attribute that represents the alarm message.
+		 */
+		private final String alarmMsg;
+
+		/**
+		 * Attribute that represents the moment (milliseconds) when the event was registered.
+		 */
+		private final long timestamp;
+
+		/**
+		 * Constructor method for the class AlarmEvent.
+		 * @param alarmIdParam Alarm identificator.
+		 * @param alarmMsgParam Alarm message.
+		 * @param timestampParam Moment (milliseconds) when the event was registered.
+		 */
+		private AlarmEvent(String alarmIdParam, String alarmMsgParam, long timestampParam) {
+			super();
+			alarmId = alarmIdParam;
+			alarmMsg = alarmMsgParam;
+			timestamp = timestampParam;
+		}
+
+	}
+
 }
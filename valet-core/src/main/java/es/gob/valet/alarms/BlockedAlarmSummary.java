@@ -0,0 +1,252 @@
+/*
+/*******************************************************************************
+ * Copyright (C) 2018 MINHAFP, Gobierno de España
+ * This program is licensed and may be used, modified and redistributed under the  terms
+ * of the European Public License (EUPL), either version 1.1 or (at your option)
+ * any later version as soon as they are approved by the European Commission.
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and
+ * more details.
+ * You should have received a copy of the EUPL1.1 license
+ * along with this program; if not, you may find it at
+ * http:joinup.ec.europa.eu/software/page/eupl/licence-eupl
+ ******************************************************************************/
+
+/**
+ * <b>File:</b><p>es.gob.valet.alarms.BlockedAlarmSummary.java.</p>
+ * <b>Description:</b><p>Class that aggregates the events of an alarm while it is blocked, to build the summary e-mail sent when the blockade ends.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * <b>Date:</b><p>18/10/2026.</p>
+ * @author Gobierno de España.
+ * @version 1.0, 18/10/2026.
+ */
+package es.gob.valet.alarms;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import es.gob.valet.commons.utils.UtilsDate;
+import es.gob.valet.commons.utils.UtilsStringChar;
+import es.gob.valet.i18n.Language;
+import es.gob.valet.i18n.messages.ICoreGeneralMessages;
+import es.gob.valet.utils.threads.EMailTimeLimitedOperation;
+
+/**
+ * <p>Class that aggregates the events of an alarm while it is blocked, to build the summary e-mail sent when the
+ * blockade ends. Instead of keeping every event, the events are grouped by their normalised message (the message
+ * with the numbers replaced and the blank spaces collapsed), and for each group only the number of events, the
+ * first and last dates and a few distinct messages are kept. The number of groups is also limited, so the memory
+ * used does not depend on the number of events received while the alarm is blocked.</p>
+ * <p>The instances are not thread-safe: they are accessed only from the synchronized operations of
+ * {@link AlarmsManager}.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * @version 1.0, 18/10/2026.
+ */
+final class BlockedAlarmSummary {
+
+	/**
+	 * Constant attribute that represents the maximum number of groups of events kept for an alarm.
+	 */
+	static final int MAX_GROUPS = 20;
+
+	/**
+	 * Constant attribute that represents the maximum number of distinct messages kept for each group of events.
+	 */
+	static final int MAX_SAMPLES_PER_GROUP = 3;
+
+	/**
+	 * Constant attribute that represents the character that replaces the numbers in the normalised messages.
+	 */
+	private static final char NUMBER_PLACEHOLDER = '#';
+
+	/**
+	 * Attribute that represents the summary e-mail, with the information of the blockade already added.
+	 */
+	private final EMailTimeLimitedOperation mail;
+
+	/**
+	 * Attribute that represents the groups of events, indexed by their normalised message, in order of arrival.
+	 */
+	private final Map<String, EventGroup> groups = new LinkedHashMap<String, EventGroup>();
+
+	/**
+	 * Attribute that represents the number of events not included in any group because the maximum number of
+	 * groups was reached.
+	 */
+	private long otherEvents = 0L;
+
+	/**
+	 * Constructor method for the class BlockedAlarmSummary.java.
+	 * @param mailParam Summary e-mail, with the information of the blockade already added.
+	 */
+	BlockedAlarmSummary(EMailTimeLimitedOperation mailParam) {
+		super();
+		mail = mailParam;
+	}
+
+	/**
+	 * Adds an event of the alarm to the summary.
+	 * @param timestamp Moment (milliseconds) when the event was registered.
+	 * @param alarmMsg Alarm message.
+	 */
+	void addEvent(long timestamp, String alarmMsg) {
+
+		String key = normaliseMessage(alarmMsg);
+		EventGroup group = groups.get(key);
+		if (group == null) {
+			// Si ya se ha alcanzado el máximo de grupos, solo se contabiliza
+			// el evento.
+			if (groups.size() >= MAX_GROUPS) {
+				otherEvents++;
+				return;
+			}
+			group = new EventGroup(timestamp);
+			groups.put(key, group);
+		}
+		group.add(timestamp, alarmMsg);
+
+	}
+
+	/**
+	 * Adds to the summary e-mail the events grouped while the alarm was blocked, and the closing message.
+	 * @return the summary e-mail, ready to be sent.
+	 */
+	EMailTimeLimitedOperation finish() {
+
+		// Añadimos cada grupo de eventos, con sus mensajes distintos.
+		for (EventGroup group: groups.values()) {
+			mail.appendToBodyMessageWithNewLine(Language.getFormatResCoreGeneral(ICoreGeneralMessages.ALARM_MNG_021, new Object[ ] { group.count, formatDate(group.first), formatDate(group.last) }));
+			for (String sample: group.samples) {
+				appendSeparatedText(mail, sample);
+			}
+		}
+
+		// Indicamos los eventos que no se han agrupado.
+		if (otherEvents > 0L) {
+			mail.appendToBodyMessageWithNewLine(Language.getFormatResCoreGeneral(ICoreGeneralMessages.ALARM_MNG_022, new Object[ ] { otherEvents }));
+		}
+
+		// Añadimos el mensaje de cierre.
+		mail.appendToBodyMessage(UtilsDate.getSystemDate(UtilsDate.FORMAT_DATE_TIME_STANDARD));
+		appendSeparatedText(mail, Language.getResCoreGeneral(ICoreGeneralMessages.ALARM_MNG_014));
+
+		return mail;
+
+	}
+
+	/**
+	 * Appends to the body of the e-mail the input text preceded by ' - ', and a line break.
+	 * @param etlo E-mail to update.
+	 * @param text Text to append.
+	 */
+	private static void appendSeparatedText(EMailTimeLimitedOperation etlo, String text) {
+
+		etlo.appendToBodyMessage(UtilsStringChar.SPECIAL_BLANK_SPACE_STRING);
+		etlo.appendToBodyMessage(UtilsStringChar.SYMBOL_HYPHEN_STRING);
+		etlo.appendToBodyMessage(UtilsStringChar.SPECIAL_BLANK_SPACE_STRING);
+		etlo.appendToBodyMessageWithNewLine(text);
+
+	}
+
+	/**
+	 * Formats a moment with the format {@value UtilsDate#FORMAT_DATE_TIME_STANDARD}.
+	 * @param timestamp Moment (milliseconds) to format.
+	 * @return the formatted moment.
+	 */
+	private static String formatDate(long timestamp) {
+		return UtilsDate.toString(UtilsDate.FORMAT_DATE_TIME_STANDARD, new Date(timestamp));
+	}
+
+	/**
+	 * Gets the key used to group the input message: the message with every sequence of digits replaced by
+	 * {@value #NUMBER_PLACEHOLDER}, and every sequence of blank spaces replaced by a single space.
+	 * @param alarmMsg Alarm message.
+	 * @return the normalised message.
+	 */
+	static String normaliseMessage(String alarmMsg) {
+
+		StringBuilder sb = new StringBuilder(alarmMsg.length());
+		boolean previousDigit = false;
+		boolean previousBlank = false;
+		for (int index = 0; index < alarmMsg.length(); index++) {
+			char c = alarmMsg.charAt(index);
+			if (Character.isDigit(c)) {
+				if (!previousDigit) {
+					sb.append(NUMBER_PLACEHOLDER);
+				}
+				previousDigit = true;
+				previousBlank = false;
+			} else if (Character.isWhitespace(c)) {
+				if (!previousBlank) {
+					sb.append(UtilsStringChar.SPECIAL_BLANK_SPACE);
+				}
+				previousDigit = false;
+				previousBlank = true;
+			} else {
+				sb.append(c);
+				previousDigit = false;
+				previousBlank = false;
+			}
+		}
+		return sb.toString().trim();
+
+	}
+
+	/**
+	 * <p>Class that represents a group of events of an alarm with the same normalised message.</p>
+	 * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+	 * @version 1.0, 18/10/2026.
+	 */
+	private static final class EventGroup {
+
+		/**
+		 * Attribute that represents the number of events of the group.
+		 */
+		private long count = 0L;
+
+		/**
+		 * Attribute that represents the moment (milliseconds) of the first event of the group.
+		 */
+		private final long first;
+
+		/**
+		 * Attribute that represents the moment (milliseconds) of the last event of the group.
+		 */
+		private long last;
+
+		/**
+		 * Attribute that represents the distinct messages of the group, up to {@link BlockedAlarmSummary#MAX_SAMPLES_PER_GROUP}.
+		 */
+		private final List<String> samples = new ArrayList<String>(MAX_SAMPLES_PER_GROUP);
+
+		/**
+		 * Constructor method for the class EventGroup.
+		 * @param firstParam Moment (milliseconds) of the first event of the group.
+		 */
+		private EventGroup(long firstParam) {
+			super();
+			first = firstParam;
+			last = firstParam;
+		}
+
+		/**
+		 * Adds an event to the group.
+		 * @param timestamp Moment (milliseconds) when the event was registered.
+		 * @param alarmMsg Alarm message.
+		 */
+		private void add(long timestamp, String alarmMsg) {
+			count++;
+			last = Math.max(last, timestamp);
+			if (samples.size() < MAX_SAMPLES_PER_GROUP && !samples.contains(alarmMsg)) {
+				samples.add(alarmMsg);
+			}
+		}
+
+	}
+
+}
@@ -21,35 +21,74 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>24/01/2019.</p>
  * @author Gobierno de España.
- * @version 1.0, 24/01/2019.
+ * @version 1.1, 18/10/2026.
  */
 package es.gob.valet.alarms.conf;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.apache.log4j.Logger;
+
+import es.gob.valet.commons.utils.NumberConstants;
+import es.gob.valet.commons.utils.StaticValetConfig;
 import es.gob.valet.i18n.Language;
+import es.gob.valet.i18n.messages.ICoreGeneralMessages;
 import es.gob.valet.persistence.ManagerPersistenceServices;
+import es.gob.valet.persistence.configuration.model.entity.Alarm;
 import es.gob.valet.persistence.configuration.model.entity.Mail;
 
 /**
  * <p>Class that manages the information relating to the alarms that are stored in the configuration.
  * It provides the whole necessary functionality to consult and set this information.</p>
+ * <p>The configuration of all the alarms is loaded from the database the first time it is consulted, and it is
+ * kept in memory as an immutable snapshot, so registering an alarm event does not access the database. The
+ * snapshot is reloaded with {@link #reload()} each time the configuration of the alarms, or the e-mail
+ * addresses assigned to them, are modified. As the applications that do not modify the configuration (such as the
+ * REST services) are not notified of these changes, the snapshot is also loaded again when it is older than the
+ * configured refresh interval.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.0, 24/01/2019.
+ * @version 1.1, 18/10/2026.
  */
 public final class AlarmsConfiguration {
 
+	/**
+	 * Attribute that represents the object that manages the log of the class.
+	 */
+	private static final Logger LOGGER = Logger.getLogger(AlarmsConfiguration.class);
+
 	/**
 	 * Attribute that represents the unique instance of this class.
 	 */
-	private static AlarmsConfiguration instance = null;
+	private static final AlarmsConfiguration INSTANCE = new AlarmsConfiguration();
+
+	/**
+	 * Attribute that represents the snapshot of the configuration of the alarms, indexed by the alarm identificator.
+	 * It is <code>null</code> if it has not been loaded yet, or it must be reloaded.
+	 */
+	private volatile Map<String, AlarmSnapshot> alarmsMap = null;
+
+	/**
+	 * Attribute that represents the moment (milliseconds) from which the snapshot of the configuration of the alarms
+	 * must be loaded again from the database.
+	 */
+	private volatile long expirationTime = 0L;
+
+	/**
+	 * Attribute that represents the maximum time (milliseconds) the snapshot of the configuration of the alarms is
+	 * kept before loading it again from the database.
+	 */
+	private final long refreshInterval;
 
 	/**
 	 * Constructor method for the class AlarmsConfiguration.java.
 	 */
 	private AlarmsConfiguration() {
 		super();
+		refreshInterval = readRefreshInterval();
 	}
 
 	/**
@@ -58,12 +97,17 @@ public final class AlarmsConfiguration {
 	 */
 	public static AlarmsConfiguration getInstance() {
 
-		// Inicializamos el objeto a devolver si fuera necesario.
-		if (instance == null) {
-			instance = new AlarmsConfiguration();
-		}
-		return instance;
+		return INSTANCE;
+
+	}
 
+	/**
+	 * Discards the snapshot of the configuration of the alarms, so it is loaded again from the database the next
+	 * time it is consulted. If the snapshot is being loaded, it waits until the load ends, so a snapshot read
+	 * before the modification of the configuration is not kept.
+	 */
+	public synchronized void reload() {
+		alarmsMap = null;
 	}
 
 	/**
@@ -72,7 +116,8 @@ public final class AlarmsConfiguration {
 	 * @return <code>true</code> if at the moment, the alarm is considered enabled/active.
 	 */
 	public boolean isAlarmEnabled(String alarmId) {
-		return ManagerPersistenceServices.getInstance().getManagerPersistenceConfigurationServices().getAlarmService().getAlarmById(alarmId).getActive().booleanValue();
+		AlarmSnapshot alarm = getAlarm(alarmId);
+		return alarm != null && alarm.active;
 	}
 
 	/**
@@ -81,9 +126,8 @@ public final class AlarmsConfiguration {
 	 * @return the time (in milliseconds) that must be blocked the alarm or zero it must not be blocked.
 	 */
 	public long getBlockTimeInMilliseconds(String alarmId) {
-		Long time = ManagerPersistenceServices.getInstance().getManagerPersistenceConfigurationServices().getAlarmService().getAlarmById(alarmId).getTimeBlock();
-		long result = time == null ? 0l : time.longValue() < 0l ? 0 : time.longValue();
-		return result;
+		AlarmSnapshot alarm = getAlarm(alarmId);
+		return alarm == null ? 0L : alarm.blockTime;
 	}
 
 	/**
@@ -93,31 +137,143 @@ public final class AlarmsConfiguration {
 	 * there is no addresses asssigned to this alarm.
 	 */
 	public List<String> getListDestinationAddresses(String alarmId) {
+		AlarmSnapshot alarm = getAlarm(alarmId);
+		return alarm == null ? null : alarm.destinationAddresses;
+	}
+
+	/**
+	 * Gets the description associated to the input alarm.
+	 * @param alarmId Alarm identificator.
+	 * @return the description associated to the input alarm.
+	 */
+	public String getDescriptionAlarm(String alarmId) {
 
-		List<String> result = null;
+		AlarmSnapshot alarm = getAlarm(alarmId);
+		return alarm == null ? null : Language.getResPersistenceConstants(alarm.description);
 
-		List<Mail> mailList = ManagerPersistenceServices.getInstance().getManagerPersistenceConfigurationServices().getAlarmService().getAlarmById(alarmId).getMails();
-		if (mailList != null && !mailList.isEmpty()) {
+	}
 
-			result = new ArrayList<String>(mailList.size());
-			for (Mail mail: mailList) {
-				result.add(mail.getEmailAddress());
-			}
+	/**
+	 * Gets the snapshot of the configuration of the input alarm, loading the configuration of all the alarms if
+	 * it is necessary.
+	 * @param alarmId Alarm identificator.
+	 * @return the snapshot of the configuration of the input alarm, or <code>null</code> if the alarm does not exist.
+	 */
+	private AlarmSnapshot getAlarm(String alarmId) {
 
+		Map<String, AlarmSnapshot> map = alarmsMap;
+		if (map == null || System.currentTimeMillis() >= expirationTime) {
+			map = getOrLoadAlarms();
 		}
+		return map.get(alarmId);
 
+	}
+
+	/**
+	 * Gets the snapshot of the configuration of all the alarms, loading it from the database if it has not been
+	 * loaded yet or it has expired.
+	 * @return a map with the snapshot of the configuration of each alarm, indexed by the alarm identificator.
+	 */
+	private synchronized Map<String, AlarmSnapshot> getOrLoadAlarms() {
+
+		long now = System.currentTimeMillis();
+		if (alarmsMap == null || now >= expirationTime) {
+			alarmsMap = loadAlarms();
+			expirationTime = now + refreshInterval;
+		}
+		return alarmsMap;
+
+	}
+
+	/**
+	 * Loads from the database the configuration of all the alarms.
+	 * @return a map with the snapshot of the configuration of each alarm, indexed by the alarm identificator.
+	 */
+	private Map<String, AlarmSnapshot> loadAlarms() {
+
+		List<Alarm> alarmList = ManagerPersistenceServices.getInstance().getManagerPersistenceConfigurationServices().getAlarmService().getAllAlarm();
+		Map<String, AlarmSnapshot> result = new HashMap<String, AlarmSnapshot>(alarmList.size() * 2);
+		for (Alarm alarm: alarmList) {
+			result.put(alarm.getIdAlarm(), new AlarmSnapshot(alarm));
+		}
+		return Collections.unmodifiableMap(result);
+
+	}
+
+	/**
+	 * Reads the configured maximum time (milliseconds) the snapshot of the configuration of the alarms is kept
+	 * before loading it again from the database.
+	 * @return the configured refresh interval, or {@link NumberConstants#NUM60000_LONG} if it is not valid.
+	 */
+	private static long readRefreshInterval() {
+
+		long result = NumberConstants.NUM60000_LONG;
+		String value = StaticValetConfig.getProperty(StaticValetConfig.ALARMS_CONFIGURATION_REFRESHINTERVAL);
+		if (value != null) {
+			try {
+				result = Long.parseLong(value.trim());
+			} catch (NumberFormatException e) {
+				result = -1L;
+			}
+			if (result <= 0L) {
+				LOGGER.warn(Language.getFormatResCoreGeneral(ICoreGeneralMessages.ALARM_MNG_023, StaticValetConfig.ALARMS_CONFIGURATION_REFRESHINTERVAL, NumberConstants.NUM60000_LONG));
+				result = NumberConstants.NUM60000_LONG;
+			}
+		}
 		return result;
 
 	}
 
 	/**
-	 * Gets the description associated to the input alarm.
-	 * @param alarmId Alarm identificator.
-	 * @return the description associated to the input alarm.
+	 * <p>Class that represents the immutable snapshot of the configuration of an alarm.</p>
+	 * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+	 * @version 1.0, 18/10/2026.
 	 */
-	public String getDescriptionAlarm(String alarmId) {
+	private static final class AlarmSnapshot {
+
+		/**
+		 * Attribute that represents the flag that indicates if the alarm is enabled/active.
+		 */
+		private final boolean active;
+
+		/**
+		 * Attribute that represents the time (in milliseconds) that must be blocked the alarm, or zero if it must
+		 * not be blocked.
+		 */
+		private final long blockTime;
 
-		return Language.getResPersistenceConstants(ManagerPersistenceServices.getInstance().getManagerPersistenceConfigurationServices().getAlarmService().getAlarmById(alarmId).getDescription());
+		/**
+		 * Attribute that represents the list of destination addresses of the alarm, or <code>null</code> if there
+		 * is no addresses assigned to this alarm.
+		 */
+		private final List<String> destinationAddresses;
+
+		/**
+		 * Attribute that represents the token of the description of the alarm.
+		 */
+		private final String description;
+
+		/**
+		 * Constructor method for the class AlarmSnapshot.
+		 * @param alarm Alarm stored in the configuration.
+		 */
+		private AlarmSnapshot(Alarm alarm) {
+			super();
+			active = alarm.getActive() != null && alarm.getActive().booleanValue();
+			Long time = alarm.getTimeBlock();
+			blockTime = time == null || time.longValue() < 0L ? 0L : time.longValue();
+			List<Mail> mailList = alarm.getMails();
+			if (mailList != null && !mailList.isEmpty()) {
+				List<String> addresses = new ArrayList<String>(mailList.size());
+				for (Mail mail: mailList) {
+					addresses.add(mail.getEmailAddress());
+				}
+				destinationAddresses = Collections.unmodifiableList(addresses);
+			} else {
+				destinationAddresses = null;
+			}
+			description = alarm.getDescription();
+		}
 
 	}
 
@@ -0,0 +1,473 @@
+/*
+/*******************************************************************************
+ * Copyright (C) 2018 MINHAFP, Gobierno de España
+ * This program is licensed and may be used, modified and redistributed under the  terms
+ * of the European Public License (EUPL), either version 1.1 or (at your option)
+ * any later version as soon as they are approved by the European Commission.
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and
+ * more details.
+ * You should have received a copy of the EUPL1.1 license
+ * along with this program; if not, you may find it at
+ * http:joinup.ec.europa.eu/software/page/eupl/licence-eupl
+ ******************************************************************************/
+
+/**
+ * <b>File:</b><p>es.gob.valet.audit.access.AsyncAuditWriter.java.</p>
+ * <b>Description:</b><p>Class that writes the audit traces asynchronously, through a ring buffer consumed by a dedicated thread.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * <b>Date:</b><p>18/10/2026.</p>
+ * @author Gobierno de España.
+ * @version 1.0, 18/10/2026.
+ */
+package es.gob.valet.audit.access;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.log4j.Logger;
+
+import es.gob.valet.commons.utils.StaticValetConfig;
+import es.gob.valet.i18n.Language;
+import es.gob.valet.i18n.messages.ICoreGeneralMessages;
+
+/**
+ * <p>Class that writes the audit traces asynchronously, so the threads of the requests do not wait for the I/O of the
+ * audit appender.</p>
+ * <p>The threads of the requests (producers) claim a position of a preallocated ring buffer with an atomic counter,
+ * copy the raw data of the trace in the event of that position and publish it. A single dedicated thread (consumer)
+ * reads the published events in order, encodes them and writes them in batches in the audit log. No lock is used in
+ * this process.</p>
+ * <p>When the ring buffer is full, the configured overflow policy is applied: {@link #OVERFLOW_POLICY_BLOCK},
+ * {@link #OVERFLOW_POLICY_DROP} or {@link #OVERFLOW_POLICY_SPILL}.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * @version 1.0, 18/10/2026.
+ */
+final class AsyncAuditWriter {
+
+	/**
+	 * Constant attribute that represents the overflow policy that makes the producer wait until there is a free position
+	 * in the ring buffer.
+	 */
+	static final String OVERFLOW_POLICY_BLOCK = "block";
+
+	/**
+	 * Constant attribute that represents the overflow policy that discards the trace and counts it.
+	 */
+	static final String OVERFLOW_POLICY_DROP = "drop";
+
+	/**
+	 * Constant attribute that represents the overflow policy that makes the producer write the trace directly in the audit
+	 * log (disk).
+	 */
+	static final String OVERFLOW_POLICY_SPILL = "spill";
+
+	/**
+	 * Attribute that represents the object that manages the log of the class.
+	 */
+	private static final Logger LOGGER = Logger.getLogger(AsyncAuditWriter.class);
+
+	/**
+	 * Constant attribute that represents the name of the consumer thread.
+	 */
+	private static final String THREAD_NAME = "valet-audit-writer";
+
+	/**
+	 * Constant attribute that represents the default number of traces that the ring buffer can store.
+	 */
+	private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+	/**
+	 * Constant attribute that represents the maximum number of traces that the ring buffer can store.
+	 */
+	private static final int MAX_BUFFER_SIZE = 1 << 20;
+
+	/**
+	 * Constant attribute that represents the default maximum number of traces written together.
+	 */
+	private static final int DEFAULT_BATCH_SIZE = 64;
+
+	/**
+	 * Constant attribute that represents the default maximum time (milliseconds) to wait for the pending traces when the
+	 * writer is stopped.
+	 */
+	private static final int DEFAULT_SHUTDOWN_TIMEOUT = 5000;
+
+	/**
+	 * Constant attribute that represents the time (nanoseconds) that a blocked producer waits before checking again if
+	 * there is a free position in the ring buffer.
+	 */
+	private static final long BLOCK_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(100L);
+
+	/**
+	 * Constant attribute that represents the maximum time (nanoseconds) that the consumer waits for new traces.
+	 */
+	private static final long IDLE_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(10L);
+
+	/**
+	 * Constant attribute that represents the minimum time (milliseconds) between two warnings about discarded traces.
+	 */
+	private static final long DISCARDED_REPORT_INTERVAL = 1000L;
+
+	/**
+	 * Constant attribute that represents the separator between the traces of a batch. It is the same one added by the
+	 * pattern '%m%n' of the audit appender.
+	 */
+	private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+
+	/**
+	 * Attribute that indicates if the unique instance has been created and started.
+	 */
+	private static volatile boolean started = false;
+
+	/**
+	 * Attribute that represents the preallocated events of the ring buffer.
+	 */
+	private final AuditTraceEvent[ ] ring;
+
+	/**
+	 * Attribute that represents the mask to get the position in the ring buffer of a sequence.
+	 */
+	private final int mask;
+
+	/**
+	 * Attribute that represents the maximum number of traces written together.
+	 */
+	private final int batchSize;
+
+	/**
+	 * Attribute that represents the policy applied when the ring buffer is full.
+	 */
+	private final String overflowPolicy;
+
+	/**
+	 * Attribute that represents the maximum time (milliseconds) to wait for the pending traces when the writer is stopped.
+	 */
+	private final long shutdownTimeout;
+
+	/**
+	 * Attribute that represents the next sequence to claim by a producer.
+	 */
+	private final AtomicLong claimed = new AtomicLong(0L);
+
+	/**
+	 * Attribute that represents the next sequence to read by the consumer. All the positions of the previous sequences
+	 * are free.
+	 */
+	private volatile long consumed = 0L;
+
+	/**
+	 * Attribute that represents the number of traces discarded because the ring buffer was full.
+	 */
+	private final AtomicLong discarded = new AtomicLong(0L);
+
+	/**
+	 * Attribute that indicates if the writer accepts new traces.
+	 */
+	private volatile boolean running = true;
+
+	/**
+	 * Attribute that indicates if the consumer is waiting for new traces, so the producers must wake it up.
+	 */
+	private volatile boolean consumerWaiting = false;
+
+	/**
+	 * Attribute that represents the consumer thread.
+	 */
+	private final Thread consumer;
+
+	/**
+	 * Constructor method for the class AsyncAuditWriter.java.
+	 * @param bufferSize Number of traces that the ring buffer can store. It must be a power of two.
+	 * @param batchSizeParam Maximum number of traces written together.
+	 * @param overflowPolicyParam Policy applied when the ring buffer is full.
+	 * @param shutdownTimeoutParam Maximum time (milliseconds) to wait for the pending traces when the writer is stopped.
+	 */
+	private AsyncAuditWriter(int bufferSize, int batchSizeParam, String overflowPolicyParam, long shutdownTimeoutParam) {
+		super();
+		ring = new AuditTraceEvent[bufferSize];
+		for (int index = 0; index < bufferSize; index++) {
+			ring[index] = new AuditTraceEvent();
+		}
+		mask = bufferSize - 1;
+		batchSize = batchSizeParam;
+		overflowPolicy = overflowPolicyParam;
+		shutdownTimeout = shutdownTimeoutParam;
+		consumer = new Thread(this::consume, THREAD_NAME);
+		consumer.setDaemon(true);
+	}
+
+	/**
+	 * <p>Class that holds the unique instance of the writer, created the first time it is used.</p>
+	 * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+	 * @version 1.0, 18/10/2026.
+	 */
+	private static final class Holder {
+
+		/**
+		 * Constant attribute that represents the unique instance of the writer, or <code>null</code> if the
+		 * asynchronous audit is disabled.
+		 */
+		private static final AsyncAuditWriter INSTANCE = create();
+
+		/**
+		 * Constructor method for the class Holder.
+		 */
+		private Holder() {
+			super();
+		}
+
+	}
+
+	/**
+	 * Gets the unique instance of the writer.
+	 * @return the unique instance of the writer, or <code>null</code> if the asynchronous audit is disabled.
+	 */
+	static AsyncAuditWriter getInstance() {
+		return Holder.INSTANCE;
+	}
+
+	/**
+	 * Stops the unique instance of the writer, if it has been started, after writing the pending traces.
+	 */
+	static void stopInstance() {
+		if (started) {
+			Holder.INSTANCE.stop();
+		}
+	}
+
+	/**
+	 * Creates and starts the writer with the static configuration of the platform.
+	 * @return the started writer, or <code>null</code> if the asynchronous audit is disabled.
+	 */
+	private static AsyncAuditWriter create() {
+
+		AsyncAuditWriter result = null;
+		String enabled = StaticValetConfig.getProperty(StaticValetConfig.AUDIT_ASYNC_ENABLED);
+		if (enabled != null && Boolean.parseBoolean(enabled.trim())) {
+
+			// El tamaño del buffer se redondea a la siguiente potencia de dos,
+			// de modo que la posición de cada secuencia se obtiene con una
+			// máscara.
+			int bufferSize = Math.min(getPositiveIntProperty(StaticValetConfig.AUDIT_ASYNC_BUFFERSIZE, DEFAULT_BUFFER_SIZE), MAX_BUFFER_SIZE);
+			int capacity = Integer.highestOneBit(bufferSize);
+			if (capacity < bufferSize) {
+				capacity <<= 1;
+			}
+			int batchSize = getPositiveIntProperty(StaticValetConfig.AUDIT_ASYNC_BATCHSIZE, DEFAULT_BATCH_SIZE);
+			long shutdownTimeout = getPositiveIntProperty(StaticValetConfig.AUDIT_ASYNC_SHUTDOWNTIMEOUT, DEFAULT_SHUTDOWN_TIMEOUT);
+
+			String overflowPolicy = StaticValetConfig.getProperty(StaticValetConfig.AUDIT_ASYNC_OVERFLOWPOLICY);
+			overflowPolicy = overflowPolicy == null ? OVERFLOW_POLICY_BLOCK : overflowPolicy.trim().toLowerCase(Locale.ROOT);
+			if (!OVERFLOW_POLICY_BLOCK.equals(overflowPolicy) && !OVERFLOW_POLICY_DROP.equals(overflowPolicy) && !OVERFLOW_POLICY_SPILL.equals(overflowPolicy)) {
+				LOGGER.warn(Language.getFormatResCoreGeneral(ICoreGeneralMessages.EVENTS_COLLECTOR_005, StaticValetConfig.AUDIT_ASYNC_OVERFLOWPOLICY, OVERFLOW_POLICY_BLOCK));
+				overflowPolicy = OVERFLOW_POLICY_BLOCK;
+			}
+
+			result = new AsyncAuditWriter(capacity, batchSize, overflowPolicy, shutdownTimeout);
+			result.consumer.start();
+			started = true;
+			LOGGER.info(Language.getFormatResCoreGeneral(ICoreGeneralMessages.EVENTS_COLLECTOR_000, capacity, batchSize, overflowPolicy));
+
+		}
+		return result;
+
+	}
+
+	/**
+	 * Gets the value of a property of the static configuration that must be a positive integer.
+	 * @param propertyName Name of the property.
+	 * @param defaultValue Value returned if the property is not defined or it is not valid.
+	 * @return the value of the property.
+	 */
+	private static int getPositiveIntProperty(String propertyName, int defaultValue) {
+
+		int result = defaultValue;
+		String value = StaticValetConfig.getProperty(propertyName);
+		if (value != null) {
+			try {
+				result = Integer.parseInt(value.trim());
+			} catch (NumberFormatException e) {
+				result = -1;
+			}
+			if (result <= 0) {
+				LOGGER.warn(Language.getFormatResCoreGeneral(ICoreGeneralMessages.EVENTS_COLLECTOR_005, propertyName, defaultValue));
+				result = defaultValue;
+			}
+		}
+		return result;
+
+	}
+
+	/**
+	 * Publishes an audit trace in the ring buffer, applying the overflow policy if it is full.
+	 * @param transactionId Transaction identifier.
+	 * @param serviceId Service identifier.
+	 * @param operationId Operation identifier.
+	 * @param fieldsValues Values of the audit fields of the trace.
+	 * @param hashAlgorithm Hash algorithm applied to the message.
+	 * @param hashMessageB64 Message hash in Base 64.
+	 * @return <code>true</code> if the trace has been published or discarded, or <code>false</code> if the caller must
+	 * write it directly (the writer has been stopped, or the ring buffer is full and the overflow policy is
+	 * {@link #OVERFLOW_POLICY_SPILL}).
+	 */
+	boolean publish(String transactionId, int serviceId, int operationId, String[ ] fieldsValues, String hashAlgorithm, String hashMessageB64) {
+
+		boolean result = false;
+		long timestamp = System.currentTimeMillis();
+		long sequence = claim();
+		if (sequence >= 0) {
+			AuditTraceEvent event = ring[(int) sequence & mask];
+			event.set(transactionId, serviceId, operationId, fieldsValues, timestamp, hashAlgorithm, hashMessageB64);
+			event.publish(sequence);
+			if (consumerWaiting) {
+				LockSupport.unpark(consumer);
+			}
+			result = true;
+		} else if (running && OVERFLOW_POLICY_DROP.equals(overflowPolicy)) {
+			discarded.incrementAndGet();
+			result = true;
+		}
+		return result;
+
+	}
+
+	/**
+	 * Claims the next sequence of the ring buffer. If the ring buffer is full and the overflow policy is
+	 * {@link #OVERFLOW_POLICY_BLOCK}, waits until a position is released.
+	 * @return the claimed sequence, or -1 if it has not been possible to claim it.
+	 */
+	private long claim() {
+
+		long result = -1L;
+		boolean end = false;
+		while (!end && running) {
+			long current = claimed.get();
+			if (current - consumed < ring.length) {
+				// Si otro productor se adelanta, se vuelve a intentar con la
+				// siguiente secuencia.
+				if (claimed.compareAndSet(current, current + 1)) {
+					result = current;
+					end = true;
+				}
+			} else if (OVERFLOW_POLICY_BLOCK.equals(overflowPolicy)) {
+				LockSupport.unpark(consumer);
+				LockSupport.parkNanos(this, BLOCK_WAIT_NANOS);
+			} else {
+				end = true;
+			}
+		}
+		return result;
+
+	}
+
+	/**
+	 * Method executed by the consumer thread: reads the published events in order and writes them in batches, until the
+	 * writer is stopped and all the claimed sequences have been written.
+	 */
+	private void consume() {
+
+		StringBuilder batch = new StringBuilder();
+		long next = 0L;
+		long reportedDiscarded = 0L;
+		long lastReport = 0L;
+
+		while (running || next < claimed.get()) {
+
+			int count = 0;
+			AuditTraceEvent event = ring[(int) next & mask];
+			while (count < batchSize && event.getSequence() == next) {
+				// La traza se codifica directamente en el lote. Si falla, se
+				// descarta lo añadido para no dejar una traza incompleta.
+				int batchLength = batch.length();
+				try {
+					if (batchLength > 0) {
+						batch.append(LINE_SEPARATOR);
+					}
+					EventsCollector.appendTrace(batch, event.getTransactionId(), event.getServiceId(), event.getOperationId(), event.getFieldsValues(), event.getTimestamp(), event.getHashAlgorithm(), event.getHashMessageB64());
+				} catch (RuntimeException e) {
+					batch.setLength(batchLength);
+					LOGGER.error(Language.getResCoreGeneral(ICoreGeneralMessages.EVENTS_COLLECTOR_002), e);
+				}
+				// Se libera la posición antes de indicar que se ha consumido,
+				// para que el productor que la reutilice no se encuentre los
+				// datos anteriores.
+				event.clear();
+				next++;
+				consumed = next;
+				count++;
+				event = ring[(int) next & mask];
+			}
+
+			if (batch.length() > 0) {
+				try {
+					EventsCollector.writeTraces(batch.toString());
+				} catch (RuntimeException e) {
+					LOGGER.error(Language.getResCoreGeneral(ICoreGeneralMessages.EVENTS_COLLECTOR_002), e);
+				}
+				batch.setLength(0);
+			}
+
+			if (count == 0) {
+				waitForTraces(next);
+			}
+
+			long actualDiscarded = discarded.get();
+			if (actualDiscarded != reportedDiscarded && System.currentTimeMillis() - lastReport >= DISCARDED_REPORT_INTERVAL) {
+				LOGGER.warn(Language.getFormatResCoreGeneral(ICoreGeneralMessages.EVENTS_COLLECTOR_001, actualDiscarded));
+				reportedDiscarded = actualDiscarded;
+				lastReport = System.currentTimeMillis();
+			}
+
+		}
+
+	}
+
+	/**
+	 * Makes the consumer wait until the event of the input sequence is published (or a maximum time).
+	 * @param sequence Sequence of the next event to read.
+	 */
+	private void waitForTraces(long sequence) {
+
+		// Se marca la espera antes de comprobar de nuevo el evento: o bien se
+		// ve el evento publicado, o bien el productor ve la marca y despierta
+		// al consumidor.
+		consumerWaiting = true;
+		if (ring[(int) sequence & mask].getSequence() != sequence) {
+			LockSupport.parkNanos(this, IDLE_WAIT_NANOS);
+		}
+		consumerWaiting = false;
+
+	}
+
+	/**
+	 * Stops the writer: the new traces are not accepted (the callers write them directly), and the pending ones are
+	 * written before returning (or until the shutdown timeout).
+	 */
+	void stop() {
+
+		LOGGER.info(Language.getResCoreGeneral(ICoreGeneralMessages.EVENTS_COLLECTOR_003));
+		running = false;
+		LockSupport.unpark(consumer);
+		try {
+			consumer.join(shutdownTimeout);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		LOGGER.info(Language.getFormatResCoreGeneral(ICoreGeneralMessages.EVENTS_COLLECTOR_004, claimed.get() - consumed, discarded.get()));
+
+	}
+
+	/**
+	 * Gets the number of traces discarded because the ring buffer was full.
+	 * @return the number of traces discarded because the ring buffer was full.
+	 */
+	long getDiscardedTraces() {
+		return discarded.get();
+	}
+
+}
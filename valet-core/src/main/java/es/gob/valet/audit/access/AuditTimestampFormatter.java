@@ -0,0 +1,128 @@
+/*
+/*******************************************************************************
+ * Copyright (C) 2018 MINHAFP, Gobierno de España
+ * This program is licensed and may be used, modified and redistributed under the  terms
+ * of the European Public License (EUPL), either version 1.1 or (at your option)
+ * any later version as soon as they are approved by the European Commission.
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and
+ * more details.
+ * You should have received a copy of the EUPL1.1 license
+ * along with this program; if not, you may find it at
+ * http:joinup.ec.europa.eu/software/page/eupl/licence-eupl
+ ******************************************************************************/
+
+/**
+ * <b>File:</b><p>es.gob.valet.audit.access.AuditTimestampFormatter.java.</p>
+ * <b>Description:</b><p>Class that formats the dates of the audit traces, reusing the formatted text while the second does not change.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * <b>Date:</b><p>18/10/2026.</p>
+ * @author Gobierno de España.
+ * @version 1.0, 18/10/2026.
+ */
+package es.gob.valet.audit.access;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import es.gob.valet.commons.utils.UtilsCountryLanguage;
+import es.gob.valet.commons.utils.UtilsDate;
+
+/**
+ * <p>Class that formats the dates of the audit traces with the format {@value UtilsDate#FORMAT_DATE_TIME_JSON}, as
+ * {@link es.gob.valet.rest.elements.json.DateString} does, but without building a formatter for each date.</p>
+ * <p>The format is split in the part before the milliseconds and the part after them (the time zone offset). Both
+ * parts are formatted only when the second changes, and the milliseconds are appended directly, so formatting a date
+ * does not allocate any object in the usual case.</p>
+ * <p>The instances are not thread-safe: each thread must use its own one.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * @version 1.0, 18/10/2026.
+ */
+final class AuditTimestampFormatter {
+
+	/**
+	 * Constant attribute that represents the pattern of the milliseconds in the format of the dates.
+	 */
+	private static final String MILLISECONDS_PATTERN = "SSS";
+
+	/**
+	 * Constant attribute that represents the number of milliseconds of a second.
+	 */
+	private static final long MILLISECONDS_PER_SECOND = 1000L;
+
+	/**
+	 * Constant attribute that represents the lower number of milliseconds written with two digits.
+	 */
+	private static final int TWO_DIGITS = 10;
+
+	/**
+	 * Constant attribute that represents the lower number of milliseconds written with three digits.
+	 */
+	private static final int THREE_DIGITS = 100;
+
+	/**
+	 * Attribute that represents the formatter of the part of the date before the milliseconds.
+	 */
+	private final SimpleDateFormat prefixFormat;
+
+	/**
+	 * Attribute that represents the formatter of the part of the date after the milliseconds.
+	 */
+	private final SimpleDateFormat suffixFormat;
+
+	/**
+	 * Attribute that represents the second (since the epoch) of the cached parts.
+	 */
+	private long currentSecond = Long.MIN_VALUE;
+
+	/**
+	 * Attribute that represents the cached part of the date before the milliseconds.
+	 */
+	private String prefix = null;
+
+	/**
+	 * Attribute that represents the cached part of the date after the milliseconds.
+	 */
+	private String suffix = null;
+
+	/**
+	 * Constructor method for the class AuditTimestampFormatter.java.
+	 */
+	AuditTimestampFormatter() {
+		super();
+		String format = UtilsDate.FORMAT_DATE_TIME_JSON;
+		int millisecondsIndex = format.indexOf(MILLISECONDS_PATTERN);
+		prefixFormat = new SimpleDateFormat(format.substring(0, millisecondsIndex), UtilsCountryLanguage.getFirstLocaleOfCountryCode(UtilsCountryLanguage.ES_COUNTRY_CODE));
+		suffixFormat = new SimpleDateFormat(format.substring(millisecondsIndex + MILLISECONDS_PATTERN.length()), UtilsCountryLanguage.getFirstLocaleOfCountryCode(UtilsCountryLanguage.ES_COUNTRY_CODE));
+	}
+
+	/**
+	 * Appends the formatted date to the input builder.
+	 * @param sb Builder where the date is appended.
+	 * @param timestamp Date to format (milliseconds since the epoch).
+	 */
+	void appendTo(StringBuilder sb, long timestamp) {
+
+		long second = Math.floorDiv(timestamp, MILLISECONDS_PER_SECOND);
+		if (second != currentSecond) {
+			Date secondDate = new Date(second * MILLISECONDS_PER_SECOND);
+			prefix = prefixFormat.format(secondDate);
+			suffix = suffixFormat.format(secondDate);
+			currentSecond = second;
+		}
+
+		int milliseconds = (int) Math.floorMod(timestamp, MILLISECONDS_PER_SECOND);
+		sb.append(prefix);
+		if (milliseconds < THREE_DIGITS) {
+			sb.append('0');
+		}
+		if (milliseconds < TWO_DIGITS) {
+			sb.append('0');
+		}
+		sb.append(milliseconds).append(suffix);
+
+	}
+
+}
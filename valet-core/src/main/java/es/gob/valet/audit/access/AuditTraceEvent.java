@@ -0,0 +1,188 @@
+/*
+/*******************************************************************************
+ * Copyright (C) 2018 MINHAFP, Gobierno de España
+ * This program is licensed and may be used, modified and redistributed under the  terms
+ * of the European Public License (EUPL), either version 1.1 or (at your option)
+ * any later version as soon as they are approved by the European Commission.
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and
+ * more details.
+ * You should have received a copy of the EUPL1.1 license
+ * along with this program; if not, you may find it at
+ * http:joinup.ec.europa.eu/software/page/eupl/licence-eupl
+ ******************************************************************************/
+
+/**
+ * <b>File:</b><p>es.gob.valet.audit.access.AuditTraceEvent.java.</p>
+ * <b>Description:</b><p>Class that represents the raw data of an audit trace, before it is encoded.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * <b>Date:</b><p>18/10/2026.</p>
+ * @author Gobierno de España.
+ * @version 1.0, 18/10/2026.
+ */
+package es.gob.valet.audit.access;
+
+/**
+ * <p>Class that represents the raw data of an audit trace, before it is encoded: the parameters received by
+ * {@link EventsCollector} and the moment when the trace was registered. The instances are preallocated in the ring
+ * buffer of {@link AsyncAuditWriter} and reused for all the traces.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * @version 1.0, 18/10/2026.
+ */
+final class AuditTraceEvent {
+
+	/**
+	 * Constant attribute that represents the sequence of an event not published.
+	 */
+	static final long NOT_PUBLISHED = -1L;
+
+	/**
+	 * Attribute that represents the transaction identifier.
+	 */
+	private String transactionId = null;
+
+	/**
+	 * Attribute that represents the service identifier.
+	 */
+	private int serviceId = 0;
+
+	/**
+	 * Attribute that represents the operation identifier.
+	 */
+	private int operationId = 0;
+
+	/**
+	 * Attribute that represents the values of the audit fields of the trace, not encoded.
+	 */
+	private String[ ] fieldsValues = null;
+
+	/**
+	 * Attribute that represents the moment (milliseconds) when the trace was registered.
+	 */
+	private long timestamp = 0L;
+
+	/**
+	 * Attribute that represents the hash algorithm applied to the message.
+	 */
+	private String hashAlgorithm = null;
+
+	/**
+	 * Attribute that represents the message hash in Base 64.
+	 */
+	private String hashMessageB64 = null;
+
+	/**
+	 * Attribute that represents the sequence of the ring buffer of the last published data of the event. The
+	 * volatile write of this attribute makes visible the rest of the data to the consumer.
+	 */
+	private volatile long sequence = NOT_PUBLISHED;
+
+	/**
+	 * Constructor method for the class AuditTraceEvent.java.
+	 */
+	AuditTraceEvent() {
+		super();
+	}
+
+	/**
+	 * Sets the data of the audit trace.
+	 * @param transactionIdParam Transaction identifier.
+	 * @param serviceIdParam Service identifier.
+	 * @param operationIdParam Operation identifier.
+	 * @param fieldsValuesParam Values of the audit fields of the trace.
+	 * @param timestampParam Moment (milliseconds) when the trace was registered.
+	 * @param hashAlgorithmParam Hash algorithm applied to the message.
+	 * @param hashMessageB64Param Message hash in Base 64.
+	 */
+	void set(String transactionIdParam, int serviceIdParam, int operationIdParam, String[ ] fieldsValuesParam, long timestampParam, String hashAlgorithmParam, String hashMessageB64Param) {
+		transactionId = transactionIdParam;
+		serviceId = serviceIdParam;
+		operationId = operationIdParam;
+		fieldsValues = fieldsValuesParam;
+		timestamp = timestampParam;
+		hashAlgorithm = hashAlgorithmParam;
+		hashMessageB64 = hashMessageB64Param;
+	}
+
+	/**
+	 * Removes the references to the data of the audit trace, so they can be released while the event is not reused.
+	 */
+	void clear() {
+		set(null, 0, 0, null, 0L, null, null);
+	}
+
+	/**
+	 * Publishes the data of the event with the input sequence of the ring buffer.
+	 * @param sequenceParam Sequence of the ring buffer.
+	 */
+	void publish(long sequenceParam) {
+		sequence = sequenceParam;
+	}
+
+	/**
+	 * Gets the value of the attribute {@link #sequence}.
+	 * @return the value of the attribute {@link #sequence}.
+	 */
+	long getSequence() {
+		return sequence;
+	}
+
+	/**
+	 * Gets the value of the attribute {@link #transactionId}.
+	 * @return the value of the attribute {@link #transactionId}.
+	 */
+	String getTransactionId() {
+		return transactionId;
+	}
+
+	/**
+	 * Gets the value of the attribute {@link #serviceId}.
+	 * @return the value of the attribute {@link #serviceId}.
+	 */
+	int getServiceId() {
+		return serviceId;
+	}
+
+	/**
+	 * Gets the value of the attribute {@link #operationId}.
+	 * @return the value of the attribute {@link #operationId}.
+	 */
+	int getOperationId() {
+		return operationId;
+	}
+
+	/**
+	 * Gets the value of the attribute {@link #fieldsValues}.
+	 * @return the value of the attribute {@link #fieldsValues}.
+	 */
+	String[ ] getFieldsValues() {
+		return fieldsValues;
+	}
+
+	/**
+	 * Gets the value of the attribute {@link #timestamp}.
+	 * @return the value of the attribute {@link #timestamp}.
+	 */
+	long getTimestamp() {
+		return timestamp;
+	}
+
+	/**
+	 * Gets the value of the attribute {@link #hashAlgorithm}.
+	 * @return the value of the attribute {@link #hashAlgorithm}.
+	 */
+	String getHashAlgorithm() {
+		return hashAlgorithm;
+	}
+
+	/**
+	 * Gets the value of the attribute {@link #hashMessageB64}.
+	 * @return the value of the attribute {@link #hashMessageB64}.
+	 */
+	String getHashMessageB64() {
+		return hashMessageB64;
+	}
+
+}
@@ -21,12 +21,10 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>18/02/2019.</p>
  * @author Gobierno de España.
- * @version 1.1, 05/03/2019.
+ * @version 1.2, 18/10/2026.
  */
 package es.gob.valet.audit.access;
 
-import java.util.Calendar;
-
 import org.apache.log4j.Logger;
 
 import es.gob.valet.audit.utils.CommonsCertificatesAuditTraces;
@@ -34,13 +32,14 @@ import es.gob.valet.audit.utils.CommonsServicesAuditTraces;
 import es.gob.valet.audit.utils.CommonsTslAuditTraces;
 import es.gob.valet.commons.utils.UtilsDate;
 import es.gob.valet.commons.utils.UtilsStringChar;
-import es.gob.valet.rest.elements.json.DateString;
 
 /**
  * <p>Class that represents an audit events collector. This class must be
  * used to register all the audit traces occurred in the platform.</p>
+ * <p>If the property {@value es.gob.valet.commons.utils.StaticValetConfig#AUDIT_ASYNC_ENABLED} is enabled, the traces
+ * are written asynchronously by {@link AsyncAuditWriter}.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.1, 05/03/2019.
+ * @version 1.2, 18/10/2026.
  */
 public final class EventsCollector {
 
@@ -64,6 +63,27 @@ public final class EventsCollector {
 	 */
 	private static final char SEPARATOR = UtilsStringChar.SYMBOL_SEMICOLON;
 
+	/**
+	 * Constant attribute that represents the initial capacity of the buffers used to build the traces.
+	 */
+	private static final int TRACE_BUFFER_INITIAL_CAPACITY = 512;
+
+	/**
+	 * Constant attribute that represents the maximum capacity of a buffer used to build the traces that is kept for
+	 * the next traces. Bigger buffers are released after being used.
+	 */
+	private static final int TRACE_BUFFER_MAX_CAPACITY = 16384;
+
+	/**
+	 * Attribute that represents the buffer of each thread used to build the traces.
+	 */
+	private static final ThreadLocal<StringBuilder> TRACE_BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(TRACE_BUFFER_INITIAL_CAPACITY));
+
+	/**
+	 * Attribute that represents the formatter of each thread used to format the dates of the traces.
+	 */
+	private static final ThreadLocal<AuditTimestampFormatter> TIMESTAMP_FORMATTER = ThreadLocal.withInitial(AuditTimestampFormatter::new);
+
 	/**
 	 * Constructor method for the class EventsCollector.java.
 	 */
@@ -81,7 +101,7 @@ public final class EventsCollector {
 	 */
 	public static void openTransaction(String transactionId, int serviceId, String hashAlgorithm, String hashMessageB64) {
 
-		AUDIT_LOGGER.info(createTrace(transactionId, serviceId, IEventsCollectorConstants.OPERATION_SERVICE_OPEN_TRACE, null, new DateString(Calendar.getInstance().getTime()), hashMessageB64, hashAlgorithm));
+		dispatchTrace(transactionId, serviceId, IEventsCollectorConstants.OPERATION_SERVICE_OPEN_TRACE, null, hashAlgorithm, hashMessageB64);
 
 	}
 
@@ -94,7 +114,7 @@ public final class EventsCollector {
 	 */
 	public static void closeTransaction(String transactionId, String hashAlgorithm, String hashMessageB64) {
 
-		AUDIT_LOGGER.info(createTrace(transactionId, 0, IEventsCollectorConstants.OPERATION_SERVICE_CLOSE_TRACE, null, new DateString(Calendar.getInstance().getTime()), hashMessageB64, hashAlgorithm));
+		dispatchTrace(transactionId, 0, IEventsCollectorConstants.OPERATION_SERVICE_CLOSE_TRACE, null, hashAlgorithm, hashMessageB64);
 
 	}
 
@@ -110,87 +130,147 @@ public final class EventsCollector {
 		// y se dispone de un listado de campos.
 		if (!UtilsStringChar.isNullOrEmptyTrim(transactionId) && fieldsValues != null && fieldsValues.length > 0) {
 
-			AUDIT_LOGGER.info(createTrace(transactionId, 0, operationId, createAuditFields(operationId, fieldsValues), new DateString(Calendar.getInstance().getTime()), null, null));
+			dispatchTrace(transactionId, 0, operationId, fieldsValues, null, null);
 
 		}
 
 	}
 
 	/**
-	 * Creates a list of {@link AuditField} with names and values.
-	 * @param operationId Operation identifier.
-	 * @param fieldsValues list with values of fields.
-	 * @return a list with names and values of fields.
+	 * Stops the asynchronous audit writer (if it is enabled), after writing the pending audit traces. The traces
+	 * registered after this moment are written synchronously.
 	 */
-	private static AuditField[ ] createAuditFields(int operationId, String... fieldsValues) {
-
-		AuditField[ ] result = null;
+	public static void shutdown() {
+		AsyncAuditWriter.stopInstance();
+	}
 
-		// Si la lista de valores no es nula ni vacía...
-		if (fieldsValues != null && fieldsValues.length > 0) {
+	/**
+	 * Gets the number of audit traces discarded because the ring buffer of the asynchronous audit writer was full.
+	 * @return the number of discarded audit traces, or 0 if the asynchronous audit writer is disabled.
+	 */
+	public static long getDiscardedTraces() {
+		AsyncAuditWriter writer = AsyncAuditWriter.getInstance();
+		return writer == null ? 0L : writer.getDiscardedTraces();
+	}
 
-			// Obtenemos los nombres de los campos...
-			String[ ] orderedFieldNames = getOrderedFieldsNamesForOperation(operationId);
-			// Si la lista de ids no es nula ni vacía...
-			if (orderedFieldNames != null && orderedFieldNames.length > 0) {
+	/**
+	 * Registers an audit trace: if the asynchronous audit writer is enabled, only the raw data of the trace is published
+	 * in its ring buffer, and it is encoded and written by its thread. Otherwise (or if the writer can not accept it),
+	 * the trace is encoded and written by the calling thread.
+	 * @param transactionId Transaction identifier.
+	 * @param serviceId Service identifier.
+	 * @param operationId Operation identifier.
+	 * @param fieldsValues Values of the audit fields of the trace. It can be <code>null</code>.
+	 * @param hashAlgorithm Hash algorithm applied to the message.
+	 * @param hashMessageB64 Message hash in Base 64.
+	 */
+	private static void dispatchTrace(String transactionId, int serviceId, int operationId, String[ ] fieldsValues, String hashAlgorithm, String hashMessageB64) {
 
-				// Creamos el array resultante...
-				result = new AuditField[Math.min(orderedFieldNames.length, fieldsValues.length)];
+		AsyncAuditWriter writer = AsyncAuditWriter.getInstance();
+		if (writer == null || !writer.publish(transactionId, serviceId, operationId, fieldsValues, hashAlgorithm, hashMessageB64)) {
+			writeTraces(buildTrace(transactionId, serviceId, operationId, fieldsValues, System.currentTimeMillis(), hashAlgorithm, hashMessageB64));
+		}
 
-				// Vamos recorriendo los ids y asignándoles el valor
-				// correspondiente...
-				for (int index = 0; index < orderedFieldNames.length && index < fieldsValues.length; index++) {
-					result[index] = new AuditField(orderedFieldNames[index], encodeStringForAuditField(fieldsValues[index]));
-				}
+	}
 
+	/**
+	 * Builds the string representation of an audit trace from its raw data.
+	 * @param transactionId Transaction identifier.
+	 * @param serviceId Service identifier.
+	 * @param operationId Operation identifier.
+	 * @param fieldsValues Values of the audit fields of the trace. It can be <code>null</code>.
+	 * @param timestamp Moment (milliseconds) when the trace was registered.
+	 * @param hashAlgorithm Hash algorithm applied to the message.
+	 * @param hashMessageB64 Message hash in Base 64.
+	 * @return the string representation of the audit trace.
+	 */
+	static String buildTrace(String transactionId, int serviceId, int operationId, String[ ] fieldsValues, long timestamp, String hashAlgorithm, String hashMessageB64) {
+
+		StringBuilder traceSb = TRACE_BUFFER.get();
+		try {
+			appendTrace(traceSb, transactionId, serviceId, operationId, fieldsValues, timestamp, hashAlgorithm, hashMessageB64);
+			return traceSb.toString();
+		} finally {
+			// Se limpia el buffer para la siguiente traza, descartándolo si
+			// ha crecido demasiado por una traza excepcionalmente grande.
+			if (traceSb.capacity() > TRACE_BUFFER_MAX_CAPACITY) {
+				TRACE_BUFFER.remove();
+			} else {
+				traceSb.setLength(0);
 			}
-
 		}
 
-		return result;
+	}
 
+	/**
+	 * Writes one or more audit traces (separated by line breaks) in the audit log.
+	 * @param traces Audit traces to write.
+	 */
+	static void writeTraces(String traces) {
+		AUDIT_LOGGER.info(traces);
 	}
 
 	/**
-	 * Modify the input string removing the characters not allowed in audit fields values
-	 * and replacing these with others.
-	 * @param auditFieldValue String to analyze.
-	 * @return Input string modified.
+	 * Appends to the input builder the values of the audit fields, with their names, skipping the ones
+	 * <code>null</code> or empty.
+	 * @param traceSb Builder where the fields are appended.
+	 * @param operationId Operation identifier.
+	 * @param fieldsValues list with values of fields.
 	 */
-	private static String encodeStringForAuditField(String auditFieldValue) {
+	private static void appendAuditFields(StringBuilder traceSb, int operationId, String... fieldsValues) {
+
+		// Si la lista de valores no es nula ni vacía...
+		if (fieldsValues != null && fieldsValues.length > 0) {
 
-		String result = null;
+			// Obtenemos los nombres de los campos...
+			String[ ] orderedFieldNames = getOrderedFieldsNamesForOperation(operationId);
+			// Si la lista de ids no es nula ni vacía...
+			if (orderedFieldNames != null && orderedFieldNames.length > 0) {
 
-		if (auditFieldValue != null) {
+				// Vamos recorriendo los ids y añadiendo el valor
+				// correspondiente...
+				for (int index = 0; index < orderedFieldNames.length && index < fieldsValues.length; index++) {
+					if (!UtilsStringChar.isNullOrEmpty(fieldsValues[index])) {
+						traceSb.append(orderedFieldNames[index]).append(TOKEN_SEPARATOR);
+						appendEncodedFieldValue(traceSb, fieldsValues[index]);
+						traceSb.append(SEPARATOR);
+					}
+				}
 
-			StringBuilder sb = new StringBuilder(auditFieldValue);
-			encodeStringForAuditFieldReplaceString(sb, UtilsStringChar.SPECIAL_LINE_BREAK_STRING, UtilsStringChar.SPECIAL_BLANK_SPACE_STRING);
-			encodeStringForAuditFieldReplaceString(sb, UtilsStringChar.SYMBOL_SEMICOLON_STRING, UtilsStringChar.SYMBOL_PIPE_STRING);
-			encodeStringForAuditFieldReplaceString(sb, UtilsStringChar.SYMBOL_OPEN_SQUARE_BRACKET_STRING, UtilsStringChar.SYMBOL_HYPHEN_STRING);
-			encodeStringForAuditFieldReplaceString(sb, UtilsStringChar.SYMBOL_CLOSE_SQUARE_BRACKET_STRING, UtilsStringChar.SYMBOL_HYPHEN_STRING);
-			encodeStringForAuditFieldReplaceString(sb, UtilsStringChar.SYMBOL_OPEN_BRACKET_STRING, UtilsStringChar.SYMBOL_HYPHEN_STRING);
-			encodeStringForAuditFieldReplaceString(sb, UtilsStringChar.SYMBOL_CLOSE_BRACKET_STRING, UtilsStringChar.SYMBOL_HYPHEN_STRING);
-			result = sb.toString();
+			}
 
 		}
 
-		return result;
-
 	}
 
 	/**
-	 * Auxiliar method to replace a string with other in a StringBuilder.
-	 * @param sb String Builder instance to check and update.
-	 * @param oldString String that must be replaced.
-	 * @param newString String to add instead of.
+	 * Appends the input value of an audit field to the builder, replacing the characters not allowed in audit fields
+	 * values with others. The value is processed in a single pass, character by character.
+	 * @param traceSb Builder where the value is appended.
+	 * @param auditFieldValue String to encode.
 	 */
-	private static void encodeStringForAuditFieldReplaceString(StringBuilder sb, String oldString, String newString) {
-
-		int index = sb.indexOf(oldString);
-		while (index >= 0) {
-			sb.delete(index, index + oldString.length());
-			sb.insert(index, newString);
-			index = sb.indexOf(oldString, index + newString.length());
+	private static void appendEncodedFieldValue(StringBuilder traceSb, String auditFieldValue) {
+
+		int length = auditFieldValue.length();
+		for (int index = 0; index < length; index++) {
+			char c = auditFieldValue.charAt(index);
+			switch (c) {
+				case UtilsStringChar.SPECIAL_LINE_BREAK:
+					traceSb.append(UtilsStringChar.SPECIAL_BLANK_SPACE);
+					break;
+				case UtilsStringChar.SYMBOL_SEMICOLON:
+					traceSb.append(UtilsStringChar.SYMBOL_PIPE);
+					break;
+				case UtilsStringChar.SYMBOL_OPEN_SQUARE_BRACKET:
+				case UtilsStringChar.SYMBOL_CLOSE_SQUARE_BRACKET:
+				case UtilsStringChar.SYMBOL_OPEN_BRACKET:
+				case UtilsStringChar.SYMBOL_CLOSE_BRACKET:
+					traceSb.append(UtilsStringChar.SYMBOL_HYPHEN);
+					break;
+				default:
+					traceSb.append(c);
+					break;
+			}
 		}
 
 	}
@@ -242,21 +322,18 @@ public final class EventsCollector {
 	}
 
 	/**
-	 * Create a string representation of a trace audit. The trace matches with the pattern:
+	 * Appends to the input builder the string representation of a trace audit. The trace matches with the pattern:
 	 * <pre>'ID=Transaction_id;SV=Service_Id;OP=operationId;fieldsNames=fieldsValues;date(in format: {@value UtilsDate#FORMAT_DATE_TIME_JSON})'</pre>
+	 * @param traceSb Builder where the trace is appended.
 	 * @param transactionId Transaction identifier.
 	 * @param serviceId Service identifier.
 	 * @param operationId Operation identifier.
-	 * @param fields Array with fields (ids and values).
-	 * @param dateString Date to assign to this trace.
-	 * @param messageHashInBase64 Message hash in Base 64.
+	 * @param fieldsValues Values of the audit fields of the trace. It can be <code>null</code>.
+	 * @param timestamp Moment (milliseconds) when the trace was registered.
 	 * @param hashAlgorithmApplied Hash algorithm applied to the message.
-	 * @return a string representation of a trace audit.
+	 * @param messageHashInBase64 Message hash in Base 64.
 	 */
-	private static String createTrace(String transactionId, int serviceId, int operationId, AuditField[ ] fields, DateString dateString, String messageHashInBase64, String hashAlgorithmApplied) {
-
-		// Creamos el StringBuilder que construye la traza.
-		StringBuilder traceSb = new StringBuilder();
+	static void appendTrace(StringBuilder traceSb, String transactionId, int serviceId, int operationId, String[ ] fieldsValues, long timestamp, String hashAlgorithmApplied, String messageHashInBase64) {
 
 		// Siempre se añade el identificador de transacción.
 		traceSb.append(IEventsCollectorConstants.FIELD_NAME_ID).append(TOKEN_SEPARATOR).append(transactionId).append(SEPARATOR);
@@ -293,26 +370,10 @@ public final class EventsCollector {
 		}
 
 		// Se añaden la lista de campos si no es nula o vacía.
-		if (fields != null && fields.length > 0) {
-			for (AuditField auditField: fields) {
-				if (!UtilsStringChar.isNullOrEmpty(auditField.getFieldValue())) {
-					traceSb.append(auditField.getFieldName()).append(TOKEN_SEPARATOR).append(auditField.getFieldValue()).append(SEPARATOR);
-				}
-			}
-		}
+		appendAuditFields(traceSb, operationId, fieldsValues);
 
 		// Finalmente añadimos la fecha.
-		traceSb.append(dateString.toString());
-
-		// Construimos el resultado.
-		String result = traceSb.toString();
-
-		// Limpiamos el StringBuffer.
-		traceSb.setLength(0);
-		traceSb.trimToSize();
-
-		// Se devuelve el resultado.
-		return result;
+		TIMESTAMP_FORMATTER.get().appendTo(traceSb, timestamp);
 
 	}
 
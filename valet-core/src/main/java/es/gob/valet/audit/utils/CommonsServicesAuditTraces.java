@@ -20,10 +20,12 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>18/02/2019.</p>
  * @author Gobierno de España.
- * @version 1.1, 05/03/2019.
+ * @version 1.2, 18/10/2026.
  */
 package es.gob.valet.audit.utils;
 
+import java.security.MessageDigest;
+import java.util.Base64;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -43,7 +45,7 @@ import es.gob.valet.i18n.messages.ICoreGeneralMessages;
 /**
  * <p>Class that provides methods for registering the most commons audit traces associated to the services of the platform.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.1, 05/03/2019.
+ * @version 1.2, 18/10/2026.
  */
 public final class CommonsServicesAuditTraces {
 
@@ -135,6 +137,62 @@ public final class CommonsServicesAuditTraces {
 
 	}
 
+	/**
+	 * Gets a new instance of {@link MessageDigest} with the hash algorithm used in the transaction traces, to calculate
+	 * incrementally the hash of a message without building its byte array. The result must be passed to
+	 * {@link #addOpenTransactionTrace(String, int, MessageDigest)} or {@link #addCloseTransactionTrace(String, MessageDigest)}.
+	 * @return a new instance of {@link MessageDigest} for the algorithm {@value CryptographicConstants#HASH_ALGORITHM_SHA512}.
+	 * @throws AuditTraceException If the hash algorithm is not supported.
+	 */
+	public static MessageDigest createMessageDigest() throws AuditTraceException {
+
+		try {
+			return UtilsCrypto.getMessageDigest(CryptographicConstants.HASH_ALGORITHM_SHA512, null);
+		} catch (CommonUtilsException e) {
+			throw new AuditTraceException(IValetException.COD_202, e.getMessage(), e);
+		}
+
+	}
+
+	/**
+	 * Registers a trace to set the transaction opening in audit, with the hash of the message already calculated.
+	 * @param transactionId	Audit transaction identifier. If this parameter is not properly defined, then
+	 * this method do nothing.
+	 * @param serviceId	Service identifier.
+	 * @param messageDigest Digest obtained with {@link #createMessageDigest()} and updated with the message. Its hash
+	 * is stored in the audit file event. If it is <code>null</code>, then the transaction is not opened.
+	 * @throws AuditTraceException If the transactionId is <code>null</code>/empty.
+	 */
+	public static void addOpenTransactionTrace(String transactionId, int serviceId, MessageDigest messageDigest) throws AuditTraceException {
+
+		if (UtilsStringChar.isNullOrEmptyTrim(transactionId)) {
+			throw new AuditTraceException(IValetException.COD_202, Language.getResCoreGeneral(ICoreGeneralMessages.CSAT_000));
+		} else if (messageDigest != null) {
+			EventsCollector.openTransaction(transactionId, serviceId, CryptographicConstants.HASH_ALGORITHM_SHA512, Base64.getEncoder().encodeToString(messageDigest.digest()));
+		}
+
+	}
+
+	/**
+	 * Registers a trace associated to audit transaction closing, with the hash of the message already calculated.
+	 * @param transactionId	Audit transaction identifier. If this parameter is not properly defined, then
+	 * this method do nothing.
+	 * @param messageDigest Digest obtained with {@link #createMessageDigest()} and updated with the message. Its hash
+	 * is stored in the audit file event. If it is <code>null</code> (there was some error computing the hash), then the
+	 * transaction is not closed.
+	 */
+	public static void addCloseTransactionTrace(String transactionId, MessageDigest messageDigest) {
+
+		if (UtilsStringChar.isNullOrEmptyTrim(transactionId)) {
+			LOGGER.error(Language.getResCoreGeneral(ICoreGeneralMessages.CSAT_002));
+		} else if (messageDigest == null) {
+			LOGGER.error(Language.getResCoreGeneral(ICoreGeneralMessages.CSAT_001));
+		} else {
+			EventsCollector.closeTransaction(transactionId, CryptographicConstants.HASH_ALGORITHM_SHA512, Base64.getEncoder().encodeToString(messageDigest.digest()));
+		}
+
+	}
+
 	/**
 	 * Registers a trace associated to a starting rest service transaction.
 	 * @param transactionId	Audit transaction identifier.
@@ -20,7 +20,7 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>06/11/2018.</p>
  * @author Gobierno de España.
- * @version 1.0, 06/11/2018.
+ * @version 1.1, 18/10/2026.
  */
 package es.gob.valet.crypto.keystore;
 
@@ -63,7 +63,7 @@ import es.gob.valet.persistence.utils.UtilsAESCipher;
 /**
  * <p>Class that manages all the operations related with JCE, JCEKS and PKCS#12 keystores.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.0, 06/11/2018.
+ * @version 1.1, 18/10/2026.
  */
 public class StandardKeystoreFacade implements IKeystoreFacade {
 
@@ -277,12 +277,13 @@ public class StandardKeystoreFacade implements IKeystoreFacade {
 			CryptographyValidationUtils.checkIsNotNull(certificate, Language.getResCoreGeneral(ICoreGeneralMessages.STANDARD_KEYSTORE_003));
 			// Comprobamos que el alias no sea nulo...
 			CryptographyValidationUtils.checkIsNotNull(alias, Language.getResCoreGeneral(ICoreGeneralMessages.STANDARD_KEYSTORE_004));
-			// Actualizamos el almacén de claves físicamente. Si la clave es
-			// nula, sólo se insertará el certificado.
-			addEntryToKeystore(alias, certificate, key);
+			// Actualizamos físicamente una copia del almacén de claves. Si la
+			// clave es nula, sólo se insertará el certificado.
+			KeystoreCacheObject newVersion = addEntryToKeystore(alias, certificate, key);
 			// Guardamos los datos en base de datos y caché.
 			Long status = statusCert == null ? IStatusCertificateIdConstants.ID_SC_CORRECT : statusCert;
-			saveSystemCertificateAndUpdateKeystore(alias, certificate, key, status);
+			saveSystemCertificateAndUpdateKeystore(newVersion, alias, certificate, key, status);
+			keystoreCacheObject = newVersion;
 		} catch (KeyStoreException | CertificateEncodingException
 				| CommonUtilsException | KeystoreCacheException e) {
 			String errorMsg = Language.getFormatResCoreGeneral(ICoreGeneralMessages.STANDARD_KEYSTORE_009, new Object[ ] { alias, Language.getResPersistenceConstants(keystoreCacheObject.getTokenName()) });
@@ -297,28 +298,29 @@ public class StandardKeystoreFacade implements IKeystoreFacade {
 	}
 
 	/**
-	 * Method that inserts an entry inside of a keystore.
+	 * Method that inserts an entry inside of a copy of the keystore.
 	 * @param alias Parameter that represents the alias of the entry to store.
 	 * @param cert Parameter that represents the certificate associated to the new entry.
 	 * @param key Parameter that represents the private key associated to the new entry.
+	 * @return the new version of the keystore, with the entry inserted.
 	 * @throws KeyStoreException If there is some error inserting the entry into the keystore.
 	 * @throws CryptographyException If there is some error decrypting the password of the keystore.
+	 * @throws KeystoreCacheException If there is some error copying the keystore.
 	 */
-	private void addEntryToKeystore(String alias, Certificate cert, Key key) throws KeyStoreException, CryptographyException {
+	private KeystoreCacheObject addEntryToKeystore(String alias, Certificate cert, Key key) throws KeyStoreException, CryptographyException, KeystoreCacheException {
 		char[ ] keystorePass = getKeystoreDecodedPassword().toCharArray();
-		KeyStore ks = keystoreCacheObject.getKeystore();
+		KeyStore ks = keystoreCacheObject.copyKeystore();
 		if (key == null) {
 			ks.setCertificateEntry(alias, cert);
 		} else {
 			ks.setKeyEntry(alias, key, keystorePass, new Certificate[ ] { cert });
 		}
-		keystoreCacheObject.setKeystore(ks);
-		keystoreCacheObject.setKeystoreBytes(null);
-		keystoreCacheObject.setVersion(keystoreCacheObject.getVersion() + 1);
+		return keystoreCacheObject.toBuilder().setKeystore(ks).setVersion(keystoreCacheObject.getVersion() + 1).build();
 	}
 
 	/**
 	 * Saves the system certificate and the keystore in data base and cache.
+	 * @param newVersion New version of the keystore.
 	 * @param alias Alias for the certificate in the keystore.
 	 * @param cert Certificate added in the keystore.
 	 * @param key Private key added in the keystore (it could be <code>null</code>).
@@ -327,13 +329,13 @@ public class StandardKeystoreFacade implements IKeystoreFacade {
 	 * @throws CertificateEncodingException In case of some error building the X509 Certificate.
 	 * @throws KeystoreCacheException In case of some error adding the keystore in the cache.
 	 */
-	private void saveSystemCertificateAndUpdateKeystore(String alias, Certificate cert, Key key, Long statusCert) throws CertificateEncodingException, CommonUtilsException, KeystoreCacheException {
+	private void saveSystemCertificateAndUpdateKeystore(KeystoreCacheObject newVersion, String alias, Certificate cert, Key key, Long statusCert) throws CertificateEncodingException, CommonUtilsException, KeystoreCacheException {
 
 		// Recuperamos el keystore a actualizar de base de datos.
-		Keystore ks = ManagerPersistenceServices.getInstance().getManagerPersistenceConfigurationServices().getKeystoreService().getKeystoreById(keystoreCacheObject.getIdKeystore(), false);
+		Keystore ks = ManagerPersistenceServices.getInstance().getManagerPersistenceConfigurationServices().getKeystoreService().getKeystoreById(newVersion.getIdKeystore(), false);
 		// Le actualizamos su contenido y versionado.
-		ks.setKeystore(keystoreCacheObject.getKeystoreBytes());
-		ks.setVersion(keystoreCacheObject.getVersion());
+		ks.setKeystore(newVersion.getKeystoreBytes());
+		ks.setVersion(newVersion.getVersion());
 
 		// Se crea una nueva instancia de SystemCertificate.
 		SystemCertificate sc = new SystemCertificate();
@@ -354,7 +356,7 @@ public class StandardKeystoreFacade implements IKeystoreFacade {
 		ManagerPersistenceServices.getInstance().getManagerPersistenceConfigurationServices().getSystemCertificateService().saveSystemCertificate(sc);
 
 		// Actualizamos el keystore en la caché.
-		ConfigurationCacheFacade.keystoreAddUpdateKeystore(keystoreCacheObject);
+		ConfigurationCacheFacade.keystoreAddUpdateKeystore(newVersion);
 
 	}
 
@@ -381,11 +383,12 @@ public class StandardKeystoreFacade implements IKeystoreFacade {
 			// Obtenemos la clave decodificada del almacén de claves
 			String keystoreDecodedPass = getKeystoreDecodedPassword();
 
-			// Actualizamos el almacén de claves físicamente.
-			updateEntryAlias(oldEntryAlias, newEntryAlias, keystoreDecodedPass);
+			// Actualizamos físicamente una copia del almacén de claves.
+			KeystoreCacheObject newVersion = updateEntryAlias(oldEntryAlias, newEntryAlias, keystoreDecodedPass);
 
 			// Guardamos los datos en base de datos y caché.
-			saveSystemCertificateAndUpdateKeystore(oldEntryAlias, newEntryAlias);
+			saveSystemCertificateAndUpdateKeystore(newVersion, oldEntryAlias, newEntryAlias);
+			keystoreCacheObject = newVersion;
 
 		} catch (UnrecoverableKeyException | KeyStoreException
 				| NoSuchAlgorithmException | KeystoreCacheException e) {
@@ -401,17 +404,19 @@ public class StandardKeystoreFacade implements IKeystoreFacade {
 	}
 
 	/**
-	 * Method that changes the alias of an entry stored inside of a keystore.
+	 * Method that changes the alias of an entry stored inside of a copy of the keystore.
 	 * @param oldEntryAlias Parameter that represents the alias to change.
 	 * @param newEntryAlias Parameter that represents the new alias.
 	 * @param entryDecodedPass Parameter that represents the decoded password of the entry.
+	 * @return the new version of the keystore, with the alias changed.
 	 * @throws NoSuchAlgorithmException If the algorithm for recovering the key cannot be found.
 	 * @throws KeyStoreException If the keystore has not been initialized (loaded).
 	 * @throws UnrecoverableKeyException If the key cannot be recovered (e.g., the given password is wrong).
+	 * @throws KeystoreCacheException If there is some error copying the keystore.
 	 */
-	private void updateEntryAlias(String oldEntryAlias, String newEntryAlias, String entryDecodedPass) throws UnrecoverableKeyException, KeyStoreException, NoSuchAlgorithmException {
+	private KeystoreCacheObject updateEntryAlias(String oldEntryAlias, String newEntryAlias, String entryDecodedPass) throws UnrecoverableKeyException, KeyStoreException, NoSuchAlgorithmException, KeystoreCacheException {
 		char[ ] entryPass = null;
-		KeyStore ks = keystoreCacheObject.getKeystore();
+		KeyStore ks = keystoreCacheObject.copyKeystore();
 
 		if (ks.containsAlias(oldEntryAlias)) {
 			if (ks.isCertificateEntry(oldEntryAlias)) {
@@ -426,24 +431,23 @@ public class StandardKeystoreFacade implements IKeystoreFacade {
 				ks.setKeyEntry(newEntryAlias, key, entryPass, certChain);
 			}
 		}
-		keystoreCacheObject.setKeystore(ks);
-		keystoreCacheObject.setKeystoreBytes(null);
-		keystoreCacheObject.setVersion(keystoreCacheObject.getVersion() + 1);
+		return keystoreCacheObject.toBuilder().setKeystore(ks).setVersion(keystoreCacheObject.getVersion() + 1).build();
 	}
 
 	/**
 	 * Updates the system certificate and the save the keystore in data base and cache.
+	 * @param newVersion New version of the keystore.
 	 * @param oldEntryAlias Parameter that represents the old alias of the entry.
 	 * @param newEntryAlias Parameter that represents the new alias of the entry.
 	 * @throws KeystoreCacheException In case of some error adding the keystore in the cache.
 	 */
-	private void saveSystemCertificateAndUpdateKeystore(String oldEntryAlias, String newEntryAlias) throws KeystoreCacheException {
+	private void saveSystemCertificateAndUpdateKeystore(KeystoreCacheObject newVersion, String oldEntryAlias, String newEntryAlias) throws KeystoreCacheException {
 
 		// Recuperamos el keystore a actualizar de base de datos.
-		Keystore ks = ManagerPersistenceServices.getInstance().getManagerPersistenceConfigurationServices().getKeystoreService().getKeystoreById(keystoreCacheObject.getIdKeystore(), false);
+		Keystore ks = ManagerPersistenceServices.getInstance().getManagerPersistenceConfigurationServices().getKeystoreService().getKeystoreById(newVersion.getIdKeystore(), false);
 		// Le actualizamos su contenido y versionado.
-		ks.setKeystore(keystoreCacheObject.getKeystoreBytes());
-		ks.setVersion(keystoreCacheObject.getVersion());
+		ks.setKeystore(newVersion.getKeystoreBytes());
+		ks.setVersion(newVersion.getVersion());
 
 		// Obtenemos de base de datos el SystemCertificate asociado a ese alias
 		// y keystore.
@@ -457,7 +461,7 @@ public class StandardKeystoreFacade implements IKeystoreFacade {
 		ManagerPersistenceServices.getInstance().getManagerPersistenceConfigurationServices().getSystemCertificateService().saveSystemCertificate(sc);
 
 		// Actualizamos el keystore en la caché.
-		ConfigurationCacheFacade.keystoreAddUpdateKeystore(keystoreCacheObject);
+		ConfigurationCacheFacade.keystoreAddUpdateKeystore(newVersion);
 
 	}
 
@@ -473,15 +477,14 @@ public class StandardKeystoreFacade implements IKeystoreFacade {
 		// Comprobamos que el alias no sea nulo.
 		CryptographyValidationUtils.checkIsNotNull(alias, Language.getResCoreGeneral(ICoreGeneralMessages.STANDARD_KEYSTORE_004));
 
-		// Obtenemos el almacén de claves.
-		KeyStore ks = keystoreCacheObject.getKeystore();
 		try {
-			if (ks.containsAlias(alias)) {
+			if (keystoreCacheObject.getKeystore().containsAlias(alias)) {
+				// Eliminamos la entrada de una copia del almacén de claves.
+				KeyStore ks = keystoreCacheObject.copyKeystore();
 				ks.deleteEntry(alias);
-				keystoreCacheObject.setKeystore(ks);
-				keystoreCacheObject.setKeystoreBytes(null);
-				keystoreCacheObject.setVersion(keystoreCacheObject.getVersion() + 1);
-				removeSystemCertificateAndSaveKeystore(alias);
+				KeystoreCacheObject newVersion = keystoreCacheObject.toBuilder().setKeystore(ks).setVersion(keystoreCacheObject.getVersion() + 1).build();
+				removeSystemCertificateAndSaveKeystore(newVersion, alias);
+				keystoreCacheObject = newVersion;
 			}
 			// Devolvemos la representación en caché del keystore modificada.
 			return keystoreCacheObject;
@@ -497,16 +500,17 @@ public class StandardKeystoreFacade implements IKeystoreFacade {
 
 	/**
 	 * Removes the system certificate with the input alias and update the keystore in DDBB and cache.
+	 * @param newVersion New version of the keystore.
 	 * @param alias Alias of the system certificate.
 	 * @throws KeystoreCacheException In case of some error updating the keystore in the cache.
 	 */
-	private void removeSystemCertificateAndSaveKeystore(String alias) throws KeystoreCacheException {
+	private void removeSystemCertificateAndSaveKeystore(KeystoreCacheObject newVersion, String alias) throws KeystoreCacheException {
 
 		// Recuperamos el keystore a actualizar de base de datos.
-		Keystore ks = ManagerPersistenceServices.getInstance().getManagerPersistenceConfigurationServices().getKeystoreService().getKeystoreById(keystoreCacheObject.getIdKeystore(), false);
+		Keystore ks = ManagerPersistenceServices.getInstance().getManagerPersistenceConfigurationServices().getKeystoreService().getKeystoreById(newVersion.getIdKeystore(), false);
 		// Le actualizamos su contenido y versionado.
-		ks.setKeystore(keystoreCacheObject.getKeystoreBytes());
-		ks.setVersion(keystoreCacheObject.getVersion());
+		ks.setKeystore(newVersion.getKeystoreBytes());
+		ks.setVersion(newVersion.getVersion());
 
 		// Eliminamos de base de datos el system certificate con ese alias y de
 		// este keystore.
@@ -515,7 +519,7 @@ public class StandardKeystoreFacade implements IKeystoreFacade {
 		ManagerPersistenceServices.getInstance().getManagerPersistenceConfigurationServices().getKeystoreService().saveKeystore(ks);
 
 		// Actualizamos el keystore en la caché.
-		ConfigurationCacheFacade.keystoreAddUpdateKeystore(keystoreCacheObject);
+		ConfigurationCacheFacade.keystoreAddUpdateKeystore(newVersion);
 
 	}
 
@@ -532,8 +536,8 @@ public class StandardKeystoreFacade implements IKeystoreFacade {
 			// Comprobamos que la lista de alias no es nula ni vacía.
 			CryptographyValidationUtils.checkIsNotNullAndNotEmpty(aliasList, Language.getResCoreGeneral(ICoreGeneralMessages.STANDARD_KEYSTORE_057));
 
-			// Obtenemos el almacén de claves.
-			KeyStore ks = keystoreCacheObject.getKeystore();
+			// Obtenemos una copia del almacén de claves.
+			KeyStore ks = keystoreCacheObject.copyKeystore();
 
 			// Recorremos la lista de alias...
 			for (String alias: aliasList) {
@@ -544,14 +548,13 @@ public class StandardKeystoreFacade implements IKeystoreFacade {
 				}
 			}
 
-			keystoreCacheObject.setKeystore(ks);
-			keystoreCacheObject.setKeystoreBytes(null);
-			keystoreCacheObject.setVersion(keystoreCacheObject.getVersion() + 1);
+			KeystoreCacheObject newVersion = keystoreCacheObject.toBuilder().setKeystore(ks).setVersion(keystoreCacheObject.getVersion() + 1).build();
 
 			// Eliminamos de base de datos los system certificates y
 			// actualizamos en caché
 			// y base de datos el keystore.
-			removeSystemCertificateListAndSaveKeystore(aliasList);
+			removeSystemCertificateListAndSaveKeystore(newVersion, aliasList);
+			keystoreCacheObject = newVersion;
 
 			// Devolvemos la representación en caché del keystore modificada.
 			return keystoreCacheObject;
@@ -567,16 +570,17 @@ public class StandardKeystoreFacade implements IKeystoreFacade {
 
 	/**
 	 * Removes the system certificate with the input alias and update the keystore in DDBB and cache.
+	 * @param newVersion New version of the keystore.
 	 * @param aliasList Parameter that represents the list of aliases to delete.
 	 * @throws KeystoreCacheException In case of some error updating the keystore in the cache.
 	 */
-	private void removeSystemCertificateListAndSaveKeystore(List<String> aliasList) throws KeystoreCacheException {
+	private void removeSystemCertificateListAndSaveKeystore(KeystoreCacheObject newVersion, List<String> aliasList) throws KeystoreCacheException {
 
 		// Recuperamos el keystore a actualizar de base de datos.
-		Keystore ks = ManagerPersistenceServices.getInstance().getManagerPersistenceConfigurationServices().getKeystoreService().getKeystoreById(keystoreCacheObject.getIdKeystore(), false);
+		Keystore ks = ManagerPersistenceServices.getInstance().getManagerPersistenceConfigurationServices().getKeystoreService().getKeystoreById(newVersion.getIdKeystore(), false);
 		// Le actualizamos su contenido y versionado.
-		ks.setKeystore(keystoreCacheObject.getKeystoreBytes());
-		ks.setVersion(keystoreCacheObject.getVersion());
+		ks.setKeystore(newVersion.getKeystoreBytes());
+		ks.setVersion(newVersion.getVersion());
 
 		// Eliminamos de base de datos los system certificate con esos alias y
 		// de este keystore.
@@ -585,7 +589,7 @@ public class StandardKeystoreFacade implements IKeystoreFacade {
 		ManagerPersistenceServices.getInstance().getManagerPersistenceConfigurationServices().getKeystoreService().saveKeystore(ks);
 
 		// Actualizamos el keystore en la caché.
-		ConfigurationCacheFacade.keystoreAddUpdateKeystore(keystoreCacheObject);
+		ConfigurationCacheFacade.keystoreAddUpdateKeystore(newVersion);
 
 	}
 
@@ -642,12 +646,10 @@ public class StandardKeystoreFacade implements IKeystoreFacade {
 			ksAux = changeKeystorePassword(getKeystoreDecodedPassword(), newPassword);
 			// Actualizamos el objeto que representa al keystore en la caché.
 			String passwordEncripted = new String(UtilsAESCipher.getInstance().encryptMessage(newPassword));
-			keystoreCacheObject.setPassword(passwordEncripted);
-			keystoreCacheObject.setKeystore(ksAux);
-			keystoreCacheObject.setKeystoreBytes(null);
-			keystoreCacheObject.setVersion(keystoreCacheObject.getVersion() + 1);
+			KeystoreCacheObject newVersion = keystoreCacheObject.toBuilder().setPassword(passwordEncripted).setKeystore(ksAux).setVersion(keystoreCacheObject.getVersion() + 1).build();
 
-			updateKeystorePassword();
+			updateKeystorePassword(newVersion);
+			keystoreCacheObject = newVersion;
 
 			// Devolvemos la representación del keystore en caché.
 			return keystoreCacheObject;
@@ -696,22 +698,23 @@ public class StandardKeystoreFacade implements IKeystoreFacade {
 
 	/**
 	 * Updates the keystore password in the DDBB and the cache.
+	 * @param newVersion New version of the keystore.
 	 * @throws KeystoreCacheException In case of some error updating the keystore in the cache.
 	 */
-	private void updateKeystorePassword() throws KeystoreCacheException {
+	private void updateKeystorePassword(KeystoreCacheObject newVersion) throws KeystoreCacheException {
 
 		// Recuperamos el keystore a actualizar de base de datos.
-		Keystore ks = ManagerPersistenceServices.getInstance().getManagerPersistenceConfigurationServices().getKeystoreService().getKeystoreById(keystoreCacheObject.getIdKeystore(), false);
+		Keystore ks = ManagerPersistenceServices.getInstance().getManagerPersistenceConfigurationServices().getKeystoreService().getKeystoreById(newVersion.getIdKeystore(), false);
 		// Le actualizamos su contenido, versionado y password.
-		ks.setKeystore(keystoreCacheObject.getKeystoreBytes());
-		ks.setVersion(keystoreCacheObject.getVersion());
-		ks.setPassword(keystoreCacheObject.getPassword());
+		ks.setKeystore(newVersion.getKeystoreBytes());
+		ks.setVersion(newVersion.getVersion());
+		ks.setPassword(newVersion.getPassword());
 
 		// Guardamos el keystore.
 		ManagerPersistenceServices.getInstance().getManagerPersistenceConfigurationServices().getKeystoreService().saveKeystore(ks);
 
 		// Actualizamos el keystore en la caché.
-		ConfigurationCacheFacade.keystoreAddUpdateKeystore(keystoreCacheObject);
+		ConfigurationCacheFacade.keystoreAddUpdateKeystore(newVersion);
 
 	}
 
@@ -20,7 +20,7 @@
  * <b>Project:</b><p>Spring configuration class that sets the configuration of Spring components, entities and repositories.</p>
  * <b>Date:</b><p>12/06/2018.</p>
  * @author Gobierno de España.
- * @version 1.10, 11/03/2019.
+ * @version 1.11, 18/10/2026.
  */
 package es.gob.valet.spring.config;
 
@@ -39,6 +39,8 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.datatables.repository.DataTablesRepositoryFactoryBean;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
+import es.gob.valet.alarms.AlarmsManager;
+import es.gob.valet.audit.access.EventsCollector;
 import es.gob.valet.cache.FactoryCacheValet;
 import es.gob.valet.cache.exceptions.CacheValetException;
 import es.gob.valet.commons.utils.NumberConstants;
@@ -53,12 +55,13 @@ import es.gob.valet.tasks.HiddenTasksManager;
 import es.gob.valet.tasks.TasksManager;
 import es.gob.valet.tsl.access.TSLManager;
 import es.gob.valet.utils.UtilsCache;
+import es.gob.valet.utils.UtilsHTTP;
 import es.gob.valet.utils.UtilsProxy;
 
 /**
  * <p>Spring configuration class that sets the configuration of Spring components, entities and repositories.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.10, 11/03/2019.
+ * @version 1.11, 18/10/2026.
  */
 @Configuration
 @EnableAutoConfiguration
@@ -186,6 +189,17 @@ public class ApplicationConfig {
 	 */
 	@PreDestroy
 	public final void destroy() {
+
+		// Cerramos el cliente HTTP compartido y su pool de conexiones.
+		UtilsHTTP.closeSharedHttpClient();
+
+		// Escribimos las trazas de auditoría pendientes del escritor
+		// asíncrono.
+		EventsCollector.shutdown();
+
+		// Procesamos los eventos de alarma pendientes.
+		AlarmsManager.getInstance().shutdown();
+
 	}
 
 }
@@ -0,0 +1,403 @@
+/*
+/*******************************************************************************
+ * Copyright (C) 2018 MINHAFP, Gobierno de España
+ * This program is licensed and may be used, modified and redistributed under the  terms
+ * of the European Public License (EUPL), either version 1.1 or (at your option)
+ * any later version as soon as they are approved by the European Commission.
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and
+ * more details.
+ * You should have received a copy of the EUPL1.1 license
+ * along with this program; if not, you may find it at
+ * http:joinup.ec.europa.eu/software/page/eupl/licence-eupl
+ ******************************************************************************/
+
+/**
+ * <b>File:</b><p>es.gob.valet.tsl.access.TSLCacheSnapshot.java.</p>
+ * <b>Description:</b><p>Class that represents a snapshot file of the parsed TSL of the cache, used to avoid parsing again
+ * the TSL that have not changed when the TSL cache is reloaded.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * <b>Date:</b><p>18/10/2026.</p>
+ * @author Gobierno de España.
+ * @version 1.0, 18/10/2026.
+ */
+package es.gob.valet.tsl.access;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.apache.log4j.Logger;
+
+import es.gob.valet.i18n.Language;
+import es.gob.valet.i18n.messages.ICoreTslMessages;
+import es.gob.valet.tsl.exceptions.TSLEncodingException;
+import es.gob.valet.tsl.exceptions.TSLParsingException;
+import es.gob.valet.tsl.parsing.ifaces.ITSLObject;
+import es.gob.valet.tsl.parsing.impl.common.TSLBinaryCodec;
+
+/**
+ * <p>Class that represents a snapshot file of the parsed TSL of the cache. When the TSL cache is reloaded, the TSL whose
+ * TSL Data identifier and sequence number match with an entry of the snapshot are restored from it, instead of getting
+ * its XML from the data base and parsing it again.</p>
+ * <p>The snapshot file is a binary file with the following structure (all the numbers in big endian):</p>
+ * <ul>
+ * <li>Header: magic number (int), version of the format (int) and number of entries (int).</li>
+ * <li>For each entry: TSL Data identifier (long), sequence number (int), length of the TSL Object (int) and the
+ * TSL Object encoded with {@link TSLBinaryCodec}.</li>
+ * <li>Trailer: CRC32 checksum (long) of all the previous content.</li>
+ * </ul>
+ * <p>The snapshot file is memory-mapped (read only) when it is loaded, and it is written in a temporary file that
+ * replaces the previous one atomically, so a reader never sees an incomplete file. The checksum only detects a corrupted
+ * file, so the directory of the snapshot file must be protected as the rest of the configuration of the platform.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * @version 1.0, 18/10/2026.
+ */
+public final class TSLCacheSnapshot {
+
+	/**
+	 * Constant attribute that represents the object that manages the log of the class.
+	 */
+	private static final Logger LOGGER = Logger.getLogger(TSLCacheSnapshot.class);
+
+	/**
+	 * Constant attribute that represents the magic number that identifies a snapshot file ('VTSL').
+	 */
+	private static final int MAGIC_NUMBER = 0x5654534C;
+
+	/**
+	 * Constant attribute that represents the version of the format of the snapshot file.
+	 */
+	private static final int FORMAT_VERSION = 2;
+
+	/**
+	 * Constant attribute that represents the length in bytes of the header of the snapshot file.
+	 */
+	private static final int HEADER_LENGTH = Integer.BYTES * 3;
+
+	/**
+	 * Constant attribute that represents the length in bytes of the header of each entry of the snapshot file.
+	 */
+	private static final int ENTRY_HEADER_LENGTH = Long.BYTES + Integer.BYTES * 2;
+
+	/**
+	 * Constant attribute that represents the length in bytes of the trailer (checksum) of the snapshot file.
+	 */
+	private static final int TRAILER_LENGTH = Long.BYTES;
+
+	/**
+	 * Constant attribute that represents the suffix of the temporary file used to write the snapshot.
+	 */
+	private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+	/**
+	 * Attribute that represents the path of the snapshot file.
+	 */
+	private final String filePath;
+
+	/**
+	 * Attribute that represents the entries of the snapshot, by TSL Data identifier.
+	 */
+	private final Map<Long, Entry> entries;
+
+	/**
+	 * Constructor method for the class TSLCacheSnapshot.java.
+	 * @param filePathParam Path of the snapshot file.
+	 * @param entriesParam Entries of the snapshot, by TSL Data identifier.
+	 */
+	private TSLCacheSnapshot(String filePathParam, Map<Long, Entry> entriesParam) {
+		super();
+		filePath = filePathParam;
+		entries = entriesParam;
+	}
+
+	/**
+	 * Builds an empty snapshot, used when the snapshot of the TSL cache is disabled.
+	 * @return an empty snapshot.
+	 */
+	public static TSLCacheSnapshot empty() {
+		return new TSLCacheSnapshot(null, Collections.<Long, Entry> emptyMap());
+	}
+
+	/**
+	 * Loads the snapshot stored in the input file. If the file does not exist or it is not valid, an empty
+	 * snapshot is returned, so all the TSL will be parsed.
+	 * @param filePath Path of the snapshot file.
+	 * @return the loaded snapshot.
+	 */
+	public static TSLCacheSnapshot load(String filePath) {
+
+		Map<Long, Entry> entries = new HashMap<Long, Entry>();
+		File file = new File(filePath);
+
+		if (file.isFile()) {
+			try {
+				readEntries(file.toPath(), entries);
+				LOGGER.info(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL362, new Object[ ] { filePath, entries.size() }));
+			} catch (IOException | RuntimeException e) {
+				LOGGER.warn(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL365, new Object[ ] { filePath }), e);
+				entries.clear();
+			}
+		} else {
+			LOGGER.info(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL363, new Object[ ] { filePath }));
+		}
+
+		return new TSLCacheSnapshot(filePath, entries);
+
+	}
+
+	/**
+	 * Reads the entries of the input snapshot file, after checking its format, version and checksum.
+	 * @param path Path of the snapshot file.
+	 * @param entries Map where the read entries are stored, by TSL Data identifier.
+	 * @throws IOException In case of some error reading the file, or if it is not valid.
+	 */
+	private static void readEntries(Path path, Map<Long, Entry> entries) throws IOException {
+
+		MappedByteBuffer buffer = null;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size < HEADER_LENGTH + TRAILER_LENGTH || size > Integer.MAX_VALUE) {
+				throw new IOException(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL364, new Object[ ] { path }));
+			}
+			// El contenido mapeado sigue siendo accesible tras cerrar el
+			// canal.
+			buffer = channel.map(MapMode.READ_ONLY, 0, size);
+		}
+
+		// Comprobamos la suma de verificación antes de interpretar el
+		// contenido.
+		int contentLength = buffer.capacity() - TRAILER_LENGTH;
+		ByteBuffer content = buffer.duplicate();
+		content.limit(contentLength);
+		CRC32 crc = new CRC32();
+		crc.update(content);
+		if (crc.getValue() != buffer.getLong(contentLength) || buffer.getInt() != MAGIC_NUMBER || buffer.getInt() != FORMAT_VERSION) {
+			throw new IOException(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL364, new Object[ ] { path }));
+		}
+
+		int entriesNumber = buffer.getInt();
+		for (int index = 0; index < entriesNumber; index++) {
+			if (contentLength - buffer.position() < ENTRY_HEADER_LENGTH) {
+				throw new IOException(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL364, new Object[ ] { path }));
+			}
+			long tslDataId = buffer.getLong();
+			int sequenceNumber = buffer.getInt();
+			int length = buffer.getInt();
+			if (length < 0 || length > contentLength - buffer.position()) {
+				throw new IOException(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL364, new Object[ ] { path }));
+			}
+			// El TSL Object no se copia: se referencia la región mapeada.
+			ByteBuffer tslObject = buffer.slice();
+			tslObject.limit(length);
+			buffer.position(buffer.position() + length);
+			entries.put(tslDataId, new Entry(tslDataId, sequenceNumber, tslObject.asReadOnlyBuffer()));
+		}
+
+	}
+
+	/**
+	 * Checks if the snapshot contains an entry for the input TSL Data identifier, whatever its sequence number.
+	 * @param tslDataId TSL Data identifier.
+	 * @return <code>true</code> if the snapshot contains an entry for the TSL Data, otherwise <code>false</code>.
+	 */
+	public boolean hasEntry(Long tslDataId) {
+		return tslDataId != null && entries.containsKey(tslDataId);
+	}
+
+	/**
+	 * Gets the entry of the snapshot for the input TSL Data identifier and sequence number.
+	 * @param tslDataId TSL Data identifier.
+	 * @param sequenceNumber Sequence number of the TSL in the data base.
+	 * @return the entry of the snapshot, or <code>null</code> if there is not any entry for the TSL Data or
+	 * its sequence number is different.
+	 */
+	public Entry getEntry(Long tslDataId, Integer sequenceNumber) {
+
+		Entry result = tslDataId == null ? null : entries.get(tslDataId);
+		if (result != null && (sequenceNumber == null || result.sequenceNumber != sequenceNumber.intValue())) {
+			result = null;
+		}
+		return result;
+
+	}
+
+	/**
+	 * Gets the number of entries of the snapshot.
+	 * @return the number of entries of the snapshot.
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Builds a new entry for a snapshot from a parsed TSL.
+	 * @param tslDataId TSL Data identifier.
+	 * @param sequenceNumber Sequence number of the TSL in the data base.
+	 * @param tslObject Parsed TSL.
+	 * @return the new entry.
+	 * @throws TSLEncodingException In case of some error encoding the TSL Object.
+	 */
+	public static Entry buildEntry(Long tslDataId, Integer sequenceNumber, ITSLObject tslObject) throws TSLEncodingException {
+		return new Entry(tslDataId, sequenceNumber, ByteBuffer.wrap(TSLBinaryCodec.encode(tslObject)).asReadOnlyBuffer());
+	}
+
+	/**
+	 * Writes the input entries in a new snapshot file, that replaces atomically the previous one.
+	 * @param filePath Path of the snapshot file.
+	 * @param entriesToWrite Entries to store in the snapshot file.
+	 * @throws IOException In case of some error writing the snapshot file.
+	 */
+	public static void write(String filePath, Collection<Entry> entriesToWrite) throws IOException {
+
+		Path path = new File(filePath).getAbsoluteFile().toPath();
+		Path parent = path.getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		Path temporaryPath = path.resolveSibling(path.getFileName() + TEMPORARY_FILE_SUFFIX);
+
+		try {
+			try (FileChannel channel = FileChannel.open(temporaryPath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+
+				CRC32 crc = new CRC32();
+				ByteBuffer header = ByteBuffer.allocate(Math.max(HEADER_LENGTH, ENTRY_HEADER_LENGTH));
+				header.putInt(MAGIC_NUMBER).putInt(FORMAT_VERSION).putInt(entriesToWrite.size()).flip();
+				writeAndUpdateChecksum(channel, header, crc);
+
+				for (Entry entry: entriesToWrite) {
+					header.clear();
+					header.putLong(entry.tslDataId).putInt(entry.sequenceNumber).putInt(entry.tslObject.remaining()).flip();
+					writeAndUpdateChecksum(channel, header, crc);
+					writeAndUpdateChecksum(channel, entry.tslObject.duplicate(), crc);
+				}
+
+				header.clear();
+				header.putLong(crc.getValue()).flip();
+				while (header.hasRemaining()) {
+					channel.write(header);
+				}
+				channel.force(true);
+
+			}
+			Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			LOGGER.info(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL367, new Object[ ] { filePath, entriesToWrite.size() }));
+		} finally {
+			Files.deleteIfExists(temporaryPath);
+		}
+
+	}
+
+	/**
+	 * Writes the remaining content of the input buffer in the channel, and updates the checksum with it.
+	 * @param channel Channel where the content is written.
+	 * @param buffer Buffer with the content to write.
+	 * @param crc Checksum to update.
+	 * @throws IOException In case of some error writing the content.
+	 */
+	private static void writeAndUpdateChecksum(FileChannel channel, ByteBuffer buffer, CRC32 crc) throws IOException {
+
+		ByteBuffer checksumView = buffer.duplicate();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		crc.update(checksumView);
+
+	}
+
+	/**
+	 * Gets the value of the attribute {@link #filePath}.
+	 * @return the value of the attribute {@link #filePath}.
+	 */
+	public String getFilePath() {
+		return filePath;
+	}
+
+	/**
+	 * <p>Class that represents an entry of the snapshot of the TSL cache: a parsed TSL and the TSL Data identifier and
+	 * sequence number from which it was parsed.</p>
+	 * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+	 * @version 1.0, 18/10/2026.
+	 */
+	public static final class Entry {
+
+		/**
+		 * Attribute that represents the TSL Data identifier.
+		 */
+		private final long tslDataId;
+
+		/**
+		 * Attribute that represents the sequence number of the TSL in the data base.
+		 */
+		private final int sequenceNumber;
+
+		/**
+		 * Attribute that represents the encoded TSL Object.
+		 */
+		private final ByteBuffer tslObject;
+
+		/**
+		 * Constructor method for the class Entry.
+		 * @param tslDataIdParam TSL Data identifier.
+		 * @param sequenceNumberParam Sequence number of the TSL in the data base.
+		 * @param tslObjectParam Encoded TSL Object.
+		 */
+		private Entry(long tslDataIdParam, int sequenceNumberParam, ByteBuffer tslObjectParam) {
+			super();
+			tslDataId = tslDataIdParam;
+			sequenceNumber = sequenceNumberParam;
+			tslObject = tslObjectParam;
+		}
+
+		/**
+		 * Gets the value of the attribute {@link #tslDataId}.
+		 * @return the value of the attribute {@link #tslDataId}.
+		 */
+		public long getTslDataId() {
+			return tslDataId;
+		}
+
+		/**
+		 * Gets the value of the attribute {@link #sequenceNumber}.
+		 * @return the value of the attribute {@link #sequenceNumber}.
+		 */
+		public int getSequenceNumber() {
+			return sequenceNumber;
+		}
+
+		/**
+		 * Restores the TSL Object stored in the entry.
+		 * @return the restored TSL Object, or <code>null</code> if it could not be restored.
+		 */
+		public ITSLObject restoreTSLObject() {
+
+			ITSLObject result = null;
+			try {
+				// Se decodifica directamente desde el fichero mapeado en
+				// memoria, sin copiar su contenido.
+				result = TSLBinaryCodec.decode(tslObject);
+				LOGGER.debug(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL366, new Object[ ] { tslDataId, sequenceNumber }));
+			} catch (TSLParsingException e) {
+				LOGGER.warn(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL369, new Object[ ] { tslDataId }), e);
+			}
+			return result;
+
+		}
+
+	}
+
+}
@@ -20,11 +20,12 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>25/11/2018.</p>
  * @author Gobierno de España.
- * @version 1.12, 29/11/2021.
+ * @version 1.13, 18/10/2026.
  */
 package es.gob.valet.tsl.access;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.security.cert.X509CRL;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
@@ -38,6 +39,13 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 
 import org.apache.log4j.Logger;
 import org.bouncycastle.cert.ocsp.BasicOCSPResp;
@@ -75,7 +83,9 @@ import es.gob.valet.tsl.certValidation.ifaces.ITSLValidator;
 import es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult;
 import es.gob.valet.tsl.certValidation.impl.TSLValidatorFactory;
 import es.gob.valet.tsl.certValidation.impl.TSLValidatorMappingCalculator;
+import es.gob.valet.tsl.certValidation.impl.common.TSLValidatorResultCache;
 import es.gob.valet.tsl.exceptions.TSLArgumentException;
+import es.gob.valet.tsl.exceptions.TSLEncodingException;
 import es.gob.valet.tsl.exceptions.TSLException;
 import es.gob.valet.tsl.exceptions.TSLMalformedException;
 import es.gob.valet.tsl.exceptions.TSLManagingException;
@@ -88,7 +98,7 @@ import es.gob.valet.tsl.parsing.impl.common.TSLObject;
 /**
  * <p>Class that reprensents the TSL Manager for all the differents operations.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.12, 29/11/2021.
+ * @version 1.13, 18/10/2026.
  */
 public final class TSLManager {
 
@@ -591,38 +601,54 @@ public final class TSLManager {
 
 		ITSLValidatorResult result = null;
 
-		// Tratamos de construir el validador de certificados mediante TSL.
-		ITSLValidator tslValidator = TSLValidatorFactory.createTSLValidator(tslObject);
-
 		// Si la fecha de validación es nula, utilizamos la fecha actual.
 		Date validationDateToUse = validationDate;
 		if (validationDateToUse == null) {
 			validationDateToUse = Calendar.getInstance().getTime();
 		}
 
-		// Almacenamos en una variable si el certificado está orientado a
-		// sellado de tiempo.
-		boolean isTsaCertificate = checkIfCertificateIsForTSA(auditTransNumber, cert);
+		// Si la aplicación usa la caché de resultados de validación, buscamos
+		// en ella un resultado obtenido con la misma TSL para la misma
+		// petición.
+		TSLValidatorResultCache resultCache = TSLValidatorResultCache.getInstance();
+		String resultCacheKey = resultCache.buildKey(cert, tslObject, validationDateToUse, checkStatusRevocation, calculateMappings);
+		result = resultCache.getResult(resultCacheKey, tslObject);
 
-		// Guardamos en una variable si el certificado se corresponde
-		// con el certificado de una CA.
-		boolean isCACert = isTsaCertificate ? false : UtilsCertificate.isCA(cert);
+		// Si no lo hemos encontrado, realizamos la validación.
+		if (result == null) {
 
-		// Ejecutamos la validación del certificado con el validador construido
-		// para la fecha indicada.
-		try {
-			result = tslValidator.validateCertificateWithTSL(auditTransNumber, cert, isCACert, isTsaCertificate, validationDateToUse, checkStatusRevocation);
-		} catch (TSLArgumentException e) {
-			throw new TSLManagingException(IValetException.COD_187, Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL149, new Object[ ] { tslObject.getSchemeInformation().getSchemeTerritory(), tslObject.getSchemeInformation().getTslSequenceNumber() }), e);
-		} catch (TSLValidationException e) {
-			throw new TSLManagingException(IValetException.COD_187, Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL149, new Object[ ] { tslObject.getSchemeInformation().getSchemeTerritory(), tslObject.getSchemeInformation().getTslSequenceNumber() }), e);
-		}
+			// Tratamos de construir el validador de certificados mediante TSL.
+			ITSLValidator tslValidator = TSLValidatorFactory.createTSLValidator(tslObject);
+
+			// Almacenamos en una variable si el certificado está orientado a
+			// sellado de tiempo.
+			boolean isTsaCertificate = checkIfCertificateIsForTSA(auditTransNumber, cert);
+
+			// Guardamos en una variable si el certificado se corresponde
+			// con el certificado de una CA.
+			boolean isCACert = isTsaCertificate ? false : UtilsCertificate.isCA(cert);
+
+			// Ejecutamos la validación del certificado con el validador
+			// construido para la fecha indicada.
+			try {
+				result = tslValidator.validateCertificateWithTSL(auditTransNumber, cert, isCACert, isTsaCertificate, validationDateToUse, checkStatusRevocation);
+			} catch (TSLArgumentException e) {
+				throw new TSLManagingException(IValetException.COD_187, Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL149, new Object[ ] { tslObject.getSchemeInformation().getSchemeTerritory(), tslObject.getSchemeInformation().getTslSequenceNumber() }), e);
+			} catch (TSLValidationException e) {
+				throw new TSLManagingException(IValetException.COD_187, Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL149, new Object[ ] { tslObject.getSchemeInformation().getSchemeTerritory(), tslObject.getSchemeInformation().getTslSequenceNumber() }), e);
+			}
+
+			// Si no se ha producido excepción, el resultado no es nulo,
+			// y el certificado ha sido detectado,
+			// calculamos los mapeos asociados.
+			if (calculateMappings) {
+				calculateMappingsForCertificateAndSetInResult(auditTransNumber, cert, tslObject, result);
+			}
+
+			// Almacenamos una copia inmutable del resultado en la caché de
+			// resultados de validación.
+			resultCache.putResult(resultCacheKey, tslObject, cert, checkStatusRevocation, result);
 
-		// Si no se ha producido excepción, el resultado no es nulo,
-		// y el certificado ha sido detectado,
-		// calculamos los mapeos asociados.
-		if (calculateMappings) {
-			calculateMappingsForCertificateAndSetInResult(auditTransNumber, cert, tslObject, result);
 		}
 
 		return result;
@@ -911,17 +937,25 @@ public final class TSLManager {
 
 	/**
 	 * Reloads the TSL cache. First clear all the data associated to the TSL in the cache, and then
-	 * gets it from the data base and parses all the XML that reprensents its.
+	 * gets it from the data base and parses all the XML that reprensents its. The TSL are obtained from
+	 * the data base and parsed in parallel (according to the configured parallelism level), but they are
+	 * added to the cache in the same order than the country/regions, so the result is the same than
+	 * processing them one by one. If the snapshot of the TSL cache is enabled, the TSL whose sequence number
+	 * has not changed are restored from it instead of being parsed, and the snapshot is updated at the end.
 	 */
 	public void reloadTSLCache() {
 
 		LOGGER.info(Language.getResCoreTsl(ICoreTslMessages.LOGMTSL154));
 
+		ExecutorService dataBaseExecutor = null;
+		ForkJoinPool parsingPool = null;
+
 		try {
 
 			// Primero limpiamos el contenido actual de la caché (respecto a las
 			// TSL).
 			ConfigurationCacheFacade.tslClearTSLCache();
+			TSLValidatorResultCache.getInstance().clear();
 
 			// Obtenemos todas las regiones dadas de alta en base de datos.
 			List<TslCountryRegion> tcrList = ManagerPersistenceServices.getInstance().getManagerPersistenceConfigurationServices().getTslCountryRegionService().getAllTslCountryRegion(false);
@@ -929,43 +963,238 @@ public final class TSLManager {
 			// Si la lista obtenida no es nula ni vacía, contianuamos.
 			if (tcrList != null && !tcrList.isEmpty()) {
 
-				// Por cada una de las regiones...
-				for (TslCountryRegion tcr: tcrList) {
+				// Si el nivel de paralelismo es 1, las tareas se ejecutan en
+				// este mismo hilo.
+				int parallelism = TSLProperties.getTslReloadParallelism();
+				LOGGER.info(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL357, new Object[ ] { parallelism }));
+				Executor dataBaseStageExecutor = Runnable::run;
+				Executor parsingStageExecutor = Runnable::run;
+				if (parallelism > 1) {
+					dataBaseExecutor = Executors.newFixedThreadPool(parallelism);
+					parsingPool = new ForkJoinPool(parallelism);
+					dataBaseStageExecutor = dataBaseExecutor;
+					parsingStageExecutor = parsingPool;
+				}
 
-					// Forzamos a que se cargue en caché.
-					ConfigurationCacheFacade.tslGetTSLCountryRegionCacheObject(tcr.getCountryRegionCode());
+				// Si está habilitada, cargamos la instantánea de la caché de
+				// TSL.
+				boolean snapshotEnabled = TSLProperties.isTslCacheSnapshotEnabled();
+				TSLCacheSnapshot snapshot = snapshotEnabled ? TSLCacheSnapshot.load(TSLProperties.getTslCacheSnapshotFile()) : TSLCacheSnapshot.empty();
+
+				// Por cada una de las regiones lanzamos la obtención completa
+				// del TSL Data asociado y su parseo.
+				List<CompletableFuture<ReloadedTSL>> reloadedTSLList = new ArrayList<CompletableFuture<ReloadedTSL>>(tcrList.size());
+				for (TslCountryRegion tcr: tcrList) {
 
 					// Obtenemos el TSL Data asociado.
 					TslData td = tcr.getTslData();
 
 					// Si no es nulo, continuamos.
-					if (td != null) {
+					if (td == null) {
+						reloadedTSLList.add(CompletableFuture.completedFuture(null));
+					} else {
+						Long tslDataId = td.getIdTslData();
+						reloadedTSLList.add(CompletableFuture.supplyAsync(() -> loadTslDataForReload(tslDataId, snapshot), dataBaseStageExecutor).thenApplyAsync(tslData -> buildOrRestoreReloadedTSL(tslData, snapshot, snapshotEnabled), parsingStageExecutor));
+					}
 
-						// Lo cargamos completamente.
-						td = ManagerPersistenceServices.getInstance().getManagerPersistenceConfigurationServices().getTslDataService().getTslDataById(td.getIdTslData(), true, false);
+				}
 
-						// Tratamos de parsearlo.
-						ITSLObject tslObject = buildAndCheckTSL(td);
+				// Por cada una de las regiones, en orden...
+				List<TSLCacheSnapshot.Entry> snapshotEntries = new ArrayList<TSLCacheSnapshot.Entry>(tcrList.size());
+				boolean snapshotChanged = false;
+				for (int index = 0; index < tcrList.size(); index++) {
 
-						// Si lo hemos conseguido parsear...
-						if (tslObject != null) {
+					// Forzamos a que se cargue en caché.
+					ConfigurationCacheFacade.tslGetTSLCountryRegionCacheObject(tcrList.get(index).getCountryRegionCode());
 
-							// Una vez parseado, lo damos de alta en la
-							// caché compartida.
-							ConfigurationCacheFacade.tslAddUpdateTSLData(td, tslObject);
+					// Esperamos a que se haya parseado su TSL.
+					ReloadedTSL reloadedTSL = waitForReloadedTSL(reloadedTSLList.get(index));
 
+					// Si lo hemos conseguido parsear...
+					if (reloadedTSL != null && reloadedTSL.tslObject != null) {
+
+						// Una vez parseado, lo damos de alta en la
+						// caché compartida.
+						ConfigurationCacheFacade.tslAddUpdateTSLData(reloadedTSL.tslData, reloadedTSL.tslObject);
+
+						// Y lo anotamos para la nueva instantánea.
+						if (reloadedTSL.snapshotEntry != null) {
+							snapshotEntries.add(reloadedTSL.snapshotEntry);
+							snapshotChanged = snapshotChanged || !reloadedTSL.restored;
 						}
 
 					}
 
 				}
 
+				// Solo se reescribe la instantánea si alguna TSL ha cambiado.
+				if (snapshotEnabled && (snapshotChanged || snapshotEntries.size() != snapshot.size())) {
+					writeTSLCacheSnapshot(snapshot.getFilePath(), snapshotEntries);
+				}
+
 			}
 
 			LOGGER.info(Language.getResCoreTsl(ICoreTslMessages.LOGMTSL155));
 
+		} catch (InterruptedException e) {
+			// Se restaura la interrupción (por ejemplo, al detener la
+			// plataforma) y se abandona la recarga.
+			Thread.currentThread().interrupt();
+			LOGGER.warn(Language.getResCoreTsl(ICoreTslMessages.LOGMTSL373));
 		} catch (Exception e) {
 			LOGGER.error(Language.getResCoreTsl(ICoreTslMessages.LOGMTSL153), e);
+		} finally {
+			if (dataBaseExecutor != null) {
+				dataBaseExecutor.shutdownNow();
+			}
+			if (parsingPool != null) {
+				parsingPool.shutdownNow();
+			}
+		}
+
+	}
+
+	/**
+	 * Gets from the data base the TSL Data with the input identifier, including its XML document.
+	 * @param tslDataId TSL Data identifier.
+	 * @return the TSL Data completely loaded.
+	 */
+	private TslData loadTslDataCompletely(Long tslDataId) {
+		return ManagerPersistenceServices.getInstance().getManagerPersistenceConfigurationServices().getTslDataService().getTslDataById(tslDataId, true, false);
+	}
+
+	/**
+	 * Gets from the data base the TSL Data with the input identifier in a reload of the TSL cache. Its XML document
+	 * is only loaded if the TSL can not be restored from the snapshot of the TSL cache.
+	 * @param tslDataId TSL Data identifier.
+	 * @param snapshot Snapshot of the TSL cache.
+	 * @return the TSL Data.
+	 */
+	private TslData loadTslDataForReload(Long tslDataId, TSLCacheSnapshot snapshot) {
+
+		TslData result = null;
+		// Si la instantánea contiene la TSL, primero se comprueba su número
+		// de secuencia sin obtener el XML.
+		if (snapshot.hasEntry(tslDataId)) {
+			result = ManagerPersistenceServices.getInstance().getManagerPersistenceConfigurationServices().getTslDataService().getTslDataById(tslDataId, false, false);
+		}
+		if (result == null || snapshot.getEntry(tslDataId, result.getSequenceNumber()) == null) {
+			result = loadTslDataCompletely(tslDataId);
+		}
+		return result;
+
+	}
+
+	/**
+	 * Restores from the snapshot of the TSL cache, or builds and checks, a TSL Object from a TSL Data POJO in a reload
+	 * of the TSL cache.
+	 * @param td Input POJO representation of a TSL Data in the data base.
+	 * @param snapshot Snapshot of the TSL cache.
+	 * @param snapshotEnabled Flag that indicates if the snapshot of the TSL cache is enabled, so the built TSL Object
+	 * must be prepared to be stored in it.
+	 * @return the TSL Data and the TSL Object built from it.
+	 * @throws CompletionException In case of some error building or checking the TSL.
+	 */
+	private ReloadedTSL buildOrRestoreReloadedTSL(TslData td, TSLCacheSnapshot snapshot, boolean snapshotEnabled) {
+
+		ReloadedTSL result = null;
+		TslData tslData = td;
+
+		// Si la TSL no ha cambiado, la restauramos de la instantánea.
+		TSLCacheSnapshot.Entry entry = tslData == null ? null : snapshot.getEntry(tslData.getIdTslData(), tslData.getSequenceNumber());
+		if (entry != null) {
+			ITSLObject tslObject = entry.restoreTSLObject();
+			if (tslObject == null) {
+				// No se ha podido restaurar, así que se obtiene su XML para
+				// parsearla.
+				tslData = loadTslDataCompletely(tslData.getIdTslData());
+			} else {
+				result = new ReloadedTSL(tslData, tslObject, entry, true);
+			}
+		}
+
+		if (result == null) {
+			try {
+				ITSLObject tslObject = buildAndCheckTSL(tslData);
+				TSLCacheSnapshot.Entry newEntry = null;
+				if (snapshotEnabled && tslObject != null) {
+					newEntry = buildTSLCacheSnapshotEntry(tslData, tslObject);
+				}
+				result = new ReloadedTSL(tslData, tslObject, newEntry, false);
+			} catch (TSLArgumentException | TSLParsingException | TSLMalformedException e) {
+				throw new CompletionException(e);
+			}
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * Builds the entry of the snapshot of the TSL cache for a parsed TSL.
+	 * @param td POJO representation of the TSL Data in the data base.
+	 * @param tslObject Parsed TSL.
+	 * @return the entry of the snapshot, or <code>null</code> if it could not be built (the TSL will be parsed in the
+	 * next reload).
+	 */
+	private TSLCacheSnapshot.Entry buildTSLCacheSnapshotEntry(TslData td, ITSLObject tslObject) {
+
+		TSLCacheSnapshot.Entry result = null;
+		if (td.getSequenceNumber() != null) {
+			try {
+				result = TSLCacheSnapshot.buildEntry(td.getIdTslData(), td.getSequenceNumber(), tslObject);
+			} catch (TSLEncodingException e) {
+				LOGGER.warn(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL368, new Object[ ] { TSLProperties.getTslCacheSnapshotFile() }), e);
+			}
+		}
+		return result;
+
+	}
+
+	/**
+	 * Writes the snapshot of the TSL cache. An error writing it does not affect the reload of the TSL cache.
+	 * @param filePath Path of the snapshot file.
+	 * @param snapshotEntries Entries to store in the snapshot.
+	 */
+	private void writeTSLCacheSnapshot(String filePath, List<TSLCacheSnapshot.Entry> snapshotEntries) {
+
+		try {
+			TSLCacheSnapshot.write(filePath, snapshotEntries);
+		} catch (IOException e) {
+			LOGGER.warn(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL368, new Object[ ] { filePath }), e);
+		}
+
+	}
+
+	/**
+	 * Waits until the TSL associated to a country/region has been obtained from the data base and parsed.
+	 * @param reloadedTSLFuture Future that represents the obtaining and parsing of the TSL.
+	 * @return the TSL Data and the TSL Object built from it, or <code>null</code> if there is not TSL Data
+	 * for the country/region.
+	 * @throws TSLArgumentException In case of some arguments is wrong defined.
+	 * @throws TSLParsingException In case of some error parsing the TSL.
+	 * @throws TSLMalformedException In case of the TSL is malformed (is not valid).
+	 * @throws InterruptedException If the thread is interrupted while waiting.
+	 */
+	private ReloadedTSL waitForReloadedTSL(CompletableFuture<ReloadedTSL> reloadedTSLFuture) throws TSLArgumentException, TSLParsingException, TSLMalformedException, InterruptedException {
+
+		try {
+			return reloadedTSLFuture.get();
+		} catch (ExecutionException e) {
+			// Relanzamos la excepción original.
+			Throwable cause = e.getCause();
+			if (cause instanceof TSLArgumentException) {
+				throw (TSLArgumentException) cause;
+			} else if (cause instanceof TSLParsingException) {
+				throw (TSLParsingException) cause;
+			} else if (cause instanceof TSLMalformedException) {
+				throw (TSLMalformedException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IllegalStateException(cause);
 		}
 
 	}
@@ -1241,9 +1470,8 @@ public final class TSLManager {
 						tslcr.setCountryRegionName(newName);
 						tslcr = ManagerPersistenceServices.getInstance().getManagerPersistenceConfigurationServices().getTslCountryRegionService().updateSaveTslCountryRegion(tslcr);
 
-						// Ahora lo actualizamos en la caché.
-						tslcrco.setName(newName);
-						ConfigurationCacheFacade.tslAddUpdateBasicTSLCountryRegion(tslcrco);
+						// Ahora lo actualizamos en la caché con una nueva versión.
+						ConfigurationCacheFacade.tslAddUpdateBasicTSLCountryRegion(tslcrco.toBuilder().setName(newName).build());
 
 					}
 
@@ -1326,6 +1554,7 @@ public final class TSLManager {
 			// Lo borramos de la caché.
 
 			ConfigurationCacheFacade.tslRemoveMappingFromCountryRegion(countryRegionCode, null);
+			TSLValidatorResultCache.getInstance().removeResultsOfCountryRegion(countryRegionCode);
 		} catch (Exception e) {
 			throw new TSLManagingException(IValetException.COD_187, Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL268, new Object[ ] { countryRegionCode }), e);
 		}
@@ -1453,6 +1682,7 @@ public final class TSLManager {
 						tslcrm = ManagerPersistenceServices.getInstance().getManagerPersistenceConfigurationServices().getTslCountryRegionMappingService().save(tslcrm);
 
 						ConfigurationCacheFacade.tslAddUpdateMappingToCountryRegion(countryRegionCode, tslcrm);
+						TSLValidatorResultCache.getInstance().removeResultsOfCountryRegion(countryRegionCode);
 
 						// Asignamos el objeto añadido en base de datos como
 						// resultado.
@@ -1517,6 +1747,7 @@ public final class TSLManager {
 
 						// Lo actualizamos en la caché,
 						ConfigurationCacheFacade.tslAddUpdateMappingToCountryRegion(tslcr.getCountryRegionCode(), tslcrm);
+						TSLValidatorResultCache.getInstance().removeResultsOfCountryRegion(tslcr.getCountryRegionCode());
 
 					}
 					result = tslcrm;
@@ -1548,6 +1779,7 @@ public final class TSLManager {
 				ManagerPersistenceServices.getInstance().getManagerPersistenceConfigurationServices().getTslCountryRegionMappingService().deleteTslCountryRegionMapping(mappingId);
 				// Lo borramos de la caché.
 				ConfigurationCacheFacade.tslRemoveMappingFromCountryRegion(countryRegionCode, mappingId);
+				TSLValidatorResultCache.getInstance().removeResultsOfCountryRegion(countryRegionCode);
 
 			} catch (Exception e) {
 				throw new TSLManagingException(IValetException.COD_187, Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL167, new Object[ ] { mappingId, countryRegionCode }), e);
@@ -2463,4 +2695,50 @@ public final class TSLManager {
 		return result;
 
 	}
+
+	/**
+	 * <p>Class that represents a TSL obtained from the data base and parsed in a reload of the TSL cache.</p>
+	 * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+	 * @version 1.0, 18/10/2026.
+	 */
+	private static final class ReloadedTSL {
+
+		/**
+		 * Attribute that represents the TSL Data obtained from the data base.
+		 */
+		private final TslData tslData;
+
+		/**
+		 * Attribute that represents the TSL Object built from the TSL Data.
+		 */
+		private final ITSLObject tslObject;
+
+		/**
+		 * Attribute that represents the entry of the snapshot of the TSL cache for the TSL Object, or <code>null</code>
+		 * if it must not be stored in the snapshot.
+		 */
+		private final TSLCacheSnapshot.Entry snapshotEntry;
+
+		/**
+		 * Attribute that indicates if the TSL Object has been restored from the snapshot of the TSL cache.
+		 */
+		private final boolean restored;
+
+		/**
+		 * Constructor method for the class ReloadedTSL.
+		 * @param tslDataParam TSL Data obtained from the data base.
+		 * @param tslObjectParam TSL Object built from the TSL Data.
+		 * @param snapshotEntryParam Entry of the snapshot of the TSL cache for the TSL Object.
+		 * @param restoredParam Flag that indicates if the TSL Object has been restored from the snapshot.
+		 */
+		private ReloadedTSL(TslData tslDataParam, ITSLObject tslObjectParam, TSLCacheSnapshot.Entry snapshotEntryParam, boolean restoredParam) {
+			super();
+			tslData = tslDataParam;
+			tslObject = tslObjectParam;
+			snapshotEntry = snapshotEntryParam;
+			restored = restoredParam;
+		}
+
+	}
+
 }
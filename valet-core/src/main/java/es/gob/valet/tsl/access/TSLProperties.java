@@ -20,10 +20,11 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>06/11/2018.</p>
  * @author Gobierno de España.
- * @version 1.2, 01/02/2019.
+ * @version 1.3, 18/10/2026.
  */
 package es.gob.valet.tsl.access;
 
+import java.io.File;
 import java.text.ParseException;
 import java.util.Calendar;
 import java.util.Date;
@@ -38,11 +39,12 @@ import es.gob.valet.commons.utils.UtilsDate;
 import es.gob.valet.commons.utils.UtilsStringChar;
 import es.gob.valet.i18n.Language;
 import es.gob.valet.i18n.messages.ICoreTslMessages;
+import es.gob.valet.i18n.utils.UtilsTomcat;
 
 /**
  * <p>Class that provides access to the differents properties associated to the TSL operations.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.2, 01/02/2019.
+ * @version 1.3, 18/10/2026.
  */
 public final class TSLProperties {
 
@@ -51,6 +53,11 @@ public final class TSLProperties {
 	 */
 	private static final Logger LOGGER = Logger.getLogger(TSLProperties.class);
 
+	/**
+	 * Constant attribute that represents the default name of the snapshot file of the TSL cache.
+	 */
+	private static final String DEFAULT_TSL_CACHE_SNAPSHOT_FILE = "tslCacheSnapshot.bin";
+
 	/**
 	 * Constant attribute that represents the initial date 01/07/2016 from which allow the use of TSL.
 	 */
@@ -88,6 +95,126 @@ public final class TSLProperties {
 		return Boolean.parseBoolean(StaticValetConfig.getProperty(StaticValetConfig.TSL_SIGNATURE_VERIFY_SPECIFICATION));
 	}
 
+	/**
+	 * Gets the maximum number of TSL that are obtained from the data base and parsed in parallel when
+	 * the TSL cache is reloaded.
+	 * @return The maximum number of TSL processed in parallel (at least 1).
+	 */
+	public static int getTslReloadParallelism() {
+
+		int result = NumberConstants.NUM4;
+
+		try {
+			String tslReloadParallelism = StaticValetConfig.getProperty(StaticValetConfig.TSL_RELOAD_PARALLELISM);
+			result = Math.max(1, Integer.valueOf(tslReloadParallelism.trim()));
+		} catch (NumberFormatException | NullPointerException e) {
+			LOGGER.warn(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL224, new Object[ ] { StaticValetConfig.TSL_RELOAD_PARALLELISM, result }), e);
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * Checks if the parsed TSL must be stored in a snapshot file after each reload of the TSL cache, and restored
+	 * from it in the next one.
+	 * @return <code>true</code> if the snapshot of the TSL cache is enabled, otherwise <code>false</code>.
+	 */
+	public static boolean isTslCacheSnapshotEnabled() {
+		return Boolean.parseBoolean(StaticValetConfig.getProperty(StaticValetConfig.TSL_CACHE_SNAPSHOT_ENABLED));
+	}
+
+	/**
+	 * Gets the absolute path of the snapshot file of the TSL cache. If the configured path is relative, it is
+	 * resolved from the configuration directory of valET.
+	 * @return the absolute path of the snapshot file of the TSL cache.
+	 */
+	public static String getTslCacheSnapshotFile() {
+
+		String result = StaticValetConfig.getProperty(StaticValetConfig.TSL_CACHE_SNAPSHOT_FILE);
+		// Si no se ha definido la propiedad, se toma el nombre por defecto.
+		if (UtilsStringChar.isNullOrEmptyTrim(result)) {
+			result = DEFAULT_TSL_CACHE_SNAPSHOT_FILE;
+		}
+		if (!new File(result).isAbsolute()) {
+			result = UtilsTomcat.createAbsolutePath(UtilsTomcat.getValetConfigDir(), result);
+		}
+		return result;
+
+	}
+
+	/**
+	 * Gets the maximum number of TSL that are checked in parallel by the task that searches new TSL revisions.
+	 * @return The maximum number of TSL checked in parallel (at least 1).
+	 */
+	public static int getTslRevisionCheckParallelism() {
+
+		int result = NumberConstants.NUM8;
+
+		try {
+			String tslRevisionCheckParallelism = StaticValetConfig.getProperty(StaticValetConfig.TSL_REVISION_CHECK_PARALLELISM);
+			result = Math.max(1, Integer.valueOf(tslRevisionCheckParallelism.trim()));
+		} catch (NumberFormatException | NullPointerException e) {
+			LOGGER.warn(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL224, new Object[ ] { StaticValetConfig.TSL_REVISION_CHECK_PARALLELISM, result }), e);
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * Gets the maximum number of TSL that are checked at the same time against the same host by the task
+	 * that searches new TSL revisions.
+	 * @return The maximum number of TSL checked at the same time against the same host (at least 1).
+	 */
+	public static int getTslRevisionCheckMaxPerHost() {
+
+		int result = NumberConstants.NUM2;
+
+		try {
+			String tslRevisionCheckMaxPerHost = StaticValetConfig.getProperty(StaticValetConfig.TSL_REVISION_CHECK_MAXPERHOST);
+			result = Math.max(1, Integer.valueOf(tslRevisionCheckMaxPerHost.trim()));
+		} catch (NumberFormatException | NullPointerException e) {
+			LOGGER.warn(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL224, new Object[ ] { StaticValetConfig.TSL_REVISION_CHECK_MAXPERHOST, result }), e);
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * Gets the maximum time that the task that searches new TSL revisions waits for the checks of all the TSL.
+	 * @return The maximum time to wait for the checks of all the TSL in milliseconds.
+	 */
+	public static long getTslRevisionCheckDeadline() {
+
+		long result = NumberConstants.NUM300000;
+
+		try {
+			String tslRevisionCheckDeadline = StaticValetConfig.getProperty(StaticValetConfig.TSL_REVISION_CHECK_DEADLINE);
+			result = Long.valueOf(tslRevisionCheckDeadline.trim());
+		} catch (NumberFormatException | NullPointerException e) {
+			LOGGER.warn(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL224, new Object[ ] { StaticValetConfig.TSL_REVISION_CHECK_DEADLINE, result }), e);
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * Checks if the TSL must be parsed with the streaming (StAX) builder instead of loading the whole
+	 * XMLBeans document.
+	 * @return <code>true</code> if the streaming builder is enabled, otherwise <code>false</code>.
+	 */
+	public static boolean isTslStreamingParsingEnabled() {
+
+		String streamingEnabled = StaticValetConfig.getProperty(StaticValetConfig.TSL_PARSING_STREAMING_ENABLED);
+		// Si no se ha definido la propiedad, por defecto se considera
+		// deshabilitada.
+		return !UtilsStringChar.isNullOrEmptyTrim(streamingEnabled) && Boolean.parseBoolean(streamingEnabled.trim());
+
+	}
+
 	/**
 	 * Gets the OCSP Read Timeout for TSL operations.
 	 * @return The OCSP Read Timeout for TSL operations in milliseconds.
@@ -145,6 +272,80 @@ public final class TSLProperties {
 
 	}
 
+	/**
+	 * Checks if the validated OCSP responses must be stored in the node cache to be reused between validations.
+	 * @return <code>true</code> if the OCSP response cache is enabled, otherwise <code>false</code>.
+	 */
+	public static boolean isOcspCacheEnabled() {
+
+		String ocspCacheEnabled = StaticValetConfig.getProperty(StaticValetConfig.TSL_VALIDATION_OCSP_CACHE_ENABLED);
+		// Si no se ha definido la propiedad, por defecto se considera
+		// habilitada.
+		return UtilsStringChar.isNullOrEmptyTrim(ocspCacheEnabled) || Boolean.parseBoolean(ocspCacheEnabled.trim());
+
+	}
+
+	/**
+	 * Gets the maximum number of OCSP responses stored in the node cache.
+	 * @return The maximum number of OCSP responses stored in the node cache.
+	 */
+	public static int getOcspCacheMaxEntries() {
+
+		int result = NumberConstants.NUM10000;
+
+		try {
+			String ocspCacheMaxEntries = StaticValetConfig.getProperty(StaticValetConfig.TSL_VALIDATION_OCSP_CACHE_MAXENTRIES);
+			result = Integer.valueOf(ocspCacheMaxEntries.trim());
+		} catch (NumberFormatException | NullPointerException e) {
+			LOGGER.warn(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL224, new Object[ ] { StaticValetConfig.TSL_VALIDATION_OCSP_CACHE_MAXENTRIES, result }), e);
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * Gets the maximum time that an OCSP response is kept in the node cache, regardless its next update date.
+	 * @return The maximum time that an OCSP response is kept in the node cache in seconds.
+	 */
+	public static int getOcspCacheMaxAge() {
+
+		int result = NumberConstants.NUM3600;
+
+		try {
+			String ocspCacheMaxAge = StaticValetConfig.getProperty(StaticValetConfig.TSL_VALIDATION_OCSP_CACHE_MAXAGE);
+			result = Integer.valueOf(ocspCacheMaxAge.trim());
+		} catch (NumberFormatException | NullPointerException e) {
+			LOGGER.warn(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL224, new Object[ ] { StaticValetConfig.TSL_VALIDATION_OCSP_CACHE_MAXAGE, result }), e);
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * Checks if the input application allows the use of OCSP requests without nonce and OCSP responses
+	 * obtained from the node cache.
+	 * @param application Application identifier to check.
+	 * @return <code>true</code> if the input application allows the nonce-less cached mode, otherwise <code>false</code>.
+	 */
+	public static boolean isOcspNoncelessModeAllowedForApplication(String application) {
+
+		boolean result = false;
+
+		String applications = StaticValetConfig.getProperty(StaticValetConfig.TSL_VALIDATION_OCSP_CACHE_NONCELESS_APPLICATIONS);
+		if (!UtilsStringChar.isNullOrEmptyTrim(applications) && !UtilsStringChar.isNullOrEmptyTrim(application)) {
+			String[ ] applicationsArray = applications.split(UtilsStringChar.SYMBOL_COMMA_STRING);
+			for (int index = 0; !result && index < applicationsArray.length; index++) {
+				String app = applicationsArray[index].trim();
+				result = UtilsStringChar.SYMBOL_ASTERISK_STRING.equals(app) || app.equals(application.trim());
+			}
+		}
+
+		return result;
+
+	}
+
 	/**
 	 * Gets the CRL Timeout Read for TSL operations.
 	 * @return The CRL Timeout Read for TSL operations in milliseconds.
@@ -183,6 +384,132 @@ public final class TSLProperties {
 
 	}
 
+	/**
+	 * Checks if the downloaded CRLs must be stored in the node cache to be reused between validations.
+	 * @return <code>true</code> if the CRL cache is enabled, otherwise <code>false</code>.
+	 */
+	public static boolean isCrlCacheEnabled() {
+
+		String crlCacheEnabled = StaticValetConfig.getProperty(StaticValetConfig.TSL_VALIDATION_CRL_CACHE_ENABLED);
+		// Si no se ha definido la propiedad, por defecto se considera
+		// habilitada.
+		return UtilsStringChar.isNullOrEmptyTrim(crlCacheEnabled) || Boolean.parseBoolean(crlCacheEnabled.trim());
+
+	}
+
+	/**
+	 * Gets the maximum size of all the CRLs stored in the node cache.
+	 * @return The maximum size of all the CRLs stored in the node cache in bytes.
+	 */
+	public static long getCrlCacheMaxSize() {
+
+		long result = (long) NumberConstants.NUM100 * NumberConstants.NUM1024 * NumberConstants.NUM1024;
+
+		try {
+			String crlCacheMaxSize = StaticValetConfig.getProperty(StaticValetConfig.TSL_VALIDATION_CRL_CACHE_MAXSIZE);
+			result = Long.valueOf(crlCacheMaxSize.trim());
+		} catch (NumberFormatException | NullPointerException e) {
+			LOGGER.warn(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL224, new Object[ ] { StaticValetConfig.TSL_VALIDATION_CRL_CACHE_MAXSIZE, result }), e);
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * Gets the maximum time that a CRL is kept in the node cache, regardless its next update date.
+	 * @return The maximum time that a CRL is kept in the node cache in seconds.
+	 */
+	public static int getCrlCacheMaxAge() {
+
+		int result = NumberConstants.NUM3600;
+
+		try {
+			String crlCacheMaxAge = StaticValetConfig.getProperty(StaticValetConfig.TSL_VALIDATION_CRL_CACHE_MAXAGE);
+			result = Integer.valueOf(crlCacheMaxAge.trim());
+		} catch (NumberFormatException | NullPointerException e) {
+			LOGGER.warn(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL224, new Object[ ] { StaticValetConfig.TSL_VALIDATION_CRL_CACHE_MAXAGE, result }), e);
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * Gets the time to live of the validation results stored in the node cache for the input application.
+	 * If the application is not configured expressly, the time to live configured for all the applications (*) is used.
+	 * @param application Application identifier to check.
+	 * @return The time to live of the validation results for the input application in seconds, or 0 if the application
+	 * does not use the node cache of validation results.
+	 */
+	public static int getValidationResultCacheTimeToLiveForApplication(String application) {
+
+		int result = 0;
+
+		String applications = StaticValetConfig.getProperty(StaticValetConfig.TSL_VALIDATION_RESULT_CACHE_APPLICATIONS);
+		if (!UtilsStringChar.isNullOrEmptyTrim(applications) && !UtilsStringChar.isNullOrEmptyTrim(application)) {
+			String[ ] applicationsArray = applications.split(UtilsStringChar.SYMBOL_COMMA_STRING);
+			boolean found = false;
+			for (int index = 0; !found && index < applicationsArray.length; index++) {
+				String[ ] appAndTimeToLive = applicationsArray[index].split(UtilsStringChar.SYMBOL_COLON_STRING);
+				String app = appAndTimeToLive[0].trim();
+				found = app.equals(application.trim());
+				// La configuración de la aplicación prevalece sobre la
+				// configuración general.
+				if ((found || UtilsStringChar.SYMBOL_ASTERISK_STRING.equals(app)) && appAndTimeToLive.length == 2) {
+					try {
+						result = Integer.parseInt(appAndTimeToLive[1].trim());
+					} catch (NumberFormatException e) {
+						LOGGER.warn(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL224, new Object[ ] { StaticValetConfig.TSL_VALIDATION_RESULT_CACHE_APPLICATIONS, 0 }), e);
+						result = 0;
+					}
+				}
+			}
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * Gets the maximum number of validation results stored in the node cache.
+	 * @return The maximum number of validation results stored in the node cache.
+	 */
+	public static int getValidationResultCacheMaxEntries() {
+
+		int result = NumberConstants.NUM10000;
+
+		try {
+			String resultCacheMaxEntries = StaticValetConfig.getProperty(StaticValetConfig.TSL_VALIDATION_RESULT_CACHE_MAXENTRIES);
+			result = Integer.valueOf(resultCacheMaxEntries.trim());
+		} catch (NumberFormatException | NullPointerException e) {
+			LOGGER.warn(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL224, new Object[ ] { StaticValetConfig.TSL_VALIDATION_RESULT_CACHE_MAXENTRIES, result }), e);
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * Gets the size of the intervals in which the validation dates are grouped to reuse the validation results
+	 * stored in the node cache.
+	 * @return The size of the intervals in which the validation dates are grouped in seconds.
+	 */
+	public static int getValidationResultCacheDateBucket() {
+
+		int result = NumberConstants.NUM60;
+
+		try {
+			String resultCacheDateBucket = StaticValetConfig.getProperty(StaticValetConfig.TSL_VALIDATION_RESULT_CACHE_DATEBUCKET);
+			result = Integer.valueOf(resultCacheDateBucket.trim());
+		} catch (NumberFormatException | NullPointerException e) {
+			LOGGER.warn(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL224, new Object[ ] { StaticValetConfig.TSL_VALIDATION_RESULT_CACHE_DATEBUCKET, result }), e);
+		}
+
+		return result;
+
+	}
+
 	/**
 	 * Gets the initial date from which is allowed use TSL to detect and validate certificate.
 	 * @return the initial date from which is allowed use TSL to detect and validate certificate.
@@ -341,4 +668,140 @@ public final class TSLProperties {
 
 	}
 
+	/**
+	 * Gets the maximum number of certificates allowed in a request of the service 'detectCertsInTslInfoAndValidation'.
+	 * @return the maximum number of certificates allowed in a request of the service 'detectCertsInTslInfoAndValidation'.
+	 */
+	public static int getServiceDetectCertsInTslInfoAndValidationMaxCertificates() {
+
+		int result = NumberConstants.NUM500;
+
+		try {
+			String maxCertificates = StaticValetConfig.getProperty(StaticValetConfig.TSL_SERVICE_DETECTCERTSINTSLINFOANDVALIDATION_MAXCERTIFICATES);
+			result = Integer.valueOf(maxCertificates.trim());
+		} catch (NumberFormatException | NullPointerException e) {
+			LOGGER.warn(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL224, new Object[ ] { StaticValetConfig.TSL_SERVICE_DETECTCERTSINTSLINFOANDVALIDATION_MAXCERTIFICATES, result }), e);
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * Gets the maximum number of certificates of a request of the service 'detectCertsInTslInfoAndValidation' that are
+	 * validated in parallel.
+	 * @return the maximum number of certificates validated in parallel. At least 1.
+	 */
+	public static int getServiceDetectCertsInTslInfoAndValidationParallelism() {
+
+		int result = NumberConstants.NUM8;
+
+		try {
+			String parallelism = StaticValetConfig.getProperty(StaticValetConfig.TSL_SERVICE_DETECTCERTSINTSLINFOANDVALIDATION_PARALLELISM);
+			result = Integer.valueOf(parallelism.trim());
+		} catch (NumberFormatException | NullPointerException e) {
+			LOGGER.warn(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL224, new Object[ ] { StaticValetConfig.TSL_SERVICE_DETECTCERTSINTSLINFOANDVALIDATION_PARALLELISM, result }), e);
+		}
+
+		return Math.max(1, result);
+
+	}
+
+	/**
+	 * Gets the number of threads shared by all the requests of the service 'detectCertsInTslInfoAndValidation' to validate
+	 * their certificates.
+	 * @return the number of threads shared by the requests of the service. At least 1.
+	 */
+	public static int getServiceDetectCertsInTslInfoAndValidationThreads() {
+
+		int result = NumberConstants.NUM32;
+
+		try {
+			String threads = StaticValetConfig.getProperty(StaticValetConfig.TSL_SERVICE_DETECTCERTSINTSLINFOANDVALIDATION_THREADS);
+			result = Integer.valueOf(threads.trim());
+		} catch (NumberFormatException | NullPointerException e) {
+			LOGGER.warn(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL224, new Object[ ] { StaticValetConfig.TSL_SERVICE_DETECTCERTSINTSLINFOANDVALIDATION_THREADS, result }), e);
+		}
+
+		return Math.max(1, result);
+
+	}
+
+	/**
+	 * Gets the maximum time (milliseconds) allowed to validate the certificates of a request of the service
+	 * 'detectCertsInTslInfoAndValidation'.
+	 * @return the maximum time (milliseconds) allowed to validate the certificates of a request of the service.
+	 */
+	public static int getServiceDetectCertsInTslInfoAndValidationDeadline() {
+
+		int result = NumberConstants.NUM60000;
+
+		try {
+			String deadline = StaticValetConfig.getProperty(StaticValetConfig.TSL_SERVICE_DETECTCERTSINTSLINFOANDVALIDATION_DEADLINE);
+			result = Integer.valueOf(deadline.trim());
+		} catch (NumberFormatException | NullPointerException e) {
+			LOGGER.warn(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL224, new Object[ ] { StaticValetConfig.TSL_SERVICE_DETECTCERTSINTSLINFOANDVALIDATION_DEADLINE, result }), e);
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * Gets the number of threads that execute the requests of the asynchronous service 'detectCertInTslInfoAndValidationAsync'.
+	 * @return the number of threads of the asynchronous service. At least 1.
+	 */
+	public static int getServiceDetectCertInTslInfoAndValidationAsyncThreads() {
+
+		int result = NumberConstants.NUM32;
+
+		try {
+			String threads = StaticValetConfig.getProperty(StaticValetConfig.TSL_SERVICE_DETECTCERTINTSLINFOANDVALIDATION_ASYNC_THREADS);
+			result = Integer.valueOf(threads.trim());
+		} catch (NumberFormatException | NullPointerException e) {
+			LOGGER.warn(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL224, new Object[ ] { StaticValetConfig.TSL_SERVICE_DETECTCERTINTSLINFOANDVALIDATION_ASYNC_THREADS, result }), e);
+		}
+
+		return Math.max(1, result);
+
+	}
+
+	/**
+	 * Gets the maximum number of requests of the asynchronous service 'detectCertInTslInfoAndValidationAsync' waiting for a thread.
+	 * @return the maximum number of requests waiting for a thread. At least 1.
+	 */
+	public static int getServiceDetectCertInTslInfoAndValidationAsyncQueueSize() {
+
+		int result = NumberConstants.NUM200;
+
+		try {
+			String queueSize = StaticValetConfig.getProperty(StaticValetConfig.TSL_SERVICE_DETECTCERTINTSLINFOANDVALIDATION_ASYNC_QUEUESIZE);
+			result = Integer.valueOf(queueSize.trim());
+		} catch (NumberFormatException | NullPointerException e) {
+			LOGGER.warn(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL224, new Object[ ] { StaticValetConfig.TSL_SERVICE_DETECTCERTINTSLINFOANDVALIDATION_ASYNC_QUEUESIZE, result }), e);
+		}
+
+		return Math.max(1, result);
+
+	}
+
+	/**
+	 * Gets the maximum time (milliseconds) allowed to complete a request of the asynchronous service 'detectCertInTslInfoAndValidationAsync'.
+	 * @return the maximum time (milliseconds) allowed to complete a request of the asynchronous service.
+	 */
+	public static int getServiceDetectCertInTslInfoAndValidationAsyncDeadline() {
+
+		int result = NumberConstants.NUM30000;
+
+		try {
+			String deadline = StaticValetConfig.getProperty(StaticValetConfig.TSL_SERVICE_DETECTCERTINTSLINFOANDVALIDATION_ASYNC_DEADLINE);
+			result = Integer.valueOf(deadline.trim());
+		} catch (NumberFormatException | NullPointerException e) {
+			LOGGER.warn(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL224, new Object[ ] { StaticValetConfig.TSL_SERVICE_DETECTCERTINTSLINFOANDVALIDATION_ASYNC_DEADLINE, result }), e);
+		}
+
+		return result;
+
+	}
+
 }
@@ -21,7 +21,7 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>25/11/2018.</p>
  * @author Gobierno de España.
- * @version 1.10, 14/03/2022.
+ * @version 1.11, 18/10/2026.
  */
 package es.gob.valet.tsl.certValidation.impl.common;
 
@@ -32,6 +32,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.log4j.Logger;
 import org.bouncycastle.cert.ocsp.BasicOCSPResp;
@@ -72,7 +73,7 @@ import es.gob.valet.tsl.parsing.impl.common.extensions.Qualifications;
  * <p>Abstract class that represents a TSL validator with the principal functions
  * regardless it implementation.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.10, 14/03/2022.
+ * @version 1.11, 18/10/2026.
  */
 public abstract class ATSLValidator implements ITSLValidator {
 
@@ -225,6 +226,10 @@ public abstract class ATSLValidator implements ITSLValidator {
 			// Si la lista no es nula ni vacía...
 			if (tspList != null && !tspList.isEmpty()) {
 
+				// Obtenemos del índice de la TSL los servicios que podrían
+				// detectar el certificado.
+				Set<TSPService> candidateServices = tsl.getIssuerIndex().getCandidateTSPServices(cert);
+
 				// La vamos recorriendo mientras no se termine y no se haya
 				// modificado el resultado de la validación del certificado.
 				for (int index = 0; index < tspList.size() && !validationResult.hasBeenDetectedTheCertificate(); index++) {
@@ -234,7 +239,7 @@ public abstract class ATSLValidator implements ITSLValidator {
 
 					// Validamos el certificado respecto al TSP.
 					try {
-						validateCertificateWithTSP(auditTransNumber, cert, isCACert, isTsaCertificate, validationDate, validationResult, tsp, checkStatusRevocation);
+						validateCertificateWithTSP(auditTransNumber, cert, isCACert, isTsaCertificate, validationDate, validationResult, tsp, checkStatusRevocation, candidateServices);
 					} catch (TSLQualificationEvalProcessException e) {
 
 						// Si se produce esta excepción, significa que se
@@ -480,10 +485,11 @@ public abstract class ATSLValidator implements ITSLValidator {
 	 * @param tsp Trust Service Provider to use for validate the status of the input certificate.
 	 * @param checkStatusRevocation Flag that indicates if only try to detect the input certificate (<code>false</code>)
 	 * or also checks the revocation status of this (<code>true</code>).
+	 * @param candidateServices Set of TSP services that could detect the input certificate according to the TSL issuer index.
 	 * @throws TSLQualificationEvalProcessException In case of some error evaluating the Criteria List of a Qualification
 	 * Extension over the input certificate, and being critical that Qualification Extension.
 	 */
-	private void validateCertificateWithTSP(String auditTransNumber, X509Certificate cert, boolean isCACert, boolean isTsaCertificate, Date validationDate, TSLValidatorResult validationResult, TrustServiceProvider tsp, boolean checkStatusRevocation) throws TSLQualificationEvalProcessException {
+	private void validateCertificateWithTSP(String auditTransNumber, X509Certificate cert, boolean isCACert, boolean isTsaCertificate, Date validationDate, TSLValidatorResult validationResult, TrustServiceProvider tsp, boolean checkStatusRevocation, Set<TSPService> candidateServices) throws TSLQualificationEvalProcessException {
 
 		// TODO: Aún no se hace nada con las extensiones del TSP. No se
 		// identifica ninguna.
@@ -503,6 +509,12 @@ public abstract class ATSLValidator implements ITSLValidator {
 				// vuelta.
 				TSPService tspService = tspServiceList.get(index);
 
+				// Si ninguna identidad digital del servicio se corresponde con
+				// el certificado, no puede detectarlo.
+				if (!candidateServices.contains(tspService)) {
+					continue;
+				}
+
 				// Tratamos de detectar el certificado respecto al servicio y la fecha de emisión del certificado
 				detectCertificateWithTSPService(cert, isCACert, isTsaCertificate, cert.getNotBefore(), validationResult, tspService);
 
@@ -723,7 +735,7 @@ public abstract class ATSLValidator implements ITSLValidator {
 			// Comprobamos si el servicio es de tipo TSA (cualificado o no).
 			if (checkIfTSPServiceTypeIsTSAQualified(tspServiceType) || checkIfTSPServiceTypeIsTSANonQualified(tspServiceType)) {
 				// Comprobamos si dicho servicio identifica al certificado...
-				if (checkIfDigitalIdentitiesMatchesCertificate(shi.getAllDigitalIdentities(), cert, isTsaCertificate, isCACert, validationResult)) {
+				if (checkIfDigitalIdentitiesMatchesCertificate(shi, cert, isTsaCertificate, isCACert, validationResult)) {
 					LOGGER.info(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL275, new Object[] {tspService.getServiceInformation().getServiceTypeIdentifier().toString()}));
 					// Establecemos la clasificación a sello de tiempo.
 					validationResult.setMappingClassification(ITSLValidatorResult.MAPPING_CLASSIFICATION_TSA);
@@ -774,7 +786,7 @@ public abstract class ATSLValidator implements ITSLValidator {
 				// Si es una CA, comprobamos en sus identidades digitales que
 				// coincida con alguna de las declaradas, si no,
 				// que alguna de estas sea la emisora del certificado.
-				if (checkIfCADigitalIdentitiesVerifyCertificateAndSetItInResult(shi.getAllDigitalIdentities(), cert, isCACert, validationResult)) {
+				if (checkIfCADigitalIdentitiesVerifyCertificateAndSetItInResult(shi, cert, isCACert, validationResult)) {
 
 					// Creamos una bandera que indica si de momento hemos
 					// detectado el certificado.
@@ -934,14 +946,14 @@ public abstract class ATSLValidator implements ITSLValidator {
 	/**
 	 * Checks if some of the input CA identities detect the input X509v3 certificate and then set its information
 	 * on the result.
-	 * @param digitalIdentitiesList List of CA digital identities.
+	 * @param shi TSP Service History Instance with the CA digital identities.
 	 * @param cert X509v3 certificate to check.
 	 * @param isCACert Flag that indicates if the input certificate has the Basic Constraints with the CA flag activated
 	 * (<code>true</code>) or not (<code>false</code>).
 	 * @param validationResult Object where is stored the validation result data.
 	 * @return <code>true</code> if the certificate is issued by some of the input identities, otherwise <code>false</code>.
 	 */
-	private boolean checkIfCADigitalIdentitiesVerifyCertificateAndSetItInResult(List<DigitalID> digitalIdentitiesList, X509Certificate cert, boolean isCACert, TSLValidatorResult validationResult) {
+	private boolean checkIfCADigitalIdentitiesVerifyCertificateAndSetItInResult(ServiceHistoryInstance shi, X509Certificate cert, boolean isCACert, TSLValidatorResult validationResult) {
 
 		// Por defecto consideramos que no lo detecta,
 		// y a la primera identidad
@@ -949,10 +961,12 @@ public abstract class ATSLValidator implements ITSLValidator {
 		boolean result = false;
 
 		// Si la lista de identidades no es nula ni vacía...
+		List<DigitalID> digitalIdentitiesList = shi.getAllDigitalIdentities();
 		if (digitalIdentitiesList != null && !digitalIdentitiesList.isEmpty()) {
 
-			// Creamos el procesador de identidades digitales.
-			DigitalIdentitiesProcessor dip = new DigitalIdentitiesProcessor(digitalIdentitiesList);
+			// Obtenemos el procesador de identidades digitales, construido al
+			// cargar la TSL.
+			DigitalIdentitiesProcessor dip = DigitalIdentitiesProcessorCache.getProcessor(shi);
 			// Procesamos el certificado a validar y modificamos el resultado si
 			// fuera necesario.
 			if (isCACert) {
@@ -998,7 +1012,7 @@ public abstract class ATSLValidator implements ITSLValidator {
 
 	/**
 	 * Checks if some of the input identities matches with the input X509v3 certificate.
-	 * @param digitalIdentitiesList List of digital identities.
+	 * @param shi TSP Service History Instance with the digital identities.
 	 * @param cert X509v3 certificate to check.
 	 * @param isTsaService Flag to indicate if the digital identities are from a TSA Service or a
 	 * CA Service.
@@ -1007,17 +1021,19 @@ public abstract class ATSLValidator implements ITSLValidator {
 	 * @param validationResult Object where is stored the validation result data.
 	 * @return <code>true</code> if the certificate matches with some of the input identities, otherwise <code>false</code>.
 	 */
-	private boolean checkIfDigitalIdentitiesMatchesCertificate(List<DigitalID> digitalIdentitiesList, X509Certificate cert, boolean isTsaService, boolean isCACert, TSLValidatorResult validationResult) {
+	private boolean checkIfDigitalIdentitiesMatchesCertificate(ServiceHistoryInstance shi, X509Certificate cert, boolean isTsaService, boolean isCACert, TSLValidatorResult validationResult) {
 
 		// Por defecto consideramos que no coincide con ninguna identidad,
 		// y a la primera identidad que coincida, se le cambia el resultado.
 		boolean result = false;
 
 		// Si la lista de identidades no es nula ni vacía...
+		List<DigitalID> digitalIdentitiesList = shi.getAllDigitalIdentities();
 		if (digitalIdentitiesList != null && !digitalIdentitiesList.isEmpty()) {
 
-			// Creamos el procesador de identidades digitales.
-			DigitalIdentitiesProcessor dip = new DigitalIdentitiesProcessor(digitalIdentitiesList);
+			// Obtenemos el procesador de identidades digitales, construido al
+			// cargar la TSL.
+			DigitalIdentitiesProcessor dip = DigitalIdentitiesProcessorCache.getProcessor(shi);
 			// Procesamos el certificado a validar y modificamos el resultado si
 						// fuera necesario.
 			
@@ -1642,6 +1658,10 @@ public abstract class ATSLValidator implements ITSLValidator {
 			// Si la lista no es nula ni vacía...
 			if (tspList != null && !tspList.isEmpty()) {
 
+				// Obtenemos del índice de la TSL los servicios que podrían
+				// detectar el certificado.
+				Set<TSPService> candidateServices = tsl.getIssuerIndex().getCandidateTSPServices(cert);
+
 				// La vamos recorriendo mientras no se termine y no se haya
 				// detectado el certificado.
 				for (int index = 0; index < tspList.size() && !validationResult.hasBeenDetectedTheCertificate(); index++) {
@@ -1651,7 +1671,7 @@ public abstract class ATSLValidator implements ITSLValidator {
 					// Comprobamos si detectamos el certificado con los
 					// servicios del TSP.
 					try {
-						detectCertificateWithTSP(auditTransNumber, cert, isCACert, isTsaCertificate, cert.getNotBefore(), validationResult, tsp);
+						detectCertificateWithTSP(auditTransNumber, cert, isCACert, isTsaCertificate, cert.getNotBefore(), validationResult, tsp, candidateServices);
 					} catch (TSLQualificationEvalProcessException e) {
 
 						// Si se produce esta excepción, significa que se
@@ -1751,10 +1771,11 @@ public abstract class ATSLValidator implements ITSLValidator {
 	 * @param validationDate Validation date to check the certificate status revocation.
 	 * @param validationResult Object in which is stored the validation result data.
 	 * @param tsp Trust Service Provider that must check if detect the input certificate.
+	 * @param candidateServices Set of TSP services that could detect the input certificate according to the TSL issuer index.
 	 * @throws TSLQualificationEvalProcessException In case of some error evaluating the Criteria List of a Qualification
 	 * Extension over the input certificate, and being critical that Qualification Extension.
 	 */
-	private void detectCertificateWithTSP(String auditTransNumber, X509Certificate cert, boolean isCACert, boolean isTsaCertificate, Date validationDate, TSLValidatorResult validationResult, TrustServiceProvider tsp) throws TSLQualificationEvalProcessException {
+	private void detectCertificateWithTSP(String auditTransNumber, X509Certificate cert, boolean isCACert, boolean isTsaCertificate, Date validationDate, TSLValidatorResult validationResult, TrustServiceProvider tsp, Set<TSPService> candidateServices) throws TSLQualificationEvalProcessException {
 
 		// TODO: Aún no se hace nada con las extensiones del TSP.
 		// No se identifica ninguna.
@@ -1775,6 +1796,12 @@ public abstract class ATSLValidator implements ITSLValidator {
 				// vuelta.
 				TSPService tspService = tspServiceList.get(index);
 
+				// Si ninguna identidad digital del servicio se corresponde con
+				// el certificado, no puede detectarlo.
+				if (!candidateServices.contains(tspService)) {
+					continue;
+				}
+
 				// Tratamos de detectar el certificado respecto al servicio...
 				detectCertificateWithTSPService(cert, isCACert, isTsaCertificate, validationDate, validationResult, tspService);
 
@@ -0,0 +1,432 @@
+/*
+/*******************************************************************************
+ * Copyright (C) 2018 MINHAFP, Gobierno de España
+ * This program is licensed and may be used, modified and redistributed under the  terms
+ * of the European Public License (EUPL), either version 1.1 or (at your option)
+ * any later version as soon as they are approved by the European Commission.
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and
+ * more details.
+ * You should have received a copy of the EUPL1.1 license
+ * along with this program; if not, you may find it at
+ * http:joinup.ec.europa.eu/software/page/eupl/licence-eupl
+ ******************************************************************************/
+
+/**
+ * <b>File:</b><p>es.gob.valet.tsl.certValidation.impl.common.CRLCache.java.</p>
+ * <b>Description:</b><p>Class that represents a node cache of the CRLs downloaded from the distribution points
+ * used in the TSL validation operations.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * <b>Date:</b><p>18/10/2026.</p>
+ * @author Gobierno de España.
+ * @version 1.0, 18/10/2026.
+ */
+package es.gob.valet.tsl.certValidation.impl.common;
+
+import java.net.URI;
+import java.security.PublicKey;
+import java.security.cert.CRLException;
+import java.security.cert.X509CRL;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.log4j.Logger;
+
+import es.gob.valet.commons.utils.NumberConstants;
+import es.gob.valet.i18n.Language;
+import es.gob.valet.i18n.messages.ICoreTslMessages;
+import es.gob.valet.tsl.access.TSLProperties;
+
+/**
+ * <p>Class that represents a node cache of the CRLs downloaded from the distribution points
+ * used in the TSL validation operations. The CRLs are stored already parsed, indexed by the URI
+ * from which were downloaded, and only while the current date is between its this update and
+ * next update dates and the configured maximum age is not exceeded. The total size of the stored
+ * CRLs is bounded, removing the least recently used ones when it is exceeded. Also it stores
+ * the public keys that have verified the signature of each CRL, to avoid repeat that verification.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * @version 1.0, 18/10/2026.
+ */
+public final class CRLCache {
+
+	/**
+	 * Attribute that represents the object that manages the log of the class.
+	 */
+	private static final Logger LOGGER = Logger.getLogger(CRLCache.class);
+
+	/**
+	 * Constant attribute that represents the unique instance of the class.
+	 */
+	private static final CRLCache INSTANCE = new CRLCache();
+
+	/**
+	 * Attribute that represents the cached CRLs indexed by the URI from which were downloaded.
+	 */
+	private final Map<String, CRLCacheEntry> entriesByUri = new ConcurrentHashMap<String, CRLCacheEntry>();
+
+	/**
+	 * Attribute that represents the cached CRLs indexed by the instance of the CRL object.
+	 */
+	private final Map<CRLIdentityKey, CRLCacheEntry> entriesByCrl = new ConcurrentHashMap<CRLIdentityKey, CRLCacheEntry>();
+
+	/**
+	 * Attribute that represents the total size (bytes) of the cached CRLs.
+	 */
+	private final AtomicLong totalSize = new AtomicLong(0L);
+
+	/**
+	 * Attribute that represents the lock used to remove the least recently used CRLs.
+	 */
+	private final Object evictionLock = new Object();
+
+	/**
+	 * Constructor method for the class CRLCache.java.
+	 */
+	private CRLCache() {
+		super();
+	}
+
+	/**
+	 * Gets the unique instance of the class.
+	 * @return the unique instance of the class.
+	 */
+	public static CRLCache getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Gets the CRL stored in the cache for the input URI, if it is still usable.
+	 * @param uri URI from which the CRL was downloaded.
+	 * @return the cached CRL, or <code>null</code> if there is not some usable CRL for the input URI.
+	 */
+	public X509CRL getCRL(URI uri) {
+
+		X509CRL result = null;
+
+		if (uri != null && TSLProperties.isCrlCacheEnabled()) {
+
+			String key = uri.toString();
+			CRLCacheEntry entry = entriesByUri.get(key);
+			if (entry != null) {
+
+				long now = System.currentTimeMillis();
+				// Si la CRL ha dejado de estar vigente o ha superado la edad
+				// máxima, la eliminamos de la caché.
+				if (entry.isUsable(now, TSLProperties.getCrlCacheMaxAge() * (long) NumberConstants.NUM1000)) {
+					entry.lastAccess = now;
+					result = entry.crl;
+					LOGGER.debug(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL349, new Object[ ] { key }));
+				} else {
+					removeEntry(key, entry);
+				}
+
+			}
+
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * Stores in the cache the input CRL downloaded from the input URI. If the CRL is not valid
+	 * at this moment, or it exceeds the maximum size of the cache, it is not stored.
+	 * @param uri URI from which the CRL has been downloaded.
+	 * @param crl CRL to store.
+	 */
+	public void putCRL(URI uri, X509CRL crl) {
+
+		if (uri != null && crl != null && TSLProperties.isCrlCacheEnabled()) {
+
+			long now = System.currentTimeMillis();
+			long maxSize = TSLProperties.getCrlCacheMaxSize();
+			long size = calculateSize(crl);
+
+			// Solo almacenamos la CRL si actualmente es vigente y cabe en la
+			// caché.
+			if (isInValidityPeriod(crl, now) && size <= maxSize) {
+
+				String key = uri.toString();
+				CRLCacheEntry newEntry = new CRLCacheEntry(key, crl, size, now);
+				entriesByCrl.put(new CRLIdentityKey(crl), newEntry);
+				totalSize.addAndGet(size);
+				CRLCacheEntry oldEntry = entriesByUri.put(key, newEntry);
+				if (oldEntry != null) {
+					entriesByCrl.remove(new CRLIdentityKey(oldEntry.crl));
+					totalSize.addAndGet(-oldEntry.size);
+				}
+				LOGGER.debug(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL350, new Object[ ] { key }));
+
+				// Si se ha superado el tamaño máximo, eliminamos las CRL
+				// menos usadas recientemente.
+				if (totalSize.get() > maxSize) {
+					evictLeastRecentlyUsed(maxSize);
+				}
+
+			}
+
+		}
+
+	}
+
+	/**
+	 * Checks if the input public key has already verified the signature of the input CRL.
+	 * @param crl CRL to check.
+	 * @param publicKey Public key to check.
+	 * @return <code>true</code> if the input CRL is cached and the input public key has already
+	 * verified its signature, otherwise <code>false</code>.
+	 */
+	public boolean isVerifiedWithKey(X509CRL crl, PublicKey publicKey) {
+
+		boolean result = false;
+
+		if (crl != null && publicKey != null) {
+			CRLCacheEntry entry = entriesByCrl.get(new CRLIdentityKey(crl));
+			result = entry != null && entry.verifiedKeys.contains(encodeKey(publicKey));
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * Registers that the input public key has verified the signature of the input CRL. If the CRL
+	 * is not cached, nothing is done.
+	 * @param crl CRL verified.
+	 * @param publicKey Public key that has verified the CRL.
+	 */
+	public void markVerifiedWithKey(X509CRL crl, PublicKey publicKey) {
+
+		if (crl != null && publicKey != null) {
+			CRLCacheEntry entry = entriesByCrl.get(new CRLIdentityKey(crl));
+			if (entry != null) {
+				entry.verifiedKeys.add(encodeKey(publicKey));
+			}
+		}
+
+	}
+
+	/**
+	 * Removes all the CRLs stored in the cache.
+	 */
+	public void clear() {
+
+		synchronized (evictionLock) {
+			for (Map.Entry<String, CRLCacheEntry> mapEntry: entriesByUri.entrySet()) {
+				removeEntry(mapEntry.getKey(), mapEntry.getValue());
+			}
+		}
+
+	}
+
+	/**
+	 * Removes the least recently used CRLs until the total size of the cache does not exceed
+	 * the input maximum size.
+	 * @param maxSize Maximum size (bytes) for the cache.
+	 */
+	private void evictLeastRecentlyUsed(long maxSize) {
+
+		synchronized (evictionLock) {
+
+			if (totalSize.get() > maxSize) {
+
+				List<CRLCacheEntry> entries = new ArrayList<CRLCacheEntry>(entriesByUri.values());
+				Collections.sort(entries, new Comparator<CRLCacheEntry>() {
+
+					/**
+					 * {@inheritDoc}
+					 * @see java.util.Comparator#compare(java.lang.Object, java.lang.Object)
+					 */
+					@Override
+					public int compare(CRLCacheEntry o1, CRLCacheEntry o2) {
+						return Long.compare(o1.lastAccess, o2.lastAccess);
+					}
+				});
+
+				for (int index = 0; totalSize.get() > maxSize && index < entries.size(); index++) {
+					CRLCacheEntry entry = entries.get(index);
+					if (removeEntry(entry.uri, entry)) {
+						LOGGER.debug(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL351, new Object[ ] { entry.uri }));
+					}
+				}
+
+			}
+
+		}
+
+	}
+
+	/**
+	 * Removes the input entry from the cache, only if it is still associated to the input URI.
+	 * @param uri URI associated to the entry.
+	 * @param entry Entry to remove.
+	 * @return <code>true</code> if the entry has been removed, otherwise <code>false</code>.
+	 */
+	private boolean removeEntry(String uri, CRLCacheEntry entry) {
+
+		boolean result = entriesByUri.remove(uri, entry);
+		if (result) {
+			entriesByCrl.remove(new CRLIdentityKey(entry.crl));
+			totalSize.addAndGet(-entry.size);
+		}
+		return result;
+
+	}
+
+	/**
+	 * Checks if the input date is between the this update and the next update dates of the input CRL.
+	 * @param crl CRL to check.
+	 * @param time Date to check in milliseconds.
+	 * @return <code>true</code> if the CRL is valid at the input date, otherwise <code>false</code>.
+	 */
+	private static boolean isInValidityPeriod(X509CRL crl, long time) {
+
+		boolean result = crl.getThisUpdate() == null || crl.getThisUpdate().getTime() <= time;
+		return result && (crl.getNextUpdate() == null || crl.getNextUpdate().getTime() > time);
+
+	}
+
+	/**
+	 * Calculates the size (bytes) of the encoded input CRL.
+	 * @param crl CRL to measure.
+	 * @return the size of the encoded CRL, or {@link Long#MAX_VALUE} if it can not be calculated,
+	 * so the CRL never is stored.
+	 */
+	private static long calculateSize(X509CRL crl) {
+
+		long result = Long.MAX_VALUE;
+		try {
+			result = crl.getEncoded().length;
+		} catch (CRLException e) {
+			result = Long.MAX_VALUE;
+		}
+		return result;
+
+	}
+
+	/**
+	 * Encodes the input public key to a string that identifies it.
+	 * @param publicKey Public key to encode.
+	 * @return Base64 representation of the encoded public key.
+	 */
+	private static String encodeKey(PublicKey publicKey) {
+		return Base64.getEncoder().encodeToString(publicKey.getEncoded());
+	}
+
+	/**
+	 * <p>Class that represents an entry of the CRL cache.</p>
+	 * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+	 * @version 1.0, 18/10/2026.
+	 */
+	private static final class CRLCacheEntry {
+
+		/**
+		 * Attribute that represents the URI from which the CRL was downloaded.
+		 */
+		private final String uri;
+
+		/**
+		 * Attribute that represents the parsed CRL.
+		 */
+		private final X509CRL crl;
+
+		/**
+		 * Attribute that represents the size (bytes) of the encoded CRL.
+		 */
+		private final long size;
+
+		/**
+		 * Attribute that represents the date (milliseconds) in which the CRL was stored.
+		 */
+		private final long loadTime;
+
+		/**
+		 * Attribute that represents the date (milliseconds) of the last access to the CRL.
+		 */
+		private volatile long lastAccess;
+
+		/**
+		 * Attribute that represents the encoded public keys that have verified the signature of the CRL.
+		 */
+		private final Set<String> verifiedKeys = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+		/**
+		 * Constructor method for the class CRLCacheEntry.
+		 * @param uriParam URI from which the CRL was downloaded.
+		 * @param crlParam Parsed CRL.
+		 * @param sizeParam Size (bytes) of the encoded CRL.
+		 * @param loadTimeParam Date (milliseconds) in which the CRL is stored.
+		 */
+		private CRLCacheEntry(String uriParam, X509CRL crlParam, long sizeParam, long loadTimeParam) {
+			super();
+			uri = uriParam;
+			crl = crlParam;
+			size = sizeParam;
+			loadTime = loadTimeParam;
+			lastAccess = loadTimeParam;
+		}
+
+		/**
+		 * Checks if the CRL of this entry can be used at the input date.
+		 * @param now Current date in milliseconds.
+		 * @param maxAge Maximum age (milliseconds) allowed for the entry.
+		 * @return <code>true</code> if the CRL is valid and the entry does not exceed the maximum age,
+		 * otherwise <code>false</code>.
+		 */
+		private boolean isUsable(long now, long maxAge) {
+			return now - loadTime < maxAge && isInValidityPeriod(crl, now);
+		}
+
+	}
+
+	/**
+	 * <p>Class that represents a key based on the identity of a CRL object instance.</p>
+	 * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+	 * @version 1.0, 18/10/2026.
+	 */
+	private static final class CRLIdentityKey {
+
+		/**
+		 * Attribute that represents the CRL instance.
+		 */
+		private final X509CRL crl;
+
+		/**
+		 * Constructor method for the class CRLIdentityKey.
+		 * @param crlParam CRL instance.
+		 */
+		private CRLIdentityKey(X509CRL crlParam) {
+			super();
+			crl = crlParam;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(crl);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof CRLIdentityKey && ((CRLIdentityKey) obj).crl == crl;
+		}
+
+	}
+
+}
@@ -20,7 +20,7 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>25/11/2018.</p>
  * @author Gobierno de España.
- * @version 1.5, 30/10/2024.
+ * @version 1.6, 18/10/2026.
  */
 package es.gob.valet.tsl.certValidation.impl.common;
 
@@ -32,6 +32,7 @@ import java.security.spec.DSAPublicKeySpec;
 import java.security.spec.RSAPublicKeySpec;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.apache.log4j.Logger;
@@ -51,8 +52,11 @@ import es.gob.valet.tsl.parsing.impl.common.DigitalID;
 
 /**
  * <p>Class that represents a Digital Identities Processor.</p>
+ * <p>The processor is immutable: the public keys of the key value identities are decoded, and the subject names
+ * and subject key identifiers of the identities are computed, only once when it is built. So the same instance
+ * is built once for each service and shared by all the validations (see {@link DigitalIdentitiesProcessorCache}).</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.5, 30/10/2024.
+ * @version 1.6, 18/10/2026.
  */
 public class DigitalIdentitiesProcessor {
 
@@ -74,32 +78,48 @@ public class DigitalIdentitiesProcessor {
 	/**
 	 * Attribute that represents the list of X509Certificate obtained from the digital identities.
 	 */
-	private List<X509Certificate> x509certList = null;
+	private final List<X509Certificate> x509certList;
+
+	/**
+	 * Attribute that represents the list of certificate identifiers (canonicalized subject names) of the X509Certificate
+	 * obtained from the digital identities. Each element corresponds to the element in the same position of
+	 * {@link #x509certList}, and it is <code>null</code> if it could not be computed.
+	 */
+	private final List<String> x509certIdList;
+
+	/**
+	 * Attribute that represents the list of Subject Key Identifiers (array of bytes) of the X509Certificate obtained from
+	 * the digital identities. Each element corresponds to the element in the same position of {@link #x509certList},
+	 * and it is <code>null</code> if it could not be computed.
+	 */
+	private final List<byte[ ]> x509certSkiList;
 
 	/**
 	 * Attribute that represents the list of X509 Subject Name obtained from the digital identities.
 	 */
-	private List<String> x509SubjectNameList = null;
+	private final List<String> x509SubjectNameList;
+
+	/**
+	 * Attribute that represents the list of canonicalized X509 Subject Name obtained from the digital identities. Each
+	 * element corresponds to the element in the same position of {@link #x509SubjectNameList}.
+	 */
+	private final List<String> x509CanonicalSubjectNameList;
 
 	/**
 	 * Attribute that represents the list of Public Keys obtained from the digital identities.
 	 */
-	private List<PublicKey> x509publicKeysList = null;
+	private final List<PublicKey> x509publicKeysList;
 
 	/**
 	 * Attribute that represents the list of X509 Subject Key Identifiers (array of bytes) obtained from the digital identities.
 	 */
-	private List<byte[ ]> x509ski = null;
+	private final List<byte[ ]> x509ski;
 
 	/**
 	 * Constructor method for the class DigitalIdentitiesProcessor.java.
 	 */
 	public DigitalIdentitiesProcessor() {
-		super();
-		x509certList = new ArrayList<X509Certificate>();
-		x509SubjectNameList = new ArrayList<String>();
-		x509publicKeysList = new ArrayList<PublicKey>();
-		x509ski = new ArrayList<byte[ ]>();
+		this((List<DigitalID>) null);
 	}
 
 	/**
@@ -108,12 +128,83 @@ public class DigitalIdentitiesProcessor {
 	 */
 	public DigitalIdentitiesProcessor(List<DigitalID> digitalIdentitiesList) {
 
-		this();
+		super();
+		List<X509Certificate> certList = new ArrayList<X509Certificate>();
+		List<String> certIdList = new ArrayList<String>();
+		List<byte[ ]> certSkiList = new ArrayList<byte[ ]>();
+		List<String> subjectNameList = new ArrayList<String>();
+		List<String> canonicalSubjectNameList = new ArrayList<String>();
+		List<PublicKey> publicKeysList = new ArrayList<PublicKey>();
+		List<byte[ ]> skiList = new ArrayList<byte[ ]>();
+
 		// Si la lista de identidades no es nula ni vacía, la procesamos.
 		if (digitalIdentitiesList != null && !digitalIdentitiesList.isEmpty()) {
-			processDigitalIdentities(digitalIdentitiesList);
+			processDigitalIdentities(digitalIdentitiesList, certList, subjectNameList, publicKeysList, skiList);
 		}
 
+		// Calculamos una única vez los datos de las identidades que se
+		// necesitan en cada validación.
+		for (X509Certificate cert: certList) {
+			certIdList.add(computeCertificateId(cert));
+			certSkiList.add(computeSubjectKeyIdentifier(cert));
+		}
+		for (String subjectName: subjectNameList) {
+			canonicalSubjectNameList.add(UtilsCertificate.canonicalizarIdCertificado(subjectName));
+		}
+
+		x509certList = Collections.unmodifiableList(certList);
+		x509certIdList = Collections.unmodifiableList(certIdList);
+		x509certSkiList = Collections.unmodifiableList(certSkiList);
+		x509SubjectNameList = Collections.unmodifiableList(subjectNameList);
+		x509CanonicalSubjectNameList = Collections.unmodifiableList(canonicalSubjectNameList);
+		x509publicKeysList = Collections.unmodifiableList(publicKeysList);
+		x509ski = Collections.unmodifiableList(skiList);
+
+	}
+
+	/**
+	 * Constructor method for the class DigitalIdentitiesProcessor.java that joins the data already processed by
+	 * the input processors, without processing again the digital identities.
+	 * @param processors Processors to join.
+	 */
+	private DigitalIdentitiesProcessor(DigitalIdentitiesProcessor... processors) {
+
+		super();
+		List<X509Certificate> certList = new ArrayList<X509Certificate>();
+		List<String> certIdList = new ArrayList<String>();
+		List<byte[ ]> certSkiList = new ArrayList<byte[ ]>();
+		List<String> subjectNameList = new ArrayList<String>();
+		List<String> canonicalSubjectNameList = new ArrayList<String>();
+		List<PublicKey> publicKeysList = new ArrayList<PublicKey>();
+		List<byte[ ]> skiList = new ArrayList<byte[ ]>();
+
+		for (DigitalIdentitiesProcessor processor: processors) {
+			certList.addAll(processor.x509certList);
+			certIdList.addAll(processor.x509certIdList);
+			certSkiList.addAll(processor.x509certSkiList);
+			subjectNameList.addAll(processor.x509SubjectNameList);
+			canonicalSubjectNameList.addAll(processor.x509CanonicalSubjectNameList);
+			publicKeysList.addAll(processor.x509publicKeysList);
+			skiList.addAll(processor.x509ski);
+		}
+
+		x509certList = Collections.unmodifiableList(certList);
+		x509certIdList = Collections.unmodifiableList(certIdList);
+		x509certSkiList = Collections.unmodifiableList(certSkiList);
+		x509SubjectNameList = Collections.unmodifiableList(subjectNameList);
+		x509CanonicalSubjectNameList = Collections.unmodifiableList(canonicalSubjectNameList);
+		x509publicKeysList = Collections.unmodifiableList(publicKeysList);
+		x509ski = Collections.unmodifiableList(skiList);
+
+	}
+
+	/**
+	 * Builds a processor with the digital identities of all the input processors.
+	 * @param processors Processors to join.
+	 * @return a new processor with the digital identities of all the input processors.
+	 */
+	public static DigitalIdentitiesProcessor join(List<DigitalIdentitiesProcessor> processors) {
+		return new DigitalIdentitiesProcessor(processors.toArray(new DigitalIdentitiesProcessor[processors.size()]));
 	}
 
 	/**
@@ -141,6 +232,14 @@ public class DigitalIdentitiesProcessor {
 		return x509SubjectNameList;
 	}
 
+	/**
+	 * Gets the value of the attribute {@link #x509CanonicalSubjectNameList}.
+	 * @return the value of the attribute {@link #x509CanonicalSubjectNameList}.
+	 */
+	public final List<String> getX509CanonicalSubjectNameList() {
+		return x509CanonicalSubjectNameList;
+	}
+
 	/**
 	 * Checks if there is some X509 Subject Name Digital Identity.
 	 * @return <code>true</code> if there is at least one X509 Subject Name Digital Identity,
@@ -196,8 +295,12 @@ public class DigitalIdentitiesProcessor {
 	 * Analyze the non empty digital identitites list and gets from it the differents
 	 * X509v3 certificates, subject names, public keys and subject keys identifiers.
 	 * @param digitalIdentitiesList Digital Identities list to analyze.
+	 * @param certList List where to add the X509v3 certificates.
+	 * @param subjectNameList List where to add the subject names.
+	 * @param publicKeysList List where to add the public keys.
+	 * @param skiList List where to add the subject key identifiers.
 	 */
-	private void processDigitalIdentities(List<DigitalID> digitalIdentitiesList) {
+	private static void processDigitalIdentities(List<DigitalID> digitalIdentitiesList, List<X509Certificate> certList, List<String> subjectNameList, List<PublicKey> publicKeysList, List<byte[ ]> skiList) {
 
 		// Las recorremos y vamos obteniendo sus datos.
 		for (DigitalID digitalId: digitalIdentitiesList) {
@@ -206,11 +309,11 @@ public class DigitalIdentitiesProcessor {
 			switch (digitalId.getType()) {
 
 				case DigitalID.TYPE_X509CERTIFICATE:
-					x509certList.add(digitalId.getX509cert());
+					certList.add(digitalId.getX509cert());
 					break;
 
 				case DigitalID.TYPE_X509SUBJECTNAME:
-					x509SubjectNameList.add(digitalId.getX509SubjectName());
+					subjectNameList.add(digitalId.getX509SubjectName());
 					break;
 
 				case DigitalID.TYPE_KEYVALUE:
@@ -264,14 +367,14 @@ public class DigitalIdentitiesProcessor {
 					// Si finalmente hemos obtenido la clave pública, la
 					// guardamos.
 					if (publicKey != null) {
-						x509publicKeysList.add(publicKey);
+						publicKeysList.add(publicKey);
 					}
 
 					break;
 
 				case DigitalID.TYPE_X509SKI:
 
-					x509ski.add(digitalId.getSki().getKeyIdentifier());
+					skiList.add(digitalId.getSki().getKeyIdentifier());
 					break;
 
 				case DigitalID.TYPE_OTHER:
@@ -287,6 +390,41 @@ public class DigitalIdentitiesProcessor {
 
 	}
 
+	/**
+	 * Computes the certificate identifier (canonicalized subject name) of the input certificate.
+	 * @param cert X509v3 certificate.
+	 * @return the certificate identifier, or <code>null</code> if it could not be computed.
+	 */
+	private static String computeCertificateId(X509Certificate cert) {
+
+		String result = null;
+		try {
+			result = UtilsCertificate.getCertificateId(cert);
+		} catch (CommonUtilsException e) {
+			result = null;
+		}
+		return result;
+
+	}
+
+	/**
+	 * Computes the subject key identifier of the input certificate.
+	 * @param cert X509v3 certificate.
+	 * @return the subject key identifier, or <code>null</code> if it could not be computed.
+	 */
+	private static byte[ ] computeSubjectKeyIdentifier(X509Certificate cert) {
+
+		byte[ ] result = null;
+		try {
+			SubjectKeyIdentifier ski = SubjectKeyIdentifier.fromExtensions(UtilsCertificate.getBouncyCastleCertificate(cert).getTBSCertificate().getExtensions());
+			result = ski.getKeyIdentifier();
+		} catch (Exception e) {
+			result = null;
+		}
+		return result;
+
+	}
+
 	/**
 	 * Checks if the input certificate is issued by some of the identities and sets its in the result.
 	 * @param cert X509v3 certificate to check.
@@ -303,7 +441,9 @@ public class DigitalIdentitiesProcessor {
 		boolean partialResult = false;
 
 		// Comprobamos primero los certificados X509v3.
-		for (X509Certificate issuerCert: x509certList) {
+		for (int index = 0; index < x509certList.size(); index++) {
+
+			X509Certificate issuerCert = x509certList.get(index);
 
 			// Comprobamos si la clave pública del certificado de la CA
 			// firma el certificado.
@@ -320,18 +460,20 @@ public class DigitalIdentitiesProcessor {
 				result = true;
 				validationResult.setIssuerCert(issuerCert);
 				validationResult.setIssuerPublicKey(issuerCert.getPublicKey());
-				try {
-					validationResult.setIssuerSubjectName(UtilsCertificate.getCertificateId(issuerCert));
-				} catch (CommonUtilsException e) {
+				// El identificador y el SKI del emisor ya están calculados.
+				String issuerCertId = x509certIdList.get(index);
+				if (issuerCertId == null) {
 					LOGGER.warn(Language.getResCoreTsl(ICoreTslMessages.LOGMTSL182));
+				} else {
+					validationResult.setIssuerSubjectName(issuerCertId);
 				}
-				try {
-					if (!UtilsCertificate.isSelfSigned(cert)) {
-						SubjectKeyIdentifier ski = SubjectKeyIdentifier.fromExtensions(UtilsCertificate.getBouncyCastleCertificate(issuerCert).getTBSCertificate().getExtensions());
-						validationResult.setIssuerSKIbytes(ski.getKeyIdentifier());
+				if (!UtilsCertificate.isSelfSigned(cert)) {
+					byte[ ] issuerSki = x509certSkiList.get(index);
+					if (issuerSki == null) {
+						LOGGER.warn(Language.getResCoreTsl(ICoreTslMessages.LOGMTSL183));
+					} else {
+						validationResult.setIssuerSKIbytes(issuerSki);
 					}
-				} catch (Exception e) {
-					LOGGER.warn(Language.getResCoreTsl(ICoreTslMessages.LOGMTSL183));
 				}
 				break;
 			}
@@ -371,15 +513,13 @@ public class DigitalIdentitiesProcessor {
 			// estas identidades digitales representan al emisor del
 			// certificado.
 			partialResult = false;
-			// Comprobamos los Subject Names.
-			for (String issuerSubjectName: x509SubjectNameList) {
+			// Comprobamos los Subject Names (ya canonicalizados).
+			for (String caSubject: x509CanonicalSubjectNameList) {
 
 				// Comprobamos que el subject de la CA coincide con el emisor
 				// del
 				// certificado.
-				String caSubject = null;
 				try {
-					caSubject = UtilsCertificate.canonicalizarIdCertificado(issuerSubjectName);
 					String certIssuer = UtilsCertificate.getCertificateIssuerId(cert);
 					partialResult = caSubject.equals(certIssuer);
 				} catch (CommonUtilsException e) {
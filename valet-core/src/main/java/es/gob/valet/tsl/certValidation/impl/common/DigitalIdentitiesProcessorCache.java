@@ -0,0 +1,151 @@
+/*
+/*******************************************************************************
+ * Copyright (C) 2018 MINHAFP, Gobierno de España
+ * This program is licensed and may be used, modified and redistributed under the  terms
+ * of the European Public License (EUPL), either version 1.1 or (at your option)
+ * any later version as soon as they are approved by the European Commission.
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and
+ * more details.
+ * You should have received a copy of the EUPL1.1 license
+ * along with this program; if not, you may find it at
+ * http:joinup.ec.europa.eu/software/page/eupl/licence-eupl
+ ******************************************************************************/
+
+/**
+ * <b>File:</b><p>es.gob.valet.tsl.certValidation.impl.common.DigitalIdentitiesProcessorCache.java.</p>
+ * <b>Description:</b><p>Class that represents a cache of the processors of the digital identities of the services
+ * of the TSL.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * <b>Date:</b><p>18/10/2026.</p>
+ * @author Gobierno de España.
+ * @version 1.0, 18/10/2026.
+ */
+package es.gob.valet.tsl.certValidation.impl.common;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import es.gob.valet.tsl.parsing.impl.common.ServiceHistoryInstance;
+
+/**
+ * <p>Class that represents a cache of the processors of the digital identities of the services (current information
+ * and history) of the TSL, so each processor is built only once and shared by all the validations.</p>
+ * <p>The processors are indexed by the instance of the service, which is only weakly referenced: when a TSL is
+ * replaced and its services are no longer used, their processors are discarded. The reads do not block.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * @version 1.0, 18/10/2026.
+ */
+public final class DigitalIdentitiesProcessorCache {
+
+	/**
+	 * Constant attribute that represents the processors indexed by the instance of the service.
+	 */
+	private static final ConcurrentMap<ServiceKey, DigitalIdentitiesProcessor> PROCESSORS = new ConcurrentHashMap<ServiceKey, DigitalIdentitiesProcessor>();
+
+	/**
+	 * Constant attribute that represents the queue where are notified the services reclaimed by the garbage collector.
+	 */
+	private static final ReferenceQueue<ServiceHistoryInstance> RECLAIMED_SERVICES = new ReferenceQueue<ServiceHistoryInstance>();
+
+	/**
+	 * Constructor method for the class DigitalIdentitiesProcessorCache.java.
+	 */
+	private DigitalIdentitiesProcessorCache() {
+		super();
+	}
+
+	/**
+	 * Gets the processor of the digital identities associated to the input service, building it if it is the first
+	 * time that it is requested.
+	 * @param shi Service (current information or history instance) of the TSL.
+	 * @return the processor of the digital identities associated to the input service.
+	 */
+	public static DigitalIdentitiesProcessor getProcessor(ServiceHistoryInstance shi) {
+
+		DigitalIdentitiesProcessor result = PROCESSORS.get(new ServiceKey(shi, null));
+		if (result == null) {
+
+			// Descartamos los procesadores de los servicios que ya no se
+			// usan antes de añadir el nuevo.
+			discardReclaimedServices();
+			DigitalIdentitiesProcessor processor = new DigitalIdentitiesProcessor(shi.getAllDigitalIdentities());
+			result = PROCESSORS.putIfAbsent(new ServiceKey(shi, RECLAIMED_SERVICES), processor);
+			if (result == null) {
+				result = processor;
+			}
+
+		}
+		return result;
+
+	}
+
+	/**
+	 * Discards the processors of the services reclaimed by the garbage collector.
+	 */
+	private static void discardReclaimedServices() {
+
+		Object reclaimed = RECLAIMED_SERVICES.poll();
+		while (reclaimed != null) {
+			PROCESSORS.remove(reclaimed);
+			reclaimed = RECLAIMED_SERVICES.poll();
+		}
+
+	}
+
+	/**
+	 * <p>Class that represents the key of a service in the cache: a weak reference to the instance of the service,
+	 * compared by identity.</p>
+	 * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+	 * @version 1.0, 18/10/2026.
+	 */
+	private static final class ServiceKey extends WeakReference<ServiceHistoryInstance> {
+
+		/**
+		 * Attribute that represents the identity hash code of the service, kept after it is reclaimed.
+		 */
+		private final int hash;
+
+		/**
+		 * Constructor method for the class ServiceKey.
+		 * @param shi Service of the TSL.
+		 * @param queue Queue where the key is notified when the service is reclaimed. It could be <code>null</code>
+		 * for the keys only used to search.
+		 */
+		private ServiceKey(ServiceHistoryInstance shi, ReferenceQueue<ServiceHistoryInstance> queue) {
+			super(shi, queue);
+			hash = System.identityHashCode(shi);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+
+			boolean result = this == obj;
+			if (!result && obj instanceof ServiceKey) {
+				ServiceHistoryInstance shi = get();
+				result = shi != null && shi == ((ServiceKey) obj).get();
+			}
+			return result;
+
+		}
+
+	}
+
+}
@@ -0,0 +1,306 @@
+/*
+/*******************************************************************************
+ * Copyright (C) 2018 MINHAFP, Gobierno de España
+ * This program is licensed and may be used, modified and redistributed under the  terms
+ * of the European Public License (EUPL), either version 1.1 or (at your option)
+ * any later version as soon as they are approved by the European Commission.
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and
+ * more details.
+ * You should have received a copy of the EUPL1.1 license
+ * along with this program; if not, you may find it at
+ * http:joinup.ec.europa.eu/software/page/eupl/licence-eupl
+ ******************************************************************************/
+
+/**
+ * <b>File:</b><p>es.gob.valet.tsl.certValidation.impl.common.OCSPResponseCache.java.</p>
+ * <b>Description:</b><p>Class that represents a node cache of the validated OCSP responses obtained in the
+ * TSL validation operations.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * <b>Date:</b><p>18/10/2026.</p>
+ * @author Gobierno de España.
+ * @version 1.0, 18/10/2026.
+ */
+package es.gob.valet.tsl.certValidation.impl.common;
+
+import java.net.URI;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.log4j.Logger;
+import org.bouncycastle.cert.ocsp.BasicOCSPResp;
+import org.bouncycastle.cert.ocsp.CertificateID;
+import org.bouncycastle.cert.ocsp.SingleResp;
+
+import es.gob.valet.commons.utils.NumberConstants;
+import es.gob.valet.commons.utils.UtilsStringChar;
+import es.gob.valet.i18n.Language;
+import es.gob.valet.i18n.messages.ICoreTslMessages;
+import es.gob.valet.tsl.access.TSLProperties;
+
+/**
+ * <p>Class that represents a node cache of the validated OCSP responses obtained in the TSL validation
+ * operations. The responses are indexed by the CertificateID (hash algorithm, issuer name hash, issuer key hash
+ * and serial number) and the URI of the OCSP responder, and they are only used while the current date is before
+ * the next update date of the single response and the configured maximum age is not exceeded.</p>
+ * <p>The cached responses are only used when the nonce-less mode is enabled for the current thread, that is,
+ * when the application that requested the validation allows it.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * @version 1.0, 18/10/2026.
+ */
+public final class OCSPResponseCache {
+
+	/**
+	 * Attribute that represents the object that manages the log of the class.
+	 */
+	private static final Logger LOGGER = Logger.getLogger(OCSPResponseCache.class);
+
+	/**
+	 * Constant attribute that represents the unique instance of the class.
+	 */
+	private static final OCSPResponseCache INSTANCE = new OCSPResponseCache();
+
+	/**
+	 * Constant attribute that represents the flag that indicates if the nonce-less mode is enabled for the current thread.
+	 */
+	private static final ThreadLocal<Boolean> NONCELESS_MODE = new ThreadLocal<Boolean>();
+
+	/**
+	 * Attribute that represents the cached OCSP responses.
+	 */
+	private final Map<String, OCSPResponseCacheEntry> entries = new ConcurrentHashMap<String, OCSPResponseCacheEntry>();
+
+	/**
+	 * Constructor method for the class OCSPResponseCache.java.
+	 */
+	private OCSPResponseCache() {
+		super();
+	}
+
+	/**
+	 * Gets the unique instance of the class.
+	 * @return the unique instance of the class.
+	 */
+	public static OCSPResponseCache getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Enables or disables the nonce-less mode for the validations executed in the current thread.
+	 * @param noncelessMode Flag that indicates if the OCSP requests could be sent without nonce and the
+	 * OCSP responses could be obtained from the node cache.
+	 */
+	public static void setNoncelessModeForCurrentThread(boolean noncelessMode) {
+		NONCELESS_MODE.set(Boolean.valueOf(noncelessMode));
+	}
+
+	/**
+	 * Removes the nonce-less mode configuration of the current thread.
+	 */
+	public static void clearNoncelessModeForCurrentThread() {
+		NONCELESS_MODE.remove();
+	}
+
+	/**
+	 * Checks if the nonce-less mode is enabled for the validations executed in the current thread.
+	 * @return <code>true</code> if the nonce-less mode is enabled and the OCSP response cache is enabled,
+	 * otherwise <code>false</code>.
+	 */
+	public static boolean isNoncelessModeEnabledForCurrentThread() {
+		return Boolean.TRUE.equals(NONCELESS_MODE.get()) && TSLProperties.isOcspCacheEnabled();
+	}
+
+	/**
+	 * Gets the OCSP response stored in the cache for the input CertificateID and OCSP responder, if it is still usable.
+	 * @param certificateId CertificateID of the certificate to check.
+	 * @param uri URI of the OCSP responder.
+	 * @return the cached basic OCSP response, or <code>null</code> if there is not some usable response.
+	 */
+	public BasicOCSPResp getResponse(CertificateID certificateId, URI uri) {
+
+		BasicOCSPResp result = null;
+
+		if (certificateId != null && uri != null && TSLProperties.isOcspCacheEnabled()) {
+
+			String key = buildKey(certificateId, uri);
+			OCSPResponseCacheEntry entry = entries.get(key);
+			if (entry != null) {
+
+				if (entry.isUsable(System.currentTimeMillis(), getMaxAgeMillis())) {
+					result = entry.basicOcspResponse;
+					LOGGER.debug(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL352, new Object[ ] { uri }));
+				} else {
+					entries.remove(key, entry);
+				}
+
+			}
+
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * Stores in the cache the input validated OCSP response for the input CertificateID and OCSP responder.
+	 * The response is not stored if it has not a next update date for the CertificateID, if it is not valid
+	 * at this moment, or if the cache is full.
+	 * @param certificateId CertificateID of the certificate checked.
+	 * @param uri URI of the OCSP responder.
+	 * @param basicOcspResponse Validated basic OCSP response to store.
+	 */
+	public void putResponse(CertificateID certificateId, URI uri, BasicOCSPResp basicOcspResponse) {
+
+		if (certificateId != null && uri != null && basicOcspResponse != null && TSLProperties.isOcspCacheEnabled()) {
+
+			// Buscamos la respuesta para el certificado. Si no indica la fecha
+			// de próxima actualización, siempre hay información más reciente
+			// disponible y no se almacena.
+			Date nextUpdate = getNextUpdate(certificateId, basicOcspResponse);
+			long now = System.currentTimeMillis();
+
+			if (nextUpdate != null && nextUpdate.getTime() > now && hasRoomForNewEntry(now)) {
+				entries.put(buildKey(certificateId, uri), new OCSPResponseCacheEntry(basicOcspResponse, nextUpdate.getTime(), now));
+				LOGGER.debug(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL353, new Object[ ] { uri }));
+			}
+
+		}
+
+	}
+
+	/**
+	 * Removes all the OCSP responses stored in the cache.
+	 */
+	public void clear() {
+		entries.clear();
+	}
+
+	/**
+	 * Checks if there is room in the cache to store a new entry. If the cache is full, first removes
+	 * the entries that are not usable anymore.
+	 * @param now Current date in milliseconds.
+	 * @return <code>true</code> if a new entry could be stored, otherwise <code>false</code>.
+	 */
+	private boolean hasRoomForNewEntry(long now) {
+
+		int maxEntries = TSLProperties.getOcspCacheMaxEntries();
+		if (entries.size() >= maxEntries) {
+			long maxAge = getMaxAgeMillis();
+			Iterator<OCSPResponseCacheEntry> it = entries.values().iterator();
+			while (it.hasNext()) {
+				if (!it.next().isUsable(now, maxAge)) {
+					it.remove();
+				}
+			}
+		}
+		return entries.size() < maxEntries;
+
+	}
+
+	/**
+	 * Gets the configured maximum age for the cached responses in milliseconds.
+	 * @return the configured maximum age for the cached responses in milliseconds.
+	 */
+	private static long getMaxAgeMillis() {
+		return TSLProperties.getOcspCacheMaxAge() * (long) NumberConstants.NUM1000;
+	}
+
+	/**
+	 * Gets the next update date of the single response associated to the input CertificateID.
+	 * @param certificateId CertificateID to search.
+	 * @param basicOcspResponse Basic OCSP response in which search.
+	 * @return the next update date of the single response, or <code>null</code> if there is not single response
+	 * for the CertificateID or it has not next update date.
+	 */
+	private static Date getNextUpdate(CertificateID certificateId, BasicOCSPResp basicOcspResponse) {
+
+		Date result = null;
+		SingleResp[ ] singleResponsesArray = basicOcspResponse.getResponses();
+		if (singleResponsesArray != null) {
+			for (SingleResp singleResp: singleResponsesArray) {
+				if (certificateId.equals(singleResp.getCertID())) {
+					result = singleResp.getNextUpdate();
+					break;
+				}
+			}
+		}
+		return result;
+
+	}
+
+	/**
+	 * Builds the key that identifies the input CertificateID and OCSP responder in the cache.
+	 * @param certificateId CertificateID of the certificate.
+	 * @param uri URI of the OCSP responder.
+	 * @return the key that identifies the input CertificateID and OCSP responder.
+	 */
+	static String buildKey(CertificateID certificateId, URI uri) {
+
+		StringBuilder sb = new StringBuilder();
+		sb.append(certificateId.getHashAlgOID().getId());
+		sb.append(UtilsStringChar.SYMBOL_COLON_STRING);
+		sb.append(Hex.encodeHex(certificateId.getIssuerNameHash()));
+		sb.append(UtilsStringChar.SYMBOL_COLON_STRING);
+		sb.append(Hex.encodeHex(certificateId.getIssuerKeyHash()));
+		sb.append(UtilsStringChar.SYMBOL_COLON_STRING);
+		sb.append(certificateId.getSerialNumber().toString(NumberConstants.NUM16));
+		sb.append(UtilsStringChar.SYMBOL_COLON_STRING);
+		sb.append(uri.toString());
+		return sb.toString();
+
+	}
+
+	/**
+	 * <p>Class that represents an entry of the OCSP response cache.</p>
+	 * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+	 * @version 1.0, 18/10/2026.
+	 */
+	private static final class OCSPResponseCacheEntry {
+
+		/**
+		 * Attribute that represents the validated basic OCSP response.
+		 */
+		private final BasicOCSPResp basicOcspResponse;
+
+		/**
+		 * Attribute that represents the next update date (milliseconds) of the single response.
+		 */
+		private final long nextUpdate;
+
+		/**
+		 * Attribute that represents the date (milliseconds) in which the response was stored.
+		 */
+		private final long loadTime;
+
+		/**
+		 * Constructor method for the class OCSPResponseCacheEntry.
+		 * @param basicOcspResponseParam Validated basic OCSP response.
+		 * @param nextUpdateParam Next update date (milliseconds) of the single response.
+		 * @param loadTimeParam Date (milliseconds) in which the response is stored.
+		 */
+		private OCSPResponseCacheEntry(BasicOCSPResp basicOcspResponseParam, long nextUpdateParam, long loadTimeParam) {
+			super();
+			basicOcspResponse = basicOcspResponseParam;
+			nextUpdate = nextUpdateParam;
+			loadTime = loadTimeParam;
+		}
+
+		/**
+		 * Checks if the response of this entry can be used at the input date.
+		 * @param now Current date in milliseconds.
+		 * @param maxAge Maximum age (milliseconds) allowed for the entry.
+		 * @return <code>true</code> if the response has not reached its next update date and the entry does
+		 * not exceed the maximum age, otherwise <code>false</code>.
+		 */
+		private boolean isUsable(long now, long maxAge) {
+			return now < nextUpdate && now - loadTime < maxAge;
+		}
+
+	}
+
+}
@@ -0,0 +1,145 @@
+/*
+/*******************************************************************************
+ * Copyright (C) 2018 MINHAFP, Gobierno de España
+ * This program is licensed and may be used, modified and redistributed under the  terms
+ * of the European Public License (EUPL), either version 1.1 or (at your option)
+ * any later version as soon as they are approved by the European Commission.
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and
+ * more details.
+ * You should have received a copy of the EUPL1.1 license
+ * along with this program; if not, you may find it at
+ * http:joinup.ec.europa.eu/software/page/eupl/licence-eupl
+ ******************************************************************************/
+
+/**
+ * <b>File:</b><p>es.gob.valet.tsl.certValidation.impl.common.SingleFlightGroup.java.</p>
+ * <b>Description:</b><p>Class that coalesces the concurrent executions of the same download operation, so only
+ * one of them is executed and the rest of callers wait for its result.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * <b>Date:</b><p>18/10/2026.</p>
+ * @author Gobierno de España.
+ * @version 1.0, 18/10/2026.
+ */
+package es.gob.valet.tsl.certValidation.impl.common;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.apache.log4j.Logger;
+
+import es.gob.valet.i18n.Language;
+import es.gob.valet.i18n.messages.ICoreTslMessages;
+
+/**
+ * <p>Class that coalesces the concurrent executions of the same download operation (identified by a key).
+ * The first caller for a key executes the operation in its own thread, and the callers that arrive while it
+ * is in progress wait (up to the indicated timeout) for the same result, instead of executing the operation again.
+ * If the operation throws an exception, it is propagated to all the callers.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * @param <V> Type of the result of the operation.
+ * @version 1.0, 18/10/2026.
+ */
+public final class SingleFlightGroup<V> {
+
+	/**
+	 * Attribute that represents the object that manages the log of the class.
+	 */
+	private static final Logger LOGGER = Logger.getLogger(SingleFlightGroup.class);
+
+	/**
+	 * Attribute that represents the operations in progress indexed by its key.
+	 */
+	private final ConcurrentMap<String, CompletableFuture<V>> inFlight = new ConcurrentHashMap<String, CompletableFuture<V>>();
+
+	/**
+	 * Constructor method for the class SingleFlightGroup.java.
+	 */
+	public SingleFlightGroup() {
+		super();
+	}
+
+	/**
+	 * Executes the input operation, or waits for the result of the same operation if it is already in progress
+	 * in other thread.
+	 * @param key Key that identifies the operation.
+	 * @param operation Operation to execute.
+	 * @param timeout Maximum time in milliseconds to wait for an operation in progress in other thread.
+	 * @return the result of the operation, or <code>null</code> if the timeout is exceeded or the thread is
+	 * interrupted while waiting.
+	 */
+	public V execute(String key, Supplier<V> operation, long timeout) {
+
+		CompletableFuture<V> future = new CompletableFuture<V>();
+		CompletableFuture<V> inProgress = inFlight.putIfAbsent(key, future);
+
+		// Si no hay ninguna operación en curso para la clave, la ejecutamos
+		// en este hilo y notificamos el resultado al resto.
+		if (inProgress == null) {
+			return executeAndNotify(key, operation, future);
+		}
+
+		// En caso contrario, esperamos el resultado de la operación en curso.
+		LOGGER.debug(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL354, new Object[ ] { key }));
+		V result = null;
+		try {
+			result = inProgress.get(timeout, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			LOGGER.warn(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL355, new Object[ ] { key, timeout }));
+		} catch (InterruptedException e) {
+			LOGGER.warn(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL356, new Object[ ] { key }));
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			throw propagate(e.getCause());
+		}
+		return result;
+
+	}
+
+	/**
+	 * Executes the operation, notifies its result (or its exception) to the waiting threads and frees the key.
+	 * @param key Key that identifies the operation.
+	 * @param operation Operation to execute.
+	 * @param future Future where notify the result of the operation.
+	 * @return the result of the operation.
+	 */
+	private V executeAndNotify(String key, Supplier<V> operation, CompletableFuture<V> future) {
+
+		try {
+			V result = operation.get();
+			future.complete(result);
+			return result;
+		} catch (RuntimeException | Error e) {
+			future.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlight.remove(key, future);
+		}
+
+	}
+
+	/**
+	 * Gets the exception to throw in the waiting threads from the exception thrown by the operation.
+	 * @param cause Exception thrown by the operation.
+	 * @return the runtime exception to throw.
+	 */
+	private static RuntimeException propagate(Throwable cause) {
+
+		if (cause instanceof Error) {
+			throw (Error) cause;
+		}
+		if (cause instanceof RuntimeException) {
+			return (RuntimeException) cause;
+		}
+		return new IllegalStateException(cause);
+
+	}
+
+}
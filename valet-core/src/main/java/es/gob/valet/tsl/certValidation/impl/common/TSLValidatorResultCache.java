@@ -0,0 +1,415 @@
+/*
+/*******************************************************************************
+ * Copyright (C) 2018 MINHAFP, Gobierno de España
+ * This program is licensed and may be used, modified and redistributed under the  terms
+ * of the European Public License (EUPL), either version 1.1 or (at your option)
+ * any later version as soon as they are approved by the European Commission.
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and
+ * more details.
+ * You should have received a copy of the EUPL1.1 license
+ * along with this program; if not, you may find it at
+ * http:joinup.ec.europa.eu/software/page/eupl/licence-eupl
+ ******************************************************************************/
+
+/**
+ * <b>File:</b><p>es.gob.valet.tsl.certValidation.impl.common.TSLValidatorResultCache.java.</p>
+ * <b>Description:</b><p>Class that represents a node cache of the results of the validation of certificates
+ * with the TSL.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * <b>Date:</b><p>18/10/2026.</p>
+ * @author Gobierno de España.
+ * @version 1.1, 18/10/2026.
+ */
+package es.gob.valet.tsl.certValidation.impl.common;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.X509CRL;
+import java.security.cert.X509Certificate;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.log4j.Logger;
+import org.bouncycastle.cert.ocsp.BasicOCSPResp;
+import org.bouncycastle.cert.ocsp.SingleResp;
+
+import es.gob.valet.commons.utils.NumberConstants;
+import es.gob.valet.commons.utils.UtilsStringChar;
+import es.gob.valet.i18n.Language;
+import es.gob.valet.i18n.messages.ICoreTslMessages;
+import es.gob.valet.tsl.access.TSLProperties;
+import es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult;
+import es.gob.valet.tsl.parsing.ifaces.ITSLObject;
+
+/**
+ * <p>Class that represents a node cache of the results of the validation of certificates with the TSL.
+ * The results are indexed by the digest of the certificate, the country/region and sequence number of the TSL,
+ * the flags of the validation (check of the revocation status and calculation of mappings) and the bucket
+ * (according to the configured size) of the validation date. Each result is stored as an immutable
+ * {@link TSLValidatorResultSnapshot}.</p>
+ * <p>The cache is only used for the validations executed in a thread with a time to live configured, that is,
+ * when the application that requested the validation has a time to live assigned. As the results are shared by
+ * all the applications, a result is only returned if its age does not exceed the time to live of the application
+ * that requests it. A result is discarded when the time to live of the application that stored it is exceeded,
+ * when the next update date of the TSL or of the revocation value used is reached, or when the TSL used is
+ * replaced in the TSL cache. When the cache is full, the oldest result is discarded.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * @version 1.1, 18/10/2026.
+ */
+public final class TSLValidatorResultCache {
+
+	/**
+	 * Attribute that represents the object that manages the log of the class.
+	 */
+	private static final Logger LOGGER = Logger.getLogger(TSLValidatorResultCache.class);
+
+	/**
+	 * Constant attribute that represents the unique instance of the class.
+	 */
+	private static final TSLValidatorResultCache INSTANCE = new TSLValidatorResultCache();
+
+	/**
+	 * Constant attribute that represents the time to live (seconds) of the results for the current thread.
+	 */
+	private static final ThreadLocal<Integer> TIME_TO_LIVE = new ThreadLocal<Integer>();
+
+	/**
+	 * Constant attribute that represents the digest algorithm used to identify the certificates.
+	 */
+	private static final String DIGEST_ALGORITHM = "SHA-256";
+
+	/**
+	 * Attribute that represents the cached validation results.
+	 */
+	private final Map<String, TSLValidatorResultCacheEntry> entries = new ConcurrentHashMap<String, TSLValidatorResultCacheEntry>();
+
+	/**
+	 * Attribute that represents the stored entries in order of insertion, used to discard the oldest one when the
+	 * cache is full. It can contain entries already removed from {@link #entries}.
+	 */
+	private final ConcurrentLinkedQueue<TSLValidatorResultCacheEntry> insertionOrder = new ConcurrentLinkedQueue<TSLValidatorResultCacheEntry>();
+
+	/**
+	 * Attribute that represents the number of entries in {@link #insertionOrder}.
+	 */
+	private final AtomicInteger insertionOrderSize = new AtomicInteger(0);
+
+	/**
+	 * Attribute that represents the maximum number of results stored in the cache.
+	 */
+	private final int maxEntries;
+
+	/**
+	 * Constructor method for the class TSLValidatorResultCache.java.
+	 */
+	private TSLValidatorResultCache() {
+		super();
+		maxEntries = TSLProperties.getValidationResultCacheMaxEntries();
+	}
+
+	/**
+	 * Gets the unique instance of the class.
+	 * @return the unique instance of the class.
+	 */
+	public static TSLValidatorResultCache getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Sets the time to live of the results for the validations executed in the current thread.
+	 * @param timeToLive Time to live (seconds) of the results. If it is 0 or less, the cache is not used.
+	 */
+	public static void setTimeToLiveForCurrentThread(int timeToLive) {
+		TIME_TO_LIVE.set(Integer.valueOf(timeToLive));
+	}
+
+	/**
+	 * Removes the time to live configuration of the current thread.
+	 */
+	public static void clearTimeToLiveForCurrentThread() {
+		TIME_TO_LIVE.remove();
+	}
+
+	/**
+	 * Gets the time to live of the results for the validations executed in the current thread.
+	 * @return the time to live (seconds) of the results, or 0 if the cache must not be used.
+	 */
+	private int getTimeToLiveForCurrentThread() {
+		Integer timeToLive = TIME_TO_LIVE.get();
+		return timeToLive == null || maxEntries <= 0 ? 0 : timeToLive.intValue();
+	}
+
+	/**
+	 * Builds the key that identifies the validation of the input certificate with the input parameters.
+	 * @param cert X509v3 certificate to validate.
+	 * @param tslObject TSL object representation to use.
+	 * @param validationDate Validation date to check.
+	 * @param checkStatusRevocation Flag that indicates if the revocation status of the certificate is checked.
+	 * @param calculateMappings Flag that indicates if the mappings associated to the certificate are calculated.
+	 * @return the key that identifies the validation, or <code>null</code> if the cache must not be used in the current
+	 * thread or the key can not be built.
+	 */
+	public String buildKey(X509Certificate cert, ITSLObject tslObject, Date validationDate, boolean checkStatusRevocation, boolean calculateMappings) {
+
+		String result = null;
+
+		if (cert != null && tslObject != null && validationDate != null && getTimeToLiveForCurrentThread() > 0) {
+
+			try {
+				// Agrupamos las fechas de validación en intervalos del tamaño
+				// configurado.
+				long dateBucket = TSLProperties.getValidationResultCacheDateBucket() * (long) NumberConstants.NUM1000;
+				long validationDateBucket = dateBucket > 0 ? validationDate.getTime() / dateBucket : validationDate.getTime();
+
+				StringBuilder sb = new StringBuilder();
+				sb.append(Hex.encodeHex(MessageDigest.getInstance(DIGEST_ALGORITHM).digest(cert.getEncoded())));
+				sb.append(UtilsStringChar.SYMBOL_COLON_STRING);
+				sb.append(tslObject.getSchemeInformation().getSchemeTerritory());
+				sb.append(UtilsStringChar.SYMBOL_COLON_STRING);
+				sb.append(tslObject.getSchemeInformation().getTslSequenceNumber());
+				sb.append(UtilsStringChar.SYMBOL_COLON_STRING);
+				sb.append(checkStatusRevocation);
+				sb.append(UtilsStringChar.SYMBOL_COLON_STRING);
+				sb.append(calculateMappings);
+				sb.append(UtilsStringChar.SYMBOL_COLON_STRING);
+				sb.append(validationDateBucket);
+				result = sb.toString();
+			} catch (NoSuchAlgorithmException | CertificateEncodingException e) {
+				result = null;
+			}
+
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * Gets the validation result stored in the cache for the input key, if it is still usable and its age does not
+	 * exceed the time to live of the current thread.
+	 * @param key Key that identifies the validation. It can be <code>null</code>.
+	 * @param tslObject TSL object representation used in the validation.
+	 * @return the cached validation result, or <code>null</code> if there is not some usable result.
+	 */
+	public ITSLValidatorResult getResult(String key, ITSLObject tslObject) {
+
+		ITSLValidatorResult result = null;
+
+		if (key != null) {
+
+			TSLValidatorResultCacheEntry entry = entries.get(key);
+			if (entry != null) {
+
+				// Solo se usa el resultado si se obtuvo con la misma TSL que
+				// está ahora en la caché de TSL.
+				long now = System.currentTimeMillis();
+				if (entry.tslObject != tslObject || !entry.isUsable(now)) {
+					entries.remove(key, entry);
+				} else if (now - entry.creationTime < getTimeToLiveForCurrentThread() * (long) NumberConstants.NUM1000) {
+					// El resultado puede haberlo almacenado otra aplicación
+					// con un tiempo de vida mayor, por lo que también se
+					// comprueba su antigüedad con el de la actual.
+					result = entry.tslValidatorResult;
+					LOGGER.debug(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL360, new Object[ ] { key }));
+				}
+
+			}
+
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * Stores in the cache an immutable copy of the input validation result. The result is not stored if the revocation
+	 * status was requested and it is unknown, or if it is not usable at this moment. If the cache is full, the oldest
+	 * result is discarded.
+	 * @param key Key that identifies the validation. If it is <code>null</code>, nothing is done.
+	 * @param tslObject TSL object representation used in the validation.
+	 * @param cert X509v3 certificate validated.
+	 * @param checkStatusRevocation Flag that indicates if the revocation status of the certificate has been checked.
+	 * @param tslValidatorResult Validation result to store.
+	 */
+	public void putResult(String key, ITSLObject tslObject, X509Certificate cert, boolean checkStatusRevocation, ITSLValidatorResult tslValidatorResult) {
+
+		int timeToLive = getTimeToLiveForCurrentThread();
+
+		// Un estado de revocación desconocido puede deberse a un error
+		// puntual, por lo que no se almacena.
+		if (key != null && tslValidatorResult != null && timeToLive > 0 && !(checkStatusRevocation && tslValidatorResult.hasBeenDetectedTheCertificateWithUnknownState())) {
+
+			long now = System.currentTimeMillis();
+			long expirationTime = now + timeToLive * (long) NumberConstants.NUM1000;
+			expirationTime = getMinimumTime(expirationTime, tslObject.getSchemeInformation().getNextUpdate());
+			expirationTime = getMinimumTime(expirationTime, getRevocationValueNextUpdate(cert, tslValidatorResult));
+
+			if (expirationTime > now) {
+				discardOldestEntries(maxEntries - 1);
+				TSLValidatorResultCacheEntry entry = new TSLValidatorResultCacheEntry(key, tslObject, new TSLValidatorResultSnapshot(tslValidatorResult), now, expirationTime);
+				entries.put(key, entry);
+				insertionOrder.offer(entry);
+				insertionOrderSize.incrementAndGet();
+				LOGGER.debug(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL361, new Object[ ] { key }));
+			}
+
+		}
+
+	}
+
+	/**
+	 * Removes all the validation results obtained with the TSL of the input country/region.
+	 * @param countryRegionCode Country/Region code of the TSL.
+	 */
+	public void removeResultsOfCountryRegion(String countryRegionCode) {
+
+		if (countryRegionCode != null) {
+			Iterator<TSLValidatorResultCacheEntry> it = entries.values().iterator();
+			while (it.hasNext()) {
+				if (countryRegionCode.equalsIgnoreCase(it.next().tslObject.getSchemeInformation().getSchemeTerritory())) {
+					it.remove();
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * Removes all the validation results stored in the cache.
+	 */
+	public void clear() {
+		discardOldestEntries(0);
+		entries.clear();
+	}
+
+	/**
+	 * Discards the oldest entries stored in the cache, until there are at most the input number of entries.
+	 * @param maxRemainingEntries Maximum number of entries that can remain in the cache.
+	 */
+	private void discardOldestEntries(int maxRemainingEntries) {
+
+		while (insertionOrderSize.get() > maxRemainingEntries) {
+			TSLValidatorResultCacheEntry oldest = insertionOrder.poll();
+			if (oldest == null) {
+				break;
+			}
+			insertionOrderSize.decrementAndGet();
+			// Solo se elimina si no se ha sustituido por otra entrada con la
+			// misma clave.
+			entries.remove(oldest.key, oldest);
+		}
+
+	}
+
+	/**
+	 * Gets the minimum between the input time and the input date.
+	 * @param time Time in milliseconds.
+	 * @param date Date to compare. It can be <code>null</code>.
+	 * @return the minimum between the input time and the input date, or the input time if the date is <code>null</code>.
+	 */
+	private static long getMinimumTime(long time, Date date) {
+		return date == null ? time : Math.min(time, date.getTime());
+	}
+
+	/**
+	 * Gets the next update date of the revocation value used in the input validation result.
+	 * @param cert X509v3 certificate validated.
+	 * @param tslValidatorResult Validation result to analyze.
+	 * @return the next update date of the CRL, or of the single response associated to the certificate of the
+	 * basic OCSP response, used as revocation value. <code>null</code> if there is not revocation value or it has
+	 * not next update date.
+	 */
+	private static Date getRevocationValueNextUpdate(X509Certificate cert, ITSLValidatorResult tslValidatorResult) {
+
+		Date result = null;
+
+		X509CRL crl = tslValidatorResult.getRevocationValueCRL();
+		BasicOCSPResp basicOcspResponse = tslValidatorResult.getRevocationValueBasicOCSPResponse();
+		if (crl != null) {
+			result = crl.getNextUpdate();
+		} else if (basicOcspResponse != null) {
+			SingleResp[ ] singleResponsesArray = basicOcspResponse.getResponses();
+			if (singleResponsesArray != null) {
+				for (SingleResp singleResp: singleResponsesArray) {
+					if (cert.getSerialNumber().equals(singleResp.getCertID().getSerialNumber())) {
+						result = singleResp.getNextUpdate();
+						break;
+					}
+				}
+			}
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * <p>Class that represents an entry of the TSL validation result cache.</p>
+	 * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+	 * @version 1.0, 18/10/2026.
+	 */
+	private static final class TSLValidatorResultCacheEntry {
+
+		/**
+		 * Attribute that represents the key that identifies the validation.
+		 */
+		private final String key;
+
+		/**
+		 * Attribute that represents the TSL object representation used in the validation.
+		 */
+		private final ITSLObject tslObject;
+
+		/**
+		 * Attribute that represents the immutable validation result.
+		 */
+		private final ITSLValidatorResult tslValidatorResult;
+
+		/**
+		 * Attribute that represents the date (milliseconds) in which the result was stored.
+		 */
+		private final long creationTime;
+
+		/**
+		 * Attribute that represents the date (milliseconds) from which the result is not usable.
+		 */
+		private final long expirationTime;
+
+		/**
+		 * Constructor method for the class TSLValidatorResultCacheEntry.
+		 * @param keyParam Key that identifies the validation.
+		 * @param tslObjectParam TSL object representation used in the validation.
+		 * @param tslValidatorResultParam Immutable validation result.
+		 * @param creationTimeParam Date (milliseconds) in which the result was stored.
+		 * @param expirationTimeParam Date (milliseconds) from which the result is not usable.
+		 */
+		private TSLValidatorResultCacheEntry(String keyParam, ITSLObject tslObjectParam, ITSLValidatorResult tslValidatorResultParam, long creationTimeParam, long expirationTimeParam) {
+			super();
+			key = keyParam;
+			tslObject = tslObjectParam;
+			tslValidatorResult = tslValidatorResultParam;
+			creationTime = creationTimeParam;
+			expirationTime = expirationTimeParam;
+		}
+
+		/**
+		 * Checks if the result of this entry can be used at the input date.
+		 * @param now Current date in milliseconds.
+		 * @return <code>true</code> if the result has not reached its expiration date, otherwise <code>false</code>.
+		 */
+		private boolean isUsable(long now) {
+			return now < expirationTime;
+		}
+
+	}
+
+}
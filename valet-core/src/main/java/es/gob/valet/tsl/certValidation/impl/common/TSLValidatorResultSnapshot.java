@@ -0,0 +1,572 @@
+/*
+/*******************************************************************************
+ * Copyright (C) 2018 MINHAFP, Gobierno de España
+ * This program is licensed and may be used, modified and redistributed under the  terms
+ * of the European Public License (EUPL), either version 1.1 or (at your option)
+ * any later version as soon as they are approved by the European Commission.
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and
+ * more details.
+ * You should have received a copy of the EUPL1.1 license
+ * along with this program; if not, you may find it at
+ * http:joinup.ec.europa.eu/software/page/eupl/licence-eupl
+ ******************************************************************************/
+
+/**
+ * <b>File:</b><p>es.gob.valet.tsl.certValidation.impl.common.TSLValidatorResultSnapshot.java.</p>
+ * <b>Description:</b><p>Class that represents an immutable copy of a TSL validation result.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * <b>Date:</b><p>18/10/2026.</p>
+ * @author Gobierno de España.
+ * @version 1.0, 18/10/2026.
+ */
+package es.gob.valet.tsl.certValidation.impl.common;
+
+import java.security.cert.X509CRL;
+import java.security.cert.X509Certificate;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.bouncycastle.cert.ocsp.BasicOCSPResp;
+
+import es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult;
+import es.gob.valet.tsl.parsing.impl.common.ServiceHistoryInstance;
+import es.gob.valet.tsl.parsing.impl.common.TSPService;
+import es.gob.valet.tsl.parsing.impl.common.TrustServiceProvider;
+
+/**
+ * <p>Class that represents an immutable copy of a TSL validation result, so it can be shared between
+ * several validation requests. The dates are copied and returned as new instances, the mappings are
+ * returned as an unmodifiable map, and the setters throw an {@link UnsupportedOperationException}.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * @version 1.0, 18/10/2026.
+ */
+public final class TSLValidatorResultSnapshot implements ITSLValidatorResult {
+
+	/**
+	 * Attribute that represents the TSL Country/Region Code.
+	 */
+	private final String tslCountryRegionCode;
+
+	/**
+	 * Attribute that represents the TSL sequence number.
+	 */
+	private final int tslSequenceNumber;
+
+	/**
+	 * Attribute that represents the ETSI TSL Specification and Version.
+	 */
+	private final String tslEtsiSpecificationAndVersion;
+
+	/**
+	 * Attribute that represents the TSL issue date.
+	 */
+	private final Date tslIssueDate;
+
+	/**
+	 * Attribute that represents the TSL next update date.
+	 */
+	private final Date tslNextUpdate;
+
+	/**
+	 * Attribute that represents the analyzer of the extensions of the validated certificate.
+	 */
+	private final TSLCertificateExtensionAnalyzer tslCertExtAnalyzer;
+
+	/**
+	 * Attribute that represents the validation result.
+	 */
+	private final int result;
+
+	/**
+	 * Attribute that represents if the result has been obtained from the service status.
+	 */
+	private final Boolean isResultFromServiceStatus;
+
+	/**
+	 * Attribute that represents if the result has been obtained from a DistributionPoint or AIA of the certificate.
+	 */
+	private final Boolean isResultFromDPorAIA;
+
+	/**
+	 * Attribute that represents if the TSL is from an european member.
+	 */
+	private final boolean isEuropean;
+
+	/**
+	 * Attribute that represents the TSP name that has detected the certificate.
+	 */
+	private final String tspName;
+
+	/**
+	 * Attribute that represents the TSP that has detected the certificate.
+	 */
+	private final TrustServiceProvider tsp;
+
+	/**
+	 * Attribute that represents the TSP Service name used to detect the certificate.
+	 */
+	private final String tspServiceNameForDetect;
+
+	/**
+	 * Attribute that represents the TSP Service used to detect the certificate.
+	 */
+	private final TSPService tspServiceForDetect;
+
+	/**
+	 * Attribute that represents the TSP Service History Information instance name used to detect the certificate.
+	 */
+	private final String tspServiceHistoryInformationInstanceNameForDetect;
+
+	/**
+	 * Attribute that represents the TSP Service History Information instance used to detect the certificate.
+	 */
+	private final ServiceHistoryInstance tspServiceHistoryInformationInstanceForDetect;
+
+	/**
+	 * Attribute that represents the TSP Service name used to validate the certificate.
+	 */
+	private final String tspServiceNameForValidate;
+
+	/**
+	 * Attribute that represents the TSP Service used to validate the certificate.
+	 */
+	private final TSPService tspServiceForValidate;
+
+	/**
+	 * Attribute that represents the TSP Service History Information instance name used to validate the certificate.
+	 */
+	private final String tspServiceHistoryInformationInstanceNameForValidate;
+
+	/**
+	 * Attribute that represents the TSP Service History Information instance used to validate the certificate.
+	 */
+	private final ServiceHistoryInstance tspServiceHistoryInformationInstanceForValidate;
+
+	/**
+	 * Attribute that represents the mapping type of the certificate.
+	 */
+	private final int mappingType;
+
+	/**
+	 * Attribute that represents the mapping classification of the certificate.
+	 */
+	private final int mappingClassification;
+
+	/**
+	 * Attribute that represents the mapping QSCD of the certificate.
+	 */
+	private final int mappingQSCD;
+
+	/**
+	 * Attribute that represents the issuer certificate of the validated certificate.
+	 */
+	private final X509Certificate issuerCert;
+
+	/**
+	 * Attribute that represents the calculated mappings for the certificate.
+	 */
+	private final Map<String, String> calculatedMappings;
+
+	/**
+	 * Attribute that represents the basic OCSP response used as revocation value.
+	 */
+	private final BasicOCSPResp basicOcspResponse;
+
+	/**
+	 * Attribute that represents the CRL used as revocation value.
+	 */
+	private final X509CRL x509crl;
+
+	/**
+	 * Attribute that represents the URL from which the revocation values has been obtained.
+	 */
+	private final String revValueUrl;
+
+	/**
+	 * Attribute that represents the revocation date of the certificate.
+	 */
+	private final Date revocationDate;
+
+	/**
+	 * Attribute that represents the revocation reason of the certificate.
+	 */
+	private final int revocationReason;
+
+	/**
+	 * Constructor method for the class TSLValidatorResultSnapshot.java.
+	 * @param tslValidatorResult TSL validation result to copy.
+	 */
+	public TSLValidatorResultSnapshot(ITSLValidatorResult tslValidatorResult) {
+		super();
+		tslCountryRegionCode = tslValidatorResult.getTslCountryRegionCode();
+		tslSequenceNumber = tslValidatorResult.getTslSequenceNumber();
+		tslEtsiSpecificationAndVersion = tslValidatorResult.getTslEtsiSpecificationAndVersion();
+		tslIssueDate = copyDate(tslValidatorResult.getTslIssueDate());
+		tslNextUpdate = copyDate(tslValidatorResult.getTslNextUpdate());
+		tslCertExtAnalyzer = tslValidatorResult.getTslCertificateExtensionAnalyzer();
+		result = tslValidatorResult.getResult();
+		isResultFromServiceStatus = tslValidatorResult.isResultFromServiceStatus();
+		isResultFromDPorAIA = tslValidatorResult.isResultFromDPorAIA();
+		isEuropean = tslValidatorResult.isEuropean();
+		tspName = tslValidatorResult.getTSPName();
+		tsp = tslValidatorResult.getTSP();
+		tspServiceNameForDetect = tslValidatorResult.getTSPServiceNameForDetect();
+		tspServiceForDetect = tslValidatorResult.getTSPServiceForDetect();
+		tspServiceHistoryInformationInstanceNameForDetect = tslValidatorResult.getTSPServiceHistoryInformationInstanceNameForDetect();
+		tspServiceHistoryInformationInstanceForDetect = tslValidatorResult.getTSPServiceHistoryInformationInstanceForDetect();
+		tspServiceNameForValidate = tslValidatorResult.getTSPServiceNameForValidate();
+		tspServiceForValidate = tslValidatorResult.getTSPServiceForValidate();
+		tspServiceHistoryInformationInstanceNameForValidate = tslValidatorResult.getTSPServiceHistoryInformationInstanceNameForValidate();
+		tspServiceHistoryInformationInstanceForValidate = tslValidatorResult.getTSPServiceHistoryInformationInstanceForValidate();
+		mappingType = tslValidatorResult.getMappingType();
+		mappingClassification = tslValidatorResult.getMappingClassification();
+		mappingQSCD = tslValidatorResult.getMappingQSCD();
+		issuerCert = tslValidatorResult.getIssuerCert();
+		Map<String, String> mappings = tslValidatorResult.getMappings();
+		calculatedMappings = mappings == null ? null : Collections.unmodifiableMap(new LinkedHashMap<String, String>(mappings));
+		basicOcspResponse = tslValidatorResult.getRevocationValueBasicOCSPResponse();
+		x509crl = tslValidatorResult.getRevocationValueCRL();
+		revValueUrl = tslValidatorResult.getRevocationValueURL();
+		revocationDate = copyDate(tslValidatorResult.getRevocationDate());
+		revocationReason = tslValidatorResult.getRevocationReason();
+	}
+
+	/**
+	 * Gets a copy of the input date.
+	 * @param date Date to copy. It can be <code>null</code>.
+	 * @return a copy of the input date, or <code>null</code> if it is <code>null</code>.
+	 */
+	private static Date copyDate(Date date) {
+		return date == null ? null : new Date(date.getTime());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#getTslCountryRegionCode()
+	 */
+	@Override
+	public String getTslCountryRegionCode() {
+		return tslCountryRegionCode;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#getTslSequenceNumber()
+	 */
+	@Override
+	public int getTslSequenceNumber() {
+		return tslSequenceNumber;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#getTslEtsiSpecificationAndVersion()
+	 */
+	@Override
+	public String getTslEtsiSpecificationAndVersion() {
+		return tslEtsiSpecificationAndVersion;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#getTslIssueDate()
+	 */
+	@Override
+	public Date getTslIssueDate() {
+		return copyDate(tslIssueDate);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#getTslNextUpdate()
+	 */
+	@Override
+	public Date getTslNextUpdate() {
+		return copyDate(tslNextUpdate);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#getTslCertificateExtensionAnalyzer()
+	 */
+	@Override
+	public TSLCertificateExtensionAnalyzer getTslCertificateExtensionAnalyzer() {
+		return tslCertExtAnalyzer;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#getResult()
+	 */
+	@Override
+	public int getResult() {
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#isResultFromServiceStatus()
+	 */
+	@Override
+	public Boolean isResultFromServiceStatus() {
+		return isResultFromServiceStatus;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#isResultFromDPorAIA()
+	 */
+	@Override
+	public Boolean isResultFromDPorAIA() {
+		return isResultFromDPorAIA;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#hasBeenDetectedTheCertificate()
+	 */
+	@Override
+	public boolean hasBeenDetectedTheCertificate() {
+		return result != ITSLValidatorResult.RESULT_NOT_DETECTED;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#hasBeenDetectedTheCertificateWithUnknownState()
+	 */
+	@Override
+	public boolean hasBeenDetectedTheCertificateWithUnknownState() {
+		return result == ITSLValidatorResult.RESULT_DETECTED_STATE_UNKNOWN;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#isEuropean()
+	 */
+	@Override
+	public boolean isEuropean() {
+		return isEuropean;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#getTSPName()
+	 */
+	@Override
+	public String getTSPName() {
+		return tspName;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#getTSP()
+	 */
+	@Override
+	public TrustServiceProvider getTSP() {
+		return tsp;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#getTSPServiceNameForDetect()
+	 */
+	@Override
+	public String getTSPServiceNameForDetect() {
+		return tspServiceNameForDetect;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#getTSPServiceForDetect()
+	 */
+	@Override
+	public TSPService getTSPServiceForDetect() {
+		return tspServiceForDetect;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#getTSPServiceHistoryInformationInstanceNameForDetect()
+	 */
+	@Override
+	public String getTSPServiceHistoryInformationInstanceNameForDetect() {
+		return tspServiceHistoryInformationInstanceNameForDetect;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#getTSPServiceHistoryInformationInstanceForDetect()
+	 */
+	@Override
+	public ServiceHistoryInstance getTSPServiceHistoryInformationInstanceForDetect() {
+		return tspServiceHistoryInformationInstanceForDetect;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#getTSPServiceNameForValidate()
+	 */
+	@Override
+	public String getTSPServiceNameForValidate() {
+		return tspServiceNameForValidate;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#getTSPServiceForValidate()
+	 */
+	@Override
+	public TSPService getTSPServiceForValidate() {
+		return tspServiceForValidate;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#getTSPServiceHistoryInformationInstanceNameForValidate()
+	 */
+	@Override
+	public String getTSPServiceHistoryInformationInstanceNameForValidate() {
+		return tspServiceHistoryInformationInstanceNameForValidate;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#getTSPServiceHistoryInformationInstanceForValidate()
+	 */
+	@Override
+	public ServiceHistoryInstance getTSPServiceHistoryInformationInstanceForValidate() {
+		return tspServiceHistoryInformationInstanceForValidate;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#getMappingType()
+	 */
+	@Override
+	public int getMappingType() {
+		return mappingType;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#getMappingClassification()
+	 */
+	@Override
+	public int getMappingClassification() {
+		return mappingClassification;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#getMappingQSCD()
+	 */
+	@Override
+	public int getMappingQSCD() {
+		return mappingQSCD;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#getMappings()
+	 */
+	@Override
+	public Map<String, String> getMappings() {
+		return calculatedMappings;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#setMappings(java.util.Map)
+	 */
+	@Override
+	public void setMappings(Map<String, String> mappings) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#getIssuerCert()
+	 */
+	@Override
+	public X509Certificate getIssuerCert() {
+		return issuerCert;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#getRevocationValueBasicOCSPResponse()
+	 */
+	@Override
+	public BasicOCSPResp getRevocationValueBasicOCSPResponse() {
+		return basicOcspResponse;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#setRevocationValueBasicOCSPResponse(org.bouncycastle.cert.ocsp.BasicOCSPResp)
+	 */
+	@Override
+	public void setRevocationValueBasicOCSPResponse(BasicOCSPResp bor) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#getRevocationValueCRL()
+	 */
+	@Override
+	public X509CRL getRevocationValueCRL() {
+		return x509crl;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#setRevocationValueCRL(java.security.cert.X509CRL)
+	 */
+	@Override
+	public void setRevocationValueCRL(X509CRL crl) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#getRevocationValueURL()
+	 */
+	@Override
+	public String getRevocationValueURL() {
+		return revValueUrl;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#setRevocationValueURL(java.lang.String)
+	 */
+	@Override
+	public void setRevocationValueURL(String revValueUrlParam) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#getRevocationDate()
+	 */
+	@Override
+	public Date getRevocationDate() {
+		return copyDate(revocationDate);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult#getRevocationReason()
+	 */
+	@Override
+	public int getRevocationReason() {
+		return revocationReason;
+	}
+
+}
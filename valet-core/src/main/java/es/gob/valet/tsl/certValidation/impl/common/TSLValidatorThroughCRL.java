@@ -20,7 +20,7 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>25/11/2018.</p>
  * @author Gobierno de España.
- * @version 1.7, 08/03/2022.
+ * @version 1.8, 18/10/2026.
  */
 package es.gob.valet.tsl.certValidation.impl.common;
 
@@ -67,7 +67,6 @@ import es.gob.valet.persistence.configuration.model.utils.IAlarmIdConstants;
 import es.gob.valet.tsl.access.TSLProperties;
 import es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult;
 import es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorThroughSomeMethod;
-import es.gob.valet.tsl.parsing.impl.common.DigitalID;
 import es.gob.valet.tsl.parsing.impl.common.ServiceHistoryInstance;
 import es.gob.valet.tsl.parsing.impl.common.TSPService;
 import es.gob.valet.tsl.parsing.impl.common.TrustServiceProvider;
@@ -76,7 +75,7 @@ import es.gob.valet.utils.UtilsHTTP;
 /**
  * <p>Class that represents a TSL validation operation process through a CRL.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.7, 08/03/2022.
+ * @version 1.8, 18/10/2026.
  */
 public class TSLValidatorThroughCRL implements ITSLValidatorThroughSomeMethod {
 
@@ -95,6 +94,11 @@ public class TSLValidatorThroughCRL implements ITSLValidatorThroughSomeMethod {
 	 */
 	private static final String SUN_READ_TIMEOUT_PROP = "sun.net.client.defaultReadTimeout";
 
+	/**
+	 * Constant attribute that represents the group that coalesces the concurrent downloads of the same CRL.
+	 */
+	private static final SingleFlightGroup<X509CRL> CRL_DOWNLOADS = new SingleFlightGroup<X509CRL>();
+
 	/**
 	 * Attribute that represents the digital identities processor.
 	 */
@@ -216,24 +220,27 @@ public class TSLValidatorThroughCRL implements ITSLValidatorThroughSomeMethod {
 	 */
 	private void extractCRLIssuerData(TSPService tspServiceDetected) {
 
-		// Obtenemos la lista de identidades digitales para analizarlas.
+		// Obtenemos los procesadores de identidades digitales, construidos
+		// al cargar la TSL, para analizarlas.
 		List<ServiceHistoryInstance> listServiceHistory = tspServiceDetected.getAllServiceHistory();
-		List<DigitalID> identitiesList = new ArrayList<DigitalID>();
+		List<DigitalIdentitiesProcessor> processorsList = new ArrayList<DigitalIdentitiesProcessor>();
 		if(!listServiceHistory.isEmpty()){
 			for(ServiceHistoryInstance shi : listServiceHistory){
-				identitiesList.addAll(shi.getAllDigitalIdentities());
+				processorsList.add(DigitalIdentitiesProcessorCache.getProcessor(shi));
 			}
 		}
-		identitiesList.addAll(tspServiceDetected.getServiceInformation().getAllDigitalIdentities());
+		processorsList.add(DigitalIdentitiesProcessorCache.getProcessor(tspServiceDetected.getServiceInformation()));
 
-		// Creamos el procesador de identidades digitales.
-		dip = new DigitalIdentitiesProcessor(identitiesList);
+		// Creamos el procesador de identidades digitales uniendo los datos
+		// ya procesados.
+		dip = DigitalIdentitiesProcessor.join(processorsList);
 
 	}
 
 	/**
 	 * Tries to download the CRL from the specified URI. First, search if that URI is defined in
-	 * some validation method with authentication, and then, if exists, use it.
+	 * some validation method with authentication, and then, if exists, use it. If the same CRL is
+	 * already being downloaded by other thread, waits for that download instead of starting a new one.
 	 * @param uri URI where is the CRL to download.
 	 * @param timeoutConnection Connection Timeout in milliseconds.
 	 * @param timeoutRead Timeout Read in milliseconds.
@@ -241,7 +248,36 @@ public class TSLValidatorThroughCRL implements ITSLValidatorThroughSomeMethod {
 	 */
 	private X509CRL downloadCRLFromSupplyPoint(URI uri, int timeoutConnection, int timeoutRead) {
 
-		X509CRL result = null;
+		// Primero comprobamos si la CRL ya se encuentra en la caché del nodo
+		// y sigue vigente.
+		X509CRL result = CRLCache.getInstance().getCRL(uri);
+		if (result == null) {
+
+			// Si no, la descargamos, compartiendo la descarga con el resto de
+			// hilos que soliciten la misma URI mientras esté en curso.
+			result = CRL_DOWNLOADS.execute(uri.toString(), () -> downloadAndCacheCRL(uri, timeoutConnection, timeoutRead), (long) timeoutConnection + timeoutRead);
+
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * Downloads the CRL from the specified URI and stores it in the node cache.
+	 * @param uri URI where is the CRL to download.
+	 * @param timeoutConnection Connection Timeout in milliseconds.
+	 * @param timeoutRead Timeout Read in milliseconds.
+	 * @return The downloaded CRL, or <code>null</code> if it was not possible to download.
+	 */
+	private X509CRL downloadAndCacheCRL(URI uri, int timeoutConnection, int timeoutRead) {
+
+		// Comprobamos de nuevo la caché, por si otro hilo ha terminado de
+		// descargar la CRL justo antes.
+		X509CRL result = CRLCache.getInstance().getCRL(uri);
+		if (result != null) {
+			return result;
+		}
 
 		// En función del tipo de URI, obtenemos la CRL.
 		if (UtilsLDAP.isUriOfSchemeLDAP(uri)) {
@@ -265,6 +301,9 @@ public class TSLValidatorThroughCRL implements ITSLValidatorThroughSomeMethod {
 
 		}
 
+		// Almacenamos la CRL obtenida en la caché del nodo.
+		CRLCache.getInstance().putCRL(uri, result);
+
 		return result;
 
 	}
@@ -444,7 +483,7 @@ public class TSLValidatorThroughCRL implements ITSLValidatorThroughSomeMethod {
 
 				// Construimos un procesador de identidad digital con
 				// este.
-				DigitalIdentitiesProcessor dipAux = new DigitalIdentitiesProcessor(shi.getAllDigitalIdentities());
+				DigitalIdentitiesProcessor dipAux = DigitalIdentitiesProcessorCache.getProcessor(shi);
 
 				// Lo usamos para tratar de verificar la CRL.
 				result = checkCRLisValidWithDigitalIdentitiesProcessor(crl, dipAux);
@@ -514,7 +553,7 @@ public class TSLValidatorThroughCRL implements ITSLValidatorThroughSomeMethod {
 
 							// Construimos un procesador de identidad digital
 							// con este.
-							DigitalIdentitiesProcessor dipAux = new DigitalIdentitiesProcessor(shi.getAllDigitalIdentities());
+							DigitalIdentitiesProcessor dipAux = DigitalIdentitiesProcessorCache.getProcessor(shi);
 
 							// Lo usamos para tratar de verificar la CRL.
 							result = checkCRLisValidWithDigitalIdentitiesProcessor(crl, dipAux);
@@ -571,12 +610,9 @@ public class TSLValidatorThroughCRL implements ITSLValidatorThroughSomeMethod {
 
 			List<X509Certificate> x509CertList = digIdProc.getX509certList();
 			for (X509Certificate x509issuerCRLCert: x509CertList) {
-				try {
-					crl.verify(x509issuerCRLCert.getPublicKey());
+				if (verifyCRL(crl, x509issuerCRLCert.getPublicKey())) {
 					result = true;
 					break;
-				} catch (Exception e) {
-					continue;
 				}
 			}
 
@@ -589,14 +625,10 @@ public class TSLValidatorThroughCRL implements ITSLValidatorThroughSomeMethod {
 
 			List<PublicKey> publicKeyList = digIdProc.getX509publicKeysList();
 			for (PublicKey publicKeyIssuer: publicKeyList) {
-				try {
-					crl.verify(publicKeyIssuer);
+				if (verifyCRL(crl, publicKeyIssuer)) {
 					result = true;
 					break;
-				} catch (Exception e) {
-					continue;
 				}
-
 			}
 
 		}
@@ -668,6 +700,31 @@ public class TSLValidatorThroughCRL implements ITSLValidatorThroughSomeMethod {
 
 	}
 
+	/**
+	 * Verifies the signature of the input CRL with the input public key. If the CRL is stored in the
+	 * node cache and it was already verified with that public key, the verification is not repeated.
+	 * @param crl {@link X509CRL} object that represents the CRL to verify.
+	 * @param publicKey Public key to use for the verification of the CRL.
+	 * @return <code>true</code> if the CRL has been verified, otherwise <code>false</code>.
+	 */
+	private boolean verifyCRL(X509CRL crl, PublicKey publicKey) {
+
+		boolean result = CRLCache.getInstance().isVerifiedWithKey(crl, publicKey);
+
+		if (!result) {
+			try {
+				crl.verify(publicKey);
+				CRLCache.getInstance().markVerifiedWithKey(crl, publicKey);
+				result = true;
+			} catch (Exception e) {
+				result = false;
+			}
+		}
+
+		return result;
+
+	}
+
 	/**
 	 * Method that searchs the certificate inside the CRL.
 	 * @param cert Certificate X509v3 to validate its revocation.
@@ -20,7 +20,7 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>25/11/2018.</p>
  * @author Gobierno de España.
- * @version 1.5, 27/09/2021.
+ * @version 1.6, 18/10/2026.
  */
 package es.gob.valet.tsl.certValidation.impl.common;
 
@@ -97,7 +97,7 @@ import es.gob.valet.utils.UtilsHTTP;
 /**
  * <p>Class that represents a TSL validation operation process through a CRL.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.5, 27/09/2021.
+ * @version 1.6, 18/10/2026.
  */
 public class TSLValidatorThroughOCSP implements ITSLValidatorThroughSomeMethod {
 
@@ -151,6 +151,12 @@ public class TSLValidatorThroughOCSP implements ITSLValidatorThroughSomeMethod {
 	 */
 	private static final Logger LOGGER = Logger.getLogger(TSLValidatorThroughOCSP.class);
 
+	/**
+	 * Constant attribute that represents the group that coalesces the concurrent OCSP requests without nonce for the
+	 * same CertificateID and OCSP responder.
+	 */
+	private static final SingleFlightGroup<OCSPResp> OCSP_REQUESTS = new SingleFlightGroup<OCSPResp>();
+
 	/**
 	 * Attribute that represents the digital identities processor.
 	 */
@@ -197,53 +203,39 @@ public class TSLValidatorThroughOCSP implements ITSLValidatorThroughSomeMethod {
 					int timeIntervalAllowed = TSLProperties.getOcspTimeIntervalAllowed();
 
 					// Iniciamos la variable que contendrá la respuesta OCSP.
-					OCSPResp ocspResponse = null;
-
-					// Iniciamos la variable que contendrá el valor
-					// del Nonce.
-					byte[ ] nonceByteArray = null;
+					BasicOCSPResp basicOcspResponse = null;
 
 					// Recorremos los distintos puntos de distribución hasta que
 					// obtengamos una respuesta OCSP.
 					String ocspUri = null;
 					for (URI uri: supplyPointsURIList) {
 
-						// Creamos el valor para la extensión Nonce.
-						nonceByteArray = buildNonce();
-
-						// Construimos y mandamos la petición OCSP.
+						// Obtenemos la respuesta OCSP (de la caché o mandando
+						// la petición OCSP) y comprobamos quien la firma.
 						LOGGER.debug(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL255, new Object[ ] { uri }));
-						ocspResponse = buildAndSendOCSPRequest(certificateId, nonceByteArray, uri, readTimeout, connectionTimeout);
-
-						// Si la respuesta no es nula, comprobamos quien la
-						// firma.
-						if (ocspResponse != null) {
-							// NOTA: A la siguiente función no se le pasa el TSP
-							// para que mire el firmante
-							// de la respuesta OCSP en otros servicios debido a
-							// que la respuesta OCSP la hemos
-							// obtenido a raíz de un SupplyPoint concreto de un
-							// servicio determinado, por lo
-							// que la respuesta OCSP debe estar emitida o por el
-							// mismo emisor del certificado
-							// a validar, o por la identidad digital del
-							// servicio de donde se obtuvo el SupplyPoint.
-							if (checkOCSPResponseIsValid(ocspResponse, nonceByteArray, validationDate, validationResult, true, null, null)) {
-								LOGGER.info(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL256, new Object[ ] { uri }));
-								ocspUri = uri.toString();
-								break;
-							} else {
-								ocspResponse = null;
-								LOGGER.debug(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL223));
-							}
+						// NOTA: A la siguiente función no se le pasa el TSP
+						// para que mire el firmante
+						// de la respuesta OCSP en otros servicios debido a
+						// que la respuesta OCSP la hemos
+						// obtenido a raíz de un SupplyPoint concreto de un
+						// servicio determinado, por lo
+						// que la respuesta OCSP debe estar emitida o por el
+						// mismo emisor del certificado
+						// a validar, o por la identidad digital del
+						// servicio de donde se obtuvo el SupplyPoint.
+						basicOcspResponse = obtainValidOCSPResponse(certificateId, uri, readTimeout, connectionTimeout, validationDate, validationResult, true, null, null);
+						if (basicOcspResponse != null) {
+							LOGGER.info(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL256, new Object[ ] { uri }));
+							ocspUri = uri.toString();
+							break;
 						}
 
 					}
 
 					// Si hemos obtenido una respuesta...
-					if (ocspResponse != null) {
+					if (basicOcspResponse != null) {
 
-						checkCertificateInOCSPResponse(certificateId, validationDate, ocspResponse, ocspUri, timeIntervalAllowed, validationResult);
+						checkCertificateInOCSPResponse(certificateId, validationDate, basicOcspResponse, ocspUri, timeIntervalAllowed, validationResult);
 
 						// Si se ha determinado un estado, guardamos la
 						// información
@@ -292,11 +284,9 @@ public class TSLValidatorThroughOCSP implements ITSLValidatorThroughSomeMethod {
 	 */
 	private void extractOCSPResponseSignerData(ServiceHistoryInstance shi) {
 
-		// Obtenemos la lista de identidades digitales para analizarlas.
-		List<DigitalID> identitiesList = shi.getAllDigitalIdentities();
-
-		// Creamos el procesador de identidades digitales.
-		dip = new DigitalIdentitiesProcessor(identitiesList);
+		// Obtenemos el procesador de identidades digitales, construido al
+		// cargar la TSL.
+		dip = DigitalIdentitiesProcessorCache.getProcessor(shi);
 
 	}
 
@@ -358,10 +348,82 @@ public class TSLValidatorThroughOCSP implements ITSLValidatorThroughSomeMethod {
 
 	}
 
+	/**
+	 * Obtains a valid OCSP response for the input CertificateID from the input OCSP responder. If the nonce-less mode
+	 * is enabled for the current thread, first searchs a usable response in the OCSP response cache, and the concurrent
+	 * requests for the same CertificateID and OCSP responder share the same request. Otherwise, builds
+	 * and sends the OCSP request, checks the response and stores it in the cache.
+	 * @param certificateId {@link CertificateID} to send in the OCSP request. It can not be <code>null</code>.
+	 * @param uri URI where send the request. It can not be <code>null</code>.
+	 * @param readTimeout Read timeout in milliseconds.
+	 * @param connectionTimeout Connection timeout in milliseconds.
+	 * @param validationDate Validation date to check the certificate status revocation.
+	 * @param validationResult Object where must be stored the validation result data.
+	 * @param checkOcspResponseSigner Flag that indicates if it must be checked if the signer of the ocsp response
+	 * is valid.
+	 * @param tsp Trust Service Provider to use for checks the issuer of the CRL/OCSP Response.
+	 * @param tslValidator TSL validator to verify if some TSP service is accomplished with the qualified (or not) certificate to check the OCSP response.
+	 * @return the valid basic OCSP response, or <code>null</code> if it has not been possible to obtain it.
+	 */
+	private BasicOCSPResp obtainValidOCSPResponse(CertificateID certificateId, URI uri, int readTimeout, int connectionTimeout, Date validationDate, TSLValidatorResult validationResult, boolean checkOcspResponseSigner, TrustServiceProvider tsp, ATSLValidator tslValidator) {
+
+		BasicOCSPResp result = null;
+		OCSPResponseCache ocspResponseCache = OCSPResponseCache.getInstance();
+		boolean noncelessMode = OCSPResponseCache.isNoncelessModeEnabledForCurrentThread();
+
+		// Si se permite el modo sin nonce, primero buscamos la respuesta en la
+		// caché del nodo. Al cambiar la fecha de validación y los datos del
+		// resultado, se vuelve a comprobar su firmante.
+		if (noncelessMode) {
+			BasicOCSPResp cachedResponse = ocspResponseCache.getResponse(certificateId, uri);
+			if (cachedResponse != null && checkBasicOCSPResponseIsValid(cachedResponse, null, validationDate, validationResult, checkOcspResponseSigner, tsp, tslValidator)) {
+				result = cachedResponse;
+			}
+		}
+
+		if (result == null) {
+
+			// Creamos el valor para la extensión Nonce, salvo que se permita
+			// el modo sin nonce.
+			byte[ ] nonceByteArray = noncelessMode ? null : buildNonce();
+
+			if (noncelessMode || nonceByteArray != null) {
+
+				// Construimos y mandamos la petición OCSP. Si no lleva nonce,
+				// la petición es idéntica para todos los hilos que consulten el
+				// mismo certificado al mismo servidor OCSP, por lo que
+				// compartimos la que esté en curso.
+				OCSPResp ocspResponse = null;
+				if (nonceByteArray == null) {
+					ocspResponse = OCSP_REQUESTS.execute(OCSPResponseCache.buildKey(certificateId, uri), () -> buildAndSendOCSPRequest(certificateId, null, uri, readTimeout, connectionTimeout), (long) readTimeout + connectionTimeout);
+				} else {
+					ocspResponse = buildAndSendOCSPRequest(certificateId, nonceByteArray, uri, readTimeout, connectionTimeout);
+				}
+
+				// Si la respuesta no es nula, comprobamos si está bien
+				// formada, el nonce y quien la firma.
+				if (ocspResponse != null) {
+					result = getValidBasicOCSPResponse(ocspResponse, nonceByteArray, validationDate, validationResult, checkOcspResponseSigner, tsp, tslValidator);
+					if (result == null) {
+						LOGGER.debug(Language.getResCoreTsl(ICoreTslMessages.LOGMTSL223));
+					} else {
+						ocspResponseCache.putResponse(certificateId, uri, result);
+					}
+				}
+
+			}
+
+		}
+
+		return result;
+
+	}
+
 	/**
 	 * Builds and send a OCSP Request with the input CertificateID to the input URI. Then parses and returns the response.
 	 * @param certificateId {@link CertificateID} to send in the OCSP request. It can not be <code>null</code>.
-	 * @param nonceByteArray Nonce to assign in the extensions in the OCSP Request. It can not be <code>null</code>.
+	 * @param nonceByteArray Nonce to assign in the extensions in the OCSP Request. If it is <code>null</code>, the
+	 * OCSP Request is sent without nonce.
 	 * @param uri URI where send the request. It can not be <code>null</code>.
 	 * @param readTimeout Read timeout in milliseconds.
 	 * @param connectionTimeout Connection timeout in milliseconds.
@@ -373,7 +435,7 @@ public class TSLValidatorThroughOCSP implements ITSLValidatorThroughSomeMethod {
 
 		// Si alguno de los parámetros de entrada es nulo, devolvemos null
 		// directamente.
-		if (certificateId != null && nonceByteArray != null && uri != null) {
+		if (certificateId != null && uri != null) {
 
 			try {
 
@@ -434,11 +496,11 @@ public class TSLValidatorThroughOCSP implements ITSLValidatorThroughSomeMethod {
 	 * is valid.
 	 * @param tsp Trust Service Provider to use for checks the issuer of the CRL/OCSP Response.
 	 * @param tslValidator TSL validator to verify if some TSP service is accomplished with the qualified (or not) certificate to check the OCSP response.
-	 * @return <code>true</code> if the OCSP response is valid, otherwise <code>false</code>.
+	 * @return the basic OCSP response if the OCSP response is valid, otherwise <code>null</code>.
 	 */
-	private boolean checkOCSPResponseIsValid(OCSPResp ocspResponse, byte[ ] nonce, Date validationDate, TSLValidatorResult validationResult, boolean checkOcspResponseSigner, TrustServiceProvider tsp, ATSLValidator tslValidator) {
+	private BasicOCSPResp getValidBasicOCSPResponse(OCSPResp ocspResponse, byte[ ] nonce, Date validationDate, TSLValidatorResult validationResult, boolean checkOcspResponseSigner, TrustServiceProvider tsp, ATSLValidator tslValidator) {
 
-		boolean result = false;
+		BasicOCSPResp result = null;
 
 		// Primero comprobamos el estado de la respuesta.
 		if (ocspResponse.getStatus() == OCSPResp.SUCCESSFUL) {
@@ -451,54 +513,79 @@ public class TSLValidatorThroughOCSP implements ITSLValidatorThroughSomeMethod {
 					// Obtenemos el objeto que representa a la respuesta básica.
 					BasicOCSPResp basicOcspResponse = (BasicOCSPResp) ocspResponse.getResponseObject();
 
-					// Comprobamos el Nonce.
-					if (checkOCSPResponseNonce(basicOcspResponse, nonce)) {
+					// Continuamos el proceso en otro método.
+					if (checkBasicOCSPResponseIsValid(basicOcspResponse, nonce, validationDate, validationResult, checkOcspResponseSigner, tsp, tslValidator)) {
+						result = basicOcspResponse;
+					}
 
-						// Solo comprobamos el firmante si así se indica en el
-						// método.
-						if (checkOcspResponseSigner) {
+				} else {
 
-							// Comprobamos si esta ha sido generada por un
-							// responder
-							// (incluye los certificados).
-							X509CertificateHolder[ ] basicOcspResponseSignerCerts = basicOcspResponse.getCerts();
-							if (basicOcspResponseSignerCerts != null && basicOcspResponseSignerCerts.length > 0) {
+					LOGGER.info(Language.getResCoreTsl(ICoreTslMessages.LOGMTSL136));
 
-								result = checkOCSPResponseIssuedBySomeDigitalIdentity(basicOcspResponse, basicOcspResponseSignerCerts, validationDate, validationResult, tsp, tslValidator);
+				}
 
-							}
-							// Si no incluye los certificados, tenemos que
-							// comprobar
-							// si
-							// está emitida
-							// por el mismo emisor del certificado a validar.
-							else {
+			} catch (OCSPException e) {
+				LOGGER.info(Language.getResCoreTsl(ICoreTslMessages.LOGMTSL136));
+			}
 
-								result = checkOCSPResponseIssuerSameThanCertificateToValidate(basicOcspResponse, validationResult);
+		} else {
 
-							}
+			LOGGER.info(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL135, new Object[ ] { translateOcspResponseStatusToString(ocspResponse.getStatus()) }));
 
-						} else {
+		}
 
-							result = true;
+		return result;
 
-						}
+	}
 
-					}
+	/**
+	 * Checks if the basic OCSP response is valid and its signed by one of the collected digital identities.
+	 * @param basicOcspResponse Basic OCSP response to analyze. It can not be null.
+	 * @param nonce Byte array that represents the nonce.
+	 * @param validationDate Validation date to check the certificate status revocation.
+	 * @param validationResult Object where must be stored the validation result data.
+	 * @param checkOcspResponseSigner Flag that indicates if it must be checked if the signer of the ocsp response
+	 * is valid.
+	 * @param tsp Trust Service Provider to use for checks the issuer of the CRL/OCSP Response.
+	 * @param tslValidator TSL validator to verify if some TSP service is accomplished with the qualified (or not) certificate to check the OCSP response.
+	 * @return <code>true</code> if the basic OCSP response is valid, otherwise <code>false</code>.
+	 */
+	private boolean checkBasicOCSPResponseIsValid(BasicOCSPResp basicOcspResponse, byte[ ] nonce, Date validationDate, TSLValidatorResult validationResult, boolean checkOcspResponseSigner, TrustServiceProvider tsp, ATSLValidator tslValidator) {
 
-				} else {
+		boolean result = false;
 
-					LOGGER.info(Language.getResCoreTsl(ICoreTslMessages.LOGMTSL136));
+		// Comprobamos el Nonce.
+		if (checkOCSPResponseNonce(basicOcspResponse, nonce)) {
+
+			// Solo comprobamos el firmante si así se indica en el
+			// método.
+			if (checkOcspResponseSigner) {
+
+				// Comprobamos si esta ha sido generada por un
+				// responder
+				// (incluye los certificados).
+				X509CertificateHolder[ ] basicOcspResponseSignerCerts = basicOcspResponse.getCerts();
+				if (basicOcspResponseSignerCerts != null && basicOcspResponseSignerCerts.length > 0) {
+
+					result = checkOCSPResponseIssuedBySomeDigitalIdentity(basicOcspResponse, basicOcspResponseSignerCerts, validationDate, validationResult, tsp, tslValidator);
 
 				}
+				// Si no incluye los certificados, tenemos que
+				// comprobar
+				// si
+				// está emitida
+				// por el mismo emisor del certificado a validar.
+				else {
 
-			} catch (OCSPException e) {
-				LOGGER.info(Language.getResCoreTsl(ICoreTslMessages.LOGMTSL136));
-			}
+					result = checkOCSPResponseIssuerSameThanCertificateToValidate(basicOcspResponse, validationResult);
 
-		} else {
+				}
 
-			LOGGER.info(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL135, new Object[ ] { translateOcspResponseStatusToString(ocspResponse.getStatus()) }));
+			} else {
+
+				result = true;
+
+			}
 
 		}
 
@@ -736,7 +823,7 @@ public class TSLValidatorThroughOCSP implements ITSLValidatorThroughSomeMethod {
 				if (shi != null && tslValidator.checkIfTSPServiceTypeIsOCSPCompatible(shi, isCertQualified) && tslValidator.checkIfTSPServiceStatusIsOK(shi.getServiceStatus().toString())) {
 
 					// Construimos un procesador de identidad digital con este.
-					DigitalIdentitiesProcessor dipAux = new DigitalIdentitiesProcessor(tspService.getServiceInformation().getAllDigitalIdentities());
+					DigitalIdentitiesProcessor dipAux = DigitalIdentitiesProcessorCache.getProcessor(tspService.getServiceInformation());
 
 					// Lo usamos para tratar de verificar la CRL.
 					result = checkIfSignerCertIsEqualToSomeDigitalIdentityUsingDigitalIdentitiesProcessor(cert, dipAux);
@@ -818,9 +905,9 @@ public class TSLValidatorThroughOCSP implements ITSLValidatorThroughSomeMethod {
 					if (publicKeyFinded) {
 
 						String certSubject = UtilsCertificate.getCertificateId(x509cert);
-						List<String> subjectNameDiList = dipToUse.getX509SubjectNameList();
+						List<String> subjectNameDiList = dipToUse.getX509CanonicalSubjectNameList();
 						for (String subjectNameDi: subjectNameDiList) {
-							if (certSubject.equals(UtilsCertificate.canonicalizarIdCertificado(subjectNameDi))) {
+							if (certSubject.equals(subjectNameDi)) {
 								result = true;
 								break;
 							}
@@ -968,34 +1055,6 @@ public class TSLValidatorThroughOCSP implements ITSLValidatorThroughSomeMethod {
 
 	}
 
-	/**
-	 * Checks in the OCSP response the revocation status of the certificate and sets the result.
-	 * @param certificateId CertificateID of the certificate to check its revocation status.
-	 * @param validationDate Validation date to use for check the revocation status.
-	 * @param uri {@link String} that represents the URI that localizes the OCSP server from which has
-	 * been obtained the Basic OCSP Response.
-	 * @param ocspResponse OCSP response to analyze.
-	 * @param timeIntervalAllowed Time interval allowed (in seconds) for the OCSP response.
-	 * @param validationResult Object where must be stored the validation result data.
-	 */
-	private void checkCertificateInOCSPResponse(CertificateID certificateId, Date validationDate, OCSPResp ocspResponse, String uri, int timeIntervalAllowed, TSLValidatorResult validationResult) {
-
-		try {
-
-			// Obtenemos el objeto que representa a la respuesta básica.
-			BasicOCSPResp basicOcspResponse = (BasicOCSPResp) ocspResponse.getResponseObject();
-
-			// Continuamos el proceso en otro método.
-			checkCertificateInOCSPResponse(certificateId, validationDate, basicOcspResponse, uri, timeIntervalAllowed, validationResult);
-
-		} catch (OCSPException e) {
-
-			LOGGER.warn(Language.getResCoreTsl(ICoreTslMessages.LOGMTSL142), e);
-
-		}
-
-	}
-
 	/**
 	 * Checks in the OCSP response the revocation status of the certificate and sets the result.
 	 * @param certificateId CertificateID of the certificate to check its revocation status.
@@ -1293,10 +1352,7 @@ public class TSLValidatorThroughOCSP implements ITSLValidatorThroughSomeMethod {
 				int timeIntervalAllowed = TSLProperties.getOcspTimeIntervalAllowed();
 
 				// Iniciamos la variable que contendrá la respuesta OCSP.
-				OCSPResp ocspResponse = null;
-				// Iniciamos la variable que contendrá el valor de la
-				// extensión Nonce.
-				byte[ ] nonce = null;
+				BasicOCSPResp basicOcspResponse = null;
 
 				// Los vamos recorriendo uno a uno hasta que encontremos un
 				// servicio OCSP que se pueda usar.
@@ -1315,23 +1371,13 @@ public class TSLValidatorThroughOCSP implements ITSLValidatorThroughSomeMethod {
 							// La convertimos a objeto URI.
 							URI ocspUri = URI.create(ocspUriString);
 
-							// Creamos el valor para la extensión Nonce.
-							nonce = buildNonce();
-
-							// Construimos y mandamos la petición OCSP.
-							ocspResponse = buildAndSendOCSPRequest(certificateId, nonce, ocspUri, readTimeout, connectionTimeout);
-
-							// Si la respuesta no es nula, comprobamos si está
-							// bien
+							// Obtenemos la respuesta OCSP (de la caché o mandando
+							// la petición OCSP) y comprobamos si está bien
 							// formada y el nonce.
-							if (ocspResponse != null) {
-								if (!checkOCSPResponseIsValid(ocspResponse, nonce, validationDate, validationResult, !isTsaCertificate, tsp, tslValidator)) {
-									ocspResponse = null;
-									LOGGER.debug(Language.getResCoreTsl(ICoreTslMessages.LOGMTSL223));
-								} else {
-									uri = ocspUriString;
-									break;
-								}
+							basicOcspResponse = obtainValidOCSPResponse(certificateId, ocspUri, readTimeout, connectionTimeout, validationDate, validationResult, !isTsaCertificate, tsp, tslValidator);
+							if (basicOcspResponse != null) {
+								uri = ocspUriString;
+								break;
 							}
 
 						}
@@ -1341,9 +1387,9 @@ public class TSLValidatorThroughOCSP implements ITSLValidatorThroughSomeMethod {
 				}
 
 				// Si hemos obtenido una respuesta...
-				if (ocspResponse != null) {
+				if (basicOcspResponse != null) {
 
-					checkCertificateInOCSPResponse(certificateId, validationDate, ocspResponse, uri, timeIntervalAllowed, validationResult);
+					checkCertificateInOCSPResponse(certificateId, validationDate, basicOcspResponse, uri, timeIntervalAllowed, validationResult);
 
 				} else {
 
@@ -1432,8 +1478,9 @@ public class TSLValidatorThroughOCSP implements ITSLValidatorThroughSomeMethod {
 						// Si la lista de identidades no es nula ni vacía...
 						if (digitalIdentitiesList != null && !digitalIdentitiesList.isEmpty()) {
 
-							// Creamos el procesador de identidades digitales.
-							DigitalIdentitiesProcessor dipCAService = new DigitalIdentitiesProcessor(digitalIdentitiesList);
+							// Obtenemos el procesador de identidades digitales,
+							// construido al cargar la TSL.
+							DigitalIdentitiesProcessor dipCAService = DigitalIdentitiesProcessorCache.getProcessor(shi);
 
 							// Procesamos el certificado a validar y modificamos
 							// el resultado si
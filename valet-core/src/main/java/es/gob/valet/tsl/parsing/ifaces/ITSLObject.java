@@ -20,7 +20,7 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>06/11/2018.</p>
  * @author Gobierno de España.
- * @version 1.1, 24/03/2021.
+ * @version 1.2, 18/10/2026.
  */
 package es.gob.valet.tsl.parsing.ifaces;
 
@@ -36,12 +36,13 @@ import es.gob.valet.tsl.exceptions.TSLEncodingException;
 import es.gob.valet.tsl.exceptions.TSLMalformedException;
 import es.gob.valet.tsl.exceptions.TSLParsingException;
 import es.gob.valet.tsl.parsing.impl.common.SchemeInformation;
+import es.gob.valet.tsl.parsing.impl.common.TSLIssuerIndex;
 import es.gob.valet.tsl.parsing.impl.common.TrustServiceProvider;
 
 /**
  * <p>Interface that represents a TSL object regardless it implementation.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.1, 24/03/2021.
+ * @version 1.2, 18/10/2026.
  */
 public interface ITSLObject extends Serializable {
 
@@ -117,6 +118,13 @@ public interface ITSLObject extends Serializable {
 	 */
 	boolean isThereSomeTrustServiceProvider();
 
+	/**
+	 * Gets the index of the digital identities declared in the services of this TSL. The index is built
+	 * when the TSL is parsed and reused for all the certificates to detect.
+	 * @return the index of the digital identities declared in the services of this TSL.
+	 */
+	TSLIssuerIndex getIssuerIndex();
+
 	/**
 	 * Gets the TSL signature.
 	 * @return TSL signature.
@@ -21,10 +21,11 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>06/11/2018.</p>
  * @author Gobierno de España.
- * @version 1.0, 06/11/2018.
+ * @version 1.1, 18/10/2026.
  */
 package es.gob.valet.tsl.parsing.impl;
 
+import es.gob.valet.tsl.access.TSLProperties;
 import es.gob.valet.tsl.parsing.ifaces.ITSLBuilder;
 import es.gob.valet.tsl.parsing.ifaces.ITSLObject;
 import es.gob.valet.tsl.parsing.ifaces.ITSLSpecificationsVersions;
@@ -33,7 +34,7 @@ import es.gob.valet.tsl.parsing.ifaces.ITSLSpecificationsVersions;
  * <p>Class that represents a TSL Builder Factory for all differents
  * specification and versions of TSL.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.0, 06/11/2018.
+ * @version 1.1, 18/10/2026.
  */
 public final class TSLBuilderFactory {
 
@@ -60,7 +61,13 @@ public final class TSLBuilderFactory {
 			if (ITSLSpecificationsVersions.SPECIFICATION_119612.equals(tslObject.getSpecification())) {
 
 				if (ITSLSpecificationsVersions.VERSION_020101.equals(tslObject.getSpecificationVersion())) {
-					result = new es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder(tslObject);
+					// Si se ha habilitado, se usa el constructor que lee la
+					// TSL en una única pasada StAX.
+					if (TSLProperties.isTslStreamingParsingEnabled()) {
+						result = new es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLStreamBuilder(tslObject);
+					} else {
+						result = new es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder(tslObject);
+					}
 				}
 
 			}
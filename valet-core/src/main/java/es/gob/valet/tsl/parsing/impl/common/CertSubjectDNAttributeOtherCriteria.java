@@ -21,7 +21,7 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>06/11/2018.</p>
  * @author Gobierno de España.
- * @version 1.0, 06/11/2018.
+ * @version 1.1, 18/10/2026.
  */
 package es.gob.valet.tsl.parsing.impl.common;
 
@@ -46,7 +46,7 @@ import es.gob.valet.tsl.parsing.ifaces.ITSLElementsAndAttributes;
  * <p>Class that represents a implementation for a specific Other Criteria
  * Any Type: CertSubjectDNAttributeOtherCriteria element.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.0, 06/11/2018.
+ * @version 1.1, 18/10/2026.
  */
 public class CertSubjectDNAttributeOtherCriteria extends OtherCriteria {
 
@@ -77,6 +77,14 @@ public class CertSubjectDNAttributeOtherCriteria extends OtherCriteria {
 		}
 	}
 
+	/**
+	 * Gets the value of the attribute {@link #oidList}.
+	 * @return the value of the attribute {@link #oidList}.
+	 */
+	public final List<String> getOidList() {
+		return oidList;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * @see es.gob.valet.tsl.parsing.impl.common.OtherCriteria#getOtherCriteriaType()
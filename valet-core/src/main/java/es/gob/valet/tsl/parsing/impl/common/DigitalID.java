@@ -21,7 +21,7 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>06/11/2018.</p>
  * @author Gobierno de España.
- * @version 1.0, 06/11/2018.
+ * @version 1.1, 18/10/2026.
  */
 package es.gob.valet.tsl.parsing.impl.common;
 
@@ -50,7 +50,7 @@ import es.gob.valet.tsl.exceptions.TSLParsingException;
  * <p>Class that defines a Digital Identity with all its information not dependent
  * of the specification or TSL version.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.0, 06/11/2018.
+ * @version 1.1, 18/10/2026.
  */
 public class DigitalID implements Serializable {
 
@@ -273,7 +273,7 @@ public class DigitalID implements Serializable {
 			switch (type) {
 				case DigitalID.TYPE_X509CERTIFICATE:
 					byte[ ] x509certEncoded = x509cert.getEncoded();
-					out.write(x509certEncoded.length);
+					out.writeInt(x509certEncoded.length);
 					out.write(x509certEncoded);
 					break;
 
@@ -281,13 +281,13 @@ public class DigitalID implements Serializable {
 					ByteArrayOutputStream baos = new ByteArrayOutputStream();
 					keyValue.save(baos);
 					byte[ ] kvByteArray = baos.toByteArray();
-					out.write(kvByteArray.length);
+					out.writeInt(kvByteArray.length);
 					out.write(kvByteArray);
 					break;
 
 				case DigitalID.TYPE_X509SKI:
-					byte[ ] skiByteArray = ski.getEncoded();
-					out.write(skiByteArray.length);
+					byte[ ] skiByteArray = ski.getKeyIdentifier();
+					out.writeInt(skiByteArray.length);
 					out.write(skiByteArray);
 					break;
 
@@ -318,14 +318,14 @@ public class DigitalID implements Serializable {
 				case DigitalID.TYPE_X509CERTIFICATE:
 					int lengthX509Cert = in.readInt();
 					byte[ ] x509encoded = new byte[lengthX509Cert];
-					in.read(x509encoded);
+					in.readFully(x509encoded);
 					x509cert = UtilsCertificate.getX509Certificate(x509encoded);
 					break;
 
 				case DigitalID.TYPE_KEYVALUE:
 					int lengthKeyValue = in.readInt();
 					byte[ ] kvByteArray = new byte[lengthKeyValue];
-					in.read(kvByteArray);
+					in.readFully(kvByteArray);
 					ByteArrayInputStream bais = new ByteArrayInputStream(kvByteArray);
 					keyValue = KeyValueType.Factory.parse(bais);
 					break;
@@ -333,7 +333,7 @@ public class DigitalID implements Serializable {
 				case DigitalID.TYPE_X509SKI:
 					int lengthX509ski = in.readInt();
 					byte[ ] skiByteArray = new byte[lengthX509ski];
-					in.read(skiByteArray);
+					in.readFully(skiByteArray);
 					ski = new SubjectKeyIdentifier(skiByteArray);
 					break;
 
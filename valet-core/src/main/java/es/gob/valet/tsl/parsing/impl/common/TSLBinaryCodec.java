@@ -0,0 +1,1566 @@
+/*
+/*******************************************************************************
+ * Copyright (C) 2018 MINHAFP, Gobierno de España
+ * This program is licensed and may be used, modified and redistributed under the  terms
+ * of the European Public License (EUPL), either version 1.1 or (at your option)
+ * any later version as soon as they are approved by the European Commission.
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and
+ * more details.
+ * You should have received a copy of the EUPL1.1 license
+ * along with this program; if not, you may find it at
+ * http:joinup.ec.europa.eu/software/page/eupl/licence-eupl
+ ******************************************************************************/
+
+/**
+ * <b>File:</b><p>es.gob.valet.tsl.parsing.impl.common.TSLBinaryCodec.java.</p>
+ * <b>Description:</b><p>Class that encodes and decodes the TSL Object representations in a compact binary format.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * <b>Date:</b><p>18/10/2026.</p>
+ * @author Gobierno de España.
+ * @version 1.0, 18/10/2026.
+ */
+package es.gob.valet.tsl.parsing.impl.common;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.apache.xmlbeans.XmlException;
+import org.apache.xmlbeans.XmlObject;
+import org.w3.x2000.x09.xmldsig.KeyValueType;
+import org.w3.x2000.x09.xmldsig.SignatureType;
+
+import es.gob.valet.commons.utils.UtilsCertificate;
+import es.gob.valet.exceptions.CommonUtilsException;
+import es.gob.valet.exceptions.IValetException;
+import es.gob.valet.i18n.Language;
+import es.gob.valet.i18n.messages.ICoreTslMessages;
+import es.gob.valet.tsl.exceptions.TSLArgumentException;
+import es.gob.valet.tsl.exceptions.TSLEncodingException;
+import es.gob.valet.tsl.exceptions.TSLParsingException;
+import es.gob.valet.tsl.parsing.ifaces.IAnyTypeExtension;
+import es.gob.valet.tsl.parsing.ifaces.IAnyTypeOtherCriteria;
+import es.gob.valet.tsl.parsing.ifaces.ITSLObject;
+import es.gob.valet.tsl.parsing.impl.common.extensions.AdditionalServiceInformation;
+import es.gob.valet.tsl.parsing.impl.common.extensions.CriteriaList;
+import es.gob.valet.tsl.parsing.impl.common.extensions.ExpiredCertsRevocationInfo;
+import es.gob.valet.tsl.parsing.impl.common.extensions.Extension;
+import es.gob.valet.tsl.parsing.impl.common.extensions.KeyUsage;
+import es.gob.valet.tsl.parsing.impl.common.extensions.KeyUsageBit;
+import es.gob.valet.tsl.parsing.impl.common.extensions.PoliciesList;
+import es.gob.valet.tsl.parsing.impl.common.extensions.QualificationElement;
+import es.gob.valet.tsl.parsing.impl.common.extensions.Qualifications;
+import es.gob.valet.tsl.parsing.impl.common.extensions.TakenOverBy;
+import es.gob.valet.tsl.parsing.impl.common.extensions.UnknownExtension;
+
+/**
+ * <p>Class that encodes and decodes the TSL Object representations (and all the elements of the package
+ * <code>es.gob.valet.tsl.parsing.impl.common</code>) in a compact binary format, independent of the Java
+ * serialization. It is used by the snapshot of the TSL cache, and by the Java serialization of the TSL Object
+ * (so any cache that copies or replicates it uses this format).</p>
+ * <p>The binary representation has the following structure:</p>
+ * <ul>
+ * <li>Header: magic number (int) and version of the format (byte).</li>
+ * <li>Table of strings: all the different strings (and URIs) of the TSL, each one encoded in UTF-8 and prefixed
+ * with its length. The elements of the TSL reference them by their position, so the repeated URIs (service types,
+ * status, qualifiers...) are stored and decoded only once.</li>
+ * <li>Table of certificates: all the different X509 certificates of the TSL, each one in DER and prefixed with its
+ * length. The digital identities reference them by their position, so each certificate is parsed only once.</li>
+ * <li>The elements of the TSL, in a fixed order.</li>
+ * </ul>
+ * <p>All the lengths, sizes and positions are encoded as unsigned variable-length integers (7 bits per byte).</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * @version 1.0, 18/10/2026.
+ */
+public final class TSLBinaryCodec {
+
+	/**
+	 * Constant attribute that represents the magic number that identifies the binary representation of a TSL ('VTSO').
+	 */
+	private static final int MAGIC_NUMBER = 0x5654534F;
+
+	/**
+	 * Constant attribute that represents the version of the binary format.
+	 */
+	private static final int FORMAT_VERSION = 1;
+
+	/**
+	 * Constant attribute that represents the tag of a Cert Subject DN Attribute Other Criteria.
+	 */
+	private static final int OTHER_CRITERIA_CERTSUBJECTDNATTRIBUTE = 1;
+
+	/**
+	 * Constant attribute that represents the tag of an Extended Key Usage Other Criteria.
+	 */
+	private static final int OTHER_CRITERIA_EXTENDEDKEYUSAGE = 2;
+
+	/**
+	 * Constant attribute that represents the tag of an Unknown Other Criteria.
+	 */
+	private static final int OTHER_CRITERIA_UNKNOWN = 3;
+
+	/**
+	 * Constant attribute that represents the tag of a Service History Instance.
+	 */
+	private static final int SERVICE_HISTORY_INSTANCE = 1;
+
+	/**
+	 * Constant attribute that represents the tag of a Service Information.
+	 */
+	private static final int SERVICE_INFORMATION = 2;
+
+	/**
+	 * Constant attribute that represents the mask of the bits of value of each byte of a variable-length integer.
+	 */
+	private static final int VARINT_VALUE_MASK = 0x7F;
+
+	/**
+	 * Constant attribute that represents the mask of the bit that indicates that a variable-length integer continues.
+	 */
+	private static final int VARINT_CONTINUATION_BIT = 0x80;
+
+	/**
+	 * Constant attribute that represents the number of bits of value of each byte of a variable-length integer.
+	 */
+	private static final int VARINT_BITS_PER_BYTE = 7;
+
+	/**
+	 * Constant attribute that represents the maximum number of bytes of a variable-length integer.
+	 */
+	private static final int VARINT_MAX_BYTES = 5;
+
+	/**
+	 * Constructor method for the class TSLBinaryCodec.java.
+	 */
+	private TSLBinaryCodec() {
+		super();
+	}
+
+	/**
+	 * Encodes the input TSL Object in the binary format.
+	 * @param tsl TSL Object to encode.
+	 * @return the binary representation of the TSL Object.
+	 * @throws TSLEncodingException In case of some error encoding the TSL Object.
+	 */
+	public static byte[ ] encode(ITSLObject tsl) throws TSLEncodingException {
+
+		try {
+			return new Encoder().encode(tsl);
+		} catch (IOException e) {
+			throw new TSLEncodingException(IValetException.COD_187, Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL370, new Object[ ] { e.getMessage() }), e);
+		}
+
+	}
+
+	/**
+	 * Decodes a TSL Object from its binary representation.
+	 * @param data Binary representation of the TSL Object.
+	 * @return the decoded TSL Object.
+	 * @throws TSLParsingException In case of the binary representation is not valid.
+	 */
+	public static TSLObject decode(byte[ ] data) throws TSLParsingException {
+		return decode(ByteBuffer.wrap(data));
+	}
+
+	/**
+	 * Decodes a TSL Object from its binary representation, stored in the remaining content of the input buffer. The
+	 * position of the input buffer is not modified, and its content is not copied (so it can be a memory-mapped file).
+	 * @param data Buffer with the binary representation of the TSL Object.
+	 * @return the decoded TSL Object.
+	 * @throws TSLParsingException In case of the binary representation is not valid.
+	 */
+	public static TSLObject decode(ByteBuffer data) throws TSLParsingException {
+
+		try {
+			return new Decoder(data.duplicate()).decode();
+		} catch (BufferUnderflowException | IllegalArgumentException e) {
+			throw new TSLParsingException(IValetException.COD_187, Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL372, new Object[ ] { e.getMessage() }), e);
+		}
+
+	}
+
+	/**
+	 * Writes an unsigned variable-length integer.
+	 * @param out Output where the integer is written.
+	 * @param value Integer to write (not negative).
+	 * @throws IOException In case of some error writing the integer.
+	 */
+	private static void writeVarInt(DataOutput out, int value) throws IOException {
+
+		int remaining = value;
+		while ((remaining & ~VARINT_VALUE_MASK) != 0) {
+			out.writeByte(remaining & VARINT_VALUE_MASK | VARINT_CONTINUATION_BIT);
+			remaining >>>= VARINT_BITS_PER_BYTE;
+		}
+		out.writeByte(remaining);
+
+	}
+
+	/**
+	 * Saves the input XMLBeans object in bytes, in the same way that the Java serialization of the Digital Identities.
+	 * @param xmlObject XMLBeans object to save.
+	 * @return the bytes of the XML of the object.
+	 * @throws IOException In case of some error saving the object.
+	 */
+	private static byte[ ] saveXmlObject(XmlObject xmlObject) throws IOException {
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		xmlObject.save(baos);
+		return baos.toByteArray();
+
+	}
+
+	/**
+	 * <p>Interface that represents a function that writes an element in the binary representation.</p>
+	 * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+	 * @param <T> Type of the element.
+	 * @version 1.0, 18/10/2026.
+	 */
+	@FunctionalInterface
+	private interface ElementWriter<T> {
+
+		/**
+		 * Writes the input element.
+		 * @param element Element to write.
+		 * @throws IOException In case of some error writing the element.
+		 */
+		void write(T element) throws IOException;
+
+	}
+
+	/**
+	 * <p>Interface that represents a function that reads an element from the binary representation.</p>
+	 * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+	 * @param <T> Type of the element.
+	 * @version 1.0, 18/10/2026.
+	 */
+	@FunctionalInterface
+	private interface ElementReader<T> {
+
+		/**
+		 * Reads an element.
+		 * @return the read element.
+		 * @throws TSLParsingException In case of the binary representation is not valid.
+		 */
+		T read() throws TSLParsingException;
+
+	}
+
+	/**
+	 * <p>Class that encodes a TSL Object. Each instance only must be used once.</p>
+	 * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+	 * @version 1.0, 18/10/2026.
+	 */
+	private static final class Encoder {
+
+		/**
+		 * Attribute that represents the encoded elements of the TSL.
+		 */
+		private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+		/**
+		 * Attribute that represents the output used to write the elements of the TSL.
+		 */
+		private final DataOutputStream out = new DataOutputStream(body);
+
+		/**
+		 * Attribute that represents the table of strings, with the position of each one.
+		 */
+		private final Map<String, Integer> strings = new LinkedHashMap<String, Integer>();
+
+		/**
+		 * Attribute that represents the table of certificates (encoded in DER), with the position of each one.
+		 */
+		private final Map<ByteBuffer, Integer> certificates = new LinkedHashMap<ByteBuffer, Integer>();
+
+		/**
+		 * Encodes the input TSL Object.
+		 * @param tsl TSL Object to encode.
+		 * @return the binary representation of the TSL Object.
+		 * @throws IOException In case of some error encoding the TSL Object.
+		 */
+		private byte[ ] encode(ITSLObject tsl) throws IOException {
+
+			// Primero se codifican los elementos, construyendo las tablas de
+			// cadenas y certificados.
+			writeString(tsl.getSpecification());
+			writeString(tsl.getSpecificationVersion());
+			writeUri(tsl.getTSLTag());
+			writeString(tsl.getID());
+			writeSchemeInformation(tsl.getSchemeInformation());
+			writeList(tsl.getTrustServiceProviderList(), this::writeTrustServiceProvider);
+			SignatureType signature = tsl.getSignature();
+			writeBytes(signature == null ? null : saveXmlObject(signature));
+			out.flush();
+
+			// Y después se componen la cabecera, las tablas y los elementos.
+			ByteArrayOutputStream result = new ByteArrayOutputStream(body.size() + strings.size() * Integer.SIZE);
+			DataOutputStream resultOut = new DataOutputStream(result);
+			resultOut.writeInt(MAGIC_NUMBER);
+			resultOut.writeByte(FORMAT_VERSION);
+			writeVarInt(resultOut, strings.size());
+			for (String string: strings.keySet()) {
+				byte[ ] utf8 = string.getBytes(StandardCharsets.UTF_8);
+				writeVarInt(resultOut, utf8.length);
+				resultOut.write(utf8);
+			}
+			writeVarInt(resultOut, certificates.size());
+			for (ByteBuffer certificate: certificates.keySet()) {
+				writeVarInt(resultOut, certificate.remaining());
+				resultOut.write(certificate.array(), certificate.arrayOffset() + certificate.position(), certificate.remaining());
+			}
+			body.writeTo(resultOut);
+			resultOut.flush();
+			return result.toByteArray();
+
+		}
+
+		/**
+		 * Writes a flag that indicates if the input element is present (not <code>null</code>).
+		 * @param element Element to check.
+		 * @return <code>true</code> if the element is present, otherwise <code>false</code>.
+		 * @throws IOException In case of some error writing the flag.
+		 */
+		private boolean writePresence(Object element) throws IOException {
+			out.writeBoolean(element != null);
+			return element != null;
+		}
+
+		/**
+		 * Writes a string, as a reference to the table of strings.
+		 * @param string String to write. It can be <code>null</code>.
+		 * @throws IOException In case of some error writing the string.
+		 */
+		private void writeString(String string) throws IOException {
+
+			int reference = 0;
+			if (string != null) {
+				Integer position = strings.get(string);
+				if (position == null) {
+					position = strings.size();
+					strings.put(string, position);
+				}
+				reference = position + 1;
+			}
+			writeVarInt(out, reference);
+
+		}
+
+		/**
+		 * Writes an URI, as a reference to the table of strings.
+		 * @param uri URI to write. It can be <code>null</code>.
+		 * @throws IOException In case of some error writing the URI.
+		 */
+		private void writeUri(URI uri) throws IOException {
+			writeString(uri == null ? null : uri.toString());
+		}
+
+		/**
+		 * Writes a date.
+		 * @param date Date to write. It can be <code>null</code>.
+		 * @throws IOException In case of some error writing the date.
+		 */
+		private void writeDate(Date date) throws IOException {
+			if (writePresence(date)) {
+				out.writeLong(date.getTime());
+			}
+		}
+
+		/**
+		 * Writes an array of bytes, prefixed with its length.
+		 * @param bytes Array of bytes to write. It can be <code>null</code>.
+		 * @throws IOException In case of some error writing the array.
+		 */
+		private void writeBytes(byte[ ] bytes) throws IOException {
+			writeVarInt(out, bytes == null ? 0 : bytes.length + 1);
+			if (bytes != null) {
+				out.write(bytes);
+			}
+		}
+
+		/**
+		 * Writes a certificate, as a reference to the table of certificates.
+		 * @param certificate Certificate to write. It can be <code>null</code>.
+		 * @throws IOException In case of some error encoding the certificate.
+		 */
+		private void writeCertificate(X509Certificate certificate) throws IOException {
+
+			int reference = 0;
+			if (certificate != null) {
+				ByteBuffer encoded;
+				try {
+					encoded = ByteBuffer.wrap(certificate.getEncoded());
+				} catch (CertificateEncodingException e) {
+					throw new IOException(e);
+				}
+				Integer position = certificates.get(encoded);
+				if (position == null) {
+					position = certificates.size();
+					certificates.put(encoded, position);
+				}
+				reference = position + 1;
+			}
+			writeVarInt(out, reference);
+
+		}
+
+		/**
+		 * Writes a list of elements, prefixed with its size.
+		 * @param list List to write. It can be <code>null</code>.
+		 * @param writer Function that writes each element.
+		 * @param <T> Type of the elements.
+		 * @throws IOException In case of some error writing the list.
+		 */
+		private <T> void writeList(List<T> list, ElementWriter<T> writer) throws IOException {
+			writeVarInt(out, list == null ? 0 : list.size() + 1);
+			if (list != null) {
+				for (T element: list) {
+					writer.write(element);
+				}
+			}
+		}
+
+		/**
+		 * Writes a map of elements by string (language), prefixed with its size.
+		 * @param map Map to write. It can be <code>null</code>.
+		 * @param writer Function that writes each value.
+		 * @param <T> Type of the values.
+		 * @throws IOException In case of some error writing the map.
+		 */
+		private <T> void writeMap(Map<String, T> map, ElementWriter<T> writer) throws IOException {
+			writeVarInt(out, map == null ? 0 : map.size() + 1);
+			if (map != null) {
+				for (Map.Entry<String, T> entry: map.entrySet()) {
+					writeString(entry.getKey());
+					writer.write(entry.getValue());
+				}
+			}
+		}
+
+		/**
+		 * Writes a list of strings.
+		 * @param list List to write. It can be <code>null</code>.
+		 * @throws IOException In case of some error writing the list.
+		 */
+		private void writeStringList(List<String> list) throws IOException {
+			writeList(list, this::writeString);
+		}
+
+		/**
+		 * Writes a list of URIs.
+		 * @param list List to write. It can be <code>null</code>.
+		 * @throws IOException In case of some error writing the list.
+		 */
+		private void writeUriList(List<URI> list) throws IOException {
+			writeList(list, this::writeUri);
+		}
+
+		/**
+		 * Writes a Scheme Information.
+		 * @param si Scheme Information to write. It can be <code>null</code>.
+		 * @throws IOException In case of some error writing the element.
+		 */
+		private void writeSchemeInformation(SchemeInformation si) throws IOException {
+
+			if (writePresence(si)) {
+				out.writeInt(si.getTslVersionIdentifier());
+				out.writeInt(si.getTslSequenceNumber());
+				writeUri(si.getTslType());
+				writeMap(si.getSchemeOperatorNames(), this::writeStringList);
+				writeAddress(si.getSchemeOperatorAddress());
+				writeMap(si.getSchemeNames(), this::writeString);
+				writeMap(si.getSchemeInformationURIs(), this::writeUriList);
+				writeUri(si.getStatusDeterminationApproach());
+				writeMap(si.getSchemeTypeCommunityRules(), this::writeUriList);
+				writeString(si.getSchemeTerritory());
+				writeMap(si.getPolicies(), this::writeUri);
+				writeMap(si.getLegalNotices(), this::writeString);
+				out.writeInt(si.getHistoricalPeriod());
+				writeList(si.getPointersToOtherTSL(), this::writeTSLPointer);
+				writeDate(si.getListIssueDateTime());
+				writeDate(si.getNextUpdate());
+				writeUriList(si.getDistributionPoints());
+				writeList(si.getSchemeInformationExtensions(), this::writeExtension);
+			}
+
+		}
+
+		/**
+		 * Writes an Address.
+		 * @param address Address to write. It can be <code>null</code>.
+		 * @throws IOException In case of some error writing the element.
+		 */
+		private void writeAddress(Address address) throws IOException {
+			if (writePresence(address)) {
+				writeMap(address.getPostalAddresses(), list -> writeList(list, this::writePostalAddress));
+				writeMap(address.getElectronicAddresses(), this::writeUriList);
+			}
+		}
+
+		/**
+		 * Writes a Postal Address.
+		 * @param pa Postal Address to write. It can be <code>null</code>.
+		 * @throws IOException In case of some error writing the element.
+		 */
+		private void writePostalAddress(PostalAddress pa) throws IOException {
+			if (writePresence(pa)) {
+				writeString(pa.getStreet());
+				writeString(pa.getLocality());
+				writeString(pa.getStateOrProvince());
+				writeString(pa.getPostalCode());
+				writeString(pa.getCountryName());
+			}
+		}
+
+		/**
+		 * Writes a TSL Pointer.
+		 * @param pointer TSL Pointer to write. It can be <code>null</code>.
+		 * @throws IOException In case of some error writing the element.
+		 */
+		private void writeTSLPointer(TSLPointer pointer) throws IOException {
+			if (writePresence(pointer)) {
+				writeUri(pointer.getTSLLocation());
+				writeList(pointer.getServiceDigitalIdentities(), this::writeServiceDigitalIdentity);
+			}
+		}
+
+		/**
+		 * Writes a Service Digital Identity.
+		 * @param sdi Service Digital Identity to write. It can be <code>null</code>.
+		 * @throws IOException In case of some error writing the element.
+		 */
+		private void writeServiceDigitalIdentity(ServiceDigitalIdentity sdi) throws IOException {
+			if (writePresence(sdi)) {
+				writeList(sdi.getAllDigitalIdentities(), this::writeDigitalID);
+			}
+		}
+
+		/**
+		 * Writes a Digital Identity.
+		 * @param digitalId Digital Identity to write. It can be <code>null</code>.
+		 * @throws IOException In case of some error writing the element.
+		 */
+		private void writeDigitalID(DigitalID digitalId) throws IOException {
+			if (writePresence(digitalId)) {
+				out.writeInt(digitalId.getType());
+				writeString(digitalId.getX509SubjectName());
+				writeString(digitalId.getOther());
+				writeCertificate(digitalId.getX509cert());
+				writeBytes(digitalId.getKeyValue() == null ? null : saveXmlObject(digitalId.getKeyValue()));
+				writeBytes(digitalId.getSki() == null ? null : digitalId.getSki().getKeyIdentifier());
+			}
+		}
+
+		/**
+		 * Writes a Trust Service Provider.
+		 * @param tsp Trust Service Provider to write. It can be <code>null</code>.
+		 * @throws IOException In case of some error writing the element.
+		 */
+		private void writeTrustServiceProvider(TrustServiceProvider tsp) throws IOException {
+			if (writePresence(tsp)) {
+				writeTSPInformation(tsp.getTspInformation());
+				writeList(tsp.getAllTSPServices(), this::writeTSPService);
+			}
+		}
+
+		/**
+		 * Writes a TSP Information.
+		 * @param tspInf TSP Information to write. It can be <code>null</code>.
+		 * @throws IOException In case of some error writing the element.
+		 */
+		private void writeTSPInformation(TSPInformation tspInf) throws IOException {
+			if (writePresence(tspInf)) {
+				writeMap(tspInf.getAllTSPNames(), this::writeStringList);
+				writeMap(tspInf.getAllTSPTradeNames(), this::writeStringList);
+				writeAddress(tspInf.getTspAddress());
+				writeMap(tspInf.getAllURI(), this::writeUriList);
+				writeList(tspInf.getTspInformationExtensions(), this::writeExtension);
+			}
+		}
+
+		/**
+		 * Writes a TSP Service.
+		 * @param tspService TSP Service to write. It can be <code>null</code>.
+		 * @throws IOException In case of some error writing the element.
+		 */
+		private void writeTSPService(TSPService tspService) throws IOException {
+			if (writePresence(tspService)) {
+				writeServiceHistoryInstance(tspService.getServiceInformation());
+				writeList(tspService.getAllServiceHistory(), this::writeServiceHistoryInstance);
+			}
+		}
+
+		/**
+		 * Writes a Service History Instance or a Service Information.
+		 * @param shi Service History Instance (or Service Information) to write. It can be <code>null</code>.
+		 * @throws IOException In case of some error writing the element.
+		 */
+		private void writeServiceHistoryInstance(ServiceHistoryInstance shi) throws IOException {
+
+			boolean isServiceInformation = shi instanceof ServiceInformation;
+			writeVarInt(out, shi == null ? 0 : isServiceInformation ? SERVICE_INFORMATION : SERVICE_HISTORY_INSTANCE);
+			if (shi != null) {
+				writeUri(shi.getServiceTypeIdentifier());
+				writeMap(shi.getServiceNames(), this::writeString);
+				writeList(shi.getAllDigitalIdentities(), this::writeDigitalID);
+				writeUri(shi.getServiceStatus());
+				writeDate(shi.getServiceStatusStartingTime());
+				writeList(shi.getServiceInformationExtensions(), this::writeExtension);
+				out.writeBoolean(shi.isServiceValidAndUsable());
+				if (isServiceInformation) {
+					ServiceInformation si = (ServiceInformation) shi;
+					writeMap(si.getSchemeServiceDefinitionURIs(), this::writeUriList);
+					writeUriList(si.getServiceSupplyPoints());
+					writeMap(si.getServiceDefinitionURIs(), this::writeUriList);
+				}
+			}
+
+		}
+
+		/**
+		 * Writes an extension.
+		 * @param extension Extension to write. It can be <code>null</code>.
+		 * @throws IOException In case of some error writing the element, or if the implementation of the extension
+		 * is not known.
+		 */
+		private void writeExtension(IAnyTypeExtension extension) throws IOException {
+
+			if (extension == null) {
+				writeVarInt(out, 0);
+			} else {
+				if (!(extension instanceof Extension)) {
+					throw new IOException(extension.getClass().getName());
+				}
+				writeVarInt(out, extension.getImplementationExtension() + 1);
+				out.writeBoolean(extension.isCritical());
+				out.writeInt(((Extension) extension).getExtensionType());
+				if (extension instanceof AdditionalServiceInformation) {
+					AdditionalServiceInformation asi = (AdditionalServiceInformation) extension;
+					writeUri(asi.getUri());
+					writeString(asi.getInformationValue());
+				} else if (extension instanceof ExpiredCertsRevocationInfo) {
+					writeDate(((ExpiredCertsRevocationInfo) extension).getExpiredDate());
+				} else if (extension instanceof Qualifications) {
+					writeList(((Qualifications) extension).getQualificationsList(), this::writeQualificationElement);
+				} else if (extension instanceof TakenOverBy) {
+					TakenOverBy tob = (TakenOverBy) extension;
+					writeUri(tob.getUri());
+					writeMap(tob.getAllTSPNames(), this::writeStringList);
+					writeMap(tob.getAllSchemeOperatorNames(), this::writeString);
+					writeString(tob.getSchemeTerritory());
+				} else if (extension instanceof UnknownExtension) {
+					writeString(((UnknownExtension) extension).getExtensionName());
+				} else {
+					throw new IOException(extension.getClass().getName());
+				}
+			}
+
+		}
+
+		/**
+		 * Writes a Qualification Element.
+		 * @param qe Qualification Element to write. It can be <code>null</code>.
+		 * @throws IOException In case of some error writing the element.
+		 */
+		private void writeQualificationElement(QualificationElement qe) throws IOException {
+			if (writePresence(qe)) {
+				writeUriList(qe.getQualifiersList());
+				writeCriteriaList(qe.getCriteriaList());
+			}
+		}
+
+		/**
+		 * Writes a Criteria List.
+		 * @param cl Criteria List to write. It can be <code>null</code>.
+		 * @throws IOException In case of some error writing the element.
+		 */
+		private void writeCriteriaList(CriteriaList cl) throws IOException {
+			if (writePresence(cl)) {
+				writeString(cl.getAssertType());
+				writeList(cl.getKeyUsageList(), this::writeKeyUsage);
+				writeList(cl.getPolicySetList(), this::writePoliciesList);
+				writeList(cl.getCriteriaListList(), this::writeCriteriaList);
+				writeString(cl.getDescription());
+				writeOtherCriteria(cl.getOtherCriteria());
+			}
+		}
+
+		/**
+		 * Writes a Key Usage.
+		 * @param ku Key Usage to write. It can be <code>null</code>.
+		 * @throws IOException In case of some error writing the element.
+		 */
+		private void writeKeyUsage(KeyUsage ku) throws IOException {
+			if (writePresence(ku)) {
+				writeList(ku.getKeyUsageBitList(), this::writeKeyUsageBit);
+			}
+		}
+
+		/**
+		 * Writes a Key Usage Bit.
+		 * @param kub Key Usage Bit to write. It can be <code>null</code>.
+		 * @throws IOException In case of some error writing the element.
+		 */
+		private void writeKeyUsageBit(KeyUsageBit kub) throws IOException {
+			if (writePresence(kub)) {
+				writeString(kub.getName());
+				out.writeBoolean(kub.getValue());
+			}
+		}
+
+		/**
+		 * Writes a Policies List.
+		 * @param pl Policies List to write. It can be <code>null</code>.
+		 * @throws IOException In case of some error writing the element.
+		 */
+		private void writePoliciesList(PoliciesList pl) throws IOException {
+			if (writePresence(pl)) {
+				writeStringList(pl.getPolicyIdentifiersList());
+			}
+		}
+
+		/**
+		 * Writes an Other Criteria.
+		 * @param otherCriteria Other Criteria to write. It can be <code>null</code>.
+		 * @throws IOException In case of some error writing the element, or if the implementation of the other
+		 * criteria is not known.
+		 */
+		private void writeOtherCriteria(IAnyTypeOtherCriteria otherCriteria) throws IOException {
+
+			if (otherCriteria == null) {
+				writeVarInt(out, 0);
+			} else if (otherCriteria instanceof CertSubjectDNAttributeOtherCriteria) {
+				writeVarInt(out, OTHER_CRITERIA_CERTSUBJECTDNATTRIBUTE);
+				writeStringList(((CertSubjectDNAttributeOtherCriteria) otherCriteria).getOidList());
+			} else if (otherCriteria instanceof ExtendedKeyUsageOtherCriteria) {
+				writeVarInt(out, OTHER_CRITERIA_EXTENDEDKEYUSAGE);
+				writeStringList(((ExtendedKeyUsageOtherCriteria) otherCriteria).getOidList());
+			} else if (otherCriteria instanceof UnknownOtherCriteria) {
+				writeVarInt(out, OTHER_CRITERIA_UNKNOWN);
+				writeString(((UnknownOtherCriteria) otherCriteria).getElementLocalName());
+			} else {
+				throw new IOException(otherCriteria.getClass().getName());
+			}
+
+		}
+
+	}
+
+	/**
+	 * <p>Class that decodes a TSL Object. Each instance only must be used once.</p>
+	 * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+	 * @version 1.0, 18/10/2026.
+	 */
+	private static final class Decoder {
+
+		/**
+		 * Attribute that represents the buffer with the binary representation.
+		 */
+		private final ByteBuffer in;
+
+		/**
+		 * Attribute that represents the table of strings.
+		 */
+		private String[ ] strings = null;
+
+		/**
+		 * Attribute that represents the URIs built from the table of strings, so each one is built only once.
+		 */
+		private URI[ ] uris = null;
+
+		/**
+		 * Attribute that represents the table of certificates.
+		 */
+		private X509Certificate[ ] certificates = null;
+
+		/**
+		 * Constructor method for the class Decoder.
+		 * @param inParam Buffer with the binary representation.
+		 */
+		private Decoder(ByteBuffer inParam) {
+			super();
+			in = inParam;
+		}
+
+		/**
+		 * Decodes the TSL Object.
+		 * @return the decoded TSL Object.
+		 * @throws TSLParsingException In case of the binary representation is not valid.
+		 */
+		private TSLObject decode() throws TSLParsingException {
+
+			if (in.remaining() < Integer.BYTES + 1 || in.getInt() != MAGIC_NUMBER || in.get() != FORMAT_VERSION) {
+				throw new TSLParsingException(IValetException.COD_187, Language.getResCoreTsl(ICoreTslMessages.LOGMTSL371));
+			}
+
+			// Leemos la tabla de cadenas.
+			strings = new String[readSize(readVarInt())];
+			uris = new URI[strings.length];
+			for (int index = 0; index < strings.length; index++) {
+				byte[ ] utf8 = readRawBytes(readVarInt());
+				strings[index] = new String(utf8, StandardCharsets.UTF_8);
+			}
+
+			// Leemos la tabla de certificados, parseando cada uno una única
+			// vez.
+			certificates = new X509Certificate[readSize(readVarInt())];
+			for (int index = 0; index < certificates.length; index++) {
+				try {
+					certificates[index] = UtilsCertificate.getX509Certificate(readRawBytes(readVarInt()));
+				} catch (CommonUtilsException e) {
+					throw invalid(e);
+				}
+			}
+
+			// Y por último los elementos de la TSL.
+			TSLObject result;
+			try {
+				result = new TSLObject(readString(), readString());
+				URI tslTag = readUri();
+				if (tslTag != null) {
+					result.setTSLTag(tslTag);
+				}
+				result.setID(readString());
+				SchemeInformation si = readSchemeInformation();
+				if (si != null) {
+					result.setSchemeInformation(si);
+				}
+				List<TrustServiceProvider> tspList = readList(this::readTrustServiceProvider);
+				if (tspList != null) {
+					for (TrustServiceProvider tsp: tspList) {
+						if (tsp != null) {
+							result.addNewTrustServiceProvider(tsp);
+						}
+					}
+				}
+			} catch (TSLArgumentException e) {
+				throw invalid(e);
+			}
+			byte[ ] signature = readBytes();
+			if (signature != null) {
+				try {
+					result.setSignature(SignatureType.Factory.parse(new ByteArrayInputStream(signature)));
+				} catch (XmlException | IOException e) {
+					throw invalid(e);
+				}
+			}
+
+			if (in.hasRemaining()) {
+				throw new TSLParsingException(IValetException.COD_187, Language.getResCoreTsl(ICoreTslMessages.LOGMTSL371));
+			}
+			return result;
+
+		}
+
+		/**
+		 * Builds the exception thrown when the binary representation is not valid.
+		 * @param cause Cause of the error.
+		 * @return the exception to throw.
+		 */
+		private TSLParsingException invalid(Exception cause) {
+			return new TSLParsingException(IValetException.COD_187, Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL372, new Object[ ] { cause.getMessage() }), cause);
+		}
+
+		/**
+		 * Reads an unsigned variable-length integer.
+		 * @return the read integer.
+		 * @throws TSLParsingException In case of the integer is not valid.
+		 */
+		private int readVarInt() throws TSLParsingException {
+
+			int result = 0;
+			int shift = 0;
+			int current;
+			do {
+				if (shift == VARINT_BITS_PER_BYTE * VARINT_MAX_BYTES) {
+					throw new TSLParsingException(IValetException.COD_187, Language.getResCoreTsl(ICoreTslMessages.LOGMTSL371));
+				}
+				current = in.get();
+				result |= (current & VARINT_VALUE_MASK) << shift;
+				shift += VARINT_BITS_PER_BYTE;
+			} while ((current & VARINT_CONTINUATION_BIT) != 0);
+			return result;
+
+		}
+
+		/**
+		 * Checks that a read size is coherent with the remaining content, so a corrupted size does not cause
+		 * a huge allocation of memory.
+		 * @param size Read size.
+		 * @return the input size.
+		 * @throws TSLParsingException In case of the size is not valid.
+		 */
+		private int readSize(int size) throws TSLParsingException {
+			if (size < 0 || size > in.remaining()) {
+				throw new TSLParsingException(IValetException.COD_187, Language.getResCoreTsl(ICoreTslMessages.LOGMTSL371));
+			}
+			return size;
+		}
+
+		/**
+		 * Reads an array of bytes of the input length.
+		 * @param length Length of the array.
+		 * @return the read array.
+		 * @throws TSLParsingException In case of the length is not valid.
+		 */
+		private byte[ ] readRawBytes(int length) throws TSLParsingException {
+			byte[ ] result = new byte[readSize(length)];
+			in.get(result);
+			return result;
+		}
+
+		/**
+		 * Reads a flag that indicates if the next element is present.
+		 * @return <code>true</code> if the next element is present, otherwise <code>false</code>.
+		 */
+		private boolean readBoolean() {
+			return in.get() != 0;
+		}
+
+		/**
+		 * Reads the position (plus one) of an element in a table.
+		 * @param tableLength Length of the table.
+		 * @return the position (plus one) of the element, or 0 if it is <code>null</code>.
+		 * @throws TSLParsingException In case of the position is not valid.
+		 */
+		private int readReference(int tableLength) throws TSLParsingException {
+			int result = readVarInt();
+			if (result < 0 || result > tableLength) {
+				throw new TSLParsingException(IValetException.COD_187, Language.getResCoreTsl(ICoreTslMessages.LOGMTSL371));
+			}
+			return result;
+		}
+
+		/**
+		 * Reads a string from the table of strings.
+		 * @return the read string. It can be <code>null</code>.
+		 * @throws TSLParsingException In case of the binary representation is not valid.
+		 */
+		private String readString() throws TSLParsingException {
+			int reference = readReference(strings.length);
+			return reference == 0 ? null : strings[reference - 1];
+		}
+
+		/**
+		 * Reads an URI from the table of strings.
+		 * @return the read URI. It can be <code>null</code>.
+		 * @throws TSLParsingException In case of the binary representation is not valid.
+		 */
+		private URI readUri() throws TSLParsingException {
+
+			URI result = null;
+			int reference = readReference(strings.length);
+			if (reference > 0) {
+				result = uris[reference - 1];
+				if (result == null) {
+					try {
+						result = new URI(strings[reference - 1]);
+					} catch (URISyntaxException e) {
+						throw invalid(e);
+					}
+					uris[reference - 1] = result;
+				}
+			}
+			return result;
+
+		}
+
+		/**
+		 * Reads a date.
+		 * @return the read date. It can be <code>null</code>.
+		 */
+		private Date readDate() {
+			return readBoolean() ? new Date(in.getLong()) : null;
+		}
+
+		/**
+		 * Reads an array of bytes prefixed with its length.
+		 * @return the read array. It can be <code>null</code>.
+		 * @throws TSLParsingException In case of the binary representation is not valid.
+		 */
+		private byte[ ] readBytes() throws TSLParsingException {
+			int length = readVarInt();
+			return length == 0 ? null : readRawBytes(length - 1);
+		}
+
+		/**
+		 * Reads a certificate from the table of certificates.
+		 * @return the read certificate. It can be <code>null</code>.
+		 * @throws TSLParsingException In case of the binary representation is not valid.
+		 */
+		private X509Certificate readCertificate() throws TSLParsingException {
+			int reference = readReference(certificates.length);
+			return reference == 0 ? null : certificates[reference - 1];
+		}
+
+		/**
+		 * Reads a list of elements prefixed with its size.
+		 * @param reader Function that reads each element.
+		 * @param <T> Type of the elements.
+		 * @return the read list. It can be <code>null</code>.
+		 * @throws TSLParsingException In case of the binary representation is not valid.
+		 */
+		private <T> List<T> readList(ElementReader<T> reader) throws TSLParsingException {
+
+			List<T> result = null;
+			int size = readVarInt();
+			if (size > 0) {
+				result = new ArrayList<T>(readSize(size - 1));
+				for (int index = 0; index < size - 1; index++) {
+					result.add(reader.read());
+				}
+			}
+			return result;
+
+		}
+
+		/**
+		 * Reads a map of elements by string (language) prefixed with its size.
+		 * @param reader Function that reads each value.
+		 * @param <T> Type of the values.
+		 * @return the read map. It can be <code>null</code>.
+		 * @throws TSLParsingException In case of the binary representation is not valid.
+		 */
+		private <T> Map<String, T> readMap(ElementReader<T> reader) throws TSLParsingException {
+
+			Map<String, T> result = null;
+			int size = readVarInt();
+			if (size > 0) {
+				result = new HashMap<String, T>(readSize(size - 1) * 2);
+				for (int index = 0; index < size - 1; index++) {
+					String key = readString();
+					result.put(key, reader.read());
+				}
+			}
+			return result;
+
+		}
+
+		/**
+		 * Reads a list of strings.
+		 * @return the read list. It can be <code>null</code>.
+		 * @throws TSLParsingException In case of the binary representation is not valid.
+		 */
+		private List<String> readStringList() throws TSLParsingException {
+			return readList(this::readString);
+		}
+
+		/**
+		 * Reads a list of URIs.
+		 * @return the read list. It can be <code>null</code>.
+		 * @throws TSLParsingException In case of the binary representation is not valid.
+		 */
+		private List<URI> readUriList() throws TSLParsingException {
+			return readList(this::readUri);
+		}
+
+		/**
+		 * Adds each element of the input list with the input function.
+		 * @param list List of elements. It can be <code>null</code>.
+		 * @param adder Function that adds each element.
+		 * @param <T> Type of the elements.
+		 */
+		private <T> void addEach(List<T> list, Consumer<T> adder) {
+			if (list != null) {
+				list.forEach(adder);
+			}
+		}
+
+		/**
+		 * Adds each value of the input map with the input function.
+		 * @param map Map of values by string (language). It can be <code>null</code>.
+		 * @param adder Function that adds each value.
+		 * @param <T> Type of the values.
+		 */
+		private <T> void putEach(Map<String, T> map, BiConsumer<String, T> adder) {
+			if (map != null) {
+				map.forEach(adder);
+			}
+		}
+
+		/**
+		 * Adds each element of each list of the input map with the input function.
+		 * @param map Map of lists by string (language). It can be <code>null</code>.
+		 * @param adder Function that adds each element.
+		 * @param <T> Type of the elements.
+		 */
+		private <T> void addEachInMap(Map<String, List<T>> map, BiConsumer<String, T> adder) {
+			if (map != null) {
+				for (Map.Entry<String, List<T>> entry: map.entrySet()) {
+					if (entry.getValue() != null) {
+						for (T element: entry.getValue()) {
+							adder.accept(entry.getKey(), element);
+						}
+					}
+				}
+			}
+		}
+
+		/**
+		 * Reads a Scheme Information.
+		 * @return the read element. It can be <code>null</code>.
+		 * @throws TSLParsingException In case of the binary representation is not valid.
+		 */
+		private SchemeInformation readSchemeInformation() throws TSLParsingException {
+
+			SchemeInformation result = null;
+			if (readBoolean()) {
+				result = new SchemeInformation();
+				result.setTslVersionIdentifier(in.getInt());
+				result.setTslSequenceNumber(in.getInt());
+				result.setTslType(readUri());
+				addEachInMap(readMap(this::readStringList), result::addNewSchemeOperatorName);
+				result.setSchemeOperatorAddress(readAddress());
+				result.setSchemeNames(readMap(this::readString));
+				addEachInMap(readMap(this::readUriList), result::addNewSchemeInformationURI);
+				result.setStatusDeterminationApproach(readUri());
+				addEachInMap(readMap(this::readUriList), result::addNewSchemeTypeCommunityRule);
+				result.setSchemeTerritory(readString());
+				result.setPolicies(readMap(this::readUri));
+				result.setLegalNotices(readMap(this::readString));
+				result.setHistoricalPeriod(in.getInt());
+				result.setPointersToOtherTSL(readList(this::readTSLPointer));
+				result.setListIssueDateTime(readDate());
+				result.setNextUpdate(readDate());
+				result.setDistributionPoints(readUriList());
+				addEach(readList(this::readExtension), result::addNewSchemeInformationExtension);
+			}
+			return result;
+
+		}
+
+		/**
+		 * Reads an Address.
+		 * @return the read element. It can be <code>null</code>.
+		 * @throws TSLParsingException In case of the binary representation is not valid.
+		 */
+		private Address readAddress() throws TSLParsingException {
+
+			Address result = null;
+			if (readBoolean()) {
+				result = new Address();
+				result.setPostalAddresses(readMap(() -> readList(this::readPostalAddress)));
+				result.setElectronicAddresses(readMap(this::readUriList));
+			}
+			return result;
+
+		}
+
+		/**
+		 * Reads a Postal Address.
+		 * @return the read element. It can be <code>null</code>.
+		 * @throws TSLParsingException In case of the binary representation is not valid.
+		 */
+		private PostalAddress readPostalAddress() throws TSLParsingException {
+			return readBoolean() ? new PostalAddress(readString(), readString(), readString(), readString(), readString()) : null;
+		}
+
+		/**
+		 * Reads a TSL Pointer.
+		 * @return the read element. It can be <code>null</code>.
+		 * @throws TSLParsingException In case of the binary representation is not valid.
+		 */
+		private TSLPointer readTSLPointer() throws TSLParsingException {
+
+			TSLPointer result = null;
+			if (readBoolean()) {
+				result = new TSLPointer(readString());
+				addEach(readList(this::readServiceDigitalIdentity), result::addNewServiceDigitalIdentity);
+			}
+			return result;
+
+		}
+
+		/**
+		 * Reads a Service Digital Identity.
+		 * @return the read element. It can be <code>null</code>.
+		 * @throws TSLParsingException In case of the binary representation is not valid.
+		 */
+		private ServiceDigitalIdentity readServiceDigitalIdentity() throws TSLParsingException {
+
+			ServiceDigitalIdentity result = null;
+			if (readBoolean()) {
+				result = new ServiceDigitalIdentity();
+				addEach(readList(this::readDigitalID), result::addNewDigitalIdentity);
+			}
+			return result;
+
+		}
+
+		/**
+		 * Reads a Digital Identity.
+		 * @return the read element. It can be <code>null</code>.
+		 * @throws TSLParsingException In case of the binary representation is not valid.
+		 */
+		private DigitalID readDigitalID() throws TSLParsingException {
+
+			DigitalID result = null;
+			if (readBoolean()) {
+				result = new DigitalID(in.getInt());
+				String x509SubjectName = readString();
+				if (x509SubjectName != null) {
+					result.setX509SubjectName(x509SubjectName);
+				}
+				result.setOther(readString());
+				result.setX509cert(readCertificate());
+				byte[ ] keyValue = readBytes();
+				if (keyValue != null) {
+					try {
+						result.setKeyValue(KeyValueType.Factory.parse(new ByteArrayInputStream(keyValue)));
+					} catch (XmlException | IOException e) {
+						throw invalid(e);
+					}
+				}
+				byte[ ] ski = readBytes();
+				if (ski != null) {
+					result.setSki(ski);
+				}
+			}
+			return result;
+
+		}
+
+		/**
+		 * Reads a Trust Service Provider.
+		 * @return the read element. It can be <code>null</code>.
+		 * @throws TSLParsingException In case of the binary representation is not valid.
+		 */
+		private TrustServiceProvider readTrustServiceProvider() throws TSLParsingException {
+
+			TrustServiceProvider result = null;
+			if (readBoolean()) {
+				result = new TrustServiceProvider();
+				result.setTspInformation(readTSPInformation());
+				addEach(readList(this::readTSPService), result::addNewTSPService);
+			}
+			return result;
+
+		}
+
+		/**
+		 * Reads a TSP Information.
+		 * @return the read element. It can be <code>null</code>.
+		 * @throws TSLParsingException In case of the binary representation is not valid.
+		 */
+		private TSPInformation readTSPInformation() throws TSLParsingException {
+
+			TSPInformation result = null;
+			if (readBoolean()) {
+				result = new TSPInformation();
+				addEachInMap(readMap(this::readStringList), result::addNewName);
+				addEachInMap(readMap(this::readStringList), result::addNewTradeName);
+				result.setTspAddress(readAddress());
+				addEachInMap(readMap(this::readUriList), result::addNewURI);
+				addEach(readList(this::readExtension), result::addNewTSPInformationExtension);
+			}
+			return result;
+
+		}
+
+		/**
+		 * Reads a TSP Service.
+		 * @return the read element. It can be <code>null</code>.
+		 * @throws TSLParsingException In case of the binary representation is not valid.
+		 */
+		private TSPService readTSPService() throws TSLParsingException {
+
+			TSPService result = null;
+			if (readBoolean()) {
+				result = new TSPService();
+				ServiceHistoryInstance serviceInformation = readServiceHistoryInstance();
+				if (serviceInformation != null && !(serviceInformation instanceof ServiceInformation)) {
+					throw new TSLParsingException(IValetException.COD_187, Language.getResCoreTsl(ICoreTslMessages.LOGMTSL371));
+				}
+				result.setServiceInformation((ServiceInformation) serviceInformation);
+				// El histórico ya está ordenado, por lo que se añade en el
+				// mismo orden.
+				addEach(readList(this::readServiceHistoryInstance), result::addNewServiceHistory);
+			}
+			return result;
+
+		}
+
+		/**
+		 * Reads a Service History Instance or a Service Information.
+		 * @return the read element. It can be <code>null</code>.
+		 * @throws TSLParsingException In case of the binary representation is not valid.
+		 */
+		private ServiceHistoryInstance readServiceHistoryInstance() throws TSLParsingException {
+
+			ServiceHistoryInstance result = null;
+			int tag = readVarInt();
+			if (tag == SERVICE_HISTORY_INSTANCE || tag == SERVICE_INFORMATION) {
+				result = tag == SERVICE_INFORMATION ? new ServiceInformation() : new ServiceHistoryInstance();
+				result.setServiceTypeIdentifier(readUri());
+				putEach(readMap(this::readString), result::addNewServiceName);
+				addEach(readList(this::readDigitalID), result::addNewDigitalIdentity);
+				result.setServiceStatus(readUri());
+				result.setServiceStatusStartingTime(readDate());
+				addEach(readList(this::readExtension), result::addNewServiceInformationExtension);
+				result.setServiceValidAndUsable(readBoolean());
+				if (tag == SERVICE_INFORMATION) {
+					ServiceInformation si = (ServiceInformation) result;
+					addEachInMap(readMap(this::readUriList), si::addNewSchemeServiceDefinitionURI);
+					addEach(readUriList(), si::addNewServiceSupplyPointURI);
+					addEachInMap(readMap(this::readUriList), si::addNewServiceDefinitionURI);
+				}
+			} else if (tag != 0) {
+				throw new TSLParsingException(IValetException.COD_187, Language.getResCoreTsl(ICoreTslMessages.LOGMTSL371));
+			}
+			return result;
+
+		}
+
+		/**
+		 * Reads an extension.
+		 * @return the read element. It can be <code>null</code>.
+		 * @throws TSLParsingException In case of the binary representation is not valid.
+		 */
+		private IAnyTypeExtension readExtension() throws TSLParsingException {
+
+			IAnyTypeExtension result = null;
+			int tag = readVarInt();
+			if (tag > 0) {
+				boolean critical = readBoolean();
+				int extensionType = in.getInt();
+				switch (tag - 1) {
+					case IAnyTypeExtension.IMPL_ADDITIONAL_SERVICE_INFORMATION:
+						AdditionalServiceInformation asi = new AdditionalServiceInformation(readUri(), critical, extensionType);
+						asi.setInformationValue(readString());
+						result = asi;
+						break;
+
+					case IAnyTypeExtension.IMPL_EXPIRED_CERTS_REVOCATION_INFO:
+						result = new ExpiredCertsRevocationInfo(readDate(), critical, extensionType);
+						break;
+
+					case IAnyTypeExtension.IMPL_QUALIFICATIONS:
+						Qualifications qualifications = new Qualifications(critical, extensionType);
+						addEach(readList(this::readQualificationElement), qualifications::addNewQualificationElement);
+						result = qualifications;
+						break;
+
+					case IAnyTypeExtension.IMPL_TAKENOVERBY:
+						TakenOverBy tob = new TakenOverBy(critical, extensionType);
+						tob.setUri(readUri());
+						addEachInMap(readMap(this::readStringList), tob::addNewTSPName);
+						putEach(readMap(this::readString), tob::addNewSchemeOperatorName);
+						tob.setSchemeTerritory(readString());
+						result = tob;
+						break;
+
+					case IAnyTypeExtension.IMPL_UNKNOWN_EXTENSION:
+						result = new UnknownExtension(critical, extensionType, readString());
+						break;
+
+					default:
+						throw new TSLParsingException(IValetException.COD_187, Language.getResCoreTsl(ICoreTslMessages.LOGMTSL371));
+				}
+			}
+			return result;
+
+		}
+
+		/**
+		 * Reads a Qualification Element.
+		 * @return the read element. It can be <code>null</code>.
+		 * @throws TSLParsingException In case of the binary representation is not valid.
+		 */
+		private QualificationElement readQualificationElement() throws TSLParsingException {
+
+			QualificationElement result = null;
+			if (readBoolean()) {
+				result = new QualificationElement();
+				addEach(readUriList(), result::addNewQualifier);
+				if (readBoolean()) {
+					readCriteriaListContent(result.addNewCriteriaList(readString()));
+				}
+			}
+			return result;
+
+		}
+
+		/**
+		 * Reads a Criteria List.
+		 * @return the read element. It can be <code>null</code>.
+		 * @throws TSLParsingException In case of the binary representation is not valid.
+		 */
+		private CriteriaList readCriteriaList() throws TSLParsingException {
+
+			CriteriaList result = null;
+			if (readBoolean()) {
+				result = new CriteriaList(readString());
+				readCriteriaListContent(result);
+			}
+			return result;
+
+		}
+
+		/**
+		 * Reads the content (all but the assert type) of a Criteria List.
+		 * @param cl Criteria List where the read content is stored.
+		 * @throws TSLParsingException In case of the binary representation is not valid.
+		 */
+		private void readCriteriaListContent(CriteriaList cl) throws TSLParsingException {
+			addEach(readList(this::readKeyUsage), cl::addNewKeyUsage);
+			addEach(readList(this::readPoliciesList), cl::addNewPolicySet);
+			addEach(readList(this::readCriteriaList), cl::addNewCriteriaList);
+			cl.setDescription(readString());
+			cl.setOtherCriteria(readOtherCriteria());
+		}
+
+		/**
+		 * Reads a Key Usage.
+		 * @return the read element. It can be <code>null</code>.
+		 * @throws TSLParsingException In case of the binary representation is not valid.
+		 */
+		private KeyUsage readKeyUsage() throws TSLParsingException {
+
+			KeyUsage result = null;
+			if (readBoolean()) {
+				result = new KeyUsage();
+				addEach(readList(this::readKeyUsageBit), result::addNewKeyUsageBit);
+			}
+			return result;
+
+		}
+
+		/**
+		 * Reads a Key Usage Bit.
+		 * @return the read element. It can be <code>null</code>.
+		 * @throws TSLParsingException In case of the binary representation is not valid.
+		 */
+		private KeyUsageBit readKeyUsageBit() throws TSLParsingException {
+			return readBoolean() ? new KeyUsageBit(readString(), readBoolean()) : null;
+		}
+
+		/**
+		 * Reads a Policies List.
+		 * @return the read element. It can be <code>null</code>.
+		 * @throws TSLParsingException In case of the binary representation is not valid.
+		 */
+		private PoliciesList readPoliciesList() throws TSLParsingException {
+
+			PoliciesList result = null;
+			if (readBoolean()) {
+				PoliciesList pl = new PoliciesList();
+				// Los identificadores ya se almacenaron normalizados.
+				addEach(readStringList(), policyIdentifier -> pl.addNewPolicyIdentifier(policyIdentifier, PoliciesList.IDENTIFIER_OID_AS_UNSPECIFIED));
+				result = pl;
+			}
+			return result;
+
+		}
+
+		/**
+		 * Reads an Other Criteria.
+		 * @return the read element. It can be <code>null</code>.
+		 * @throws TSLParsingException In case of the binary representation is not valid.
+		 */
+		private IAnyTypeOtherCriteria readOtherCriteria() throws TSLParsingException {
+
+			IAnyTypeOtherCriteria result = null;
+			switch (readVarInt()) {
+				case 0:
+					break;
+
+				case OTHER_CRITERIA_CERTSUBJECTDNATTRIBUTE:
+					CertSubjectDNAttributeOtherCriteria certSubjectDNAttribute = new CertSubjectDNAttributeOtherCriteria();
+					addEach(readStringList(), certSubjectDNAttribute::addNewOID);
+					result = certSubjectDNAttribute;
+					break;
+
+				case OTHER_CRITERIA_EXTENDEDKEYUSAGE:
+					ExtendedKeyUsageOtherCriteria extendedKeyUsage = new ExtendedKeyUsageOtherCriteria();
+					addEach(readStringList(), extendedKeyUsage::addNewOID);
+					result = extendedKeyUsage;
+					break;
+
+				case OTHER_CRITERIA_UNKNOWN:
+					result = new UnknownOtherCriteria(readString());
+					break;
+
+				default:
+					throw new TSLParsingException(IValetException.COD_187, Language.getResCoreTsl(ICoreTslMessages.LOGMTSL371));
+			}
+			return result;
+
+		}
+
+	}
+
+	/**
+	 * <p>Class that represents the serialized form of a TSL Object: its binary representation. It is used by the
+	 * Java serialization of {@link TSLObject}, so the caches that copy or replicate it use the binary format.</p>
+	 * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+	 * @version 1.0, 18/10/2026.
+	 */
+	static final class SerializedForm implements Serializable {
+
+		/**
+		 * Constant attribute that represents the serial version UID.
+		 */
+		private static final long serialVersionUID = 4127465982217693408L;
+
+		/**
+		 * Attribute that represents the binary representation of the TSL Object.
+		 */
+		private final byte[ ] data;
+
+		/**
+		 * Constructor method for the class SerializedForm.
+		 * @param tsl TSL Object to serialize.
+		 * @throws ObjectStreamException In case of some error encoding the TSL Object.
+		 */
+		SerializedForm(ITSLObject tsl) throws ObjectStreamException {
+			super();
+			try {
+				data = encode(tsl);
+			} catch (TSLEncodingException e) {
+				InvalidObjectException ioe = new InvalidObjectException(e.getMessage());
+				ioe.initCause(e);
+				throw ioe;
+			}
+		}
+
+		/**
+		 * Method that replaces the deserialized form with the decoded TSL Object.
+		 * @return the decoded TSL Object.
+		 * @throws ObjectStreamException In case of some error decoding the TSL Object.
+		 */
+		private Object readResolve() throws ObjectStreamException {
+			try {
+				return decode(data);
+			} catch (TSLParsingException e) {
+				InvalidObjectException ioe = new InvalidObjectException(e.getMessage());
+				ioe.initCause(e);
+				throw ioe;
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,383 @@
+/*
+/*******************************************************************************
+ * Copyright (C) 2018 MINHAFP, Gobierno de España
+ * This program is licensed and may be used, modified and redistributed under the  terms
+ * of the European Public License (EUPL), either version 1.1 or (at your option)
+ * any later version as soon as they are approved by the European Commission.
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and
+ * more details.
+ * You should have received a copy of the EUPL1.1 license
+ * along with this program; if not, you may find it at
+ * http:joinup.ec.europa.eu/software/page/eupl/licence-eupl
+ ******************************************************************************/
+
+/**
+ * <b>File:</b><p>es.gob.valet.tsl.parsing.impl.common.TSLIssuerIndex.java.</p>
+ * <b>Description:</b><p>Class that represents an index of the digital identities declared in a TSL,
+ * used to obtain the candidate TSP services that could detect a certificate.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * <b>Date:</b><p>18/10/2026.</p>
+ * @author Gobierno de España.
+ * @version 1.0, 18/10/2026.
+ */
+package es.gob.valet.tsl.parsing.impl.common;
+
+import java.security.PublicKey;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.log4j.Logger;
+import org.bouncycastle.asn1.ASN1OctetString;
+import org.bouncycastle.asn1.x509.AuthorityKeyIdentifier;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.SubjectKeyIdentifier;
+
+import es.gob.valet.commons.utils.CryptographicConstants;
+import es.gob.valet.commons.utils.UtilsCertificate;
+import es.gob.valet.commons.utils.UtilsCrypto;
+import es.gob.valet.i18n.Language;
+import es.gob.valet.i18n.messages.ICoreTslMessages;
+
+/**
+ * <p>Class that represents an index of the digital identities declared in a TSL,
+ * used to obtain the candidate TSP services that could detect a certificate.</p>
+ * <p>The index is built once when the TSL is loaded and it is immutable after that. Each X509 certificate
+ * identity is indexed by its subject name, its subject key identifier and the fingerprint of its public key,
+ * each X509 subject name identity by the canonicalized name and each X509 SKI identity by the key identifier.
+ * Services that declare some key value identity can not be indexed by the issuer data of the certificate
+ * to detect, so these are always returned as candidates.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * @version 1.0, 18/10/2026.
+ */
+public final class TSLIssuerIndex {
+
+	/**
+	 * Attribute that represents the object that manages the log of the class.
+	 */
+	private static final Logger LOGGER = Logger.getLogger(TSLIssuerIndex.class);
+
+	/**
+	 * Attribute that represents the entries indexed by the canonicalized subject name of the digital identities.
+	 */
+	private final Map<String, List<Entry>> entriesBySubjectName = new HashMap<String, List<Entry>>();
+
+	/**
+	 * Attribute that represents the entries indexed by the subject key identifier (hexadecimal) of the digital identities.
+	 */
+	private final Map<String, List<Entry>> entriesBySki = new HashMap<String, List<Entry>>();
+
+	/**
+	 * Attribute that represents the entries indexed by the fingerprint (SHA-256 in base64) of the public key
+	 * of the X509 certificate digital identities.
+	 */
+	private final Map<String, List<Entry>> entriesByPublicKey = new HashMap<String, List<Entry>>();
+
+	/**
+	 * Attribute that represents the entries that can not be indexed and must be always considered as candidates.
+	 */
+	private final List<Entry> notIndexedEntries = new ArrayList<Entry>();
+
+	/**
+	 * Constructor method for the class TSLIssuerIndex.java.
+	 * @param tspList List of Trust Service Providers to index. It can be <code>null</code>.
+	 */
+	public TSLIssuerIndex(List<TrustServiceProvider> tspList) {
+		super();
+		if (tspList != null) {
+			for (TrustServiceProvider tsp: tspList) {
+				indexTrustServiceProvider(tsp);
+			}
+		}
+	}
+
+	/**
+	 * Adds to the index all the digital identities of the services of the input TSP.
+	 * @param tsp Trust Service Provider to index.
+	 */
+	private void indexTrustServiceProvider(TrustServiceProvider tsp) {
+
+		List<TSPService> tspServiceList = tsp.getAllTSPServices();
+		if (tspServiceList != null) {
+			for (TSPService tspService: tspServiceList) {
+				// Indexamos tanto la información actual del servicio como sus
+				// históricos, ya que según la fecha de emisión del certificado
+				// se usará una u otra.
+				indexServiceHistoryInstance(new Entry(tsp, tspService, tspService.getServiceInformation()));
+				if (tspService.isThereSomeServiceHistory()) {
+					for (ServiceHistoryInstance shi: tspService.getAllServiceHistory()) {
+						indexServiceHistoryInstance(new Entry(tsp, tspService, shi));
+					}
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * Adds to the index all the digital identities of the service history instance referenced in the input entry.
+	 * @param entry Entry with the TSP, service and service history instance to index.
+	 */
+	private void indexServiceHistoryInstance(Entry entry) {
+
+		List<DigitalID> digitalIdentitiesList = entry.getServiceHistoryInstance().getAllDigitalIdentities();
+		if (digitalIdentitiesList != null) {
+
+			boolean notIndexed = false;
+			for (DigitalID digitalId: digitalIdentitiesList) {
+
+				switch (digitalId.getType()) {
+
+					case DigitalID.TYPE_X509CERTIFICATE:
+						X509Certificate x509cert = digitalId.getX509cert();
+						if (x509cert != null) {
+							try {
+								addEntry(entriesBySubjectName, UtilsCertificate.getCertificateId(x509cert), entry);
+							} catch (Exception e) {
+								LOGGER.warn(Language.getResCoreTsl(ICoreTslMessages.LOGMTSL348), e);
+							}
+							addEntry(entriesBySki, getSkiKey(x509cert), entry);
+							addEntry(entriesByPublicKey, getPublicKeyFingerprint(x509cert.getPublicKey()), entry);
+						}
+						break;
+
+					case DigitalID.TYPE_X509SUBJECTNAME:
+						if (digitalId.getX509SubjectName() != null) {
+							addEntry(entriesBySubjectName, UtilsCertificate.canonicalizarIdCertificado(digitalId.getX509SubjectName()), entry);
+						}
+						break;
+
+					case DigitalID.TYPE_X509SKI:
+						if (digitalId.getSki() != null) {
+							addEntry(entriesBySki, Hex.encodeHexString(digitalId.getSki().getKeyIdentifier()), entry);
+						}
+						break;
+
+					case DigitalID.TYPE_KEYVALUE:
+						// Una clave pública sin certificado no se puede
+						// relacionar con los datos del emisor del certificado
+						// a detectar.
+						notIndexed = true;
+						break;
+
+					default:
+						break;
+				}
+
+			}
+
+			if (notIndexed) {
+				notIndexedEntries.add(entry);
+			}
+
+		}
+
+	}
+
+	/**
+	 * Adds the input entry to the list associated to the input key in the input map.
+	 * @param map Map where to add the entry.
+	 * @param key Key to use. If it is <code>null</code>, nothing is done.
+	 * @param entry Entry to add.
+	 */
+	private static void addEntry(Map<String, List<Entry>> map, String key, Entry entry) {
+
+		if (key != null) {
+			List<Entry> entries = map.get(key);
+			if (entries == null) {
+				entries = new ArrayList<Entry>(1);
+				map.put(key, entries);
+			}
+			entries.add(entry);
+		}
+
+	}
+
+	/**
+	 * Gets the subject key identifier (hexadecimal) of the input certificate.
+	 * @param cert X509v3 certificate.
+	 * @return the subject key identifier (hexadecimal) of the input certificate, or <code>null</code>
+	 * if it is not defined.
+	 */
+	private static String getSkiKey(X509Certificate cert) {
+
+		String result = null;
+		try {
+			byte[ ] skiExtension = cert.getExtensionValue(Extension.subjectKeyIdentifier.getId());
+			if (skiExtension != null) {
+				SubjectKeyIdentifier ski = SubjectKeyIdentifier.getInstance(ASN1OctetString.getInstance(skiExtension).getOctets());
+				result = Hex.encodeHexString(ski.getKeyIdentifier());
+			}
+		} catch (Exception e) {
+			LOGGER.warn(Language.getResCoreTsl(ICoreTslMessages.LOGMTSL348), e);
+		}
+		return result;
+
+	}
+
+	/**
+	 * Gets the authority key identifier (hexadecimal) of the input certificate.
+	 * @param cert X509v3 certificate.
+	 * @return the authority key identifier (hexadecimal) of the input certificate, or <code>null</code>
+	 * if it is not defined.
+	 */
+	private static String getAkiKey(X509Certificate cert) {
+
+		String result = null;
+		try {
+			byte[ ] akiExtension = cert.getExtensionValue(Extension.authorityKeyIdentifier.getId());
+			if (akiExtension != null) {
+				AuthorityKeyIdentifier aki = AuthorityKeyIdentifier.getInstance(ASN1OctetString.getInstance(akiExtension).getOctets());
+				if (aki.getKeyIdentifier() != null) {
+					result = Hex.encodeHexString(aki.getKeyIdentifier());
+				}
+			}
+		} catch (Exception e) {
+			LOGGER.warn(Language.getResCoreTsl(ICoreTslMessages.LOGMTSL114), e);
+		}
+		return result;
+
+	}
+
+	/**
+	 * Gets the fingerprint (SHA-256 in base64) of the input public key.
+	 * @param publicKey Public key.
+	 * @return the fingerprint of the input public key, or <code>null</code> if it can not be calculated.
+	 */
+	private static String getPublicKeyFingerprint(PublicKey publicKey) {
+
+		String result = null;
+		if (publicKey != null && publicKey.getEncoded() != null) {
+			try {
+				result = UtilsCrypto.calculateDigestReturnB64String(CryptographicConstants.HASH_ALGORITHM_SHA256, publicKey.getEncoded(), null);
+			} catch (Exception e) {
+				LOGGER.warn(Language.getResCoreTsl(ICoreTslMessages.LOGMTSL348), e);
+			}
+		}
+		return result;
+
+	}
+
+	/**
+	 * Gets the TSP services that could detect the input certificate, that is, those that declare some digital
+	 * identity that matches with the issuer name, the authority key identifier or the public key of the certificate,
+	 * and those that can not be indexed.
+	 * @param cert X509v3 certificate to detect.
+	 * @return Set (by identity) of the candidate TSP services. Never <code>null</code>.
+	 */
+	public Set<TSPService> getCandidateTSPServices(X509Certificate cert) {
+
+		Set<TSPService> result = Collections.newSetFromMap(new IdentityHashMap<TSPService, Boolean>());
+
+		// Añadimos los servicios que no se han podido indexar.
+		addServices(result, notIndexedEntries);
+
+		// Servicios cuyas identidades coinciden con el emisor del certificado.
+		try {
+			addServices(result, entriesBySubjectName.get(UtilsCertificate.getCertificateIssuerId(cert)));
+		} catch (Exception e) {
+			LOGGER.warn(Language.getResCoreTsl(ICoreTslMessages.LOGMTSL111), e);
+		}
+		String akiKey = getAkiKey(cert);
+		if (akiKey != null) {
+			addServices(result, entriesBySki.get(akiKey));
+		}
+
+		// Servicios que declaran el propio certificado (certificados de CA y
+		// de TSA).
+		String publicKeyFingerprint = getPublicKeyFingerprint(cert.getPublicKey());
+		if (publicKeyFingerprint != null) {
+			addServices(result, entriesByPublicKey.get(publicKeyFingerprint));
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * Adds the TSP services of the input entries to the input set.
+	 * @param services Set where to add the TSP services.
+	 * @param entries List of entries. It can be <code>null</code>.
+	 */
+	private static void addServices(Set<TSPService> services, List<Entry> entries) {
+
+		if (entries != null) {
+			for (Entry entry: entries) {
+				services.add(entry.getTspService());
+			}
+		}
+
+	}
+
+	/**
+	 * <p>Class that represents an entry of the index: the TSP, the service and the service history instance
+	 * that declare some indexed digital identity.</p>
+	 * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+	 * @version 1.0, 18/10/2026.
+	 */
+	public static final class Entry {
+
+		/**
+		 * Attribute that represents the Trust Service Provider.
+		 */
+		private final TrustServiceProvider tsp;
+
+		/**
+		 * Attribute that represents the TSP service.
+		 */
+		private final TSPService tspService;
+
+		/**
+		 * Attribute that represents the service history instance (current service information or historic).
+		 */
+		private final ServiceHistoryInstance shi;
+
+		/**
+		 * Constructor method for the class TSLIssuerIndex.Entry.java.
+		 * @param tspParam Trust Service Provider.
+		 * @param tspServiceParam TSP service.
+		 * @param shiParam Service history instance.
+		 */
+		Entry(TrustServiceProvider tspParam, TSPService tspServiceParam, ServiceHistoryInstance shiParam) {
+			super();
+			tsp = tspParam;
+			tspService = tspServiceParam;
+			shi = shiParam;
+		}
+
+		/**
+		 * Gets the value of the attribute {@link #tsp}.
+		 * @return the value of the attribute {@link #tsp}.
+		 */
+		public TrustServiceProvider getTrustServiceProvider() {
+			return tsp;
+		}
+
+		/**
+		 * Gets the value of the attribute {@link #tspService}.
+		 * @return the value of the attribute {@link #tspService}.
+		 */
+		public TSPService getTspService() {
+			return tspService;
+		}
+
+		/**
+		 * Gets the value of the attribute {@link #shi}.
+		 * @return the value of the attribute {@link #shi}.
+		 */
+		public ServiceHistoryInstance getServiceHistoryInstance() {
+			return shi;
+		}
+
+	}
+
+}
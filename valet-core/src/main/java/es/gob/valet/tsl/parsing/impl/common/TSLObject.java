@@ -21,11 +21,12 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>06/11/2018.</p>
  * @author Gobierno de España.
- * @version 1.4, 14/12/2021.
+ * @version 1.5, 18/10/2026.
  */
 package es.gob.valet.tsl.parsing.impl.common;
 
 import java.io.InputStream;
+import java.io.ObjectStreamException;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
@@ -52,7 +53,7 @@ import es.gob.valet.tsl.parsing.impl.TSLCheckerFactory;
  * <p>Class that represents a TSL object with the principal functions
  * (access information) regardless it implementation.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.4, 14/12/2021
+ * @version 1.5, 18/10/2026
  */
 public class TSLObject implements ITSLObject {
 
@@ -105,6 +106,11 @@ public class TSLObject implements ITSLObject {
 	 */
 	private transient byte[ ] fullTSLxml = null;
 
+	/**
+	 * Attribute that represents the index of the digital identities declared in the services of the TSL.
+	 */
+	private transient volatile TSLIssuerIndex issuerIndex = null;
+
 	/**
 	 * Constructor method for the class TSLObject.java.
 	 */
@@ -255,6 +261,24 @@ public class TSLObject implements ITSLObject {
 		return !trustServiceProviderList.isEmpty();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.ifaces.ITSLObject#getIssuerIndex()
+	 */
+	@Override
+	public final TSLIssuerIndex getIssuerIndex() {
+
+		// Si aún no se ha construido (por ejemplo, tras deserializar el
+		// objeto), lo construimos ahora.
+		TSLIssuerIndex result = issuerIndex;
+		if (result == null) {
+			result = new TSLIssuerIndex(trustServiceProviderList);
+			issuerIndex = result;
+		}
+		return result;
+
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * @see es.gob.valet.tsl.parsing.ifaces.ITSLObject#getSignature()
@@ -335,6 +359,7 @@ public class TSLObject implements ITSLObject {
 		try {
 			LOGGER.info(Language.getResCoreTsl(ICoreTslMessages.LOGMTSL343));
 			// Construimos la TSL a partir del XML.
+			issuerIndex = null;
 			fullTSLxml = getTSLBuilder().buildTSLFromXML(is);
 			// Comprobamos que los valores establecidos son los correctos.
 			if(schemeInformation != null){
@@ -368,6 +393,9 @@ public class TSLObject implements ITSLObject {
 				trustServiceProviderList = backupTrustServiceProviderList;
 				signature = backupSignature;
 			}
+			// Construimos el índice de identidades digitales de los
+			// servicios con los datos definitivos de la TSL.
+			issuerIndex = new TSLIssuerIndex(trustServiceProviderList);
 			if (cache && !UtilsStringChar.isNullOrEmpty(msgError)) {
 				LOGGER.warn(msgError);
 			}
@@ -393,4 +421,15 @@ public class TSLObject implements ITSLObject {
 
 	}
 
+	/**
+	 * Method that replaces the TSL Object with its binary representation in the Java serialization, so the caches
+	 * that copy or replicate it do not need to serialize all the graph of objects.
+	 * @return the serialized form of the TSL Object.
+	 * @throws ObjectStreamException In case of some error encoding the TSL Object.
+	 * @see TSLBinaryCodec
+	 */
+	private Object writeReplace() throws ObjectStreamException {
+		return new TSLBinaryCodec.SerializedForm(this);
+	}
+
 }
@@ -0,0 +1,124 @@
+/*
+/*******************************************************************************
+ * Copyright (C) 2018 MINHAFP, Gobierno de España
+ * This program is licensed and may be used, modified and redistributed under the  terms
+ * of the European Public License (EUPL), either version 1.1 or (at your option)
+ * any later version as soon as they are approved by the European Commission.
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and
+ * more details.
+ * You should have received a copy of the EUPL1.1 license
+ * along with this program; if not, you may find it at
+ * http:joinup.ec.europa.eu/software/page/eupl/licence-eupl
+ ******************************************************************************/
+
+/**
+ * <b>File:</b><p>es.gob.valet.tsl.parsing.impl.common.TSLSequenceNumberReader.java.</p>
+ * <b>Description:</b><p>Class that reads the sequence number of a TSL from the beginning of its XML stream,
+ * without parsing the whole TSL.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * <b>Date:</b><p>18/10/2026.</p>
+ * @author Gobierno de España.
+ * @version 1.0, 18/10/2026.
+ */
+package es.gob.valet.tsl.parsing.impl.common;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.log4j.Logger;
+
+import es.gob.valet.i18n.Language;
+import es.gob.valet.i18n.messages.ICoreTslMessages;
+import es.gob.valet.tsl.parsing.ifaces.ITSLElementsAndAttributes;
+import es.gob.valet.utils.IHttpStreamReader;
+
+/**
+ * <p>Class that reads the sequence number of a TSL from the beginning of its XML stream, without parsing the
+ * whole TSL. The stream is read with a StAX pull parser only until the element SchemeInformation/TSLSequenceNumber
+ * is found (or the element SchemeInformation ends), so the list of trust service providers is never read.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * @version 1.0, 18/10/2026.
+ */
+public final class TSLSequenceNumberReader implements IHttpStreamReader<Integer> {
+
+	/**
+	 * Attribute that represents the object that manages the log of the class.
+	 */
+	private static final Logger LOGGER = Logger.getLogger(TSLSequenceNumberReader.class);
+
+	/**
+	 * Constructor method for the class TSLSequenceNumberReader.java.
+	 */
+	public TSLSequenceNumberReader() {
+		super();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.utils.IHttpStreamReader#readData(java.io.InputStream)
+	 */
+	@Override
+	public Integer readData(InputStream is) throws IOException {
+
+		Integer result = null;
+		XMLStreamReader reader = null;
+
+		try {
+
+			// Deshabilitamos el tratamiento de DTD y entidades externas.
+			XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+			xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+			xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+			xmlInputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+			reader = xmlInputFactory.createXMLStreamReader(is);
+
+			// Recorremos el flujo hasta encontrar el número de secuencia dentro
+			// de SchemeInformation, o hasta que este elemento termine.
+			boolean inSchemeInformation = false;
+			boolean finished = false;
+			while (!finished && reader.hasNext()) {
+
+				int event = reader.next();
+				if (event == XMLStreamConstants.START_ELEMENT) {
+
+					if (ITSLElementsAndAttributes.ELEMENT_SCHEME_INFORMATION.equals(reader.getLocalName())) {
+						inSchemeInformation = true;
+					} else if (inSchemeInformation && ITSLElementsAndAttributes.ELEMENT_TSL_SEQUENCE_NUMBER.equals(reader.getLocalName())) {
+						result = Integer.valueOf(reader.getElementText().trim());
+						finished = true;
+					}
+
+				} else if (event == XMLStreamConstants.END_ELEMENT && ITSLElementsAndAttributes.ELEMENT_SCHEME_INFORMATION.equals(reader.getLocalName())) {
+					finished = true;
+				}
+
+			}
+
+		} catch (XMLStreamException | NumberFormatException e) {
+			// Si no se puede obtener, se devuelve null para que se analice la
+			// TSL completa.
+			LOGGER.warn(Language.getResCoreTsl(ICoreTslMessages.LOGMTSL359), e);
+			result = null;
+		} finally {
+			if (reader != null) {
+				try {
+					reader.close();
+				} catch (XMLStreamException e) {
+					LOGGER.warn(Language.getResCoreTsl(ICoreTslMessages.LOGMTSL358), e);
+				}
+			}
+		}
+
+		return result;
+
+	}
+
+}
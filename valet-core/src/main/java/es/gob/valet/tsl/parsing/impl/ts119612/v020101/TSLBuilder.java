@@ -21,7 +21,7 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>06/11/2018.</p>
  * @author Gobierno de España.
- * @version 1.0, 06/11/2018.
+ * @version 1.1, 18/10/2026.
  */
 package es.gob.valet.tsl.parsing.impl.ts119612.v020101;
 
@@ -122,7 +122,7 @@ import es.gob.valet.tsl.parsing.impl.common.extensions.TakenOverBy;
  * <p>Class that represents a TSL Builder of TSL implementation as the
  * ETSI TS 119612 2.1.1 specification.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.0, 06/11/2018.
+ * @version 1.1, 18/10/2026.
  */
 public class TSLBuilder extends ATSLBuilder {
 
@@ -371,8 +371,18 @@ public class TSLBuilder extends ATSLBuilder {
 	 */
 	@Override
 	protected String getTSLStatusDeterminationApproachString() {
+		return fixStatusDeterminationApproach(tsl.getSchemeInformation().getStatusDeterminationApproach());
+	}
+
+	/**
+	 * Replaces the incorrect values of the status determination approach used by the european TSL
+	 * by the correct one.
+	 * @param statusDeterminationApproach Status determination approach read from the TSL.
+	 * @return the status determination approach to use.
+	 */
+	protected final String fixStatusDeterminationApproach(String statusDeterminationApproach) {
 
-		String result = tsl.getSchemeInformation().getStatusDeterminationApproach();
+		String result = statusDeterminationApproach;
 
 		// Se ha decidido para poder soportar las TSL europeas (mal definidas),
 		// que se interpreten
@@ -606,7 +616,7 @@ public class TSLBuilder extends ATSLBuilder {
 	 * @return Text value of the first text node from the input node. <code>null</code> if
 	 * there is no one.
 	 */
-	private String searchFirstTextNodeValue(Node node) {
+	protected final String searchFirstTextNodeValue(Node node) {
 
 		String result = null;
 
@@ -1359,8 +1369,17 @@ public class TSLBuilder extends ATSLBuilder {
 	 */
 	@Override
 	protected String getTSPServiceInformationType(int posTSP, int posService) {
+		return fixServiceTypeIdentifier(getTSPServiceInformationFromTSPInPosition(posTSP, posService).getServiceTypeIdentifier());
+	}
 
-		String result = getTSPServiceInformationFromTSPInPosition(posTSP, posService).getServiceTypeIdentifier();
+	/**
+	 * Replaces the incorrect value of the TLIssuer service type identifier by the correct one.
+	 * @param serviceTypeIdentifier Service type identifier read from the TSL.
+	 * @return the service type identifier to use.
+	 */
+	protected final String fixServiceTypeIdentifier(String serviceTypeIdentifier) {
+
+		String result = serviceTypeIdentifier;
 
 		// Debido a un error en la especificación, publicaron erróneamente el
 		// valor del
@@ -1440,7 +1459,7 @@ public class TSLBuilder extends ATSLBuilder {
 	 * @return <code>true</code> if the input service type identifier matches with some one that represents
 	 * a service that not is using the PKI public key technology, otherwise <code>false</code>.
 	 */
-	private boolean checkIfServiceTypeIsNoPKIorUnspecified(String serviceType) {
+	protected final boolean checkIfServiceTypeIsNoPKIorUnspecified(String serviceType) {
 
 		boolean result = false;
 
@@ -1588,20 +1607,7 @@ public class TSLBuilder extends ATSLBuilder {
 
 		ServiceHistoryInstanceType shit = getServiceHistoryInstanceFromTSPInPosition(posTSP, posService, posHistory);
 		if (shit != null) {
-			result = shit.getServiceTypeIdentifier();
-
-			// Debido a un error en la especificación, publicaron erróneamente
-			// el valor del
-			// tipo TLIssuer (una letra errónea en la URI). En caso de tratarse
-			// de esta, lo
-			// modificamos internamente por la correcta.
-			if (ITSLCommonURIs.TSL_SERVICETYPE_TLISSUER_BADDEFINITION.equalsIgnoreCase(result)) {
-
-				LOGGER.warn(Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL231, new Object[ ] { result, ITSLCommonURIs.TSL_SERVICETYPE_TLISSUER }));
-				result = ITSLCommonURIs.TSL_SERVICETYPE_TLISSUER;
-
-			}
-
+			result = fixServiceTypeIdentifier(shit.getServiceTypeIdentifier());
 		}
 
 		return result;
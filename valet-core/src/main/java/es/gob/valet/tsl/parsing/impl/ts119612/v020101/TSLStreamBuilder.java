@@ -0,0 +1,1716 @@
+/*
+/*******************************************************************************
+ * Copyright (C) 2018 MINHAFP, Gobierno de España
+ * This program is licensed and may be used, modified and redistributed under the  terms
+ * of the European Public License (EUPL), either version 1.1 or (at your option)
+ * any later version as soon as they are approved by the European Commission.
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and
+ * more details.
+ * You should have received a copy of the EUPL1.1 license
+ * along with this program; if not, you may find it at
+ * http:joinup.ec.europa.eu/software/page/eupl/licence-eupl
+ ******************************************************************************/
+
+/**
+ * <b>File:</b><p>es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLStreamBuilder.java.</p>
+ * <b>Description:</b><p>Class that represents a TSL Builder of TSL implementation as the
+ * ETSI TS 119612 2.1.1 specification that reads the XML in a single StAX pass.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * <b>Date:</b><p>18/10/2026.</p>
+ * @author Gobierno de España.
+ * @version 1.0, 18/10/2026.
+ */
+package es.gob.valet.tsl.parsing.impl.ts119612.v020101;
+
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.XMLConstants;
+import javax.xml.datatype.DatatypeConfigurationException;
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.commons.codec.binary.Base64;
+import org.apache.log4j.Logger;
+import org.apache.xmlbeans.XmlException;
+import org.apache.xmlbeans.XmlObject;
+import org.apache.xmlbeans.XmlOptions;
+import org.w3.x2000.x09.xmldsig.KeyValueDocument;
+import org.w3.x2000.x09.xmldsig.SignatureDocument;
+import org.w3.x2000.x09.xmldsig.SignatureType;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import es.gob.valet.commons.utils.UtilsResources;
+import es.gob.valet.commons.utils.UtilsStringChar;
+import es.gob.valet.exceptions.IValetException;
+import es.gob.valet.i18n.Language;
+import es.gob.valet.i18n.messages.ICoreTslMessages;
+import es.gob.valet.tsl.exceptions.TSLParsingException;
+import es.gob.valet.tsl.parsing.ifaces.IAnyTypeExtension;
+import es.gob.valet.tsl.parsing.ifaces.ITSLCommonURIs;
+import es.gob.valet.tsl.parsing.ifaces.ITSLElementsAndAttributes;
+import es.gob.valet.tsl.parsing.ifaces.ITSLObject;
+import es.gob.valet.tsl.parsing.ifaces.ITSLSpecificationsVersions;
+import es.gob.valet.tsl.parsing.impl.common.DigitalID;
+import es.gob.valet.tsl.parsing.impl.common.PostalAddress;
+import es.gob.valet.tsl.parsing.impl.common.ServiceDigitalIdentity;
+import es.gob.valet.tsl.parsing.impl.common.ServiceHistoryInstance;
+import es.gob.valet.tsl.parsing.impl.common.ServiceInformation;
+import es.gob.valet.tsl.parsing.impl.common.TSLPointer;
+import es.gob.valet.tsl.parsing.impl.common.TSPInformation;
+
+/**
+ * <p>Class that represents a TSL Builder of TSL implementation as the
+ * ETSI TS 119612 2.1.1 specification that reads the XML with a StAX pull parser in a single pass,
+ * keeping only the text values of the elements in a lightweight tree, instead of loading the whole
+ * XMLBeans store of the TSL.</p>
+ * <p>Only the elements that need typed access (extensions, key values, other digital identities and the
+ * signature) are loaded as DOM fragments and parsed with the XMLBeans types of the superclass.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * @version 1.0, 18/10/2026.
+ */
+public class TSLStreamBuilder extends TSLBuilder {
+
+	/**
+	 * Attribute that represents the object that manages the log of the class.
+	 */
+	private static final Logger LOGGER = Logger.getLogger(TSLStreamBuilder.class);
+
+	/**
+	 * Constant attribute that represents the local name of the attribute 'Id'.
+	 */
+	private static final String ATTR_ID = "Id";
+
+	/**
+	 * Constant attribute that represents the local name of the attribute 'lang'.
+	 */
+	private static final String ATTR_LANG = "lang";
+
+	/**
+	 * Constant attribute that represents the local name of the attribute 'Critical'.
+	 */
+	private static final String ATTR_CRITICAL = "Critical";
+
+	/**
+	 * Constant attribute that represents the local name of the root element 'TrustServiceStatusList'.
+	 */
+	private static final String EL_TRUST_SERVICE_STATUS_LIST = "TrustServiceStatusList";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'SchemeInformation'.
+	 */
+	private static final String EL_SCHEME_INFORMATION = "SchemeInformation";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'TSLVersionIdentifier'.
+	 */
+	private static final String EL_TSL_VERSION_IDENTIFIER = "TSLVersionIdentifier";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'TSLSequenceNumber'.
+	 */
+	private static final String EL_TSL_SEQUENCE_NUMBER = "TSLSequenceNumber";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'TSLType'.
+	 */
+	private static final String EL_TSL_TYPE = "TSLType";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'SchemeOperatorName'.
+	 */
+	private static final String EL_SCHEME_OPERATOR_NAME = "SchemeOperatorName";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'SchemeOperatorAddress'.
+	 */
+	private static final String EL_SCHEME_OPERATOR_ADDRESS = "SchemeOperatorAddress";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'Name'.
+	 */
+	private static final String EL_NAME = "Name";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'URI'.
+	 */
+	private static final String EL_URI = "URI";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'PostalAddresses'.
+	 */
+	private static final String EL_POSTAL_ADDRESSES = "PostalAddresses";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'PostalAddress'.
+	 */
+	private static final String EL_POSTAL_ADDRESS = "PostalAddress";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'StreetAddress'.
+	 */
+	private static final String EL_STREET_ADDRESS = "StreetAddress";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'Locality'.
+	 */
+	private static final String EL_LOCALITY = "Locality";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'StateOrProvince'.
+	 */
+	private static final String EL_STATE_OR_PROVINCE = "StateOrProvince";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'PostalCode'.
+	 */
+	private static final String EL_POSTAL_CODE = "PostalCode";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'CountryName'.
+	 */
+	private static final String EL_COUNTRY_NAME = "CountryName";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'ElectronicAddress'.
+	 */
+	private static final String EL_ELECTRONIC_ADDRESS = "ElectronicAddress";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'SchemeName'.
+	 */
+	private static final String EL_SCHEME_NAME = "SchemeName";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'SchemeInformationURI'.
+	 */
+	private static final String EL_SCHEME_INFORMATION_URI = "SchemeInformationURI";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'StatusDeterminationApproach'.
+	 */
+	private static final String EL_STATUS_DETERMINATION_APPROACH = "StatusDeterminationApproach";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'SchemeTypeCommunityRules'.
+	 */
+	private static final String EL_SCHEME_TYPE_COMMUNITY_RULES = "SchemeTypeCommunityRules";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'SchemeTerritory'.
+	 */
+	private static final String EL_SCHEME_TERRITORY = "SchemeTerritory";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'PolicyOrLegalNotice'.
+	 */
+	private static final String EL_POLICY_OR_LEGAL_NOTICE = "PolicyOrLegalNotice";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'TSLPolicy'.
+	 */
+	private static final String EL_TSL_POLICY = "TSLPolicy";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'TSLLegalNotice'.
+	 */
+	private static final String EL_TSL_LEGAL_NOTICE = "TSLLegalNotice";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'HistoricalInformationPeriod'.
+	 */
+	private static final String EL_HISTORICAL_INFORMATION_PERIOD = "HistoricalInformationPeriod";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'PointersToOtherTSL'.
+	 */
+	private static final String EL_POINTERS_TO_OTHER_TSL = "PointersToOtherTSL";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'OtherTSLPointer'.
+	 */
+	private static final String EL_OTHER_TSL_POINTER = "OtherTSLPointer";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'TSLLocation'.
+	 */
+	private static final String EL_TSL_LOCATION = "TSLLocation";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'ServiceDigitalIdentities'.
+	 */
+	private static final String EL_SERVICE_DIGITAL_IDENTITIES = "ServiceDigitalIdentities";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'ServiceDigitalIdentity'.
+	 */
+	private static final String EL_SERVICE_DIGITAL_IDENTITY = "ServiceDigitalIdentity";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'X509Certificate'.
+	 */
+	private static final String EL_X509_CERTIFICATE = "X509Certificate";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'X509SubjectName'.
+	 */
+	private static final String EL_X509_SUBJECT_NAME = "X509SubjectName";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'KeyValue'.
+	 */
+	private static final String EL_KEY_VALUE = "KeyValue";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'X509SKI'.
+	 */
+	private static final String EL_X509_SKI = "X509SKI";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'Other'.
+	 */
+	private static final String EL_OTHER = "Other";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'ListIssueDateTime'.
+	 */
+	private static final String EL_LIST_ISSUE_DATE_TIME = "ListIssueDateTime";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'NextUpdate'.
+	 */
+	private static final String EL_NEXT_UPDATE = "NextUpdate";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'dateTime'.
+	 */
+	private static final String EL_DATE_TIME = "dateTime";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'DistributionPoints'.
+	 */
+	private static final String EL_DISTRIBUTION_POINTS = "DistributionPoints";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'SchemeExtensions'.
+	 */
+	private static final String EL_SCHEME_EXTENSIONS = "SchemeExtensions";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'Extension'.
+	 */
+	private static final String EL_EXTENSION = "Extension";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'TrustServiceProviderList'.
+	 */
+	private static final String EL_TRUST_SERVICE_PROVIDER_LIST = "TrustServiceProviderList";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'TrustServiceProvider'.
+	 */
+	private static final String EL_TRUST_SERVICE_PROVIDER = "TrustServiceProvider";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'TSPInformation'.
+	 */
+	private static final String EL_TSP_INFORMATION = "TSPInformation";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'TSPName'.
+	 */
+	private static final String EL_TSP_NAME = "TSPName";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'TSPTradeName'.
+	 */
+	private static final String EL_TSP_TRADE_NAME = "TSPTradeName";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'TSPAddress'.
+	 */
+	private static final String EL_TSP_ADDRESS = "TSPAddress";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'TSPInformationURI'.
+	 */
+	private static final String EL_TSP_INFORMATION_URI = "TSPInformationURI";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'TSPInformationExtensions'.
+	 */
+	private static final String EL_TSP_INFORMATION_EXTENSIONS = "TSPInformationExtensions";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'TSPServices'.
+	 */
+	private static final String EL_TSP_SERVICES = "TSPServices";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'TSPService'.
+	 */
+	private static final String EL_TSP_SERVICE = "TSPService";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'ServiceInformation'.
+	 */
+	private static final String EL_SERVICE_INFORMATION = "ServiceInformation";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'ServiceTypeIdentifier'.
+	 */
+	private static final String EL_SERVICE_TYPE_IDENTIFIER = "ServiceTypeIdentifier";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'ServiceName'.
+	 */
+	private static final String EL_SERVICE_NAME = "ServiceName";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'ServiceStatus'.
+	 */
+	private static final String EL_SERVICE_STATUS = "ServiceStatus";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'StatusStartingTime'.
+	 */
+	private static final String EL_STATUS_STARTING_TIME = "StatusStartingTime";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'SchemeServiceDefinitionURI'.
+	 */
+	private static final String EL_SCHEME_SERVICE_DEFINITION_URI = "SchemeServiceDefinitionURI";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'ServiceSupplyPoints'.
+	 */
+	private static final String EL_SERVICE_SUPPLY_POINTS = "ServiceSupplyPoints";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'ServiceSupplyPoint'.
+	 */
+	private static final String EL_SERVICE_SUPPLY_POINT = "ServiceSupplyPoint";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'TSPServiceDefinitionURI'.
+	 */
+	private static final String EL_TSP_SERVICE_DEFINITION_URI = "TSPServiceDefinitionURI";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'ServiceInformationExtensions'.
+	 */
+	private static final String EL_SERVICE_INFORMATION_EXTENSIONS = "ServiceInformationExtensions";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'ServiceHistory'.
+	 */
+	private static final String EL_SERVICE_HISTORY = "ServiceHistory";
+
+	/**
+	 * Constant attribute that represents the local name of the element 'ServiceHistoryInstance'.
+	 */
+	private static final String EL_SERVICE_HISTORY_INSTANCE = "ServiceHistoryInstance";
+
+	/**
+	 * Attribute that represents the root element (TrustServiceStatusList) of the parsed TSL.
+	 */
+	private StreamElement tslRoot = null;
+
+	/**
+	 * Attribute that represents the factory used to parse the date values of the TSL.
+	 */
+	private DatatypeFactory datatypeFactory = null;
+
+	/**
+	 * Constructor method for the class TSLStreamBuilder.java.
+	 * @param tslObject TSL Object representation to manage with this builder.
+	 */
+	public TSLStreamBuilder(ITSLObject tslObject) {
+		super(tslObject);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#parseXMLInputStream(java.io.InputStream)
+	 */
+	@Override
+	protected void parseXMLInputStream(InputStream is) throws TSLParsingException {
+
+		XMLStreamReader reader = null;
+		try {
+
+			// Deshabilitamos el tratamiento de DTD y entidades externas.
+			XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+			xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+			xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+			xmlInputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+			xmlInputFactory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+
+			// El documento DOM solo se utiliza como propietario de los
+			// fragmentos que se analizan con XMLBeans.
+			DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+			dbf.setNamespaceAware(true);
+			Document ownerDocument = dbf.newDocumentBuilder().newDocument();
+
+			datatypeFactory = DatatypeFactory.newInstance();
+
+			// Avanzamos hasta el elemento raíz y lo leemos completo.
+			reader = xmlInputFactory.createXMLStreamReader(is);
+			while (reader.hasNext() && reader.next() != XMLStreamConstants.START_ELEMENT) {
+				continue;
+			}
+			// Comprobamos que el elemento raíz es el de una TSL (nombre y
+			// espacio de nombres), como hace XMLBeans al validar el tipo de
+			// documento.
+			if (!reader.isStartElement() || !EL_TRUST_SERVICE_STATUS_LIST.equals(reader.getLocalName()) || !ITSLCommonURIs.ETSI_TS_119612_020101_NAMESPACE.equals(reader.getNamespaceURI())) {
+				throw new TSLParsingException(IValetException.COD_187, Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL006, new Object[ ] { ITSLSpecificationsVersions.SPECIFICATION_119612, ITSLSpecificationsVersions.VERSION_020101 }));
+			}
+			tslRoot = readElement(reader, ownerDocument, Collections.<String, String> emptyMap());
+
+		} catch (XMLStreamException | ParserConfigurationException | DatatypeConfigurationException e) {
+			throw new TSLParsingException(IValetException.COD_187, Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL006, new Object[ ] { ITSLSpecificationsVersions.SPECIFICATION_119612, ITSLSpecificationsVersions.VERSION_020101 }), e);
+		} finally {
+			closeReader(reader);
+			UtilsResources.safeCloseInputStream(is);
+		}
+
+	}
+
+	/**
+	 * Reads the element in which the input reader is positioned (and all its children) into a lightweight tree.
+	 * The elements that need typed access are loaded as DOM fragments.
+	 * @param reader StAX reader positioned in the start of the element to read.
+	 * @param ownerDocument DOM document used to create the DOM fragments.
+	 * @param parentNamespaces Namespaces declarations in scope in the parent element.
+	 * @return the lightweight representation of the element.
+	 * @throws XMLStreamException In case of some error reading the XML.
+	 */
+	private StreamElement readElement(XMLStreamReader reader, Document ownerDocument, Map<String, String> parentNamespaces) throws XMLStreamException {
+
+		StreamElement result = new StreamElement(reader.getLocalName());
+		for (int index = 0; index < reader.getAttributeCount(); index++) {
+			result.addAttribute(reader.getAttributeLocalName(index), reader.getAttributeValue(index));
+		}
+
+		// Solo copiamos el mapa de espacios de nombres si el elemento declara
+		// alguno nuevo.
+		Map<String, String> namespaces = parentNamespaces;
+		if (reader.getNamespaceCount() > 0) {
+			namespaces = new HashMap<String, String>(parentNamespaces);
+			for (int index = 0; index < reader.getNamespaceCount(); index++) {
+				namespaces.put(getNotNullString(reader.getNamespacePrefix(index)), getNotNullString(reader.getNamespaceURI(index)));
+			}
+		}
+
+		StringBuilder text = null;
+		while (reader.hasNext()) {
+
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+
+				if (isLoadedAsDomFragment(reader.getLocalName())) {
+					StreamElement child = new StreamElement(reader.getLocalName());
+					for (int index = 0; index < reader.getAttributeCount(); index++) {
+						child.addAttribute(reader.getAttributeLocalName(index), reader.getAttributeValue(index));
+					}
+					child.domElement = readDomElement(reader, ownerDocument, namespaces);
+					result.addChild(child);
+				} else {
+					result.addChild(readElement(reader, ownerDocument, namespaces));
+				}
+
+			} else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA || event == XMLStreamConstants.SPACE) {
+
+				// Solo se conserva el texto de los elementos hoja.
+				if (result.children == null) {
+					if (text == null) {
+						text = new StringBuilder();
+					}
+					text.append(reader.getText());
+				}
+
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				break;
+			}
+
+		}
+
+		// Los elementos hoja sin contenido tienen como texto la cadena vacía.
+		if (result.children == null) {
+			result.text = text == null ? UtilsStringChar.EMPTY_STRING : text.toString();
+		}
+		return result;
+
+	}
+
+	/**
+	 * Checks if the element with the input local name must be loaded as a DOM fragment to be parsed with XMLBeans.
+	 * @param localName Local name of the element.
+	 * @return <code>true</code> if the element must be loaded as a DOM fragment, otherwise <code>false</code>.
+	 */
+	private static boolean isLoadedAsDomFragment(String localName) {
+		return EL_EXTENSION.equals(localName) || EL_KEY_VALUE.equals(localName) || EL_OTHER.equals(localName) || ITSLElementsAndAttributes.ELEMENT_SIGNATURE.equals(localName);
+	}
+
+	/**
+	 * Reads the element in which the input reader is positioned (and all its children) as a DOM element.
+	 * All the namespaces declarations in scope are declared in the returned element, so it could be parsed isolated.
+	 * @param reader StAX reader positioned in the start of the element to read.
+	 * @param ownerDocument DOM document used to create the nodes.
+	 * @param parentNamespaces Namespaces declarations in scope in the parent element.
+	 * @return the DOM element.
+	 * @throws XMLStreamException In case of some error reading the XML.
+	 */
+	private static Element readDomElement(XMLStreamReader reader, Document ownerDocument, Map<String, String> parentNamespaces) throws XMLStreamException {
+
+		Element result = createDomElement(reader, ownerDocument);
+		for (Map.Entry<String, String> namespace: parentNamespaces.entrySet()) {
+			String qName = namespace.getKey().isEmpty() ? XMLConstants.XMLNS_ATTRIBUTE : XMLConstants.XMLNS_ATTRIBUTE + UtilsStringChar.SYMBOL_COLON_STRING + namespace.getKey();
+			if (!result.hasAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, namespace.getKey().isEmpty() ? XMLConstants.XMLNS_ATTRIBUTE : namespace.getKey())) {
+				result.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, qName, namespace.getValue());
+			}
+		}
+
+		Node current = result;
+		int depth = 1;
+		while (depth > 0 && reader.hasNext()) {
+
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				Element child = createDomElement(reader, ownerDocument);
+				current.appendChild(child);
+				current = child;
+				depth++;
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				current = current.getParentNode();
+				depth--;
+			} else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA || event == XMLStreamConstants.SPACE) {
+				current.appendChild(ownerDocument.createTextNode(reader.getText()));
+			}
+
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * Creates a DOM element with the name, namespaces declarations and attributes of the element in which the
+	 * input reader is positioned.
+	 * @param reader StAX reader positioned in the start of an element.
+	 * @param ownerDocument DOM document used to create the element.
+	 * @return the DOM element.
+	 */
+	private static Element createDomElement(XMLStreamReader reader, Document ownerDocument) {
+
+		Element result = ownerDocument.createElementNS(getNullIfEmpty(reader.getNamespaceURI()), getQualifiedName(reader.getPrefix(), reader.getLocalName()));
+
+		for (int index = 0; index < reader.getNamespaceCount(); index++) {
+			String prefix = reader.getNamespacePrefix(index);
+			String qName = UtilsStringChar.isNullOrEmpty(prefix) ? XMLConstants.XMLNS_ATTRIBUTE : XMLConstants.XMLNS_ATTRIBUTE + UtilsStringChar.SYMBOL_COLON_STRING + prefix;
+			result.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, qName, getNotNullString(reader.getNamespaceURI(index)));
+		}
+
+		for (int index = 0; index < reader.getAttributeCount(); index++) {
+			result.setAttributeNS(getNullIfEmpty(reader.getAttributeNamespace(index)), getQualifiedName(reader.getAttributePrefix(index), reader.getAttributeLocalName(index)), reader.getAttributeValue(index));
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * Builds a qualified name from its prefix and its local name.
+	 * @param prefix Prefix of the name. It could be <code>null</code> or empty.
+	 * @param localName Local name.
+	 * @return the qualified name.
+	 */
+	private static String getQualifiedName(String prefix, String localName) {
+		return UtilsStringChar.isNullOrEmpty(prefix) ? localName : prefix + UtilsStringChar.SYMBOL_COLON_STRING + localName;
+	}
+
+	/**
+	 * Gets the input string, or <code>null</code> if it is empty.
+	 * @param value String to check.
+	 * @return the input string, or <code>null</code> if it is empty.
+	 */
+	private static String getNullIfEmpty(String value) {
+		return UtilsStringChar.isNullOrEmpty(value) ? null : value;
+	}
+
+	/**
+	 * Gets the input string, or an empty string if it is <code>null</code>.
+	 * @param value String to check.
+	 * @return the input string, or an empty string if it is <code>null</code>.
+	 */
+	private static String getNotNullString(String value) {
+		return value == null ? UtilsStringChar.EMPTY_STRING : value;
+	}
+
+	/**
+	 * Closes the input StAX reader.
+	 * @param reader StAX reader to close.
+	 */
+	private static void closeReader(XMLStreamReader reader) {
+
+		if (reader != null) {
+			try {
+				reader.close();
+			} catch (XMLStreamException e) {
+				LOGGER.warn(Language.getResCoreTsl(ICoreTslMessages.LOGMTSL358), e);
+			}
+		}
+
+	}
+
+	/**
+	 * Collapses the white spaces of the input value, as is done with the XML Schema types anyURI, integer or dateTime.
+	 * @param value Value to collapse.
+	 * @return the collapsed value, or <code>null</code> if the input value is <code>null</code>.
+	 */
+	private static String collapse(String value) {
+		return value == null ? null : value.trim().replaceAll("\\s+", UtilsStringChar.SPECIAL_BLANK_SPACE_STRING);
+	}
+
+	/**
+	 * Replaces the tabs and line breaks of the input value by white spaces, as is done with the XML Schema
+	 * type normalizedString.
+	 * @param value Value to normalize.
+	 * @return the normalized value, or <code>null</code> if the input value is <code>null</code>.
+	 */
+	private static String normalize(String value) {
+		return value == null ? null : value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+	}
+
+	/**
+	 * Gets the SchemeInformation element of the TSL.
+	 * @return the SchemeInformation element of the TSL.
+	 */
+	private StreamElement getSchemeInformation() {
+		return tslRoot.getChild(EL_SCHEME_INFORMATION);
+	}
+
+	/**
+	 * Gets the collapsed text of the child of the SchemeInformation element with the input local name.
+	 * @param localName Local name of the child element.
+	 * @return the collapsed text of the child element, or <code>null</code> if it is not defined.
+	 */
+	private String getSchemeInformationCollapsedText(String localName) {
+		return collapse(getSchemeInformation().getChildText(localName));
+	}
+
+	/**
+	 * Gets the big integer value from the input text.
+	 * @param text Text that represents the integer value.
+	 * @return the big integer value, or <code>null</code> if the input text is <code>null</code>.
+	 */
+	private static BigInteger toBigInteger(String text) {
+		return text == null ? null : new BigInteger(text);
+	}
+
+	/**
+	 * Gets the calendar from the input text that represents a XML Schema dateTime.
+	 * @param text Text that represents the date.
+	 * @return the calendar, or <code>null</code> if the input text is <code>null</code>.
+	 */
+	private Calendar toCalendar(String text) {
+		return text == null ? null : datatypeFactory.newXMLGregorianCalendar(text).toGregorianCalendar();
+	}
+
+	/**
+	 * Gets the values of the multi-language elements children of the input element, indexed by language.
+	 * @param element Element that contains the multi-language elements.
+	 * @param childLocalName Local name of the multi-language elements.
+	 * @param normalize Flag that indicates if the values must be normalized (normalizedString, <code>true</code>)
+	 * or collapsed (anyURI, <code>false</code>).
+	 * @return map with the values in all presented languages, or <code>null</code> if there is not values.
+	 */
+	private static Map<String, List<String>> getMultiLangValues(StreamElement element, String childLocalName, boolean normalize) {
+
+		Map<String, List<String>> result = null;
+
+		List<StreamElement> values = element == null ? null : element.getChildren(childLocalName);
+		if (values != null && !values.isEmpty()) {
+
+			result = new HashMap<String, List<String>>();
+			for (StreamElement value: values) {
+				List<String> valuesList = result.get(value.getAttribute(ATTR_LANG));
+				if (valuesList == null) {
+					valuesList = new ArrayList<String>();
+					result.put(value.getAttribute(ATTR_LANG), valuesList);
+				}
+				valuesList.add(normalize ? normalize(value.text) : collapse(value.text));
+			}
+
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * Gets the value (the last one) of the multi-language elements children of the input element, indexed by language.
+	 * @param element Element that contains the multi-language elements.
+	 * @param childLocalName Local name of the multi-language elements.
+	 * @param normalize Flag that indicates if the values must be normalized (normalizedString, <code>true</code>)
+	 * or collapsed (anyURI, <code>false</code>).
+	 * @return map with the value in all presented languages, or <code>null</code> if there is not values.
+	 */
+	private static Map<String, String> getSingleMultiLangValues(StreamElement element, String childLocalName, boolean normalize) {
+
+		Map<String, String> result = null;
+
+		List<StreamElement> values = element == null ? null : element.getChildren(childLocalName);
+		if (values != null && !values.isEmpty()) {
+
+			result = new HashMap<String, String>();
+			for (StreamElement value: values) {
+				result.put(value.getAttribute(ATTR_LANG), normalize ? normalize(value.text) : collapse(value.text));
+			}
+
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getTSLTagString()
+	 */
+	@Override
+	protected String getTSLTagString() {
+		return collapse(tslRoot.getAttribute(ITSLElementsAndAttributes.ATTRIBUTE_TSL_TAG));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getTSLID()
+	 */
+	@Override
+	protected String getTSLID() {
+		return collapse(tslRoot.getAttribute(ATTR_ID));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getSchemeInformationTSLVersionIdentifier()
+	 */
+	@Override
+	protected BigInteger getSchemeInformationTSLVersionIdentifier() {
+		return toBigInteger(getSchemeInformationCollapsedText(EL_TSL_VERSION_IDENTIFIER));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getSchemeInformationTSLSequenceNumber()
+	 */
+	@Override
+	protected BigInteger getSchemeInformationTSLSequenceNumber() {
+		return toBigInteger(getSchemeInformationCollapsedText(EL_TSL_SEQUENCE_NUMBER));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getTSLType()
+	 */
+	@Override
+	protected String getTSLType() {
+		return getSchemeInformationCollapsedText(EL_TSL_TYPE);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getTSLSchemeOperatorNamesMap()
+	 */
+	@Override
+	protected Map<String, List<String>> getTSLSchemeOperatorNamesMap() {
+		return getMultiLangValues(getSchemeInformation().getChild(EL_SCHEME_OPERATOR_NAME), EL_NAME, true);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getTSLSCOPostalAdresses()
+	 */
+	@Override
+	protected Map<String, List<PostalAddress>> getTSLSCOPostalAdresses() {
+		return getPostalAddresses(getSchemeInformation().getChild(EL_SCHEME_OPERATOR_ADDRESS));
+	}
+
+	/**
+	 * Gets the addresses in all the presented languages from the input address element.
+	 * @param address Address element that must be analyzed.
+	 * @return map with the postal addresses in all presented languages:
+	 * - Map<Language, List<PostalAddress>>
+	 * - <code>null</code> if not is defined.
+	 */
+	private static Map<String, List<PostalAddress>> getPostalAddresses(StreamElement address) {
+
+		Map<String, List<PostalAddress>> result = null;
+
+		StreamElement postalAddresses = address == null ? null : address.getChild(EL_POSTAL_ADDRESSES);
+		List<StreamElement> postalAddressList = postalAddresses == null ? null : postalAddresses.getChildren(EL_POSTAL_ADDRESS);
+		if (postalAddressList != null && !postalAddressList.isEmpty()) {
+
+			result = new HashMap<String, List<PostalAddress>>();
+			for (StreamElement postalAddress: postalAddressList) {
+
+				String lang = postalAddress.getAttribute(ATTR_LANG);
+				List<PostalAddress> paList = result.get(lang);
+				if (paList == null) {
+					paList = new ArrayList<PostalAddress>();
+					result.put(lang, paList);
+				}
+				paList.add(new PostalAddress(postalAddress.getChildText(EL_STREET_ADDRESS), postalAddress.getChildText(EL_LOCALITY), postalAddress.getChildText(EL_STATE_OR_PROVINCE), postalAddress.getChildText(EL_POSTAL_CODE), postalAddress.getChildText(EL_COUNTRY_NAME)));
+
+			}
+
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getTSLSCOElectronicAddresses()
+	 */
+	@Override
+	protected Map<String, List<String>> getTSLSCOElectronicAddresses() {
+		return getElectronicAddresses(getSchemeInformation().getChild(EL_SCHEME_OPERATOR_ADDRESS));
+	}
+
+	/**
+	 * Gets the electronic addresses in all the presented languages from the input address element.
+	 * @param address Address element that must be analyzed.
+	 * @return map with the electronic addresses in all presented languages:
+	 * - Map<Language, ElectronicAddresses>.
+	 * - <code>null</code> if not is defined.
+	 */
+	private static Map<String, List<String>> getElectronicAddresses(StreamElement address) {
+		return getMultiLangValues(address == null ? null : address.getChild(EL_ELECTRONIC_ADDRESS), EL_URI, false);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getTSLSchemeNameMap()
+	 */
+	@Override
+	protected Map<String, String> getTSLSchemeNameMap() {
+		return getSingleMultiLangValues(getSchemeInformation().getChild(EL_SCHEME_NAME), EL_NAME, true);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getTSLSchemeInformationURIMap()
+	 */
+	@Override
+	protected Map<String, String> getTSLSchemeInformationURIMap() {
+		return getSingleMultiLangValues(getSchemeInformation().getChild(EL_SCHEME_INFORMATION_URI), EL_URI, false);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getTSLStatusDeterminationApproachString()
+	 */
+	@Override
+	protected String getTSLStatusDeterminationApproachString() {
+		return fixStatusDeterminationApproach(getSchemeInformationCollapsedText(EL_STATUS_DETERMINATION_APPROACH));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getTSLSchemeTypeCommunityRulesMap()
+	 */
+	@Override
+	protected Map<String, List<String>> getTSLSchemeTypeCommunityRulesMap() {
+		return getMultiLangValues(getSchemeInformation().getChild(EL_SCHEME_TYPE_COMMUNITY_RULES), EL_URI, false);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getSchemeTerritory()
+	 */
+	@Override
+	protected String getSchemeTerritory() throws TSLParsingException {
+		return getSchemeInformation().getChildText(EL_SCHEME_TERRITORY);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getTSLPolicy()
+	 */
+	@Override
+	protected Map<String, String> getTSLPolicy() {
+		return getSingleMultiLangValues(getSchemeInformation().getChild(EL_POLICY_OR_LEGAL_NOTICE), EL_TSL_POLICY, false);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getTSLLegalNotice()
+	 */
+	@Override
+	protected Map<String, String> getTSLLegalNotice() {
+
+		Map<String, String> result = null;
+
+		// El aviso legal es de tipo string, por lo que se conserva tal cual.
+		StreamElement poln = getSchemeInformation().getChild(EL_POLICY_OR_LEGAL_NOTICE);
+		List<StreamElement> legalNotices = poln == null ? null : poln.getChildren(EL_TSL_LEGAL_NOTICE);
+		if (legalNotices != null && !legalNotices.isEmpty()) {
+			result = new HashMap<String, String>();
+			for (StreamElement legalNotice: legalNotices) {
+				result.put(legalNotice.getAttribute(ATTR_LANG), legalNotice.text);
+			}
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getTSLHistoricalInformationPeriodBigInteger()
+	 */
+	@Override
+	protected BigInteger getTSLHistoricalInformationPeriodBigInteger() {
+		return toBigInteger(getSchemeInformationCollapsedText(EL_HISTORICAL_INFORMATION_PERIOD));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getTSLPointersToOthersTSL()
+	 */
+	@Override
+	protected List<TSLPointer> getTSLPointersToOthersTSL() throws TSLParsingException {
+
+		List<TSLPointer> result = null;
+
+		StreamElement tslPointers = getSchemeInformation().getChild(EL_POINTERS_TO_OTHER_TSL);
+		List<StreamElement> tslPointersList = tslPointers == null ? null : tslPointers.getChildren(EL_OTHER_TSL_POINTER);
+		if (tslPointersList != null && !tslPointersList.isEmpty()) {
+
+			result = new ArrayList<TSLPointer>();
+			for (StreamElement tslPointer: tslPointersList) {
+				result.add(buildTSLPointer(tslPointer));
+			}
+
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * Private method that build a TSL Pointer from the information loaded.
+	 * @param tslPointer OtherTSLPointer element.
+	 * @return TSL pointer object representation no dependent from the specification or version.
+	 * @throws TSLParsingException In case of some error parsing the TSL pointer.
+	 */
+	private TSLPointer buildTSLPointer(StreamElement tslPointer) throws TSLParsingException {
+
+		TSLPointer result = new TSLPointer(collapse(tslPointer.getChildText(EL_TSL_LOCATION)));
+
+		StreamElement sdiList = tslPointer.getChild(EL_SERVICE_DIGITAL_IDENTITIES);
+		if (sdiList != null) {
+
+			for (StreamElement sdi: sdiList.getChildren(EL_SERVICE_DIGITAL_IDENTITY)) {
+				List<StreamElement> digitalIds = sdi.getChildren(ITSLElementsAndAttributes.ELEMENT_DIGITAL_IDENTITY);
+				if (!digitalIds.isEmpty()) {
+					ServiceDigitalIdentity serviceDigitalIdentity = new ServiceDigitalIdentity();
+					for (StreamElement di: digitalIds) {
+						serviceDigitalIdentity.addNewDigitalIdentity(buildDigitalID(di, false));
+					}
+					result.addNewServiceDigitalIdentity(serviceDigitalIdentity);
+				}
+			}
+
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * Private method that build a Digital Identity from the information loaded.
+	 * @param di DigitalId element.
+	 * @param isNoPKIorUnspecifiedService flag that indicates if the service is of type
+	 * no PKI or a unspecified service.
+	 * @return Digital Identity object representation no dependent of the specification or version.
+	 * <code>null</code> if the input element has not a known digital identity.
+	 * @throws TSLParsingException In case of some error parsing the Digital Identity.
+	 */
+	private DigitalID buildDigitalID(StreamElement di, boolean isNoPKIorUnspecifiedService) throws TSLParsingException {
+
+		DigitalID result = null;
+
+		StreamElement child = di.getFirstChild();
+		if (child != null) {
+
+			if (EL_X509_CERTIFICATE.equals(child.localName)) {
+				result = new DigitalID(DigitalID.TYPE_X509CERTIFICATE);
+				result.setX509cert(Base64.decodeBase64(getNotNullString(child.text)));
+			} else if (EL_X509_SUBJECT_NAME.equals(child.localName)) {
+				result = new DigitalID(DigitalID.TYPE_X509SUBJECTNAME);
+				result.setX509SubjectName(child.text);
+			} else if (EL_KEY_VALUE.equals(child.localName)) {
+				result = new DigitalID(DigitalID.TYPE_KEYVALUE);
+				result.setKeyValue(getDocumentBuildingNewSchemeTypeLoader(null, child.domElement, KeyValueDocument.class).getKeyValue());
+			} else if (EL_X509_SKI.equals(child.localName)) {
+				result = new DigitalID(DigitalID.TYPE_X509SKI);
+				result.setSki(Base64.decodeBase64(getNotNullString(child.text)));
+			} else if (EL_OTHER.equals(child.localName)) {
+				result = new DigitalID(DigitalID.TYPE_OTHER);
+				if (isNoPKIorUnspecifiedService) {
+					result.setOther(searchFirstTextNodeValue(child.domElement));
+				} else {
+					result.setOther(getAnyTypeContentAsString(child.domElement));
+				}
+			}
+
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * Gets the XML representation of the content of the input element, as is returned by XMLBeans for an
+	 * element of type anyType.
+	 * @param element DOM element.
+	 * @return the XML representation of the content of the input element.
+	 * @throws TSLParsingException In case of some error parsing the element.
+	 */
+	private static String getAnyTypeContentAsString(Element element) throws TSLParsingException {
+
+		try {
+			XmlOptions options = new XmlOptions();
+			options.setLoadReplaceDocumentElement(null);
+			return XmlObject.Factory.parse(element, options).toString();
+		} catch (XmlException e) {
+			throw new TSLParsingException(IValetException.COD_187, Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL006, new Object[ ] { ITSLSpecificationsVersions.SPECIFICATION_119612, ITSLSpecificationsVersions.VERSION_020101 }), e);
+		}
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getTSLIssueDateCalendar()
+	 */
+	@Override
+	protected Calendar getTSLIssueDateCalendar() {
+		return toCalendar(getSchemeInformationCollapsedText(EL_LIST_ISSUE_DATE_TIME));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getTSLNextUpdateCalendar()
+	 */
+	@Override
+	protected Calendar getTSLNextUpdateCalendar() {
+
+		StreamElement nextUpdate = getSchemeInformation().getChild(EL_NEXT_UPDATE);
+		return nextUpdate == null ? null : toCalendar(collapse(nextUpdate.getChildText(EL_DATE_TIME)));
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getTSLDistributionPointsString()
+	 */
+	@Override
+	protected String[ ] getTSLDistributionPointsString() {
+
+		String[ ] result = null;
+
+		StreamElement distribPoints = getSchemeInformation().getChild(EL_DISTRIBUTION_POINTS);
+		if (distribPoints != null) {
+			List<StreamElement> uris = distribPoints.getChildren(EL_URI);
+			result = new String[uris.size()];
+			for (int index = 0; index < result.length; index++) {
+				result[index] = collapse(uris.get(index).text);
+			}
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getSchemeInformationExtensions()
+	 */
+	@Override
+	protected List<IAnyTypeExtension> getSchemeInformationExtensions() throws TSLParsingException {
+		return buildExtensions(getSchemeInformation().getChild(EL_SCHEME_EXTENSIONS), IAnyTypeExtension.TYPE_SCHEME);
+	}
+
+	/**
+	 * Builds the extensions defined in the input extensions list element.
+	 * @param extensionsList Extensions list element.
+	 * @param extensionType represents the extension type, refers to its location inside the XML.
+	 * @return list with the extensions, or <code>null</code> if there is not extensions.
+	 * @throws TSLParsingException In case of some error building the extensions.
+	 */
+	private List<IAnyTypeExtension> buildExtensions(StreamElement extensionsList, int extensionType) throws TSLParsingException {
+
+		List<IAnyTypeExtension> result = null;
+
+		List<StreamElement> extensions = extensionsList == null ? null : extensionsList.getChildren(EL_EXTENSION);
+		if (extensions != null && !extensions.isEmpty()) {
+
+			result = new ArrayList<IAnyTypeExtension>();
+			for (StreamElement extension: extensions) {
+				String critical = collapse(extension.getAttribute(ATTR_CRITICAL));
+				result.add(buildExtensionFromNode(extension.domElement, Boolean.parseBoolean(critical) || "1".equals(critical), extensionType));
+			}
+
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getTSLlistTSPsize()
+	 */
+	@Override
+	protected int getTSLlistTSPsize() {
+
+		StreamElement tspList = tslRoot.getChild(EL_TRUST_SERVICE_PROVIDER_LIST);
+		return tspList == null ? 0 : tspList.getChildren(EL_TRUST_SERVICE_PROVIDER).size();
+
+	}
+
+	/**
+	 * Gets the TSP for a specified position in the list.
+	 * @param pos Position in the List of the TSP to get.
+	 * @return TrustServiceProvider element.
+	 */
+	private StreamElement getTSPinPosition(int pos) {
+		return tslRoot.getChild(EL_TRUST_SERVICE_PROVIDER_LIST).getChildren(EL_TRUST_SERVICE_PROVIDER).get(pos);
+	}
+
+	/**
+	 * Gets the TSP Information for a specified position in the list.
+	 * @param pos Position in the List of the TSP to get.
+	 * @return TSPInformation element.
+	 */
+	private StreamElement getTSPInformationInPosition(int pos) {
+		return getTSPinPosition(pos).getChild(EL_TSP_INFORMATION);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#buildTSPInformationNames(int, es.gob.valet.tsl.parsing.impl.common.TSPInformation)
+	 */
+	@Override
+	protected void buildTSPInformationNames(int pos, TSPInformation tspInformation) {
+
+		for (StreamElement name: getTSPInformationInPosition(pos).getChild(EL_TSP_NAME).getChildren(EL_NAME)) {
+			tspInformation.addNewName(name.getAttribute(ATTR_LANG), normalize(name.text));
+		}
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#buildTSPInformationTradeNames(int, es.gob.valet.tsl.parsing.impl.common.TSPInformation)
+	 */
+	@Override
+	protected void buildTSPInformationTradeNames(int pos, TSPInformation tspInformation) {
+
+		StreamElement tradeNames = getTSPInformationInPosition(pos).getChild(EL_TSP_TRADE_NAME);
+		if (tradeNames != null) {
+			for (StreamElement tradeName: tradeNames.getChildren(EL_NAME)) {
+				tspInformation.addNewTradeName(tradeName.getAttribute(ATTR_LANG), normalize(tradeName.text));
+			}
+		}
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getTSPInformationPostalAddresses(int)
+	 */
+	@Override
+	protected Map<String, List<PostalAddress>> getTSPInformationPostalAddresses(int pos) {
+		return getPostalAddresses(getTSPInformationInPosition(pos).getChild(EL_TSP_ADDRESS));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getTSPInformationElectronicAddresses(int)
+	 */
+	@Override
+	protected Map<String, List<String>> getTSPInformationElectronicAddresses(int pos) {
+		return getElectronicAddresses(getTSPInformationInPosition(pos).getChild(EL_TSP_ADDRESS));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#buildTSPInformationURI(int, es.gob.valet.tsl.parsing.impl.common.TSPInformation)
+	 */
+	@Override
+	protected void buildTSPInformationURI(int pos, TSPInformation tspInformation) throws URISyntaxException {
+
+		for (StreamElement uri: getTSPInformationInPosition(pos).getChild(EL_TSP_INFORMATION_URI).getChildren(EL_URI)) {
+			tspInformation.addNewURI(uri.getAttribute(ATTR_LANG), new URI(collapse(uri.text)));
+		}
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getTSPInformationExtensions(int)
+	 */
+	@Override
+	protected List<IAnyTypeExtension> getTSPInformationExtensions(int pos) throws TSLParsingException {
+		return buildExtensions(getTSPInformationInPosition(pos).getChild(EL_TSP_INFORMATION_EXTENSIONS), IAnyTypeExtension.TYPE_TSP_INFORMATION);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getTSPServiceListSize(int)
+	 */
+	@Override
+	protected int getTSPServiceListSize(int pos) {
+		return getTSPinPosition(pos).getChild(EL_TSP_SERVICES).getChildren(EL_TSP_SERVICE).size();
+	}
+
+	/**
+	 * Gets the TSP Service from the TSP indicated by positions.
+	 * @param posTSP Position of the TSP in its list.
+	 * @param posService Position of the TSP Service in its list.
+	 * @return TSPService element.
+	 */
+	private StreamElement getTSPServiceFromTSPInPosition(int posTSP, int posService) {
+		return getTSPinPosition(posTSP).getChild(EL_TSP_SERVICES).getChildren(EL_TSP_SERVICE).get(posService);
+	}
+
+	/**
+	 * Gets the TSP Service Information from the TSP indicated by positions.
+	 * @param posTSP Position of the TSP in its list.
+	 * @param posService Position of the TSP Service in its list.
+	 * @return ServiceInformation element.
+	 */
+	private StreamElement getTSPServiceInformationFromTSPInPosition(int posTSP, int posService) {
+		return getTSPServiceFromTSPInPosition(posTSP, posService).getChild(EL_SERVICE_INFORMATION);
+	}
+
+	/**
+	 * Gets the Service History Instance from the TSP indicated by positions.
+	 * @param posTSP Position of the TSP in its list.
+	 * @param posService Position of the TSP Service in its list.
+	 * @param posHistory Position of the Service History Instance in its list.
+	 * @return ServiceHistoryInstance element if it exists, otherwise <code>null</code>.
+	 */
+	private StreamElement getServiceHistoryInstanceFromTSPInPosition(int posTSP, int posService, int posHistory) {
+
+		StreamElement serviceHistory = getTSPServiceFromTSPInPosition(posTSP, posService).getChild(EL_SERVICE_HISTORY);
+		return serviceHistory == null ? null : serviceHistory.getChildren(EL_SERVICE_HISTORY_INSTANCE).get(posHistory);
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getTSPServiceInformationType(int, int)
+	 */
+	@Override
+	protected String getTSPServiceInformationType(int posTSP, int posService) {
+		return fixServiceTypeIdentifier(collapse(getTSPServiceInformationFromTSPInPosition(posTSP, posService).getChildText(EL_SERVICE_TYPE_IDENTIFIER)));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#buildTSPServiceInformationName(int, int, es.gob.valet.tsl.parsing.impl.common.ServiceInformation)
+	 */
+	@Override
+	protected void buildTSPServiceInformationName(int posTSP, int posService, ServiceInformation servInf) {
+
+		for (StreamElement serviceName: getTSPServiceInformationFromTSPInPosition(posTSP, posService).getChild(EL_SERVICE_NAME).getChildren(EL_NAME)) {
+			servInf.addNewServiceName(serviceName.getAttribute(ATTR_LANG), normalize(serviceName.text));
+		}
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#buildTSPServiceInformationIdentities(int, int, es.gob.valet.tsl.parsing.impl.common.ServiceInformation)
+	 */
+	@Override
+	protected void buildTSPServiceInformationIdentities(int posTSP, int posService, ServiceInformation servInf) throws TSLParsingException {
+
+		StreamElement serviceDigitalIdentity = getTSPServiceInformationFromTSPInPosition(posTSP, posService).getChild(EL_SERVICE_DIGITAL_IDENTITY);
+		if (serviceDigitalIdentity != null) {
+			for (StreamElement digitalIdentity: serviceDigitalIdentity.getChildren(ITSLElementsAndAttributes.ELEMENT_DIGITAL_IDENTITY)) {
+				try {
+					servInf.addNewDigitalIdentity(buildDigitalID(digitalIdentity, checkIfServiceTypeIsNoPKIorUnspecified(servInf.getServiceTypeIdentifier().toString())));
+				} catch (TSLParsingException e) {
+					throw new TSLParsingException(IValetException.COD_187, Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL020, new Object[ ] { ITSLElementsAndAttributes.ELEMENT_TSPSERVICE_INFORMATION_SERVICEDIGITALIDENTITY }), e);
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getTSPServiceInformationStatus(int, int)
+	 */
+	@Override
+	protected String getTSPServiceInformationStatus(int posTSP, int posService) {
+		return collapse(getTSPServiceInformationFromTSPInPosition(posTSP, posService).getChildText(EL_SERVICE_STATUS));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getTSPServiceInformationStatusStartingDateAndTime(int, int)
+	 */
+	@Override
+	protected Date getTSPServiceInformationStatusStartingDateAndTime(int posTSP, int posService) {
+		return toCalendar(collapse(getTSPServiceInformationFromTSPInPosition(posTSP, posService).getChildText(EL_STATUS_STARTING_TIME))).getTime();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#buildTSPServiceInformationSchemeDefinitionURI(int, int, es.gob.valet.tsl.parsing.impl.common.ServiceInformation)
+	 */
+	@Override
+	protected void buildTSPServiceInformationSchemeDefinitionURI(int posTSP, int posService, ServiceInformation servInf) throws TSLParsingException {
+
+		StreamElement definitionURIs = getTSPServiceInformationFromTSPInPosition(posTSP, posService).getChild(EL_SCHEME_SERVICE_DEFINITION_URI);
+		if (definitionURIs != null) {
+			for (StreamElement defUri: definitionURIs.getChildren(EL_URI)) {
+				try {
+					servInf.addNewSchemeServiceDefinitionURI(defUri.getAttribute(ATTR_LANG), new URI(collapse(defUri.text)));
+				} catch (URISyntaxException e) {
+					throw new TSLParsingException(IValetException.COD_187, Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL020, new Object[ ] { ITSLElementsAndAttributes.ELEMENT_TSPSERVICE_INFORMATION_SCHEMESERVICEDEFINITIONURI }), e);
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#buildTSPServiceInformationServiceSupplyPoints(int, int, es.gob.valet.tsl.parsing.impl.common.ServiceInformation)
+	 */
+	@Override
+	protected void buildTSPServiceInformationServiceSupplyPoints(int posTSP, int posService, ServiceInformation servInf) throws TSLParsingException {
+
+		StreamElement supplyPoints = getTSPServiceInformationFromTSPInPosition(posTSP, posService).getChild(EL_SERVICE_SUPPLY_POINTS);
+		if (supplyPoints != null) {
+			for (StreamElement supplyPoint: supplyPoints.getChildren(EL_SERVICE_SUPPLY_POINT)) {
+				try {
+					servInf.addNewServiceSupplyPointURI(new URI(collapse(supplyPoint.text)));
+				} catch (URISyntaxException e) {
+					throw new TSLParsingException(IValetException.COD_187, Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL020, new Object[ ] { ITSLElementsAndAttributes.ELEMENT_TSPSERVICE_INFORMATION_SERVICESUPPLYPOINTS }), e);
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#buildTSPServiceInformationDefinitionURI(int, int, es.gob.valet.tsl.parsing.impl.common.ServiceInformation)
+	 */
+	@Override
+	protected void buildTSPServiceInformationDefinitionURI(int posTSP, int posService, ServiceInformation servInf) throws TSLParsingException {
+
+		StreamElement definitionURIs = getTSPServiceInformationFromTSPInPosition(posTSP, posService).getChild(EL_TSP_SERVICE_DEFINITION_URI);
+		if (definitionURIs != null) {
+			for (StreamElement defUri: definitionURIs.getChildren(EL_URI)) {
+				try {
+					servInf.addNewServiceDefinitionURI(defUri.getAttribute(ATTR_LANG), new URI(collapse(defUri.text)));
+				} catch (URISyntaxException e) {
+					throw new TSLParsingException(IValetException.COD_187, Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL020, new Object[ ] { ITSLElementsAndAttributes.ELEMENT_TSPSERVICE_INFORMATION_TSPSERVICEDEFINITIONURI }), e);
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getTSPServiceInformationExtensions(int, int)
+	 */
+	@Override
+	protected List<IAnyTypeExtension> getTSPServiceInformationExtensions(int posTSP, int posService) throws TSLParsingException {
+		return buildExtensions(getTSPServiceInformationFromTSPInPosition(posTSP, posService).getChild(EL_SERVICE_INFORMATION_EXTENSIONS), IAnyTypeExtension.TYPE_SERVICE_INFORMATION);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getTSPServiceHistoryInstanceSize(int, int)
+	 */
+	@Override
+	protected int getTSPServiceHistoryInstanceSize(int posTSP, int posService) {
+
+		StreamElement serviceHistory = getTSPServiceFromTSPInPosition(posTSP, posService).getChild(EL_SERVICE_HISTORY);
+		return serviceHistory == null ? 0 : serviceHistory.getChildren(EL_SERVICE_HISTORY_INSTANCE).size();
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getTSPServiceHistoryType(int, int, int)
+	 */
+	@Override
+	protected String getTSPServiceHistoryType(int posTSP, int posService, int posHistory) {
+
+		StreamElement shi = getServiceHistoryInstanceFromTSPInPosition(posTSP, posService, posHistory);
+		return shi == null ? null : fixServiceTypeIdentifier(collapse(shi.getChildText(EL_SERVICE_TYPE_IDENTIFIER)));
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#buildTSPServiceHistoryName(int, int, int, es.gob.valet.tsl.parsing.impl.common.ServiceHistoryInstance)
+	 */
+	@Override
+	protected void buildTSPServiceHistoryName(int posTSP, int posService, int posHistory, ServiceHistoryInstance shi) {
+
+		StreamElement shiElement = getServiceHistoryInstanceFromTSPInPosition(posTSP, posService, posHistory);
+		if (shiElement != null) {
+			for (StreamElement serviceName: shiElement.getChild(EL_SERVICE_NAME).getChildren(EL_NAME)) {
+				shi.addNewServiceName(serviceName.getAttribute(ATTR_LANG), normalize(serviceName.text));
+			}
+		}
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#buildTSPServiceHistoryIdentities(int, int, int, es.gob.valet.tsl.parsing.impl.common.ServiceHistoryInstance)
+	 */
+	@Override
+	protected void buildTSPServiceHistoryIdentities(int posTSP, int posService, int posHistory, ServiceHistoryInstance shi) throws TSLParsingException {
+
+		StreamElement shiElement = getServiceHistoryInstanceFromTSPInPosition(posTSP, posService, posHistory);
+		StreamElement serviceDigitalIdentity = shiElement == null ? null : shiElement.getChild(EL_SERVICE_DIGITAL_IDENTITY);
+		if (serviceDigitalIdentity != null) {
+			for (StreamElement digitalIdentity: serviceDigitalIdentity.getChildren(ITSLElementsAndAttributes.ELEMENT_DIGITAL_IDENTITY)) {
+				try {
+					shi.addNewDigitalIdentity(buildDigitalID(digitalIdentity, checkIfServiceTypeIsNoPKIorUnspecified(shi.getServiceTypeIdentifier().toString())));
+				} catch (TSLParsingException e) {
+					throw new TSLParsingException(IValetException.COD_187, Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL020, new Object[ ] { ITSLElementsAndAttributes.ELEMENT_TSPSERVICE_INFORMATION_SERVICEDIGITALIDENTITY }), e);
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getTSPServiceHistoryStatus(int, int, int)
+	 */
+	@Override
+	protected String getTSPServiceHistoryStatus(int posTSP, int posService, int posHistory) {
+
+		StreamElement shi = getServiceHistoryInstanceFromTSPInPosition(posTSP, posService, posHistory);
+		return shi == null ? null : collapse(shi.getChildText(EL_SERVICE_STATUS));
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getTSPServiceHistoryStatusStartingDateAndTime(int, int, int)
+	 */
+	@Override
+	protected Date getTSPServiceHistoryStatusStartingDateAndTime(int posTSP, int posService, int posHistory) {
+
+		StreamElement shi = getServiceHistoryInstanceFromTSPInPosition(posTSP, posService, posHistory);
+		return shi == null ? null : toCalendar(collapse(shi.getChildText(EL_STATUS_STARTING_TIME))).getTime();
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getTSPServiceHistoryExtensions(int, int, int)
+	 */
+	@Override
+	protected List<IAnyTypeExtension> getTSPServiceHistoryExtensions(int posTSP, int posService, int posHistory) throws TSLParsingException {
+
+		StreamElement shi = getServiceHistoryInstanceFromTSPInPosition(posTSP, posService, posHistory);
+		return shi == null ? null : buildExtensions(shi.getChild(EL_SERVICE_INFORMATION_EXTENSIONS), IAnyTypeExtension.TYPE_SERVICE_INFORMATION);
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.tsl.parsing.impl.ts119612.v020101.TSLBuilder#getTSLSignature()
+	 */
+	@Override
+	protected SignatureType getTSLSignature() throws TSLParsingException {
+
+		StreamElement signature = tslRoot.getChild(ITSLElementsAndAttributes.ELEMENT_SIGNATURE);
+		// Para esta especificación, la firma es obligatoria.
+		if (signature == null) {
+			throw new TSLParsingException(IValetException.COD_187, Language.getFormatResCoreTsl(ICoreTslMessages.LOGMTSL019, new Object[ ] { ITSLElementsAndAttributes.ELEMENT_SIGNATURE }));
+		}
+		return getDocumentBuildingNewSchemeTypeLoader(null, signature.domElement, SignatureDocument.class).getSignature();
+
+	}
+
+	/**
+	 * <p>Class that represents an element of the TSL read from the StAX stream. It only keeps the local name,
+	 * the attributes, the child elements and the text (for the leaf elements), or the DOM representation
+	 * for the elements that need typed access.</p>
+	 * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+	 * @version 1.0, 18/10/2026.
+	 */
+	private static final class StreamElement {
+
+		/**
+		 * Attribute that represents the local name of the element.
+		 */
+		private final String localName;
+
+		/**
+		 * Attribute that represents the attributes of the element indexed by its local name.
+		 */
+		private Map<String, String> attributes = null;
+
+		/**
+		 * Attribute that represents the child elements.
+		 */
+		private List<StreamElement> children = null;
+
+		/**
+		 * Attribute that represents the child elements indexed by its local name. It is built the first time
+		 * that it is needed.
+		 */
+		private Map<String, List<StreamElement>> childrenByName = null;
+
+		/**
+		 * Attribute that represents the text of the element, if it is a leaf element.
+		 */
+		private String text = null;
+
+		/**
+		 * Attribute that represents the DOM representation of the element, if it needs typed access.
+		 */
+		private Element domElement = null;
+
+		/**
+		 * Constructor method for the class StreamElement.
+		 * @param localNameParam Local name of the element.
+		 */
+		private StreamElement(String localNameParam) {
+			super();
+			localName = localNameParam;
+		}
+
+		/**
+		 * Adds a new attribute to the element.
+		 * @param name Local name of the attribute.
+		 * @param value Value of the attribute.
+		 */
+		private void addAttribute(String name, String value) {
+			if (attributes == null) {
+				attributes = new HashMap<String, String>();
+			}
+			attributes.put(name, value);
+		}
+
+		/**
+		 * Gets the value of the attribute with the input local name.
+		 * @param name Local name of the attribute.
+		 * @return the value of the attribute, or <code>null</code> if it is not defined.
+		 */
+		private String getAttribute(String name) {
+			return attributes == null ? null : attributes.get(name);
+		}
+
+		/**
+		 * Adds a new child element.
+		 * @param child Child element to add.
+		 */
+		private void addChild(StreamElement child) {
+			if (children == null) {
+				children = new ArrayList<StreamElement>();
+			}
+			children.add(child);
+		}
+
+		/**
+		 * Gets the first child element.
+		 * @return the first child element, or <code>null</code> if there is not child elements.
+		 */
+		private StreamElement getFirstChild() {
+			return children == null || children.isEmpty() ? null : children.get(0);
+		}
+
+		/**
+		 * Gets the first child element with the input local name.
+		 * @param name Local name of the child element.
+		 * @return the child element, or <code>null</code> if it is not defined.
+		 */
+		private StreamElement getChild(String name) {
+			List<StreamElement> namedChildren = getChildren(name);
+			return namedChildren.isEmpty() ? null : namedChildren.get(0);
+		}
+
+		/**
+		 * Gets the text of the first child element with the input local name.
+		 * @param name Local name of the child element.
+		 * @return the text of the child element, or <code>null</code> if it is not defined.
+		 */
+		private String getChildText(String name) {
+			StreamElement child = getChild(name);
+			return child == null ? null : child.text;
+		}
+
+		/**
+		 * Gets all the child elements with the input local name.
+		 * @param name Local name of the child elements.
+		 * @return list with the child elements. It could be empty.
+		 */
+		private List<StreamElement> getChildren(String name) {
+
+			// Indexamos los hijos por nombre la primera vez, para que los
+			// accesos por posición a los TSP, servicios e históricos no
+			// recorran la lista completa en cada llamada.
+			if (childrenByName == null) {
+				childrenByName = new HashMap<String, List<StreamElement>>();
+				if (children != null) {
+					for (StreamElement child: children) {
+						List<StreamElement> namedChildren = childrenByName.get(child.localName);
+						if (namedChildren == null) {
+							namedChildren = new ArrayList<StreamElement>();
+							childrenByName.put(child.localName, namedChildren);
+						}
+						namedChildren.add(child);
+					}
+				}
+			}
+			List<StreamElement> result = childrenByName.get(name);
+			return result == null ? Collections.<StreamElement> emptyList() : result;
+
+		}
+
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+/*******************************************************************************
+ * Copyright (C) 2018 MINHAFP, Gobierno de España
+ * This program is licensed and may be used, modified and redistributed under the  terms
+ * of the European Public License (EUPL), either version 1.1 or (at your option)
+ * any later version as soon as they are approved by the European Commission.
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and
+ * more details.
+ * You should have received a copy of the EUPL1.1 license
+ * along with this program; if not, you may find it at
+ * http:joinup.ec.europa.eu/software/page/eupl/licence-eupl
+ ******************************************************************************/
+
+/**
+ * <b>File:</b><p>es.gob.valet.utils.HttpConditionalResult.java.</p>
+ * <b>Description:</b><p>Class that represents the result of a conditional HTTP GET request.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * <b>Date:</b><p>18/10/2026.</p>
+ * @author Gobierno de España.
+ * @version 1.0, 18/10/2026.
+ */
+package es.gob.valet.utils;
+
+/**
+ * <p>Class that represents the result of a conditional HTTP GET request: if the resource has not been modified
+ * since the indicated validators, or the data read from it and its new validators (ETag and Last-Modified).</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * @param <T> Type of the data read.
+ * @version 1.0, 18/10/2026.
+ */
+public final class HttpConditionalResult<T> {
+
+	/**
+	 * Attribute that represents the flag that indicates if the server responded that the resource has not been modified.
+	 */
+	private final boolean notModified;
+
+	/**
+	 * Attribute that represents the value of the header ETag of the resource.
+	 */
+	private final String eTag;
+
+	/**
+	 * Attribute that represents the value of the header Last-Modified of the resource.
+	 */
+	private final String lastModified;
+
+	/**
+	 * Attribute that represents the data read from the resource.
+	 */
+	private final T data;
+
+	/**
+	 * Constructor method for the class HttpConditionalResult.java.
+	 * @param notModifiedParam Flag that indicates if the server responded that the resource has not been modified.
+	 * @param eTagParam Value of the header ETag of the resource.
+	 * @param lastModifiedParam Value of the header Last-Modified of the resource.
+	 * @param dataParam Data read from the resource.
+	 */
+	public HttpConditionalResult(boolean notModifiedParam, String eTagParam, String lastModifiedParam, T dataParam) {
+		super();
+		notModified = notModifiedParam;
+		eTag = eTagParam;
+		lastModified = lastModifiedParam;
+		data = dataParam;
+	}
+
+	/**
+	 * Gets the value of the attribute {@link #notModified}.
+	 * @return the value of the attribute {@link #notModified}.
+	 */
+	public boolean isNotModified() {
+		return notModified;
+	}
+
+	/**
+	 * Gets the value of the attribute {@link #eTag}.
+	 * @return the value of the attribute {@link #eTag}.
+	 */
+	public String getETag() {
+		return eTag;
+	}
+
+	/**
+	 * Gets the value of the attribute {@link #lastModified}.
+	 * @return the value of the attribute {@link #lastModified}.
+	 */
+	public String getLastModified() {
+		return lastModified;
+	}
+
+	/**
+	 * Gets the value of the attribute {@link #data}.
+	 * @return the value of the attribute {@link #data}.
+	 */
+	public T getData() {
+		return data;
+	}
+
+}
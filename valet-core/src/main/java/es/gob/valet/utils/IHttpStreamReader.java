@@ -1,4 +1,4 @@
-/* 
+/*
 /*******************************************************************************
  * Copyright (C) 2018 MINHAFP, Gobierno de España
  * This program is licensed and may be used, modified and redistributed under the  terms
@@ -14,42 +14,34 @@
  * http:joinup.ec.europa.eu/software/page/eupl/licence-eupl
  ******************************************************************************/
 
-/** 
- * <b>File:</b><p>es.gob.valet.persistence.configuration.cache.common.exceptions.ConfigurationCacheObjectCloneException.java.</p>
- * <b>Description:</b><p>Class that represents an exception while is cloning a configuration cache object.</p>
+/**
+ * <b>File:</b><p>es.gob.valet.utils.IHttpStreamReader.java.</p>
+ * <b>Description:</b><p>Interface that represents a reader of the body of a HTTP response that only reads the data it needs.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * <b>Date:</b><p>22/10/2018.</p>
+ * <b>Date:</b><p>18/10/2026.</p>
  * @author Gobierno de España.
- * @version 1.0, 22/10/2018.
+ * @version 1.0, 18/10/2026.
  */
-package es.gob.valet.persistence.configuration.cache.common.exceptions;
+package es.gob.valet.utils;
 
+import java.io.IOException;
+import java.io.InputStream;
 
-/** 
- * <p>Class that represents an exception while is cloning a configuration cache object.</p>
+/**
+ * <p>Interface that represents a reader of the body of a HTTP response that only reads the data it needs.
+ * The rest of the transfer is aborted when the reader returns.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.0, 22/10/2018.
+ * @param <T> Type of the data read.
+ * @version 1.0, 18/10/2026.
  */
-public class ConfigurationCacheObjectCloneException extends CloneNotSupportedException {
+public interface IHttpStreamReader<T> {
 
 	/**
-	 * Constant attribute that represents the serial version UID. 
+	 * Reads the required data from the body of a HTTP response. It is not necessary to consume the whole stream.
+	 * @param is Input stream with the body of the HTTP response. It must not be closed by the reader.
+	 * @return the data read, or <code>null</code> if it has not been found.
+	 * @throws IOException In case of some error reading the stream.
 	 */
-	private static final long serialVersionUID = -8690390899351458146L;
-
-	/**
-	 * Constructor method for the class ConfigurationCacheObjectCloneException.java. 
-	 */
-	public ConfigurationCacheObjectCloneException() {
-		super();
-	}
-
-	/**
-	 * Constructor method for the class ConfigurationCacheObjectCloneException.java.
-	 * @param message Message that describes the exception.
-	 */
-	public ConfigurationCacheObjectCloneException(String message) {
-		super(message);
-	}
+	T readData(InputStream is) throws IOException;
 
 }
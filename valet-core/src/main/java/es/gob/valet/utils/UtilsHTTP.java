@@ -20,7 +20,7 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>25/11/2018.</p>
  * @author Gobierno de España.
- * @version 1.2, 11/03/2019.
+ * @version 1.3, 18/10/2026.
  */
 package es.gob.valet.utils;
 
@@ -37,9 +37,11 @@ import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import javax.net.ssl.SSLContext;
 
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpHeaders;
 import org.apache.http.HttpHost;
@@ -55,15 +57,18 @@ import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.config.Registry;
 import org.apache.http.config.RegistryBuilder;
-import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.impl.auth.BasicSchemeFactory;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClients;
 import org.apache.http.impl.client.StandardHttpRequestRetryHandler;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.ssl.SSLContextBuilder;
 import org.apache.http.ssl.TrustStrategy;
 import org.apache.log4j.Logger;
@@ -83,7 +88,7 @@ import es.gob.valet.i18n.messages.ICoreGeneralMessages;
 /**
  * <p>Utilities class relating to connections and HTTP/S protocol.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.2, 11/03/2019.
+ * @version 1.3, 18/10/2026.
  */
 public final class UtilsHTTP {
 
@@ -117,6 +122,17 @@ public final class UtilsHTTP {
 	 */
 	public static final String OUTPUT_CONTENT_TYPE_OCSP_RESPONSE = "application/ocsp-response";
 
+	/**
+	 * Attribute that represents the HTTP client shared by all the connections of the platform. It keeps
+	 * a pool of connections per route, so the connections (and the TLS sessions) are reused.
+	 */
+	private static volatile CloseableHttpClient sharedHttpClient = null;
+
+	/**
+	 * Attribute that represents the lock used to build and close the shared HTTP client.
+	 */
+	private static final Object SHARED_HTTP_CLIENT_LOCK = new Object();
+
 	/**
 	 * Constructor method for the class UtilsHTTP.java.
 	 */
@@ -243,40 +259,18 @@ public final class UtilsHTTP {
 		// Array de bytes que devolveremos:
 		byte[ ] res = null;
 		HttpGet method = new HttpGet(uriString);
-		CloseableHttpClient client = null;
+		CloseableHttpClient client = getSharedHttpClient();
 		InputStream in = null;
 		CloseableHttpResponse response = null;
 
 		// Creamos un manejador de la conexión.
-		String protocol = method.getURI().getScheme();
-		String host = method.getURI().getHost();
-		int port = method.getURI().getPort();
-		if (port < 0) {
-			if (HTTP_SCHEME.equalsIgnoreCase(protocol)) {
-				port = NumberConstants.NUM80;
-			} else if (HTTPS_SCHEME.equalsIgnoreCase(protocol)) {
-				port = NumberConstants.NUM443;
-			}
-		}
+		HttpHost target = buildGetTargetHost(method);
 
 		// Forzamos a establecer ciertos "Headers".
 		forceSetHttpHeadersInHttpClientMethod(method, false, headersMap);
 
-		HttpHost target = new HttpHost(host, port, protocol);
-
-		// Creamos el gestor de credenciales.
-		CredentialsProvider credsProvider = new BasicCredentialsProvider();
-		// Obtenemos la configuración del proxy.
-		HttpHost proxy = UtilsProxy.setUpProxyConfigurationInHttpClient(credsProvider, method, uriString);
-		// Construimos las credenciales y la factoría SSL si son necesarios.
-		client = buildCredentialsAndSSLSocketFactoryIfIsNecessary(credsProvider, user, password, host, port, protocol);
-
-		// Establecemos el timeout de conexión.
-		// Establecemos el timeout de lectura de datos.
-		// Establecemos el proxy si es necesario.
-		RequestConfig requestConfig = RequestConfig.custom().setSocketTimeout(readTimeout).setConnectTimeout(connectionTimeout).setRedirectsEnabled(true).setProxy(proxy).build();
-
-		method.setConfig(requestConfig);
+		// Configuramos la petición y construimos su contexto.
+		HttpClientContext context = configureHttpRequest(method, uriString, connectionTimeout, readTimeout, user, password, target.getHostName(), target.getPort());
 
 		try {
 
@@ -285,7 +279,7 @@ public final class UtilsHTTP {
 				if (client != null) {
 					LOGGER.info(Language.getFormatResCoreGeneral(ICoreGeneralMessages.UTILS_HTTP_009, new Object[ ] { uriString }));
 					// Se ejecuta la conexión con el método creado.
-					response = client.execute(target, method);
+					response = client.execute(target, method, context);
 
 					// Si todo ha ido bien...
 					if (response == null) {
@@ -412,17 +406,145 @@ public final class UtilsHTTP {
 				// En cualquier caso cerramos el recurso.
 				UtilsResources.safeCloseInputStream(in);
 
+				// Al cerrar la respuesta la conexión se devuelve al pool.
 				if (response != null) {
 					response.close();
 				}
 
+			}
+
+			if (res == null) {
+				throw new CommonUtilsException(IValetException.COD_200, Language.getFormatResCoreGeneral(ICoreGeneralMessages.UTILS_HTTP_007, new Object[ ] { uriString }));
+			}
+
+		} catch (UnsupportedOperationException | IOException e) {
+			throw new CommonUtilsException(IValetException.COD_200, e.getMessage(), e);
+		}
+
+		return res;
+
+	}
+
+	/**
+	 * Method that sends a conditional HTTP GET request to a URI and, if the resource has been modified since the
+	 * input validators, reads only the data needed from the body of the response and aborts the rest of the transfer.
+	 * @param uriString Parameter that represents the connection path (URI) to the resource.
+	 * @param connectionTimeout Parameter that represents the timeout for the connection.
+	 * @param readTimeout Parameter that represents the timeout for the data reading.
+	 * @param headersMap Parameter that represents a list of specific headers for the HTTP/S connection.
+	 * @param eTag Value of the header ETag obtained in the previous request, to send it as If-None-Match. It could be <code>null</code>.
+	 * @param lastModified Value of the header Last-Modified obtained in the previous request, to send it as If-Modified-Since.
+	 * It could be <code>null</code>.
+	 * @param dataReader Reader of the data needed from the body of the response.
+	 * @param <T> Type of the data read.
+	 * @return the result of the conditional request.
+	 * @throws CommonUtilsException In case of some error getting the resource.
+	 */
+	public static <T> HttpConditionalResult<T> readDataFromURIIfModified(String uriString, int connectionTimeout, int readTimeout, Map<String, String> headersMap, String eTag, String lastModified, IHttpStreamReader<T> dataReader) throws CommonUtilsException {
+
+		try {
+
+			return readDataWithHttpClientIfModified(uriString, connectionTimeout, readTimeout, headersMap, eTag, lastModified, dataReader);
+
+		} catch (CommonUtilsException e) {
+
+			// Si se produce algún error en la conexión, lo notificamos por
+			// GrayLog.
+			UtilsGrayLog.writeMessageInGrayLog(UtilsGrayLog.LEVEL_ERROR, UtilsGrayLog.TOKEN_VALUE_CODERROR_ERROR_CON, uriString, e.getMessage());
+			// Relanzamos la excepción.
+			throw e;
+
+		}
+
+	}
+
+	/**
+	 * Method that sends a conditional HTTP GET request to a URI using the <code>HttpClient</code> library and, if the resource
+	 * has been modified, reads only the data needed from the body of the response.
+	 * @param uriString Parameter that represents the connection path (URI) to the resource.
+	 * @param connectionTimeout Parameter that represents the timeout for the connection.
+	 * @param readTimeout Parameter that represents the timeout for the data reading.
+	 * @param headersMap Parameter that represents a list of specific headers for the HTTP/S connection.
+	 * @param eTag Value of the header ETag obtained in the previous request. It could be <code>null</code>.
+	 * @param lastModified Value of the header Last-Modified obtained in the previous request. It could be <code>null</code>.
+	 * @param dataReader Reader of the data needed from the body of the response.
+	 * @param <T> Type of the data read.
+	 * @return the result of the conditional request.
+	 * @throws CommonUtilsException In case of some error getting the resource.
+	 */
+	private static <T> HttpConditionalResult<T> readDataWithHttpClientIfModified(String uriString, int connectionTimeout, int readTimeout, Map<String, String> headersMap, String eTag, String lastModified, IHttpStreamReader<T> dataReader) throws CommonUtilsException {
+
+		HttpConditionalResult<T> result = null;
+		HttpGet method = new HttpGet(uriString);
+		CloseableHttpClient client = getSharedHttpClient();
+		CloseableHttpResponse response = null;
+
+		// Creamos un manejador de la conexión.
+		HttpHost target = buildGetTargetHost(method);
+
+		// Forzamos a establecer ciertos "Headers", y añadimos los de la
+		// petición condicional si se dispone de ellos.
+		forceSetHttpHeadersInHttpClientMethod(method, false, headersMap);
+		if (!UtilsStringChar.isNullOrEmptyTrim(eTag)) {
+			method.setHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+		}
+		if (!UtilsStringChar.isNullOrEmptyTrim(lastModified)) {
+			method.setHeader(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+		}
+
+		// Configuramos la petición y construimos su contexto.
+		HttpClientContext context = configureHttpRequest(method, uriString, connectionTimeout, readTimeout, null, null, target.getHostName(), target.getPort());
+
+		try {
+
+			try {
+
 				if (client != null) {
-					client.close();
+					LOGGER.info(Language.getFormatResCoreGeneral(ICoreGeneralMessages.UTILS_HTTP_009, new Object[ ] { uriString }));
+					response = client.execute(target, method, context);
+
+					if (response == null) {
+						throw new CommonUtilsException(IValetException.COD_200, Language.getResCoreGeneral(ICoreGeneralMessages.UTILS_HTTP_006));
+					}
+
+					int statusCode = response.getStatusLine().getStatusCode();
+					if (statusCode == HttpStatus.SC_NOT_MODIFIED) {
+
+						// El recurso no ha cambiado desde la última petición.
+						LOGGER.debug(Language.getFormatResCoreGeneral(ICoreGeneralMessages.UTILS_HTTP_015, new Object[ ] { uriString }));
+						result = new HttpConditionalResult<T>(true, eTag, lastModified, null);
+
+					} else if (statusCode == HttpStatus.SC_OK) {
+
+						HttpEntity entity = response.getEntity();
+						if (entity != null) {
+
+							// Leemos solo los datos necesarios y abortamos el
+							// resto de la descarga, en lugar de consumirla al
+							// cerrar la respuesta.
+							T data = dataReader.readData(entity.getContent());
+							method.abort();
+							LOGGER.debug(Language.getFormatResCoreGeneral(ICoreGeneralMessages.UTILS_HTTP_016, new Object[ ] { uriString }));
+							result = new HttpConditionalResult<T>(false, getHeaderValue(response, HttpHeaders.ETAG), getHeaderValue(response, HttpHeaders.LAST_MODIFIED), data);
+
+						}
+
+					} else {
+						throw new CommonUtilsException(IValetException.COD_200, Language.getFormatResCoreGeneral(ICoreGeneralMessages.UTILS_HTTP_005, new Object[ ] { statusCode, response.getStatusLine().getReasonPhrase() }));
+					}
+
+				}
+
+			} finally {
+
+				// Al cerrar la respuesta la conexión se libera.
+				if (response != null) {
+					response.close();
 				}
 
 			}
 
-			if (res == null) {
+			if (result == null) {
 				throw new CommonUtilsException(IValetException.COD_200, Language.getFormatResCoreGeneral(ICoreGeneralMessages.UTILS_HTTP_007, new Object[ ] { uriString }));
 			}
 
@@ -430,7 +552,20 @@ public final class UtilsHTTP {
 			throw new CommonUtilsException(IValetException.COD_200, e.getMessage(), e);
 		}
 
-		return res;
+		return result;
+
+	}
+
+	/**
+	 * Gets the value of the first header with the input name from the HTTP response.
+	 * @param response HTTP response.
+	 * @param headerName Name of the header.
+	 * @return the value of the header, or <code>null</code> if it is not present.
+	 */
+	private static String getHeaderValue(CloseableHttpResponse response, String headerName) {
+
+		Header header = response.getFirstHeader(headerName);
+		return header == null ? null : header.getValue();
 
 	}
 
@@ -486,7 +621,7 @@ public final class UtilsHTTP {
 		// Array de bytes que devolveremos:
 		byte[ ] result = null;
 		HttpPost method = new HttpPost(uriString);
-		CloseableHttpClient client = null;
+		CloseableHttpClient client = getSharedHttpClient();
 		InputStream in = null;
 		CloseableHttpResponse response = null;
 
@@ -512,26 +647,15 @@ public final class UtilsHTTP {
 
 		HttpHost target = new HttpHost(host, port, protocol);
 
-		// Creamos el gestor de credenciales.
-		CredentialsProvider credsProvider = new BasicCredentialsProvider();
-		// Obtenemos la configuración del proxy.
-		HttpHost proxy = UtilsProxy.setUpProxyConfigurationInHttpClient(credsProvider, method, uriString);
-		// Construimos las credenciales y la factoría SSL si son necesarios.
-		client = buildCredentialsAndSSLSocketFactoryIfIsNecessary(credsProvider, user, password, host, port, protocol);
-
-		// Establecemos el timeout de conexión.
-		// Establecemos el timeout de lectura de datos.
-		// Establecemos el proxy si es necesario.
-		RequestConfig requestConfig = RequestConfig.custom().setSocketTimeout(readTimeout).setConnectTimeout(connectionTimeout).setRedirectsEnabled(true).setProxy(proxy).build();
-
-		method.setConfig(requestConfig);
+		// Configuramos la petición y construimos su contexto.
+		HttpClientContext context = configureHttpRequest(method, uriString, connectionTimeout, readTimeout, user, password, host, port);
 
 		try {
 
 			if (client != null) {
 				LOGGER.info(Language.getFormatResCoreGeneral(ICoreGeneralMessages.UTILS_HTTP_009, new Object[ ] { uriString }));
 				// Se ejecuta la conexión con el método creado.
-				response = client.execute(target, method);
+				response = client.execute(target, method, context);
 
 				// Si todo ha ido bien...
 				if (response == null) {
@@ -667,18 +791,15 @@ public final class UtilsHTTP {
 			// En cualquier caso cerramos el recurso.
 			UtilsResources.safeCloseInputStream(in);
 
+			// Al cerrar la respuesta la conexión se devuelve al pool.
 			try {
 				if (response != null) {
 					response.close();
 				}
-				if (client != null) {
-					client.close();
-				}
 			} catch (IOException e) {
 				LOGGER.warn(Language.getResCoreGeneral(ICoreGeneralMessages.UTILS_HTTP_013), e);
 			} finally {
 				response = null;
-				client = null;
 			}
 
 		}
@@ -692,48 +813,154 @@ public final class UtilsHTTP {
 	}
 
 	/**
-	 * Build the credentials and the SSLSocketFactory if these are needed for the connection, and returns the
-	 * http client to use.
+	 * Builds the target host of a HTTP GET request, taking the default port of the scheme if the URI does not
+	 * indicate it.
+	 * @param method HTTP GET request.
+	 * @return the target host of the request.
+	 */
+	private static HttpHost buildGetTargetHost(HttpGet method) {
+
+		String protocol = method.getURI().getScheme();
+		int port = method.getURI().getPort();
+		if (port < 0) {
+			if (HTTP_SCHEME.equalsIgnoreCase(protocol)) {
+				port = NumberConstants.NUM80;
+			} else if (HTTPS_SCHEME.equalsIgnoreCase(protocol)) {
+				port = NumberConstants.NUM443;
+			}
+		}
+		return new HttpHost(method.getURI().getHost(), port, protocol);
+
+	}
+
+	/**
+	 * Configures a HTTP request with the proxy, the timeouts and the redirections, and builds the context to execute it.
+	 * All the requests of the class are configured with this method, so they use the same settings.
+	 * @param method HTTP request to configure.
+	 * @param uriString Parameter that represents the connection path (URI) to the resource.
+	 * @param connectionTimeout Parameter that represents the timeout for the connection.
+	 * @param readTimeout Parameter that represents the timeout for the data reading.
+	 * @param user User name necessary for the connection. It could be <code>null</code>.
+	 * @param password Password associated to the user. It could be <code>null</code>.
+	 * @param host Hostname or IP of the target of the request.
+	 * @param port Port of the target of the request.
+	 * @return the context to use in the execution of the HTTP request.
+	 */
+	private static HttpClientContext configureHttpRequest(HttpRequestBase method, String uriString, int connectionTimeout, int readTimeout, String user, String password, String host, int port) {
+
+		// Creamos el gestor de credenciales.
+		CredentialsProvider credsProvider = new BasicCredentialsProvider();
+		// Obtenemos la configuración del proxy.
+		HttpHost proxy = UtilsProxy.setUpProxyConfigurationInHttpClient(credsProvider, method, uriString);
+
+		// Establecemos el timeout de conexión (también para obtenerla del
+		// pool).
+		// Establecemos el timeout de lectura de datos.
+		// Establecemos el proxy si es necesario.
+		RequestConfig requestConfig = RequestConfig.custom().setSocketTimeout(readTimeout).setConnectTimeout(connectionTimeout).setConnectionRequestTimeout(connectionTimeout).setRedirectsEnabled(true).setProxy(proxy).build();
+		method.setConfig(requestConfig);
+
+		// Construimos el contexto de la petición con las credenciales si son
+		// necesarias.
+		return buildHttpClientContext(credsProvider, user, password, host, port);
+
+	}
+
+	/**
+	 * Builds the context for a HTTP request, setting the credentials if these are needed for the connection.
 	 * @param credsProvider Credentials manager in which sets the user/password configuration.
 	 * @param user User name necessary for the connection. It could be <code>null</code>.
 	 * @param password Password associated to the user. It could be <code>null</code>.
 	 * @param host Hostname or IP to assign the use of the credentials. It could be <code>null</code>.
 	 * @param port Port associated to the host. It could be <code>null</code>.
-	 * @param protocol Protocol for the connection (HTTP or HTTPS).
-	 * @return a closeable http client connection.
+	 * @return the context to use in the execution of the HTTP request.
 	 */
-	private static CloseableHttpClient buildCredentialsAndSSLSocketFactoryIfIsNecessary(CredentialsProvider credsProvider, String user, String password, String host, int port, String protocol) {
-
-		CloseableHttpClient result = null;
+	private static HttpClientContext buildHttpClientContext(CredentialsProvider credsProvider, String user, String password, String host, int port) {
 
 		// Comprobamos si es necesario establecer credenciales
 		if (user != null && password != null) {
 			credsProvider.setCredentials(new AuthScope(host, port), new UsernamePasswordCredentials(user, password));
 		}
 
-		// Confiamos en cualquier conexión segura de destino...
-		try {
-			Registry<AuthSchemeProvider> authSchemeRegistry = RegistryBuilder.<AuthSchemeProvider> create().register(AuthSchemes.NTLM, new JCIFSNTLMSchemeFactory()).register(AuthSchemes.BASIC, new BasicSchemeFactory()).build();
-			if (protocol.equalsIgnoreCase(HTTPS_SCHEME)) {
-				// desactivamos la validación ssl
-				SSLContext sslContext = new SSLContextBuilder().loadTrustMaterial(null, new TrustStrategy() {
+		// Las credenciales se asocian a la petición y no al cliente, ya que
+		// este es compartido.
+		HttpClientContext result = HttpClientContext.create();
+		result.setCredentialsProvider(credsProvider);
+		return result;
+
+	}
+
+	/**
+	 * Gets the HTTP client shared by all the connections of the platform, building it if it does not exist yet.
+	 * Only the first calls, that find it not built, synchronize to build it.
+	 * @return the shared HTTP client.
+	 */
+	private static CloseableHttpClient getSharedHttpClient() {
 
-					public boolean isTrusted(X509Certificate[ ] arg0, String arg1) throws CertificateException {
-						return true;
+		CloseableHttpClient result = sharedHttpClient;
+		if (result == null) {
+
+			synchronized (SHARED_HTTP_CLIENT_LOCK) {
+
+				result = sharedHttpClient;
+				if (result == null) {
+
+					RegistryBuilder<ConnectionSocketFactory> socketFactoryRegistryBuilder = RegistryBuilder.<ConnectionSocketFactory> create().register(HTTP_SCHEME, PlainConnectionSocketFactory.getSocketFactory());
+
+					// Confiamos en cualquier conexión segura de destino. El contexto SSL
+					// se construye una única vez para reutilizar las sesiones TLS.
+					try {
+						// desactivamos la validación ssl
+						SSLContext sslContext = new SSLContextBuilder().loadTrustMaterial(null, new TrustStrategy() {
+
+							public boolean isTrusted(X509Certificate[ ] arg0, String arg1) throws CertificateException {
+								return true;
+							}
+						}).build();
+						socketFactoryRegistryBuilder.register(HTTPS_SCHEME, new ValetSSLSocketFactory(sslContext));
+					} catch (KeyManagementException | NoSuchAlgorithmException
+							| KeyStoreException e) {
+						// vacío intencionadamente
 					}
-				}).build();
-				result = HttpClients.custom().setSSLSocketFactory(new ValetSSLSocketFactory(sslContext)).setDefaultAuthSchemeRegistry(authSchemeRegistry).setRetryHandler(new StandardHttpRequestRetryHandler(0, false)).setDefaultCredentialsProvider(credsProvider).setSSLHostnameVerifier(new NoopHostnameVerifier()).build();
-			} else {
-				result = HttpClients.custom().setDefaultAuthSchemeRegistry(authSchemeRegistry).setRetryHandler(new StandardHttpRequestRetryHandler(0, false)).setDefaultCredentialsProvider(credsProvider).build();
+
+					// Creamos el pool de conexiones por ruta.
+					PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(socketFactoryRegistryBuilder.build());
+					connectionManager.setMaxTotal(UtilsConnection.getPoolMaxTotal());
+					connectionManager.setDefaultMaxPerRoute(UtilsConnection.getPoolMaxPerRoute());
+
+					Registry<AuthSchemeProvider> authSchemeRegistry = RegistryBuilder.<AuthSchemeProvider> create().register(AuthSchemes.NTLM, new JCIFSNTLMSchemeFactory()).register(AuthSchemes.BASIC, new BasicSchemeFactory()).build();
+					result = HttpClients.custom().setConnectionManager(connectionManager).setDefaultAuthSchemeRegistry(authSchemeRegistry).setRetryHandler(new StandardHttpRequestRetryHandler(0, false)).evictExpiredConnections().evictIdleConnections(UtilsConnection.getPoolIdleTimeout(), TimeUnit.SECONDS).build();
+					sharedHttpClient = result;
+
+				}
+
 			}
 
-		} catch (KeyManagementException | NoSuchAlgorithmException
-				| KeyStoreException e) {
-			// vacío intencionadamente
 		}
 
 		return result;
 
 	}
 
+	/**
+	 * Closes the HTTP client shared by all the connections of the platform and all its pooled connections.
+	 */
+	public static void closeSharedHttpClient() {
+
+		synchronized (SHARED_HTTP_CLIENT_LOCK) {
+
+			if (sharedHttpClient != null) {
+				try {
+					sharedHttpClient.close();
+				} catch (IOException e) {
+					LOGGER.warn(Language.getResCoreGeneral(ICoreGeneralMessages.UTILS_HTTP_013), e);
+				} finally {
+					sharedHttpClient = null;
+				}
+			}
+
+		}
+
+	}
+
 }
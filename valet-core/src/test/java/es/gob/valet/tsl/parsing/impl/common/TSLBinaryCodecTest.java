@@ -0,0 +1,372 @@
+/*
+/*******************************************************************************
+ * Copyright (C) 2018 MINHAFP, Gobierno de España
+ * This program is licensed and may be used, modified and redistributed under the  terms
+ * of the European Public License (EUPL), either version 1.1 or (at your option)
+ * any later version as soon as they are approved by the European Commission.
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and
+ * more details.
+ * You should have received a copy of the EUPL1.1 license
+ * along with this program; if not, you may find it at
+ * http:joinup.ec.europa.eu/software/page/eupl/licence-eupl
+ ******************************************************************************/
+
+/**
+ * <b>File:</b><p>es.gob.valet.tsl.parsing.impl.common.TSLBinaryCodecTest.java.</p>
+ * <b>Description:</b><p>Unit tests of the binary format of the TSL Object representations.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * <b>Date:</b><p>18/10/2026.</p>
+ * @author Gobierno de España.
+ * @version 1.0, 18/10/2026.
+ */
+package es.gob.valet.tsl.parsing.impl.common;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import es.gob.valet.i18n.utils.UtilsTomcat;
+import es.gob.valet.tsl.exceptions.TSLParsingException;
+import es.gob.valet.tsl.parsing.ifaces.IAnyTypeExtension;
+import es.gob.valet.tsl.parsing.ifaces.ITSLSpecificationsVersions;
+import es.gob.valet.tsl.parsing.impl.common.extensions.AdditionalServiceInformation;
+import es.gob.valet.tsl.parsing.impl.common.extensions.CriteriaList;
+import es.gob.valet.tsl.parsing.impl.common.extensions.ExpiredCertsRevocationInfo;
+import es.gob.valet.tsl.parsing.impl.common.extensions.KeyUsage;
+import es.gob.valet.tsl.parsing.impl.common.extensions.KeyUsageBit;
+import es.gob.valet.tsl.parsing.impl.common.extensions.PoliciesList;
+import es.gob.valet.tsl.parsing.impl.common.extensions.QualificationElement;
+import es.gob.valet.tsl.parsing.impl.common.extensions.Qualifications;
+import es.gob.valet.tsl.parsing.impl.common.extensions.TakenOverBy;
+import es.gob.valet.tsl.parsing.impl.common.extensions.UnknownExtension;
+
+/**
+ * <p>Unit tests of {@link TSLBinaryCodec}: a TSL Object with all the kinds of elements must be the same after
+ * encoding and decoding it, and a not valid binary representation must be rejected.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * @version 1.0, 18/10/2026.
+ */
+public class TSLBinaryCodecTest extends TestCase {
+
+	/**
+	 * Constant attribute that represents the configuration directory of the platform in the sources, used to load the
+	 * messages of the exceptions.
+	 */
+	private static final String CONFIG_DIR = "../resources/apache-tomcat-8.5.24/conf";
+
+	/**
+	 * Constant attribute that represents the language of the multilanguage elements.
+	 */
+	private static final String LANGUAGE = "en";
+
+	/**
+	 * Constant attribute that represents a self-signed certificate (DER in Base64) used as digital identity.
+	 */
+	private static final String CERTIFICATE = "MIICSDCCAbGgAwIBAgIUNUX8rW+itluR/hPBe3pFgAls1lwwDQYJKoZIhvcNAQELBQAwNjELMAkGA1UEBhMCRVMxDjAMBgNVBAoM"
+				+ "BVZBTEVUMRcwFQYDVQQDDA5WQUxFVCBUZXN0IFRTUDAeFw0yNjEwMTgxMTQ3MjNaFw0zNjEwMTUxMTQ3MjNaMDYxCzAJBgNVBAYT"
+				+ "AkVTMQ4wDAYDVQQKDAVWQUxFVDEXMBUGA1UEAwwOVkFMRVQgVGVzdCBUU1AwgZ8wDQYJKoZIhvcNAQEBBQADgY0AMIGJAoGBAJ/c"
+				+ "zGCH1yskFxhVSYfjZ6+JG0moePBUpbsnXPUVxf6Whhx+2WAQK3Q1gvMK7Xk/r5Ftt4N4hIJlsnGo6hQ5ZEcgnLGx2FuCbAh46GgT"
+				+ "GxOdLK5iI2jx7rGDgo8IWd3UNHN43i/sk7uT8/MHIvuBqNhgy4sn+IxRXkROiJh3LDj/AgMBAAGjUzBRMB0GA1UdDgQWBBS1pC2m"
+				+ "PfWL+xb+Ikrs+iRg/C0hwjAfBgNVHSMEGDAWgBS1pC2mPfWL+xb+Ikrs+iRg/C0hwjAPBgNVHRMBAf8EBTADAQH/MA0GCSqGSIb3"
+				+ "DQEBCwUAA4GBAC4Th5PHWqAzwi03nQtllHRnvq8MLpHDsVZk4HZ2Ae8HFU+94qKnZ8AXKgPjqDmtm6iQkpsgOdC6M0EBSp13hqrb"
+				+ "XBBjtK52TBJ6IWAhW41cCcukEksQUaloR5RfSjlJ0noScJqVnal3ntCdAn3HYlznJFzgepiXNZpsQH3CKIRW";
+
+	/**
+	 * Constant attribute that represents the service type used by all the services.
+	 */
+	private static final String SERVICE_TYPE = "http://uri.etsi.org/TrstSvc/Svctype/CA/QC";
+
+	static {
+		if (System.getProperty(UtilsTomcat.VALET_CONF_DIR) == null) {
+			System.setProperty(UtilsTomcat.VALET_CONF_DIR, new File(CONFIG_DIR).getAbsolutePath());
+		}
+	}
+
+	/**
+	 * Tests that a TSL Object is the same after encoding and decoding it.
+	 * @throws Exception In case of some error.
+	 */
+	public void testRoundTrip() throws Exception {
+
+		TSLObject tsl = buildTSL();
+		byte[ ] encoded = TSLBinaryCodec.encode(tsl);
+		TSLObject decoded = TSLBinaryCodec.decode(encoded);
+
+		assertEquals(tsl.getSpecification(), decoded.getSpecification());
+		assertEquals(tsl.getSpecificationVersion(), decoded.getSpecificationVersion());
+		assertEquals(tsl.getTSLTag(), decoded.getTSLTag());
+		assertEquals(tsl.getID(), decoded.getID());
+
+		SchemeInformation si = decoded.getSchemeInformation();
+		assertEquals(5, si.getTslVersionIdentifier());
+		assertEquals(42, si.getTslSequenceNumber());
+		assertEquals(tsl.getSchemeInformation().getSchemeOperatorNames(), si.getSchemeOperatorNames());
+		assertEquals(tsl.getSchemeInformation().getSchemeNames(), si.getSchemeNames());
+		assertEquals(tsl.getSchemeInformation().getPolicies(), si.getPolicies());
+		assertEquals(tsl.getSchemeInformation().getListIssueDateTime(), si.getListIssueDateTime());
+		assertEquals(tsl.getSchemeInformation().getNextUpdate(), si.getNextUpdate());
+		assertEquals(tsl.getSchemeInformation().getDistributionPoints(), si.getDistributionPoints());
+		assertEquals("Calle de Alcalá, 9", si.getSchemeOperatorAddress().getPostalAddresses().get(LANGUAGE).get(0).getStreet());
+		assertEquals(tsl.getSchemeInformation().getPointersToOtherTSL().get(0).getTSLLocation(), si.getPointersToOtherTSL().get(0).getTSLLocation());
+
+		TrustServiceProvider tsp = decoded.getTrustServiceProviderList().get(0);
+		assertEquals(tsl.getTrustServiceProviderList().get(0).getTspInformation().getAllTSPNames(), tsp.getTspInformation().getAllTSPNames());
+		List<TSPService> services = tsp.getAllTSPServices();
+		assertEquals(2, services.size());
+
+		ServiceInformation serviceInf = services.get(0).getServiceInformation();
+		assertEquals(new URI(SERVICE_TYPE), serviceInf.getServiceTypeIdentifier());
+		assertTrue(serviceInf.isServiceValidAndUsable());
+		assertEquals(1, serviceInf.getServiceSupplyPoints().size());
+		List<DigitalID> ids = serviceInf.getAllDigitalIdentities();
+		assertEquals(3, ids.size());
+		assertEquals(getCertificateId().getX509cert(), ids.get(0).getX509cert());
+		assertEquals("CN=VALET Test TSP,O=VALET,C=ES", ids.get(1).getX509SubjectName());
+		assertTrue(Arrays.equals(new byte[ ] { 1, 2, 3, 4 }, ids.get(2).getSki().getKeyIdentifier()));
+
+		Qualifications qualifications = (Qualifications) serviceInf.getServiceInformationExtensions().get(1);
+		assertTrue(qualifications.isCritical());
+		CriteriaList cl = qualifications.getQualificationsList().get(0).getCriteriaList();
+		assertEquals(CriteriaList.ASSERT_ATLEASTONE, cl.getAssertType());
+		assertEquals(KeyUsageBit.NAME_NONREPUDATION, cl.getKeyUsageList().get(0).getKeyUsageBitList().get(0).getName());
+		assertEquals("1.3.6.1.4.1.5734.3.5", cl.getPolicySetList().get(0).getPolicyIdentifiersList().get(0));
+		ExtendedKeyUsageOtherCriteria eku = (ExtendedKeyUsageOtherCriteria) cl.getCriteriaListList().get(0).getOtherCriteria();
+		assertEquals(Arrays.asList("1.3.6.1.5.5.7.3.4"), eku.getOidList());
+
+		List<ServiceHistoryInstance> history = services.get(0).getAllServiceHistory();
+		assertEquals(1, history.size());
+		assertFalse(history.get(0) instanceof ServiceInformation);
+		List<IAnyTypeExtension> historyExtensions = history.get(0).getServiceInformationExtensions();
+		assertEquals(IAnyTypeExtension.IMPL_EXPIRED_CERTS_REVOCATION_INFO, historyExtensions.get(0).getImplementationExtension());
+		assertEquals(IAnyTypeExtension.IMPL_TAKENOVERBY, historyExtensions.get(1).getImplementationExtension());
+		assertEquals("urn:example:unknown", ((UnknownExtension) historyExtensions.get(2)).getExtensionName());
+
+		// El resultado de codificar de nuevo la TSL decodificada debe ser
+		// idéntico.
+		assertTrue(Arrays.equals(encoded, TSLBinaryCodec.encode(decoded)));
+
+	}
+
+	/**
+	 * Tests that the repeated certificates and URIs are decoded only once, and shared by all the elements.
+	 * @throws Exception In case of some error.
+	 */
+	public void testSharedElements() throws Exception {
+
+		TSLObject decoded = TSLBinaryCodec.decode(TSLBinaryCodec.encode(buildTSL()));
+		List<TSPService> services = decoded.getTrustServiceProviderList().get(0).getAllTSPServices();
+		ServiceInformation first = services.get(0).getServiceInformation();
+		ServiceInformation second = services.get(1).getServiceInformation();
+		assertSame(first.getServiceTypeIdentifier(), second.getServiceTypeIdentifier());
+		assertSame(first.getAllDigitalIdentities().get(0).getX509cert(), second.getAllDigitalIdentities().get(0).getX509cert());
+
+	}
+
+	/**
+	 * Tests that the Java serialization of a TSL Object uses the binary format.
+	 * @throws Exception In case of some error.
+	 */
+	public void testJavaSerialization() throws Exception {
+
+		TSLObject tsl = buildTSL();
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+			oos.writeObject(tsl);
+		}
+		Object deserialized;
+		try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()))) {
+			deserialized = ois.readObject();
+		}
+		assertTrue(deserialized instanceof TSLObject);
+		assertTrue(Arrays.equals(TSLBinaryCodec.encode(tsl), TSLBinaryCodec.encode((TSLObject) deserialized)));
+
+	}
+
+	/**
+	 * Tests that a binary representation with an unknown magic number is rejected.
+	 * @throws Exception In case of some error.
+	 */
+	public void testInvalidMagicNumber() throws Exception {
+
+		byte[ ] encoded = TSLBinaryCodec.encode(buildTSL());
+		encoded[0] ^= (byte) 0xFF;
+		try {
+			TSLBinaryCodec.decode(encoded);
+			fail();
+		} catch (TSLParsingException e) {
+			assertNotNull(e.getMessage());
+		}
+
+	}
+
+	/**
+	 * Tests that a truncated binary representation is rejected.
+	 * @throws Exception In case of some error.
+	 */
+	public void testTruncated() throws Exception {
+
+		byte[ ] encoded = TSLBinaryCodec.encode(buildTSL());
+		for (int length: new int[ ] { 0, encoded.length / 2, encoded.length - 1 }) {
+			try {
+				TSLBinaryCodec.decode(Arrays.copyOf(encoded, length));
+				fail();
+			} catch (TSLParsingException e) {
+				assertNotNull(e.getMessage());
+			}
+		}
+
+	}
+
+	/**
+	 * Builds a TSL Object with all the kinds of elements. All the multilanguage elements only have one language, so
+	 * the order of the elements does not change after decoding them.
+	 * @return the built TSL Object.
+	 * @throws Exception In case of some error.
+	 */
+	private static TSLObject buildTSL() throws Exception {
+
+		TSLObject tsl = new TSLObject(ITSLSpecificationsVersions.SPECIFICATION_119612, ITSLSpecificationsVersions.VERSION_020101);
+		tsl.setTSLTag(new URI("http://uri.etsi.org/19612/TSLTag"));
+		tsl.setID("TSL-ES");
+
+		Address address = new Address();
+		address.addNewPostalAddress(LANGUAGE, new PostalAddress("Calle de Alcalá, 9", "Madrid", "Madrid", "28014", "ES"));
+		address.addNewElectronicAddress(LANGUAGE, new URI("mailto:tsl@example.es"));
+
+		SchemeInformation si = tsl.getSchemeInformation();
+		si.setTslVersionIdentifier(5);
+		si.setTslSequenceNumber(42);
+		si.setTslType(new URI("http://uri.etsi.org/TrstSvc/TrustedList/TSLType/EUgeneric"));
+		si.addNewSchemeOperatorName(LANGUAGE, "Scheme operator");
+		si.setSchemeOperatorAddress(address);
+		si.addNewSchemeName(LANGUAGE, "ES:Trusted list");
+		si.addNewSchemeInformationURI(LANGUAGE, new URI("https://example.es/tsl/info"));
+		si.setStatusDeterminationApproach(new URI("http://uri.etsi.org/TrstSvc/TrustedList/StatusDetn/EUappropriate"));
+		si.addNewSchemeTypeCommunityRule(LANGUAGE, new URI("http://uri.etsi.org/TrstSvc/TrustedList/schemerules/EUcommon"));
+		si.setSchemeTerritory("ES");
+		si.addNewPolicy(LANGUAGE, new URI("https://example.es/tsl/policy"));
+		si.addNewLegalNotice(LANGUAGE, "Legal notice");
+		si.setHistoricalPeriod(65535);
+		TSLPointer pointer = new TSLPointer("https://ec.europa.eu/tools/lotl/eu-lotl.xml");
+		ServiceDigitalIdentity sdi = new ServiceDigitalIdentity();
+		sdi.addNewDigitalIdentity(getCertificateId());
+		pointer.addNewServiceDigitalIdentity(sdi);
+		si.addNewPointerToOtherTSL(pointer);
+		si.setListIssueDateTime(new Date(1500000000000L));
+		si.setNextUpdate(new Date(1515000000000L));
+		si.addNewDistributionPoint(new URI("https://example.es/tsl/TSL-ES.xml"));
+
+		TSPInformation tspInf = new TSPInformation();
+		tspInf.addNewName(LANGUAGE, "Trust Service Provider");
+		tspInf.addNewTradeName(LANGUAGE, "VATES-Q0000000J");
+		tspInf.setTspAddress(address);
+		tspInf.addNewURI(LANGUAGE, new URI("https://example.es/tsp"));
+		TrustServiceProvider tsp = new TrustServiceProvider();
+		tsp.setTspInformation(tspInf);
+		tsp.addNewTSPService(buildService(true));
+		tsp.addNewTSPService(buildService(false));
+		tsl.addNewTrustServiceProvider(tsp);
+
+		return tsl;
+
+	}
+
+	/**
+	 * Builds a TSP Service.
+	 * @param withHistory Flag that indicates if the service has history.
+	 * @return the built TSP Service.
+	 * @throws Exception In case of some error.
+	 */
+	private static TSPService buildService(boolean withHistory) throws Exception {
+
+		ServiceInformation serviceInf = new ServiceInformation();
+		fillServiceHistoryInstance(serviceInf, "http://uri.etsi.org/TrstSvc/TrustedList/Svcstatus/granted", new Date(1467324000000L));
+		DigitalID subjectNameId = new DigitalID(DigitalID.TYPE_X509SUBJECTNAME);
+		subjectNameId.setX509SubjectName("CN=VALET Test TSP,O=VALET,C=ES");
+		serviceInf.addNewDigitalIdentity(subjectNameId);
+		DigitalID skiId = new DigitalID(DigitalID.TYPE_X509SKI);
+		skiId.setSki(new byte[ ] { 1, 2, 3, 4 });
+		serviceInf.addNewDigitalIdentity(skiId);
+		serviceInf.setServiceValidAndUsable(true);
+		serviceInf.addNewSchemeServiceDefinitionURI(LANGUAGE, new URI("https://example.es/tsl/scheme-service-definition"));
+		serviceInf.addNewServiceSupplyPointURI(new URI("http://ocsp.example.es"));
+		serviceInf.addNewServiceDefinitionURI(LANGUAGE, new URI("https://example.es/tsp/service-definition"));
+		serviceInf.addNewServiceInformationExtension(new AdditionalServiceInformation(new URI("http://uri.etsi.org/TrstSvc/TrustedList/SvcInfoExt/ForeSignatures"), false, IAnyTypeExtension.TYPE_SERVICE_INFORMATION));
+
+		KeyUsage keyUsage = new KeyUsage();
+		keyUsage.addNewKeyUsageBit(new KeyUsageBit(KeyUsageBit.NAME_NONREPUDATION, true));
+		PoliciesList policies = new PoliciesList();
+		policies.addNewPolicyIdentifier("1.3.6.1.4.1.5734.3.5", PoliciesList.IDENTIFIER_OID_AS_UNSPECIFIED);
+		ExtendedKeyUsageOtherCriteria eku = new ExtendedKeyUsageOtherCriteria();
+		eku.addNewOID("1.3.6.1.5.5.7.3.4");
+		CriteriaList nested = new CriteriaList(CriteriaList.ASSERT_ALL);
+		nested.setOtherCriteria(eku);
+		QualificationElement qe = new QualificationElement();
+		qe.addNewQualifier(new URI("http://uri.etsi.org/TrstSvc/TrustedList/SvcInfoExt/QCWithSSCD"));
+		CriteriaList cl = qe.addNewCriteriaList(CriteriaList.ASSERT_ATLEASTONE);
+		cl.addNewKeyUsage(keyUsage);
+		cl.addNewPolicySet(policies);
+		cl.addNewCriteriaList(nested);
+		cl.setDescription("Qualified certificates");
+		Qualifications qualifications = new Qualifications(true, IAnyTypeExtension.TYPE_SERVICE_INFORMATION);
+		qualifications.addNewQualificationElement(qe);
+		serviceInf.addNewServiceInformationExtension(qualifications);
+
+		TSPService result = new TSPService();
+		result.setServiceInformation(serviceInf);
+		if (withHistory) {
+			ServiceHistoryInstance shi = new ServiceHistoryInstance();
+			fillServiceHistoryInstance(shi, "http://uri.etsi.org/TrstSvc/TrustedList/Svcstatus/undersupervision", new Date(1277935200000L));
+			shi.addNewServiceInformationExtension(new ExpiredCertsRevocationInfo(new Date(1262304000000L), false, IAnyTypeExtension.TYPE_SERVICE_INFORMATION));
+			TakenOverBy tob = new TakenOverBy(false, IAnyTypeExtension.TYPE_SERVICE_INFORMATION);
+			tob.setUri(new URI("https://example.es/tsp/previous"));
+			tob.addNewTSPName(LANGUAGE, "Previous Trust Service Provider");
+			tob.addNewSchemeOperatorName(LANGUAGE, "Scheme operator");
+			tob.setSchemeTerritory("ES");
+			shi.addNewServiceInformationExtension(tob);
+			shi.addNewServiceInformationExtension(new UnknownExtension(false, IAnyTypeExtension.TYPE_SERVICE_INFORMATION, "urn:example:unknown"));
+			result.addNewServiceHistory(shi);
+		}
+		return result;
+
+	}
+
+	/**
+	 * Sets the common elements of a Service History Instance (or a Service Information).
+	 * @param shi Service History Instance to fill.
+	 * @param status Service status.
+	 * @param statusStartingTime Service status starting time.
+	 * @throws Exception In case of some error.
+	 */
+	private static void fillServiceHistoryInstance(ServiceHistoryInstance shi, String status, Date statusStartingTime) throws Exception {
+		shi.setServiceTypeIdentifier(new URI(SERVICE_TYPE));
+		shi.addNewServiceName(LANGUAGE, "Qualified certificates service");
+		shi.addNewDigitalIdentity(getCertificateId());
+		shi.setServiceStatus(new URI(status));
+		shi.setServiceStatusStartingTime(statusStartingTime);
+	}
+
+	/**
+	 * Builds a digital identity with the test certificate.
+	 * @return the built digital identity.
+	 * @throws Exception In case of some error.
+	 */
+	private static DigitalID getCertificateId() throws Exception {
+		DigitalID result = new DigitalID(DigitalID.TYPE_X509CERTIFICATE);
+		result.setX509cert(Base64.getDecoder().decode(CERTIFICATE));
+		return result;
+	}
+
+}
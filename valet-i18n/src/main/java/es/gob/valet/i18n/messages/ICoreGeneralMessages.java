@@ -21,7 +21,7 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>25/09/2018.</p>
  * @author Gobierno de España.
- * @version 1.12, 28/06/2021.
+ * @version 1.13, 18/10/2026.
  */
 package es.gob.valet.i18n.messages;
 
@@ -29,7 +29,7 @@ package es.gob.valet.i18n.messages;
  * <p>Interface that defines all the token constants for the messages
  * in the core module of valET: general.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.12, 28/06/2021.
+ * @version 1.13, 18/10/2026.
  */
 public interface ICoreGeneralMessages {
 
@@ -893,6 +893,18 @@ public interface ICoreGeneralMessages {
 	 */
 	String UTILS_HTTP_014 = "UTILS_HTTP_014";
 
+	/**
+	 * Constant attribute that represents the property key <code>UTILS_HTTP_015</code> belonging to the
+	 * file messages/valet-core/general_xx_YY.properties.
+	 */
+	String UTILS_HTTP_015 = "UTILS_HTTP_015";
+
+	/**
+	 * Constant attribute that represents the property key <code>UTILS_HTTP_016</code> belonging to the
+	 * file messages/valet-core/general_xx_YY.properties.
+	 */
+	String UTILS_HTTP_016 = "UTILS_HTTP_016";
+
 	/**
 	 * Constant attribute that represents the property key <code>EMAIL_000</code> belonging to the
 	 * file messages/valet-core/general_xx_YY.properties.
@@ -1097,6 +1109,42 @@ public interface ICoreGeneralMessages {
 	 */
 	String ALARM_MNG_017 = "ALARM_MNG_017";
 
+	/**
+	 * Constant attribute that represents the property key <code>ALARM_MNG_018</code> belonging to the
+	 * file messages/valet-core/general_xx_YY.properties.
+	 */
+	String ALARM_MNG_018 = "ALARM_MNG_018";
+
+	/**
+	 * Constant attribute that represents the property key <code>ALARM_MNG_019</code> belonging to the
+	 * file messages/valet-core/general_xx_YY.properties.
+	 */
+	String ALARM_MNG_019 = "ALARM_MNG_019";
+
+	/**
+	 * Constant attribute that represents the property key <code>ALARM_MNG_020</code> belonging to the
+	 * file messages/valet-core/general_xx_YY.properties.
+	 */
+	String ALARM_MNG_020 = "ALARM_MNG_020";
+
+	/**
+	 * Constant attribute that represents the property key <code>ALARM_MNG_021</code> belonging to the
+	 * file messages/valet-core/general_xx_YY.properties.
+	 */
+	String ALARM_MNG_021 = "ALARM_MNG_021";
+
+	/**
+	 * Constant attribute that represents the property key <code>ALARM_MNG_022</code> belonging to the
+	 * file messages/valet-core/general_xx_YY.properties.
+	 */
+	String ALARM_MNG_022 = "ALARM_MNG_022";
+
+	/**
+	 * Constant attribute that represents the property key <code>ALARM_MNG_023</code> belonging to the
+	 * file messages/valet-core/general_xx_YY.properties.
+	 */
+	String ALARM_MNG_023 = "ALARM_MNG_023";
+
 	/**
 	 * Constant attribute that represents the property key <code>TASK_MNG_000</code> belonging to the
 	 * file messages/valet-core/general_xx_YY.properties.
@@ -1199,6 +1247,12 @@ public interface ICoreGeneralMessages {
 	 */
 	String ALM002_EVENT_003 = "ALM002_EVENT_003";
 
+	/**
+	 * Constant attribute that represents the property key <code>ALM002_EVENT_004</code> belonging to the
+	 * file messages/valet-core/general_xx_YY.properties.
+	 */
+	String ALM002_EVENT_004 = "ALM002_EVENT_004";
+
 	/**
 	 * Constant attribute that represents the property key <code>ALM003_EVENT_000</code> belonging to the
 	 * file messages/valet-core/general_xx_YY.properties.
@@ -1266,4 +1320,40 @@ public interface ICoreGeneralMessages {
 	 */
 	String CCAT_000 = "CCAT_000";
 
+	/**
+	 * Constant attribute that represents the property key <code>EVENTS_COLLECTOR_000</code> belonging to the
+	 * file messages/valet-core/general_xx_YY.properties.
+	 */
+	String EVENTS_COLLECTOR_000 = "EVENTS_COLLECTOR_000";
+
+	/**
+	 * Constant attribute that represents the property key <code>EVENTS_COLLECTOR_001</code> belonging to the
+	 * file messages/valet-core/general_xx_YY.properties.
+	 */
+	String EVENTS_COLLECTOR_001 = "EVENTS_COLLECTOR_001";
+
+	/**
+	 * Constant attribute that represents the property key <code>EVENTS_COLLECTOR_002</code> belonging to the
+	 * file messages/valet-core/general_xx_YY.properties.
+	 */
+	String EVENTS_COLLECTOR_002 = "EVENTS_COLLECTOR_002";
+
+	/**
+	 * Constant attribute that represents the property key <code>EVENTS_COLLECTOR_003</code> belonging to the
+	 * file messages/valet-core/general_xx_YY.properties.
+	 */
+	String EVENTS_COLLECTOR_003 = "EVENTS_COLLECTOR_003";
+
+	/**
+	 * Constant attribute that represents the property key <code>EVENTS_COLLECTOR_004</code> belonging to the
+	 * file messages/valet-core/general_xx_YY.properties.
+	 */
+	String EVENTS_COLLECTOR_004 = "EVENTS_COLLECTOR_004";
+
+	/**
+	 * Constant attribute that represents the property key <code>EVENTS_COLLECTOR_005</code> belonging to the
+	 * file messages/valet-core/general_xx_YY.properties.
+	 */
+	String EVENTS_COLLECTOR_005 = "EVENTS_COLLECTOR_005";
+
 }
@@ -21,7 +21,7 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>18/10/2018.</p>
  * @author Gobierno de España.
- * @version 1.9, 14/12/2021.
+ * @version 1.10, 18/10/2026.
  */
 package es.gob.valet.i18n.messages;
 
@@ -29,7 +29,7 @@ package es.gob.valet.i18n.messages;
  * <p>Interface that defines all the token constants for the messages
  * in the core module of valET: TSL.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.9, 14/12/2021.
+ * @version 1.10, 18/10/2026.
  */
 public interface ICoreTslMessages {
 
@@ -1904,5 +1904,109 @@ public interface ICoreTslMessages {
 	 * Constant attribute that represents the name of the property <code>logMTSL347</code> belonging to the file messages/valet-core/tsl_xx_YY.properties.
 	 */
 	String LOGMTSL347 = "logMTSL347";
-	
+	/**
+	 * Constant attribute that represents the name of the property <code>logMTSL348</code> belonging to the file messages/valet-core/tsl_xx_YY.properties.
+	 */
+	String LOGMTSL348 = "logMTSL348";
+	/**
+	 * Constant attribute that represents the name of the property <code>logMTSL349</code> belonging to the file messages/valet-core/tsl_xx_YY.properties.
+	 */
+	String LOGMTSL349 = "logMTSL349";
+	/**
+	 * Constant attribute that represents the name of the property <code>logMTSL350</code> belonging to the file messages/valet-core/tsl_xx_YY.properties.
+	 */
+	String LOGMTSL350 = "logMTSL350";
+	/**
+	 * Constant attribute that represents the name of the property <code>logMTSL351</code> belonging to the file messages/valet-core/tsl_xx_YY.properties.
+	 */
+	String LOGMTSL351 = "logMTSL351";
+	/**
+	 * Constant attribute that represents the name of the property <code>logMTSL352</code> belonging to the file messages/valet-core/tsl_xx_YY.properties.
+	 */
+	String LOGMTSL352 = "logMTSL352";
+	/**
+	 * Constant attribute that represents the name of the property <code>logMTSL353</code> belonging to the file messages/valet-core/tsl_xx_YY.properties.
+	 */
+	String LOGMTSL353 = "logMTSL353";
+	/**
+	 * Constant attribute that represents the name of the property <code>logMTSL354</code> belonging to the file messages/valet-core/tsl_xx_YY.properties.
+	 */
+	String LOGMTSL354 = "logMTSL354";
+	/**
+	 * Constant attribute that represents the name of the property <code>logMTSL355</code> belonging to the file messages/valet-core/tsl_xx_YY.properties.
+	 */
+	String LOGMTSL355 = "logMTSL355";
+	/**
+	 * Constant attribute that represents the name of the property <code>logMTSL356</code> belonging to the file messages/valet-core/tsl_xx_YY.properties.
+	 */
+	String LOGMTSL356 = "logMTSL356";
+	/**
+	 * Constant attribute that represents the name of the property <code>logMTSL357</code> belonging to the file messages/valet-core/tsl_xx_YY.properties.
+	 */
+	String LOGMTSL357 = "logMTSL357";
+	/**
+	 * Constant attribute that represents the name of the property <code>logMTSL358</code> belonging to the file messages/valet-core/tsl_xx_YY.properties.
+	 */
+	String LOGMTSL358 = "logMTSL358";
+	/**
+	 * Constant attribute that represents the name of the property <code>logMTSL359</code> belonging to the file messages/valet-core/tsl_xx_YY.properties.
+	 */
+	String LOGMTSL359 = "logMTSL359";
+	/**
+	 * Constant attribute that represents the name of the property <code>logMTSL360</code> belonging to the file messages/valet-core/tsl_xx_YY.properties.
+	 */
+	String LOGMTSL360 = "logMTSL360";
+	/**
+	 * Constant attribute that represents the name of the property <code>logMTSL361</code> belonging to the file messages/valet-core/tsl_xx_YY.properties.
+	 */
+	String LOGMTSL361 = "logMTSL361";
+	/**
+	 * Constant attribute that represents the name of the property <code>logMTSL362</code> belonging to the file messages/valet-core/tsl_xx_YY.properties.
+	 */
+	String LOGMTSL362 = "logMTSL362";
+	/**
+	 * Constant attribute that represents the name of the property <code>logMTSL363</code> belonging to the file messages/valet-core/tsl_xx_YY.properties.
+	 */
+	String LOGMTSL363 = "logMTSL363";
+	/**
+	 * Constant attribute that represents the name of the property <code>logMTSL364</code> belonging to the file messages/valet-core/tsl_xx_YY.properties.
+	 */
+	String LOGMTSL364 = "logMTSL364";
+	/**
+	 * Constant attribute that represents the name of the property <code>logMTSL365</code> belonging to the file messages/valet-core/tsl_xx_YY.properties.
+	 */
+	String LOGMTSL365 = "logMTSL365";
+	/**
+	 * Constant attribute that represents the name of the property <code>logMTSL366</code> belonging to the file messages/valet-core/tsl_xx_YY.properties.
+	 */
+	String LOGMTSL366 = "logMTSL366";
+	/**
+	 * Constant attribute that represents the name of the property <code>logMTSL367</code> belonging to the file messages/valet-core/tsl_xx_YY.properties.
+	 */
+	String LOGMTSL367 = "logMTSL367";
+	/**
+	 * Constant attribute that represents the name of the property <code>logMTSL368</code> belonging to the file messages/valet-core/tsl_xx_YY.properties.
+	 */
+	String LOGMTSL368 = "logMTSL368";
+	/**
+	 * Constant attribute that represents the name of the property <code>logMTSL369</code> belonging to the file messages/valet-core/tsl_xx_YY.properties.
+	 */
+	String LOGMTSL369 = "logMTSL369";
+	/**
+	 * Constant attribute that represents the name of the property <code>logMTSL370</code> belonging to the file messages/valet-core/tsl_xx_YY.properties.
+	 */
+	String LOGMTSL370 = "logMTSL370";
+	/**
+	 * Constant attribute that represents the name of the property <code>logMTSL371</code> belonging to the file messages/valet-core/tsl_xx_YY.properties.
+	 */
+	String LOGMTSL371 = "logMTSL371";
+	/**
+	 * Constant attribute that represents the name of the property <code>logMTSL372</code> belonging to the file messages/valet-core/tsl_xx_YY.properties.
+	 */
+	String LOGMTSL372 = "logMTSL372";
+	/**
+	 * Constant attribute that represents the name of the property <code>logMTSL373</code> belonging to the file messages/valet-core/tsl_xx_YY.properties.
+	 */
+	String LOGMTSL373 = "logMTSL373";
+
 }
@@ -21,7 +21,7 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>18/10/2018.</p>
  * @author Gobierno de España.
- * @version 1.5, 07/06/2021.
+ * @version 1.6, 18/10/2026.
  */
 package es.gob.valet.i18n.messages;
 
@@ -29,7 +29,7 @@ package es.gob.valet.i18n.messages;
  * <p>Interface that defines all the token constants for the messages
  * in the rest module of valET: general.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.5, 07/06/2021.
+ * @version 1.6, 18/10/2026.
  */
 public interface IRestGeneralMessages {
 
@@ -291,5 +291,62 @@ public interface IRestGeneralMessages {
 	 * file messages/valet-rest/general_xx_YY.properties.
 	 */
 	String REST_LOG044 = "REST044";
+	/**
+	 * Constant attribute that represents the name of the property <code>REST045</code> belonging to the
+	 * file messages/valet-rest/general_xx_YY.properties.
+	 */
+	String REST_LOG045 = "REST045";
+	/**
+	 * Constant attribute that represents the name of the property <code>REST046</code> belonging to the
+	 * file messages/valet-rest/general_xx_YY.properties.
+	 */
+	String REST_LOG046 = "REST046";
+	/**
+	 * Constant attribute that represents the name of the property <code>REST047</code> belonging to the
+	 * file messages/valet-rest/general_xx_YY.properties.
+	 */
+	String REST_LOG047 = "REST047";
+	/**
+	 * Constant attribute that represents the name of the property <code>REST048</code> belonging to the
+	 * file messages/valet-rest/general_xx_YY.properties.
+	 */
+	String REST_LOG048 = "REST048";
+	/**
+	 * Constant attribute that represents the name of the property <code>REST049</code> belonging to the
+	 * file messages/valet-rest/general_xx_YY.properties.
+	 */
+	String REST_LOG049 = "REST049";
+	/**
+	 * Constant attribute that represents the name of the property <code>REST050</code> belonging to the
+	 * file messages/valet-rest/general_xx_YY.properties.
+	 */
+	String REST_LOG050 = "REST050";
+	/**
+	 * Constant attribute that represents the name of the property <code>REST051</code> belonging to the
+	 * file messages/valet-rest/general_xx_YY.properties.
+	 */
+	String REST_LOG051 = "REST051";
+	/**
+	 * Constant attribute that represents the name of the property <code>REST052</code> belonging to the
+	 * file messages/valet-rest/general_xx_YY.properties.
+	 */
+	String REST_LOG052 = "REST052";
+	/**
+	 * Constant attribute that represents the name of the property <code>REST053</code> belonging to the
+	 * file messages/valet-rest/general_xx_YY.properties.
+	 */
+	String REST_LOG053 = "REST053";
+
+	/**
+	 * Constant attribute that represents the name of the property <code>REST054</code> belonging to the
+	 * file messages/valet-rest/general_xx_YY.properties.
+	 */
+	String REST_LOG054 = "REST054";
+
+	/**
+	 * Constant attribute that represents the name of the property <code>REST055</code> belonging to the
+	 * file messages/valet-rest/general_xx_YY.properties.
+	 */
+	String REST_LOG055 = "REST055";
 	
 }
@@ -21,7 +21,7 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>18/10/2018.</p>
  * @author Gobierno de España.
- * @version 1.12, 16/09/2021.
+ * @version 1.13, 18/10/2026.
  */
 package es.gob.valet.i18n.messages;
 
@@ -29,7 +29,7 @@ package es.gob.valet.i18n.messages;
  * <p>Interface that defines all the token constants for the messages
  * in the web module of valET: general.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.12, 16/09/2021.
+ * @version 1.13, 18/10/2026.
  */
 public interface IWebGeneralMessages {
 
@@ -323,6 +323,31 @@ public interface IWebGeneralMessages {
 	 * file messages/valet-web/general_xx_YY.properties.
 	 */
 	String TASK_FIND_NEW_TSL_REV_LOG_013 = "task.findNewTslRev.LOG013";
+	/**
+	 * Constant attribute that represents the name of the property <code>task.findNewTslRev.LOG014</code> belonging to the
+	 * file messages/valet-web/general_xx_YY.properties.
+	 */
+	String TASK_FIND_NEW_TSL_REV_LOG_014 = "task.findNewTslRev.LOG014";
+	/**
+	 * Constant attribute that represents the name of the property <code>task.findNewTslRev.LOG015</code> belonging to the
+	 * file messages/valet-web/general_xx_YY.properties.
+	 */
+	String TASK_FIND_NEW_TSL_REV_LOG_015 = "task.findNewTslRev.LOG015";
+	/**
+	 * Constant attribute that represents the name of the property <code>task.findNewTslRev.LOG016</code> belonging to the
+	 * file messages/valet-web/general_xx_YY.properties.
+	 */
+	String TASK_FIND_NEW_TSL_REV_LOG_016 = "task.findNewTslRev.LOG016";
+	/**
+	 * Constant attribute that represents the name of the property <code>task.findNewTslRev.LOG017</code> belonging to the
+	 * file messages/valet-web/general_xx_YY.properties.
+	 */
+	String TASK_FIND_NEW_TSL_REV_LOG_017 = "task.findNewTslRev.LOG017";
+	/**
+	 * Constant attribute that represents the name of the property <code>task.findNewTslRev.LOG018</code> belonging to the
+	 * file messages/valet-web/general_xx_YY.properties.
+	 */
+	String TASK_FIND_NEW_TSL_REV_LOG_018 = "task.findNewTslRev.LOG018";
 	/**
 	 * Constant attribute that represents the name of the property <code>errorUpdateTask</code> belonging to the
 	 * file messages/valet-web/general_xx_YY.properties.
@@ -20,7 +20,7 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>22/10/2018.</p>
  * @author Gobierno de España.
- * @version 1.0, 22/10/2018.
+ * @version 1.1, 18/10/2026.
  */
 package es.gob.valet.persistence.configuration.cache.common.impl;
 
@@ -33,6 +33,7 @@ import es.gob.valet.cache.exceptions.BadPathCacheValetException;
 import es.gob.valet.cache.exceptions.CacheValetException;
 import es.gob.valet.cache.exceptions.ManagingObjectCacheValetException;
 import es.gob.valet.cache.ifaces.ICacheValet;
+import es.gob.valet.cache.utils.CacheValetNamespace;
 import es.gob.valet.commons.utils.UtilsStringChar;
 import es.gob.valet.exceptions.IValetException;
 import es.gob.valet.i18n.Language;
@@ -42,7 +43,7 @@ import es.gob.valet.persistence.configuration.cache.common.exceptions.Configurat
 /**
  * <p>Class to handle the configuration objects in the ValET Cache.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.0, 22/10/2018.
+ * @version 1.1, 18/10/2026.
  */
 public abstract class ConfigurationCache {
 
@@ -66,6 +67,11 @@ public abstract class ConfigurationCache {
 	 */
 	private static final String PATH_INIT = "InitializationFlag";
 
+	/**
+	 * Constant attribute that represents the base node inside the cache for the Configuration.
+	 */
+	private static final CacheValetNamespace NAMESPACE_BASE = new CacheValetNamespace(PATH_BASE);
+
 	/**
 	 * Constructor method for the class ConfigurationCache.java.
 	 */
@@ -335,6 +341,73 @@ public abstract class ConfigurationCache {
 
 	}
 
+	/**
+	 * Builds the precomputed node inside the configuration cache represented by the input path. The nodes must be built once,
+	 * and then used to get the objects from the configuration cache without building the path in each access.
+	 * @param path Path of the node inside the configuration cache.
+	 * @return the precomputed node inside the configuration cache.
+	 */
+	protected static CacheValetNamespace buildNamespace(String... path) {
+
+		CacheValetNamespace result = NAMESPACE_BASE;
+		for (String element: path) {
+			result = result.child(element);
+		}
+		return result;
+
+	}
+
+	/**
+	 * Gets the configuration object stored with the input key in the node inside the configuration cache. This
+	 * method does not allocate any object to build the path.
+	 * @param namespace Node inside the configuration cache, built with {@link #buildNamespace(String...)}.
+	 * @param key Key of the configuration object to get.
+	 * @param inLoadingCache Flag that indicates if the operation must be executed on the loading auxiliar cache.
+	 * @return The configuration object. <code>null</code> if it does not exist.
+	 * @throws ConfigurationCacheException If the method fails.
+	 */
+	protected final ConfigurationCacheObject getConfigurationCacheObject(CacheValetNamespace namespace, String key, boolean inLoadingCache) throws ConfigurationCacheException {
+		return (ConfigurationCacheObject) getObjectFromNamespace(namespace, key, inLoadingCache);
+	}
+
+	/**
+	 * Gets the {@link String} stored with the input key in the node inside the configuration cache. This
+	 * method does not allocate any object to build the path.
+	 * @param namespace Node inside the configuration cache, built with {@link #buildNamespace(String...)}.
+	 * @param key Key of the string to get.
+	 * @param inLoadingCache Flag that indicates if the operation must be executed on the loading auxiliar cache.
+	 * @return The string. <code>null</code> if it does not exist.
+	 * @throws ConfigurationCacheException If the method fails.
+	 */
+	protected final String getStringFromNamespace(CacheValetNamespace namespace, String key, boolean inLoadingCache) throws ConfigurationCacheException {
+		return (String) getObjectFromNamespace(namespace, key, inLoadingCache);
+	}
+
+	/**
+	 * Gets the object stored with the input key in the node inside the configuration cache.
+	 * @param namespace Node inside the configuration cache.
+	 * @param key Key of the object to get.
+	 * @param inLoadingCache Flag that indicates if the operation must be executed on the loading auxiliar cache.
+	 * @return The object. <code>null</code> if it does not exist.
+	 * @throws ConfigurationCacheException If the method fails.
+	 */
+	private Object getObjectFromNamespace(CacheValetNamespace namespace, String key, boolean inLoadingCache) throws ConfigurationCacheException {
+
+		// Comprobamos que la ruta de entrada no sea nula.
+		if (namespace == null || key == null) {
+			throw new ConfigurationCacheException(IValetException.COD_191, Language.getResPersistenceCache(IPersistenceCacheMessages.CONFIG_CACHE_LOG004));
+		}
+
+		try {
+			return getCacheValet().getObject(namespace, key, inLoadingCache);
+		} catch (BadPathCacheValetException e) {
+			throw new ConfigurationCacheException(IValetException.COD_191, e.toString(), e);
+		} catch (ManagingObjectCacheValetException e) {
+			throw new ConfigurationCacheException(IValetException.COD_191, e.toString(), e);
+		}
+
+	}
+
 	/**
 	 * Gets the Configuration Object from the path in the configuration cache.
 	 * @param path Path inside the cache of the configuration object to get.
@@ -599,27 +672,8 @@ public abstract class ConfigurationCache {
 	 */
 	public final boolean isInitialized(boolean inLoadingCache) throws ConfigurationCacheException {
 
-		// Se construye la ruta en la caché.
-		String[ ] path = new String[2];
-		path[0] = PATH_BASE;
-		path[1] = PATH_INIT;
-
-		Boolean result = null;
-		try {
-			Object treeCacheObject = getCacheValet().getObject(path, inLoadingCache);
-			if (treeCacheObject == null) {
-				result = Boolean.FALSE;
-			} else {
-				result = (Boolean) treeCacheObject;
-			}
-
-		} catch (BadPathCacheValetException e) {
-			throw new ConfigurationCacheException(IValetException.COD_191, e.toString(), e);
-		} catch (ManagingObjectCacheValetException e) {
-			throw new ConfigurationCacheException(IValetException.COD_191, e.toString(), e);
-		}
-
-		return result.booleanValue();
+		Boolean result = (Boolean) getObjectFromNamespace(NAMESPACE_BASE, PATH_INIT, inLoadingCache);
+		return result != null && result.booleanValue();
 
 	}
 
@@ -657,13 +711,12 @@ public abstract class ConfigurationCache {
 	}
 
 	/**
-	 * Method that assigns the auxiliar configuration cache as principal, an then stop the oldest.
-	 * @param millisecondsBeforeStopCache number of milliseconds before stop the old cache.
+	 * Method that assigns the auxiliar configuration cache as principal, replacing the oldest.
 	 * @throws ConfigurationCacheException In case of some error initializing the configuration cache.
 	 */
-	public final void assignAsPrincipalAuxiliarCache(int millisecondsBeforeStopCache) throws ConfigurationCacheException {
+	public final void assignAsPrincipalAuxiliarCache() throws ConfigurationCacheException {
 
-		getCacheValet().assignAsPrincipalAuxiliarCache(millisecondsBeforeStopCache);
+		getCacheValet().assignAsPrincipalAuxiliarCache();
 
 	}
 
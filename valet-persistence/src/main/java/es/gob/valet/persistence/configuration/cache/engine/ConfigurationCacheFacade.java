@@ -20,7 +20,7 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>24/10/2018.</p>
  * @author Gobierno de España.
- * @version 1.6, 06/02/2019.
+ * @version 1.7, 18/10/2026.
  */
 package es.gob.valet.persistence.configuration.cache.engine;
 
@@ -30,8 +30,6 @@ import java.util.Set;
 
 import org.apache.log4j.Logger;
 
-import es.gob.valet.commons.utils.NumberConstants;
-import es.gob.valet.commons.utils.StaticValetConfig;
 import es.gob.valet.exceptions.IValetException;
 import es.gob.valet.i18n.Language;
 import es.gob.valet.i18n.messages.IPersistenceCacheMessages;
@@ -55,7 +53,7 @@ import es.gob.valet.persistence.configuration.model.entity.TslData;
 /**
  * <p>Facade for all the configuration cache objects of the configuration.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.6, 06/02/2019.
+ * @version 1.7, 18/10/2026.
  */
 public final class ConfigurationCacheFacade {
 
@@ -373,32 +371,7 @@ public final class ConfigurationCacheFacade {
 		initializeConfigurationCache(true);
 
 		// Sustituimos la actual por la auxiliar.
-		int sleepTimeBeforeStopCache = getSleepTimeBeforeStopCache();
-		LOGGER.info(Language.getFormatResPersistenceCache(IPersistenceCacheMessages.CONFIG_CACHE_LOG039, new Object[ ] { sleepTimeBeforeStopCache }));
-		TSLCache.getInstance().assignAsPrincipalAuxiliarCache(sleepTimeBeforeStopCache);
-
-	}
-
-	/**
-	 * Gets from the data base the property value that defines the sleep time before stop the
-	 * local cache configuration.
-	 * @return number of milliseconds to wait before stop the local cache configuration.
-	 */
-	public static int getSleepTimeBeforeStopCache() {
-
-		// Por defecto devolvemos que no se espera para detener la caché.
-		int result = 0;
-
-		try {
-			String valueInStaticProperty = StaticValetConfig.getProperty(StaticValetConfig.CACHE_IDLETIMEBEFORESTOPCACHE);
-			result = Integer.parseInt(valueInStaticProperty) * NumberConstants.NUM1000;
-		} catch (NumberFormatException e) {
-			LOGGER.error(Language.getResPersistenceCache(IPersistenceCacheMessages.CONFIG_CACHE_LOG036), e);
-			result = NumberConstants.NUM30000;
-		}
-
-		// Devolvemos el valor calculado.
-		return result;
+		TSLCache.getInstance().assignAsPrincipalAuxiliarCache();
 
 	}
 
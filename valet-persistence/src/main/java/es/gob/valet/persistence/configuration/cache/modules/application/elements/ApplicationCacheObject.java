@@ -20,25 +20,24 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>17/12/2018.</p>
  * @author Gobierno de España.
- * @version 1.0, 17/12/2018.
+ * @version 1.1, 18/10/2026.
  */
 package es.gob.valet.persistence.configuration.cache.modules.application.elements;
 
 import es.gob.valet.exceptions.IValetException;
 import es.gob.valet.i18n.Language;
 import es.gob.valet.i18n.messages.IPersistenceCacheMessages;
-import es.gob.valet.persistence.configuration.cache.common.exceptions.ConfigurationCacheObjectCloneException;
-import es.gob.valet.persistence.configuration.cache.common.exceptions.ConfigurationCacheObjectStreamException;
 import es.gob.valet.persistence.configuration.cache.common.impl.ConfigurationCacheObject;
 import es.gob.valet.persistence.configuration.cache.modules.application.exceptions.ApplicationCacheException;
 import es.gob.valet.persistence.configuration.model.entity.ApplicationValet;
 
 /**
- * <p>Class that represents an application in the clustered cache.</p>
+ * <p>Class that represents an application in the clustered cache. It is immutable, so the same instance is shared
+ * by all the readers of the cache.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.0, 17/12/2018.
+ * @version 1.1, 18/10/2026.
  */
-public class ApplicationCacheObject extends ConfigurationCacheObject {
+public final class ApplicationCacheObject extends ConfigurationCacheObject {
 
 	/**
 	 * Attribute that represents the serial version UID.
@@ -48,45 +47,37 @@ public class ApplicationCacheObject extends ConfigurationCacheObject {
 	/**
 	 * Attribute that represents the application ID.
 	 */
-	private long applicationId = -1;
+	private final long applicationId;
 
 	/**
 	 * Attribute that represents the identificator of the application in the system.
 	 */
-	private String identificator;
+	private final String identificator;
 
 	/**
 	 * Attribute that represents the name of the application.
 	 */
-	private String name = null;
+	private final String name;
 
 	/**
 	 * Attribute that represents the name of the responsible of the application.
 	 */
-	private String responsibleName = null;
+	private final String responsibleName;
 
 	/**
 	 * Attribute that represents the phone number of the responsible of the application.
 	 */
-	private String responsiblePhone = null;
+	private final String responsiblePhone;
 
 	/**
 	 * Attribute that represents the surnames of the responsible of the application.
 	 */
-	private String responsibleSurnames = null;
+	private final String responsibleSurnames;
 
 	/**
 	 * Attribute that represents the email of the responsible of the application.
 	 */
-	private String responsibleMail = null;
-
-	/**
-	 *
-	 * Constructor method for the class ApplicationCacheObject.java.
-	 */
-	private ApplicationCacheObject() {
-		super();
-	}
+	private final String responsibleMail;
 
 	/**
 	 * Constructor method for the class ApplicationCacheObject.java.
@@ -94,66 +85,19 @@ public class ApplicationCacheObject extends ConfigurationCacheObject {
 	 * @throws ApplicationCacheException In case of some error building the application.
 	 */
 	public ApplicationCacheObject(ApplicationValet app) throws ApplicationCacheException {
-		this();
+		super();
 		// si el pojo recibido es nulo, se lanza una excepción ya que no se
 		// puede inicializar el objeto
 		if (app == null) {
 			throw new ApplicationCacheException(IValetException.COD_191, Language.getResPersistenceCache(IPersistenceCacheMessages.CONFIG_APPLICATION_CACHE_LOG000));
-		} else {
-			setApplicationId(app.getIdApplication());
-			setIdentificator(app.getIdentificator());
-			setName(app.getName());
-			setResponsibleName(app.getResponsibleName());
-			setResponsibleSurnames(app.getResponsibleSurnames());
-			setResponsibleMail(app.getResponsibleMail());
-			setResponsiblePhone(app.getResponsiblePhone());
-		}
-
-	}
-
-	/**
-	 * {@inheritDoc}
-	 * @see es.gob.valet.persistence.configuration.cache.common.impl.ConfigurationCacheObject#writeReplace()
-	 */
-	@Override
-	protected Object writeReplace() throws ConfigurationCacheObjectStreamException {
-		try {
-			return this.clone();
-		} catch (CloneNotSupportedException e) {
-			throw new ConfigurationCacheObjectStreamException(e.getMessage());
 		}
-	}
-
-	/**
-	 * {@inheritDoc}
-	 * @see es.gob.valet.persistence.configuration.cache.common.impl.ConfigurationCacheObject#readResolve()
-	 */
-	@Override
-	protected Object readResolve() throws ConfigurationCacheObjectStreamException {
-		try {
-			return this.clone();
-		} catch (CloneNotSupportedException e) {
-			throw new ConfigurationCacheObjectStreamException(e.getMessage());
-		}
-	}
-
-	/**
-	 * {@inheritDoc}
-	 * @see es.gob.valet.persistence.configuration.cache.common.impl.ConfigurationCacheObject#clone()
-	 */
-	@Override
-	public ConfigurationCacheObject clone() throws ConfigurationCacheObjectCloneException {
-
-		ApplicationCacheObject aco = new ApplicationCacheObject();
-		aco.setApplicationId(applicationId);
-		aco.setIdentificator(identificator);
-		aco.setName(name);
-		aco.setResponsibleName(responsibleName);
-		aco.setResponsibleSurnames(responsibleSurnames);
-		aco.setResponsibleMail(responsibleMail);
-		aco.setResponsiblePhone(responsiblePhone);
-		return aco;
-
+		applicationId = app.getIdApplication();
+		identificator = app.getIdentificator();
+		name = app.getName();
+		responsibleName = app.getResponsibleName();
+		responsibleSurnames = app.getResponsibleSurnames();
+		responsibleMail = app.getResponsibleMail();
+		responsiblePhone = app.getResponsiblePhone();
 	}
 
 	/**
@@ -164,14 +108,6 @@ public class ApplicationCacheObject extends ConfigurationCacheObject {
 		return applicationId;
 	}
 
-	/**
-	 * Sets the value of the attribute {@link #applicationId}.
-	 * @param applicationIdParam The value for the attribute {@link #applicationId}.
-	 */
-	public void setApplicationId(long applicationIdParam) {
-		this.applicationId = applicationIdParam;
-	}
-
 	/**
 	 * Gets the value of the attribute {@link #identificator}.
 	 * @return the value of the attribute {@link #identificator}.
@@ -180,14 +116,6 @@ public class ApplicationCacheObject extends ConfigurationCacheObject {
 		return identificator;
 	}
 
-	/**
-	 * Sets the value of the attribute {@link #identificator}.
-	 * @param identificatorParam The value for the attribute {@link #identificator}.
-	 */
-	public void setIdentificator(String identificatorParam) {
-		this.identificator = identificatorParam;
-	}
-
 	/**
 	 * Gets the value of the attribute {@link #name}.
 	 * @return the value of the attribute {@link #name}.
@@ -196,14 +124,6 @@ public class ApplicationCacheObject extends ConfigurationCacheObject {
 		return name;
 	}
 
-	/**
-	 * Sets the value of the attribute {@link #name}.
-	 * @param nameParam The value for the attribute {@link #name}.
-	 */
-	public void setName(String nameParam) {
-		this.name = nameParam;
-	}
-
 	/**
 	 * Gets the value of the attribute {@link #responsibleName}.
 	 * @return the value of the attribute {@link #responsibleName}.
@@ -212,14 +132,6 @@ public class ApplicationCacheObject extends ConfigurationCacheObject {
 		return responsibleName;
 	}
 
-	/**
-	 * Sets the value of the attribute {@link #responsibleName}.
-	 * @param responsibleNameParam The value for the attribute {@link #responsibleName}.
-	 */
-	public void setResponsibleName(String responsibleNameParam) {
-		this.responsibleName = responsibleNameParam;
-	}
-
 	/**
 	 * Gets the value of the attribute {@link #responsiblePhone}.
 	 * @return the value of the attribute {@link #responsiblePhone}.
@@ -228,14 +140,6 @@ public class ApplicationCacheObject extends ConfigurationCacheObject {
 		return responsiblePhone;
 	}
 
-	/**
-	 * Sets the value of the attribute {@link #responsiblePhone}.
-	 * @param responsiblePhoneParam The value for the attribute {@link #responsiblePhone}.
-	 */
-	public void setResponsiblePhone(String responsiblePhoneParam) {
-		this.responsiblePhone = responsiblePhoneParam;
-	}
-
 	/**
 	 * Gets the value of the attribute {@link #responsibleSurnames}.
 	 * @return the value of the attribute {@link #responsibleSurnames}.
@@ -244,14 +148,6 @@ public class ApplicationCacheObject extends ConfigurationCacheObject {
 		return responsibleSurnames;
 	}
 
-	/**
-	 * Sets the value of the attribute {@link #responsibleSurnames}.
-	 * @param responsibleSurnamesParam The value for the attribute {@link #responsibleSurnames}.
-	 */
-	public void setResponsibleSurnames(String responsibleSurnamesParam) {
-		this.responsibleSurnames = responsibleSurnamesParam;
-	}
-
 	/**
 	 * Gets the value of the attribute {@link #responsibleMail}.
 	 * @return the value of the attribute {@link #responsibleMail}.
@@ -260,12 +156,4 @@ public class ApplicationCacheObject extends ConfigurationCacheObject {
 		return responsibleMail;
 	}
 
-	/**
-	 * Sets the value of the attribute {@link #responsibleMail}.
-	 * @param responsibleMailParam The value for the attribute {@link #responsibleMail}.
-	 */
-	public void setResponsibleMail(String responsibleMailParam) {
-		this.responsibleMail = responsibleMailParam;
-	}
-
 }
@@ -20,10 +20,11 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>18/12/2018.</p>
  * @author Gobierno de España.
- * @version 1.1, 04/02/2018.
+ * @version 1.2, 18/10/2026.
  */
 package es.gob.valet.persistence.configuration.cache.modules.application.engine;
 
+import es.gob.valet.cache.utils.CacheValetNamespace;
 import es.gob.valet.commons.utils.NumberConstants;
 import es.gob.valet.exceptions.IValetException;
 import es.gob.valet.i18n.Language;
@@ -38,7 +39,7 @@ import es.gob.valet.persistence.configuration.model.entity.ApplicationValet;
 /**
  * <p>Class to handle the Application configuration cache .</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.1, 04/02/2018.
+ * @version 1.2, 18/10/2026.
  */
 public final class ApplicationCache extends ConfigurationCache {
 
@@ -67,6 +68,16 @@ public final class ApplicationCache extends ConfigurationCache {
 	 */
 	private static final String PATH_BY_ID = "ByID";
 
+	/**
+	 * Constant attribute that represents the node inside the cache for the applications by identifier.
+	 */
+	private static final CacheValetNamespace NAMESPACE_BY_IDENTIFIER = buildNamespace(PATH_BASE, PATH_BY_IDENTIFIER);
+
+	/**
+	 * Constant attribute that represents the node inside the cache for the relation between the ID and the identifier of the applications.
+	 */
+	private static final CacheValetNamespace NAMESPACE_BY_ID = buildNamespace(PATH_BASE, PATH_BY_ID);
+
 	/**
 	 * Constant attribute that represents the unique instance for the TSL clustered cache.
 	 */
@@ -199,16 +210,11 @@ public final class ApplicationCache extends ConfigurationCache {
 	 */
 	public ApplicationCacheObject getApplication(long idApplication, boolean inLoadingCache) throws ApplicationCacheException {
 		ApplicationCacheObject result = null;
-		// Se construye la ruta en la cache´
-		String[ ] pathRelationIdPath = new String[NumberConstants.NUM3];
-		pathRelationIdPath[0] = PATH_BASE;
-		pathRelationIdPath[1] = PATH_BY_ID;
-		pathRelationIdPath[2] = String.valueOf(idApplication);
 
 		// obtenemos el path de la aplicación
 		String applicationPath = null;
 		try {
-			applicationPath = getStringFromPath(pathRelationIdPath, inLoadingCache);
+			applicationPath = getStringFromNamespace(NAMESPACE_BY_ID, String.valueOf(idApplication), inLoadingCache);
 		} catch (ConfigurationCacheException e) {
 			throw new ApplicationCacheException(IValetException.COD_191, e.getErrorDescription(), e);
 		}
@@ -229,14 +235,8 @@ public final class ApplicationCache extends ConfigurationCache {
 	 * @throws ApplicationCacheException In case of some error getting from cache the application.
 	 */
 	public ApplicationCacheObject getApplication(String applicationIdentifier, boolean inLoadingCache) throws ApplicationCacheException {
-		// se construye la ruta en la caché
-		String[ ] path = new String[NumberConstants.NUM3];
-		path[0] = PATH_BASE;
-		path[1] = PATH_BY_IDENTIFIER;
-		path[2] = applicationIdentifier;
-
 		try {
-			return (ApplicationCacheObject) getConfigurationCacheObject(path, inLoadingCache);
+			return (ApplicationCacheObject) getConfigurationCacheObject(NAMESPACE_BY_IDENTIFIER, applicationIdentifier, inLoadingCache);
 		} catch (ConfigurationCacheException e) {
 			throw new ApplicationCacheException(IValetException.COD_191, e.getErrorDescription(), e);
 		}
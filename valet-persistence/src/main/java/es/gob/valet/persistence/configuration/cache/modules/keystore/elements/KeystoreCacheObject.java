@@ -20,13 +20,14 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>06/11/2018.</p>
  * @author Gobierno de España.
- * @version 1.0, 06/11/2018.
+ * @version 1.1, 18/10/2026.
  */
 package es.gob.valet.persistence.configuration.cache.modules.keystore.elements;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.security.KeyStore;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -37,7 +38,6 @@ import es.gob.valet.exceptions.IValetException;
 import es.gob.valet.i18n.Language;
 import es.gob.valet.i18n.messages.IPersistenceCacheMessages;
 import es.gob.valet.persistence.ManagerPersistenceServices;
-import es.gob.valet.persistence.configuration.cache.common.exceptions.ConfigurationCacheObjectCloneException;
 import es.gob.valet.persistence.configuration.cache.common.exceptions.ConfigurationCacheObjectStreamException;
 import es.gob.valet.persistence.configuration.cache.common.impl.ConfigurationCacheObject;
 import es.gob.valet.persistence.configuration.cache.modules.keystore.exceptions.KeystoreCacheException;
@@ -47,10 +47,15 @@ import es.gob.valet.persistence.utils.UtilsAESCipher;
 
 /**
  * <p>Class that represents a keystore in the clustered cache.</p>
+ * <p>It is immutable, so the same instance is shared by all the readers of the cache. To update it, a new version
+ * must be built with {@link #toBuilder()}: the new version shares the loaded {@link KeyStore} and the map of alias
+ * with the previous one, so the key material is never encoded again to copy it. The keystore is only encoded
+ * to serialize the object, or to modify it: the shared {@link KeyStore} must never be modified, so the new
+ * entries are added to (or removed from) the copy obtained with {@link #copyKeystore()}.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.0, 06/11/2018.
+ * @version 1.1, 18/10/2026.
  */
-public class KeystoreCacheObject extends ConfigurationCacheObject {
+public final class KeystoreCacheObject extends ConfigurationCacheObject {
 
 	/**
 	 * Constant attribute that represents the serial version UID.
@@ -65,66 +70,59 @@ public class KeystoreCacheObject extends ConfigurationCacheObject {
 	/**
 	 * Keystore identifier.
 	 */
-	private long idKeystore = -1;
+	private final long idKeystore;
 
 	/**
 	 * Keystore name.
 	 */
-	private String name = null;
+	private final String name;
 
 	/**
 	 * Token for the keystore description.
 	 */
-	private String tokenName = null;
+	private final String tokenName;
 
 	/**
 	 * KeyStore object representation.
 	 */
-	private transient KeyStore keystore = null;
+	private final transient KeyStore keystore;
 
 	/**
-	 * Byte array that represents the keystore.
+	 * Byte array that represents the keystore. It is only used in the serialized form of the object.
 	 */
-	private byte[ ] keystoreBytes = null;
+	private final byte[ ] keystoreBytes;
 
 	/**
 	 * Flag that represents if the keystore is hardware (HSM).
 	 */
-	private boolean isHardware = false;
+	private final boolean isHardware;
 
 	/**
 	 * Encrypted password.
 	 */
-	private String password = null;
+	private final String password;
 
 	/**
 	 * Keystore Type.
 	 */
-	private String keystoreType = null;
+	private final String keystoreType;
 
 	/**
 	 * Keystore version. This number must be equal to the same keystore in the data base.
 	 */
-	private long version = -1;
+	private final long version;
 
 	/**
 	 * Attribute that indicates if the entries of the hardware keystore must be stored into the database and the HSM (true) or only into the HSM (false).
 	 */
-	private boolean hasBackup = false;
+	private final boolean hasBackup;
 
 	/**
 	 * Attribute that represents a map with the alias of the entries stored inside of the keystore. The key is the alias of the entry on the database, and
 	 * the value is the SHA-1 hash of the certificate encoded on Base 64 concatenates with the SHA-1 hash of the private key for the certificate
-	 * encoded on Base 64. This attribute is used only when the keystore is hardware.
+	 * encoded on Base 64. This attribute is used only when the keystore is hardware. It can not be modified.
 	 */
-	private Map<String, String> aliasMap = new HashMap<String, String>();
-
-	/**
-	 * Constructor method for the class KeystoreCacheObject.java.
-	 */
-	public KeystoreCacheObject() {
-		super();
-	}
+	private final Map<String, String> aliasMap;
 
 	/**
 	 * Constructor method for the class KeystoreCacheObject.java.
@@ -132,365 +130,358 @@ public class KeystoreCacheObject extends ConfigurationCacheObject {
 	 * @throws KeystoreCacheException In case of some error building the keystore.
 	 */
 	public KeystoreCacheObject(Keystore kp) throws KeystoreCacheException {
-		this();
+
+		super();
+
+		// Si el pojo recibido es nulo, se lanza una excepción ya que no se
+		// puede inicializar el objeto.
+		if (kp == null) {
+			throw new KeystoreCacheException(IValetException.COD_191, Language.getResPersistenceCache(IPersistenceCacheMessages.CONFIG_KEYSTORE_CACHE_LOG000));
+		}
+
+		idKeystore = kp.getIdKeystore().longValue();
+		name = kp.getName();
+		tokenName = kp.getTokenName();
+		isHardware = kp.getIsHardware().booleanValue();
+		password = kp.getPassword();
+		keystoreType = kp.getKeystoreType();
+		version = kp.getVersion().longValue();
+		hasBackup = kp.getHasBackup();
+		keystoreBytes = null;
 		try {
-			if (kp != null) {
-				setIdKeystore(kp.getIdKeystore().longValue());
-				setName(kp.getName());
-				setTokenName(kp.getTokenName());
-				setHardware(kp.getIsHardware().booleanValue());
-				setPassword(kp.getPassword());
-				setKeystoreType(kp.getKeystoreType());
-				setVersion(kp.getVersion().longValue());
-				setHasBackup(kp.getHasBackup());
-				if (isHardware) {
-					// Vaciamos el mapa de alias
-					aliasMap.clear();
-
-					// Obtenemos de la BBDD la lista de certificados de sistema
-					// asociados al almacén de claves
-					List<SystemCertificate> listSystemCertificates = ManagerPersistenceServices.getInstance().getManagerPersistenceConfigurationServices().getKeystoreService().getKeystoreById(kp.getIdKeystore(), true).getListSystemCertificates();
-					// Recorremos la lista de certificados de sistema
-					for (SystemCertificate systemCertificate: listSystemCertificates) {
-						// Añadimos al mapa de alias la entrada asociada
-						aliasMap.put(systemCertificate.getAlias(), systemCertificate.getHash());
-					}
-					// Si no tiene respaldo
-					if (!hasBackup) {
-						// Establecemos el almacén de claves como objeto java
-						// nulo.
-						// Así forzamos que todas las operaciones con dicho
-						// objeto
-						// se hagan a través
-						// de la fachada de keystores
-						setKeystore(null);
-					}
-					// Si tiene respaldo
-					else {
-						// Obtenemos el almacén de claves, definido como copia
-						// de seguridad, como objeto java
-						KeyStore ks = KeyStore.getInstance(keystoreType);
-						ByteArrayInputStream bais = new ByteArrayInputStream(kp.getKeystore());
-						ks.load(bais, new String(UtilsAESCipher.getInstance().decryptMessage(password)).toCharArray());
-						setKeystore(ks);
-					}
-				} else {
-					// Vaciamos el mapa de alias
-					aliasMap.clear();
-					// Obtenemos el almacén de claves como objeto java
-					KeyStore ks = KeyStore.getInstance(keystoreType);
-					ByteArrayInputStream bais = new ByteArrayInputStream(kp.getKeystore());
-					ks.load(bais, new String(UtilsAESCipher.getInstance().decryptMessage(password)).toCharArray());
-					setKeystore(ks);
-				}
+			aliasMap = buildAliasMap(kp, isHardware);
+			// Si es un almacén hardware sin respaldo, establecemos el almacén
+			// de claves como objeto java nulo. Así forzamos que todas las
+			// operaciones con dicho objeto se hagan a través de la fachada
+			// de keystores.
+			if (isHardware && !hasBackup) {
+				keystore = null;
+			} else {
+				// Obtenemos el almacén de claves (o su copia de seguridad)
+				// como objeto java.
+				keystore = loadKeystore(keystoreType, kp.getKeystore(), password);
 			}
 		} catch (Exception e) {
 			throw new KeystoreCacheException(IValetException.COD_190, Language.getResPersistenceCache(IPersistenceCacheMessages.CONFIG_KEYSTORE_CACHE_LOG002), e);
 		}
+
 	}
 
 	/**
-	 * Gets the value of the attribute {@link #idKeystore}.
-	 * @return the value of the attribute {@link #idKeystore}.
+	 * Constructor method for the class KeystoreCacheObject.java.
+	 * @param builder Builder with the content of the new version.
 	 */
-	public final long getIdKeystore() {
-		return idKeystore;
+	private KeystoreCacheObject(Builder builder) {
+		super();
+		idKeystore = builder.base.idKeystore;
+		name = builder.base.name;
+		tokenName = builder.base.tokenName;
+		isHardware = builder.base.isHardware;
+		keystoreType = builder.base.keystoreType;
+		hasBackup = builder.base.hasBackup;
+		aliasMap = builder.base.aliasMap;
+		password = builder.password;
+		version = builder.version;
+		keystore = builder.keystore;
+		keystoreBytes = builder.keystoreBytes;
 	}
 
 	/**
-	 * Sets the value of the attribute {@link #idKeystore}.
-	 * @param idKeystoreParam The value for the attribute {@link #idKeystore}.
+	 * Builds the map with the alias of the entries stored inside of the keystore.
+	 * @param kp Keystore POJO.
+	 * @param hardware Flag that indicates if the keystore is hardware (HSM).
+	 * @return the map with the alias of the entries stored inside of the keystore. It is empty if the keystore is not hardware.
 	 */
-	public final void setIdKeystore(long idKeystoreParam) {
-		this.idKeystore = idKeystoreParam;
+	private static Map<String, String> buildAliasMap(Keystore kp, boolean hardware) {
+
+		Map<String, String> result = new HashMap<String, String>();
+		if (hardware) {
+			// Obtenemos de la BBDD la lista de certificados de sistema
+			// asociados al almacén de claves, y añadimos al mapa de alias
+			// la entrada asociada a cada uno.
+			List<SystemCertificate> listSystemCertificates = ManagerPersistenceServices.getInstance().getManagerPersistenceConfigurationServices().getKeystoreService().getKeystoreById(kp.getIdKeystore(), true).getListSystemCertificates();
+			for (SystemCertificate systemCertificate: listSystemCertificates) {
+				result.put(systemCertificate.getAlias(), systemCertificate.getHash());
+			}
+		}
+		return Collections.unmodifiableMap(result);
+
 	}
 
 	/**
-	 * Gets the value of the attribute {@link #name}.
-	 * @return the value of the attribute {@link #name}.
+	 * Loads the keystore from the bytes that represent it.
+	 * @param type Keystore type.
+	 * @param bytes Bytes that represent the keystore.
+	 * @param encryptedPassword Encrypted password of the keystore.
+	 * @return the loaded keystore.
+	 * @throws Exception If the keystore can not be loaded.
 	 */
-	public final String getName() {
-		return name;
+	private static KeyStore loadKeystore(String type, byte[ ] bytes, String encryptedPassword) throws Exception {
+		KeyStore ks = KeyStore.getInstance(type);
+		ks.load(new ByteArrayInputStream(bytes), new String(UtilsAESCipher.getInstance().decryptMessage(encryptedPassword)).toCharArray());
+		return ks;
 	}
 
 	/**
-	 * Sets the value of the attribute {@link #name}.
-	 * @param nameParam The value for the attribute {@link #name}.
+	 * Encodes the input keystore.
+	 * @param ks Keystore to encode.
+	 * @param encryptedPassword Encrypted password of the keystore.
+	 * @return the bytes that represent the keystore.
+	 * @throws Exception If the keystore can not be encoded.
 	 */
-	public final void setName(String nameParam) {
-		this.name = nameParam;
+	private static byte[ ] storeKeystore(KeyStore ks, String encryptedPassword) throws Exception {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		ks.store(baos, new String(UtilsAESCipher.getInstance().decryptMessage(encryptedPassword)).toCharArray());
+		return baos.toByteArray();
 	}
 
 	/**
-	 * Gets the value of the attribute {@link #tokenName}.
-	 * @return the value of the attribute {@link #tokenName}.
+	 * Gets the value of the attribute {@link #idKeystore}.
+	 * @return the value of the attribute {@link #idKeystore}.
 	 */
-	public final String getTokenName() {
-		return tokenName;
+	public long getIdKeystore() {
+		return idKeystore;
 	}
 
 	/**
-	 * Sets the value of the attribute {@link #tokenName}.
-	 * @param tokenNameParam The value for the attribute {@link #tokenName}.
+	 * Gets the value of the attribute {@link #name}.
+	 * @return the value of the attribute {@link #name}.
 	 */
-	public final void setTokenName(String tokenNameParam) {
-		this.tokenName = tokenNameParam;
+	public String getName() {
+		return name;
 	}
 
 	/**
-	 * Gets the value of the attribute {@link #keystore}.
-	 * @return the value of the attribute {@link #keystore}.
+	 * Gets the value of the attribute {@link #tokenName}.
+	 * @return the value of the attribute {@link #tokenName}.
 	 */
-	public final KeyStore getKeystore() {
-		return keystore;
+	public String getTokenName() {
+		return tokenName;
 	}
 
 	/**
-	 * Sets the value of the attribute {@link #keystore}.
-	 * @param keystoreParam The value for the attribute {@link #keystore}.
+	 * Gets the value of the attribute {@link #keystore}.
+	 * @return the value of the attribute {@link #keystore}.
 	 */
-	public final void setKeystore(KeyStore keystoreParam) {
-		this.keystore = keystoreParam;
+	public KeyStore getKeystore() {
+		return keystore;
 	}
 
 	/**
-	 * Gets the value of the attribute {@link #keystoreBytes}.
-	 * @return the value of the attribute {@link #keystoreBytes}.
+	 * Builds a copy of the keystore, loaded again from the bytes that represent it, so it can be modified without
+	 * affecting the readers of this version.
+	 * @return a copy of the keystore, or <code>null</code> if the keystore is not loaded (hardware keystore without backup).
+	 * @throws KeystoreCacheException If the keystore can not be copied.
 	 */
-	public final byte[ ] getKeystoreBytes() {
+	public KeyStore copyKeystore() throws KeystoreCacheException {
 
-		if (keystoreBytes == null && keystore != null) {
-			ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		KeyStore result = null;
+		if (keystore != null) {
 			try {
-				keystore.store(baos, new String(UtilsAESCipher.getInstance().decryptMessage(password)).toCharArray());
+				result = loadKeystore(keystoreType, storeKeystore(keystore, password), password);
 			} catch (Exception e) {
-				return null;
+				throw new KeystoreCacheException(IValetException.COD_190, Language.getResPersistenceCache(IPersistenceCacheMessages.CONFIG_KEYSTORE_CACHE_LOG002), e);
 			}
-			return baos.toByteArray();
 		}
+		return result;
 
-		return keystoreBytes;
 	}
 
 	/**
-	 * Sets the value of the attribute {@link #keystoreBytes}.
-	 * @param keystoreBytesParam The value for the attribute {@link #keystoreBytes}.
+	 * Gets the bytes that represent the keystore. If the object has not been deserialized, the keystore is encoded.
+	 * @return the bytes that represent the keystore.
 	 */
-	public final void setKeystoreBytes(byte[ ] keystoreBytesParam) {
-		if (keystoreBytesParam != null) {
-			this.keystoreBytes = keystoreBytesParam.clone();
-		} else {
-			this.keystoreBytes = null;
+	public byte[ ] getKeystoreBytes() {
+
+		if (keystoreBytes == null && keystore != null) {
+			try {
+				return storeKeystore(keystore, password);
+			} catch (Exception e) {
+				return null;
+			}
 		}
+
+		return keystoreBytes == null ? null : keystoreBytes.clone();
 	}
 
 	/**
 	 * Gets the value of the attribute {@link #isHardware}.
 	 * @return the value of the attribute {@link #isHardware}.
 	 */
-	public final boolean isHardware() {
+	public boolean isHardware() {
 		return isHardware;
 	}
 
-	/**
-	 * Sets the value of the attribute {@link #isHardware}.
-	 * @param isHardwareParam The value for the attribute {@link #isHardware}.
-	 */
-	public final void setHardware(boolean isHardwareParam) {
-		this.isHardware = isHardwareParam;
-	}
-
 	/**
 	 * Gets the value of the attribute {@link #password}.
 	 * @return the value of the attribute {@link #password}.
 	 */
-	public final String getPassword() {
+	public String getPassword() {
 		return password;
 	}
 
-	/**
-	 * Sets the value of the attribute {@link #password}.
-	 * @param passwordParam The value for the attribute {@link #password}.
-	 */
-	public final void setPassword(String passwordParam) {
-		this.password = passwordParam;
-	}
-
 	/**
 	 * Gets the value of the attribute {@link #keystoreType}.
 	 * @return the value of the attribute {@link #keystoreType}.
 	 */
-	public final String getKeystoreType() {
+	public String getKeystoreType() {
 		return keystoreType;
 	}
 
-	/**
-	 * Sets the value of the attribute {@link #keystoreType}.
-	 * @param keystoreTypeParam The value for the attribute {@link #keystoreType}.
-	 */
-	public final void setKeystoreType(String keystoreTypeParam) {
-		this.keystoreType = keystoreTypeParam;
-	}
-
 	/**
 	 * Gets the value of the attribute {@link #version}.
 	 * @return the value of the attribute {@link #version}.
 	 */
-	public final long getVersion() {
+	public long getVersion() {
 		return version;
 	}
 
 	/**
-	 * Sets the value of the attribute {@link #version}.
-	 * @param versionParam The value for the attribute {@link #version}.
-	 */
-	public final void setVersion(long versionParam) {
-		this.version = versionParam;
-	}
-
-	/**
-	 * Gets the value of the attribute {@link #aliasMap}.
+	 * Gets the value of the attribute {@link #aliasMap}. The map can not be modified.
 	 * @return the value of the attribute {@link #aliasMap}.
 	 */
-	public final Map<String, String> getAliasMap() {
+	public Map<String, String> getAliasMap() {
 		return aliasMap;
 	}
 
-	/**
-	 * Sets the value of the attribute {@link #aliasMap}.
-	 * @param aliasMapParam The value for the attribute {@link #aliasMap}.
-	 */
-	public final void setAliasMap(Map<String, String> aliasMapParam) {
-		this.aliasMap = aliasMapParam;
-	}
-
 	/**
 	 * Gets the value of the attribute {@link #hasBackup}.
 	 * @return the value of the attribute {@link #hasBackup}.
 	 */
-	public final boolean isHasBackup() {
+	public boolean isHasBackup() {
 		return hasBackup;
 	}
 
 	/**
-	 * Sets the value of the attribute {@link #hasBackup}.
-	 * @param hasBackupParam The value for the attribute {@link #hasBackup}.
+	 * Builds a builder initialized with the content of this object, to build a new version of it.
+	 * @return a builder initialized with the content of this object.
 	 */
-	public final void setHasBackup(boolean hasBackupParam) {
-		this.hasBackup = hasBackupParam;
+	public Builder toBuilder() {
+		return new Builder(this);
 	}
 
 	/**
-	 * {@inheritDoc}
-	 * @see es.gob.valet.persistence.configuration.cache.common.impl.ConfigurationCacheObject#writeReplace()
+	 * Method that builds the serialized form of this object: the keystore (if it is not hardware) is replaced by the bytes that represent it.
+	 * This method is executed before serialize the object.
+	 * @return the serialized form of this object.
+	 * @throws ConfigurationCacheObjectStreamException If the keystore can not be encoded.
 	 */
-	@Override
-	protected final Object writeReplace() throws ConfigurationCacheObjectStreamException {
+	private Object writeReplace() throws ConfigurationCacheObjectStreamException {
 		LOGGER.debug(Language.getResPersistenceCache(IPersistenceCacheMessages.CONFIG_KEYSTORE_CACHE_LOG004));
-		KeystoreCacheObject kc = new KeystoreCacheObject();
-		kc.setIdKeystore(idKeystore);
-		kc.setName(name);
-		kc.setTokenName(tokenName);
-		kc.setPassword(password);
-		kc.setKeystoreType(keystoreType);
-		kc.setVersion(version);
-		kc.setHardware(isHardware);
-		kc.setAliasMap(aliasMap);
-		kc.setHasBackup(hasBackup);
-		if (isHardware) {
-			kc.setKeystoreBytes(null);
-		} else {
-			ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		Builder builder = toBuilder().setKeystore(null);
+		if (!isHardware) {
 			try {
-				keystore.store(baos, new String(UtilsAESCipher.getInstance().decryptMessage(password)).toCharArray());
+				builder.keystoreBytes = storeKeystore(keystore, password);
 			} catch (Exception e) {
 				throw new ConfigurationCacheObjectStreamException(e.getMessage());
 			}
-			kc.setKeystoreBytes(baos.toByteArray());
 		}
-		kc.setKeystore(null);
 		LOGGER.debug(Language.getResPersistenceCache(IPersistenceCacheMessages.CONFIG_KEYSTORE_CACHE_LOG005));
-		return kc;
+		return builder.build();
 	}
 
 	/**
-	 * {@inheritDoc}
-	 * @see es.gob.valet.persistence.configuration.cache.common.impl.ConfigurationCacheObject#readResolve()
+	 * Method that builds the object from its serialized form: the keystore (if it is not hardware) is loaded from the bytes that represent it.
+	 * This method is executed after unserialize the object.
+	 * @return the object with the loaded keystore.
+	 * @throws ConfigurationCacheObjectStreamException If the keystore can not be loaded.
 	 */
-	@Override
-	protected final Object readResolve() throws ConfigurationCacheObjectStreamException {
+	private Object readResolve() throws ConfigurationCacheObjectStreamException {
 		LOGGER.debug(Language.getResPersistenceCache(IPersistenceCacheMessages.CONFIG_KEYSTORE_CACHE_LOG006));
-		KeystoreCacheObject kc = new KeystoreCacheObject();
-		kc.setIdKeystore(idKeystore);
-		kc.setName(name);
-		kc.setTokenName(tokenName);
-		kc.setPassword(password);
-		kc.setKeystoreType(keystoreType);
-		kc.setVersion(version);
-		kc.setHardware(isHardware);
-		kc.setAliasMap(aliasMap);
-		kc.setHasBackup(hasBackup);
-		if (isHardware) {
-			kc.setKeystore(null);
-		} else {
+		KeyStore ks = null;
+		if (!isHardware) {
 			try {
-				KeyStore ks = KeyStore.getInstance(keystoreType);
-				ByteArrayInputStream bais = new ByteArrayInputStream(keystoreBytes);
-				ks.load(bais, new String(UtilsAESCipher.getInstance().decryptMessage(password)).toCharArray());
-				kc.setKeystore(ks);
+				ks = loadKeystore(keystoreType, keystoreBytes, password);
 			} catch (Exception e) {
 				throw new ConfigurationCacheObjectStreamException(e.getMessage());
 			}
 		}
-		kc.setKeystoreBytes(null);
-		return kc;
+		return toBuilder().setKeystore(ks).build();
 	}
 
 	/**
-	 * {@inheritDoc}
-	 * @see es.gob.valet.persistence.configuration.cache.common.impl.ConfigurationCacheObject#clone()
-	 */
-	@Override
-	public final ConfigurationCacheObject clone() throws ConfigurationCacheObjectCloneException {
-		KeystoreCacheObject kco = new KeystoreCacheObject();
-		kco.setIdKeystore(idKeystore);
-		if (name != null) {
-			kco.setName(name);
+	 * <p>Class that builds a new version of a {@link KeystoreCacheObject}. The new version shares the loaded keystore
+	 * and the map of alias with the base one, unless they are replaced.</p>
+	 * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+	 * @version 1.0, 18/10/2026.
+	 */
+	public static final class Builder {
+
+		/**
+		 * Attribute that represents the version from which the new one is built.
+		 */
+		private final KeystoreCacheObject base;
+
+		/**
+		 * Attribute that represents the encrypted password of the new version.
+		 */
+		private String password;
+
+		/**
+		 * Attribute that represents the version number of the new version.
+		 */
+		private long version;
+
+		/**
+		 * Attribute that represents the keystore of the new version.
+		 */
+		private KeyStore keystore;
+
+		/**
+		 * Attribute that represents the bytes of the keystore in the serialized form.
+		 */
+		private byte[ ] keystoreBytes = null;
+
+		/**
+		 * Constructor method for the class Builder.
+		 * @param baseParam Version from which the new one is built.
+		 */
+		private Builder(KeystoreCacheObject baseParam) {
+			super();
+			base = baseParam;
+			password = baseParam.password;
+			version = baseParam.version;
+			keystore = baseParam.keystore;
 		}
-		if (tokenName != null) {
-			kco.setTokenName(tokenName);
+
+		/**
+		 * Sets the keystore of the new version.
+		 * @param keystoreParam Keystore.
+		 * @return this builder.
+		 */
+		public Builder setKeystore(KeyStore keystoreParam) {
+			keystore = keystoreParam;
+			return this;
 		}
-		kco.setHardware(isHardware);
-		if (password != null) {
-			kco.setPassword(password);
+
+		/**
+		 * Sets the encrypted password of the new version.
+		 * @param passwordParam Encrypted password.
+		 * @return this builder.
+		 */
+		public Builder setPassword(String passwordParam) {
+			password = passwordParam;
+			return this;
 		}
-		if (keystoreType != null) {
-			kco.setKeystoreType(keystoreType);
+
+		/**
+		 * Sets the version number of the new version.
+		 * @param versionParam Version number.
+		 * @return this builder.
+		 */
+		public Builder setVersion(long versionParam) {
+			version = versionParam;
+			return this;
 		}
-		kco.setHardware(isHardware);
-		kco.setAliasMap(aliasMap);
-		kco.setVersion(version);
-		kco.setHasBackup(hasBackup);
-		try {
-			if (keystore != null) {
-				ByteArrayOutputStream baos = new ByteArrayOutputStream();
-				keystore.store(baos, new String(UtilsAESCipher.getInstance().decryptMessage(password)).toCharArray());
-				byte[ ] arrayBytesKeystore = baos.toByteArray().clone();
-				KeyStore ks = KeyStore.getInstance(keystoreType);
-				ByteArrayInputStream bais = new ByteArrayInputStream(arrayBytesKeystore);
-				ks.load(bais, new String(UtilsAESCipher.getInstance().decryptMessage(password)).toCharArray());
-				kco.setKeystore(ks);
-			} else if (keystoreBytes != null) {
-				kco.setKeystoreBytes(keystoreBytes.clone());
-			} else {
-				kco.setKeystore(null);
-				kco.setKeystoreBytes(null);
-			}
 
-		} catch (Exception e) {
-			throw new ConfigurationCacheObjectCloneException(e.getMessage());
+		/**
+		 * Builds the new version of the keystore.
+		 * @return the new version of the keystore.
+		 */
+		public KeystoreCacheObject build() {
+			return new KeystoreCacheObject(this);
 		}
-		return kco;
+
 	}
 
 }
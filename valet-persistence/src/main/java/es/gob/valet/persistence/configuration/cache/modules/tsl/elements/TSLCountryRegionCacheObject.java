@@ -24,15 +24,15 @@
  */
 package es.gob.valet.persistence.configuration.cache.modules.tsl.elements;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.SortedSet;
 import java.util.TreeSet;
 
 import es.gob.valet.exceptions.IValetException;
 import es.gob.valet.i18n.Language;
 import es.gob.valet.i18n.messages.IPersistenceCacheMessages;
-import es.gob.valet.persistence.configuration.cache.common.exceptions.ConfigurationCacheObjectCloneException;
-import es.gob.valet.persistence.configuration.cache.common.exceptions.ConfigurationCacheObjectStreamException;
 import es.gob.valet.persistence.configuration.cache.common.impl.ConfigurationCacheObject;
 import es.gob.valet.persistence.configuration.cache.modules.tsl.exceptions.TSLCacheException;
 import es.gob.valet.persistence.configuration.model.entity.TslCountryRegion;
@@ -40,10 +40,13 @@ import es.gob.valet.persistence.configuration.model.entity.TslCountryRegionMappi
 
 /**
  * <p>Class that represents a TSL Country/Region Info in the clustered cache.</p>
+ * <p>It is immutable, so the same instance is shared by all the readers of the cache. To update it, a new version
+ * must be built with {@link #toBuilder()}: the new version shares with the previous one all the content that has
+ * not been modified (including the set of mappings, if it has not been modified).</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * @version 1.3, 06/11/2018.
  */
-public class TSLCountryRegionCacheObject extends ConfigurationCacheObject {
+public final class TSLCountryRegionCacheObject extends ConfigurationCacheObject {
 
 	/**
 	 * Constant attribute that represents the serial version UID.
@@ -53,35 +56,27 @@ public class TSLCountryRegionCacheObject extends ConfigurationCacheObject {
 	/**
 	 * Attribute that represents the country/region ID.
 	 */
-	private long countryRegionId = -1;
+	private final long countryRegionId;
 
 	/**
 	 * Attribute that represents the country/region code.
 	 */
-	private String code = null;
+	private final String code;
 
 	/**
 	 * Attribute that represents the country/region name.
 	 */
-	private String name = null;
+	private final String name;
 
 	/**
 	 * Attribute that represents the TSL Data Id associated to this country/region.
 	 */
-	private Long tslDataId = null;
+	private final Long tslDataId;
 
 	/**
-	 * Attribute that represents the mapping associated to this country/region.
+	 * Attribute that represents the mapping associated to this country/region. It can not be modified.
 	 */
-	private Set<TSLCountryRegionMappingCacheObject> mappingSet = null;
-
-	/**
-	 * Constructor method for the class TSLCountryRegionCacheObject.java.
-	 */
-	public TSLCountryRegionCacheObject() {
-		super();
-		mappingSet = new TreeSet<TSLCountryRegionMappingCacheObject>();
-	}
+	private final SortedSet<TSLCountryRegionMappingCacheObject> mappingSet;
 
 	/**
 	 * Constructor method for the class TSLCountryRegionCacheObject.java.
@@ -90,166 +85,201 @@ public class TSLCountryRegionCacheObject extends ConfigurationCacheObject {
 	 */
 	public TSLCountryRegionCacheObject(TslCountryRegion tcr) throws TSLCacheException {
 
-		this();
+		super();
 
 		// Si el pojo recibido es nulo, se lanza una excepción ya que no se
 		// puede inicializar el objeto.
 		if (tcr == null) {
 			throw new TSLCacheException(IValetException.COD_191, Language.getResPersistenceCache(IPersistenceCacheMessages.CONFIG_TSL_CACHE_LOG092));
-		} else {
-
-			setCountryRegionId(tcr.getIdTslCountryRegion().longValue());
-			setCode(tcr.getCountryRegionCode());
-			setName(tcr.getCountryRegionName());
-
-			// Obtenemos la lista de mapeos.
-			List<TslCountryRegionMapping> tcrmList = tcr.getListTslCountryRegionMapping();
-			// Si no es nula ni vacía, la recorremos creando los objectos de
-			// caché
-			// para finalmente establecerla.
-			if (tcrmList != null && !tcrmList.isEmpty()) {
-
-				Set<TSLCountryRegionMappingCacheObject> tcrmcoSet = new TreeSet<TSLCountryRegionMappingCacheObject>();
-				for (TslCountryRegionMapping tcrm: tcrmList) {
-					tcrmcoSet.add(new TSLCountryRegionMappingCacheObject(tcrm));
-				}
-				setMappingSet(tcrmcoSet);
+		}
 
+		countryRegionId = tcr.getIdTslCountryRegion().longValue();
+		code = tcr.getCountryRegionCode();
+		name = tcr.getCountryRegionName();
+		tslDataId = null;
+
+		// Obtenemos la lista de mapeos y, si no es nula ni vacía, la
+		// recorremos creando los objectos de caché.
+		SortedSet<TSLCountryRegionMappingCacheObject> tcrmcoSet = new TreeSet<TSLCountryRegionMappingCacheObject>();
+		List<TslCountryRegionMapping> tcrmList = tcr.getListTslCountryRegionMapping();
+		if (tcrmList != null && !tcrmList.isEmpty()) {
+			for (TslCountryRegionMapping tcrm: tcrmList) {
+				tcrmcoSet.add(new TSLCountryRegionMappingCacheObject(tcrm));
 			}
-
 		}
+		mappingSet = Collections.unmodifiableSortedSet(tcrmcoSet);
 
 	}
 
 	/**
-	 * Gets the value of the attribute {@link #countryRegionId}.
-	 * @return the value of the attribute {@link #countryRegionId}.
+	 * Constructor method for the class TSLCountryRegionCacheObject.java.
+	 * @param builder Builder with the content of the new version.
 	 */
-	public final long getCountryRegionId() {
-		return countryRegionId;
+	private TSLCountryRegionCacheObject(Builder builder) {
+		super();
+		countryRegionId = builder.base.countryRegionId;
+		code = builder.base.code;
+		name = builder.name;
+		tslDataId = builder.tslDataId;
+		mappingSet = builder.modifiedMappingSet == null ? builder.base.mappingSet : Collections.unmodifiableSortedSet(builder.modifiedMappingSet);
 	}
 
 	/**
-	 * Sets the value of the attribute {@link #countryRegionId}.
-	 * @param countryRegionIdParam The value for the attribute {@link #countryRegionId}.
+	 * Gets the value of the attribute {@link #countryRegionId}.
+	 * @return the value of the attribute {@link #countryRegionId}.
 	 */
-	public final void setCountryRegionId(long countryRegionIdParam) {
-		this.countryRegionId = countryRegionIdParam;
+	public long getCountryRegionId() {
+		return countryRegionId;
 	}
 
 	/**
 	 * Gets the value of the attribute {@link #code}.
 	 * @return the value of the attribute {@link #code}.
 	 */
-	public final String getCode() {
+	public String getCode() {
 		return code;
 	}
 
-	/**
-	 * Sets the value of the attribute {@link #code}.
-	 * @param codeParam The value for the attribute {@link #code}.
-	 */
-	public final void setCode(String codeParam) {
-		this.code = codeParam;
-	}
-
 	/**
 	 * Gets the value of the attribute {@link #name}.
 	 * @return the value of the attribute {@link #name}.
 	 */
-	public final String getName() {
+	public String getName() {
 		return name;
 	}
 
-	/**
-	 * Sets the value of the attribute {@link #name}.
-	 * @param nameParam The value for the attribute {@link #name}.
-	 */
-	public final void setName(String nameParam) {
-		this.name = nameParam;
-	}
-
 	/**
 	 * Gets the value of the attribute {@link #tslDataId}.
 	 * @return the value of the attribute {@link #tslDataId}.
 	 */
-	public final Long getTslDataId() {
+	public Long getTslDataId() {
 		return tslDataId;
 	}
 
 	/**
-	 * Sets the value of the attribute {@link #tslDataId}.
-	 * @param tslDataIdParam The value for the attribute {@link #tslDataId}.
-	 */
-	public final void setTslDataId(Long tslDataIdParam) {
-		this.tslDataId = tslDataIdParam;
-	}
-
-	/**
-	 * Gets the value of the attribute {@link #mappingSet}.
+	 * Gets the value of the attribute {@link #mappingSet}. The set can not be modified.
 	 * @return the value of the attribute {@link #mappingSet}.
 	 */
-	public final Set<TSLCountryRegionMappingCacheObject> getMappingSet() {
+	public Set<TSLCountryRegionMappingCacheObject> getMappingSet() {
 		return mappingSet;
 	}
 
 	/**
-	 * Sets the value of the attribute {@link #mappingSet}.
-	 * @param mappingSetParam The value for the attribute {@link #mappingSet}.
+	 * Builds a builder initialized with the content of this object, to build a new version of it.
+	 * @return a builder initialized with the content of this object.
 	 */
-	public final void setMappingSet(Set<TSLCountryRegionMappingCacheObject> mappingSetParam) {
-		this.mappingSet = mappingSetParam;
+	public Builder toBuilder() {
+		return new Builder(this);
 	}
 
 	/**
-	 * {@inheritDoc}
-	 * @see es.gob.valet.persistence.configuration.cache.common.impl.ConfigurationCacheObject#writeReplace()
+	 * <p>Class that builds a new version of a {@link TSLCountryRegionCacheObject}. The set of mappings is only copied
+	 * if it is modified.</p>
+	 * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+	 * @version 1.0, 18/10/2026.
 	 */
-	@Override
-	protected Object writeReplace() throws ConfigurationCacheObjectStreamException {
-
-		try {
-			return this.clone();
-		} catch (CloneNotSupportedException e) {
-			throw new ConfigurationCacheObjectStreamException(e.getMessage());
+	public static final class Builder {
+
+		/**
+		 * Attribute that represents the version from which the new one is built.
+		 */
+		private final TSLCountryRegionCacheObject base;
+
+		/**
+		 * Attribute that represents the country/region name of the new version.
+		 */
+		private String name;
+
+		/**
+		 * Attribute that represents the TSL Data Id of the new version.
+		 */
+		private Long tslDataId;
+
+		/**
+		 * Attribute that represents the modified set of mappings. <code>null</code> while it has not been modified.
+		 */
+		private SortedSet<TSLCountryRegionMappingCacheObject> modifiedMappingSet = null;
+
+		/**
+		 * Constructor method for the class Builder.
+		 * @param baseParam Version from which the new one is built.
+		 */
+		private Builder(TSLCountryRegionCacheObject baseParam) {
+			super();
+			base = baseParam;
+			name = baseParam.name;
+			tslDataId = baseParam.tslDataId;
 		}
 
-	}
-
-	/**
-	 * {@inheritDoc}
-	 * @see es.gob.valet.persistence.configuration.cache.common.impl.ConfigurationCacheObject#readResolve()
-	 */
-	@Override
-	protected Object readResolve() throws ConfigurationCacheObjectStreamException {
-
-		try {
-			return this.clone();
-		} catch (CloneNotSupportedException e) {
-			throw new ConfigurationCacheObjectStreamException(e.getMessage());
+		/**
+		 * Sets the country/region name.
+		 * @param nameParam Country/region name.
+		 * @return this builder.
+		 */
+		public Builder setName(String nameParam) {
+			name = nameParam;
+			return this;
 		}
 
-	}
+		/**
+		 * Sets the TSL Data Id associated to the country/region.
+		 * @param tslDataIdParam TSL Data Id. <code>null</code> if the country/region has not TSL.
+		 * @return this builder.
+		 */
+		public Builder setTslDataId(Long tslDataIdParam) {
+			tslDataId = tslDataIdParam;
+			return this;
+		}
 
-	/**
-	 * {@inheritDoc}
-	 * @see es.gob.valet.persistence.configuration.cache.common.impl.ConfigurationCacheObject#clone()
-	 */
-	@Override
-	public ConfigurationCacheObject clone() throws ConfigurationCacheObjectCloneException {
+		/**
+		 * Adds a mapping to the country/region, replacing the previous one with the same identificator.
+		 * @param tcrmco Mapping to add.
+		 * @return this builder.
+		 */
+		public Builder addUpdateMapping(TSLCountryRegionMappingCacheObject tcrmco) {
+			SortedSet<TSLCountryRegionMappingCacheObject> set = getModifiedMappingSet();
+			set.remove(tcrmco);
+			set.add(tcrmco);
+			return this;
+		}
 
-		TSLCountryRegionCacheObject tcrco = new TSLCountryRegionCacheObject();
+		/**
+		 * Removes a mapping from the country/region.
+		 * @param tcrmco Mapping to remove.
+		 * @return this builder.
+		 */
+		public Builder removeMapping(TSLCountryRegionMappingCacheObject tcrmco) {
+			getModifiedMappingSet().remove(tcrmco);
+			return this;
+		}
 
-		tcrco.setCountryRegionId(getCountryRegionId());
-		tcrco.setCode(getCode());
-		tcrco.setName(getName());
-		tcrco.setTslDataId(getTslDataId());
+		/**
+		 * Removes all the mappings from the country/region.
+		 * @return this builder.
+		 */
+		public Builder removeAllMappings() {
+			modifiedMappingSet = new TreeSet<TSLCountryRegionMappingCacheObject>();
+			return this;
+		}
 
-		for (TSLCountryRegionMappingCacheObject tcrmco: getMappingSet()) {
-			tcrco.getMappingSet().add((TSLCountryRegionMappingCacheObject) tcrmco.clone());
+		/**
+		 * Builds the new version of the country/region.
+		 * @return the new version of the country/region.
+		 */
+		public TSLCountryRegionCacheObject build() {
+			return new TSLCountryRegionCacheObject(this);
 		}
 
-		return tcrco;
+		/**
+		 * Gets the modified set of mappings, copying the set of the base version the first time.
+		 * @return the modified set of mappings.
+		 */
+		private SortedSet<TSLCountryRegionMappingCacheObject> getModifiedMappingSet() {
+			if (modifiedMappingSet == null) {
+				modifiedMappingSet = new TreeSet<TSLCountryRegionMappingCacheObject>(base.mappingSet);
+			}
+			return modifiedMappingSet;
+		}
 
 	}
 
@@ -20,7 +20,7 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>24/10/2018.</p>
  * @author Gobierno de España.
- * @version 1.0, 24/10/2018.
+ * @version 1.1, 18/10/2026.
  */
 package es.gob.valet.persistence.configuration.cache.modules.tsl.elements;
 
@@ -28,19 +28,18 @@ import es.gob.valet.commons.utils.NumberConstants;
 import es.gob.valet.exceptions.IValetException;
 import es.gob.valet.i18n.Language;
 import es.gob.valet.i18n.messages.IPersistenceCacheMessages;
-import es.gob.valet.persistence.configuration.cache.common.exceptions.ConfigurationCacheObjectCloneException;
-import es.gob.valet.persistence.configuration.cache.common.exceptions.ConfigurationCacheObjectStreamException;
 import es.gob.valet.persistence.configuration.cache.common.impl.ConfigurationCacheObject;
 import es.gob.valet.persistence.configuration.cache.modules.tsl.exceptions.TSLCacheException;
 import es.gob.valet.persistence.configuration.model.entity.TslCountryRegionMapping;
 import es.gob.valet.persistence.configuration.model.utils.IAssociationTypeIdConstants;
 
 /**
- * <p>Class that represents a TSL mapping in the configuration cache.</p>
+ * <p>Class that represents a TSL mapping in the configuration cache. It is immutable, so the same instance is shared
+ * by all the readers of the cache and by the versions of its country/region.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.0, 24/10/2018.
+ * @version 1.1, 18/10/2026.
  */
-public class TSLCountryRegionMappingCacheObject extends ConfigurationCacheObject implements Comparable<TSLCountryRegionMappingCacheObject> {
+public final class TSLCountryRegionMappingCacheObject extends ConfigurationCacheObject implements Comparable<TSLCountryRegionMappingCacheObject> {
 
 	/**
 	 * Constant attribute that represents the serial version UID.
@@ -50,40 +49,33 @@ public class TSLCountryRegionMappingCacheObject extends ConfigurationCacheObject
 	/**
 	 * Attribute that represents the mapping ID.
 	 */
-	private long mappingId = -1;
+	private final long mappingId;
 	
 	/**
 	 * Attribute that represents the TSLCountryRegion identificator.
 	 */
-	private long countryRegionId = -1;
+	private final long countryRegionId;
 
 	/**
 	 * Attribute that represents the mapping identificator.
 	 */
-	private String identificator = null;
+	private final String identificator;
 
 	/**
 	 * Attribute that represents the mapping description.
 	 */
-	private String description = null;
+	private final String description;
 
 	/**
 	 * Attribute that represents the mapping value.
 	 */
-	private String value = null;
+	private final String value;
 
 	/**
 	 * Attribute that represents the association type.
 	 * It only can be {@link IAssociationTypeIdConstants#ID_FREE_ASSOCIATION} or {@link IAssociationTypeIdConstants#ID_SIMPLE_ASSOCIATION}.
 	 */
-	private long associationType = -1;
-
-	/**
-	 * Constructor method for the class TSLCountryRegionMappingCacheObject.java.
-	 */
-	public TSLCountryRegionMappingCacheObject() {
-		super();
-	}
+	private final long associationType;
 
 	/**
 	 * Constructor method for the class TSLCountryRegionMappingCacheObject.java.
@@ -92,170 +84,71 @@ public class TSLCountryRegionMappingCacheObject extends ConfigurationCacheObject
 	 */
 	public TSLCountryRegionMappingCacheObject(TslCountryRegionMapping tcrm) throws TSLCacheException {
 
-		this();
+		super();
 
 		// Si el pojo recibido es nulo, se lanza una excepción ya que no se
 		// puede inicializar el objeto.
 		if (tcrm == null) {
 			throw new TSLCacheException(IValetException.COD_191, Language.getResPersistenceCache(IPersistenceCacheMessages.CONFIG_TSL_CACHE_LOG090));
-		} else {
-
-			setMappingId(tcrm.getIdTslCountryRegionMapping().longValue());
-			setIdentificator(tcrm.getMappingIdentificator());
-			setDescription(tcrm.getMappingDescription());
-			setValue(tcrm.getMappingValue());
-			setAssociationType(tcrm.getAssociationType().getIdAssociationType().longValue());
-			setCountryRegionId(tcrm.getTslCountryRegion().getIdTslCountryRegion());
-
 		}
 
+		mappingId = tcrm.getIdTslCountryRegionMapping().longValue();
+		identificator = tcrm.getMappingIdentificator();
+		description = tcrm.getMappingDescription();
+		value = tcrm.getMappingValue();
+		associationType = tcrm.getAssociationType().getIdAssociationType().longValue();
+		countryRegionId = tcrm.getTslCountryRegion().getIdTslCountryRegion();
+
 	}
 
 	/**
 	 * Gets the value of the attribute {@link #mappingId}.
 	 * @return the value of the attribute {@link #mappingId}.
 	 */
-	public final long getMappingId() {
+	public long getMappingId() {
 		return mappingId;
 	}
 
 	/**
-	 * Sets the value of the attribute {@link #mappingId}.
-	 * @param mappingIdParam The value for the attribute {@link #mappingId}.
-	 */
-	public final void setMappingId(long mappingIdParam) {
-		this.mappingId = mappingIdParam;
-	}
-
-	
-	/**
-	 * @return the countryRegionId
+	 * Gets the value of the attribute {@link #countryRegionId}.
+	 * @return the value of the attribute {@link #countryRegionId}.
 	 */
 	public long getCountryRegionId() {
 		return countryRegionId;
 	}
 
-	
-	/**
-	 * @param countryRegionIdParam the countryRegionId to set
-	 */
-	public void setCountryRegionId(long countryRegionIdParam) {
-		this.countryRegionId = countryRegionIdParam;
-	}
-
 	/**
 	 * Gets the value of the attribute {@link #identificator}.
 	 * @return the value of the attribute {@link #identificator}.
 	 */
-	public final String getIdentificator() {
+	public String getIdentificator() {
 		return identificator;
 	}
 
-	/**
-	 * Sets the value of the attribute {@link #identificator}.
-	 * @param identificatorParam The value for the attribute {@link #identificator}.
-	 */
-	public final void setIdentificator(String identificatorParam) {
-		this.identificator = identificatorParam;
-	}
-
 	/**
 	 * Gets the value of the attribute {@link #description}.
 	 * @return the value of the attribute {@link #description}.
 	 */
-	public final String getDescription() {
+	public String getDescription() {
 		return description;
 	}
 
-	/**
-	 * Sets the value of the attribute {@link #description}.
-	 * @param descriptionParam The value for the attribute {@link #description}.
-	 */
-	public final void setDescription(String descriptionParam) {
-		this.description = descriptionParam;
-	}
-
 	/**
 	 * Gets the value of the attribute {@link #value}.
 	 * @return the value of the attribute {@link #value}.
 	 */
-	public final String getValue() {
+	public String getValue() {
 		return value;
 	}
 
-	/**
-	 * Sets the value of the attribute {@link #value}.
-	 * @param valueParam The value for the attribute {@link #value}.
-	 */
-	public final void setValue(String valueParam) {
-		this.value = valueParam;
-	}
-
 	/**
 	 * Gets the value of the attribute {@link #associationType}.
 	 * @return the value of the attribute {@link #associationType}.
 	 */
-	public final long getAssociationType() {
+	public long getAssociationType() {
 		return associationType;
 	}
 
-	/**
-	 * Sets the value of the attribute {@link #associationType}.
-	 * @param associationTypeParam The value for the attribute {@link #associationType}.
-	 */
-	public final void setAssociationType(long associationTypeParam) {
-		this.associationType = associationTypeParam;
-	}
-
-	/**
-	 * {@inheritDoc}
-	 * @see es.gob.valet.persistence.configuration.cache.common.impl.ConfigurationCacheObject#writeReplace()
-	 */
-	@Override
-	protected Object writeReplace() throws ConfigurationCacheObjectStreamException {
-
-		try {
-			return this.clone();
-		} catch (CloneNotSupportedException e) {
-			throw new ConfigurationCacheObjectStreamException(e.getMessage());
-		}
-
-	}
-
-	/**
-	 * {@inheritDoc}
-	 * @see es.gob.valet.persistence.configuration.cache.common.impl.ConfigurationCacheObject#readResolve()
-	 */
-	@Override
-	protected Object readResolve() throws ConfigurationCacheObjectStreamException {
-
-		try {
-			return this.clone();
-		} catch (CloneNotSupportedException e) {
-			throw new ConfigurationCacheObjectStreamException(e.getMessage());
-		}
-
-	}
-
-	/**
-	 * {@inheritDoc}
-	 * @see es.gob.valet.persistence.configuration.cache.common.impl.ConfigurationCacheObject#clone()
-	 */
-	@Override
-	public ConfigurationCacheObject clone() throws ConfigurationCacheObjectCloneException {
-
-		TSLCountryRegionMappingCacheObject tcrmco = new TSLCountryRegionMappingCacheObject();
-
-		tcrmco.setMappingId(getMappingId());
-		tcrmco.setIdentificator(getIdentificator());
-		tcrmco.setDescription(getDescription());
-		tcrmco.setValue(getValue());
-		tcrmco.setAssociationType(getAssociationType());
-
-		return tcrmco;
-
-	}
-
 	/**
 	 * {@inheritDoc}
 	 * @see java.lang.Comparable#compareTo(java.lang.Object)
@@ -20,7 +20,7 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>24/10/2018.</p>
  * @author Gobierno de España.
- * @version 1.1, 29/10/2018.
+ * @version 1.2, 18/10/2026.
  */
 package es.gob.valet.persistence.configuration.cache.modules.tsl.elements;
 
@@ -30,18 +30,17 @@ import java.util.Date;
 import es.gob.valet.exceptions.IValetException;
 import es.gob.valet.i18n.Language;
 import es.gob.valet.i18n.messages.IPersistenceCacheMessages;
-import es.gob.valet.persistence.configuration.cache.common.exceptions.ConfigurationCacheObjectCloneException;
-import es.gob.valet.persistence.configuration.cache.common.exceptions.ConfigurationCacheObjectStreamException;
 import es.gob.valet.persistence.configuration.cache.common.impl.ConfigurationCacheObject;
 import es.gob.valet.persistence.configuration.cache.modules.tsl.exceptions.TSLCacheException;
 import es.gob.valet.persistence.configuration.model.entity.TslData;
 
 /**
- * <p>Class that represents a TSL Data Object representation in the clustered cache.</p>
+ * <p>Class that represents a TSL Data Object representation in the clustered cache. It is immutable, so the same
+ * instance (and the TSL object that it contains) is shared by all the readers of the cache.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.1, 29/10/2018.
+ * @version 1.2, 18/10/2026.
  */
-public class TSLDataCacheObject extends ConfigurationCacheObject {
+public final class TSLDataCacheObject extends ConfigurationCacheObject {
 
 	/**
 	 * Constant attribute that represents the serial version UID.
@@ -51,59 +50,52 @@ public class TSLDataCacheObject extends ConfigurationCacheObject {
 	/**
 	 * Attribute that represents the TSL data ID.
 	 */
-	private long tslDataId = -1;
+	private final long tslDataId;
 
 	/**
 	 * Attribute that represents the TSL Specification and Version ID.
 	 */
-	private long tslImplId = -1;
+	private final long tslImplId;
 
 	/**
 	 * Attribute that represents the TSL location URI.
 	 */
-	private String tslLocationUri = null;
+	private final String tslLocationUri;
 
 	/**
 	 * Attribute that represents a flag that indicates if the legible document of the TSL has been added in the data base.
 	 */
-	private boolean isLegibleDocumentAdded = false;
+	private final boolean isLegibleDocumentAdded;
 
 	/**
 	 * Attribute that represents the issue date of the TSL.
 	 */
-	private Date issueDate = null;
+	private final Date issueDate;
 
 	/**
 	 * Attribute that represents the next update date of the TSL.
 	 */
-	private Date nextUpdateDate = null;
+	private final Date nextUpdateDate;
 
 	/**
 	 * Attribute that represents the sequence number of the TSL.
 	 */
-	private int sequenceNumber = -1;
+	private final int sequenceNumber;
 
 	/**
 	 * Attribute that represents a TSL object representation.
 	 */
-	private Serializable tslObject = null;
+	private final Serializable tslObject;
 
 	/**
 	 * Attribute that represents if exists a new version of TSL.
 	 */
-	private String newTSLAvailable = null;
+	private final String newTSLAvailable;
 
 	/**
 	 * Attribute that represents the last new TSL available are find.
 	 */
-	private Date lastNewTSLAvailableFind = null;
-
-	/**
-	 * Constructor method for the class TSLDataCacheObject.java.
-	 */
-	public TSLDataCacheObject() {
-		super();
-	}
+	private final Date lastNewTSLAvailableFind;
 
 	/**
 	 * Constructor method for the class TSLDataCacheObject.java.
@@ -113,244 +105,114 @@ public class TSLDataCacheObject extends ConfigurationCacheObject {
 	 */
 	public TSLDataCacheObject(TslData td, Serializable tslObjectSerializable) throws TSLCacheException {
 
-		this();
+		super();
 
 		// Si el pojo recibido es nulo, se lanza una excepción ya que no se
 		// puede inicializar el objeto.
 		if (td == null || tslObjectSerializable == null) {
 			throw new TSLCacheException(IValetException.COD_191, Language.getResPersistenceCache(IPersistenceCacheMessages.CONFIG_TSL_CACHE_LOG091));
-		} else {
-
-			setTslDataId(td.getIdTslData().longValue());
-			setTslImplId(td.getTslImpl().getIdTSLImpl().longValue());
-			setTslLocationUri(td.getUriTslLocation());
-			setLegibleDocumentAdded(td.getLegibleDocument() != null);
-			setIssueDate(td.getIssueDate());
-			setNextUpdateDate(td.getExpirationDate());
-			setSequenceNumber(td.getSequenceNumber().intValue());
-			setNewTSLAvailable(td.getNewTSLAvailable());
-			setTslObject(tslObjectSerializable);
-			setLastNewTSLAvailableFind(td.getLastNewTSLAvailableFind());
-
 		}
 
+		tslDataId = td.getIdTslData().longValue();
+		tslImplId = td.getTslImpl().getIdTSLImpl().longValue();
+		tslLocationUri = td.getUriTslLocation();
+		isLegibleDocumentAdded = td.getLegibleDocument() != null;
+		issueDate = copyDate(td.getIssueDate());
+		nextUpdateDate = copyDate(td.getExpirationDate());
+		sequenceNumber = td.getSequenceNumber().intValue();
+		newTSLAvailable = td.getNewTSLAvailable();
+		tslObject = tslObjectSerializable;
+		lastNewTSLAvailableFind = copyDate(td.getLastNewTSLAvailableFind());
+
 	}
 
 	/**
-	 * Gets the value of the attribute {@link #tslDataId}.
-	 * @return the value of the attribute {@link #tslDataId}.
+	 * Builds a copy of the input date, so the dates of this object can not be modified from outside.
+	 * @param date Date to copy.
+	 * @return a copy of the input date, or <code>null</code> if it is <code>null</code>.
 	 */
-	public final long getTslDataId() {
-		return tslDataId;
+	private static Date copyDate(Date date) {
+		return date == null ? null : new Date(date.getTime());
 	}
 
 	/**
-	 * Sets the value of the attribute {@link #tslDataId}.
-	 * @param tslDataIdParam The value for the attribute {@link #tslDataId}.
+	 * Gets the value of the attribute {@link #tslDataId}.
+	 * @return the value of the attribute {@link #tslDataId}.
 	 */
-	public final void setTslDataId(long tslDataIdParam) {
-		this.tslDataId = tslDataIdParam;
+	public long getTslDataId() {
+		return tslDataId;
 	}
 
 	/**
 	 * Gets the value of the attribute {@link #tslImplId}.
 	 * @return the value of the attribute {@link #tslImplId}.
 	 */
-	public final long getTslImplId() {
+	public long getTslImplId() {
 		return tslImplId;
 	}
 
-	/**
-	 * Sets the value of the attribute {@link #tslImplId}.
-	 * @param tslImplIdParam The value for the attribute {@link #tslImplId}.
-	 */
-	public final void setTslImplId(long tslImplIdParam) {
-		this.tslImplId = tslImplIdParam;
-	}
-
-
 	/**
 	 * Gets the value of the attribute {@link #tslLocationUri}.
 	 * @return the value of the attribute {@link #tslLocationUri}.
 	 */
-	public final String getTslLocationUri() {
+	public String getTslLocationUri() {
 		return tslLocationUri;
 	}
 
-	/**
-	 * Sets the value of the attribute {@link #tslLocationUri}.
-	 * @param tslLocationUriParam The value for the attribute {@link #tslLocationUri}.
-	 */
-	public final void setTslLocationUri(String tslLocationUriParam) {
-		this.tslLocationUri = tslLocationUriParam;
-	}
-
 	/**
 	 * Gets the value of the attribute {@link #isLegibleDocumentAdded}.
 	 * @return the value of the attribute {@link #isLegibleDocumentAdded}.
 	 */
-	public final boolean isLegibleDocumentAdded() {
+	public boolean isLegibleDocumentAdded() {
 		return isLegibleDocumentAdded;
 	}
 
 	/**
-	 * Sets the value of the attribute {@link #isLegibleDocumentAdded}.
-	 * @param isLegibleDocumentAddedParam The value for the attribute {@link #isLegibleDocumentAdded}.
-	 */
-	public final void setLegibleDocumentAdded(boolean isLegibleDocumentAddedParam) {
-		this.isLegibleDocumentAdded = isLegibleDocumentAddedParam;
-	}
-
-	/**
-	 * Gets the value of the attribute {@link #issueDate}.
-	 * @return the value of the attribute {@link #issueDate}.
+	 * Gets a copy of the value of the attribute {@link #issueDate}.
+	 * @return a copy of the value of the attribute {@link #issueDate}.
 	 */
-	public final Date getIssueDate() {
-		return issueDate;
+	public Date getIssueDate() {
+		return copyDate(issueDate);
 	}
 
 	/**
-	 * Sets the value of the attribute {@link #issueDate}.
-	 * @param issueDateParam The value for the attribute {@link #issueDate}.
+	 * Gets a copy of the value of the attribute {@link #nextUpdateDate}.
+	 * @return a copy of the value of the attribute {@link #nextUpdateDate}.
 	 */
-	public final void setIssueDate(Date issueDateParam) {
-		this.issueDate = issueDateParam;
-	}
-
-	/**
-	 * Gets the value of the attribute {@link #nextUpdateDate}.
-	 * @return the value of the attribute {@link #nextUpdateDate}.
-	 */
-	public final Date getNextUpdateDate() {
-		return nextUpdateDate;
-	}
-
-	/**
-	 * Sets the value of the attribute {@link #nextUpdateDate}.
-	 * @param nextUpdateDateParam The value for the attribute {@link #nextUpdateDate}.
-	 */
-	public final void setNextUpdateDate(Date nextUpdateDateParam) {
-		this.nextUpdateDate = nextUpdateDateParam;
+	public Date getNextUpdateDate() {
+		return copyDate(nextUpdateDate);
 	}
 
 	/**
 	 * Gets the value of the attribute {@link #sequenceNumber}.
 	 * @return the value of the attribute {@link #sequenceNumber}.
 	 */
-	public final int getSequenceNumber() {
+	public int getSequenceNumber() {
 		return sequenceNumber;
 	}
 
 	/**
-	 * Sets the value of the attribute {@link #sequenceNumber}.
-	 * @param sequenceNumberParam The value for the attribute {@link #sequenceNumber}.
-	 */
-	public final void setSequenceNumber(int sequenceNumberParam) {
-		this.sequenceNumber = sequenceNumberParam;
-	}
-
-	/**
-	 * Gets the value of the attribute {@link #tslObject}.
+	 * Gets the value of the attribute {@link #tslObject}. The TSL object is shared by all the readers of the cache, and must not be modified.
 	 * @return the value of the attribute {@link #tslObject}.
 	 */
-	public final Serializable getTslObject() {
+	public Serializable getTslObject() {
 		return tslObject;
 	}
 
-	/**
-	 * Sets the value of the attribute {@link #tslObject}.
-	 * @param tslObjectParam The value for the attribute {@link #tslObject}.
-	 */
-	public final void setTslObject(Serializable tslObjectParam) {
-		this.tslObject = tslObjectParam;
-	}
-
 	/**
 	 * Gets the value of the attribute {@link #newTSLAvailable}.
 	 * @return the value of the attribute {@link #newTSLAvailable}.
 	 */
-	public final String getNewTSLAvailable() {
+	public String getNewTSLAvailable() {
 		return newTSLAvailable;
 	}
 
 	/**
-	 * Sets the value of the attribute {@link #newTSLAvailable}.
-	 * @param newTSLAvailableParam The value for the attribute {@link #newTSLAvailable}.
-	 */
-	public final void setNewTSLAvailable(String newTSLAvailableParam) {
-		this.newTSLAvailable = newTSLAvailableParam;
-	}
-
-	/**
-	 * Gets the value of the attribute {@link #lastNewTSLAvailableFind}.
-	 * @return the value of the attribute {@link #lastNewTSLAvailableFind}.
-	 */
-	public final Date getLastNewTSLAvailableFind() {
-		return lastNewTSLAvailableFind;
-	}
-
-	/**
-	 * Sets the value of the attribute {@link #lastNewTSLAvailableFind}.
-	 * @param lastNewTSLAvailableFindParam The value for the attribute {@link #lastNewTSLAvailableFind}.
-	 */
-	public final void setLastNewTSLAvailableFind(Date lastNewTSLAvailableFindParam) {
-		this.lastNewTSLAvailableFind = lastNewTSLAvailableFindParam;
-	}
-
-	/**
-	 * {@inheritDoc}
-	 * @see es.gob.valet.persistence.configuration.cache.common.impl.ConfigurationCacheObject#writeReplace()
-	 */
-	@Override
-	protected Object writeReplace() throws ConfigurationCacheObjectStreamException {
-
-		try {
-			return this.clone();
-		} catch (CloneNotSupportedException e) {
-			throw new ConfigurationCacheObjectStreamException(e.getMessage());
-		}
-
-	}
-
-	/**
-	 * {@inheritDoc}
-	 * @see es.gob.valet.persistence.configuration.cache.common.impl.ConfigurationCacheObject#readResolve()
-	 */
-	@Override
-	protected Object readResolve() throws ConfigurationCacheObjectStreamException {
-
-		try {
-			return this.clone();
-		} catch (CloneNotSupportedException e) {
-			throw new ConfigurationCacheObjectStreamException(e.getMessage());
-		}
-
-	}
-
-	/**
-	 * {@inheritDoc}
-	 * @see es.gob.valet.persistence.configuration.cache.common.impl.ConfigurationCacheObject#clone()
+	 * Gets a copy of the value of the attribute {@link #lastNewTSLAvailableFind}.
+	 * @return a copy of the value of the attribute {@link #lastNewTSLAvailableFind}.
 	 */
-	@Override
-	public ConfigurationCacheObject clone() throws ConfigurationCacheObjectCloneException {
-
-		TSLDataCacheObject tdco = new TSLDataCacheObject();
-
-		tdco.setTslDataId(getTslDataId());
-		tdco.setTslImplId(getTslImplId());
-		tdco.setTslLocationUri(getTslLocationUri());
-		tdco.setLegibleDocumentAdded(isLegibleDocumentAdded());
-		tdco.setIssueDate((Date) getIssueDate().clone());
-		if (getNextUpdateDate() != null) {
-			tdco.setNextUpdateDate((Date) getNextUpdateDate().clone());
-		}
-		tdco.setSequenceNumber(getSequenceNumber());
-		tdco.setTslObject(getTslObject());
-		tdco.setNewTSLAvailable(getNewTSLAvailable());
-		tdco.setLastNewTSLAvailableFind(getLastNewTSLAvailableFind());
-
-		return tdco;
-
+	public Date getLastNewTSLAvailableFind() {
+		return copyDate(lastNewTSLAvailableFind);
 	}
 
 }
@@ -25,21 +25,21 @@
  */
 package es.gob.valet.persistence.configuration.cache.modules.tsl.elements;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
-import es.gob.valet.persistence.configuration.cache.common.exceptions.ConfigurationCacheObjectCloneException;
-import es.gob.valet.persistence.configuration.cache.common.exceptions.ConfigurationCacheObjectStreamException;
 import es.gob.valet.persistence.configuration.cache.common.impl.ConfigurationCacheObject;
 
 /**
  * <p>Class that represents a collection that stores the relation between a TSL Location
  * and its information into the configuration cache.</p>
+ * <p>It is immutable, so the same instance is shared by all the readers of the cache. To update it, a new version
+ * must be built with {@link #toBuilder()}.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * @version 1.1, 07/12/2018.
  */
-public class TSLLocationAndIdRelationCacheObject extends ConfigurationCacheObject {
+public final class TSLLocationAndIdRelationCacheObject extends ConfigurationCacheObject {
 
 	/**
 	 * Constant attribute that represents the serial version UID.
@@ -53,33 +53,25 @@ public class TSLLocationAndIdRelationCacheObject extends ConfigurationCacheObjec
 
 	/**
 	 * Attribute that represents the map that stores the relation between the TSL location
-	 * and its identifier.
+	 * and its identifier. It can not be modified.
 	 */
-	private Map<String, Long> relationMap = null;
+	private final Map<String, Long> relationMap;
 
 	/**
 	 * Constructor method for the class TSLLocationAndIdRelationCacheObject.java.
 	 */
 	public TSLLocationAndIdRelationCacheObject() {
 		super();
-		relationMap = new ConcurrentHashMap<String, Long>();
+		relationMap = Collections.emptyMap();
 	}
 
 	/**
-	 * Adds a relation between the TSL Location and its information.
-	 * @param tdco TSL Data Cache object from which take the information.
+	 * Constructor method for the class TSLLocationAndIdRelationCacheObject.java.
+	 * @param relationMapParam Map that stores the relation between the TSL location and its identifier.
 	 */
-	public final void addUpdateRelation(TSLDataCacheObject tdco) {
-
-		// Si actualmente existe, lo borramos.
-		String key = getTslLocationKeyIgnoringCaseSensitive(tdco.getTslLocationUri());
-		if (key != null) {
-			relationMap.remove(key);
-		}
-
-		// Lo añadimos al map.
-		relationMap.put(tdco.getTslLocationUri(), tdco.getTslDataId());
-
+	private TSLLocationAndIdRelationCacheObject(Map<String, Long> relationMapParam) {
+		super();
+		relationMap = Collections.unmodifiableMap(relationMapParam);
 	}
 
 	/**
@@ -87,7 +79,7 @@ public class TSLLocationAndIdRelationCacheObject extends ConfigurationCacheObjec
 	 * @param tslLocation URL with the TSL location to search.
 	 * @return the TSL Data Id associated to the input tsl location. <code>null</code> if there is not.
 	 */
-	public final Long getTslDataIdFromLocation(String tslLocation) {
+	public Long getTslDataIdFromLocation(String tslLocation) {
 
 		Long result = relationMap.get(tslLocation);
 
@@ -95,7 +87,7 @@ public class TSLLocationAndIdRelationCacheObject extends ConfigurationCacheObjec
 		// de mayúsculas y minúsculas...
 		if (result == null) {
 
-			String key = getTslLocationKeyIgnoringCaseSensitive(tslLocation);
+			String key = getTslLocationKeyIgnoringCaseSensitive(relationMap, tslLocation);
 			if (key != null) {
 				result = relationMap.get(key);
 			}
@@ -107,25 +99,21 @@ public class TSLLocationAndIdRelationCacheObject extends ConfigurationCacheObjec
 	}
 
 	/**
-	 * Searchs the input TSL location in the keys already added ignoring case sensitive.
+	 * Searchs the input TSL location in the keys of the input map ignoring case sensitive.
+	 * @param map Map that stores the relation between the TSL location and its identifier.
 	 * @param tslLocation TSL location to search.
 	 * @return the input TSL location in the keys already added ignoring case sensitive,
 	 * or <code>null</code> if not is finded.
 	 */
-	private String getTslLocationKeyIgnoringCaseSensitive(String tslLocation) {
+	private static String getTslLocationKeyIgnoringCaseSensitive(Map<String, Long> map, String tslLocation) {
 
 		String result = null;
 
-		if (!relationMap.isEmpty()) {
-
-			Set<String> keys = relationMap.keySet();
-			for (String key: keys) {
-				if (key.equalsIgnoreCase(tslLocation)) {
-					result = key;
-					break;
-				}
+		for (String key: map.keySet()) {
+			if (key.equalsIgnoreCase(tslLocation)) {
+				result = key;
+				break;
 			}
-
 		}
 
 		return result;
@@ -133,63 +121,73 @@ public class TSLLocationAndIdRelationCacheObject extends ConfigurationCacheObjec
 	}
 
 	/**
-	 * Removes a relation between the TSL Location and the TSL identifier.
-	 * @param tdco TSL Data Cache object from which take the information to remove.
+	 * Builds a builder initialized with the relations of this object, to build a new version of it.
+	 * @return a builder initialized with the relations of this object.
 	 */
-	public final void removeRelation(TSLDataCacheObject tdco) {
-
-		// Lo eliminamos del Map.
-		relationMap.remove(tdco.getTslLocationUri());
-
+	public Builder toBuilder() {
+		return new Builder(relationMap);
 	}
 
 	/**
-	 * {@inheritDoc}
-	 * @see es.gob.valet.persistence.configuration.cache.common.impl.ConfigurationCacheObject#writeReplace()
+	 * <p>Class that builds a new version of a {@link TSLLocationAndIdRelationCacheObject}.</p>
+	 * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+	 * @version 1.0, 18/10/2026.
 	 */
-	@Override
-	protected Object writeReplace() throws ConfigurationCacheObjectStreamException {
-
-		try {
-			return this.clone();
-		} catch (CloneNotSupportedException e) {
-			throw new ConfigurationCacheObjectStreamException(e.getMessage());
+	public static final class Builder {
+
+		/**
+		 * Attribute that represents the relations of the new version.
+		 */
+		private final Map<String, Long> relationMap;
+
+		/**
+		 * Constructor method for the class Builder.
+		 * @param relationMapParam Relations of the version from which the new one is built.
+		 */
+		private Builder(Map<String, Long> relationMapParam) {
+			super();
+			relationMap = new HashMap<String, Long>(relationMapParam);
 		}
 
-	}
-
-	/**
-	 * {@inheritDoc}
-	 * @see es.gob.valet.persistence.configuration.cache.common.impl.ConfigurationCacheObject#readResolve()
-	 */
-	@Override
-	protected Object readResolve() throws ConfigurationCacheObjectStreamException {
-
-		try {
-			return this.clone();
-		} catch (CloneNotSupportedException e) {
-			throw new ConfigurationCacheObjectStreamException(e.getMessage());
-		}
+		/**
+		 * Adds a relation between the TSL Location and its information.
+		 * @param tdco TSL Data Cache object from which take the information.
+		 * @return this builder.
+		 */
+		public Builder addUpdateRelation(TSLDataCacheObject tdco) {
 
-	}
+			// Si actualmente existe, lo borramos.
+			String key = getTslLocationKeyIgnoringCaseSensitive(relationMap, tdco.getTslLocationUri());
+			if (key != null) {
+				relationMap.remove(key);
+			}
 
-	/**
-	 * {@inheritDoc}
-	 * @see es.gob.valet.persistence.configuration.cache.common.impl.ConfigurationCacheObject#clone()
-	 */
-	@Override
-	public ConfigurationCacheObject clone() throws ConfigurationCacheObjectCloneException {
+			// Lo añadimos al map.
+			relationMap.put(tdco.getTslLocationUri(), tdco.getTslDataId());
+			return this;
 
-		TSLLocationAndIdRelationCacheObject tlairco = new TSLLocationAndIdRelationCacheObject();
+		}
 
-		Set<String> keys = relationMap.keySet();
-		for (String tslLocation: keys) {
+		/**
+		 * Removes a relation between the TSL Location and the TSL identifier.
+		 * @param tdco TSL Data Cache object from which take the information to remove.
+		 * @return this builder.
+		 */
+		public Builder removeRelation(TSLDataCacheObject tdco) {
 
-			tlairco.relationMap.put(tslLocation, relationMap.get(tslLocation));
+			// Lo eliminamos del Map.
+			relationMap.remove(tdco.getTslLocationUri());
+			return this;
 
 		}
 
-		return tlairco;
+		/**
+		 * Builds the new version of the relations.
+		 * @return the new version of the relations.
+		 */
+		public TSLLocationAndIdRelationCacheObject build() {
+			return new TSLLocationAndIdRelationCacheObject(relationMap);
+		}
 
 	}
 
@@ -20,12 +20,13 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>24/10/2018.</p>
  * @author Gobierno de España.
- * @version 1.1, 29/10/2018.
+ * @version 1.2, 18/10/2026.
  */
 package es.gob.valet.persistence.configuration.cache.modules.tsl.engine;
 
 import java.io.Serializable;
 
+import es.gob.valet.cache.utils.CacheValetNamespace;
 import es.gob.valet.commons.utils.NumberConstants;
 import es.gob.valet.exceptions.IValetException;
 import es.gob.valet.i18n.Language;
@@ -44,7 +45,7 @@ import es.gob.valet.persistence.configuration.model.entity.TslData;
 /**
  * <p>Class to handle the TSL configuration cache.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.1, 29/10/2018.
+ * @version 1.2, 18/10/2026.
  */
 public final class TSLCache extends ConfigurationCache {
 
@@ -69,6 +70,21 @@ public final class TSLCache extends ConfigurationCache {
 	 */
 	private static final String PATH_TSL_URLLOCATION_TSLID = "TSLLocationToID";
 
+	/**
+	 * Constant attribute that represents the node inside the cache for the TSL.
+	 */
+	private static final CacheValetNamespace NAMESPACE_BASE = buildNamespace(PATH_BASE);
+
+	/**
+	 * Constant attribute that represents the node inside the cache for the TSL countries/regions.
+	 */
+	private static final CacheValetNamespace NAMESPACE_COUNTRY_REGIONS = buildNamespace(PATH_BASE, PATH_COUNTRY_REGIONS);
+
+	/**
+	 * Constant attribute that represents the node inside the cache for the TSL data.
+	 */
+	private static final CacheValetNamespace NAMESPACE_TSL_DATA = buildNamespace(PATH_BASE, PATH_TSL_DATA);
+
 	/**
 	 * Constant attribute that represents a separator token for the TSL identifier.
 	 */
@@ -185,14 +201,8 @@ public final class TSLCache extends ConfigurationCache {
 	 */
 	public TSLCountryRegionCacheObject getTSLCountryRegion(String countryRegionCode, boolean inLoadingCache) throws TSLCacheException {
 
-		// Se construye la ruta en la caché.
-		String[ ] path = new String[NumberConstants.NUM3];
-		path[0] = PATH_BASE;
-		path[1] = PATH_COUNTRY_REGIONS;
-		path[2] = countryRegionCode;
-
 		try {
-			return (TSLCountryRegionCacheObject) getConfigurationCacheObject(path, inLoadingCache);
+			return (TSLCountryRegionCacheObject) getConfigurationCacheObject(NAMESPACE_COUNTRY_REGIONS, countryRegionCode, inLoadingCache);
 		} catch (ConfigurationCacheException e) {
 			throw new TSLCacheException(IValetException.COD_191, e.getErrorDescription(), e.getException());
 		}
@@ -297,14 +307,8 @@ public final class TSLCache extends ConfigurationCache {
 	 */
 	public TSLDataCacheObject getTSLData(long tslDataId, boolean inLoadingCache) throws TSLCacheException {
 
-		// Se construye la ruta en la caché.
-		String[ ] path = new String[NumberConstants.NUM3];
-		path[0] = PATH_BASE;
-		path[1] = PATH_TSL_DATA;
-		path[2] = String.valueOf(tslDataId);
-
 		try {
-			return (TSLDataCacheObject) getConfigurationCacheObject(path, inLoadingCache);
+			return (TSLDataCacheObject) getConfigurationCacheObject(NAMESPACE_TSL_DATA, String.valueOf(tslDataId), inLoadingCache);
 		} catch (ConfigurationCacheException e) {
 			throw new TSLCacheException(IValetException.COD_191, e.getErrorDescription(), e.getException());
 		}
@@ -373,13 +377,8 @@ public final class TSLCache extends ConfigurationCache {
 	 */
 	public TSLLocationAndIdRelationCacheObject getTSLLocationAndIdRelationCacheObject(boolean inLoadingCache) throws TSLCacheException {
 
-		// Se construye la ruta en la caché.
-		String[ ] path = new String[2];
-		path[0] = PATH_BASE;
-		path[1] = PATH_TSL_URLLOCATION_TSLID;
-
 		try {
-			return (TSLLocationAndIdRelationCacheObject) getConfigurationCacheObject(path, inLoadingCache);
+			return (TSLLocationAndIdRelationCacheObject) getConfigurationCacheObject(NAMESPACE_BASE, PATH_TSL_URLLOCATION_TSLID, inLoadingCache);
 		} catch (ConfigurationCacheException e) {
 			throw new TSLCacheException(IValetException.COD_191, e.getErrorDescription(), e.getException());
 		}
@@ -428,11 +427,9 @@ public final class TSLCache extends ConfigurationCache {
 			tlairco = new TSLLocationAndIdRelationCacheObject();
 		}
 
-		// Añadimos la información.
-		tlairco.addUpdateRelation(tdco);
-
-		// Lo actualizamos en la caché.
-		setTSLLocationAndIdRelationCacheObject(tlairco, inLoadingCache);
+		// Añadimos la información en una nueva versión, y la actualizamos en
+		// la caché.
+		setTSLLocationAndIdRelationCacheObject(tlairco.toBuilder().addUpdateRelation(tdco).build(), inLoadingCache);
 
 	}
 
@@ -455,11 +452,9 @@ public final class TSLCache extends ConfigurationCache {
 		// Si no es nulo, continuamos.
 		if (tlairco != null) {
 
-			// Eliminamos la información
-			tlairco.removeRelation(tdco);
-
-			// Lo actualizamos en la caché.
-			setTSLLocationAndIdRelationCacheObject(tlairco, inLoadingCache);
+			// Eliminamos la información en una nueva versión, y la
+			// actualizamos en la caché.
+			setTSLLocationAndIdRelationCacheObject(tlairco.toBuilder().removeRelation(tdco).build(), inLoadingCache);
 
 		}
 
@@ -20,13 +20,12 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>24/10/2018.</p>
  * @author Gobierno de España.
- * @version 1.2, 04/12/2018.
+ * @version 1.3, 18/10/2026.
  */
 package es.gob.valet.persistence.configuration.cache.modules.tsl.engine;
 
 import java.io.Serializable;
 import java.util.Set;
-import java.util.TreeSet;
 
 import es.gob.valet.commons.utils.UtilsStringChar;
 import es.gob.valet.exceptions.IValetException;
@@ -45,7 +44,7 @@ import es.gob.valet.persistence.configuration.model.entity.TslData;
 /**
  * <p>Facade for all the TSL configuration cache objects operations.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.2, 04/12/2018.
+ * @version 1.3, 18/10/2026.
  */
 public final class TSLCacheFacade {
 
@@ -268,14 +267,12 @@ public final class TSLCacheFacade {
 			// Generamos un nuevo objeto TSL Data para la caché.
 			result = new TSLDataCacheObject(tslData, tslObjectSerializable);
 
-			// Añadimos el ID de la TSL a los recogidos por el país/región.
-			tcrco.setTslDataId(result.getTslDataId());
-
 			// Añadimos/Actualizamos el objeto TSL Data en caché.
 			result = TSLCache.getInstance().addTSLData(result, false);
 
-			// Actualizamos el país/región en caché.
-			TSLCache.getInstance().addTSLCountryRegion(tcrco, false);
+			// Actualizamos el país/región en caché con una nueva versión que
+			// recoge el ID de la TSL.
+			TSLCache.getInstance().addTSLCountryRegion(tcrco.toBuilder().setTslDataId(result.getTslDataId()).build(), false);
 
 		}
 
@@ -304,11 +301,9 @@ public final class TSLCacheFacade {
 				TSLCache.getInstance().removeTSLData(tslDataId, false);
 			}
 
-			// Eliminamos la TSL del país/región.
-			tcrco.setTslDataId(null);
-
-			// Actualizamos el país/región en caché.
-			TSLCache.getInstance().addTSLCountryRegion(tcrco, false);
+			// Actualizamos el país/región en caché con una nueva versión sin
+			// la TSL.
+			TSLCache.getInstance().addTSLCountryRegion(tcrco.toBuilder().setTslDataId(null).build(), false);
 
 		}
 
@@ -359,13 +354,9 @@ public final class TSLCacheFacade {
 			// Construimos el objeto que en caché representará al mapeo.
 			TSLCountryRegionMappingCacheObject tcrmco = new TSLCountryRegionMappingCacheObject(tcrm);
 
-			// Lo eliminamos si es que ya existe.
-			tcrco.getMappingSet().remove(tcrmco);
-			// Lo añadimos en el país/región.
-			tcrco.getMappingSet().add(tcrmco);
-
-			// Actualizamos el país/región en la caché.
-			TSLCache.getInstance().addTSLCountryRegion(tcrco, false);
+			// Lo añadimos (o reemplazamos si ya existe) en una nueva versión
+			// del país/región, y la actualizamos en la caché.
+			TSLCache.getInstance().addTSLCountryRegion(tcrco.toBuilder().addUpdateMapping(tcrmco).build(), false);
 
 		}
 
@@ -389,11 +380,9 @@ public final class TSLCacheFacade {
 			// Si la hemos obtenido...
 			if (tcrco != null) {
 
-				// Lo eliminamos si es que ya existe.
-				tcrco.getMappingSet().remove(tcrmco);
-
-				// Actualizamos el país/región en la caché.
-				TSLCache.getInstance().addTSLCountryRegion(tcrco, false);
+				// Lo eliminamos si es que ya existe en una nueva versión del
+				// país/región, y la actualizamos en la caché.
+				TSLCache.getInstance().addTSLCountryRegion(tcrco.toBuilder().removeMapping(tcrmco).build(), false);
 
 			}
 
@@ -403,11 +392,9 @@ public final class TSLCacheFacade {
 			// Si la hemos obtenido...
 						if (tcrco != null) {
 
-							// Lo eliminamos si es que ya existe.
-							tcrco.setMappingSet( new TreeSet<TSLCountryRegionMappingCacheObject>());
-
-							// Actualizamos el país/región en la caché.
-							TSLCache.getInstance().addTSLCountryRegion(tcrco, false);
+							// Eliminamos todos los mapeos en una nueva versión del
+							// país/región, y la actualizamos en la caché.
+							TSLCache.getInstance().addTSLCountryRegion(tcrco.toBuilder().removeAllMappings().build(), false);
 
 						}
 		}
@@ -448,11 +435,9 @@ public final class TSLCacheFacade {
 				// Si lo hemos encontrado...
 				if (tslcrmcoFinded != null) {
 
-					// Lo eliminamos.
-					mappingsSet.remove(tslcrmcoFinded);
-					// Actualizamos el país/región en la caché.
-					tcrco.setMappingSet(mappingsSet);
-					TSLCache.getInstance().addTSLCountryRegion(tcrco, false);
+					// Lo eliminamos en una nueva versión del país/región, y la
+					// actualizamos en la caché.
+					TSLCache.getInstance().addTSLCountryRegion(tcrco.toBuilder().removeMapping(tslcrmcoFinded).build(), false);
 
 				}
 
@@ -20,7 +20,7 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>21/09/2018.</p>
  * @author Gobierno de España.
- * @version 1.6, 07/06/2021.
+ * @version 1.7, 18/10/2026.
  */
 package es.gob.valet.rest.client;
 
@@ -46,6 +46,7 @@ import es.gob.valet.commons.utils.UtilsStringChar;
 import es.gob.valet.exceptions.IValetException;
 import es.gob.valet.exceptions.ValetRestException;
 import es.gob.valet.rest.elements.DetectCertInTslInfoAndValidationResponse;
+import es.gob.valet.rest.elements.DetectCertsInTslInfoAndValidationResponse;
 import es.gob.valet.rest.elements.TslInformationResponse;
 import es.gob.valet.rest.elements.TslInformationVersionsResponse;
 import es.gob.valet.rest.elements.json.ByteArrayB64;
@@ -55,7 +56,7 @@ import es.gob.valet.rest.services.ITslRestService;
 /**
  * <p>Class that implements a client for Valet rest services.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.7, 07/06/2021.
+ * @version 1.8, 18/10/2026.
  */
 public class ValetClient {
 
@@ -113,44 +114,65 @@ public class ValetClient {
 
 			DateString dateString = new DateString(detectionDate);
 
-			List<ByteArrayB64> crlsByteArrayB64List = null;
-			if (crlsByteArrayList != null && !crlsByteArrayList.isEmpty()) {
-				crlsByteArrayB64List = new ArrayList<ByteArrayB64>();
-				for (byte[ ] crlByteArray: crlsByteArrayList) {
-					crlsByteArrayB64List.add(new ByteArrayB64(crlByteArray));
-				}
-			}
+			List<ByteArrayB64> crlsByteArrayB64List = buildByteArrayB64List(crlsByteArrayList);
+			List<ByteArrayB64> basicOcspResponsesByteArrayB64List = buildByteArrayB64List(basicOcspResponsesByteArrayList);
+			String tslLocationB4 = encodeTslLocation(tslLocation);
 
-			List<ByteArrayB64> basicOcspResponsesByteArrayB64List = null;
-			if (basicOcspResponsesByteArrayList != null && !basicOcspResponsesByteArrayList.isEmpty()) {
-				basicOcspResponsesByteArrayB64List = new ArrayList<ByteArrayB64>();
-				for (byte[ ] basicOcspRespByteArray: basicOcspResponsesByteArrayList) {
-					basicOcspResponsesByteArrayB64List.add(new ByteArrayB64(basicOcspRespByteArray));
+			try {
+				response = restService.detectCertInTslInfoAndValidation(application, delegatedApp, tslLocationB4, new ByteArrayB64(certByteArray), dateString, getInfo, checkRevStatus, returnRevocationEvidence, crlsByteArrayB64List, basicOcspResponsesByteArrayB64List);
+			} catch (ProcessingException e) {
+				if (e.getCause().getClass().equals(UnknownHostException.class)) {
+					throw new ValetRestUnknownHostException(IValetException.COD_193, "Error trying to connect to Valet rest services. Unknown host. The address of the host could not be determined.");
+				} else if (e.getCause().getClass().equals(SocketTimeoutException.class)) {
+					throw new ValetRestTimeoutException(IValetException.COD_194, "Error trying to connect to Valet rest services. Network connection timeout. The service didn't response after seconds configured as 'timeout'.");
+				} else if (e.getCause().getClass().equals(ConnectException.class)) {
+					throw new ValetRestConnectionRefusedException(IValetException.COD_195, "Error trying to connect to Valet rest services. Connection refused. Error occurred while attempting to connect a socket to a remote address and port.");
+				} else {
+					// If child exception of ProcessingException is unknown
+					throw new ValetRestException(IValetException.COD_196, "Error trying to connect to Valet rest services. Connection no available. There are internal processing errors on the server.");
 				}
+			} catch (NotFoundException e) {
+				throw new ValetRestHostNotFoundException(IValetException.COD_197, "Error trying to connect to Valet rest services. Not found. The resource requested by client was not found on the server.");
+			} catch (Exception e) {
+				throw new ValetRestException(IValetException.COD_198, "Error trying to connect to Valet rest services. Connection no available.", e);
 			}
+		} else {
+			System.out.println("Conexión no válida");
+		}
+
+		return response;
+	}
+
+	/**
+	 * Method that returns the information and revocation status of a batch of certificates extracted from the TSLs,
+	 * in only one call to the Valet rest service.
+	 * @param application Application identifier.
+	 * @param delegatedApp Delegated application identifier.
+	 * @param tslLocation TSL location to use. It could be <code>null</code>.
+	 * @param certsByteArrayList List of certificates to detect (byte[] encoded).
+	 * @param detectionDate Date to use to detect and validate the input certificates.
+	 * @param getInfo Flag that indicates if it is necessary to get the certificates information in response.
+	 * @param checkRevStatus Flag that indicates if it is necessary to check the revocation status of the input certificates.
+	 * @param returnRevocationEvidence Flag that indicates if it is necessary to return the revocation evidence (only if {@code checkRevocationStatus} is <code>true</code>).
+	 * @param crlsByteArrayList List of CRLs in byte array to use like revocation evidences. It could be <code>null</code>.
+	 * @param basicOcspResponsesByteArrayList List of Basic OCSP Responses in byte array to use like revocation evidences. It could be <code>null</code>.
+	 * @return Structure with the result of each input certificate, in the same order.
+	 * @throws ValetRestException If some error is produced in the execution of the service.
+	 */
+	public DetectCertsInTslInfoAndValidationResponse detectCertsInTslInfoAndValidation(final String application, final String delegatedApp, final String tslLocation, final List<byte[ ]> certsByteArrayList, final Date detectionDate, final Boolean getInfo, final Boolean checkRevStatus, final Boolean returnRevocationEvidence, final List<byte[ ]> crlsByteArrayList, final List<byte[ ]> basicOcspResponsesByteArrayList) throws ValetRestException {
+		LOGGER.info("Starting call to \'detectCertsInTslInfoAndValidation\' method at Valet rest service.");
+
+		DetectCertsInTslInfoAndValidationResponse response = null;
+		if (restService != null) {
+
+			DateString dateString = new DateString(detectionDate);
+			List<ByteArrayB64> certsByteArrayB64List = buildByteArrayB64List(certsByteArrayList);
+			List<ByteArrayB64> crlsByteArrayB64List = buildByteArrayB64List(crlsByteArrayList);
+			List<ByteArrayB64> basicOcspResponsesByteArrayB64List = buildByteArrayB64List(basicOcspResponsesByteArrayList);
+			String tslLocationB4 = encodeTslLocation(tslLocation);
 
-			//Parche realizado al haber problema cuando se envia una url en un servicio rest, se comprueba si tslLocation viene entre comillas, de no ser así se les añade y se codifica Base64
-			String tslLocationB4 = null;
-			
-			if(!UtilsStringChar.isNullOrEmpty(tslLocation)){
-				String tslLocationTmp = tslLocation;
-				String quotes = "\"";
-				//se comprueba si tiene comillas, sino las tiene se le incluye
-				if(!tslLocation.startsWith(quotes)){
-					tslLocationTmp = quotes+tslLocationTmp;
-				}
-				if(!tslLocation.endsWith(quotes)){
-					tslLocationTmp = tslLocationTmp+quotes;
-				}
-				
-				tslLocationB4 =Base64.getEncoder().encodeToString(tslLocationTmp.getBytes());
-			}
-			
-			
-					
-			
 			try {
-				response = restService.detectCertInTslInfoAndValidation(application, delegatedApp, tslLocationB4, new ByteArrayB64(certByteArray), dateString, getInfo, checkRevStatus, returnRevocationEvidence, crlsByteArrayB64List, basicOcspResponsesByteArrayB64List);
+				response = restService.detectCertsInTslInfoAndValidation(application, delegatedApp, tslLocationB4, certsByteArrayB64List, dateString, getInfo, checkRevStatus, returnRevocationEvidence, crlsByteArrayB64List, basicOcspResponsesByteArrayB64List);
 			} catch (ProcessingException e) {
 				if (e.getCause().getClass().equals(UnknownHostException.class)) {
 					throw new ValetRestUnknownHostException(IValetException.COD_193, "Error trying to connect to Valet rest services. Unknown host. The address of the host could not be determined.");
@@ -168,12 +190,55 @@ public class ValetClient {
 				throw new ValetRestException(IValetException.COD_198, "Error trying to connect to Valet rest services. Connection no available.", e);
 			}
 		} else {
-			System.out.println("Conexión no válida");
+			throw new ValetRestException(IValetException.COD_198, "Error trying to connect to Valet rest services. Connection no available. The rest service client has not been initialized.");
 		}
 
 		return response;
 	}
 
+	/**
+	 * Builds a list of {@link ByteArrayB64} from the input list of byte arrays.
+	 * @param byteArrayList List of byte arrays. It could be <code>null</code>.
+	 * @return the list of {@link ByteArrayB64}, or <code>null</code> if the input list is <code>null</code> or empty.
+	 */
+	private List<ByteArrayB64> buildByteArrayB64List(final List<byte[ ]> byteArrayList) {
+
+		List<ByteArrayB64> result = null;
+		if (byteArrayList != null && !byteArrayList.isEmpty()) {
+			result = new ArrayList<ByteArrayB64>();
+			for (byte[ ] byteArray: byteArrayList) {
+				result.add(new ByteArrayB64(byteArray));
+			}
+		}
+		return result;
+
+	}
+
+	/**
+	 * Encodes in Base64 the input TSL location, enclosed in quotes.
+	 * @param tslLocation TSL location to encode. It could be <code>null</code>.
+	 * @return the TSL location encoded, or <code>null</code> if the input TSL location is <code>null</code> or empty.
+	 */
+	private String encodeTslLocation(final String tslLocation) {
+
+		//Parche realizado al haber problema cuando se envia una url en un servicio rest, se comprueba si tslLocation viene entre comillas, de no ser así se les añade y se codifica Base64
+		String result = null;
+		if (!UtilsStringChar.isNullOrEmpty(tslLocation)) {
+			String tslLocationTmp = tslLocation;
+			String quotes = "\"";
+			//se comprueba si tiene comillas, sino las tiene se le incluye
+			if (!tslLocation.startsWith(quotes)) {
+				tslLocationTmp = quotes + tslLocationTmp;
+			}
+			if (!tslLocation.endsWith(quotes)) {
+				tslLocationTmp = tslLocationTmp + quotes;
+			}
+			result = Base64.getEncoder().encodeToString(tslLocationTmp.getBytes());
+		}
+		return result;
+
+	}
+
 	/**
 	 * Method that returns the TSL information.
 	 * @param application Application identifier.
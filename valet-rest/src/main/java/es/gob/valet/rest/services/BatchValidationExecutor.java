@@ -0,0 +1,177 @@
+/*
+/*******************************************************************************
+ * Copyright (C) 2018 MINHAFP, Gobierno de España
+ * This program is licensed and may be used, modified and redistributed under the  terms
+ * of the European Public License (EUPL), either version 1.1 or (at your option)
+ * any later version as soon as they are approved by the European Commission.
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and
+ * more details.
+ * You should have received a copy of the EUPL1.1 license
+ * along with this program; if not, you may find it at
+ * http:joinup.ec.europa.eu/software/page/eupl/licence-eupl
+ ******************************************************************************/
+
+/**
+ * <b>File:</b><p>es.gob.valet.rest.services.BatchValidationExecutor.java.</p>
+ * <b>Description:</b><p>Class that validates the certificates of the requests of the service 'detectCertsInTslInfoAndValidation' in a pool of threads shared by all of them.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * <b>Date:</b><p>18/10/2026.</p>
+ * @author Gobierno de España.
+ * @version 1.0, 18/10/2026.
+ */
+package es.gob.valet.rest.services;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.log4j.Logger;
+
+import es.gob.valet.i18n.Language;
+import es.gob.valet.i18n.messages.IRestGeneralMessages;
+import es.gob.valet.tsl.access.TSLProperties;
+
+/**
+ * <p>Class that validates the certificates of the requests of the service 'detectCertsInTslInfoAndValidation' in a
+ * pool of threads created once and shared by all the requests, instead of creating a pool for each request.</p>
+ * <p>The number of threads of the pool is fixed. Each request limits its own certificates being validated (running
+ * or waiting for a thread) with a {@link Semaphore}, so the tasks waiting in the queue are bounded by the number of
+ * concurrent requests and the parallelism allowed to each one.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * @version 1.0, 18/10/2026.
+ */
+public final class BatchValidationExecutor {
+
+	/**
+	 * Attribute that represents the object that manages the log of the class.
+	 */
+	private static final Logger LOGGER = Logger.getLogger(BatchValidationExecutor.class);
+
+	/**
+	 * Constant attribute that represents the prefix of the name of the threads of the pool.
+	 */
+	private static final String THREAD_NAME_PREFIX = "valet-batch-validation-";
+
+	/**
+	 * Constant attribute that represents the maximum time (milliseconds) to wait for the pending validations when the
+	 * executor is shut down.
+	 */
+	private static final long SHUTDOWN_TIMEOUT = 5000L;
+
+	/**
+	 * Constant attribute that represents the unique instance of the class.
+	 */
+	private static final BatchValidationExecutor INSTANCE = new BatchValidationExecutor();
+
+	/**
+	 * Attribute that represents the pool of threads that validates the certificates.
+	 */
+	private final ThreadPoolExecutor executor;
+
+	/**
+	 * Constructor method for the class BatchValidationExecutor.java.
+	 */
+	private BatchValidationExecutor() {
+		super();
+		int threads = TSLProperties.getServiceDetectCertsInTslInfoAndValidationThreads();
+		executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(), new BatchValidationThreadFactory());
+		LOGGER.info(Language.getFormatResRestGeneral(IRestGeneralMessages.REST_LOG053, new Object[ ] { threads }));
+	}
+
+	/**
+	 * Gets the unique instance of the class.
+	 * @return the unique instance of the class.
+	 */
+	public static BatchValidationExecutor getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Submits the input task to the pool of threads, once a permit of the input semaphore is acquired. The permit is
+	 * released when the task ends.
+	 * @param permits Semaphore that limits the tasks of the request being validated at the same time.
+	 * @param task Task to execute.
+	 * @param <T> Type of the result of the task.
+	 * @return the future result of the task.
+	 * @throws InterruptedException If the thread is interrupted while waiting for a permit.
+	 */
+	public <T> Future<T> submit(final Semaphore permits, final Callable<T> task) throws InterruptedException {
+
+		permits.acquire();
+		try {
+			return executor.submit(new Callable<T>() {
+
+				/**
+				 * {@inheritDoc}
+				 * @see java.util.concurrent.Callable#call()
+				 */
+				@Override
+				public T call() throws Exception {
+					try {
+						return task.call();
+					} finally {
+						permits.release();
+					}
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			permits.release();
+			throw e;
+		}
+
+	}
+
+	/**
+	 * Shuts down the pool of threads, waiting for the pending validations up to {@value #SHUTDOWN_TIMEOUT} milliseconds.
+	 * The validations not finished in that time are cancelled.
+	 */
+	public void shutdown() {
+
+		executor.shutdown();
+		try {
+			if (!executor.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS)) {
+				LOGGER.warn(Language.getFormatResRestGeneral(IRestGeneralMessages.REST_LOG054, new Object[ ] { THREAD_NAME_PREFIX, SHUTDOWN_TIMEOUT }));
+				executor.shutdownNow();
+			}
+		} catch (InterruptedException e) {
+			executor.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+
+	}
+
+	/**
+	 * <p>Class that creates the daemon threads of the pool, with a recognizable name for the logs.</p>
+	 * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+	 * @version 1.0, 18/10/2026.
+	 */
+	private static final class BatchValidationThreadFactory implements ThreadFactory {
+
+		/**
+		 * Attribute that represents the number of threads created.
+		 */
+		private final AtomicInteger threadsCount = new AtomicInteger(0);
+
+		/**
+		 * {@inheritDoc}
+		 * @see java.util.concurrent.ThreadFactory#newThread(java.lang.Runnable)
+		 */
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + threadsCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+
+	}
+
+}
@@ -20,10 +20,12 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>12/02/2019.</p>
  * @author Gobierno de España.
- * @version 1.0, 12/02/2019.
+ * @version 1.1, 18/10/2026.
  */
 package es.gob.valet.rest.services;
 
+import java.util.Stack;
+
 import javax.servlet.http.HttpServletRequest;
 
 import org.apache.log4j.NDC;
@@ -34,7 +36,7 @@ import es.gob.valet.commons.utils.UtilsStringChar;
 /**
  * <p>Class that manages the NDC information added in the logs.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.0, 12/02/2019.
+ * @version 1.1, 18/10/2026.
  */
 public final class LoggingInformationNDC {
 
@@ -120,4 +122,21 @@ public final class LoggingInformationNDC {
 		NDC.remove();
 	}
 
+	/**
+	 * Gets a copy of the NDC information registered in this thread, to be inherited by other thread.
+	 * @return a copy of the NDC information registered in this thread.
+	 */
+	public static Stack<?> cloneNdcInf() {
+		return NDC.cloneStack();
+	}
+
+	/**
+	 * Registers in this thread the NDC information copied from other thread. It must be removed
+	 * with {@link #unregisterNdcInf()} when the thread finishes the task.
+	 * @param ndcInf NDC information copied with {@link #cloneNdcInf()}.
+	 */
+	public static void inheritNdcInf(Stack<?> ndcInf) {
+		NDC.inherit(ndcInf);
+	}
+
 }
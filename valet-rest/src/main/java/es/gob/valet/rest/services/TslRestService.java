@@ -20,22 +20,35 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>07/08/2018.</p>
  * @author Gobierno de España.
- * @version 1.19, 29/11/2021.
+ * @version 1.20, 18/10/2026.
  */
 package es.gob.valet.rest.services;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
 import java.security.cert.CRLException;
 import java.security.cert.X509CRL;
 import java.security.cert.X509Certificate;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Stack;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.ws.rs.Consumes;
@@ -43,18 +56,23 @@ import javax.ws.rs.FormParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
 
 import org.apache.log4j.Logger;
 import org.bouncycastle.cert.ocsp.BasicOCSPResp;
 import org.bouncycastle.cert.ocsp.OCSPException;
 import org.bouncycastle.cert.ocsp.OCSPResp;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import es.gob.valet.audit.access.IEventsCollectorConstants;
+import es.gob.valet.audit.exception.AuditTraceException;
 import es.gob.valet.audit.utils.CommonsCertificatesAuditTraces;
 import es.gob.valet.audit.utils.CommonsServicesAuditTraces;
 import es.gob.valet.audit.utils.CommonsTslAuditTraces;
@@ -73,6 +91,7 @@ import es.gob.valet.persistence.configuration.cache.modules.application.exceptio
 import es.gob.valet.persistence.configuration.cache.modules.tsl.elements.TSLDataCacheObject;
 import es.gob.valet.rest.elements.CertDetectedInTSL;
 import es.gob.valet.rest.elements.DetectCertInTslInfoAndValidationResponse;
+import es.gob.valet.rest.elements.DetectCertsInTslInfoAndValidationResponse;
 import es.gob.valet.rest.elements.ResultTslInfVal;
 import es.gob.valet.rest.elements.TslInformation;
 import es.gob.valet.rest.elements.TslInformationResponse;
@@ -85,13 +104,15 @@ import es.gob.valet.rest.elements.json.DateString;
 import es.gob.valet.tsl.access.TSLManager;
 import es.gob.valet.tsl.access.TSLProperties;
 import es.gob.valet.tsl.certValidation.ifaces.ITSLValidatorResult;
+import es.gob.valet.tsl.certValidation.impl.common.OCSPResponseCache;
+import es.gob.valet.tsl.certValidation.impl.common.TSLValidatorResultCache;
 import es.gob.valet.tsl.exceptions.TSLManagingException;
 import es.gob.valet.tsl.parsing.ifaces.ITSLObject;
 
 /**
  * <p>Class that represents the statistics restful service.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.19, 29/11/2021.
+ * @version 1.20, 18/10/2026.
  */
 @Path("/tsl")
 public class TslRestService implements ITslRestService {
@@ -111,6 +132,12 @@ public class TslRestService implements ITslRestService {
 	 * Attribute that represents the identifier of the delegated application that will be used for auditing in the 'getTslInformation' service
 	 */
 	private static final String INTERNAL_TASK_DELEGATE_APP = "DELAPP_INTERNAL_TASK";
+
+	/**
+	 * Attribute that represents the mapper used to write the JSon representation of the requests and responses
+	 * whose hash is stored in audit. It is thread-safe, so it is shared by all the requests.
+	 */
+	private static final ObjectMapper AUDIT_OBJECT_MAPPER = new ObjectMapper().configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
 	
 
 	/**
@@ -137,6 +164,131 @@ public class TslRestService implements ITslRestService {
 		// para la transacción.
 		String auditTransNumber = LoggingInformationNDC.registerNdcInfAndGetTransactionNumber(httpServletRequest, ITslRestService.SERVICENAME_DETECT_CERT_IN_TSL_INFO_AND_VALIDATION);
 
+		DetectCertInTslInfoAndValidationResponse result = null;
+		try {
+			result = processDetectCertInTslInfoAndValidation(auditTransNumber, httpServletRequest.getParameterMap(), application, delegatedApp, tslLocationB64, certByteArrayB64, detectionDate, getInfo, checkRevStatus, returnRevocationEvidence, crlsByteArrayB64List, basicOcspResponsesByteArrayB64List);
+		} finally {
+			// Limpiamos la información NDC.
+			LoggingInformationNDC.unregisterNdcInf();
+		}
+		LOGGER.info(Language.getFormatResRestGeneral(IRestGeneralMessages.REST_LOG041, new Object[ ] { Calendar.getInstance().getTimeInMillis() - startOperationTime }));
+		return result;
+
+	}
+
+	/**
+	 * Method that returns the information and revocation status of the input certificate extracted from a TSL, like
+	 * {@link #detectCertInTslInfoAndValidation}, but releasing the thread of the servlet container: the request is
+	 * executed in the pool of threads of {@link ValidationServiceExecutor}. If the queue of the pool is full, or the
+	 * request is not completed within the configured deadline, the response is a HTTP 503 error with the status
+	 * {@link ITslRestServiceStatusResult#STATUS_ERROR_SERVICE_BUSY} or {@link ITslRestServiceStatusResult#STATUS_ERROR_SERVICE_TIMEOUT}.
+	 * @param application Application identifier.
+	 * @param delegatedApp Delegated application identifier.
+	 * @param tslLocationB64 TSL location to use (encoded in Base64). It could be <code>null</code>.
+	 * @param certByteArrayB64 Certificate to detect (byte[]).
+	 * @param detectionDate Date to use to detect and validate the input certificate.
+	 * @param getInfo Flag that indicates if it is necessary to get the certificate information in response.
+	 * @param checkRevStatus Flag that indicates if it is necessary to check the revocation status of the input certificate.
+	 * @param returnRevocationEvidence Flag that indicates if it is necessary to return the revocation evidence (only if {@code checkRevocationStatus} is <code>true</code>).
+	 * @param crlsByteArrayB64List List of CRLs to use like revocation evidences. It could be <code>null</code>.
+	 * @param basicOcspResponsesByteArrayB64List List of Basic OCSP Responses to use like revocation evidences. It could be <code>null</code>.
+	 * @param asyncResponse Suspended response of the request.
+	 */
+	// CHECKSTYLE:OFF -- Checkstyle rule "Design for Extension" is not applied
+	// because Restful needs not final access methods.
+	@POST
+	@Path("/detectCertInTslInfoAndValidationAsync")
+	@Produces(MediaType.APPLICATION_JSON)
+	@Consumes(MediaType.APPLICATION_FORM_URLENCODED)
+	public void detectCertInTslInfoAndValidationAsync(@FormParam(PARAM_APPLICATION) final String application, @FormParam(PARAM_DELEGATED_APP) final String delegatedApp, @FormParam(PARAM_TSL_LOCATION) final String tslLocationB64, @FormParam(PARAM_CERTIFICATE) final ByteArrayB64 certByteArrayB64, @FormParam(PARAM_DETECTION_DATE) final DateString detectionDate, @FormParam(PARAM_GET_INFO) final Boolean getInfo, @FormParam(PARAM_CHECK_REV_STATUS) final Boolean checkRevStatus, @FormParam(PARAM_RETURN_REV_EVID) final Boolean returnRevocationEvidence, @FormParam(PARAM_CRLS_BYTE_ARRAY) final List<ByteArrayB64> crlsByteArrayB64List, @FormParam(PARAM_BASIC_OCSP_RESPONSES_BYTE_ARRAY) final List<ByteArrayB64> basicOcspResponsesByteArrayB64List, @Suspended final AsyncResponse asyncResponse) {
+		// CHECKSTYLE:ON
+		final long startOperationTime = Calendar.getInstance().getTimeInMillis();
+		// Añadimos la información NDC al log y obtenemos un número único
+		// para la transacción.
+		final String auditTransNumber = LoggingInformationNDC.registerNdcInfAndGetTransactionNumber(httpServletRequest, ITslRestService.SERVICENAME_DETECT_CERT_IN_TSL_INFO_AND_VALIDATION_ASYNC);
+
+		try {
+
+			// La petición HTTP solo es accesible desde el hilo del
+			// contenedor, así que obtenemos aquí sus parámetros y la
+			// información NDC que heredará el hilo que la procese.
+			final Map<String, String[ ]> requestParameters = httpServletRequest.getParameterMap();
+			final Stack<?> ndcInf = LoggingInformationNDC.cloneNdcInf();
+			ValidationServiceExecutor validationExecutor = ValidationServiceExecutor.getInstance();
+
+			String timeoutMsg = Language.getFormatResRestGeneral(IRestGeneralMessages.REST_LOG051, new Object[ ] { ITslRestService.SERVICENAME_DETECT_CERT_IN_TSL_INFO_AND_VALIDATION_ASYNC, validationExecutor.getDeadline() });
+			Response timeoutResponse = buildServiceUnavailableResponse(ITslRestServiceStatusResult.STATUS_ERROR_SERVICE_TIMEOUT, timeoutMsg);
+
+			boolean accepted = validationExecutor.execute(asyncResponse, new Callable<DetectCertInTslInfoAndValidationResponse>() {
+
+				/**
+				 * {@inheritDoc}
+				 * @see java.util.concurrent.Callable#call()
+				 */
+				@Override
+				public DetectCertInTslInfoAndValidationResponse call() throws Exception {
+					LoggingInformationNDC.inheritNdcInf(ndcInf);
+					DetectCertInTslInfoAndValidationResponse result = null;
+					try {
+						result = processDetectCertInTslInfoAndValidation(auditTransNumber, requestParameters, application, delegatedApp, tslLocationB64, certByteArrayB64, detectionDate, getInfo, checkRevStatus, returnRevocationEvidence, crlsByteArrayB64List, basicOcspResponsesByteArrayB64List);
+					} finally {
+						// Limpiamos la información NDC.
+						LoggingInformationNDC.unregisterNdcInf();
+					}
+					LOGGER.info(Language.getFormatResRestGeneral(IRestGeneralMessages.REST_LOG041, new Object[ ] { Calendar.getInstance().getTimeInMillis() - startOperationTime }));
+					return result;
+				}
+			}, timeoutResponse);
+
+			// Si la cola está llena, rechazamos la petición inmediatamente.
+			if (!accepted) {
+				String errorMsg = Language.getFormatResRestGeneral(IRestGeneralMessages.REST_LOG050, new Object[ ] { ITslRestService.SERVICENAME_DETECT_CERT_IN_TSL_INFO_AND_VALIDATION_ASYNC, validationExecutor.getQueueLength() });
+				LOGGER.warn(errorMsg);
+				asyncResponse.resume(buildServiceUnavailableResponse(ITslRestServiceStatusResult.STATUS_ERROR_SERVICE_BUSY, errorMsg));
+			}
+
+		} finally {
+			// Limpiamos la información NDC del hilo del contenedor.
+			LoggingInformationNDC.unregisterNdcInf();
+		}
+
+	}
+
+	/**
+	 * Builds a HTTP 503 (Service Unavailable) response of the service 'detectCertInTslInfoAndValidationAsync'.
+	 * @param status Status of the result.
+	 * @param description Description of the result.
+	 * @return the HTTP 503 response, with the result in the body.
+	 */
+	private Response buildServiceUnavailableResponse(final int status, final String description) {
+
+		DetectCertInTslInfoAndValidationResponse result = new DetectCertInTslInfoAndValidationResponse();
+		result.setStatus(status);
+		result.setDescription(description);
+		return Response.status(Status.SERVICE_UNAVAILABLE).type(MediaType.APPLICATION_JSON).entity(result).build();
+
+	}
+
+	/**
+	 * Checks the input parameters and executes the service 'detectCertInTslInfoAndValidation', auditing the transaction.
+	 * It does not access to the HTTP request, so it can be executed by a thread that is not the one of the servlet container.
+	 * @param auditTransNumber Audit transaction number.
+	 * @param requestParameters Parameters of the HTTP request, to audit.
+	 * @param application Application identifier.
+	 * @param delegatedApp Delegated application identifier.
+	 * @param tslLocationB64 TSL location to use (encoded in Base64). It could be <code>null</code>.
+	 * @param certByteArrayB64 Certificate to detect (byte[]).
+	 * @param detectionDate Date to use to detect and validate the input certificate.
+	 * @param getInfo Flag that indicates if it is necessary to get the certificate information in response.
+	 * @param checkRevStatus Flag that indicates if it is necessary to check the revocation status of the input certificate.
+	 * @param returnRevocationEvidence Flag that indicates if it is necessary to return the revocation evidence (only if {@code checkRevocationStatus} is <code>true</code>).
+	 * @param crlsByteArrayB64List List of CRLs to use like revocation evidences. It could be <code>null</code>.
+	 * @param basicOcspResponsesByteArrayB64List List of Basic OCSP Responses to use like revocation evidences. It could be <code>null</code>.
+	 * @return Structure with detected certificate in TSL and revocation status.
+	 * @throws ValetRestException If some error is produced in the execution of the service.
+	 */
+	private DetectCertInTslInfoAndValidationResponse processDetectCertInTslInfoAndValidation(final String auditTransNumber, final Map<String, String[ ]> requestParameters, final String application, final String delegatedApp, final String tslLocationB64, final ByteArrayB64 certByteArrayB64, final DateString detectionDate, final Boolean getInfo, final Boolean checkRevStatus, final Boolean returnRevocationEvidence, final List<ByteArrayB64> crlsByteArrayB64List, final List<ByteArrayB64> basicOcspResponsesByteArrayB64List) throws ValetRestException {
+
 		// Si no se ha especificado la aplicación delegada, establecemos el
 		// token 'NOT_SPECIFIED'.
 		String delegatedAppAux = delegatedApp == null ? IEventsCollectorConstants.FIELD_VALUE_DELAPPID_NOTSPECIFIED : delegatedApp;
@@ -147,15 +299,7 @@ public class TslRestService implements ITslRestService {
 
 		// tslLocation si no es nulo o vacío viene codificado en Base64, se
 		// decodifica.
-		String tslLocation = null;
-		if (!UtilsStringChar.isNullOrEmpty(tslLocationB64)) {
-
-			// se decodifica
-			byte[ ] tslLocationBytes = Base64.getDecoder().decode(tslLocationB64);
-			String tslLocationTmp = new String(tslLocationBytes);
-			tslLocation = tslLocationTmp.replace("\"", "");
-
-		}
+		String tslLocation = decodeTslLocation(tslLocationB64);
 
 		// Indicamos la recepción del servicio junto con los parámetros de
 		// entrada.
@@ -288,15 +432,7 @@ public class TslRestService implements ITslRestService {
 
 			// Tratamos de parsearlas.
 			try {
-				List<X509CRL> crlList = new ArrayList<X509CRL>();
-				for (ByteArrayB64 crlByteArrayB64: crlsByteArrayB64List) {
-					if (crlByteArrayB64.getByteArray() != null) {
-						crlList.add(UtilsCRL.buildX509CRLfromByteArray(crlByteArrayB64.getByteArray()));
-					}
-				}
-				if (!crlList.isEmpty()) {
-					crlArray = crlList.toArray(new X509CRL[0]);
-				}
+				crlArray = buildX509CRLArray(crlsByteArrayB64List);
 			} catch (CommonUtilsException e) {
 
 				allIsOk = false;
@@ -316,16 +452,7 @@ public class TslRestService implements ITslRestService {
 
 			// Tratamos de parsearlas.
 			try {
-				List<BasicOCSPResp> basicOcspRespList = new ArrayList<BasicOCSPResp>();
-				for (ByteArrayB64 basicOcspResponsesByteArrayB64: basicOcspResponsesByteArrayB64List) {
-					if (basicOcspResponsesByteArrayB64 != null) {
-						OCSPResp ocspResp = new OCSPResp(basicOcspResponsesByteArrayB64.getByteArray());
-						basicOcspRespList.add((BasicOCSPResp) ocspResp.getResponseObject());
-					}
-				}
-				if (!basicOcspRespList.isEmpty()) {
-					basicOcspRespArray = basicOcspRespList.toArray(new BasicOCSPResp[0]);
-				}
+				basicOcspRespArray = buildBasicOcspRespArray(basicOcspResponsesByteArrayB64List);
 			} catch (IOException | OCSPException e) {
 
 				allIsOk = false;
@@ -347,52 +474,114 @@ public class TslRestService implements ITslRestService {
 				// Si se ha comprobado que todos los parámetros son correctos,
 				// abrimos la transacción
 				// en auditoría.
-				CommonsServicesAuditTraces.addOpenTransactionTrace(auditTransNumber, IEventsCollectorConstants.SERVICE_DETECT_CERT_IN_TSL_INFO_AND_VALIDATION_ID, extractRequestByteArray());
+				CommonsServicesAuditTraces.addOpenTransactionTrace(auditTransNumber, IEventsCollectorConstants.SERVICE_DETECT_CERT_IN_TSL_INFO_AND_VALIDATION_ID, digestRequest(requestParameters));
 				CommonsServicesAuditTraces.addStartRSTrace(auditTransNumber, application, delegatedAppAux);
 				result = executeServiceDetectCertInTslInfoAndValidation(auditTransNumber, application, delegatedAppAux, tslLocation, x509cert, detectionDateAux, getInfo.booleanValue(), checkRevStatus.booleanValue(), returnRevocationEvidence, crlArray, basicOcspRespArray);
 				CommonsServicesAuditTraces.addEndRSTrace(auditTransNumber, IEventsCollectorConstants.RESULT_CODE_SERVICE_OK, result.getDescription());
-				// Calculamos la representación en bytes del resultado, y si la
-				// obtenemos correctamente, cerramos la transacción.
-				byte[ ] resultByteArray = buildResultByteArray(result);
-				CommonsServicesAuditTraces.addCloseTransactionTrace(auditTransNumber, resultByteArray);
+				// Calculamos el resumen del resultado, y si lo obtenemos
+				// correctamente, cerramos la transacción.
+				CommonsServicesAuditTraces.addCloseTransactionTrace(auditTransNumber, digestResult(result));
 			} catch (TSLManagingException e) {
 				result = new DetectCertInTslInfoAndValidationResponse();
 				result.setStatus(ITslRestServiceStatusResult.STATUS_ERROR_EXECUTING_SERVICE);
 				result.setDescription(Language.getFormatResRestGeneral(IRestGeneralMessages.REST_LOG009, new Object[ ] { ITslRestService.SERVICENAME_DETECT_CERT_IN_TSL_INFO_AND_VALIDATION }));
 				CommonsServicesAuditTraces.addEndRSTrace(auditTransNumber, IEventsCollectorConstants.RESULT_CODE_SERVICE_ERROR, result.getDescription());
-				// Calculamos la representación en bytes del resultado, y si la
-				// obtenemos correctamente, cerramos la transacción.
-				byte[ ] resultByteArray = buildResultByteArray(result);
-				CommonsServicesAuditTraces.addCloseTransactionTrace(auditTransNumber, resultByteArray);
+				// Calculamos el resumen del resultado, y si lo obtenemos
+				// correctamente, cerramos la transacción.
+				CommonsServicesAuditTraces.addCloseTransactionTrace(auditTransNumber, digestResult(result));
 				LOGGER.error(Language.getFormatResRestGeneral(IRestGeneralMessages.REST_LOG010, new Object[ ] { ITslRestService.SERVICENAME_DETECT_CERT_IN_TSL_INFO_AND_VALIDATION }), e);
 			} catch (Exception e) {
 				CommonsServicesAuditTraces.addEndRSTrace(auditTransNumber, IEventsCollectorConstants.RESULT_CODE_SERVICE_ERROR, e.getMessage());
-				LoggingInformationNDC.unregisterNdcInf();
 				throw new ValetRestException(IValetException.COD_200, Language.getFormatResRestGeneral(IRestGeneralMessages.REST_LOG011, new Object[ ] { ITslRestService.SERVICENAME_DETECT_CERT_IN_TSL_INFO_AND_VALIDATION }), e);
 			}
 
 		}
 
-		// Limpiamos la información NDC.
-		LoggingInformationNDC.unregisterNdcInf();
-		LOGGER.info(Language.getFormatResRestGeneral(IRestGeneralMessages.REST_LOG041, new Object[ ] { Calendar.getInstance().getTimeInMillis() - startOperationTime }));
 		return result;
 
 	}
 
 	/**
-	 * Gets the byte array that represents the request.
-	 * @return byte array that represents the request.
-	 * @throws JsonProcessingException In case of some error extracting the byte array that represents the input request parameters.
-	 *
+	 * Decodes the TSL location received as input parameter. If it is not <code>null</code> or empty, it is encoded
+	 * in Base64 and between quotes.
+	 * @param tslLocationB64 TSL location received as input parameter.
+	 * @return the decoded TSL location, or <code>null</code> if it is <code>null</code> or empty.
 	 */
-	private byte[ ] extractRequestByteArray() throws JsonProcessingException {
+	private String decodeTslLocation(final String tslLocationB64) {
+
+		String result = null;
+		if (!UtilsStringChar.isNullOrEmpty(tslLocationB64)) {
+
+			// se decodifica
+			byte[ ] tslLocationBytes = Base64.getDecoder().decode(tslLocationB64);
+			String tslLocationTmp = new String(tslLocationBytes);
+			result = tslLocationTmp.replace("\"", "");
+
+		}
+		return result;
+
+	}
 
-		byte[ ] result = null;
-		ObjectMapper om = new ObjectMapper();
+	/**
+	 * Parses the input list of CRLs.
+	 * @param crlsByteArrayB64List List of byte arrays (in base 64) that represents the CRLs.
+	 * @return Array with the parsed CRLs, or <code>null</code> if there is not some CRL.
+	 * @throws CommonUtilsException In case of some error parsing a CRL.
+	 */
+	private X509CRL[ ] buildX509CRLArray(final List<ByteArrayB64> crlsByteArrayB64List) throws CommonUtilsException {
+
+		X509CRL[ ] result = null;
+		List<X509CRL> crlList = new ArrayList<X509CRL>();
+		for (ByteArrayB64 crlByteArrayB64: crlsByteArrayB64List) {
+			if (crlByteArrayB64.getByteArray() != null) {
+				crlList.add(UtilsCRL.buildX509CRLfromByteArray(crlByteArrayB64.getByteArray()));
+			}
+		}
+		if (!crlList.isEmpty()) {
+			result = crlList.toArray(new X509CRL[0]);
+		}
+		return result;
+
+	}
+
+	/**
+	 * Parses the input list of OCSP responses.
+	 * @param basicOcspResponsesByteArrayB64List List of byte arrays (in base 64) that represents the OCSP responses.
+	 * @return Array with the parsed basic OCSP responses, or <code>null</code> if there is not some response.
+	 * @throws IOException In case of some error decoding an OCSP response.
+	 * @throws OCSPException In case of some error getting the basic OCSP response.
+	 */
+	private BasicOCSPResp[ ] buildBasicOcspRespArray(final List<ByteArrayB64> basicOcspResponsesByteArrayB64List) throws IOException, OCSPException {
+
+		BasicOCSPResp[ ] result = null;
+		List<BasicOCSPResp> basicOcspRespList = new ArrayList<BasicOCSPResp>();
+		for (ByteArrayB64 basicOcspResponsesByteArrayB64: basicOcspResponsesByteArrayB64List) {
+			if (basicOcspResponsesByteArrayB64 != null) {
+				OCSPResp ocspResp = new OCSPResp(basicOcspResponsesByteArrayB64.getByteArray());
+				basicOcspRespList.add((BasicOCSPResp) ocspResp.getResponseObject());
+			}
+		}
+		if (!basicOcspRespList.isEmpty()) {
+			result = basicOcspRespList.toArray(new BasicOCSPResp[0]);
+		}
+		return result;
+
+	}
+
+	/**
+	 * Calculates the hash used in audit of the JSon representation of the request. The JSon is written directly in
+	 * the digest, so its byte array is not built.
+	 * @param requestParameters Parameters of the HTTP request.
+	 * @return the digest updated with the JSon representation of the request.
+	 * @throws AuditTraceException If the hash algorithm is not supported.
+	 * @throws IOException In case of some error writing the JSon representation of the input request parameters.
+	 */
+	private MessageDigest digestRequest(final Map<String, String[ ]> requestParameters) throws AuditTraceException, IOException {
+
+		MessageDigest result = CommonsServicesAuditTraces.createMessageDigest();
 		try {
-			result = om.writeValueAsBytes(httpServletRequest.getParameterMap());
-		} catch (JsonProcessingException e) {
+			AUDIT_OBJECT_MAPPER.writeValue(new MessageDigestOutputStream(result), requestParameters);
+		} catch (IOException e) {
 			LOGGER.error(Language.getResRestGeneral(IRestGeneralMessages.REST_LOG039));
 			throw e;
 		}
@@ -401,23 +590,66 @@ public class TslRestService implements ITslRestService {
 	}
 
 	/**
-	 * Gets the byte array that represents the JSon response.
+	 * Calculates the hash used in audit of the JSon response. The JSon is written directly in the digest, so its byte
+	 * array is not built.
 	 * @param resultObjectService Object that represents the result object of the service.
-	 * @return the byte array that represents the JSon response.
+	 * @return the digest updated with the JSon response, or <code>null</code> if there is some error calculating it.
 	 */
-	private byte[ ] buildResultByteArray(Serializable resultObjectService) {
+	private MessageDigest digestResult(Serializable resultObjectService) {
 
-		byte[ ] result = null;
-		ObjectMapper om = new ObjectMapper();
+		MessageDigest result = null;
 		try {
-			result = om.writeValueAsBytes(resultObjectService);
-		} catch (JsonProcessingException e) {
+			MessageDigest md = CommonsServicesAuditTraces.createMessageDigest();
+			AUDIT_OBJECT_MAPPER.writeValue(new MessageDigestOutputStream(md), resultObjectService);
+			result = md;
+		} catch (AuditTraceException | IOException e) {
 			LOGGER.error(Language.getResRestGeneral(IRestGeneralMessages.REST_LOG038), e);
 		}
 		return result;
 
 	}
 
+	/**
+	 * <p>Class that represents an output stream that only updates a digest with the written bytes.</p>
+	 * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+	 * @version 1.0, 18/10/2026.
+	 */
+	private static final class MessageDigestOutputStream extends OutputStream {
+
+		/**
+		 * Attribute that represents the digest updated with the written bytes.
+		 */
+		private final MessageDigest messageDigest;
+
+		/**
+		 * Constructor method for the class MessageDigestOutputStream.
+		 * @param messageDigestParam Digest updated with the written bytes.
+		 */
+		private MessageDigestOutputStream(MessageDigest messageDigestParam) {
+			super();
+			messageDigest = messageDigestParam;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * @see java.io.OutputStream#write(int)
+		 */
+		@Override
+		public void write(int b) {
+			messageDigest.update((byte) b);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * @see java.io.OutputStream#write(byte[], int, int)
+		 */
+		@Override
+		public void write(byte[ ] b, int off, int len) {
+			messageDigest.update(b, off, len);
+		}
+
+	}
+
 	/**
 	 * Method that checks required parameters for {@link es.gob.valet.rest.services.TslRestService#detectCertInTslInfoAndValidation} method.
 	 * @param application Application identifier.
@@ -514,29 +746,40 @@ public class TslRestService implements ITslRestService {
 		CommonsCertificatesAuditTraces.addCertInfoOperationTrace(auditTransNumber, x509cert);
 
 		ITSLValidatorResult tslValidatorResult = null;
-		// Si disponemos de evidencias de revocación a usar...
-		if (thereIsCRLs || thereIsBasicOcspResponses) {
-			// En función de si se ha especificado un TSLLocation o no, se
-			// intenta
-			// detectar el certificado.
-			if (UtilsStringChar.isNullOrEmptyTrim(tslLocation)) {
-				tslValidatorResult = TSLManager.getInstance().validateX509withTSLandRevocationValues(auditTransNumber, x509cert, detectionDate, crlArray, basicOcspRespArray, getInfo);
-			} else {
-				CommonsTslAuditTraces.addTslLocationOperationTrace(auditTransNumber, tslLocation, null);
-				tslValidatorResult = TSLManager.getInstance().validateX509withTSLLocationAndRevocationValues(auditTransNumber, x509cert, detectionDate, crlArray, basicOcspRespArray, tslLocation, getInfo);
+		// Indicamos si la aplicación permite usar el modo sin nonce, en el que se
+		// pueden reutilizar las respuestas OCSP almacenadas en la caché del nodo.
+		OCSPResponseCache.setNoncelessModeForCurrentThread(TSLProperties.isOcspNoncelessModeAllowedForApplication(application));
+		// Indicamos el tiempo que la aplicación permite reutilizar los
+		// resultados de validación almacenados en la caché del nodo.
+		TSLValidatorResultCache.setTimeToLiveForCurrentThread(TSLProperties.getValidationResultCacheTimeToLiveForApplication(application));
+		try {
+			// Si disponemos de evidencias de revocación a usar...
+			if (thereIsCRLs || thereIsBasicOcspResponses) {
+				// En función de si se ha especificado un TSLLocation o no, se
+				// intenta
+				// detectar el certificado.
+				if (UtilsStringChar.isNullOrEmptyTrim(tslLocation)) {
+					tslValidatorResult = TSLManager.getInstance().validateX509withTSLandRevocationValues(auditTransNumber, x509cert, detectionDate, crlArray, basicOcspRespArray, getInfo);
+				} else {
+					CommonsTslAuditTraces.addTslLocationOperationTrace(auditTransNumber, tslLocation, null);
+					tslValidatorResult = TSLManager.getInstance().validateX509withTSLLocationAndRevocationValues(auditTransNumber, x509cert, detectionDate, crlArray, basicOcspRespArray, tslLocation, getInfo);
+				}
 			}
-		}
-		// Si no tenemos evidencias de revocación a usar...
-		else {
-			// En función de si se ha especificado un TSLLocation o no, se
-			// intenta
-			// detectar el certificado.
-			if (UtilsStringChar.isNullOrEmptyTrim(tslLocation)) {
-				tslValidatorResult = TSLManager.getInstance().validateX509withTSL(auditTransNumber, x509cert, detectionDate, checkRevStatus, getInfo);
-			} else {
-				CommonsTslAuditTraces.addTslLocationOperationTrace(auditTransNumber, tslLocation, null);
-				tslValidatorResult = TSLManager.getInstance().validateX509withTSL(auditTransNumber, x509cert, tslLocation, detectionDate, checkRevStatus, getInfo);
+			// Si no tenemos evidencias de revocación a usar...
+			else {
+				// En función de si se ha especificado un TSLLocation o no, se
+				// intenta
+				// detectar el certificado.
+				if (UtilsStringChar.isNullOrEmptyTrim(tslLocation)) {
+					tslValidatorResult = TSLManager.getInstance().validateX509withTSL(auditTransNumber, x509cert, detectionDate, checkRevStatus, getInfo);
+				} else {
+					CommonsTslAuditTraces.addTslLocationOperationTrace(auditTransNumber, tslLocation, null);
+					tslValidatorResult = TSLManager.getInstance().validateX509withTSL(auditTransNumber, x509cert, tslLocation, detectionDate, checkRevStatus, getInfo);
+				}
 			}
+		} finally {
+			OCSPResponseCache.clearNoncelessModeForCurrentThread();
+			TSLValidatorResultCache.clearTimeToLiveForCurrentThread();
 		}
 
 		// Si el resultado es nulo, significa que no se ha encontrado TSL
@@ -905,6 +1148,395 @@ public class TslRestService implements ITslRestService {
 
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * @see es.gob.valet.rest.services.ITslRestService#detectCertsInTslInfoAndValidation(java.lang.String, java.lang.String, java.lang.String, java.util.List, es.gob.valet.rest.elements.json.DateString, java.lang.Boolean, java.lang.Boolean, java.lang.Boolean, java.util.List, java.util.List)
+	 */
+	// CHECKSTYLE:OFF -- Checkstyle rule "Design for Extension" is not applied
+	// because Restful needs not final access methods.
+	@Override
+	@POST
+	@Path("/detectCertsInTslInfoAndValidation")
+	@Produces(MediaType.APPLICATION_JSON)
+	@Consumes(MediaType.APPLICATION_FORM_URLENCODED)
+	public DetectCertsInTslInfoAndValidationResponse detectCertsInTslInfoAndValidation(@FormParam(PARAM_APPLICATION) final String application, @FormParam(PARAM_DELEGATED_APP) final String delegatedApp, @FormParam(PARAM_TSL_LOCATION) final String tslLocationB64, @FormParam(PARAM_CERTIFICATES) final List<ByteArrayB64> certsByteArrayB64List, @FormParam(PARAM_DETECTION_DATE) final DateString detectionDate, @FormParam(PARAM_GET_INFO) final Boolean getInfo, @FormParam(PARAM_CHECK_REV_STATUS) final Boolean checkRevStatus, @FormParam(PARAM_RETURN_REV_EVID) final Boolean returnRevocationEvidence, @FormParam(PARAM_CRLS_BYTE_ARRAY) List<ByteArrayB64> crlsByteArrayB64List, @FormParam(PARAM_BASIC_OCSP_RESPONSES_BYTE_ARRAY) List<ByteArrayB64> basicOcspResponsesByteArrayB64List) throws ValetRestException {
+		// CHECKSTYLE:ON
+		long startOperationTime = Calendar.getInstance().getTimeInMillis();
+		// Añadimos la información NDC al log y obtenemos un número único
+		// para la transacción.
+		String auditTransNumber = LoggingInformationNDC.registerNdcInfAndGetTransactionNumber(httpServletRequest, ITslRestService.SERVICENAME_DETECT_CERTS_IN_TSL_INFO_AND_VALIDATION);
+
+		// Si no se ha especificado la aplicación delegada, establecemos el
+		// token 'NOT_SPECIFIED'.
+		String delegatedAppAux = delegatedApp == null ? IEventsCollectorConstants.FIELD_VALUE_DELAPPID_NOTSPECIFIED : delegatedApp;
+
+		// Miramos el número de certificados, CRLs y OCSPs recibidos para el
+		// log.
+		int numCerts = certsByteArrayB64List == null ? 0 : certsByteArrayB64List.size();
+		int numCRLs = crlsByteArrayB64List == null ? 0 : crlsByteArrayB64List.size();
+		int numOCSPs = basicOcspResponsesByteArrayB64List == null ? 0 : basicOcspResponsesByteArrayB64List.size();
+
+		// tslLocation si no es nulo o vacío viene codificado en Base64, se
+		// decodifica.
+		String tslLocation = decodeTslLocation(tslLocationB64);
+
+		// Indicamos la recepción del servicio junto con los parámetros de
+		// entrada.
+		LOGGER.info(Language.getFormatResRestGeneral(IRestGeneralMessages.REST_LOG045, new Object[ ] { application, delegatedAppAux, tslLocation, numCerts, detectionDate, getInfo, checkRevStatus, returnRevocationEvidence, numCRLs, numOCSPs }));
+
+		// Inicialmente consideramos que todo es OK para proceder.
+		boolean allIsOk = true;
+
+		// Creamos el objeto que representa la respuesta.
+		DetectCertsInTslInfoAndValidationResponse result = null;
+
+		// Comprobamos los parámetros obligatorios de entrada.
+		String resultCheckParams = checkParamsDetectCertsInTslInfoAndValidation(application, certsByteArrayB64List, getInfo, checkRevStatus, returnRevocationEvidence);
+		if (resultCheckParams != null) {
+			allIsOk = false;
+			LOGGER.error(resultCheckParams);
+			result = buildDetectCertsInTslInfoAndValidationResponse(ITslRestServiceStatusResult.STATUS_ERROR_INPUT_PARAMETERS, resultCheckParams, null);
+		}
+
+		// Comprobamos que no se supera el número máximo de certificados
+		// permitido.
+		int maxCertificates = TSLProperties.getServiceDetectCertsInTslInfoAndValidationMaxCertificates();
+		if (allIsOk && numCerts > maxCertificates) {
+			allIsOk = false;
+			String errorMsg = Language.getFormatResRestGeneral(IRestGeneralMessages.REST_LOG046, new Object[ ] { numCerts, maxCertificates });
+			LOGGER.error(errorMsg);
+			result = buildDetectCertsInTslInfoAndValidationResponse(ITslRestServiceStatusResult.STATUS_ERROR_INPUT_PARAMETERS, errorMsg, null);
+		}
+
+		// Se comprueba que la aplicación recibida se encuentra entre las
+		// dadas de alta en la plataforma.
+		if (allIsOk) {
+
+			ApplicationCacheObject aco = null;
+			try {
+				aco = ConfigurationCacheFacade.applicationGetApplication(application, false);
+			} catch (ApplicationCacheException e) {
+				LOGGER.error(Language.getFormatResRestGeneral(IRestGeneralMessages.REST_LOG036, new Object[ ] { application }), e);
+			}
+
+			if (aco == null) {
+				allIsOk = false;
+				String errorMsg = Language.getFormatResRestGeneral(IRestGeneralMessages.REST_LOG037, new Object[ ] { application });
+				LOGGER.error(errorMsg);
+				result = buildDetectCertsInTslInfoAndValidationResponse(ITslRestServiceStatusResult.STATUS_ERROR_INPUT_PARAMETERS, errorMsg, null);
+			}
+
+		}
+
+		// El parámetro 'returnRevocationEvidence' solo puede ser true
+		// si 'checkRevStatus' es también true o se han recibido evidencias de
+		// revocación.
+		if (allIsOk && returnRevocationEvidence && !checkRevStatus && numCRLs == 0 && numOCSPs == 0) {
+			allIsOk = false;
+			LOGGER.error(Language.getFormatResRestGeneral(IRestGeneralMessages.REST_LOG004));
+			result = buildDetectCertsInTslInfoAndValidationResponse(ITslRestServiceStatusResult.STATUS_ERROR_INPUT_PARAMETERS, Language.getFormatResRestGeneral(IRestGeneralMessages.REST_LOG004), null);
+		}
+
+		// Comprobamos que el formato de la fecha sea adecuado,
+		// si es que se proporciona, y que no sobrepasa hacia el futuro
+		// el intervalo permitido.
+		Date detectionDateAux = null;
+		if (allIsOk) {
+
+			if (detectionDate == null) {
+				detectionDateAux = Calendar.getInstance().getTime();
+			} else {
+
+				try {
+					detectionDateAux = detectionDate.getDate();
+					Calendar limitDateCal = Calendar.getInstance();
+					limitDateCal.add(Calendar.MILLISECOND, TSLProperties.getServiceDetectCertInTslInfoAndValidationParamValDateTimeGap());
+					if (limitDateCal.getTime().before(detectionDateAux)) {
+						allIsOk = false;
+						String errorMsg = Language.getFormatResRestGeneral(IRestGeneralMessages.REST_LOG006, new Object[ ] { detectionDate });
+						LOGGER.error(errorMsg);
+						result = buildDetectCertsInTslInfoAndValidationResponse(ITslRestServiceStatusResult.STATUS_ERROR_INPUT_PARAMETERS, errorMsg, null);
+					}
+				} catch (ParseException e) {
+					allIsOk = false;
+					String errorMsg = Language.getFormatResRestGeneral(IRestGeneralMessages.REST_LOG033, new Object[ ] { detectionDate, UtilsDate.FORMAT_DATE_TIME_JSON });
+					LOGGER.error(errorMsg);
+					result = buildDetectCertsInTslInfoAndValidationResponse(ITslRestServiceStatusResult.STATUS_ERROR_INPUT_PARAMETERS, errorMsg, null);
+				}
+
+			}
+
+		}
+
+		// Si todo es OK y se han recibido CRLs, tratamos de parsearlas.
+		X509CRL[ ] crlArray = null;
+		if (allIsOk && numCRLs > 0) {
+			try {
+				crlArray = buildX509CRLArray(crlsByteArrayB64List);
+			} catch (CommonUtilsException e) {
+				allIsOk = false;
+				String errorMsg = Language.getResRestGeneral(IRestGeneralMessages.REST_LOG034);
+				LOGGER.error(errorMsg);
+				result = buildDetectCertsInTslInfoAndValidationResponse(ITslRestServiceStatusResult.STATUS_ERROR_INPUT_PARAMETERS, errorMsg, null);
+			}
+		}
+
+		// Si todo es OK y se han recibido respuestas OCSP básicas, tratamos de
+		// parsearlas.
+		BasicOCSPResp[ ] basicOcspRespArray = null;
+		if (allIsOk && numOCSPs > 0) {
+			try {
+				basicOcspRespArray = buildBasicOcspRespArray(basicOcspResponsesByteArrayB64List);
+			} catch (IOException | OCSPException e) {
+				allIsOk = false;
+				String errorMsg = Language.getResRestGeneral(IRestGeneralMessages.REST_LOG035);
+				LOGGER.error(errorMsg);
+				result = buildDetectCertsInTslInfoAndValidationResponse(ITslRestServiceStatusResult.STATUS_ERROR_INPUT_PARAMETERS, errorMsg, null);
+			}
+		}
+
+		// Si todo ha ido bien, continuamos con el proceso de ejecución del
+		// servicio, usando una única transacción de auditoría para todo el
+		// lote.
+		if (allIsOk) {
+
+			try {
+				CommonsServicesAuditTraces.addOpenTransactionTrace(auditTransNumber, IEventsCollectorConstants.SERVICE_DETECT_CERTS_IN_TSL_INFO_AND_VALIDATION_ID, digestRequest(httpServletRequest.getParameterMap()));
+				CommonsServicesAuditTraces.addStartRSTrace(auditTransNumber, application, delegatedAppAux);
+				result = executeServiceDetectCertsInTslInfoAndValidation(auditTransNumber, application, delegatedAppAux, tslLocation, certsByteArrayB64List, detectionDateAux, getInfo.booleanValue(), checkRevStatus.booleanValue(), returnRevocationEvidence, crlArray, basicOcspRespArray);
+				CommonsServicesAuditTraces.addEndRSTrace(auditTransNumber, IEventsCollectorConstants.RESULT_CODE_SERVICE_OK, result.getDescription());
+				// Calculamos el resumen del resultado, y si lo obtenemos
+				// correctamente, cerramos la transacción.
+				CommonsServicesAuditTraces.addCloseTransactionTrace(auditTransNumber, digestResult(result));
+			} catch (Exception e) {
+				CommonsServicesAuditTraces.addEndRSTrace(auditTransNumber, IEventsCollectorConstants.RESULT_CODE_SERVICE_ERROR, e.getMessage());
+				LoggingInformationNDC.unregisterNdcInf();
+				throw new ValetRestException(IValetException.COD_200, Language.getFormatResRestGeneral(IRestGeneralMessages.REST_LOG011, new Object[ ] { ITslRestService.SERVICENAME_DETECT_CERTS_IN_TSL_INFO_AND_VALIDATION }), e);
+			}
+
+		}
+
+		// Limpiamos la información NDC.
+		LoggingInformationNDC.unregisterNdcInf();
+		LOGGER.info(Language.getFormatResRestGeneral(IRestGeneralMessages.REST_LOG049, new Object[ ] { Calendar.getInstance().getTimeInMillis() - startOperationTime }));
+		return result;
+
+	}
+
+	/**
+	 * Method that checks required parameters for {@link es.gob.valet.rest.services.TslRestService#detectCertsInTslInfoAndValidation} method.
+	 * @param application Application identifier.
+	 * @param certsByteArrayB64List List of certificates to detect.
+	 * @param getInfo Flag that indicates if it is necessary to get the certificates information in response.
+	 * @param checkRevStatus Flag that indicates if it is necessary to check the revocation status of the input certificates.
+	 * @param returnRevoEvid Flag that indicates if it is necessary to return the revocation evidence (only if {@code checkRevocationStatus} is <code>true</code>).
+	 * @return {@link String} with the parameter that not are correctly defined, otherwise <code>null</code>.
+	 */
+	private String checkParamsDetectCertsInTslInfoAndValidation(final String application, final List<ByteArrayB64> certsByteArrayB64List, final Boolean getInfo, final Boolean checkRevStatus, final Boolean returnRevoEvid) {
+
+		StringBuffer result = new StringBuffer();
+		result.append(Language.getFormatResRestGeneral(IRestGeneralMessages.REST_LOG003, new Object[ ] { ITslRestService.SERVICENAME_DETECT_CERTS_IN_TSL_INFO_AND_VALIDATION }));
+		boolean checkError = false;
+
+		// Check received parameters
+		List<String> missingParams = new ArrayList<String>();
+		if (UtilsStringChar.isNullOrEmptyTrim(application)) {
+			missingParams.add(ITslRestService.PARAM_APPLICATION);
+		}
+		if (certsByteArrayB64List == null || certsByteArrayB64List.isEmpty()) {
+			missingParams.add(ITslRestService.PARAM_CERTIFICATES);
+		}
+		if (getInfo == null) {
+			missingParams.add(ITslRestService.PARAM_GET_INFO);
+		}
+		if (checkRevStatus == null) {
+			missingParams.add(ITslRestService.PARAM_CHECK_REV_STATUS);
+		} else if (returnRevoEvid == null) {
+			missingParams.add(ITslRestService.PARAM_RETURN_REV_EVID);
+		}
+
+		for (String missingParam: missingParams) {
+			checkError = true;
+			result.append(UtilsStringChar.EMPTY_STRING);
+			result.append(UtilsStringChar.SYMBOL_OPEN_BRACKET_STRING);
+			result.append(missingParam);
+			result.append(UtilsStringChar.SYMBOL_CLOSE_BRACKET_STRING);
+		}
+
+		if (checkError) {
+			return result.toString();
+		} else {
+			return null;
+		}
+
+	}
+
+	/**
+	 * After check the input parameters, this method execute the service 'detectCertsInTslInfoAndValidation'.
+	 * Each distinct certificate of the batch is validated only once, and the distinct certificates are validated in
+	 * parallel. The certificates whose validation does not finish within the deadline of the batch are cancelled and
+	 * returned with error.
+	 * @param auditTransNumber Audit transaction number.
+	 * @param application Application identifier.
+	 * @param delegatedApp Delegated application identifier.
+	 * @param tslLocation TSL location to use. It could be <code>null</code>.
+	 * @param certsByteArrayB64List List of certificates to detect.
+	 * @param detectionDate Date to use to detect and validate the input certificates.
+	 * @param getInfo Flag that indicates if it is necessary to get the certificates information in response.
+	 * @param checkRevStatus Flag that indicates if it is necessary to check the revocation status of the input certificates.
+	 * @param returnRevocationEvidence Flag that indicates if it is necessary to return the revocation evidence (only if {@code checkRevStatus} is <code>true</code>).
+	 * @param crlArray List of {@link X509CRL} that could be used like revocation evidence. It could be <code>null</code>.
+	 * @param basicOcspRespArray List of {@link BasicOCSPResp} that could be used like revocation evidence. It could be <code>null</code>.
+	 * @return Structure of DetectCertsInTslInfoAndValidationResponse.
+	 * @throws InterruptedException If the thread is interrupted while waiting for the validation of the certificates.
+	 */
+	private DetectCertsInTslInfoAndValidationResponse executeServiceDetectCertsInTslInfoAndValidation(final String auditTransNumber, final String application, final String delegatedApp, final String tslLocation, final List<ByteArrayB64> certsByteArrayB64List, final Date detectionDate, final boolean getInfo, final boolean checkRevStatus, final Boolean returnRevocationEvidence, final X509CRL[ ] crlArray, final BasicOCSPResp[ ] basicOcspRespArray) throws InterruptedException {
+
+		int numCerts = certsByteArrayB64List.size();
+		DetectCertInTslInfoAndValidationResponse[ ] resultsArray = new DetectCertInTslInfoAndValidationResponse[numCerts];
+
+		// Parseamos los certificados distintos del lote, y anotamos en qué
+		// posiciones del lote aparece cada uno.
+		Map<ByteBuffer, BatchCertificate> distinctCerts = new LinkedHashMap<ByteBuffer, BatchCertificate>();
+		for (int index = 0; index < numCerts; index++) {
+
+			ByteArrayB64 certByteArrayB64 = certsByteArrayB64List.get(index);
+			byte[ ] certByteArray = certByteArrayB64 == null ? null : certByteArrayB64.getByteArray();
+			BatchCertificate batchCert = certByteArray == null ? null : distinctCerts.get(ByteBuffer.wrap(certByteArray));
+
+			if (batchCert == null && certByteArray != null) {
+				try {
+					X509Certificate x509cert = UtilsCertificate.getX509Certificate(certByteArray);
+					batchCert = new BatchCertificate(x509cert);
+					distinctCerts.put(ByteBuffer.wrap(certByteArray), batchCert);
+				} catch (CommonUtilsException e) {
+					batchCert = null;
+				}
+			}
+
+			if (batchCert == null) {
+				LOGGER.error(Language.getResRestGeneral(IRestGeneralMessages.REST_LOG012));
+				resultsArray[index] = new DetectCertInTslInfoAndValidationResponse();
+				resultsArray[index].setStatus(ITslRestServiceStatusResult.STATUS_ERROR_INPUT_PARAMETERS);
+				resultsArray[index].setDescription(Language.getResRestGeneral(IRestGeneralMessages.REST_LOG012));
+			} else {
+				batchCert.positions.add(index);
+			}
+
+		}
+
+		// Validamos en paralelo los certificados distintos en el pool de
+		// hilos compartido, limitando los certificados de esta petición que
+		// se validan a la vez.
+		BatchValidationExecutor executor = BatchValidationExecutor.getInstance();
+		Semaphore permits = new Semaphore(TSLProperties.getServiceDetectCertsInTslInfoAndValidationParallelism());
+		int deadline = TSLProperties.getServiceDetectCertsInTslInfoAndValidationDeadline();
+		long deadlineTime = System.currentTimeMillis() + deadline;
+		Map<BatchCertificate, Future<DetectCertInTslInfoAndValidationResponse>> futures = new LinkedHashMap<BatchCertificate, Future<DetectCertInTslInfoAndValidationResponse>>();
+		try {
+
+			for (final BatchCertificate batchCert: distinctCerts.values()) {
+				futures.put(batchCert, executor.submit(permits, new Callable<DetectCertInTslInfoAndValidationResponse>() {
+
+					/**
+					 * {@inheritDoc}
+					 * @see java.util.concurrent.Callable#call()
+					 */
+					@Override
+					public DetectCertInTslInfoAndValidationResponse call() throws Exception {
+						return executeServiceDetectCertInTslInfoAndValidation(auditTransNumber, application, delegatedApp, tslLocation, batchCert.x509cert, detectionDate, getInfo, checkRevStatus, returnRevocationEvidence, crlArray, basicOcspRespArray);
+					}
+				}));
+			}
+
+			// Recogemos los resultados y los asignamos a todas las posiciones
+			// en las que aparece cada certificado. Una vez superado el plazo
+			// del lote, solo se recogen los resultados ya terminados.
+			for (Entry<BatchCertificate, Future<DetectCertInTslInfoAndValidationResponse>> entry: futures.entrySet()) {
+
+				DetectCertInTslInfoAndValidationResponse certResult = null;
+				try {
+					long remaining = Math.max(0L, deadlineTime - System.currentTimeMillis());
+					certResult = entry.getValue().get(remaining, TimeUnit.MILLISECONDS);
+				} catch (TimeoutException e) {
+					entry.getValue().cancel(true);
+					String msg = Language.getFormatResRestGeneral(IRestGeneralMessages.REST_LOG055, new Object[ ] { ITslRestService.SERVICENAME_DETECT_CERTS_IN_TSL_INFO_AND_VALIDATION, entry.getKey().positions.get(0), deadline });
+					LOGGER.error(msg);
+					certResult = new DetectCertInTslInfoAndValidationResponse();
+					certResult.setStatus(ITslRestServiceStatusResult.STATUS_ERROR_SERVICE_TIMEOUT);
+					certResult.setDescription(msg);
+				} catch (ExecutionException e) {
+					LOGGER.error(Language.getFormatResRestGeneral(IRestGeneralMessages.REST_LOG048, new Object[ ] { ITslRestService.SERVICENAME_DETECT_CERTS_IN_TSL_INFO_AND_VALIDATION, entry.getKey().positions.get(0) }), e.getCause());
+					certResult = new DetectCertInTslInfoAndValidationResponse();
+					certResult.setStatus(ITslRestServiceStatusResult.STATUS_ERROR_EXECUTING_SERVICE);
+					certResult.setDescription(Language.getFormatResRestGeneral(IRestGeneralMessages.REST_LOG009, new Object[ ] { ITslRestService.SERVICENAME_DETECT_CERTS_IN_TSL_INFO_AND_VALIDATION }));
+				}
+				for (Integer position: entry.getKey().positions) {
+					resultsArray[position] = certResult;
+				}
+
+			}
+
+		} finally {
+			// Si no se han recogido todos los resultados (por ejemplo, porque
+			// se ha interrumpido la petición), se cancelan las validaciones
+			// pendientes.
+			for (Future<DetectCertInTslInfoAndValidationResponse> future: futures.values()) {
+				future.cancel(true);
+			}
+		}
+
+		String msg = Language.getFormatResRestGeneral(IRestGeneralMessages.REST_LOG047, new Object[ ] { numCerts, distinctCerts.size() });
+		LOGGER.info(msg);
+		return buildDetectCertsInTslInfoAndValidationResponse(ITslRestServiceStatusResult.STATUS_SERVICE_DETECTCERTSINTSLINFOVALIDATION_EXECUTED, msg, Arrays.asList(resultsArray));
+
+	}
+
+	/**
+	 * Builds the response of the service 'detectCertsInTslInfoAndValidation'.
+	 * @param status Status of the response.
+	 * @param description Description of the response.
+	 * @param results Results of each certificate. It could be <code>null</code>.
+	 * @return the response of the service 'detectCertsInTslInfoAndValidation'.
+	 */
+	private DetectCertsInTslInfoAndValidationResponse buildDetectCertsInTslInfoAndValidationResponse(final int status, final String description, final List<DetectCertInTslInfoAndValidationResponse> results) {
+
+		DetectCertsInTslInfoAndValidationResponse result = new DetectCertsInTslInfoAndValidationResponse();
+		result.setStatus(status);
+		result.setDescription(description);
+		result.setResults(results);
+		return result;
+
+	}
+
+	/**
+	 * <p>Class that represents a distinct certificate of a batch of the service 'detectCertsInTslInfoAndValidation'.</p>
+	 * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+	 * @version 1.0, 18/10/2026.
+	 */
+	private static final class BatchCertificate {
+
+		/**
+		 * Attribute that represents the parsed certificate.
+		 */
+		private final X509Certificate x509cert;
+
+		/**
+		 * Attribute that represents the positions of the batch in which the certificate appears.
+		 */
+		private final List<Integer> positions = new ArrayList<Integer>();
+
+		/**
+		 * Constructor method for the class BatchCertificate.
+		 * @param x509certParam Parsed certificate.
+		 */
+		private BatchCertificate(X509Certificate x509certParam) {
+			super();
+			x509cert = x509certParam;
+		}
+
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * @see es.gob.valet.rest.services.ITslRestService#getTslInformation(java.lang.String, java.lang.String, java.lang.String, java.lang.String, java.lang.Boolean)
@@ -1000,24 +1632,22 @@ public class TslRestService implements ITslRestService {
 				// Si se ha comprobado que todos los parámetros son correctos,
 				// abrimos la transacción
 				// en auditoría.
-				CommonsServicesAuditTraces.addOpenTransactionTrace(auditTransNumber, IEventsCollectorConstants.SERVICE_GET_TSL_INFORMATION_ID, extractRequestByteArray());
+				CommonsServicesAuditTraces.addOpenTransactionTrace(auditTransNumber, IEventsCollectorConstants.SERVICE_GET_TSL_INFORMATION_ID, digestRequest(httpServletRequest.getParameterMap()));
 				CommonsServicesAuditTraces.addStartRSTrace(auditTransNumber, application, delegatedAppAux);
 				result = executeServiceGetTslInformation(auditTransNumber, application, delegatedAppAux, countryRegionCode, tslLocation, getTslXmlData);
 				CommonsServicesAuditTraces.addEndRSTrace(auditTransNumber, IEventsCollectorConstants.RESULT_CODE_SERVICE_OK, result.getDescription());
-				// Calculamos la representación en bytes del resultado, y si la
-				// obtenemos correctamente, cerramos la transacción.
-				byte[ ] resultByteArray = buildResultByteArray(result);
-				CommonsServicesAuditTraces.addCloseTransactionTrace(auditTransNumber, resultByteArray);
+				// Calculamos el resumen del resultado, y si lo obtenemos
+				// correctamente, cerramos la transacción.
+				CommonsServicesAuditTraces.addCloseTransactionTrace(auditTransNumber, digestResult(result));
 
 			} catch (TSLManagingException e) {
 				result = new TslInformationResponse();
 				result.setStatus(ITslRestServiceStatusResult.STATUS_ERROR_EXECUTING_SERVICE);
 				result.setDescription(Language.getFormatResRestGeneral(IRestGeneralMessages.REST_LOG009, new Object[ ] { ITslRestService.SERVICENAME_GET_TSL_INFORMATION }));
 				CommonsServicesAuditTraces.addEndRSTrace(auditTransNumber, IEventsCollectorConstants.RESULT_CODE_SERVICE_ERROR, result.getDescription());
-				// Calculamos la representación en bytes del resultado, y si la
-				// obtenemos correctamente, cerramos la transacción.
-				byte[ ] resultByteArray = buildResultByteArray(result);
-				CommonsServicesAuditTraces.addCloseTransactionTrace(auditTransNumber, resultByteArray);
+				// Calculamos el resumen del resultado, y si lo obtenemos
+				// correctamente, cerramos la transacción.
+				CommonsServicesAuditTraces.addCloseTransactionTrace(auditTransNumber, digestResult(result));
 				LOGGER.error(Language.getFormatResRestGeneral(IRestGeneralMessages.REST_LOG010, new Object[ ] { ITslRestService.SERVICENAME_GET_TSL_INFORMATION }), e);
 			} catch (Exception e) {
 				CommonsServicesAuditTraces.addEndRSTrace(auditTransNumber, IEventsCollectorConstants.RESULT_CODE_SERVICE_ERROR, e.getMessage());
@@ -1155,7 +1785,7 @@ public class TslRestService implements ITslRestService {
 		LOGGER.info(Language.getResRestGeneral(IRestGeneralMessages.REST_LOG043));
 		try {
 			//Se abre la transacción de auditoría
-			CommonsServicesAuditTraces.addOpenTransactionTrace(auditTransNumber, IEventsCollectorConstants.SERVICE_GET_TSL_INFO_VERSIONS_ID, extractRequestByteArray());
+			CommonsServicesAuditTraces.addOpenTransactionTrace(auditTransNumber, IEventsCollectorConstants.SERVICE_GET_TSL_INFO_VERSIONS_ID, digestRequest(httpServletRequest.getParameterMap()));
 			CommonsServicesAuditTraces.addStartRSTrace(auditTransNumber, INTERNAL_TASK_APP, INTERNAL_TASK_DELEGATE_APP);
 			Map<String, Integer> tslCountryVersion = TSLManager.getInstance().getTslInfoVersions();
 			result = new TslInformationVersionsResponse();
@@ -1163,18 +1793,16 @@ public class TslRestService implements ITslRestService {
 			int numTsl = tslCountryVersion != null ? tslCountryVersion.size(): 0;
 			result.setDescription(Language.getFormatResRestGeneral(IRestGeneralMessages.REST_LOG040, new Object[ ] { numTsl }));
 			result.setTslVersionsMap(tslCountryVersion);
-			//se calcula la representación en bytes del resultado, y si la obtenemos correctamente, cerramos la transacción.
-			byte[ ] resultByteArray = buildResultByteArray(result);
-			CommonsServicesAuditTraces.addCloseTransactionTrace(auditTransNumber, resultByteArray);
+			//se calcula el resumen del resultado, y si lo obtenemos correctamente, cerramos la transacción.
+			CommonsServicesAuditTraces.addCloseTransactionTrace(auditTransNumber, digestResult(result));
 		} catch (TSLManagingException e) {
 			result = new TslInformationVersionsResponse();
 			result.setStatus(ITslRestServiceStatusResult.STATUS_ERROR_EXECUTING_SERVICE);
 			result.setDescription(Language.getFormatResRestGeneral(IRestGeneralMessages.REST_LOG009, new Object[ ] { ITslRestService.SERVICENAME_GET_TSL_INFORMATION_VERSIONS }));
 			CommonsServicesAuditTraces.addEndRSTrace(auditTransNumber, IEventsCollectorConstants.RESULT_CODE_SERVICE_ERROR, result.getDescription());
-			// Calculamos la representación en bytes del resultado, y si la
-			// obtenemos correctamente, cerramos la transacción.
-			byte[ ] resultByteArray = buildResultByteArray(result);
-			CommonsServicesAuditTraces.addCloseTransactionTrace(auditTransNumber, resultByteArray);
+			// Calculamos el resumen del resultado, y si lo obtenemos
+			// correctamente, cerramos la transacción.
+			CommonsServicesAuditTraces.addCloseTransactionTrace(auditTransNumber, digestResult(result));
 			LOGGER.error(Language.getFormatResRestGeneral(IRestGeneralMessages.REST_LOG010, new Object[ ] { ITslRestService.SERVICENAME_GET_TSL_INFORMATION_VERSIONS }), e);
 		} catch (Exception e) {
 			CommonsServicesAuditTraces.addEndRSTrace(auditTransNumber, IEventsCollectorConstants.RESULT_CODE_SERVICE_ERROR, e.getMessage());
@@ -0,0 +1,64 @@
+/*
+/*******************************************************************************
+ * Copyright (C) 2018 MINHAFP, Gobierno de España
+ * This program is licensed and may be used, modified and redistributed under the  terms
+ * of the European Public License (EUPL), either version 1.1 or (at your option)
+ * any later version as soon as they are approved by the European Commission.
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and
+ * more details.
+ * You should have received a copy of the EUPL1.1 license
+ * along with this program; if not, you may find it at
+ * http:joinup.ec.europa.eu/software/page/eupl/licence-eupl
+ ******************************************************************************/
+
+/**
+ * <b>File:</b><p>es.gob.valet.rest.services.TslRestServiceContextListener.java.</p>
+ * <b>Description:</b><p>Class that releases the resources of the REST services when the application is stopped.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * <b>Date:</b><p>18/10/2026.</p>
+ * @author Gobierno de España.
+ * @version 1.0, 18/10/2026.
+ */
+package es.gob.valet.rest.services;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+
+/**
+ * <p>Class that releases the resources of the REST services when the application is stopped, such as the pools of
+ * threads used to validate the certificates.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * @version 1.0, 18/10/2026.
+ */
+public class TslRestServiceContextListener implements ServletContextListener {
+
+	/**
+	 * {@inheritDoc}
+	 * @see javax.servlet.ServletContextListener#contextInitialized(javax.servlet.ServletContextEvent)
+	 */
+	@Override
+	public final void contextInitialized(ServletContextEvent sce) {
+		// Los ejecutores se inicializan con la primera petición que los usa.
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see javax.servlet.ServletContextListener#contextDestroyed(javax.servlet.ServletContextEvent)
+	 */
+	@Override
+	public final void contextDestroyed(ServletContextEvent sce) {
+
+		// Detenemos el pool de hilos compartido del servicio de validación
+		// de lotes de certificados.
+		BatchValidationExecutor.getInstance().shutdown();
+
+		// Detenemos el pool de hilos de los servicios de validación
+		// asíncronos.
+		ValidationServiceExecutor.getInstance().shutdown();
+
+	}
+
+}
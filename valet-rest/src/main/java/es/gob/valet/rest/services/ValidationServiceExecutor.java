@@ -0,0 +1,225 @@
+/*
+/*******************************************************************************
+ * Copyright (C) 2018 MINHAFP, Gobierno de España
+ * This program is licensed and may be used, modified and redistributed under the  terms
+ * of the European Public License (EUPL), either version 1.1 or (at your option)
+ * any later version as soon as they are approved by the European Commission.
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and
+ * more details.
+ * You should have received a copy of the EUPL1.1 license
+ * along with this program; if not, you may find it at
+ * http:joinup.ec.europa.eu/software/page/eupl/licence-eupl
+ ******************************************************************************/
+
+/**
+ * <b>File:</b><p>es.gob.valet.rest.services.ValidationServiceExecutor.java.</p>
+ * <b>Description:</b><p>Class that executes the requests of the asynchronous validation services in a bounded pool of threads.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * <b>Date:</b><p>18/10/2026.</p>
+ * @author Gobierno de España.
+ * @version 1.0, 18/10/2026.
+ */
+package es.gob.valet.rest.services;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.TimeoutHandler;
+
+import org.apache.log4j.Logger;
+
+import es.gob.valet.i18n.Language;
+import es.gob.valet.i18n.messages.IRestGeneralMessages;
+import es.gob.valet.tsl.access.TSLProperties;
+
+/**
+ * <p>Class that executes the requests of the asynchronous validation services in a dedicated and bounded pool of
+ * threads, so the threads of the servlet container are released while the validation waits for the OCSP/CRL
+ * network I/O.</p>
+ * <p>The requests waiting for a thread are stored in a bounded queue: when it is full, the new requests are rejected
+ * immediately. Each request has a deadline (including the time waiting in the queue): when it is exceeded, the
+ * client receives the timeout response and the validation is cancelled.</p>
+ * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+ * @version 1.0, 18/10/2026.
+ */
+public final class ValidationServiceExecutor {
+
+	/**
+	 * Attribute that represents the object that manages the log of the class.
+	 */
+	private static final Logger LOGGER = Logger.getLogger(ValidationServiceExecutor.class);
+
+	/**
+	 * Constant attribute that represents the prefix of the name of the threads of the pool.
+	 */
+	private static final String THREAD_NAME_PREFIX = "valet-validation-";
+
+	/**
+	 * Constant attribute that represents the maximum time (milliseconds) to wait for the pending requests when the
+	 * executor is shut down.
+	 */
+	private static final long SHUTDOWN_TIMEOUT = 5000L;
+
+	/**
+	 * Constant attribute that represents the unique instance of the class.
+	 */
+	private static final ValidationServiceExecutor INSTANCE = new ValidationServiceExecutor();
+
+	/**
+	 * Attribute that represents the pool of threads that executes the requests.
+	 */
+	private final ThreadPoolExecutor executor;
+
+	/**
+	 * Attribute that represents the maximum time (milliseconds) allowed to complete a request.
+	 */
+	private final long deadline;
+
+	/**
+	 * Constructor method for the class ValidationServiceExecutor.java.
+	 */
+	private ValidationServiceExecutor() {
+		super();
+		int threads = TSLProperties.getServiceDetectCertInTslInfoAndValidationAsyncThreads();
+		int queueSize = TSLProperties.getServiceDetectCertInTslInfoAndValidationAsyncQueueSize();
+		deadline = TSLProperties.getServiceDetectCertInTslInfoAndValidationAsyncDeadline();
+		executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(queueSize), new ValidationThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+		LOGGER.info(Language.getFormatResRestGeneral(IRestGeneralMessages.REST_LOG052, new Object[ ] { threads, queueSize }));
+	}
+
+	/**
+	 * Gets the unique instance of the class.
+	 * @return the unique instance of the class.
+	 */
+	public static ValidationServiceExecutor getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Executes the input task in the pool of threads and resumes the input suspended response with its result. If the task
+	 * throws an exception, the response is resumed with it. If the deadline is exceeded, the response is resumed with the
+	 * input timeout result and the task is cancelled.
+	 * @param asyncResponse Suspended response of the request.
+	 * @param task Task that builds the result of the request.
+	 * @param timeoutResult Result to return if the deadline is exceeded.
+	 * @return <code>true</code> if the task has been accepted, or <code>false</code> if it has been rejected because
+	 * the queue is full. In this case, the response is not resumed.
+	 */
+	public boolean execute(final AsyncResponse asyncResponse, final Callable<?> task, final Object timeoutResult) {
+
+		boolean result = true;
+
+		final FutureTask<Void> futureTask = new FutureTask<Void>(new Runnable() {
+
+			/**
+			 * {@inheritDoc}
+			 * @see java.lang.Runnable#run()
+			 */
+			@Override
+			public void run() {
+				try {
+					asyncResponse.resume(task.call());
+				} catch (Exception e) {
+					asyncResponse.resume(e);
+				}
+			}
+		}, null);
+
+		// Establecemos el plazo máximo de la petición. Si se supera, se
+		// responde con el resultado indicado y se cancela la tarea (aunque
+		// esté esperando en la cola).
+		asyncResponse.setTimeoutHandler(new TimeoutHandler() {
+
+			/**
+			 * {@inheritDoc}
+			 * @see javax.ws.rs.container.TimeoutHandler#handleTimeout(javax.ws.rs.container.AsyncResponse)
+			 */
+			@Override
+			public void handleTimeout(AsyncResponse response) {
+				futureTask.cancel(true);
+				response.resume(timeoutResult);
+			}
+		});
+		asyncResponse.setTimeout(deadline, TimeUnit.MILLISECONDS);
+
+		try {
+			executor.execute(futureTask);
+		} catch (RejectedExecutionException e) {
+			result = false;
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * Gets the maximum time (milliseconds) allowed to complete a request.
+	 * @return the maximum time (milliseconds) allowed to complete a request.
+	 */
+	public long getDeadline() {
+		return deadline;
+	}
+
+	/**
+	 * Gets the number of requests waiting for a thread.
+	 * @return the number of requests waiting for a thread.
+	 */
+	public int getQueueLength() {
+		return executor.getQueue().size();
+	}
+
+	/**
+	 * Shuts down the pool of threads, waiting for the pending requests up to {@value #SHUTDOWN_TIMEOUT} milliseconds.
+	 * The requests not finished in that time are cancelled.
+	 */
+	public void shutdown() {
+
+		executor.shutdown();
+		try {
+			if (!executor.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS)) {
+				LOGGER.warn(Language.getFormatResRestGeneral(IRestGeneralMessages.REST_LOG054, new Object[ ] { THREAD_NAME_PREFIX, SHUTDOWN_TIMEOUT }));
+				executor.shutdownNow();
+			}
+		} catch (InterruptedException e) {
+			executor.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+
+	}
+
+	/**
+	 * <p>Class that creates the daemon threads of the pool, with a recognizable name for the logs.</p>
+	 * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+	 * @version 1.0, 18/10/2026.
+	 */
+	private static final class ValidationThreadFactory implements ThreadFactory {
+
+		/**
+		 * Attribute that represents the number of threads created.
+		 */
+		private final AtomicInteger threadsCount = new AtomicInteger(0);
+
+		/**
+		 * {@inheritDoc}
+		 * @see java.util.concurrent.ThreadFactory#newThread(java.lang.Runnable)
+		 */
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + threadsCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+
+	}
+
+}
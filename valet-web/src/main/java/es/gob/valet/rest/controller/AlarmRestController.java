@@ -21,7 +21,7 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>02/10/2018.</p>
  * @author Gobierno de España.
- * @version 1.4, 25/05/2021.
+ * @version 1.5, 18/10/2026.
  */
 package es.gob.valet.rest.controller;
 
@@ -49,6 +49,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.fasterxml.jackson.annotation.JsonView;
 
+import es.gob.valet.alarms.conf.AlarmsConfiguration;
 import es.gob.valet.commons.utils.NumberConstants;
 import es.gob.valet.commons.utils.UtilsStringChar;
 import es.gob.valet.form.AlarmForm;
@@ -64,7 +65,7 @@ import es.gob.valet.rest.exception.OrderedValidation;
  * <p>Class that manages the REST requests related to the Alarms administration and
  * JSON communication.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.4, 25/05/2021.
+ * @version 1.5, 18/10/2026.
  */
 @RestController
 public class AlarmRestController {
@@ -136,6 +137,9 @@ public class AlarmRestController {
 					mailService.saveMail(m);
 				}
 
+				// Se actualiza la configuración de las alarmas en memoria.
+				AlarmsConfiguration.getInstance().reload();
+
 				listNewAlarm.add(alarmNew);
 			} catch (Exception e) {
 				listNewAlarm = StreamSupport.stream(alarmService.getAllAlarm().spliterator(), false).collect(Collectors.toList());
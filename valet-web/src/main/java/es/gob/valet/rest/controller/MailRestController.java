@@ -21,7 +21,7 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>02/10/2018.</p>
  * @author Gobierno de España.
- * @version 1.1, 25/10/2018.
+ * @version 1.2, 18/10/2026.
  */
 package es.gob.valet.rest.controller;
 
@@ -49,6 +49,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.fasterxml.jackson.annotation.JsonView;
 
+import es.gob.valet.alarms.conf.AlarmsConfiguration;
 import es.gob.valet.form.MailForm;
 import es.gob.valet.persistence.configuration.model.entity.Mail;
 import es.gob.valet.persistence.configuration.services.ifaces.IMailService;
@@ -58,7 +59,7 @@ import es.gob.valet.rest.exception.OrderedValidation;
  * <p>Class that manages the REST requests related to the Mails administration and
  * JSON communication.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.1, 25/10/2018.
+ * @version 1.2, 18/10/2026.
  */
 @RestController
 public class MailRestController {
@@ -98,6 +99,8 @@ public class MailRestController {
 	@RequestMapping(path = "/deletemail", method = RequestMethod.POST)
 	public String deleteMail(@RequestParam("id") Long mailId, @RequestParam("index") String index) {
 		mailService.deleteMail(mailId);
+		// Se actualizan las direcciones de las alarmas en memoria.
+		AlarmsConfiguration.getInstance().reload();
 
 		return index;
 	}
@@ -133,6 +136,8 @@ public class MailRestController {
 
 				mail.setEmailAddress(mailForm.getEmailAddress());
 				Mail mailNew = mailService.saveMail(mail);
+				// Se actualizan las direcciones de las alarmas en memoria.
+				AlarmsConfiguration.getInstance().reload();
 
 				listNewMail.add(mailNew);
 			} catch (Exception e) {
@@ -179,6 +184,8 @@ public class MailRestController {
 				mail.setEmailAddress(mailForm.getEmailAddress());
 
 				Mail mailNew = mailService.saveMail(mail);
+				// Se actualizan las direcciones de las alarmas en memoria.
+				AlarmsConfiguration.getInstance().reload();
 
 				listNewMail.add(mailNew);
 			} catch (Exception e) {
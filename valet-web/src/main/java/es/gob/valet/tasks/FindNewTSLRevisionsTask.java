@@ -20,16 +20,28 @@
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
  * <b>Date:</b><p>18/09/2018.</p>
  * @author Gobierno de España.
- * @version 1.7, 13/10/2021.
+ * @version 1.8, 18/10/2026.
  */
 package es.gob.valet.tasks;
 
 import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.apache.http.HttpHeaders;
 import org.apache.http.client.methods.HttpGet;
@@ -52,6 +64,7 @@ import es.gob.valet.persistence.configuration.model.utils.IAlarmIdConstants;
 import es.gob.valet.quartz.job.TaskValetException;
 import es.gob.valet.quartz.task.Task;
 import es.gob.valet.tsl.access.TSLManager;
+import es.gob.valet.tsl.access.TSLProperties;
 import es.gob.valet.tsl.exceptions.TSLArgumentException;
 import es.gob.valet.tsl.exceptions.TSLMalformedException;
 import es.gob.valet.tsl.exceptions.TSLManagingException;
@@ -59,12 +72,14 @@ import es.gob.valet.tsl.exceptions.TSLParsingException;
 import es.gob.valet.tsl.parsing.ifaces.ITSLObject;
 import es.gob.valet.tsl.parsing.ifaces.ITSLOtherConstants;
 import es.gob.valet.tsl.parsing.impl.common.TSLObject;
+import es.gob.valet.tsl.parsing.impl.common.TSLSequenceNumberReader;
+import es.gob.valet.utils.HttpConditionalResult;
 import es.gob.valet.utils.UtilsHTTP;
 
 /**
  * <p>Class that checks the new versions of TSLs.</p>
  * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
- * @version 1.7, 13/10/2021.
+ * @version 1.8, 18/10/2026.
  */
 public class FindNewTSLRevisionsTask extends Task {
 
@@ -110,27 +125,51 @@ public class FindNewTSLRevisionsTask extends Task {
 
 					CTslImpl lastTslImpl = tslImplList.get(tslImplList.size() - 1);
 
-					// La recorremos...
-					for (String tslCountryRegion: tslsCountryRegionCodes) {
-
-						// Obtenemos la TSL asociada.
-						TSLDataCacheObject tsldco = TSLManager.getInstance().getTSLDataFromCountryRegion(tslCountryRegion);
-						// Si está definida...
-						if (tsldco != null) {
-							LOGGER.info(Language.getFormatResWebGeneral(IWebGeneralMessages.TASK_FIND_NEW_TSL_REV_LOG_006, new Object[ ] { tslCountryRegion }));
-							// se comprueba, si no existe fecha de nueva
-							// actualización, como ocurre con la TSL de Reino
-							// Unido al no publicarse más, no se tiene en cuenta
-							// en la tarea.
-							if (tsldco.getNextUpdateDate() != null) {
-								// Comprobamos si existe alguna actualización.
-								checkIfExistsNewVersionForTSL(tsldco, tslCountryRegion, lastTslImpl);
-							} else {
-								LOGGER.info(Language.getFormatResWebGeneral(IWebGeneralMessages.TASK_FIND_NEW_TSL_REV_LOG_004, new Object[ ] { tslCountryRegion }));
+					// Las comprobaciones de cada país/región se ejecutan en
+					// paralelo, limitando las simultáneas contra un mismo
+					// servidor, y con un tiempo máximo para toda la tarea.
+					TSLRevisionCheckContext context = new TSLRevisionCheckContext(lastTslImpl, TSLProperties.getTslRevisionCheckMaxPerHost(), TSLProperties.getTslRevisionCheckDeadline());
+					int parallelism = TSLProperties.getTslRevisionCheckParallelism();
+					LOGGER.info(Language.getFormatResWebGeneral(IWebGeneralMessages.TASK_FIND_NEW_TSL_REV_LOG_016, new Object[ ] { parallelism, context.maxPerHost, context.deadline }));
+					ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+
+					try {
+
+						// La recorremos...
+						Map<String, Future<?>> revisionChecks = new LinkedHashMap<String, Future<?>>();
+						for (String tslCountryRegion: tslsCountryRegionCodes) {
+
+							// Obtenemos la TSL asociada.
+							TSLDataCacheObject tsldco = TSLManager.getInstance().getTSLDataFromCountryRegion(tslCountryRegion);
+							// Si está definida...
+							if (tsldco != null) {
+								LOGGER.info(Language.getFormatResWebGeneral(IWebGeneralMessages.TASK_FIND_NEW_TSL_REV_LOG_006, new Object[ ] { tslCountryRegion }));
+								// se comprueba, si no existe fecha de nueva
+								// actualización, como ocurre con la TSL de
+								// Reino Unido al no publicarse más, no se
+								// tiene en cuenta en la tarea.
+								if (tsldco.getNextUpdateDate() != null) {
+									// Comprobamos si existe alguna
+									// actualización.
+									revisionChecks.put(tslCountryRegion, executor.submit(() -> checkIfExistsNewVersionForTSL(tsldco, tslCountryRegion, context)));
+								} else {
+									LOGGER.info(Language.getFormatResWebGeneral(IWebGeneralMessages.TASK_FIND_NEW_TSL_REV_LOG_004, new Object[ ] { tslCountryRegion }));
+								}
+
 							}
 
 						}
 
+						// Esperamos a que terminen, como mucho hasta el tiempo
+						// máximo de la tarea.
+						waitForRevisionChecks(revisionChecks, context);
+
+					} finally {
+						// Las comprobaciones que no hayan terminado no se
+						// esperan, y las alarmas recogidas se registran
+						// agrupadas.
+						executor.shutdownNow();
+						context.registerAlarmEvents();
 					}
 
 				}
@@ -177,6 +216,12 @@ public class FindNewTSLRevisionsTask extends Task {
 	 */
 	private static Map<String, String> httpHeadersMap = null;
 
+	/**
+	 * Constant attribute that represents the validators (ETag and Last-Modified) and the sequence number obtained
+	 * in the last check of each distribution point, indexed by its URI.
+	 */
+	private static final ConcurrentMap<String, TSLRevisionProbe> REVISION_PROBES = new ConcurrentHashMap<String, TSLRevisionProbe>();
+
 	static {
 
 		httpHeadersMap = new HashMap<String, String>();
@@ -189,11 +234,9 @@ public class FindNewTSLRevisionsTask extends Task {
 	 * Method that checks if a new TSL is available.
 	 * @param tsldco Object that represents the TSL in the clustered cache.
 	 * @param tslCountryRegion Tsl country/region code.
-	 * @param lastTslImpl Last TSL specification/implementation recognized in data base.
+	 * @param context Context of the current execution of the task.
 	 */
-	private void checkIfExistsNewVersionForTSL(TSLDataCacheObject tsldco, String tslCountryRegion, CTslImpl lastTslImpl) {
-
-		ByteArrayInputStream bais = null;
+	private void checkIfExistsNewVersionForTSL(TSLDataCacheObject tsldco, String tslCountryRegion, TSLRevisionCheckContext context) {
 
 		// Se obtiene el número de secuencia de la TSL.
 		int sequenceNumber = tsldco.getSequenceNumber();
@@ -211,7 +254,7 @@ public class FindNewTSLRevisionsTask extends Task {
 					// existe una nueva versión al no disponer de la url de
 					// descarga.
 					LOGGER.info(Language.getFormatResWebGeneral(IWebGeneralMessages.TASK_FIND_NEW_TSL_REV_LOG_010, new Object[ ] { tslCountryRegion }));
-					AlarmsManager.getInstance().registerAlarmEvent(IAlarmIdConstants.ALM002_ERROR_GETTING_PARSING_TSL, Language.getFormatResCoreGeneral(ICoreGeneralMessages.ALM002_EVENT_002, new Object[ ] { tslCountryRegion }));
+					context.addAlarmEvent(IAlarmIdConstants.ALM002_ERROR_GETTING_PARSING_TSL, Language.getFormatResCoreGeneral(ICoreGeneralMessages.ALM002_EVENT_002, new Object[ ] { tslCountryRegion }));
 			
 			} else {
 				// Si la TSL no está marcada ya como disponible, la
@@ -222,47 +265,38 @@ public class FindNewTSLRevisionsTask extends Task {
 					// Obtenemos la especificación y su versión.
 					CTslImpl actualTslImpl = ManagerPersistenceServices.getInstance().getManagerPersistenceConfigurationServices().getCTslImplService().getCTSLImpById(tsldco.getTslImplId());
 
-					// Obtenemos la TSL...
-					byte[ ] fullTSLxml = UtilsHTTP.getDataFromURI(distributionPoint, NumberConstants.NUM10000, NumberConstants.NUM10000, null, null, httpHeadersMap);
-					// Abrimos un InputStream para el array de bytes.
-					bais = new ByteArrayInputStream(fullTSLxml);
-
-					// Creamos un objeto que representará la TSL descargada.
-					ITSLObject tslObject = new TSLObject(actualTslImpl.getSpecification(), actualTslImpl.getVersion());
+					// Esperamos a que haya hueco para conectar con el servidor
+					// del punto de distribución.
+					Semaphore hostPermit = context.getHostPermit(method.getURI().getHost());
+					hostPermit.acquire();
 					try {
-						tslObject.buildTSLFromXMLcheckValues(bais, false, false);
-					} catch (Exception e) {
-
-						// Si no la hemos conseguido parsear, lo intentamos con
-						// la
-						// última
-						// especificación disponible (siempre que no fuera esta
-						// ya)...
-						if (lastTslImpl != null && !actualTslImpl.getIdTSLImpl().equals(lastTslImpl.getIdTSLImpl())) {
-							LOGGER.warn(Language.getFormatResWebGeneral(IWebGeneralMessages.TASK_FIND_NEW_TSL_REV_LOG_000, new Object[ ] { actualTslImpl.getSpecification(), actualTslImpl.getVersion(), lastTslImpl.getSpecification(), lastTslImpl.getVersion() }));
-							tslObject = new TSLObject(lastTslImpl.getSpecification(), lastTslImpl.getVersion());
-							UtilsResources.safeCloseInputStream(bais);
-							bais = new ByteArrayInputStream(fullTSLxml);
-							tslObject.buildTSLFromXMLcheckValues(bais, false, false);
-
-						} else {
-
-							throw e;
 
+						// Obtenemos el número de secuencia publicado mediante
+						// una petición condicional, leyendo solo el inicio de
+						// la TSL.
+						sequenceNumberNewTsl = probeSequenceNumber(distributionPoint, tslCountryRegion);
+
+						// Solo si se detecta un número de secuencia mayor, o no
+						// se ha podido obtener, se descarga y analiza la TSL
+						// completa.
+						if (sequenceNumberNewTsl < 0 || sequenceNumberNewTsl > sequenceNumber) {
+							ITSLObject tslObject = downloadAndParseTSL(distributionPoint, actualTslImpl, context.lastTslImpl);
+							sequenceNumberNewTsl = tslObject.getSchemeInformation().getTslSequenceNumber();
 						}
 
+					} finally {
+						hostPermit.release();
 					}
 
 					// Si su número de secuencia es mayor al actual, es que hay
 					// que
 					// actualizarla.
-					sequenceNumberNewTsl = tslObject.getSchemeInformation().getTslSequenceNumber();
 					if (sequenceNumberNewTsl > sequenceNumber) {
 						// Existe una nueva versión de la TSL.
 						TSLManager.getInstance().updateNewAvaliableTSLData(tsldco.getTslDataId(), IFindNewTslRevisionsTaskConstants.NEW_TSL_AVAILABLE);
 						TSLManager.getInstance().updateLastNewAvaliableTSLFindData(tsldco.getTslDataId(), Calendar.getInstance().getTime());
 						LOGGER.warn(Language.getFormatResWebGeneral(IWebGeneralMessages.TASK_FIND_NEW_TSL_REV_LOG_002, tslCountryRegion, distributionPoint, sequenceNumberNewTsl, sequenceNumber));
-						AlarmsManager.getInstance().registerAlarmEvent(IAlarmIdConstants.ALM005_NEW_TSL_DETECTED, Language.getFormatResCoreGeneral(ICoreGeneralMessages.ALM005_EVENT_000, new Object[ ] { tslCountryRegion, distributionPoint, sequenceNumberNewTsl, sequenceNumber }));
+						context.addAlarmEvent(IAlarmIdConstants.ALM005_NEW_TSL_DETECTED, Language.getFormatResCoreGeneral(ICoreGeneralMessages.ALM005_EVENT_000, new Object[ ] { tslCountryRegion, distributionPoint, sequenceNumberNewTsl, sequenceNumber }));
 					} else {
 						LOGGER.info(Language.getFormatResWebGeneral(IWebGeneralMessages.TASK_FIND_NEW_TSL_REV_LOG_003, new Object[ ] { tslCountryRegion, sequenceNumber }));
 					}
@@ -272,42 +306,161 @@ public class FindNewTSLRevisionsTask extends Task {
 					// Si ha pasado una semana desde que se marcó como Y se
 					// vuelve a
 					// enviar la alarma.
-					checkAndUpdateLastAlarm(tsldco, tslCountryRegion);
+					checkAndUpdateLastAlarm(tsldco, tslCountryRegion, context);
 
 				}
 			}
 
 		} catch (CommonUtilsException e) {
 			LOGGER.error(Language.getFormatResWebGeneral(IWebGeneralMessages.TASK_FIND_NEW_TSL_REV_LOG_011, new Object[ ] { tslCountryRegion, distributionPoint }), e);
-			AlarmsManager.getInstance().registerAlarmEvent(IAlarmIdConstants.ALM002_ERROR_GETTING_PARSING_TSL, Language.getFormatResCoreGeneral(ICoreGeneralMessages.ALM002_EVENT_000, new Object[ ] { tslCountryRegion, distributionPoint }));
+			context.addAlarmEvent(IAlarmIdConstants.ALM002_ERROR_GETTING_PARSING_TSL, Language.getFormatResCoreGeneral(ICoreGeneralMessages.ALM002_EVENT_000, new Object[ ] { tslCountryRegion, distributionPoint }));
 		} catch (TSLArgumentException e) {
 			LOGGER.error(Language.getFormatResWebGeneral(IWebGeneralMessages.TASK_FIND_NEW_TSL_REV_LOG_012, new Object[ ] { tslCountryRegion, distributionPoint }), e);
-			AlarmsManager.getInstance().registerAlarmEvent(IAlarmIdConstants.ALM002_ERROR_GETTING_PARSING_TSL, Language.getFormatResCoreGeneral(ICoreGeneralMessages.ALM002_EVENT_001, new Object[ ] { tslCountryRegion, distributionPoint }));
+			context.addAlarmEvent(IAlarmIdConstants.ALM002_ERROR_GETTING_PARSING_TSL, Language.getFormatResCoreGeneral(ICoreGeneralMessages.ALM002_EVENT_001, new Object[ ] { tslCountryRegion, distributionPoint }));
 		} catch (TSLParsingException e) {
 			LOGGER.error(Language.getFormatResWebGeneral(IWebGeneralMessages.TASK_FIND_NEW_TSL_REV_LOG_012, new Object[ ] { tslCountryRegion, distributionPoint }), e);
-			AlarmsManager.getInstance().registerAlarmEvent(IAlarmIdConstants.ALM002_ERROR_GETTING_PARSING_TSL, Language.getFormatResCoreGeneral(ICoreGeneralMessages.ALM002_EVENT_001, new Object[ ] { tslCountryRegion, distributionPoint }));
+			context.addAlarmEvent(IAlarmIdConstants.ALM002_ERROR_GETTING_PARSING_TSL, Language.getFormatResCoreGeneral(ICoreGeneralMessages.ALM002_EVENT_001, new Object[ ] { tslCountryRegion, distributionPoint }));
 		} catch (TSLMalformedException e) {
 			LOGGER.error(Language.getFormatResWebGeneral(IWebGeneralMessages.TASK_FIND_NEW_TSL_REV_LOG_012, new Object[ ] { tslCountryRegion, distributionPoint }), e);
-			AlarmsManager.getInstance().registerAlarmEvent(IAlarmIdConstants.ALM002_ERROR_GETTING_PARSING_TSL, Language.getFormatResCoreGeneral(ICoreGeneralMessages.ALM002_EVENT_001, new Object[ ] { tslCountryRegion, distributionPoint }));
+			context.addAlarmEvent(IAlarmIdConstants.ALM002_ERROR_GETTING_PARSING_TSL, Language.getFormatResCoreGeneral(ICoreGeneralMessages.ALM002_EVENT_001, new Object[ ] { tslCountryRegion, distributionPoint }));
 		} catch (TSLManagingException e) {
 			LOGGER.error(Language.getFormatResWebGeneral(IWebGeneralMessages.TASK_FIND_NEW_TSL_REV_LOG_012, new Object[ ] { tslCountryRegion, distributionPoint }), e);
-			AlarmsManager.getInstance().registerAlarmEvent(IAlarmIdConstants.ALM002_ERROR_GETTING_PARSING_TSL, Language.getFormatResCoreGeneral(ICoreGeneralMessages.ALM002_EVENT_001, new Object[ ] { tslCountryRegion, distributionPoint, sequenceNumberNewTsl, sequenceNumber }));
+			context.addAlarmEvent(IAlarmIdConstants.ALM002_ERROR_GETTING_PARSING_TSL, Language.getFormatResCoreGeneral(ICoreGeneralMessages.ALM002_EVENT_001, new Object[ ] { tslCountryRegion, distributionPoint, sequenceNumberNewTsl, sequenceNumber }));
+		} catch (InterruptedException e) {
+			// La comprobación se ha cancelado al alcanzar el tiempo máximo de
+			// la tarea, que ya lo notifica.
+			Thread.currentThread().interrupt();
 		} catch (Exception e) {
 			LOGGER.error(Language.getFormatResWebGeneral(IWebGeneralMessages.TASK_FIND_NEW_TSL_REV_LOG_012, new Object[ ] { tslCountryRegion, distributionPoint }), e);
-			AlarmsManager.getInstance().registerAlarmEvent(IAlarmIdConstants.ALM002_ERROR_GETTING_PARSING_TSL, Language.getFormatResCoreGeneral(ICoreGeneralMessages.ALM002_EVENT_003, new Object[ ] { tslCountryRegion, distributionPoint }));
+			context.addAlarmEvent(IAlarmIdConstants.ALM002_ERROR_GETTING_PARSING_TSL, Language.getFormatResCoreGeneral(ICoreGeneralMessages.ALM002_EVENT_003, new Object[ ] { tslCountryRegion, distributionPoint }));
+		}
+	}
+
+	/**
+	 * Method that gets the sequence number of the TSL published in the distribution point, sending a conditional
+	 * request with the validators (ETag and Last-Modified) of the previous check, and reading only the beginning
+	 * of the TSL until its sequence number is found.
+	 * @param distributionPoint URI from which download the TSL.
+	 * @param tslCountryRegion Tsl country/region code.
+	 * @return the sequence number of the published TSL, or -1 if it has not been possible to get it without
+	 * parsing the whole TSL.
+	 * @throws CommonUtilsException In case of some error connecting to the distribution point.
+	 */
+	private int probeSequenceNumber(String distributionPoint, String tslCountryRegion) throws CommonUtilsException {
+
+		int result = -1;
+
+		TSLRevisionProbe previousProbe = REVISION_PROBES.get(distributionPoint);
+		String eTag = previousProbe == null ? null : previousProbe.eTag;
+		String lastModified = previousProbe == null ? null : previousProbe.lastModified;
+		HttpConditionalResult<Integer> probeResult = UtilsHTTP.readDataFromURIIfModified(distributionPoint, NumberConstants.NUM10000, NumberConstants.NUM10000, httpHeadersMap, eTag, lastModified, new TSLSequenceNumberReader());
+
+		if (probeResult.isNotModified() && previousProbe != null) {
+			// Si no ha cambiado desde la última comprobación, su número de
+			// secuencia es el que se obtuvo entonces.
+			result = previousProbe.sequenceNumber;
+			LOGGER.info(Language.getFormatResWebGeneral(IWebGeneralMessages.TASK_FIND_NEW_TSL_REV_LOG_014, new Object[ ] { tslCountryRegion, result }));
+		} else if (probeResult.getData() != null) {
+			result = probeResult.getData().intValue();
+			REVISION_PROBES.put(distributionPoint, new TSLRevisionProbe(probeResult.getETag(), probeResult.getLastModified(), result));
+		} else {
+			REVISION_PROBES.remove(distributionPoint);
+			LOGGER.info(Language.getFormatResWebGeneral(IWebGeneralMessages.TASK_FIND_NEW_TSL_REV_LOG_015, new Object[ ] { tslCountryRegion }));
+		}
+
+		return result;
+
+	}
+
+	/**
+	 * Method that downloads the whole TSL from the distribution point and parses it, first with the specification of the
+	 * current TSL and, if it fails, with the last specification recognized in data base.
+	 * @param distributionPoint URI from which download the TSL.
+	 * @param actualTslImpl Specification/implementation of the current TSL.
+	 * @param lastTslImpl Last TSL specification/implementation recognized in data base.
+	 * @return the object that represents the downloaded TSL.
+	 * @throws CommonUtilsException In case of some error downloading the TSL.
+	 * @throws TSLArgumentException In case of some error with the input parameters parsing the TSL.
+	 * @throws TSLParsingException In case of some error parsing the TSL.
+	 * @throws TSLMalformedException In case of the TSL is malformed.
+	 */
+	private ITSLObject downloadAndParseTSL(String distributionPoint, CTslImpl actualTslImpl, CTslImpl lastTslImpl) throws CommonUtilsException, TSLArgumentException, TSLParsingException, TSLMalformedException {
+
+		ByteArrayInputStream bais = null;
+
+		try {
+
+			// Obtenemos la TSL...
+			byte[ ] fullTSLxml = UtilsHTTP.getDataFromURI(distributionPoint, NumberConstants.NUM10000, NumberConstants.NUM10000, null, null, httpHeadersMap);
+			// Abrimos un InputStream para el array de bytes.
+			bais = new ByteArrayInputStream(fullTSLxml);
+
+			// Creamos un objeto que representará la TSL descargada.
+			ITSLObject tslObject = new TSLObject(actualTslImpl.getSpecification(), actualTslImpl.getVersion());
+			try {
+				tslObject.buildTSLFromXMLcheckValues(bais, false, false);
+			} catch (Exception e) {
+
+				// Si no la hemos conseguido parsear, lo intentamos con la
+				// última especificación disponible (siempre que no fuera esta
+				// ya)...
+				if (lastTslImpl != null && !actualTslImpl.getIdTSLImpl().equals(lastTslImpl.getIdTSLImpl())) {
+					LOGGER.warn(Language.getFormatResWebGeneral(IWebGeneralMessages.TASK_FIND_NEW_TSL_REV_LOG_000, new Object[ ] { actualTslImpl.getSpecification(), actualTslImpl.getVersion(), lastTslImpl.getSpecification(), lastTslImpl.getVersion() }));
+					tslObject = new TSLObject(lastTslImpl.getSpecification(), lastTslImpl.getVersion());
+					UtilsResources.safeCloseInputStream(bais);
+					bais = new ByteArrayInputStream(fullTSLxml);
+					tslObject.buildTSLFromXMLcheckValues(bais, false, false);
+
+				} else {
+
+					throw e;
+
+				}
+
+			}
+
+			return tslObject;
+
 		} finally {
 			// Aunque falle, cerramos el InputStream.
 			UtilsResources.safeCloseInputStream(bais);
 		}
+
+	}
+
+	/**
+	 * Method that waits for the checks of the TSL launched in parallel, at most until the deadline of the task.
+	 * The checks that have not finished at that moment are cancelled and notified in the alarm ALM002.
+	 * @param revisionChecks Map with the checks in progress indexed by the country/region code of the TSL.
+	 * @param context Context of the current execution of the task.
+	 * @throws InterruptedException If the thread is interrupted while waiting.
+	 */
+	private void waitForRevisionChecks(Map<String, Future<?>> revisionChecks, TSLRevisionCheckContext context) throws InterruptedException {
+
+		for (Entry<String, Future<?>> revisionCheck: revisionChecks.entrySet()) {
+
+			try {
+				revisionCheck.getValue().get(Math.max(0L, context.deadlineTime - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				revisionCheck.getValue().cancel(true);
+				LOGGER.warn(Language.getFormatResWebGeneral(IWebGeneralMessages.TASK_FIND_NEW_TSL_REV_LOG_017, new Object[ ] { revisionCheck.getKey(), context.deadline }));
+				context.addAlarmEvent(IAlarmIdConstants.ALM002_ERROR_GETTING_PARSING_TSL, Language.getFormatResCoreGeneral(ICoreGeneralMessages.ALM002_EVENT_004, new Object[ ] { revisionCheck.getKey(), context.deadline }));
+			} catch (ExecutionException e) {
+				LOGGER.error(Language.getFormatResWebGeneral(IWebGeneralMessages.TASK_FIND_NEW_TSL_REV_LOG_018, new Object[ ] { revisionCheck.getKey() }), e.getCause());
+			}
+
+		}
+
 	}
 
 	/**
 	 * Method that checks if the last alarm sent is 7 days old.
 	 * @param tsldco Object that represents the TSL in the clustered cache.
 	 * @param tslCountryRegion Tsl country/region code.
+	 * @param context Context of the current execution of the task.
 	 * @throws TSLManagingException if update fail.
 	 */
-	private void checkAndUpdateLastAlarm(TSLDataCacheObject tsldco, String tslCountryRegion) throws TSLManagingException {
+	private void checkAndUpdateLastAlarm(TSLDataCacheObject tsldco, String tslCountryRegion, TSLRevisionCheckContext context) throws TSLManagingException {
 		Integer daysReminder = NumberConstants.NUM7;
 		if(!UtilsStringChar.isNullOrEmpty(StaticValetConfig.getProperty(StaticValetConfig.DAYS_REMINDER_ALARM))){
 			daysReminder = Integer.valueOf(StaticValetConfig.getProperty(StaticValetConfig.DAYS_REMINDER_ALARM));
@@ -317,10 +470,146 @@ public class FindNewTSLRevisionsTask extends Task {
 		LOGGER.info(Language.getFormatResWebGeneral(IWebGeneralMessages.TASK_FIND_NEW_TSL_REV_LOG_008, new Object[ ] { tsldco.getLastNewTSLAvailableFind(), tslCountryRegion }));
 		if (dateToCheck.before(actualDate)) {
 			LOGGER.info(Language.getFormatResWebGeneral(IWebGeneralMessages.TASK_FIND_NEW_TSL_REV_LOG_009, new Object[] {daysReminder.toString()}));
-			AlarmsManager.getInstance().registerAlarmEvent(IAlarmIdConstants.ALM005_NEW_TSL_DETECTED, Language.getFormatResCoreGeneral(ICoreGeneralMessages.ALM005_EVENT_002, new Object[ ] { tslCountryRegion, tsldco.getSequenceNumber() }));
+			context.addAlarmEvent(IAlarmIdConstants.ALM005_NEW_TSL_DETECTED, Language.getFormatResCoreGeneral(ICoreGeneralMessages.ALM005_EVENT_002, new Object[ ] { tslCountryRegion, tsldco.getSequenceNumber() }));
 			// se actualiza la nueva fecha de notificación
 			TSLManager.getInstance().updateLastNewAvaliableTSLFindData(tsldco.getTslDataId(), actualDate);
 		}
 	}
 
+	/**
+	 * <p>Class that represents the result of the last check of a distribution point: the validators
+	 * (ETag and Last-Modified) of the response and the sequence number of the published TSL.</p>
+	 * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+	 * @version 1.0, 18/10/2026.
+	 */
+	private static final class TSLRevisionProbe {
+
+		/**
+		 * Attribute that represents the value of the header ETag of the response.
+		 */
+		private final String eTag;
+
+		/**
+		 * Attribute that represents the value of the header Last-Modified of the response.
+		 */
+		private final String lastModified;
+
+		/**
+		 * Attribute that represents the sequence number of the published TSL.
+		 */
+		private final int sequenceNumber;
+
+		/**
+		 * Constructor method for the class TSLRevisionProbe.
+		 * @param eTagParam Value of the header ETag of the response.
+		 * @param lastModifiedParam Value of the header Last-Modified of the response.
+		 * @param sequenceNumberParam Sequence number of the published TSL.
+		 */
+		private TSLRevisionProbe(String eTagParam, String lastModifiedParam, int sequenceNumberParam) {
+			super();
+			eTag = eTagParam;
+			lastModified = lastModifiedParam;
+			sequenceNumber = sequenceNumberParam;
+		}
+
+	}
+
+	/**
+	 * <p>Class that represents the context of an execution of the task: the last TSL specification recognized
+	 * in data base, the limit of checks at the same time against each host, the deadline of the task, and the
+	 * alarm events collected by the checks, that are registered grouped by alarm when the task ends.</p>
+	 * <b>Project:</b><p>Platform for detection and validation of certificates recognized in European TSL.</p>
+	 * @version 1.0, 18/10/2026.
+	 */
+	private static final class TSLRevisionCheckContext {
+
+		/**
+		 * Attribute that represents the last TSL specification/implementation recognized in data base.
+		 */
+		private final CTslImpl lastTslImpl;
+
+		/**
+		 * Attribute that represents the maximum number of checks at the same time against the same host.
+		 */
+		private final int maxPerHost;
+
+		/**
+		 * Attribute that represents the maximum time (milliseconds) to wait for the checks of all the TSL.
+		 */
+		private final long deadline;
+
+		/**
+		 * Attribute that represents the date (milliseconds) in which the deadline of the task is reached.
+		 */
+		private final long deadlineTime;
+
+		/**
+		 * Attribute that represents the permits to connect to each host, indexed by its name.
+		 */
+		private final ConcurrentMap<String, Semaphore> hostPermits = new ConcurrentHashMap<String, Semaphore>();
+
+		/**
+		 * Attribute that represents the messages of the alarm events collected, indexed by the alarm identifier.
+		 */
+		private final Map<String, List<String>> alarmEvents = new LinkedHashMap<String, List<String>>();
+
+		/**
+		 * Flag that indicates if the collected alarm events have been already registered.
+		 */
+		private boolean alarmEventsRegistered = false;
+
+		/**
+		 * Constructor method for the class TSLRevisionCheckContext.
+		 * @param lastTslImplParam Last TSL specification/implementation recognized in data base.
+		 * @param maxPerHostParam Maximum number of checks at the same time against the same host.
+		 * @param deadlineParam Maximum time (milliseconds) to wait for the checks of all the TSL.
+		 */
+		private TSLRevisionCheckContext(CTslImpl lastTslImplParam, int maxPerHostParam, long deadlineParam) {
+			super();
+			lastTslImpl = lastTslImplParam;
+			maxPerHost = maxPerHostParam;
+			deadline = deadlineParam;
+			deadlineTime = System.currentTimeMillis() + deadlineParam;
+		}
+
+		/**
+		 * Gets the permits to connect to the input host.
+		 * @param host Name of the host.
+		 * @return the semaphore that limits the checks at the same time against the host.
+		 */
+		private Semaphore getHostPermit(String host) {
+			return hostPermits.computeIfAbsent(host, h -> new Semaphore(maxPerHost));
+		}
+
+		/**
+		 * Adds an alarm event to register when the task ends. If the collected events have been already
+		 * registered (the check has exceeded the deadline of the task), the event is registered directly.
+		 * @param alarmId Alarm identificator.
+		 * @param alarmMsg Alarm message.
+		 */
+		private synchronized void addAlarmEvent(String alarmId, String alarmMsg) {
+
+			if (alarmEventsRegistered) {
+				AlarmsManager.getInstance().registerAlarmEvent(alarmId, alarmMsg);
+			} else {
+				alarmEvents.computeIfAbsent(alarmId, id -> new ArrayList<String>()).add(alarmMsg);
+			}
+
+		}
+
+		/**
+		 * Registers the collected alarm events, one event for each alarm with all its messages.
+		 */
+		private synchronized void registerAlarmEvents() {
+
+			alarmEventsRegistered = true;
+			for (Entry<String, List<String>> alarmEvent: alarmEvents.entrySet()) {
+				AlarmsManager.getInstance().registerAlarmEvent(alarmEvent.getKey(), String.join(UtilsStringChar.SPECIAL_SYSTEM_LINE_SEPARATOR_STRING, alarmEvent.getValue()));
+			}
+			alarmEvents.clear();
+
+		}
+
+	}
+
 }